@@ -0,0 +1,299 @@
+/**
+ * AuthenticationCache.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.api.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.dlr.proseo.logging.logger.ProseoLogger;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Short-lived, bounded cache of successfully authenticated principals for the external interfaces (PRIP, ODIP), which
+ * otherwise have to log in to the User Manager for each incoming request.
+ *
+ * Entries are keyed by a salted hash of the credentials, so that neither the cache keys nor the cache contents reveal
+ * passwords (the salt is generated randomly for each cache instance). Each entry records the authorities granted to
+ * the principal and expires after the configured time to live. When the cache is full, the least recently used entry
+ * is evicted. All entries for a principal can be revoked, e. g. after a failed login attempt for this principal.
+ *
+ * Cache hits and misses as well as the duration of the upstream logins (recorded by the caller) can be published as
+ * Micrometer metrics.
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class AuthenticationCache {
+
+	/** Length of the random salt in bytes */
+	private static final int SALT_LENGTH = 16;
+
+	/** Hash algorithm for the credentials */
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/** The random salt for hashing credentials */
+	private final byte[] salt = new byte[SALT_LENGTH];
+
+	/** Time to live for cache entries in nanoseconds */
+	private final long timeToLive;
+
+	/** Maximum number of cache entries */
+	private final int maxEntries;
+
+	/** The cached entries in access order */
+	private final Map<String, Entry> entries;
+
+	/** Number of cache hits */
+	private final AtomicLong hitCount = new AtomicLong();
+
+	/** Number of cache misses (including expired entries) */
+	private final AtomicLong missCount = new AtomicLong();
+
+	/** Timer for the upstream logins (null, if no metrics are registered) */
+	private Timer loginTimer;
+
+	/** A logger for this class */
+	private static ProseoLogger logger = new ProseoLogger(AuthenticationCache.class);
+
+	/**
+	 * A cache entry
+	 */
+	private static class Entry {
+
+		/** The principal ("mission\\username") */
+		private final String principal;
+
+		/** The authorities granted to the principal */
+		private final List<String> authorities;
+
+		/** Expiration time (from System.nanoTime()) */
+		private final long expiresAt;
+
+		private Entry(String principal, List<String> authorities, long expiresAt) {
+			this.principal = principal;
+			this.authorities = Collections.unmodifiableList(new ArrayList<>(authorities));
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	/**
+	 * Creates an authentication cache
+	 *
+	 * @param timeToLive the time to live for cache entries (the cache is disabled, if zero or negative)
+	 * @param maxEntries the maximum number of cache entries
+	 */
+	public AuthenticationCache(Duration timeToLive, int maxEntries) {
+		this.timeToLive = timeToLive.toNanos();
+		this.maxEntries = maxEntries;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > AuthenticationCache.this.maxEntries;
+			}
+		};
+
+		new SecureRandom().nextBytes(salt);
+	}
+
+	/**
+	 * Register the metrics for cache hits, cache misses, hit ratio and upstream login duration
+	 *
+	 * @param meterRegistry the registry to register the metrics with
+	 * @param metricPrefix  the prefix for the metric names (e. g. "proseo.prip.auth")
+	 */
+	public void registerMetrics(MeterRegistry meterRegistry, String metricPrefix) {
+		FunctionCounter.builder(metricPrefix + ".cache.hits", this, AuthenticationCache::getHitCount)
+			.description("Number of requests authenticated from the authentication cache")
+			.register(meterRegistry);
+		FunctionCounter.builder(metricPrefix + ".cache.misses", this, AuthenticationCache::getMissCount)
+			.description("Number of requests requiring a User Manager login")
+			.register(meterRegistry);
+		Gauge.builder(metricPrefix + ".cache.hit.ratio", this, AuthenticationCache::getHitRatio)
+			.description("Ratio of requests authenticated from the authentication cache")
+			.register(meterRegistry);
+		loginTimer = Timer.builder(metricPrefix + ".login.latency")
+			.description("Duration of User Manager logins")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Record the duration of an upstream login (ignored, if no metrics are registered)
+	 *
+	 * @param loginStart the start time of the login (from System.nanoTime())
+	 */
+	public void recordLogin(long loginStart) {
+		if (null != loginTimer) {
+			loginTimer.record(System.nanoTime() - loginStart, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Checks whether caching is enabled
+	 *
+	 * @return true, if the time to live and the maximum number of entries are positive, false otherwise
+	 */
+	public boolean isEnabled() {
+		return 0 < timeToLive && 0 < maxEntries;
+	}
+
+	/**
+	 * Create the cache key for the given credentials
+	 *
+	 * @param missionCode the mission code
+	 * @param username    the user name (without mission prefix)
+	 * @param password    the password
+	 * @return the salted hash of the credentials as hexadecimal string
+	 */
+	private String createKey(String missionCode, String username, String password) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+			digest.update(salt);
+			for (String part : new String[] { missionCode, username, password }) {
+				byte[] bytes = (null == part ? "" : part).getBytes(StandardCharsets.UTF_8);
+				// Prefix each part with its length to avoid ambiguities between the parts
+				digest.update(new byte[] { (byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8),
+						(byte) bytes.length });
+				digest.update(bytes);
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			// Cannot happen, SHA-256 is available in every Java platform implementation
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Gets the authorities cached for the given credentials
+	 *
+	 * @param missionCode the mission code
+	 * @param username    the user name (without mission prefix)
+	 * @param password    the password
+	 * @return an unmodifiable list of the authorities granted, or null, if no valid entry exists for the credentials
+	 */
+	public List<String> get(String missionCode, String username, String password) {
+		if (!isEnabled()) {
+			return null;
+		}
+
+		String key = createKey(missionCode, username, password);
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (null != entry && entry.expiresAt - System.nanoTime() > 0) {
+				hitCount.incrementAndGet();
+				return entry.authorities;
+			}
+			if (null != entry) {
+				entries.remove(key);
+			}
+		}
+		missCount.incrementAndGet();
+
+		if (logger.isTraceEnabled())
+			logger.trace("... no cached authentication found for user {}\\{}", missionCode, username);
+		return null;
+	}
+
+	/**
+	 * Adds the authorities granted for the given credentials to the cache
+	 *
+	 * @param missionCode the mission code
+	 * @param username    the user name (without mission prefix)
+	 * @param password    the password
+	 * @param authorities the authorities granted
+	 */
+	public void put(String missionCode, String username, String password, List<String> authorities) {
+		if (!isEnabled()) {
+			return;
+		}
+
+		String key = createKey(missionCode, username, password);
+		Entry entry = new Entry(missionCode + "\\" + username, authorities, System.nanoTime() + timeToLive);
+		synchronized (entries) {
+			entries.put(key, entry);
+		}
+	}
+
+	/**
+	 * Revokes all cached authentications for the given principal, regardless of the password used
+	 *
+	 * @param missionCode the mission code
+	 * @param username    the user name (without mission prefix)
+	 */
+	public void revoke(String missionCode, String username) {
+		String principal = missionCode + "\\" + username;
+		synchronized (entries) {
+			if (entries.values().removeIf(entry -> entry.principal.equals(principal))) {
+				if (logger.isTraceEnabled())
+					logger.trace("... cached authentications revoked for user {}", principal);
+			}
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Gets the number of cache entries (including expired entries not yet removed)
+	 *
+	 * @return the number of cache entries
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Gets the number of cache hits
+	 *
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Gets the number of cache misses
+	 *
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Gets the ratio of cache hits to all lookups
+	 *
+	 * @return the hit ratio, or 0.0, if no lookups occurred yet
+	 */
+	public double getHitRatio() {
+		long hits = hitCount.get();
+		long lookups = hits + missCount.get();
+		return 0 == lookups ? 0.0 : (double) hits / lookups;
+	}
+
+}
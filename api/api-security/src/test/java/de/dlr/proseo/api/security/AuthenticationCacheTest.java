@@ -0,0 +1,107 @@
+/**
+ * AuthenticationCacheTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.api.security;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Test class for AuthenticationCache: Lookup by credentials, expiration, eviction, revocation and metrics
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class AuthenticationCacheTest {
+
+	private static final List<String> AUTHORITIES = List.of("ROLE_PRIP_USER", "ROLE_PRODUCT_READER");
+
+	/**
+	 * Test lookup by credentials and hit/miss statistics
+	 */
+	@Test
+	public void testLookup() {
+		AuthenticationCache cache = new AuthenticationCache(Duration.ofMinutes(1), 10);
+		assertTrue(cache.isEnabled());
+
+		assertNull(cache.get("PTM", "user", "secret"));
+		cache.put("PTM", "user", "secret", AUTHORITIES);
+		assertEquals(AUTHORITIES, cache.get("PTM", "user", "secret"));
+
+		// Any deviation in the credentials must lead to a cache miss, also if the concatenated credentials are identical
+		assertNull(cache.get("PTM", "user", "Secret"));
+		assertNull(cache.get("PTM", "use", "rsecret"));
+		assertNull(cache.get("XYZ", "user", "secret"));
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(4, cache.getMissCount());
+		assertEquals(0.2, cache.getHitRatio(), 1E-9);
+	}
+
+	/**
+	 * Test expiration, eviction of least recently used entries and revocation
+	 *
+	 * @throws InterruptedException if the wait for expiration is interrupted
+	 */
+	@Test
+	public void testExpirationAndRevocation() throws InterruptedException {
+		AuthenticationCache cache = new AuthenticationCache(Duration.ofMillis(50), 2);
+		cache.put("PTM", "user1", "secret", AUTHORITIES);
+		Thread.sleep(100);
+		assertNull(cache.get("PTM", "user1", "secret"));
+		assertEquals(0, cache.size());
+
+		cache = new AuthenticationCache(Duration.ofMinutes(1), 2);
+		cache.put("PTM", "user1", "secret", AUTHORITIES);
+		cache.put("PTM", "user2", "secret", AUTHORITIES);
+		assertNotNull(cache.get("PTM", "user1", "secret"));
+		cache.put("PTM", "user3", "secret", AUTHORITIES);
+		assertEquals(2, cache.size());
+		assertNull("Least recently used entry not evicted", cache.get("PTM", "user2", "secret"));
+		assertNotNull(cache.get("PTM", "user1", "secret"));
+
+		// Revocation removes all entries for the user, regardless of the password
+		cache.put("PTM", "user1", "oldSecret", AUTHORITIES);
+		cache.revoke("PTM", "user1");
+		assertNull(cache.get("PTM", "user1", "secret"));
+		assertNull(cache.get("PTM", "user1", "oldSecret"));
+
+		// Disabled cache
+		cache = new AuthenticationCache(Duration.ZERO, 2);
+		assertFalse(cache.isEnabled());
+		cache.put("PTM", "user1", "secret", AUTHORITIES);
+		assertNull(cache.get("PTM", "user1", "secret"));
+	}
+
+	/**
+	 * Test the registration of the cache and login metrics
+	 */
+	@Test
+	public void testMetrics() {
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		AuthenticationCache cache = new AuthenticationCache(Duration.ofMinutes(1), 10);
+
+		// Login durations are ignored without registered metrics
+		cache.recordLogin(System.nanoTime());
+
+		cache.registerMetrics(meterRegistry, "proseo.test.auth");
+		cache.get("PTM", "user1", "secret");
+		cache.put("PTM", "user1", "secret", AUTHORITIES);
+		cache.get("PTM", "user1", "secret");
+		cache.recordLogin(System.nanoTime());
+
+		assertEquals(1.0, meterRegistry.get("proseo.test.auth.cache.hits").functionCounter().count(), 0.0);
+		assertEquals(1.0, meterRegistry.get("proseo.test.auth.cache.misses").functionCounter().count(), 0.0);
+		assertEquals(0.5, meterRegistry.get("proseo.test.auth.cache.hit.ratio").gauge().value(), 0.0);
+		assertEquals(1, meterRegistry.get("proseo.test.auth.login.latency").timer().count());
+	}
+
+}
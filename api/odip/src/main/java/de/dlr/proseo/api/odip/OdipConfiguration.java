@@ -44,6 +44,18 @@ public class OdipConfiguration {
 	@Value("${proseo.quota}")
 	private Long quota;
 
+	/** Time to live for cached user authentications in seconds (0 disables the cache) */
+	@Value("${proseo.authCache.ttl:60}")
+	private Long authCacheTtl;
+
+	/** Maximum number of cached user authentications */
+	@Value("${proseo.authCache.size:1000}")
+	private Integer authCacheSize;
+
+	/** Maximum number of cached workflow collection responses (0 disables the cache) */
+	@Value("${proseo.odip.workflowCache.size:100}")
+	private Integer workflowCacheSize;
+
 	/** Timeout for HTTP connections */
 	@Value("${proseo.http.timeout}")
 	private Long httpTimeout;
@@ -185,4 +197,31 @@ public class OdipConfiguration {
 		return quota;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Gets the time to live for cached user authentications
+	 *
+	 * @return the time to live in seconds
+	 */
+	public Long getAuthCacheTtl() {
+		return authCacheTtl;
+	}
+
+	/**
+	 * Gets the maximum number of cached user authentications
+	 *
+	 * @return the maximum cache size
+	 */
+	public Integer getAuthCacheSize() {
+		return authCacheSize;
+	}
+
+	/**
+	 * Gets the maximum number of cached workflow collection responses
+	 *
+	 * @return the maximum cache size
+	 */
+	public Integer getWorkflowCacheSize() {
+		return workflowCacheSize;
+	}
+
+}
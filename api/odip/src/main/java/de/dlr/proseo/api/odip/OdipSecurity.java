@@ -5,10 +5,12 @@
  */
 package de.dlr.proseo.api.odip;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,9 +22,11 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import de.dlr.proseo.api.odip.OAuth2TokenManager.UserInfo;
+import de.dlr.proseo.api.security.AuthenticationCache;
 import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.logging.messages.OdipMessage;
 import de.dlr.proseo.model.enums.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Security utility methods for ODIP API
@@ -50,9 +54,25 @@ public class OdipSecurity {
 	@Autowired
 	private OAuth2TokenManager tokenManager;
 
+	/** Registry for authentication cache and login metrics */
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/** Cache for user authentications, avoiding a User Manager login for each request */
+	private AuthenticationCache authenticationCache;
+
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(OdipSecurity.class);
 
+	/**
+	 * Set up the authentication cache and register the metrics for cache hits and User Manager logins
+	 */
+	@PostConstruct
+	private void init() {
+		authenticationCache = new AuthenticationCache(Duration.ofSeconds(config.getAuthCacheTtl()), config.getAuthCacheSize());
+		authenticationCache.registerMetrics(meterRegistry, "proseo.odip.auth");
+	}
+
 	/**
 	 * Parse an HTTP authentication header into mission, username and password and set the respective thread-local attributes
 	 *
@@ -130,7 +150,8 @@ public class OdipSecurity {
 	}
 
 	/**
-	 * Check user credentials and authorities with User Manager
+	 * Check user credentials and authorities with User Manager. Successful authentications are cached for a short period
+	 * of time (see configuration), a failed login revokes all cached authentications for the user.
 	 *
 	 * @param userInfo a UserInfo object containing the user credentials
 	 * @return the updated UserInfo object including authorities, if the authentication was successful and ODIP access is granted
@@ -140,9 +161,19 @@ public class OdipSecurity {
 		if (logger.isTraceEnabled())
 			logger.trace(">>> authenticateUser(userInfo)");
 
+		// Check for a cached authentication
+		List<String> cachedAuthorities = authenticationCache.get(userInfo.missionCode, userInfo.username, userInfo.password);
+		if (null != cachedAuthorities) {
+			if (logger.isTraceEnabled())
+				logger.trace("... Authentication found in cache for user " + userInfo.missionCode + "\\" + userInfo.username);
+			userInfo.authorities.addAll(cachedAuthorities);
+			return userInfo;
+		}
+
 		// Attempt connection to User Manager
 		@SuppressWarnings("rawtypes")
 		ResponseEntity<List> entity = null;
+		long loginStart = System.nanoTime();
 		try {
 			RestTemplate restTemplate = rtb.basicAuthentication(userInfo.missionCode + "-" + userInfo.username, userInfo.password)
 				.build();
@@ -151,11 +182,14 @@ public class OdipSecurity {
 				logger.trace("... calling service URL {} with GET", requestUrl);
 			entity = restTemplate.getForEntity(requestUrl, List.class);
 		} catch (HttpClientErrorException.Unauthorized e) {
+			authenticationCache.revoke(userInfo.missionCode, userInfo.username);
 			String message = logger.log(OdipMessage.MSG_NOT_AUTHORIZED_FOR_PRIP, userInfo.missionCode, userInfo.username);
 			throw new SecurityException(message);
 		} catch (Exception e) {
 			String message = logger.log(OdipMessage.MSG_HTTP_REQUEST_FAILED, e.getMessage());
 			throw new SecurityException(message);
+		} finally {
+			authenticationCache.recordLogin(loginStart);
 		}
 		if (logger.isTraceEnabled())
 			logger.trace("... Authentication succeeded for user " + userInfo.missionCode + "\\" + userInfo.username);
@@ -171,10 +205,13 @@ public class OdipSecurity {
 		// Check whether user is authorized to use the ODIP API
 		// TODO use ODIP_USER after change of model
 		if (!userInfo.authorities.contains(UserRole.PRIP_USER.asRoleString())) {
+			authenticationCache.revoke(userInfo.missionCode, userInfo.username);
 			String message = logger.log(OdipMessage.MSG_NOT_AUTHORIZED_FOR_PRIP, userInfo.missionCode, userInfo.username);
 			throw new SecurityException(message);
 		}
 
+		authenticationCache.put(userInfo.missionCode, userInfo.username, userInfo.password, userInfo.authorities);
+
 		return userInfo;
 	}
 
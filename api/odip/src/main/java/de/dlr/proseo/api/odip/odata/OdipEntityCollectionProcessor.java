@@ -5,11 +5,23 @@
  */
 package de.dlr.proseo.api.odip.odata;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -43,6 +55,7 @@ import org.apache.olingo.server.api.uri.queryoption.OrderByItem;
 import org.apache.olingo.server.api.uri.queryoption.OrderByOption;
 import org.apache.olingo.server.api.uri.queryoption.SelectOption;
 import org.apache.olingo.server.api.uri.queryoption.SkipOption;
+import org.apache.olingo.server.api.uri.queryoption.SkipTokenOption;
 import org.apache.olingo.server.api.uri.queryoption.TopOption;
 import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
 import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
@@ -59,7 +72,9 @@ import de.dlr.proseo.logging.messages.OdipMessage;
 import de.dlr.proseo.model.ProcessingOrder;
 import de.dlr.proseo.model.Workflow;
 import de.dlr.proseo.model.ApiMetrics;
+import de.dlr.proseo.model.PersistentObject;
 import de.dlr.proseo.model.enums.UserRole;
+import de.dlr.proseo.model.util.BatchLoader;
 
 /**
  * Process the entity collections of production order and workflow
@@ -98,6 +113,46 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 	 */
 	private static ProseoLogger logger = new ProseoLogger(OdipEntityCollectionProcessor.class);
 
+	/** Cached workflow collection responses by mission, query and format (least recently used entries are evicted first) */
+	private final Map<String, CachedResponse> workflowResponseCache = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+			return size() > config.getWorkflowCacheSize();
+		}
+	};
+
+	/**
+	 * Tables the workflow collection responses depend on: the workflows and their options, the referenced product classes
+	 * (whose product types are part of the response) and the processor tables used for selecting the workflows of a mission
+	 */
+	private static final String[] WORKFLOW_STATE_TABLES = { "workflow", "workflow_option", "product_class", "configured_processor",
+			"processor", "processor_class" };
+
+	/** SQL command to determine the state of the workflow tables (changes with any insert, update or delete) */
+	private static final String SQL_WORKFLOW_STATE = "SELECT " + Arrays.stream(WORKFLOW_STATE_TABLES)
+		.map(table -> "(SELECT count(*) FROM " + table + "), (SELECT coalesce(sum(id + version), 0) FROM " + table + ")")
+		.collect(Collectors.joining(", "));
+
+	/**
+	 * A serialized collection response together with its entity tag and the state of the underlying tables
+	 */
+	private static class CachedResponse {
+		/** The state of the workflow tables at the time of serialization */
+		private final String state;
+		/** The entity tag for the response content */
+		private final String etag;
+		/** The serialized response content */
+		private final byte[] content;
+
+		private CachedResponse(String state, String etag, byte[] content) {
+			this.state = state;
+			this.etag = etag;
+			this.content = content;
+		}
+	}
+
 	/**
 	 * Inner class denoting that a retrieval request exceeded the configured quota
 	 */
@@ -269,6 +324,135 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 		return sqlCommand;
 	}
 
+	/**
+	 * Get the keyset position given in the "$skiptoken" query parameter (the database ID of the last object of the previous
+	 * page)
+	 *
+	 * @param uriInfo the URI info to analyze
+	 * @return the database ID from the skip token, or null, if no skip token was given
+	 * @throws ODataApplicationException if the skip token is not a valid database ID
+	 */
+	private Long getSkipToken(UriInfo uriInfo) throws ODataApplicationException {
+		SkipTokenOption skipTokenOption = uriInfo.getSkipTokenOption();
+		if (null == skipTokenOption) {
+			return null;
+		}
+		try {
+			return Long.parseLong(skipTokenOption.getValue());
+		} catch (NumberFormatException e) {
+			throw new ODataApplicationException("Invalid skip token: " + skipTokenOption.getValue(),
+					HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ROOT);
+		}
+	}
+
+	/**
+	 * Append the keyset condition from the "$skiptoken" query parameter, the sort order and the "$top" and "$skip" restrictions
+	 * to the given SQL command (all collection queries use "p" as alias for the primary table). Without "$orderby" the
+	 * result is sorted by database ID, so that consecutive pages are stable and can be continued by skip token.
+	 *
+	 * @param sqlCommand    the SQL command to extend
+	 * @param orderByClause the "ORDER BY" clause derived from the "$orderby" query parameter (may be empty)
+	 * @param uriInfo       the URI info to analyze
+	 * @throws ODataApplicationException if a skip token is combined with "$orderby" or is invalid
+	 */
+	private void appendKeysetAndPaging(StringBuilder sqlCommand, StringBuilder orderByClause, UriInfo uriInfo)
+			throws ODataApplicationException {
+		Long skipToken = getSkipToken(uriInfo);
+		if (null != skipToken) {
+			if (0 < orderByClause.length()) {
+				throw new ODataApplicationException("$skiptoken cannot be combined with $orderby",
+						HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ROOT);
+			}
+			sqlCommand.append("\nAND p.id > ").append(skipToken);
+		}
+
+		if (0 < orderByClause.length()) {
+			sqlCommand.append("\n").append(orderByClause);
+		} else {
+			sqlCommand.append("\nORDER BY p.id ASC");
+		}
+
+		// Test topOption
+		TopOption topOption = uriInfo.getTopOption();
+		if (null == topOption) {
+			// In any case we restrict the number of objects to retrieve to the quota
+			sqlCommand.append("\nLIMIT ").append(config.getQuota() + 1);
+		} else {
+			sqlCommand.append("\nLIMIT ").append(topOption.getValue());
+		}
+
+		// Test skip option
+		SkipOption skipOption = uriInfo.getSkipOption();
+		if (null != skipOption) {
+			sqlCommand.append("\nOFFSET ").append(skipOption.getValue());
+		}
+	}
+
+	/**
+	 * Determine the collection size for the "$count" query parameter. If the result page is the last page of the collection,
+	 * the collection size is derived from the page, otherwise the given count query is executed.
+	 *
+	 * @param uriInfo      the URI info to analyze
+	 * @param resultSize   the number of objects in the result page
+	 * @param countCommand the SQL command to count all objects matching the filter
+	 * @return the collection size
+	 */
+	private Integer countCollection(UriInfo uriInfo, int resultSize, StringBuilder countCommand) {
+		TopOption topOption = uriInfo.getTopOption();
+		SkipOption skipOption = uriInfo.getSkipOption();
+		int skip = (null == skipOption ? 0 : skipOption.getValue());
+		long limit = (null == topOption ? config.getQuota() + 1 : topOption.getValue());
+
+		// A page, which is not full, ends the collection (unless positioned by skip token or beyond the end of the collection)
+		if (null == uriInfo.getSkipTokenOption() && resultSize < limit && (0 < resultSize || 0 == skip)) {
+			if (logger.isTraceEnabled())
+				logger.trace("... collection size {} derived from result page", skip + resultSize);
+			return skip + resultSize;
+		}
+
+		Query query = em.createNativeQuery(countCommand.toString());
+		Integer collectionSize = 0;
+		String queryResult = query.getSingleResult().toString();
+		try {
+			collectionSize = Integer.parseInt(queryResult);
+		} catch (NumberFormatException e) {
+			logger.log(OdipMessage.MSG_INVALID_QUERY_RESULT, queryResult);
+		}
+		return collectionSize;
+	}
+
+	/**
+	 * Set the link to the next page of the collection, if a full page was requested with "$top" (and without "$orderby"). The
+	 * link repeats the request with the "$skip" option replaced by a "$skiptoken" pointing to the last object of this page.
+	 *
+	 * @param collection the entity collection to update
+	 * @param resultList the objects in the result page
+	 * @param uriInfo    the URI info to analyze
+	 * @param request    the OData request
+	 * @throws URISyntaxException if the link to the next page cannot be generated
+	 */
+	private void setNextLink(EntityCollection collection, List<? extends PersistentObject> resultList, UriInfo uriInfo,
+			ODataRequest request) throws URISyntaxException {
+		TopOption topOption = uriInfo.getTopOption();
+		if (null == topOption || null != uriInfo.getOrderByOption() || resultList.isEmpty()
+				|| resultList.size() < topOption.getValue()) {
+			return;
+		}
+
+		StringBuilder nextLink = new StringBuilder(request.getRawBaseUri()).append(request.getRawODataPath()).append('?');
+		if (null != request.getRawQueryPath()) {
+			for (String queryParam : request.getRawQueryPath().split("&")) {
+				String paramName = URLDecoder.decode(queryParam.split("=", 2)[0], StandardCharsets.UTF_8);
+				if (!queryParam.isEmpty() && !"$skip".equals(paramName) && !"$skiptoken".equals(paramName)) {
+					nextLink.append(queryParam).append('&');
+				}
+			}
+		}
+		nextLink.append("$skiptoken=").append(resultList.get(resultList.size() - 1).getId());
+
+		collection.setNext(new URI(nextLink.toString()));
+	}
+
 	/**
 	 * Convert the given URI info object into a native SQL command to select the requested production orders. In addition to the URI
 	 * info the production order class access rights of the logged in user will be respected.
@@ -289,8 +473,8 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 //		List<CustomQueryOption> customQueryOptions = uriInfo.getCustomQueryOptions();
 		// Test order option
 		OrderByOption orderByOption = uriInfo.getOrderByOption();
+		StringBuilder orderByClause = new StringBuilder();
 		if (null != orderByOption) {
-			StringBuilder orderByClause = new StringBuilder();
 			List<OrderByItem> orderByItems = orderByOption.getOrders();
 			boolean first = true;
 			for (OrderByItem orderByItem : orderByItems) {
@@ -308,23 +492,10 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 							HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ROOT);
 				}
 			}
-			sqlCommand.append("\n").append(orderByClause);
-		}
-
-		// Test topOption
-		TopOption topOption = uriInfo.getTopOption();
-		if (null == topOption) {
-			// In any case we restrict the number of orders to retrieve to the quota
-			sqlCommand.append("\nLIMIT ").append(config.getQuota() + 1);
-		} else {
-			sqlCommand.append("\nLIMIT ").append(topOption.getValue());
 		}
 
-		// Test skip option
-		SkipOption skipOption = uriInfo.getSkipOption();
-		if (null != skipOption) {
-			sqlCommand.append("\nOFFSET ").append(skipOption.getValue());
-		}
+		// Add keyset condition, order and result set restrictions
+		appendKeysetAndPaging(sqlCommand, orderByClause, uriInfo);
 
 		logger.trace("<<< createProcessingOrderSqlQuery() -> SQL command:\n" + sqlCommand);
 		return sqlCommand.toString();
@@ -349,8 +520,8 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 
 		// Test order option
 		OrderByOption orderByOption = uriInfo.getOrderByOption();
+		StringBuilder orderByClause = new StringBuilder();
 		if (null != orderByOption) {
-			StringBuilder orderByClause = new StringBuilder();
 			List<OrderByItem> orderByItems = orderByOption.getOrders();
 			boolean first = true;
 			for (OrderByItem orderByItem : orderByItems) {
@@ -368,23 +539,10 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 							HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ROOT);
 				}
 			}
-			sqlCommand.append("\n").append(orderByClause);
 		}
 
-		// Test topOption
-		TopOption topOption = uriInfo.getTopOption();
-		if (null == topOption) {
-			// In any case we restrict the number of workflows to retrieve to the quota
-			sqlCommand.append("\nLIMIT ").append(config.getQuota() + 1);
-		} else {
-			sqlCommand.append("\nLIMIT ").append(topOption.getValue());
-		}
-
-		// Test skip option
-		SkipOption skipOption = uriInfo.getSkipOption();
-		if (null != skipOption) {
-			sqlCommand.append("\nOFFSET ").append(skipOption.getValue());
-		}
+		// Add keyset condition, order and result set restrictions
+		appendKeysetAndPaging(sqlCommand, orderByClause, uriInfo);
 
 		logger.trace("<<< createWorkflowSqlQuery() -> SQL command:\n" + sqlCommand);
 		return sqlCommand.toString();
@@ -409,8 +567,8 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 
 		// Test order option
 		OrderByOption orderByOption = uriInfo.getOrderByOption();
+		StringBuilder orderByClause = new StringBuilder();
 		if (null != orderByOption) {
-			StringBuilder orderByClause = new StringBuilder();
 			List<OrderByItem> orderByItems = orderByOption.getOrders();
 			boolean first = true;
 			for (OrderByItem orderByItem : orderByItems) {
@@ -428,23 +586,10 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 							HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ROOT);
 				}
 			}
-			sqlCommand.append("\n").append(orderByClause);
-		}
-
-		// Test topOption
-		TopOption topOption = uriInfo.getTopOption();
-		if (null == topOption) {
-			// In any case we restrict the number of Metrics to retrieve to the quota
-			sqlCommand.append("\nLIMIT ").append(config.getQuota() + 1);
-		} else {
-			sqlCommand.append("\nLIMIT ").append(topOption.getValue());
 		}
 
-		// Test skip option
-		SkipOption skipOption = uriInfo.getSkipOption();
-		if (null != skipOption) {
-			sqlCommand.append("\nOFFSET ").append(skipOption.getValue());
-		}
+		// Add keyset condition, order and result set restrictions
+		appendKeysetAndPaging(sqlCommand, orderByClause, uriInfo);
 
 		logger.trace("<<< createMetricsSqlQuery() -> SQL command:\n" + sqlCommand);
 		return sqlCommand.toString();
@@ -454,16 +599,16 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 	 * Read the requested orders from the prosEO kernel components
 	 *
 	 * @param uriInfo additional URI parameters to consider in the request
-	 *
+	 * @param request the OData request (for creating the link to the next page)
 	 * @return a collection of entities representing orders
 	 * @throws URISyntaxException        if a valid URI cannot be generated from any UUID
 	 * @throws QuotaExceededException    if the result set exceeds the configured quota
 	 * @throws ODataApplicationException if an error occurs during evaluation of a filtering condition
 	 */
-	private EntityCollection queryProductionOrders(UriInfo uriInfo)
+	private EntityCollection queryProductionOrders(UriInfo uriInfo, ODataRequest request)
 			throws URISyntaxException, QuotaExceededException, ODataApplicationException {
 		if (logger.isTraceEnabled())
-			logger.trace(">>> queryProductionOrders({})", uriInfo);
+			logger.trace(">>> queryProductionOrders({}, {})", uriInfo, request);
 
 		EntityCollection orderCollection = new EntityCollection();
 		List<Entity> orderList = new ArrayList<>();
@@ -480,32 +625,29 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 			throw new QuotaExceededException(message);
 		}
 
-		for (Object resultObject : query.getResultList()) {
-			if (resultObject instanceof ProcessingOrder) {
-				// Create output production order
-				Entity productionOrder = OdipApplicationBase.util.toOdipProductionOrder((ProcessingOrder) resultObject);
-				orderList.add(productionOrder);
-			}
+		// Load lazily fetched order attributes for all orders at once
+		List<ProcessingOrder> modelOrders = resultList.stream()
+			.filter(ProcessingOrder.class::isInstance)
+			.map(ProcessingOrder.class::cast)
+			.collect(Collectors.toList());
+		BatchLoader.loadOrderAttributes(em, modelOrders);
+
+		for (ProcessingOrder modelOrder : modelOrders) {
+			// Create output production order
+			Entity productionOrder = OdipApplicationBase.util.toOdipProductionOrder(modelOrder);
+			orderList.add(productionOrder);
 		}
 		if (logger.isDebugEnabled())
 			logger.debug("... production orders found: " + orderList.size());
 
 		// Add the production order list to the production order collection
 		orderCollection.getEntities().addAll(orderList);
+		setNextLink(orderCollection, modelOrders, uriInfo, request);
 
 		// Check $count option
 		CountOption countOption = uriInfo.getCountOption();
 		if (null != countOption && countOption.getValue()) {
-			sqlCommand = createProcessingOrderSqlQueryFilter(uriInfo, true).toString();
-
-			query = em.createNativeQuery(sqlCommand);
-			Integer collectionSize = 0;
-			String queryResult = query.getSingleResult().toString();
-			try {
-				collectionSize = Integer.parseInt(queryResult);
-			} catch (NumberFormatException e) {
-				logger.log(OdipMessage.MSG_INVALID_QUERY_RESULT, queryResult);
-			}
+			Integer collectionSize = countCollection(uriInfo, resultList.size(), createProcessingOrderSqlQueryFilter(uriInfo, true));
 
 			if (logger.isTraceEnabled())
 				logger.trace("... returning collection size {} due to $count option", collectionSize);
@@ -521,16 +663,16 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 	 * Read the requested workflows from the prosEO kernel components
 	 *
 	 * @param uriInfo additional URI parameters to consider in the request
-	 *
+	 * @param request the OData request (for creating the link to the next page)
 	 * @return a collection of entities representing workflows
 	 * @throws URISyntaxException        if a valid URI cannot be generated from any UUID
 	 * @throws QuotaExceededException    if the result set exceeds the configured quota
 	 * @throws ODataApplicationException if an error occurs during evaluation of a filtering condition
 	 */
-	private EntityCollection queryWorkflows(UriInfo uriInfo)
+	private EntityCollection queryWorkflows(UriInfo uriInfo, ODataRequest request)
 			throws URISyntaxException, QuotaExceededException, ODataApplicationException {
 		if (logger.isTraceEnabled())
-			logger.trace(">>> queryWorkflows({})", uriInfo);
+			logger.trace(">>> queryWorkflows({}, {})", uriInfo, request);
 
 		EntityCollection orderCollection = new EntityCollection();
 		List<Entity> workflowList = new ArrayList<>();
@@ -547,32 +689,29 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 			throw new QuotaExceededException(message);
 		}
 
-		for (Object resultObject : query.getResultList()) {
-			if (resultObject instanceof Workflow) {
-				// Create output workflow
-				Entity workflow = OdipApplicationBase.util.toOdipWorkflow((Workflow) resultObject);
-				workflowList.add(workflow);
-			}
+		// Load lazily fetched workflow attributes for all workflows at once
+		List<Workflow> modelWorkflows = resultList.stream()
+			.filter(Workflow.class::isInstance)
+			.map(Workflow.class::cast)
+			.collect(Collectors.toList());
+		BatchLoader.loadWorkflowAttributes(em, modelWorkflows);
+
+		for (Workflow modelWorkflow : modelWorkflows) {
+			// Create output workflow
+			Entity workflow = OdipApplicationBase.util.toOdipWorkflow(modelWorkflow);
+			workflowList.add(workflow);
 		}
 		if (logger.isDebugEnabled())
 			logger.debug("... workflows found: " + workflowList.size());
 
 		// Add the workflow list to the workflow collection
 		orderCollection.getEntities().addAll(workflowList);
+		setNextLink(orderCollection, modelWorkflows, uriInfo, request);
 
 		// Check $count option
 		CountOption countOption = uriInfo.getCountOption();
 		if (null != countOption && countOption.getValue()) {
-			sqlCommand = createWorkflowSqlQueryFilter(uriInfo, true).toString();
-
-			query = em.createNativeQuery(sqlCommand);
-			Integer collectionSize = 0;
-			String queryResult = query.getSingleResult().toString();
-			try {
-				collectionSize = Integer.parseInt(queryResult);
-			} catch (NumberFormatException e) {
-				logger.log(OdipMessage.MSG_INVALID_QUERY_RESULT, queryResult);
-			}
+			Integer collectionSize = countCollection(uriInfo, resultList.size(), createWorkflowSqlQueryFilter(uriInfo, true));
 
 			if (logger.isTraceEnabled())
 				logger.trace("... returning collection size {} due to $count option", collectionSize);
@@ -584,24 +723,24 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 		return orderCollection;
 	}
 	/**
-	 * Read the requested workflows from the prosEO kernel components
+	 * Read the requested metrics from the prosEO kernel components
 	 *
 	 * @param uriInfo additional URI parameters to consider in the request
-	 *
-	 * @return a collection of entities representing workflows
+	 * @param request the OData request (for creating the link to the next page)
+	 * @return a collection of entities representing metrics
 	 * @throws URISyntaxException        if a valid URI cannot be generated from any UUID
 	 * @throws QuotaExceededException    if the result set exceeds the configured quota
 	 * @throws ODataApplicationException if an error occurs during evaluation of a filtering condition
 	 */
-	private EntityCollection queryMetrics(UriInfo uriInfo)
+	private EntityCollection queryMetrics(UriInfo uriInfo, ODataRequest request)
 			throws URISyntaxException, QuotaExceededException, ODataApplicationException {
 		if (logger.isTraceEnabled())
-			logger.trace(">>> queryMetrics({})", uriInfo);
+			logger.trace(">>> queryMetrics({}, {})", uriInfo, request);
 
 		EntityCollection orderCollection = new EntityCollection();
 		List<Entity> metricsList = new ArrayList<>();
 
-		// Request workflow list from database
+		// Request metrics list from database
 		String sqlCommand = createMetricsSqlQuery(uriInfo);
 
 		Query query = em.createNativeQuery(sqlCommand, ApiMetrics.class);
@@ -613,32 +752,27 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 			throw new QuotaExceededException(message);
 		}
 
-		for (Object resultObject : query.getResultList()) {
-			if (resultObject instanceof ApiMetrics) {
-				// Create output workflow
-				Entity metric = OdipApplicationBase.util.toOdipMetrics((ApiMetrics) resultObject);
-				metricsList.add(metric);
-			}
+		List<ApiMetrics> modelMetrics = resultList.stream()
+			.filter(ApiMetrics.class::isInstance)
+			.map(ApiMetrics.class::cast)
+			.collect(Collectors.toList());
+
+		for (ApiMetrics modelMetric : modelMetrics) {
+			// Create output metric
+			Entity metric = OdipApplicationBase.util.toOdipMetrics(modelMetric);
+			metricsList.add(metric);
 		}
 		if (logger.isDebugEnabled())
-			logger.debug("... workflows found: " + metricsList.size());
+			logger.debug("... metrics found: " + metricsList.size());
 
-		// Add the workflow list to the workflow collection
+		// Add the metrics list to the metrics collection
 		orderCollection.getEntities().addAll(metricsList);
+		setNextLink(orderCollection, modelMetrics, uriInfo, request);
 
 		// Check $count option
 		CountOption countOption = uriInfo.getCountOption();
 		if (null != countOption && countOption.getValue()) {
-			sqlCommand = createMetricsSqlQueryFilter(uriInfo, true).toString();
-
-			query = em.createNativeQuery(sqlCommand);
-			Integer collectionSize = 0;
-			String queryResult = query.getSingleResult().toString();
-			try {
-				collectionSize = Integer.parseInt(queryResult);
-			} catch (NumberFormatException e) {
-				logger.log(OdipMessage.MSG_INVALID_QUERY_RESULT, queryResult);
-			}
+			Integer collectionSize = countCollection(uriInfo, resultList.size(), createMetricsSqlQueryFilter(uriInfo, true));
 
 			if (logger.isTraceEnabled())
 				logger.trace("... returning collection size {} due to $count option", collectionSize);
@@ -650,6 +784,77 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 		return orderCollection;
 	}
 
+	/**
+	 * Determine the state of the workflow tables for validating cached workflow collection responses
+	 *
+	 * @return a string representation of the row counts and version sums of the workflow tables
+	 */
+	private String queryWorkflowState() {
+		Object result = em.createNativeQuery(SQL_WORKFLOW_STATE).getSingleResult();
+		return (result instanceof Object[] ? Arrays.toString((Object[]) result) : String.valueOf(result));
+	}
+
+	/**
+	 * Create a strong entity tag for the given response content
+	 *
+	 * @param content the serialized response content
+	 * @return the quoted entity tag
+	 */
+	/* package */ static String createETag(byte[] content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+			return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+		} catch (NoSuchAlgorithmException e) {
+			// Cannot happen, SHA-256 is available in every Java platform implementation
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Checks whether the entity tag matches any of the entity tags given in the "If-None-Match" header of the request
+	 *
+	 * @param request the OData request
+	 * @param etag    the entity tag of the current response content
+	 * @return true, if the client already has the current response content, false otherwise
+	 */
+	/* package */ static boolean matchesIfNoneMatch(ODataRequest request, String etag) {
+		String ifNoneMatch = request.getHeader(HttpHeader.IF_NONE_MATCH);
+		if (null == ifNoneMatch) {
+			return false;
+		}
+		for (String requestETag : ifNoneMatch.split(",")) {
+			requestETag = requestETag.trim();
+			if (requestETag.startsWith("W/")) {
+				requestETag = requestETag.substring(2);
+			}
+			if ("*".equals(requestETag) || etag.equals(requestETag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Set the response from a (cached or newly serialized) workflow collection response, answering conditional requests with
+	 * the current entity tag with "304 Not Modified"
+	 *
+	 * @param request        the OData request
+	 * @param response       the OData response to fill
+	 * @param cachedResponse the workflow collection response
+	 * @param responseFormat the requested content type
+	 */
+	private void setWorkflowResponse(ODataRequest request, ODataResponse response, CachedResponse cachedResponse,
+			ContentType responseFormat) {
+		response.setHeader(HttpHeader.ETAG, cachedResponse.etag);
+		if (matchesIfNoneMatch(request, cachedResponse.etag)) {
+			response.setStatusCode(HttpStatusCode.NOT_MODIFIED.getStatusCode());
+			return;
+		}
+		response.setContent(new ByteArrayInputStream(cachedResponse.content));
+		response.setStatusCode(HttpStatusCode.OK.getStatusCode());
+		response.setHeader(HttpHeader.CONTENT_TYPE, responseFormat.toContentTypeString());
+	}
+
 	/**
 	 * Reads entities data from persistence and puts serialized content and status into the response.
 	 *
@@ -675,17 +880,38 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 																									// segment is the EntitySet
 		EdmEntitySet edmEntitySet = uriResourceEntitySet.getEntitySet();
 
+		// Workflows change rarely, so serve workflow collections from the response cache as long as the workflow tables are unchanged
+		boolean isWorkflowCacheable = 0 < config.getWorkflowCacheSize()
+				&& edmEntitySet.getEntityType().getFullQualifiedName().equals(OdipEdmProvider.ET_WORKFLOW_FQN)
+				&& ContentType.APPLICATION_JSON.isCompatible(responseFormat);
+		String workflowCacheKey = securityConfig.getMission() + "|" + request.getRawQueryPath() + "|"
+				+ responseFormat.toContentTypeString();
+		String workflowState = null;
+		if (isWorkflowCacheable) {
+			workflowState = queryWorkflowState();
+			CachedResponse cachedResponse;
+			synchronized (workflowResponseCache) {
+				cachedResponse = workflowResponseCache.get(workflowCacheKey);
+			}
+			if (null != cachedResponse && cachedResponse.state.equals(workflowState)) {
+				if (logger.isTraceEnabled())
+					logger.trace("... serving workflow collection from cache with ETag {}", cachedResponse.etag);
+				setWorkflowResponse(request, response, cachedResponse, responseFormat);
+				return;
+			}
+		}
+
 		// [2] Fetch the data from backend for this requested EntitySetName (has to be delivered as EntityCollection object)
 		EntityCollection entityCollection;
 		try {
 			if (edmEntitySet.getEntityType().getFullQualifiedName().equals(OdipEdmProvider.ET_PRODUCTIONORDER_FQN)
 					|| edmEntitySet.getEntityType().getFullQualifiedName().equals(OdipEdmProvider.ET_ORDER_FQN)) {
 				// Query the backend services for the requested objects, passing on user, password and mission
-				entityCollection = queryProductionOrders(uriInfo);
+				entityCollection = queryProductionOrders(uriInfo, request);
 			} else if (edmEntitySet.getEntityType().getFullQualifiedName().equals(OdipEdmProvider.ET_WORKFLOW_FQN)) {
-				entityCollection = queryWorkflows(uriInfo);
+				entityCollection = queryWorkflows(uriInfo, request);
 			} else if (edmEntitySet.getEntityType().getFullQualifiedName().equals(OdipEdmProvider.ET_METRICS_FQN)) {
-				entityCollection = queryMetrics(uriInfo);
+				entityCollection = queryMetrics(uriInfo, request);
 			} else {
 				String message = logger.log(OdipMessage.MSG_INVALID_ENTITY_TYPE,
 						edmEntitySet.getEntityType().getFullQualifiedName());
@@ -779,6 +1005,21 @@ public class OdipEntityCollectionProcessor implements EntityCollectionProcessor
 		}
 
 		// Finally: configure the response object: set the body, headers and status code
+		if (isWorkflowCacheable) {
+			byte[] content;
+			try {
+				content = serializedContent.readAllBytes();
+			} catch (IOException e) {
+				throw new ODataApplicationException(logger.log(OdipMessage.MSG_EXCEPTION, e.getClass().getCanonicalName(), e.getMessage()),
+						HttpStatusCode.INTERNAL_SERVER_ERROR.getStatusCode(), Locale.ROOT);
+			}
+			CachedResponse cachedResponse = new CachedResponse(workflowState, createETag(content), content);
+			synchronized (workflowResponseCache) {
+				workflowResponseCache.put(workflowCacheKey, cachedResponse);
+			}
+			setWorkflowResponse(request, response, cachedResponse, responseFormat);
+			return;
+		}
 		response.setContent(serializedContent);
 		response.setStatusCode(HttpStatusCode.OK.getStatusCode());
 		response.setHeader(HttpHeader.CONTENT_TYPE, responseFormat.toContentTypeString());
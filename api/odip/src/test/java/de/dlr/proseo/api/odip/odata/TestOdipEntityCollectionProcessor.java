@@ -0,0 +1,399 @@
+/**
+ * TestOdipEntityCollectionProcessor.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.api.odip.odata;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataHttpHandler;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.dlr.proseo.api.odip.OdipApplicationBase;
+import de.dlr.proseo.api.odip.OdipConfiguration;
+import de.dlr.proseo.api.odip.OdipSecurity;
+import de.dlr.proseo.model.Workflow;
+import de.dlr.proseo.model.enums.UserRole;
+
+/**
+ * Test class for OdipEntityCollectionProcessor: Keyset paging with "$skiptoken" and next links, evaluation of the "$count"
+ * option and caching of workflow collection responses with entity tags. The database is simulated by answering the native SQL
+ * queries generated by the processor from a list of test workflows.
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class TestOdipEntityCollectionProcessor {
+
+	private static final byte[] TEST_CONTENT = "{\"value\":[{\"Name\":\"Workflow1\"}]}".getBytes(StandardCharsets.UTF_8);
+
+	private static final String URI_PROTOCOL = "https:";
+	private static final String URI_BASE = "//localhost/proseo/odip/odata/v1";
+	private static final String URI_ODATA = "/Workflows";
+
+	/** Number of test workflows */
+	private static final int TEST_WORKFLOWS = 25;
+
+	/** Quota for the result size */
+	private static final long TEST_QUOTA = 1000L;
+
+	/** Patterns for the keyset condition and the paging restrictions in the generated SQL commands */
+	private static final Pattern KEYSET_PATTERN = Pattern.compile("AND p\\.id > (\\d+)");
+	private static final Pattern LIMIT_PATTERN = Pattern.compile("LIMIT (\\d+)");
+	private static final Pattern OFFSET_PATTERN = Pattern.compile("OFFSET (\\d+)");
+	private static final Pattern TABLE_PATTERN = Pattern.compile("FROM (\\w+)\\)");
+
+	@Mock
+	private EntityManager em;
+
+	@Mock
+	private OdipConfiguration config;
+
+	@Mock
+	private OdipSecurity securityConfig;
+
+	@InjectMocks
+	private OdipEntityCollectionProcessor processor;
+
+	/** Closeable for the Mockito annotations */
+	private AutoCloseable mocks;
+
+	/** The OData request handler with the processor under test */
+	private ODataHttpHandler handler;
+
+	/** The test workflows in the simulated database (in order of their IDs) */
+	private List<Workflow> workflows = new ArrayList<>();
+
+	/** The simulated version sum for each table */
+	private Map<String, Long> tableVersions = new HashMap<>();
+
+	/** The SQL commands for workflow retrieval and counting issued by the processor */
+	private List<String> workflowQueries = new ArrayList<>();
+	private List<String> countQueries = new ArrayList<>();
+
+	/**
+	 * Set up the processor with a simulated database
+	 */
+	@Before
+	public void setUp() throws Exception {
+		mocks = MockitoAnnotations.openMocks(this);
+
+		when(config.getQuota()).thenReturn(TEST_QUOTA);
+		when(config.getWorkflowCacheSize()).thenReturn(10);
+		when(securityConfig.getMission()).thenReturn("PTM");
+		when(securityConfig.hasRole(any(UserRole.class))).thenReturn(true);
+
+		for (long id = 1; id <= TEST_WORKFLOWS; ++id) {
+			Workflow workflow = new Workflow();
+			workflow.setId(id);
+			workflow.setUuid(UUID.randomUUID());
+			workflow.setName("Workflow_" + id);
+			workflow.setWorkflowVersion("1.0");
+			workflows.add(workflow);
+		}
+
+		// Workflow retrieval: apply keyset condition, limit and offset
+		when(em.createNativeQuery(anyString(), eq(Workflow.class))).thenAnswer(invocation -> {
+			String sqlCommand = invocation.getArgument(0);
+			workflowQueries.add(sqlCommand);
+			long skipToken = extract(KEYSET_PATTERN, sqlCommand, 0);
+			int offset = (int) extract(OFFSET_PATTERN, sqlCommand, 0);
+			int limit = (int) extract(LIMIT_PATTERN, sqlCommand, Integer.MAX_VALUE);
+			List<Workflow> page = workflows.stream()
+				.filter(workflow -> workflow.getId() > skipToken)
+				.skip(offset)
+				.limit(limit)
+				.toList();
+			Query query = mock(Query.class);
+			when(query.getResultList()).thenReturn(new ArrayList<>(page));
+			return query;
+		});
+
+		// Workflow counting and state of the workflow tables
+		when(em.createNativeQuery(anyString())).thenAnswer(invocation -> {
+			String sqlCommand = invocation.getArgument(0);
+			Query query = mock(Query.class);
+			if (sqlCommand.startsWith("SELECT count(DISTINCT")) {
+				countQueries.add(sqlCommand);
+				long skipToken = extract(KEYSET_PATTERN, sqlCommand, 0);
+				when(query.getSingleResult())
+					.thenReturn(workflows.stream().filter(workflow -> workflow.getId() > skipToken).count());
+			} else {
+				List<Object> state = new ArrayList<>();
+				Matcher matcher = TABLE_PATTERN.matcher(sqlCommand);
+				while (matcher.find()) {
+					state.add(tableVersions.getOrDefault(matcher.group(1), 0L));
+				}
+				when(query.getSingleResult()).thenReturn(state.toArray());
+			}
+			return query;
+		});
+
+		// Batch loading of workflow attributes
+		Query jpqlQuery = mock(Query.class);
+		when(jpqlQuery.setParameter(anyString(), any())).thenReturn(jpqlQuery);
+		when(jpqlQuery.getResultList()).thenReturn(new ArrayList<>());
+		when(em.createQuery(anyString())).thenReturn(jpqlQuery);
+
+		OdipApplicationBase.util = new OdipUtilBase();
+
+		OData odata = OData.newInstance();
+		handler = odata.createHandler(odata.createServiceMetadata(new OdipEdmProvider(), new ArrayList<EdmxReference>()));
+		handler.register(processor);
+	}
+
+	/**
+	 * Release the mocks
+	 */
+	@After
+	public void tearDown() throws Exception {
+		mocks.close();
+	}
+
+	/**
+	 * Extract a numeric value from an SQL command
+	 *
+	 * @param pattern      the pattern with the value as first group
+	 * @param sqlCommand   the SQL command
+	 * @param defaultValue the value to return, if the pattern is not found
+	 * @return the value found or the default value
+	 */
+	private static long extract(Pattern pattern, String sqlCommand, long defaultValue) {
+		Matcher matcher = pattern.matcher(sqlCommand);
+		return matcher.find() ? Long.parseLong(matcher.group(1)) : defaultValue;
+	}
+
+	/**
+	 * Send a request for the workflow collection to the processor
+	 *
+	 * @param uriQuery    the URI query
+	 * @param ifNoneMatch the entity tag for a conditional request (may be null)
+	 * @return the OData response
+	 */
+	private ODataResponse requestWorkflows(String uriQuery, String ifNoneMatch) {
+		ODataRequest request = new ODataRequest();
+		request.setMethod(HttpMethod.GET);
+		request.setProtocol(URI_PROTOCOL);
+		request.setRawBaseUri(URI_PROTOCOL + URI_BASE);
+		request.setRawODataPath(URI_ODATA);
+		request.setRawQueryPath(uriQuery);
+		request.setRawRequestUri(URI_PROTOCOL + URI_BASE + URI_ODATA + (null == uriQuery ? "" : "?" + uriQuery));
+		request.setHeader(HttpHeader.ACCEPT, "application/json");
+		if (null != ifNoneMatch) {
+			request.setHeader(HttpHeader.IF_NONE_MATCH, ifNoneMatch);
+		}
+		return handler.process(request);
+	}
+
+	/**
+	 * Parse the content of a successful response
+	 *
+	 * @param response the OData response
+	 * @return the JSON content
+	 */
+	private static JsonNode readContent(ODataResponse response) throws Exception {
+		assertEquals(HttpStatusCode.OK.getStatusCode(), response.getStatusCode());
+		return new ObjectMapper().readTree(response.getContent());
+	}
+
+	/**
+	 * Get the workflow names from a collection response
+	 *
+	 * @param content the JSON content of the response
+	 * @return the workflow names in response order
+	 */
+	private static List<String> getNames(JsonNode content) {
+		List<String> names = new ArrayList<>();
+		for (JsonNode workflow : content.get("value")) {
+			names.add(workflow.get(OdipEdmProvider.ET_WORKFLOW_PROP_NAME).asText());
+		}
+		return names;
+	}
+
+	/**
+	 * Test that entity tags are strong, quoted and depend on the content only
+	 */
+	@Test
+	public void testCreateETag() {
+		String etag = OdipEntityCollectionProcessor.createETag(TEST_CONTENT);
+		assertTrue(etag.matches("\"[0-9a-f]{32}\""));
+		assertEquals(etag, OdipEntityCollectionProcessor.createETag(TEST_CONTENT.clone()));
+		assertNotEquals(etag, OdipEntityCollectionProcessor.createETag("{\"value\":[]}".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Test the evaluation of the "If-None-Match" request header
+	 */
+	@Test
+	public void testMatchesIfNoneMatch() {
+		String etag = OdipEntityCollectionProcessor.createETag(TEST_CONTENT);
+
+		ODataRequest request = new ODataRequest();
+		assertFalse("Unconditional request matched", OdipEntityCollectionProcessor.matchesIfNoneMatch(request, etag));
+
+		request.setHeader(HttpHeader.IF_NONE_MATCH, etag);
+		assertTrue(OdipEntityCollectionProcessor.matchesIfNoneMatch(request, etag));
+
+		request.setHeader(HttpHeader.IF_NONE_MATCH, "\"0123\", W/" + etag);
+		assertTrue("Entity tag in list not matched", OdipEntityCollectionProcessor.matchesIfNoneMatch(request, etag));
+
+		request.setHeader(HttpHeader.IF_NONE_MATCH, "*");
+		assertTrue(OdipEntityCollectionProcessor.matchesIfNoneMatch(request, etag));
+
+		request.setHeader(HttpHeader.IF_NONE_MATCH, "\"0123\"");
+		assertFalse("Outdated entity tag matched", OdipEntityCollectionProcessor.matchesIfNoneMatch(request, etag));
+	}
+
+	/**
+	 * Test that following the next links pages through the whole collection by skip token without gaps or duplicates
+	 */
+	@Test
+	public void testKeysetPaging() throws Exception {
+		when(config.getWorkflowCacheSize()).thenReturn(0);
+
+		List<String> allNames = new ArrayList<>();
+		String uriQuery = "$skip=0&$top=10";
+		int pages = 0;
+		while (null != uriQuery) {
+			JsonNode content = readContent(requestWorkflows(uriQuery, null));
+			List<String> names = getNames(content);
+			allNames.addAll(names);
+			++pages;
+
+			JsonNode nextLink = content.get("@odata.nextLink");
+			if (null == nextLink) {
+				uriQuery = null;
+			} else {
+				assertEquals("Unexpected next link for page " + pages, 10, names.size());
+				uriQuery = new URI(nextLink.asText()).getRawQuery();
+				assertFalse("$skip not removed from next link", uriQuery.contains("$skip="));
+				assertTrue("$top missing in next link", uriQuery.contains("$top=10"));
+				assertTrue("Wrong skip token in next link", uriQuery.endsWith("$skiptoken=" + (10 * pages)));
+			}
+		}
+
+		assertEquals(3, pages);
+		List<String> expectedNames = workflows.stream().map(Workflow::getName).toList();
+		assertEquals(expectedNames, allNames);
+
+		// All queries sorted by ID, continuation queries positioned by keyset instead of offset
+		for (String sqlCommand : workflowQueries) {
+			assertTrue("Query not sorted by ID", sqlCommand.contains("ORDER BY p.id ASC"));
+		}
+		assertTrue(workflowQueries.get(1).contains("AND p.id > 10"));
+		assertTrue(workflowQueries.get(2).contains("AND p.id > 20"));
+
+		// A skip token cannot be combined with a custom sort order
+		assertEquals(HttpStatusCode.BAD_REQUEST.getStatusCode(),
+				requestWorkflows("$skiptoken=10&$orderby=Name asc", null).getStatusCode());
+		assertEquals(HttpStatusCode.BAD_REQUEST.getStatusCode(), requestWorkflows("$skiptoken=abc", null).getStatusCode());
+	}
+
+	/**
+	 * Test that "$count" returns the size of the whole collection, using the count query only where the size cannot be
+	 * derived from the result page
+	 */
+	@Test
+	public void testCount() throws Exception {
+		when(config.getWorkflowCacheSize()).thenReturn(0);
+
+		// Full page: collection size requires the count query
+		JsonNode content = readContent(requestWorkflows("$count=true&$top=10", null));
+		assertEquals(TEST_WORKFLOWS, content.get("@odata.count").asInt());
+		assertEquals(10, getNames(content).size());
+		assertEquals(1, countQueries.size());
+
+		// Last page: collection size derived from offset and page size
+		content = readContent(requestWorkflows("$count=true&$skip=20&$top=10", null));
+		assertEquals(TEST_WORKFLOWS, content.get("@odata.count").asInt());
+		assertEquals(5, getNames(content).size());
+		assertEquals("Unnecessary count query", 1, countQueries.size());
+
+		// Page positioned by skip token: count query required (and not restricted by the skip token)
+		content = readContent(requestWorkflows("$count=true&$top=10&$skiptoken=20", null));
+		assertEquals(TEST_WORKFLOWS, content.get("@odata.count").asInt());
+		assertEquals(5, getNames(content).size());
+		assertEquals(2, countQueries.size());
+	}
+
+	/**
+	 * Test that workflow collection responses are served from the cache until any of the workflow, workflow option or product
+	 * class tables changes, and that conditional requests are answered with "304 Not Modified"
+	 */
+	@Test
+	public void testWorkflowCache() throws Exception {
+		ODataResponse response = requestWorkflows("$top=5", null);
+		String etag = response.getHeader(HttpHeader.ETAG);
+		assertEquals(5, getNames(readContent(response)).size());
+		assertEquals(1, workflowQueries.size());
+
+		// Unchanged tables: served from the cache
+		response = requestWorkflows("$top=5", null);
+		assertEquals(etag, response.getHeader(HttpHeader.ETAG));
+		assertEquals(5, getNames(readContent(response)).size());
+		assertEquals("Response not served from cache", 1, workflowQueries.size());
+
+		response = requestWorkflows("$top=5", etag);
+		assertEquals(HttpStatusCode.NOT_MODIFIED.getStatusCode(), response.getStatusCode());
+		assertNull(response.getContent());
+		assertEquals(1, workflowQueries.size());
+
+		// Different query: not served from the cache
+		assertEquals(6, getNames(readContent(requestWorkflows("$top=6", null))).size());
+		assertEquals(2, workflowQueries.size());
+
+		// Changes to any table, on which the response depends, invalidate the cached responses
+		int expectedQueries = 2;
+		for (String table : new String[] { "workflow", "workflow_option", "product_class" }) {
+			tableVersions.put(table, tableVersions.getOrDefault(table, 0L) + 1);
+			if ("product_class".equals(table)) {
+				workflows.get(0).setName("Workflow_renamed");
+			}
+			response = requestWorkflows("$top=5", etag);
+			assertEquals("Cached response not invalidated by change of table " + table, ++expectedQueries,
+					workflowQueries.size());
+			if ("product_class".equals(table)) {
+				assertEquals(HttpStatusCode.OK.getStatusCode(), response.getStatusCode());
+				assertNotEquals(etag, response.getHeader(HttpHeader.ETAG));
+				assertEquals("Workflow_renamed", getNames(readContent(response)).get(0));
+			} else {
+				// Same content, same entity tag
+				assertEquals(HttpStatusCode.NOT_MODIFIED.getStatusCode(), response.getStatusCode());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+/**
+ * DownloadTokenManager.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.api.prip;
+
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.KeyLengthException;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.logging.messages.PripMessage;
+
+/**
+ * Creation of download tokens for the prosEO Storage Manager. The tokens are signed with the secret shared with the
+ * Storage Manager (and the Ingestor), so the Storage Manager can verify them without a callback, and a download redirect
+ * can be created without requesting a token from the Ingestor.
+ *
+ * @author Dr. Thomas Bassler
+ */
+@Component
+public class DownloadTokenManager {
+
+	/** The PRIP configuration to use */
+	@Autowired
+	private ProductionInterfaceConfiguration config;
+
+	/** A logger for this class */
+	private static ProseoLogger logger = new ProseoLogger(DownloadTokenManager.class);
+
+	/**
+	 * Checks whether download tokens can be created locally
+	 *
+	 * @return true, if a Storage Manager secret is configured, false otherwise
+	 */
+	public boolean isEnabled() {
+		return config.hasStorageManagerSecret();
+	}
+
+	/**
+	 * Create a download token for the given file name with the configured secret and validity period
+	 *
+	 * @param fileName the name of the file to download
+	 * @return the signed JSON Web Token (JWS) as per RFC 7515 and RFC 7519
+	 * @throws IllegalStateException if no Storage Manager secret is configured
+	 * @throws RuntimeException      if the token cannot be signed
+	 */
+	public String createDownloadToken(String fileName) throws IllegalStateException, RuntimeException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> createDownloadToken({})", fileName);
+
+		if (!isEnabled()) {
+			throw new IllegalStateException("No Storage Manager secret configured");
+		}
+
+		return createDownloadToken(config.getStorageManagerSecret(), fileName, config.getStorageManagerValidity());
+	}
+
+	/**
+	 * Create a download token for the given file name (compatible with the tokens created by the Ingestor)
+	 *
+	 * @param secret   the shared secret (exactly 256 bits)
+	 * @param fileName the name of the file to download
+	 * @param validity the validity period of the token in milliseconds
+	 * @return the signed JSON Web Token (JWS) as per RFC 7515 and RFC 7519
+	 * @throws RuntimeException if the token cannot be signed
+	 */
+	/* package */ static String createDownloadToken(byte[] secret, String fileName, long validity) throws RuntimeException {
+		JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.HS256).type(JOSEObjectType.JWT).build();
+
+		JWTClaimsSet claims = new JWTClaimsSet.Builder().subject(fileName)
+			.expirationTime(new Date(new Date().getTime() + validity))
+			.build();
+
+		JWSSigner signer = null;
+		try {
+			signer = new MACSigner(secret);
+		} catch (KeyLengthException e) {
+			throw new RuntimeException(logger.log(PripMessage.MSG_EXCEPTION, e.getClass().getCanonicalName(), e.getMessage()));
+		}
+
+		SignedJWT signedJWT = new SignedJWT(header, claims);
+		try {
+			signedJWT.sign(signer);
+		} catch (JOSEException e) {
+			throw new RuntimeException(logger.log(PripMessage.MSG_EXCEPTION, e.getClass().getCanonicalName(), e.getMessage()));
+		}
+
+		return signedJWT.serialize();
+	}
+
+}
@@ -5,6 +5,8 @@
  */
 package de.dlr.proseo.api.prip;
 
+import java.util.Arrays;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -36,6 +38,29 @@ public class ProductionInterfaceConfiguration {
 	@Value("${proseo.quota}")
 	private Long quota;
 
+	/** Time to live for cached user authentications in seconds (0 disables the cache) */
+	@Value("${proseo.authCache.ttl:60}")
+	private Long authCacheTtl;
+
+	/** Maximum number of cached user authentications */
+	@Value("${proseo.authCache.size:1000}")
+	private Integer authCacheSize;
+
+	/**
+	 * Shared secret for Storage Manager download tokens (optional; if not set, download tokens are requested from the
+	 * Ingestor)
+	 */
+	@Value("${proseo.storageManager.secret:}")
+	private String storageManagerSecret;
+
+	/** Validity period for Storage Manager download tokens in milliseconds */
+	@Value("${proseo.storageManager.validity:60000}")
+	private Long storageManagerValidity;
+
+	/** Indicates whether product name searches shall use the product file name search indexes */
+	@Value("${proseo.nameSearch.indexed:false}")
+	private Boolean nameSearchIndexed;
+
 	/**
 	 * Gets the URL of the prosEO User Manager component
 	 *
@@ -72,4 +97,60 @@ public class ProductionInterfaceConfiguration {
 		return quota;
 	}
 
+	/**
+	 * Gets the time to live for cached user authentications
+	 *
+	 * @return the time to live in seconds
+	 */
+	public Long getAuthCacheTtl() {
+		return authCacheTtl;
+	}
+
+	/**
+	 * Gets the maximum number of cached user authentications
+	 *
+	 * @return the maximum cache size
+	 */
+	public Integer getAuthCacheSize() {
+		return authCacheSize;
+	}
+
+	/**
+	 * Checks whether a shared secret for Storage Manager download tokens is configured
+	 *
+	 * @return true, if download tokens can be created locally, false otherwise
+	 */
+	public boolean hasStorageManagerSecret() {
+		return null != storageManagerSecret && !storageManagerSecret.isBlank();
+	}
+
+	/**
+	 * Gets the shared secret for generating Storage Manager download tokens as 256 bit byte array
+	 *
+	 * @return the Storage Manager secret
+	 */
+	public byte[] getStorageManagerSecret() {
+		// We need exactly 256 bits (32 bytes) of key length, so a shorter key will be filled with blanks, a longer key will be
+		// truncated
+		return Arrays.copyOf((storageManagerSecret + "                ").getBytes(), 32);
+	}
+
+	/**
+	 * Gets the validity period for Storage Manager download tokens
+	 *
+	 * @return the token validity in milliseconds
+	 */
+	public Long getStorageManagerValidity() {
+		return storageManagerValidity;
+	}
+
+	/**
+	 * Indicates whether product name searches shall use the product file name search indexes
+	 *
+	 * @return true, if indexed name search is enabled, false otherwise
+	 */
+	public Boolean getNameSearchIndexed() {
+		return nameSearchIndexed;
+	}
+
 }
\ No newline at end of file
@@ -20,10 +20,13 @@ import org.apache.olingo.commons.api.edm.provider.CsdlEntitySet;
 import org.apache.olingo.commons.api.edm.provider.CsdlEntityType;
 import org.apache.olingo.commons.api.edm.provider.CsdlEnumMember;
 import org.apache.olingo.commons.api.edm.provider.CsdlEnumType;
+import org.apache.olingo.commons.api.edm.provider.CsdlFunction;
 import org.apache.olingo.commons.api.edm.provider.CsdlNavigationProperty;
 import org.apache.olingo.commons.api.edm.provider.CsdlNavigationPropertyBinding;
+import org.apache.olingo.commons.api.edm.provider.CsdlParameter;
 import org.apache.olingo.commons.api.edm.provider.CsdlProperty;
 import org.apache.olingo.commons.api.edm.provider.CsdlPropertyRef;
+import org.apache.olingo.commons.api.edm.provider.CsdlReturnType;
 import org.apache.olingo.commons.api.edm.provider.CsdlSchema;
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.springframework.stereotype.Component;
@@ -127,6 +130,11 @@ public class ProductEdmProvider extends CsdlAbstractEdmProvider {
 	public static final String CT_TIMERANGE_PROP_START = "Start";
 	public static final String CT_TIMERANGE_PROP_END = "End";
 
+	// Functions
+	public static final String FN_INTERSECTS_NAME = "Intersects";
+	public static final FullQualifiedName FN_INTERSECTS_FQN = new FullQualifiedName(NAMESPACE, FN_INTERSECTS_NAME);
+	public static final String FN_INTERSECTS_PARAM_AREA = "area";
+
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(ProductEdmProvider.class);
 
@@ -309,6 +317,41 @@ public class ProductEdmProvider extends CsdlAbstractEdmProvider {
 		return null;
 	}
 
+	/**
+	 * Retrieves the functions for the specified function name (currently only the spatial filter function "Intersects").
+	 *
+	 * @param functionName The function name.
+	 * @return The list of function overloads, or null, if no function with the given name exists.
+	 */
+	@Override
+	public List<CsdlFunction> getFunctions(FullQualifiedName functionName) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> getFunctions({})", functionName);
+
+		if (functionName.equals(FN_INTERSECTS_FQN)) {
+			// Unbound function to test the product footprint against a given area, for use in filter expressions
+			CsdlParameter area = new CsdlParameter().setName(FN_INTERSECTS_PARAM_AREA)
+				.setType(EdmPrimitiveTypeKind.Geography.getFullQualifiedName())
+				.setNullable(false);
+
+			CsdlFunction intersects = new CsdlFunction();
+			intersects.setName(FN_INTERSECTS_NAME);
+			intersects.setBound(false);
+			intersects.setComposable(true);
+			intersects.setParameters(Arrays.asList(area));
+			intersects.setReturnType(
+					new CsdlReturnType().setType(EdmPrimitiveTypeKind.Boolean.getFullQualifiedName()).setNullable(false));
+
+			if (logger.isTraceEnabled())
+				logger.trace("<<< getFunctions({})", functionName);
+			return Arrays.asList(intersects);
+		}
+
+		if (logger.isTraceEnabled())
+			logger.trace("<<< getFunctions({}) --> null", functionName);
+		return null;
+	}
+
 	/**
 	 * Retrieves the complex type for the specified complex type name.
 	 *
@@ -575,6 +618,9 @@ public class ProductEdmProvider extends CsdlAbstractEdmProvider {
 		// add EntityContainer
 		schema.setEntityContainer(getEntityContainer());
 
+		// add Functions
+		schema.setFunctions(getFunctions(FN_INTERSECTS_FQN));
+
 		// add ComplexTypes
 		List<CsdlComplexType> complexTypes = new ArrayList<>();
 		complexTypes.add(getComplexType(CT_CHECKSUM_FQN));
@@ -14,6 +14,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -61,9 +63,12 @@ import de.dlr.proseo.api.prip.ProductionInterfaceConfiguration;
 import de.dlr.proseo.api.prip.ProductionInterfaceSecurity;
 import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.logging.messages.PripMessage;
+import de.dlr.proseo.model.Footprint;
 import de.dlr.proseo.model.Product;
 import de.dlr.proseo.model.enums.ProductVisibility;
 import de.dlr.proseo.model.enums.UserRole;
+import de.dlr.proseo.model.util.BatchLoader;
+import de.dlr.proseo.model.util.GeoPolygon;
 
 /**
  * Retrieve product collections from the prosEO metadata database (via the Ingestor component) with additional information from the
@@ -81,6 +86,16 @@ public class ProductEntityCollectionProcessor implements EntityCollectionProcess
 	/* Product retrieval quota exceeded (HTTP status 429 as per PRIP ICD) */
 	private static final int HTTP_STATUS_TOO_MANY_REQUESTS = 429;
 
+	/** Query for any product still waiting for the derivation of its footprint */
+	private static final String SQL_SELECT_FOOTPRINT_BACKFILL_PENDING = "SELECT product_id FROM " + Footprint.BACKFILL_TABLE
+			+ " LIMIT 1";
+
+	/**
+	 * Indicates whether the footprints of all products are available (once true, it remains true, because the footprints of
+	 * new products are derived on ingestion)
+	 */
+	private static volatile boolean footprintBackfillComplete = false;
+
 	/** The cached OData factory object */
 	private OData odata;
 	/** The cached metadata of the OData service */
@@ -133,16 +148,19 @@ public class ProductEntityCollectionProcessor implements EntityCollectionProcess
 	/**
 	 * Create an SQL command with a "WHERE" clause derived from the "$filter" query parameter in the URI
 	 *
-	 * @param uriInfo   the URI info to analyze
-	 * @param countOnly create a command, which only counts the requested products, but does not return them
+	 * @param uriInfo           the URI info to analyze
+	 * @param countOnly         create a command, which only counts the requested products, but does not return them (if the
+	 *                          filter requires an exact intersection test, the command returns database IDs and footprints
+	 *                          instead)
+	 * @param expressionVisitor the visitor to evaluate the filter expression with
 	 * @return a native SQL command
 	 * @throws ODataApplicationException if any error is encountered in the query options contained in the URI info object
 	 */
-	private StringBuilder createProductSqlQueryFilter(UriInfo uriInfo, boolean countOnly) throws ODataApplicationException {
+	private StringBuilder createProductSqlQueryFilter(UriInfo uriInfo, boolean countOnly,
+			SqlFilterExpressionVisitor expressionVisitor) throws ODataApplicationException {
 		if (logger.isTraceEnabled())
 			logger.trace(">>> createProductSqlQueryFilter({})", uriInfo.getUriResourceParts());
 
-		SqlFilterExpressionVisitor expressionVisitor = new SqlFilterExpressionVisitor();
 		StringBuilder sqlCommand = new StringBuilder(expressionVisitor.getSqlCommand(countOnly));
 
 		// Test filter option
@@ -157,8 +175,9 @@ public class ProductEntityCollectionProcessor implements EntityCollectionProcess
 				if (null == result) {
 					throw new NullPointerException("Unexpected null result from expressionVisitor");
 				}
-				sqlCommand = new StringBuilder(expressionVisitor.getSqlCommand(countOnly)); // The number of parameters requested
-																							// may have changed!
+				sqlCommand = new StringBuilder(countOnly && !expressionVisitor.getRefinementAreas().isEmpty()
+						? expressionVisitor.getFootprintSqlCommand()
+						: expressionVisitor.getSqlCommand(countOnly)); // The number of parameters requested may have changed!
 				sqlCommand.append(result);
 			} catch (ODataApplicationException | ExpressionVisitException e) {
 				throw new ODataApplicationException("Exception thrown in filter expression: " + e.getMessage(),
@@ -188,23 +207,25 @@ public class ProductEntityCollectionProcessor implements EntityCollectionProcess
 	 * Convert the given URI info object into a native SQL command to select the requested products. In addition to the URI info the
 	 * product class access rights of the logged in user will be respected.
 	 *
-	 * @param uriInfo the URI info to analyze
+	 * If the filter requires an exact intersection test of the product footprints, the "$top" and "$skip" options are not
+	 * applied in the SQL command, but must be applied after the intersection test. In this case the result is ordered by the
+	 * database ID last, so that the candidate products can be retrieved in batches (see
+	 * {@link #refineProducts(String, UriInfo, List)}).
+	 *
+	 * @param uriInfo           the URI info to analyze
+	 * @param expressionVisitor the visitor to evaluate the filter expression with
 	 * @return a native SQL command
 	 * @throws ODataApplicationException if any error is encountered in the query options contained in the URI info object
 	 */
-	private String createProductSqlQuery(UriInfo uriInfo) throws ODataApplicationException {
+	private String createProductSqlQuery(UriInfo uriInfo, SqlFilterExpressionVisitor expressionVisitor)
+			throws ODataApplicationException {
 		if (logger.isTraceEnabled())
 			logger.trace(">>> createProductSqlQuery({})", uriInfo.getUriResourceParts());
 
-		SqlFilterExpressionVisitor expressionVisitor = new SqlFilterExpressionVisitor();
-		StringBuilder sqlCommand = new StringBuilder(expressionVisitor.getSqlCommand(false));
-
-		sqlCommand = createProductSqlQueryFilter(uriInfo, false);
-
-		// Test order option
+		// Test order option (evaluated first, so that the tables referenced in the order expressions get joined)
+		StringBuilder orderByClause = new StringBuilder();
 		OrderByOption orderByOption = uriInfo.getOrderByOption();
 		if (null != orderByOption) {
-			StringBuilder orderByClause = new StringBuilder();
 			List<OrderByItem> orderByItems = orderByOption.getOrders();
 			boolean first = true;
 			for (OrderByItem orderByItem : orderByItems) {
@@ -215,16 +236,27 @@ public class ProductEntityCollectionProcessor implements EntityCollectionProcess
 					orderByClause.append(", ");
 				}
 				try {
-					String orderExpression = orderByItem.getExpression().accept(new SqlFilterExpressionVisitor());
+					String orderExpression = orderByItem.getExpression().accept(expressionVisitor);
 					orderByClause.append(orderExpression).append(" ").append(orderByItem.isDescending() ? "DESC" : "ASC");
 				} catch (ExpressionVisitException | ODataApplicationException e) {
 					throw new ODataApplicationException("Exception thrown in orderBy expression: " + e.getMessage(),
 							HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ROOT);
 				}
 			}
+		}
+
+		StringBuilder sqlCommand = createProductSqlQueryFilter(uriInfo, false, expressionVisitor);
+		if (0 < orderByClause.length()) {
 			sqlCommand.append("\n").append(orderByClause);
 		}
 
+		// Result set restrictions are applied after the exact intersection test
+		if (!expressionVisitor.getRefinementAreas().isEmpty()) {
+			sqlCommand.append(0 < orderByClause.length() ? ", " : "\nORDER BY ").append("p.id ASC");
+			logger.trace("<<< createProductSqlQuery() -> SQL command:\n" + sqlCommand);
+			return sqlCommand.toString();
+		}
+
 		// Test topOption
 		TopOption topOption = uriInfo.getTopOption();
 		if (null == topOption) {
@@ -244,6 +276,98 @@ public class ProductEntityCollectionProcessor implements EntityCollectionProcess
 		return sqlCommand.toString();
 	}
 
+	/**
+	 * Make sure the footprints of all products are available for spatial filters (the footprints of products ingested
+	 * before the introduction of footprints are derived by the Ingestor after the database schema update)
+	 *
+	 * @throws ODataApplicationException if the footprints of some products have not yet been derived
+	 */
+	private void checkFootprintBackfill() throws ODataApplicationException {
+		if (footprintBackfillComplete) {
+			return;
+		}
+
+		Number tableCount = (Number) em.createNativeQuery(Footprint.SQL_BACKFILL_TABLE_EXISTS).getSingleResult();
+		if (0 < tableCount.intValue() && !em.createNativeQuery(SQL_SELECT_FOOTPRINT_BACKFILL_PENDING).getResultList().isEmpty()) {
+			throw new ODataApplicationException(logger.log(PripMessage.MSG_FOOTPRINT_BACKFILL_PENDING),
+					HttpStatusCode.SERVICE_UNAVAILABLE.getStatusCode(), Locale.ENGLISH);
+		}
+		footprintBackfillComplete = true;
+	}
+
+	/**
+	 * Check whether the footprint given in WKB format intersects all of the given areas
+	 *
+	 * @param wkb   the product footprint in WKB format (may be null)
+	 * @param areas the areas to test against
+	 * @return true, if a footprint is given and intersects all areas, false otherwise
+	 */
+	private static boolean intersectsAll(byte[] wkb, List<GeoPolygon> areas) {
+		if (null == wkb) {
+			return false;
+		}
+		try {
+			GeoPolygon footprint = GeoPolygon.fromWkb(wkb);
+			for (GeoPolygon area : areas) {
+				if (!footprint.intersects(area)) {
+					return false;
+				}
+			}
+			return true;
+		} catch (IllegalArgumentException e) {
+			logger.log(PripMessage.MSG_INVALID_COORDINATES, e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Retrieve the products selected by the given SQL command, which pass the exact intersection test for all given areas, and
+	 * apply the "$skip" and "$top" options (or the quota) to the result. The candidate products are retrieved in batches
+	 * restricted by "LIMIT" and "OFFSET", until enough products have passed the intersection test, so that only the candidates
+	 * up to the requested page are read from the database.
+	 *
+	 * @param sqlCommand the SQL command selecting the candidate products by bounding box (ordered, without "LIMIT" and "OFFSET")
+	 * @param uriInfo    the URI info to take the "$skip" and "$top" options from
+	 * @param areas      the areas the product footprints must intersect
+	 * @return a list of products
+	 */
+	private List<Product> refineProducts(String sqlCommand, UriInfo uriInfo, List<GeoPolygon> areas) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> refineProducts({}, {}, {})", sqlCommand, uriInfo, areas.size());
+
+		long skip = (null == uriInfo.getSkipOption() ? 0 : uriInfo.getSkipOption().getValue());
+		long limit = (null == uriInfo.getTopOption() ? config.getQuota() + 1 : uriInfo.getTopOption().getValue());
+		long batchSize = Math.max(1, Math.min(skip + limit, config.getQuota() + 1));
+
+		List<Product> result = new ArrayList<>();
+		long matchCount = 0;
+		long offset = 0;
+		while (result.size() < limit) {
+			List<?> candidates = em.createNativeQuery(sqlCommand + "\nLIMIT " + batchSize + "\nOFFSET " + offset, Product.class)
+				.getResultList();
+			for (Object candidate : candidates) {
+				if (!(candidate instanceof Product product) || null == product.getFootprint()
+						|| !intersectsAll(product.getFootprint().getWkb(), areas)) {
+					continue;
+				}
+				if (skip < ++matchCount) {
+					result.add(product);
+					if (result.size() >= limit) {
+						break;
+					}
+				}
+			}
+			if (candidates.size() < batchSize) {
+				break;
+			}
+			offset += batchSize;
+		}
+
+		if (logger.isTraceEnabled())
+			logger.trace("<<< refineProducts() -> {} products", result.size());
+		return result;
+	}
+
 	/**
 	 * Read the requested products from the prosEO kernel components
 	 *
@@ -263,10 +387,15 @@ public class ProductEntityCollectionProcessor implements EntityCollectionProcess
 		List<Entity> productList = new ArrayList<>();
 
 		// Request product list from database
-		String sqlCommand = createProductSqlQuery(uriInfo);
+		SqlFilterExpressionVisitor expressionVisitor = new SqlFilterExpressionVisitor(config.getNameSearchIndexed());
+		String sqlCommand = createProductSqlQuery(uriInfo, expressionVisitor);
+		List<GeoPolygon> areas = expressionVisitor.getRefinementAreas();
+		if (!areas.isEmpty()) {
+			checkFootprintBackfill();
+		}
 
-		Query query = em.createNativeQuery(sqlCommand, Product.class);
-		List<?> resultList = query.getResultList();
+		List<?> resultList = (areas.isEmpty() ? em.createNativeQuery(sqlCommand, Product.class).getResultList()
+				: refineProducts(sqlCommand, uriInfo, areas));
 
 		// Check quota
 		if (resultList.size() > config.getQuota()) {
@@ -274,12 +403,17 @@ public class ProductEntityCollectionProcessor implements EntityCollectionProcess
 			throw new QuotaExceededException(message);
 		}
 
-		for (Object resultObject : query.getResultList()) {
-			if (resultObject instanceof Product) {
-				// Create output product
-				Entity product = ProductUtil.toPripProduct((Product) resultObject);
-				productList.add(product);
-			}
+		// Load lazily fetched product attributes for all products at once
+		List<Product> modelProducts = resultList.stream()
+			.filter(Product.class::isInstance)
+			.map(Product.class::cast)
+			.collect(Collectors.toList());
+		BatchLoader.loadProductAttributes(em, modelProducts);
+
+		for (Product modelProduct : modelProducts) {
+			// Create output product
+			Entity product = ProductUtil.toPripProduct(modelProduct);
+			productList.add(product);
 		}
 		if (logger.isDebugEnabled())
 			logger.debug("... products found: " + productList.size());
@@ -290,15 +424,24 @@ public class ProductEntityCollectionProcessor implements EntityCollectionProcess
 		// Check $count option
 		CountOption countOption = uriInfo.getCountOption();
 		if (null != countOption && countOption.getValue()) {
-			sqlCommand = createProductSqlQueryFilter(uriInfo, true).toString();
+			sqlCommand = createProductSqlQueryFilter(uriInfo, true, new SqlFilterExpressionVisitor(config.getNameSearchIndexed())).toString();
 
-			query = em.createNativeQuery(sqlCommand);
+			Query query = em.createNativeQuery(sqlCommand);
 			Integer collectionSize = 0;
-			String queryResult = query.getSingleResult().toString();
-			try {
-				collectionSize = Integer.parseInt(queryResult);
-			} catch (NumberFormatException e) {
-				logger.log(PripMessage.MSG_INVALID_QUERY_RESULT, queryResult);
+			if (areas.isEmpty()) {
+				String queryResult = query.getSingleResult().toString();
+				try {
+					collectionSize = Integer.parseInt(queryResult);
+				} catch (NumberFormatException e) {
+					logger.log(PripMessage.MSG_INVALID_QUERY_RESULT, queryResult);
+				}
+			} else {
+				// Count only the products passing the exact intersection test
+				try (Stream<?> resultStream = query.getResultStream()) {
+					collectionSize = (int) resultStream
+						.filter(row -> row instanceof Object[] && intersectsAll((byte[]) ((Object[]) row)[1], areas))
+						.count();
+				}
 			}
 
 			if (logger.isTraceEnabled())
@@ -12,6 +12,7 @@ import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
+import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -65,10 +66,12 @@ import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import de.dlr.proseo.api.prip.DownloadTokenManager;
 import de.dlr.proseo.api.prip.ProductionInterfaceConfiguration;
 import de.dlr.proseo.api.prip.ProductionInterfaceSecurity;
 import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.logging.messages.PripMessage;
+import de.dlr.proseo.model.DownloadHistory;
 import de.dlr.proseo.model.Product;
 import de.dlr.proseo.model.ProductFile;
 import de.dlr.proseo.model.enums.UserRole;
@@ -110,6 +113,10 @@ public class ProductEntityProcessor implements EntityProcessor, MediaEntityProce
 	@Autowired
 	private ProductionInterfaceSecurity securityConfig;
 
+	/** The manager for Storage Manager download tokens */
+	@Autowired
+	private DownloadTokenManager downloadTokenManager;
+
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(ProductEntityProcessor.class);
 
@@ -270,6 +277,27 @@ public class ProductEntityProcessor implements EntityProcessor, MediaEntityProce
 		return downloadToken;
 	}
 
+	/**
+	 * Record the download of the given product file in the download history of the product (as the Ingestor does when
+	 * creating a download token)
+	 *
+	 * @param modelProduct the product to download
+	 * @param productFile  the product file to download
+	 */
+	private void recordDownload(Product modelProduct, ProductFile productFile) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> recordDownload({}, {})", modelProduct.getId(), productFile.getProductFileName());
+
+		DownloadHistory historyEntry = new DownloadHistory();
+		historyEntry.setProductFile(productFile);
+		historyEntry.setProductFileName(productFile.getProductFileName());
+		historyEntry.setProductFileSize(productFile.getFileSize());
+		historyEntry.setUsername(securityConfig.getMission() + "-" + securityConfig.getUser());
+		historyEntry.setDateTime(Instant.now());
+
+		modelProduct.getDownloadHistory().add(historyEntry);
+	}
+
 	/**
 	 * Reads entities data from persistence and puts serialized content and status into the response.
 	 *
@@ -438,6 +466,7 @@ public class ProductEntityProcessor implements EntityProcessor, MediaEntityProce
 	 * @throws ODataLibraryException     if an error during serialization occurs
 	 */
 	@Override
+	@Transactional(isolation = Isolation.REPEATABLE_READ)
 	public void readMediaEntity(ODataRequest request, ODataResponse response, UriInfo uriInfo, ContentType responseFormat)
 			throws ODataApplicationException, ODataLibraryException {
 		if (logger.isTraceEnabled())
@@ -491,12 +520,17 @@ public class ProductEntityProcessor implements EntityProcessor, MediaEntityProce
 		// Select the first product file to transfer (they should be identical anyway)
 		ProductFile productFile = modelProduct.getProductFile().iterator().next();
 
-		// Retrieve a download token from the Ingestor
+		// Create a download token locally, if the Storage Manager secret is available, otherwise retrieve it from the Ingestor
 		String productFileName = (null == productFile.getZipFileName() ? productFile.getProductFileName()
 				: productFile.getZipFileName());
 		String downloadToken;
 		try {
-			downloadToken = retrieveDownloadToken(modelProduct.getId(), productFileName);
+			if (downloadTokenManager.isEnabled()) {
+				downloadToken = downloadTokenManager.createDownloadToken(productFileName);
+				recordDownload(modelProduct, productFile);
+			} else {
+				downloadToken = retrieveDownloadToken(modelProduct.getId(), productFileName);
+			}
 		} catch (HttpClientErrorException e) {
 			response.setContent(serializer.error(LogUtil.oDataServerError(e.getStatusCode().value(), e.getMessage())).getContent());
 			response.setStatusCode(e.getStatusCode().value());
@@ -9,11 +9,17 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.olingo.commons.api.edm.EdmEnumType;
 import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
@@ -32,8 +38,10 @@ import org.apache.olingo.commons.core.edm.primitivetype.EdmSByte;
 import org.apache.olingo.commons.core.edm.primitivetype.EdmSingle;
 import org.apache.olingo.commons.core.edm.primitivetype.EdmString;
 import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriParameter;
 import org.apache.olingo.server.api.uri.UriResource;
 import org.apache.olingo.server.api.uri.UriResourceComplexProperty;
+import org.apache.olingo.server.api.uri.UriResourceFunction;
 import org.apache.olingo.server.api.uri.UriResourceKind;
 import org.apache.olingo.server.api.uri.UriResourceLambdaAny;
 import org.apache.olingo.server.api.uri.UriResourceNavigation;
@@ -49,7 +57,9 @@ import org.apache.olingo.server.api.uri.queryoption.expression.UnaryOperatorKind
 
 import de.dlr.proseo.api.prip.odata.AttributeLambdaExpressionVisitor.AttributeCondition;
 import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.logging.messages.PripMessage;
 import de.dlr.proseo.model.enums.ProductionType;
+import de.dlr.proseo.model.util.GeoPolygon;
 import de.dlr.proseo.model.util.OrbitTimeFormatter;
 
 /**
@@ -62,18 +72,61 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 	/** Counter for product parameters in WHERE clause */
 	private int paramCount = 0;
 
+	/**
+	 * The SQL representations of the visited subexpressions containing "Intersects" function calls (identified by object
+	 * identity, so the expression tree is tracked independent of the SQL text), mapped to the areas of these calls, which
+	 * require an exact intersection test; a subexpression is replaced by its parent expression, when the parent is visited
+	 * (spatial conditions can only be combined by conjunctions)
+	 */
+	private Map<String, List<GeoPolygon>> spatialExpressions = new IdentityHashMap<>();
+
+	/**
+	 * Table aliases referenced by the filter (and order) expressions visited; only these tables are joined (product class
+	 * and mission are always joined, because they are needed for the mission and access right filters)
+	 */
+	private Set<String> referencedTables = new HashSet<>();
+
+	/**
+	 * Indicates whether the product file name is backed by search indexes (prefix, suffix and trigram indexes, see the
+	 * database schema update of 2026-10-19), so that name searches can be formulated to make use of them
+	 */
+	private boolean indexedNameSearch = false;
+
 	/** SQL command parts */
-	private static final String SELECT_CLAUSE = "SELECT DISTINCT p.* ";
-	private static final String SELECT_COUNT_CLAUSE = "SELECT count(DISTINCT p.*) ";
-	private static final String FROM_CLAUSE = "FROM product p\n" + "JOIN product_file pf ON p.id = pf.product_id\n"
-			+ "JOIN product_class pc ON p.product_class_id = pc.id\n" + "JOIN mission m ON pc.mission_id = m.id\n"
-			+ "LEFT OUTER JOIN orbit o ON p.orbit_id = o.id\n"
-			+ "LEFT OUTER JOIN configured_processor cp ON p.configured_processor_id = cp.id\n"
-			+ "LEFT OUTER JOIN processor pr ON cp.processor_id = pr.id\n"
-			+ "LEFT OUTER JOIN processor_class prc ON pr.processor_class_id = prc.id\n";
-	private static final String PARAMETER_JOIN_TEMPLATE = "LEFT OUTER JOIN product_parameters pp%d ON p.id = pp%d.product_id\n";
+	private static final String SELECT_CLAUSE = "SELECT p.* ";
+	private static final String SELECT_DISTINCT_CLAUSE = "SELECT DISTINCT p.* ";
+	private static final String SELECT_COUNT_CLAUSE = "SELECT count(*) ";
+	private static final String SELECT_DISTINCT_COUNT_CLAUSE = "SELECT count(DISTINCT p.id) ";
+	private static final String SELECT_FOOTPRINT_CLAUSE = "SELECT p.id, p.footprint_wkb ";
+	private static final String SELECT_DISTINCT_FOOTPRINT_CLAUSE = "SELECT DISTINCT p.id, p.footprint_wkb ";
+	private static final String FROM_CLAUSE = "FROM product p\n" + "JOIN product_class pc ON p.product_class_id = pc.id\n"
+			+ "JOIN mission m ON pc.mission_id = m.id\n";
+	private static final String PRODUCT_FILE_JOIN = "JOIN product_file pf ON p.id = pf.product_id\n";
+	private static final String ORBIT_JOIN = "LEFT OUTER JOIN orbit o ON p.orbit_id = o.id\n";
+	private static final String PROCESSOR_JOIN = "LEFT OUTER JOIN configured_processor cp ON p.configured_processor_id = cp.id\n"
+			+ "LEFT OUTER JOIN processor pr ON cp.processor_id = pr.id\n";
+	private static final String PROCESSOR_CLASS_JOIN = "LEFT OUTER JOIN processor_class prc ON pr.processor_class_id = prc.id\n";
 	private static final String WHERE_CLAUSE = "WHERE ";
-	private static final String PARAMETER_WHERE_TEMPLATE = "(pp%d.parameters_key = '%s' AND pp%d.parameter_value %s %s)";
+	private static final String PRODUCT_FILE_EXISTS = "EXISTS (SELECT 1 FROM product_file pf WHERE pf.product_id = p.id) AND ";
+	private static final String PARAMETER_WHERE_TEMPLATE = "EXISTS (SELECT 1 FROM product_parameters pp%d WHERE pp%d.product_id = p.id"
+			+ " AND pp%d.parameters_key = '%s' AND pp%d.parameter_value %s %s)";
+
+	/** Table aliases */
+	private static final String ALIAS_PRODUCT_FILE = "pf";
+	private static final String ALIAS_ORBIT = "o";
+	private static final String ALIAS_PROCESSOR = "pr";
+	private static final String ALIAS_PROCESSOR_CLASS = "prc";
+
+	/** Product file name column and the expression backed by the suffix search index */
+	private static final String NAME_COLUMN = "pf.product_file_name";
+	private static final String REVERSED_NAME_COLUMN = "reverse(" + NAME_COLUMN + ")";
+
+	private static final String LATITUDE_WHERE_TEMPLATE = "p.footprint_min_latitude <= %s AND p.footprint_max_latitude >= %s";
+	private static final String LONGITUDE_WHERE_TEMPLATE = " AND p.footprint_min_longitude <= %s AND p.footprint_max_longitude >= %s";
+
+	/** Pattern for OData geography literals */
+	private static final Pattern GEOGRAPHY_LITERAL = Pattern.compile("^geography'(.*)'$",
+			Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
 
 	/** Mapping from OData member names to SQL schema names */
 	private static Map<String, String> oDataToSqlMap = new HashMap<>();
@@ -119,11 +172,31 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 		}
 	}
 
+	/**
+	 * Creates an expression visitor with plain name searches
+	 */
+	public SqlFilterExpressionVisitor() {
+	}
+
+	/**
+	 * Creates an expression visitor with the given name search mode
+	 *
+	 * @param indexedNameSearch true, if name searches shall be formulated for the product file name search indexes
+	 */
+	public SqlFilterExpressionVisitor(boolean indexedNameSearch) {
+		this.indexedNameSearch = indexedNameSearch;
+	}
+
 	/**
 	 * Get the applicable SQL command up to and including the 'WHERE' keyword (the remainder has been created by the visit*
 	 * methods).
 	 *
-	 * Make sure this SqlFilterExpressionVisitor was subject to an "accept" call before calling this method!
+	 * Only the tables referenced in the expressions visited are joined. Products without product files are excluded by a
+	 * semi-join, if the product file table is not referenced. Since all other joined tables are in a to-one relationship
+	 * with the product, duplicate rows are only eliminated, if the product file table is joined.
+	 *
+	 * Make sure this SqlFilterExpressionVisitor was subject to an "accept" call (for the filter expression and all order
+	 * expressions) before calling this method!
 	 *
 	 * @param countOnly create a command, which only counts the requested products, but does not return them
 	 *
@@ -133,18 +206,97 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 		if (logger.isTraceEnabled())
 			logger.trace(">>> getSqlCommand()");
 
-		StringBuilder result = new StringBuilder(countOnly ? SELECT_COUNT_CLAUSE : SELECT_CLAUSE);
+		if (isDistinctRequired()) {
+			return createSqlCommand(countOnly ? SELECT_DISTINCT_COUNT_CLAUSE : SELECT_DISTINCT_CLAUSE);
+		} else {
+			return createSqlCommand(countOnly ? SELECT_COUNT_CLAUSE : SELECT_CLAUSE);
+		}
+	}
+
+	/**
+	 * Check whether the SQL command may return duplicate product rows (because of joined product files)
+	 *
+	 * @return true, if duplicates must be removed, false otherwise
+	 */
+	public boolean isDistinctRequired() {
+		return referencedTables.contains(ALIAS_PRODUCT_FILE);
+	}
+
+	/**
+	 * Create the SQL command up to and including the 'WHERE' keyword with the given select clause
+	 *
+	 * @param selectClause the select clause to start the command with
+	 * @return a partial SQL command string
+	 */
+	private String createSqlCommand(String selectClause) {
+		StringBuilder result = new StringBuilder(selectClause);
 		result.append(FROM_CLAUSE);
 
-		for (int i = 1; i <= paramCount; ++i) {
-			result.append(String.format(PARAMETER_JOIN_TEMPLATE, i, i));
+		if (referencedTables.contains(ALIAS_PRODUCT_FILE)) {
+			result.append(PRODUCT_FILE_JOIN);
+		}
+		if (referencedTables.contains(ALIAS_ORBIT)) {
+			result.append(ORBIT_JOIN);
+		}
+		if (referencedTables.contains(ALIAS_PROCESSOR) || referencedTables.contains(ALIAS_PROCESSOR_CLASS)) {
+			result.append(PROCESSOR_JOIN);
+		}
+		if (referencedTables.contains(ALIAS_PROCESSOR_CLASS)) {
+			result.append(PROCESSOR_CLASS_JOIN);
 		}
 
 		result.append(WHERE_CLAUSE);
 
+		if (!referencedTables.contains(ALIAS_PRODUCT_FILE)) {
+			result.append(PRODUCT_FILE_EXISTS);
+		}
+
 		return result.toString();
 	}
 
+	/**
+	 * Record the table referenced by the given (mapped) column name
+	 *
+	 * @param mappedProperty the column name qualified by the table alias (may be null or unqualified)
+	 */
+	private void addReferencedTable(String mappedProperty) {
+		if (null != mappedProperty && mappedProperty.contains(".")) {
+			referencedTables.add(mappedProperty.substring(0, mappedProperty.indexOf('.')));
+		}
+	}
+
+	/**
+	 * Get the SQL command up to and including the 'WHERE' keyword for selecting only the database IDs and footprints of the
+	 * requested products (for counting products after the exact intersection test).
+	 *
+	 * Make sure this SqlFilterExpressionVisitor was subject to an "accept" call before calling this method!
+	 *
+	 * @return a partial SQL command string
+	 */
+	public String getFootprintSqlCommand() {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> getFootprintSqlCommand()");
+
+		return createSqlCommand(isDistinctRequired() ? SELECT_DISTINCT_FOOTPRINT_CLAUSE : SELECT_FOOTPRINT_CLAUSE);
+	}
+
+	/**
+	 * Get the areas, which the product footprints must intersect in addition to the SQL conditions. The SQL command only
+	 * checks the bounding boxes of the areas, so the exact intersection test must be performed on the query result.
+	 * Spatial conditions in disjunctions are rejected, so all areas must be intersected.
+	 *
+	 * Make sure this SqlFilterExpressionVisitor was subject to an "accept" call before calling this method!
+	 *
+	 * @return a (possibly empty) list of areas
+	 */
+	public List<GeoPolygon> getRefinementAreas() {
+		List<GeoPolygon> result = new ArrayList<>();
+		for (List<GeoPolygon> areas : spatialExpressions.values()) {
+			result.addAll(areas);
+		}
+		return result;
+	}
+
 	/**
 	 * Visits a member expression.
 	 *
@@ -164,6 +316,15 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 		UriResource uriResource = uriResourceIter.next(); // At least one element is guaranteed to exist, otherwise the parser would
 															// not have led us here
 
+		// Special case: Spatial filter function
+		if (UriResourceKind.function.equals(uriResource.getKind())) {
+			String result = visitIntersects((UriResourceFunction) uriResource);
+
+			if (logger.isTraceEnabled())
+				logger.trace("<<< visitMember()");
+			return result;
+		}
+
 		// Simple case: First property is primitive
 		if (UriResourceKind.primitiveProperty.equals(uriResource.getKind())) {
 			UriResourcePrimitiveProperty uriResourceProperty = (UriResourcePrimitiveProperty) uriResource;
@@ -178,6 +339,7 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 				throw new ODataApplicationException("Invalid property name '" + propertyName,
 						HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ENGLISH);
 			}
+			addReferencedTable(mappedProperty);
 
 			if (logger.isTraceEnabled())
 				logger.trace("<<< visitMember()");
@@ -246,6 +408,7 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 		String mappedProperty = oDataToSqlMap.get(propertyName.toString());
 		if (logger.isTraceEnabled())
 			logger.trace("... mapped property: " + mappedProperty);
+		addReferencedTable(mappedProperty);
 
 		if (logger.isTraceEnabled())
 			logger.trace("<<< visitMember()");
@@ -322,6 +485,8 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 		if (logger.isTraceEnabled())
 			logger.trace(">>> visitUnaryOperator({}, {})", operator, operand);
 
+		checkSpatialOperands(operator.name(), operand);
+
 		String result = null;
 		switch (operator) {
 		case NOT:
@@ -363,6 +528,16 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 		// - Boolean operations like and, or are allowed on Edm.Boolean
 		// A detailed explanation can be found in OData Version 4.0 Part 2: URL Conventions
 
+		// Spatial conditions may be combined by "and" only (under "or" the bounding box tests would yield false positives)
+		List<GeoPolygon> leftAreas = null;
+		List<GeoPolygon> rightAreas = null;
+		if (BinaryOperatorKind.AND.equals(operator)) {
+			leftAreas = spatialExpressions.remove(left);
+			rightAreas = spatialExpressions.remove(right);
+		} else {
+			checkSpatialOperands(operator.name(), left, right);
+		}
+
 		String result = null;
 		switch (operator) {
 		// Arithmetic operators (with parentheses for complex expressions)
@@ -409,6 +584,14 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 					HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), Locale.ENGLISH);
 		}
 
+		// Under "and" the exact intersection tests of both operands apply
+		if (null != leftAreas || null != rightAreas) {
+			List<GeoPolygon> areas = new ArrayList<>();
+			areas.addAll(null == leftAreas ? List.of() : leftAreas);
+			areas.addAll(null == rightAreas ? List.of() : rightAreas);
+			spatialExpressions.put(result, areas);
+		}
+
 		if (logger.isTraceEnabled())
 			logger.trace("<<< visitBinaryOperator()");
 		return result;
@@ -430,6 +613,8 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 		if (logger.isTraceEnabled())
 			logger.trace(">>> visitMethodCall({}, {})", methodCall, parameters);
 
+		checkSpatialOperands(methodCall.name(), parameters.toArray(new String[0]));
+
 		String result = null;
 		switch (methodCall) {
 		case CONTAINS:
@@ -475,7 +660,14 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 				// Remove quotes added by visitLiteral
 				valueParam2 = valueParam2.substring(1, valueParam2.length() - 1);
 
-				result = valueParam1 + " LIKE '%" + valueParam2.replace("%", "\\%").replace("_", "\\_") + "' ESCAPE '\\'";
+				if (indexedNameSearch && NAME_COLUMN.equals(valueParam1)) {
+					// Suffix search on the reversed name is a prefix search, which can be answered from the suffix index
+					result = REVERSED_NAME_COLUMN + " LIKE '"
+							+ new StringBuilder(valueParam2).reverse().toString().replace("%", "\\%").replace("_", "\\_")
+							+ "%' ESCAPE '\\'";
+				} else {
+					result = valueParam1 + " LIKE '%" + valueParam2.replace("%", "\\%").replace("_", "\\_") + "' ESCAPE '\\'";
+				}
 			} else {
 				throw new ODataApplicationException("endswith() needs two parametres of type Edm.String",
 						HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ENGLISH);
@@ -594,9 +786,10 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 						HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ENGLISH);
 			}
 			++paramCount;
-			result = String.format(PARAMETER_WHERE_TEMPLATE, paramCount, attCondition.getName(), paramCount, attCondition.getOp(),
-					attCondition.getValue());
+			result = String.format(PARAMETER_WHERE_TEMPLATE, paramCount, paramCount, paramCount, attCondition.getName(),
+					paramCount, attCondition.getOp(), attCondition.getValue());
 		} else {
+			addReferencedTable(mappedProperty);
 			attCondition.setName(mappedProperty);
 			result = attCondition.toString();
 		}
@@ -640,6 +833,7 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 			throw new ODataApplicationException("Cannot compare string '" + left + "' to string list '" + right + "'",
 					HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ENGLISH);
 		}
+		checkSpatialOperands(operator.name(), left);
 
 		StringBuilder result = new StringBuilder();
 		if (BinaryOperatorKind.IN.equals(operator)) {
@@ -658,4 +852,79 @@ public class SqlFilterExpressionVisitor implements ExpressionVisitor<String> {
 		return result.toString();
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Translate a call to the spatial filter function "Intersects" into an SQL condition on the footprint bounding box of
+	 * the product, and record the area for the exact intersection test
+	 *
+	 * @param function the function URI resource
+	 * @return the SQL representation of the bounding box test
+	 * @throws ODataApplicationException if the function is not implemented or the area is invalid
+	 */
+	private String visitIntersects(UriResourceFunction function) throws ODataApplicationException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> visitIntersects({})", function);
+
+		if (!ProductEdmProvider.FN_INTERSECTS_FQN.equals(function.getFunction().getFullQualifiedName())) {
+			throw new ODataApplicationException("Function " + function.getFunction().getFullQualifiedName() + " is not implemented",
+					HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), Locale.ENGLISH);
+		}
+
+		// Extract the WKT representation of the area from the geography literal
+		String areaText = null;
+		for (UriParameter parameter : function.getParameters()) {
+			if (ProductEdmProvider.FN_INTERSECTS_PARAM_AREA.equals(parameter.getName())) {
+				areaText = parameter.getText();
+			}
+		}
+		Matcher matcher = GEOGRAPHY_LITERAL.matcher(null == areaText ? "" : areaText);
+		if (!matcher.matches()) {
+			throw new ODataApplicationException(
+					logger.log(PripMessage.MSG_INVALID_INTERSECTS_AREA, areaText, "geography literal expected"),
+					HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ENGLISH);
+		}
+
+		GeoPolygon area = null;
+		try {
+			area = GeoPolygon.fromWkt(matcher.group(1));
+		} catch (IllegalArgumentException e) {
+			throw new ODataApplicationException(logger.log(PripMessage.MSG_INVALID_INTERSECTS_AREA, areaText, e.getMessage()),
+					HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ENGLISH);
+		}
+
+		// Test bounding box overlap (longitudes cannot be compared, if the area crosses the antimeridian)
+		StringBuilder result = new StringBuilder("(");
+		result.append(String.format(Locale.ROOT, LATITUDE_WHERE_TEMPLATE, area.getMaxLatitude(), area.getMinLatitude()));
+		if (!area.crossesAntimeridian()) {
+			result.append(String.format(Locale.ROOT, LONGITUDE_WHERE_TEMPLATE, area.getMaxLongitude(), area.getMinLongitude()));
+		}
+		result.append(')');
+
+		String condition = result.toString();
+		List<GeoPolygon> areas = new ArrayList<>();
+		areas.add(area);
+		spatialExpressions.put(condition, areas);
+
+		if (logger.isTraceEnabled())
+			logger.trace("<<< visitIntersects()");
+		return condition;
+	}
+
+	/**
+	 * Make sure none of the given operands is a subexpression containing a spatial condition, because the operator cannot
+	 * be applied to it (the bounding box test would not yield correct results under negation, disjunction or comparison)
+	 *
+	 * @param operator the operator applied to the operands
+	 * @param operands the SQL representations of the operands to check
+	 * @throws ODataApplicationException if any operand contains a spatial condition
+	 */
+	private void checkSpatialOperands(String operator, String... operands) throws ODataApplicationException {
+		for (String operand : operands) {
+			if (null != operand && spatialExpressions.containsKey(operand)) {
+				throw new ODataApplicationException(
+						"Operator " + operator + " cannot be applied to function " + ProductEdmProvider.FN_INTERSECTS_NAME,
+						HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), Locale.ENGLISH);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,137 @@
+/**
+ * DownloadTokenManagerTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.api.prip;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Test class for DownloadTokenManager: Checks that locally created download tokens can be verified with the shared
+ * secret in the same way as the Storage Manager does, and compares the time to obtain a download token locally with the
+ * time to obtain it from an Ingestor stub service on the local host
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class DownloadTokenManagerTest {
+
+	private static final String TEST_SECRET = "MyVeryLongSecretMustBeAtLeast32Bytes";
+	private static final String TEST_FILE_NAME = "PTM_L1B_00000001.zip";
+	private static final int TEST_ITERATIONS = 200;
+
+	/** A logger for this class */
+	private static Logger logger = LoggerFactory.getLogger(DownloadTokenManagerTest.class);
+
+	/**
+	 * Get the shared secret as 256 bit byte array (as done by Ingestor and Storage Manager)
+	 *
+	 * @return the secret
+	 */
+	private static byte[] getSecret() {
+		return Arrays.copyOf((TEST_SECRET + "                ").getBytes(), 32);
+	}
+
+	/**
+	 * Test that a token can be verified and contains the file name and a valid expiration time
+	 *
+	 * @throws Exception if the token cannot be parsed or verified
+	 */
+	@Test
+	public void testCreateDownloadToken() throws Exception {
+		String token = DownloadTokenManager.createDownloadToken(getSecret(), TEST_FILE_NAME, 60000L);
+
+		SignedJWT signedJWT = SignedJWT.parse(token);
+		assertTrue("Token not verifiable with shared secret", signedJWT.verify(new MACVerifier(getSecret())));
+		assertEquals(TEST_FILE_NAME, signedJWT.getJWTClaimsSet().getSubject());
+		assertTrue(signedJWT.getJWTClaimsSet().getExpirationTime().after(new Date()));
+
+		// A different secret must fail verification
+		byte[] otherSecret = Arrays.copyOf(("AnotherSecretOfSufficientLength!" + "                ").getBytes(), 32);
+		assertFalse(signedJWT.verify(new MACVerifier(otherSecret)));
+	}
+
+	/**
+	 * Compare the time to obtain a download token locally and from an Ingestor stub via HTTP (the lower bound of the
+	 * latency saved before the redirect to the Storage Manager can be sent)
+	 *
+	 * @throws Exception if the stub service cannot be started or called
+	 */
+	@Test
+	public void testTimeToToken() throws Exception {
+		HttpServer ingestorStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		ingestorStub.createContext("/proseo/ingestor/v0.1/products", exchange -> {
+			byte[] body = DownloadTokenManager.createDownloadToken(getSecret(), TEST_FILE_NAME, 60000L)
+				.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		ingestorStub.start();
+
+		try {
+			HttpClient client = HttpClient.newHttpClient();
+			HttpRequest request = HttpRequest
+				.newBuilder(URI.create("http://localhost:" + ingestorStub.getAddress().getPort()
+						+ "/proseo/ingestor/v0.1/products/4711/download/token?fileName=" + TEST_FILE_NAME))
+				.build();
+
+			// Warm up both paths
+			for (int i = 0; i < 20; ++i) {
+				requestToken(client, request);
+				DownloadTokenManager.createDownloadToken(getSecret(), TEST_FILE_NAME, 60000L);
+			}
+
+			long remoteStart = System.nanoTime();
+			for (int i = 0; i < TEST_ITERATIONS; ++i) {
+				requestToken(client, request);
+			}
+			long remoteNanos = (System.nanoTime() - remoteStart) / TEST_ITERATIONS;
+
+			long localStart = System.nanoTime();
+			for (int i = 0; i < TEST_ITERATIONS; ++i) {
+				DownloadTokenManager.createDownloadToken(getSecret(), TEST_FILE_NAME, 60000L);
+			}
+			long localNanos = (System.nanoTime() - localStart) / TEST_ITERATIONS;
+
+			logger.info("Mean time to download token: via Ingestor stub {} us, local {} us", remoteNanos / 1000, localNanos / 1000);
+		} finally {
+			ingestorStub.stop(0);
+		}
+	}
+
+	/**
+	 * Request a token from the stub service and check it
+	 *
+	 * @param client  the HTTP client to use
+	 * @param request the token request
+	 * @throws IOException          if the request fails
+	 * @throws InterruptedException if the request is interrupted
+	 */
+	private void requestToken(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+		HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+		assertEquals(200, response.statusCode());
+		assertFalse(response.body().isEmpty());
+	}
+
+}
@@ -0,0 +1,348 @@
+/**
+ * TestProductQueryRewriting.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.api.prip.odata;
+
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.olingo.commons.api.edmx.EdmxReference;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataHttpHandler;
+import org.apache.olingo.server.api.ODataLibraryException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.processor.EntityCollectionProcessor;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.queryoption.FilterOption;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Regression test for the PRIP product query rewriting: Compares the result sets of the SQL commands generated by
+ * SqlFilterExpressionVisitor (joining only the referenced tables, with semi-joins for product parameters and product
+ * files) with the result sets of the commands generated before the rewriting (joining all tables, with one outer join per
+ * product parameter and duplicate elimination), and logs the query plans of both variants. The legacy commands are
+ * baselines recorded from the previous version of SqlFilterExpressionVisitor, so they are independent of the rewriting.
+ *
+ * The test uses an in-memory H2 database in PostgreSQL compatibility mode with a minimal subset of the prosEO schema.
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class TestProductQueryRewriting {
+
+	private static final String URI_PROTOCOL = "https:";
+	private static final String URI_BASE = "//localhost/proseo/prip/odata/v1";
+	private static final String URI_ODATA = "/Products";
+	private static final String JDBC_URL = "jdbc:h2:mem:prip_rewriting;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+	/** The restrictions added by the entity collection processor */
+	private static final String MISSION_FILTER = "\nAND m.code = 'PTM'\nAND pc.visibility IN ('PUBLIC')";
+
+	/** The SQL command parts generated before the query rewriting */
+	private static final String LEGACY_SELECT_CLAUSE = "SELECT DISTINCT p.* ";
+	private static final String LEGACY_FROM_CLAUSE = "FROM product p\n" + "JOIN product_file pf ON p.id = pf.product_id\n"
+			+ "JOIN product_class pc ON p.product_class_id = pc.id\n" + "JOIN mission m ON pc.mission_id = m.id\n"
+			+ "LEFT OUTER JOIN orbit o ON p.orbit_id = o.id\n"
+			+ "LEFT OUTER JOIN configured_processor cp ON p.configured_processor_id = cp.id\n"
+			+ "LEFT OUTER JOIN processor pr ON cp.processor_id = pr.id\n"
+			+ "LEFT OUTER JOIN processor_class prc ON pr.processor_class_id = prc.id\n";
+	private static final String LEGACY_PARAMETER_JOIN_1 = "LEFT OUTER JOIN product_parameters pp1 ON p.id = pp1.product_id\n";
+	private static final String LEGACY_PARAMETER_JOIN_2 = "LEFT OUTER JOIN product_parameters pp2 ON p.id = pp2.product_id\n";
+
+	/** The test database schema */
+	private static final String[] SCHEMA = {
+			"CREATE TABLE mission (id BIGINT PRIMARY KEY, code VARCHAR(255), name VARCHAR(255))",
+			"CREATE TABLE product_class (id BIGINT PRIMARY KEY, mission_id BIGINT REFERENCES mission, "
+					+ "product_type VARCHAR(255), processing_level VARCHAR(255), visibility VARCHAR(255))",
+			"CREATE TABLE orbit (id BIGINT PRIMARY KEY, orbit_number INTEGER)",
+			"CREATE TABLE processor_class (id BIGINT PRIMARY KEY, processor_name VARCHAR(255))",
+			"CREATE TABLE processor (id BIGINT PRIMARY KEY, processor_class_id BIGINT REFERENCES processor_class, "
+					+ "processor_version VARCHAR(255))",
+			"CREATE TABLE configured_processor (id BIGINT PRIMARY KEY, processor_id BIGINT REFERENCES processor)",
+			"CREATE TABLE product (id BIGINT PRIMARY KEY, uuid UUID, product_class_id BIGINT REFERENCES product_class, "
+					+ "orbit_id BIGINT REFERENCES orbit, configured_processor_id BIGINT REFERENCES configured_processor, "
+					+ "file_class VARCHAR(255), mode VARCHAR(255), production_type VARCHAR(255))",
+			"CREATE TABLE product_file (id BIGINT PRIMARY KEY, product_id BIGINT REFERENCES product, "
+					+ "product_file_name VARCHAR(255), file_size BIGINT, checksum VARCHAR(255))",
+			"CREATE TABLE product_parameters (product_id BIGINT REFERENCES product, parameters_key VARCHAR(255), "
+					+ "parameter_type VARCHAR(255), parameter_value VARCHAR(255), PRIMARY KEY (product_id, parameters_key))" };
+
+	/** The test data */
+	private static final String[] DATA = { "INSERT INTO mission VALUES (1, 'PTM', 'prosEO Test Mission'), (2, 'XYZ', 'Other')",
+			"INSERT INTO product_class VALUES (1, 1, 'L1B', 'L1', 'PUBLIC'), (2, 1, 'L2A', 'L2', 'PUBLIC'), "
+					+ "(3, 1, 'AUX', 'L0', 'INTERNAL'), (4, 2, 'L1B', 'L1', 'PUBLIC')",
+			"INSERT INTO orbit VALUES (1, 4711), (2, 4712)", "INSERT INTO processor_class VALUES (1, 'PTML1B'), (2, 'PTML2')",
+			"INSERT INTO processor VALUES (1, 1, '1.0.0'), (2, 2, '2.0.0')", "INSERT INTO configured_processor VALUES (1, 1), (2, 2)",
+			"INSERT INTO product VALUES " + "(1, RANDOM_UUID(), 1, 1, 1, 'TEST', 'OPER', 'SYSTEMATIC'), "
+					+ "(2, RANDOM_UUID(), 1, 2, NULL, 'OPER', 'OPER', 'SYSTEMATIC'), "
+					+ "(3, RANDOM_UUID(), 2, NULL, 2, 'OPER', 'NRTI', 'ON_DEMAND_DEFAULT'), "
+					+ "(4, RANDOM_UUID(), 1, 1, 1, 'OPER', 'OPER', 'SYSTEMATIC'), "
+					+ "(5, RANDOM_UUID(), 2, 2, 2, 'TEST', 'OPER', 'SYSTEMATIC'), "
+					+ "(6, RANDOM_UUID(), 3, 1, 1, 'OPER', 'OPER', 'SYSTEMATIC'), "
+					+ "(7, RANDOM_UUID(), 4, 1, 1, 'OPER', 'OPER', 'SYSTEMATIC')",
+			"INSERT INTO product_file VALUES (1, 1, 'PTM_L1B_1.nc', 1000, 'abc'), (2, 1, 'PTM_L1B_1.zip', 500, 'def'), "
+					+ "(3, 2, 'PTM_L1B_2.nc', 2000, 'ghi'), (4, 3, 'PTM_L2A_3.nc', 50, 'jkl'), (5, 5, 'PTM_L2A_5.nc', 3000, 'mno'), "
+					+ "(6, 5, 'PTM_L2A_5.zip', 1500, 'pqr'), (7, 5, 'PTM_L2A_5.tgz', 1400, 'stu'), "
+					+ "(8, 6, 'PTM_AUX_6.nc', 10, 'vwx'), (9, 7, 'XYZ_L1B_7.nc', 10, 'yza')",
+			"INSERT INTO product_parameters VALUES (1, 'revisionNumber', 'STRING', '01'), (1, 'baselineCollection', 'INTEGER', '2'), "
+					+ "(2, 'revisionNumber', 'STRING', '02'), (3, 'revisionNumber', 'STRING', '01'), (4, 'revisionNumber', 'STRING', '01'), "
+					+ "(5, 'revisionNumber', 'STRING', '01'), (5, 'baselineCollection', 'INTEGER', '3'), (7, 'revisionNumber', 'STRING', '01')" };
+
+	/** The filter expressions to test */
+	private static final String[] FILTERS = { null, "ContentLength gt 1000", "startswith(Name,'PTM_L2A')",
+			"Attributes/OData.CSC.StringAttribute/any(att:att/Name eq 'productType' and att/OData.CSC.StringAttribute/Value eq 'L1B')",
+			"Attributes/OData.CSC.IntegerAttribute/any(att:att/Name eq 'orbitNumber' and att/OData.CSC.IntegerAttribute/Value eq 4711)",
+			"Attributes/OData.CSC.StringAttribute/any(att:att/Name eq 'processorName' and att/OData.CSC.StringAttribute/Value eq 'PTML2')",
+			"Attributes/OData.CSC.StringAttribute/any(att:att/Name eq 'revisionNumber' and att/OData.CSC.StringAttribute/Value eq '01')",
+			"Attributes/OData.CSC.StringAttribute/any(att:att/Name eq 'revisionNumber' and att/OData.CSC.StringAttribute/Value eq '01')"
+					+ " and Attributes/OData.CSC.StringAttribute/any(att:att/Name eq 'baselineCollection' and att/OData.CSC.StringAttribute/Value eq '3')",
+			"Attributes/OData.CSC.StringAttribute/any(att:att/Name eq 'revisionNumber' and att/OData.CSC.StringAttribute/Value eq '02')"
+					+ " or Attributes/OData.CSC.StringAttribute/any(att:att/Name eq 'productType' and att/OData.CSC.StringAttribute/Value eq 'L2A')",
+			"ContentLength lt 1000 and Attributes/OData.CSC.StringAttribute/any(att:att/Name eq 'revisionNumber' and att/OData.CSC.StringAttribute/Value eq '01')" };
+
+	/** The SQL commands generated before the query rewriting for the filter expressions above (up to the mission filter) */
+	private static final String[] LEGACY_SQL_COMMANDS = { LEGACY_SELECT_CLAUSE + LEGACY_FROM_CLAUSE + "WHERE TRUE",
+			LEGACY_SELECT_CLAUSE + LEGACY_FROM_CLAUSE + "WHERE pf.file_size > 1000",
+			LEGACY_SELECT_CLAUSE + LEGACY_FROM_CLAUSE + "WHERE pf.product_file_name LIKE 'PTM\\_L2A%' ESCAPE '\\'",
+			LEGACY_SELECT_CLAUSE + LEGACY_FROM_CLAUSE + "WHERE pc.product_type = 'L1B'",
+			LEGACY_SELECT_CLAUSE + LEGACY_FROM_CLAUSE + "WHERE o.orbit_number = 4711",
+			LEGACY_SELECT_CLAUSE + LEGACY_FROM_CLAUSE + "WHERE prc.processor_name = 'PTML2'",
+			LEGACY_SELECT_CLAUSE + LEGACY_FROM_CLAUSE + LEGACY_PARAMETER_JOIN_1
+					+ "WHERE (pp1.parameters_key = 'revisionNumber' AND pp1.parameter_value = '01')",
+			LEGACY_SELECT_CLAUSE + LEGACY_FROM_CLAUSE + LEGACY_PARAMETER_JOIN_1 + LEGACY_PARAMETER_JOIN_2
+					+ "WHERE ((pp1.parameters_key = 'revisionNumber' AND pp1.parameter_value = '01')"
+					+ " AND (pp2.parameters_key = 'baselineCollection' AND pp2.parameter_value = '3'))",
+			LEGACY_SELECT_CLAUSE + LEGACY_FROM_CLAUSE + LEGACY_PARAMETER_JOIN_1
+					+ "WHERE ((pp1.parameters_key = 'revisionNumber' AND pp1.parameter_value = '02') OR pc.product_type = 'L2A')",
+			LEGACY_SELECT_CLAUSE + LEGACY_FROM_CLAUSE + LEGACY_PARAMETER_JOIN_1
+					+ "WHERE (pf.file_size < 1000 AND (pp1.parameters_key = 'revisionNumber' AND pp1.parameter_value = '01'))" };
+
+	private static ODataHttpHandler handler = null;
+	private static Connection connection = null;
+
+	/** The SQL command created by the test processor for the last request (up to the mission filter) */
+	private static String lastSqlCommand = null;
+	/** The count SQL command created by the test processor for the last request (up to the mission filter) */
+	private static String lastCountCommand = null;
+
+	/** A logger for this class */
+	private static Logger logger = LoggerFactory.getLogger(TestProductQueryRewriting.class);
+
+	/**
+	 * Entity collection processor, which only generates the SQL commands for the filter expression of the request
+	 */
+	public static class SqlCommandProcessor implements EntityCollectionProcessor {
+
+		@Override
+		public void init(OData odata, ServiceMetadata serviceMetadata) {
+		}
+
+		@Override
+		public void readEntityCollection(ODataRequest request, ODataResponse response, UriInfo uriInfo, ContentType responseFormat)
+				throws ODataApplicationException, ODataLibraryException {
+			String result = "TRUE";
+			SqlFilterExpressionVisitor expressionVisitor = new SqlFilterExpressionVisitor();
+
+			FilterOption filterOption = uriInfo.getFilterOption();
+			if (null != filterOption) {
+				try {
+					result = filterOption.getExpression().accept(expressionVisitor);
+				} catch (ExpressionVisitException e) {
+					logger.error("Exception thrown in filter expression: ", e);
+					response.setStatusCode(HttpStatusCode.BAD_REQUEST.getStatusCode());
+					return;
+				}
+			}
+			lastSqlCommand = expressionVisitor.getSqlCommand(false) + result;
+			lastCountCommand = expressionVisitor.getSqlCommand(true) + result;
+
+			response.setStatusCode(HttpStatusCode.OK.getStatusCode());
+		}
+
+	}
+
+	/**
+	 * Set up the OData handler and the test database
+	 *
+	 * @throws Exception if any error occurs during setup
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		OData odata = OData.newInstance();
+		ServiceMetadata edm = odata.createServiceMetadata(new ProductEdmProvider(), new ArrayList<EdmxReference>());
+		handler = odata.createHandler(edm);
+		handler.register(new SqlCommandProcessor());
+
+		connection = DriverManager.getConnection(JDBC_URL, "sa", "");
+		try (Statement statement = connection.createStatement()) {
+			for (String sql : SCHEMA) {
+				statement.execute(sql);
+			}
+			for (String sql : DATA) {
+				statement.execute(sql);
+			}
+		}
+	}
+
+	/**
+	 * Close the test database
+	 *
+	 * @throws Exception if any error occurs during cleanup
+	 */
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		if (null != connection) {
+			connection.close();
+		}
+	}
+
+	/**
+	 * Generate the SQL commands for the given filter expression
+	 *
+	 * @param filter the OData filter expression (may be null)
+	 */
+	private void generateSqlCommands(String filter) {
+		String uriQuery = null == filter ? "$top=10" : "$filter=" + filter;
+
+		ODataRequest testRequest = new ODataRequest();
+		testRequest.setMethod(HttpMethod.GET);
+		testRequest.setProtocol(URI_PROTOCOL);
+		testRequest.setRawBaseUri(URI_BASE);
+		testRequest.setRawODataPath(URI_ODATA);
+		testRequest.setHeader(HttpHeader.ACCEPT, "*/*");
+		testRequest.setRawRequestUri(URI_PROTOCOL + URI_BASE + URI_ODATA + "?" + uriQuery);
+		testRequest.setRawQueryPath(uriQuery);
+
+		lastSqlCommand = null;
+		ODataResponse response = handler.process(testRequest);
+		assertEquals("Unexpected response status for filter " + filter, HttpStatusCode.OK.getStatusCode(), response.getStatusCode());
+		assertNotNull(lastSqlCommand);
+	}
+
+	/**
+	 * Execute the given query and return the product IDs found
+	 *
+	 * @param sqlCommand the query to execute
+	 * @return the ordered set of product IDs
+	 * @throws SQLException if the query fails
+	 */
+	private Set<Long> queryProductIds(String sqlCommand) throws SQLException {
+		Set<Long> productIds = new TreeSet<>();
+		try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sqlCommand)) {
+			while (resultSet.next()) {
+				assertTrue("Duplicate product in result set: " + resultSet.getLong("id"), productIds.add(resultSet.getLong("id")));
+			}
+		}
+		return productIds;
+	}
+
+	/**
+	 * Execute the given count query
+	 *
+	 * @param sqlCommand the query to execute
+	 * @return the product count
+	 * @throws SQLException if the query fails
+	 */
+	private long queryProductCount(String sqlCommand) throws SQLException {
+		try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sqlCommand)) {
+			assertTrue(resultSet.next());
+			return resultSet.getLong(1);
+		}
+	}
+
+	/**
+	 * Log the query plan for the given query
+	 *
+	 * @param label      a label for the log output
+	 * @param sqlCommand the query to explain
+	 * @throws SQLException if the query cannot be explained
+	 */
+	private void logQueryPlan(String label, String sqlCommand) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("EXPLAIN " + sqlCommand)) {
+			while (resultSet.next()) {
+				logger.info("{} query plan:\n{}", label, resultSet.getString(1));
+			}
+		}
+	}
+
+	/**
+	 * Test that the rewritten queries return the same products as the legacy queries
+	 *
+	 * @throws SQLException if any query fails
+	 */
+	@Test
+	public final void testResultSetsUnchanged() throws SQLException {
+		for (int i = 0; i < FILTERS.length; ++i) {
+			String filter = FILTERS[i];
+			generateSqlCommands(filter);
+			String sqlCommand = lastSqlCommand + MISSION_FILTER;
+			String countCommand = lastCountCommand + MISSION_FILTER;
+			String legacyCommand = LEGACY_SQL_COMMANDS[i] + MISSION_FILTER;
+			logger.info("Testing filter {}:\nRewritten query:\n{}\nLegacy query:\n{}", filter, sqlCommand, legacyCommand);
+
+			Set<Long> expectedIds = queryProductIds(legacyCommand);
+			assertFalse("Filter without result: " + filter, expectedIds.isEmpty());
+			assertEquals("Different result for filter " + filter, expectedIds, queryProductIds(sqlCommand));
+			assertEquals("Different count for filter " + filter, expectedIds.size(), queryProductCount(countCommand));
+
+			logQueryPlan("Legacy", legacyCommand);
+			logQueryPlan("Rewritten", sqlCommand);
+		}
+	}
+
+	/**
+	 * Test that only referenced tables are joined, and duplicates are only eliminated if required
+	 */
+	@Test
+	public final void testJoinsAndDistinct() {
+		generateSqlCommands(null);
+		assertTrue(lastSqlCommand.startsWith("SELECT p.* "));
+		assertTrue(lastSqlCommand.contains("EXISTS (SELECT 1 FROM product_file pf WHERE pf.product_id = p.id)"));
+		assertFalse(lastSqlCommand.contains("JOIN orbit"));
+		assertFalse(lastSqlCommand.contains("JOIN configured_processor"));
+		assertTrue(lastCountCommand.startsWith("SELECT count(*) "));
+
+		generateSqlCommands(FILTERS[1]);
+		assertTrue(lastSqlCommand.startsWith("SELECT DISTINCT p.* "));
+		assertTrue(lastSqlCommand.contains("JOIN product_file pf"));
+		assertFalse(lastSqlCommand.contains("EXISTS"));
+		assertTrue(lastCountCommand.startsWith("SELECT count(DISTINCT p.id) "));
+
+		generateSqlCommands(FILTERS[4]);
+		assertTrue(lastSqlCommand.startsWith("SELECT p.* "));
+		assertTrue(lastSqlCommand.contains("LEFT OUTER JOIN orbit o"));
+		assertFalse(lastSqlCommand.contains("JOIN configured_processor"));
+
+		generateSqlCommands(FILTERS[5]);
+		assertTrue(lastSqlCommand.contains("LEFT OUTER JOIN processor_class prc"));
+		assertFalse(lastSqlCommand.contains("JOIN orbit"));
+
+		generateSqlCommands(FILTERS[7]);
+		assertTrue(lastSqlCommand.startsWith("SELECT p.* "));
+		assertFalse(lastSqlCommand.contains("JOIN product_parameters"));
+		assertTrue(lastSqlCommand.contains("EXISTS (SELECT 1 FROM product_parameters pp2 WHERE pp2.product_id = p.id"));
+	}
+
+}
@@ -32,6 +32,7 @@ import org.apache.olingo.server.api.uri.queryoption.SkipOption;
 import org.apache.olingo.server.api.uri.queryoption.TopOption;
 import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
 import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -60,6 +61,9 @@ public class TestSqlFilterExpressionVisitor {
 	
 	public static class TestEntityCollectionProcessor implements EntityCollectionProcessor {
 
+		/** The expression visitor used for the last filter evaluation */
+		private SqlFilterExpressionVisitor lastExpressionVisitor;
+
 //		/** The cached OData factory object */
 //		private OData odata;
 //		/** The cached metadata of the OData service */
@@ -97,6 +101,7 @@ public class TestSqlFilterExpressionVisitor {
 
 			String result = "TRUE"; // default value for no filter
 			SqlFilterExpressionVisitor expressionVisitor = new SqlFilterExpressionVisitor();
+			lastExpressionVisitor = expressionVisitor;
 
 			// Test filter option
 			FilterOption filterOption = uriInfo.getFilterOption();
@@ -231,6 +236,26 @@ public class TestSqlFilterExpressionVisitor {
 		runTest(uriQuery, sqlQuery);
 	}
 
+	/**
+	 * Test method for {@link de.dlr.proseo.api.prip.odata.SqlFilterExpressionVisitor#visitMethodCall(
+	 * org.apache.olingo.server.api.uri.queryoption.expression.MethodKind, java.util.List)} with indexed name search.
+	 */
+	@Test
+	public final void testVisitMethodCallIndexed() throws ExpressionVisitException, ODataApplicationException {
+		SqlFilterExpressionVisitor indexedVisitor = new SqlFilterExpressionVisitor(true);
+
+		assertEquals("reverse(pf.product_file_name) LIKE 'piz.\\_1%' ESCAPE '\\'",
+				indexedVisitor.visitMethodCall(MethodKind.ENDSWITH, List.of("pf.product_file_name", "'1_.zip'")));
+		assertEquals("pf.product_file_name LIKE 'S3B\\_DO%' ESCAPE '\\'",
+				indexedVisitor.visitMethodCall(MethodKind.STARTSWITH, List.of("pf.product_file_name", "'S3B_DO'")));
+		assertEquals("pf.product_file_name LIKE '%DO\\_0%' ESCAPE '\\'",
+				indexedVisitor.visitMethodCall(MethodKind.CONTAINS, List.of("pf.product_file_name", "'DO_0'")));
+
+		// Other columns are not indexed
+		assertEquals("pf.checksum LIKE '%abc' ESCAPE '\\'",
+				indexedVisitor.visitMethodCall(MethodKind.ENDSWITH, List.of("pf.checksum", "'abc'")));
+	}
+
 	/**
 	 * Test method for {@link de.dlr.proseo.api.prip.odata.SqlFilterExpressionVisitor#visitMember(org.apache.olingo.server.api.uri.queryoption.expression.Member)}.
 	 */
@@ -290,7 +315,8 @@ public class TestSqlFilterExpressionVisitor {
 	@Test
 	public final void testVisitParameterAttribute() {
 		String uriQuery = "$filter=Attributes/OData.CSC.StringAttribute/any(att:att/Name eq 'baselineCollection' and att/OData.CSC.StringAttribute/Value eq '01')";
-		String sqlQuery = "(pp1.parameters_key = 'baselineCollection' AND pp1.parameter_value = '01')"; 
+		String sqlQuery = "EXISTS (SELECT 1 FROM product_parameters pp1 WHERE pp1.product_id = p.id"
+				+ " AND pp1.parameters_key = 'baselineCollection' AND pp1.parameter_value = '01')"; 
 		
 		runTest(uriQuery, sqlQuery);
 	}
@@ -361,6 +387,65 @@ public class TestSqlFilterExpressionVisitor {
 		runTest(uriQuery, sqlQuery);
 	}
 
+	/**
+	 * Test method for {@link de.dlr.proseo.api.prip.odata.SqlFilterExpressionVisitor#visitMember(org.apache.olingo.server.api.uri.queryoption.expression.Member)}.
+	 */
+	@Test
+	public final void testIntersects() {
+		String uriQuery = "$filter=ContentLength gt 0 and OData.CSC.Intersects(area=geography'SRID=4326;POLYGON((10 50,12 50,12 52,10 52,10 50))')";
+		String sqlQuery = "(pf.file_size > 0 AND (p.footprint_min_latitude <= 52.0 AND p.footprint_max_latitude >= 50.0"
+				+ " AND p.footprint_min_longitude <= 12.0 AND p.footprint_max_longitude >= 10.0))"; 
+		
+		runTest(uriQuery, sqlQuery);
+
+		// Area crossing the antimeridian: No longitude restriction possible
+		String uriQuery2 = "$filter=OData.CSC.Intersects(area=geography'SRID=4326;POLYGON((179 -10,-179 -10,-179 10,179 10,179 -10))')";
+		String sqlQuery2 = "(p.footprint_min_latitude <= 10.0 AND p.footprint_max_latitude >= -10.0)"; 
+		
+		runTest(uriQuery2, sqlQuery2);
+	}
+
+	/**
+	 * Test that the areas for the exact intersection test are determined from the structure of the filter expression
+	 */
+	@Test
+	public final void testIntersectsCombination() {
+		String area1 = "OData.CSC.Intersects(area=geography'SRID=4326;POLYGON((10 50,12 50,12 52,10 52,10 50))')";
+		String area2 = "OData.CSC.Intersects(area=geography'SRID=4326;POLYGON((11 51,13 51,13 53,11 53,11 51))')";
+
+		// Conjunctions: All areas require the exact test
+		assertEquals(2, runAreasTest("$filter=" + area1 + " and (ContentLength gt 0 and " + area2 + ")"));
+
+		// Disjunctions of spatial conditions are rejected, also for conjunctions nested in a disjunction
+		assertEquals(-1, runAreasTest("$filter=" + area1 + " or " + area2));
+		assertEquals(-1, runAreasTest("$filter=(" + area1 + " and ContentLength gt 0) or Name eq 'x'"));
+		assertEquals(-1, runAreasTest("$filter=(" + area1 + " or " + area2 + ") and " + area1));
+		assertEquals(1, runAreasTest("$filter=" + area1 + " and (ContentLength gt 0 or Name eq 'x')"));
+
+		// Negation of a spatial condition is rejected, negation of a non-spatial condition resembling it in SQL is not
+		assertEquals(-1, runAreasTest("$filter=not " + area1));
+		assertEquals(-1, runAreasTest("$filter=not (" + area1 + " and ContentLength gt 0)"));
+		assertEquals(1, runAreasTest("$filter=" + area1 + " and not contains(Name, '(p.footprint_min_latitude <= 52.0"
+				+ " AND p.footprint_max_latitude >= 50.0 AND p.footprint_min_longitude <= 12.0 AND p.footprint_max_longitude >= 10.0)')"));
+	}
+
+	/**
+	 * Evaluate a filter containing spatial conditions
+	 *
+	 * @param uriQuery the URI query to evaluate
+	 * @return the number of areas requiring the exact intersection test, or -1, if the filter was rejected
+	 */
+	private int runAreasTest(String uriQuery) {
+		testRequest.setRawRequestUri(URI_PROTOCOL + URI_BASE + URI_ODATA + "?" + uriQuery);
+		testRequest.setRawQueryPath(uriQuery);
+
+		ODataResponse response = handler.process(testRequest);
+		if (HttpStatusCode.OK.getStatusCode() != response.getStatusCode()) {
+			return -1;
+		}
+		return entityCollectionProcessor.lastExpressionVisitor.getRefinementAreas().size();
+	}
+
 	/**
 	 * Test a filter evaluation
 	 * 
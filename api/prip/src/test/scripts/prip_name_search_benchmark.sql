@@ -0,0 +1,102 @@
+--
+-- prip_name_search_benchmark.sql
+-- ------------------------------
+--
+-- Latency benchmark for PRIP product name searches on a synthetic product file catalogue.
+--
+-- Creates a scratch schema with a product file table of (by default) 10 million rows with realistic
+-- Sentinel-style file names, and measures the "contains", "startswith" and "endswith" queries as generated
+-- by the PRIP API with and without the name search indexes (see proseo_schema_update_2026-10-19.sql).
+--
+-- Usage: psql -d <database> -v rows=10000000 -f prip_name_search_benchmark.sql
+--
+-- After creating the indexes the script verifies that the query planner actually uses the respective index for
+-- each query form, and stops with an error otherwise.
+--
+-- The scratch schema "prip_benchmark" is dropped at the end.
+--
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+    \set rows 10000000
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS prip_benchmark CASCADE;
+CREATE SCHEMA prip_benchmark;
+SET search_path TO prip_benchmark, public;
+
+CREATE TABLE product_file (
+    id bigint PRIMARY KEY,
+    product_id bigint NOT NULL,
+    product_file_name character varying(255)
+);
+
+-- Names like "S2B_MSIL1C_20240315T101559_N0510_R065_T32UPU_20240315T122207.zip"
+INSERT INTO product_file
+SELECT i, i,
+       (ARRAY['S1A', 'S1B', 'S2A', 'S2B', 'S3A', 'S3B', 'S5P'])[1 + i % 7]
+       || (ARRAY['_MSIL1C_', '_MSIL2A_', '_IW_GRDH_', '_OL_1_EFR_', '_L2__NO2_'])[1 + (i / 7) % 5]
+       || to_char(timestamp '2020-01-01' + (i * interval '17 seconds'), 'YYYYMMDD"T"HH24MISS')
+       || '_N' || lpad(((i / 35) % 600)::text, 4, '0')
+       || '_R' || lpad(((i / 3) % 143)::text, 3, '0')
+       || '_T' || lpad((i % 60)::text, 2, '0') || chr(65 + (i / 11) % 26) || chr(65 + (i / 13) % 26) || chr(65 + (i / 17) % 26)
+       || (ARRAY['.zip', '.nc', '.SAFE'])[1 + (i / 5) % 3]
+FROM generate_series(1, :rows) AS i;
+
+ANALYZE product_file;
+
+-- Raise an error, if the plan for the given query does not use the given index
+CREATE FUNCTION assert_index_used(query text, index_name text) RETURNS void AS $$
+DECLARE
+    plan_line text;
+    plan text := '';
+BEGIN
+    FOR plan_line IN EXECUTE 'EXPLAIN ' || query LOOP
+        plan := plan || plan_line || E'\n';
+    END LOOP;
+    IF position(index_name IN plan) = 0 THEN
+        RAISE EXCEPTION 'Index % not used for query: %', index_name, query USING DETAIL = plan;
+    END IF;
+    RAISE NOTICE 'Index % used for query: %', index_name, query;
+END;
+$$ LANGUAGE plpgsql;
+
+--
+-- Queries without search indexes
+--
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM product_file pf WHERE pf.product_file_name LIKE '%\_N0510\_R065\_T32UPU%' ESCAPE '\';
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM product_file pf WHERE pf.product_file_name LIKE 'S2B\_MSIL1C\_2024031%' ESCAPE '\';
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM product_file pf WHERE pf.product_file_name LIKE '%T32UPU.SAFE' ESCAPE '\';
+
+--
+-- Create the search indexes (as in the schema update)
+--
+CREATE INDEX idx_product_file_name_prefix ON product_file USING btree (product_file_name varchar_pattern_ops);
+CREATE INDEX idx_product_file_name_suffix ON product_file USING btree (reverse(product_file_name) text_pattern_ops);
+CREATE EXTENSION IF NOT EXISTS pg_trgm SCHEMA public;
+CREATE INDEX idx_product_file_name_trigram ON product_file USING gin (product_file_name gin_trgm_ops);
+ANALYZE product_file;
+
+--
+-- Index verification
+--
+SELECT assert_index_used($q$SELECT count(*) FROM product_file pf WHERE pf.product_file_name LIKE '%\_N0510\_R065\_T32UPU%' ESCAPE '\'$q$,
+    'idx_product_file_name_trigram');
+SELECT assert_index_used($q$SELECT count(*) FROM product_file pf WHERE pf.product_file_name LIKE 'S2B\_MSIL1C\_2024031%' ESCAPE '\'$q$,
+    'idx_product_file_name_prefix');
+SELECT assert_index_used($q$SELECT count(*) FROM product_file pf WHERE reverse(pf.product_file_name) LIKE 'EFAS.UPU23T%' ESCAPE '\'$q$,
+    'idx_product_file_name_suffix');
+
+--
+-- Queries with search indexes (with "endswith" formulated on the reversed name as for "proseo.nameSearch.indexed: true")
+--
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM product_file pf WHERE pf.product_file_name LIKE '%\_N0510\_R065\_T32UPU%' ESCAPE '\';
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM product_file pf WHERE pf.product_file_name LIKE 'S2B\_MSIL1C\_2024031%' ESCAPE '\';
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM product_file pf WHERE reverse(pf.product_file_name) LIKE 'EFAS.UPU23T%' ESCAPE '\';
+
+-- Index sizes
+SELECT indexrelname, pg_size_pretty(pg_relation_size(indexrelid)) FROM pg_stat_user_indexes WHERE schemaname = 'prip_benchmark';
+
+RESET search_path;
+DROP SCHEMA prip_benchmark CASCADE;
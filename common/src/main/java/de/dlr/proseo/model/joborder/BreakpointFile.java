@@ -12,6 +12,10 @@ import static de.dlr.proseo.model.joborder.InputOutput.FN_TYPE_PHYSICAL;
 import static de.dlr.proseo.model.joborder.InputOutput.FN_TYPE_REGEXP;
 import static de.dlr.proseo.model.joborder.InputOutput.FN_TYPE_STEM;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -202,4 +206,49 @@ public class BreakpointFile {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Write the contents of this to a StAX writer (streaming equivalent of buildXML)
+	 *
+	 * @param writer           the StAX writer to use
+	 * @param prosEOAttributes if true, write attributes of prosEO specific data
+	 * @throws XMLStreamException if writing fails
+	 */
+	public void writeXML(XMLStreamWriter writer, Boolean prosEOAttributes) throws XMLStreamException {
+		// Same (non-standard) structure as created by buildXML
+		writer.writeStartElement("Enable");
+		XmlStreamSupport.writeText(writer, String.valueOf(enable));
+		XmlStreamSupport.writeTextElement(writer, "File_Type", fileType);
+		XmlStreamSupport.writeTextElement(writer, "File_Name_Type",
+				(null == fileNameType ? "" : fileNameType) + (null == fileName ? "" : fileName));
+		writer.writeEmptyElement("File_Name");
+		writer.writeEndElement();
+	}
+
+	/**
+	 * Read info from a StAX reader (streaming equivalent of read(Node))
+	 *
+	 * @param reader the StAX reader positioned at the start of the element for this object, on return positioned at its end
+	 * @throws XMLStreamException if reading fails
+	 */
+	public void read(XMLStreamReader reader) throws XMLStreamException {
+		while (XmlStreamSupport.nextChildElement(reader)) {
+			switch (reader.getLocalName().toLowerCase()) {
+			case "enable":
+				this.setEnable(Boolean.parseBoolean(XmlStreamSupport.readTextContent(reader)));
+				break;
+			case "file_type":
+				this.setFileType(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "file_name_type":
+				this.setFileNameType(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "file_name":
+				this.setFileName(XmlStreamSupport.readTextContent(reader));
+				break;
+			default:
+				XmlStreamSupport.skipElement(reader);
+			}
+		}
+	}
+}
@@ -8,6 +8,10 @@ package de.dlr.proseo.model.joborder;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -508,4 +512,115 @@ public class Conf {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Write the contents of this to a StAX writer (streaming equivalent of buildXML)
+	 *
+	 * @param writer           the StAX writer to use
+	 * @param jobOrderVersion  the Job Order file specification version to apply
+	 * @param prosEOAttributes if true, write attributes of prosEO specific data
+	 * @throws XMLStreamException if writing fails
+	 */
+	public void writeXML(XMLStreamWriter writer, JobOrderVersion jobOrderVersion, Boolean prosEOAttributes)
+			throws XMLStreamException {
+		writer.writeStartElement("Ipf_Conf");
+		XmlStreamSupport.writeTextElement(writer, "Processor_Name", processorName);
+		XmlStreamSupport.writeTextElement(writer, "Version", version);
+		XmlStreamSupport.writeTextElement(writer, "Stdout_Log_Level", stdoutLogLevel);
+		XmlStreamSupport.writeTextElement(writer, "Stderr_Log_Level", stderrLogLevel);
+		XmlStreamSupport.writeTextElement(writer, "Test", test);
+		XmlStreamSupport.writeTextElement(writer, "Breakpoint_Enable", breakpointEnable);
+		if (acquisitionStation != null && !acquisitionStation.isBlank()) {
+			XmlStreamSupport.writeTextElement(writer, "Acquisition_Station", acquisitionStation);
+		}
+		XmlStreamSupport.writeTextElement(writer, "Processing_Station", processingStation);
+
+		String configFilesName = jobOrderVersion == JobOrderVersion.MMFI_1_8 ? "Config_Files" : "List_of_Config_Files";
+		if (configFileNames.isEmpty()) {
+			writer.writeEmptyElement(configFilesName);
+		} else {
+			writer.writeStartElement(configFilesName);
+			for (String item : configFileNames) {
+				XmlStreamSupport.writeTextElement(writer,
+						jobOrderVersion == JobOrderVersion.MMFI_1_8 ? "Conf_File_Name" : "Config_File", item);
+			}
+			writer.writeEndElement();
+		}
+
+		if (sensingTime != null) {
+			sensingTime.writeXML(writer, prosEOAttributes);
+		}
+
+		String dynProcParamsName = jobOrderVersion == JobOrderVersion.MMFI_1_8 ? "Dynamic_Processing_Parameters"
+				: "List_of_Dyn_Processing_Parameters";
+		if (dynamicProcessingParameters.isEmpty()) {
+			writer.writeEmptyElement(dynProcParamsName);
+		} else {
+			writer.writeStartElement(dynProcParamsName);
+			for (ProcessingParameter item : dynamicProcessingParameters) {
+				item.writeXML(writer, jobOrderVersion, prosEOAttributes);
+			}
+			writer.writeEndElement();
+		}
+
+		writer.writeEndElement();
+	}
+
+	/**
+	 * Read info from a StAX reader (streaming equivalent of read(Node))
+	 *
+	 * @param reader the StAX reader positioned at the start of the element for this object, on return positioned at its end
+	 * @throws XMLStreamException if reading fails
+	 */
+	public void read(XMLStreamReader reader) throws XMLStreamException {
+		while (XmlStreamSupport.nextChildElement(reader)) {
+			switch (reader.getLocalName().toLowerCase()) {
+			case "processor_name":
+				this.setProcessorName(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "version":
+				this.setVersion(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "stdout_log_level":
+				this.setStdoutLogLevel(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "stderr_log_level":
+				this.setStderrLogLevel(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "test":
+				this.setTest(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "breakpoint_enable":
+				this.setBreakpointEnable(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "processing_station":
+				this.setProcessingStation(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "acquisition_station":
+				this.setAcquisitionStation(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "sensing_time":
+				this.setSensingTime(new SensingTime());
+				this.getSensingTime().read(reader);
+				break;
+			case "config_files":
+			case "list_of_config_files":
+				while (XmlStreamSupport.nextChildElement(reader)) {
+					this.getConfigFileNames().add(XmlStreamSupport.readTextContent(reader));
+				}
+				break;
+			case "dynamic_processing_parameters":
+			case "list_of_dyn_processing_parameters":
+			case "list_of_dynamic_processing_parameters":
+				while (XmlStreamSupport.nextChildElement(reader)) {
+					ProcessingParameter pp = new ProcessingParameter();
+					pp.read(reader);
+					this.getDynamicProcessingParameters().add(pp);
+				}
+				break;
+			default:
+				XmlStreamSupport.skipElement(reader);
+			}
+		}
+	}
+}
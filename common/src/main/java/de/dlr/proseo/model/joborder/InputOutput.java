@@ -8,6 +8,10 @@ package de.dlr.proseo.model.joborder;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Attr;
@@ -327,4 +331,107 @@ public class InputOutput {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Write the contents of this to a StAX writer (streaming equivalent of buildXML)
+	 *
+	 * @param writer           the StAX writer to use
+	 * @param prosEOAttributes if true, write attributes of prosEO specific data
+	 * @throws XMLStreamException if writing fails
+	 */
+	public void writeXML(XMLStreamWriter writer, Boolean prosEOAttributes) throws XMLStreamException {
+		writer.writeStartElement(type);
+		if (prosEOAttributes && productID != null && productID.length() > 0) {
+			XmlStreamSupport.writeAttribute(writer, "Product_ID", productID);
+		}
+		XmlStreamSupport.writeTextElement(writer, "File_Type", fileType);
+		XmlStreamSupport.writeTextElement(writer, "File_Name_Type", fileNameType);
+
+		if (IO_TYPE_INPUT.equals(type)) {
+			if (fileNames.isEmpty()) {
+				writer.writeEmptyElement("List_of_File_Names");
+			} else {
+				writer.writeStartElement("List_of_File_Names");
+			}
+			writer.writeAttribute("count", Integer.toString(fileNames.size()));
+			for (IpfFileName item : fileNames) {
+				item.writeXML(writer, prosEOAttributes);
+			}
+			if (!fileNames.isEmpty()) {
+				writer.writeEndElement();
+			}
+
+			if (!timeIntervals.isEmpty()) {
+				writer.writeStartElement("List_of_Time_Intervals");
+				writer.writeAttribute("count", Integer.toString(timeIntervals.size()));
+				for (TimeInterval item : timeIntervals) {
+					item.writeXML(writer, prosEOAttributes);
+				}
+				writer.writeEndElement();
+			}
+		} else {
+			// An output element must have at most one file name
+			if (1 < fileNames.size()) {
+				String message = "Output element must have at most one file name, but has " + fileNames.size();
+				logger.error(message);
+				throw new IndexOutOfBoundsException(message);
+			}
+			if (1 == fileNames.size()) {
+				fileNames.get(0).writeXML(writer, prosEOAttributes);
+			}
+		}
+		writer.writeEndElement();
+	}
+
+	/**
+	 * Read info from a StAX reader (streaming equivalent of read(Node))
+	 *
+	 * @param reader the StAX reader positioned at the start of the element for this object, on return positioned at its end
+	 * @throws XMLStreamException if reading fails
+	 */
+	public void read(XMLStreamReader reader) throws XMLStreamException {
+		String productId = XmlStreamSupport.getAttribute(reader, "Product_ID");
+		if (null != productId) {
+			this.setProductID(productId);
+		}
+		while (XmlStreamSupport.nextChildElement(reader)) {
+			switch (reader.getLocalName().toLowerCase()) {
+			case "file_type":
+				this.setFileType(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "file_name_type":
+				this.setFileNameType(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "list_of_file_names":
+				while (XmlStreamSupport.nextChildElement(reader)) {
+					if (reader.getLocalName().equalsIgnoreCase("File_Name")) {
+						IpfFileName fn = new IpfFileName();
+						fn.read(reader);
+						this.getFileNames().add(fn);
+					} else {
+						XmlStreamSupport.skipElement(reader);
+					}
+				}
+				break;
+			case "list_of_time_intervals":
+				while (XmlStreamSupport.nextChildElement(reader)) {
+					if (reader.getLocalName().equalsIgnoreCase("Time_Interval")) {
+						TimeInterval ti = new TimeInterval();
+						ti.read(reader);
+						this.getTimeIntervals().add(ti);
+					} else {
+						XmlStreamSupport.skipElement(reader);
+					}
+				}
+				break;
+			case "file_name":
+				IpfFileName fn = new IpfFileName();
+				fn.read(reader);
+				this.getFileNames().add(fn);
+				break;
+			default:
+				XmlStreamSupport.skipElement(reader);
+			}
+		}
+	}
+}
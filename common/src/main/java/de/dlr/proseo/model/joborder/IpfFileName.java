@@ -5,6 +5,10 @@
  */
 package de.dlr.proseo.model.joborder;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -155,4 +159,40 @@ public class IpfFileName {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Write the contents of this to a StAX writer (streaming equivalent of buildXML)
+	 *
+	 * @param writer           the StAX writer to use
+	 * @param prosEOAttributes if true, write attributes of prosEO specific data
+	 * @throws XMLStreamException if writing fails
+	 */
+	public void writeXML(XMLStreamWriter writer, Boolean prosEOAttributes) throws XMLStreamException {
+		if (null == fileName || fileName.isEmpty()) {
+			writer.writeEmptyElement("File_Name");
+		} else {
+			writer.writeStartElement("File_Name");
+		}
+		if (prosEOAttributes) {
+			XmlStreamSupport.writeAttribute(writer, "FS_Type", FSType);
+		}
+		if (null != fileName && !fileName.isEmpty()) {
+			XmlStreamSupport.writeText(writer, fileName);
+			writer.writeEndElement();
+		}
+	}
+
+	/**
+	 * Read info from a StAX reader (streaming equivalent of read(Node))
+	 *
+	 * @param reader the StAX reader positioned at the start of the element for this object, on return positioned at its end
+	 * @throws XMLStreamException if reading fails
+	 */
+	public void read(XMLStreamReader reader) throws XMLStreamException {
+		String fsType = XmlStreamSupport.getAttribute(reader, "FS_Type");
+		if (null != fsType) {
+			this.setFSType(fsType);
+		}
+		this.setFileName(XmlStreamSupport.readTextContent(reader));
+	}
+}
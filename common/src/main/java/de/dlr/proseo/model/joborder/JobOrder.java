@@ -5,32 +5,24 @@
  */
 package de.dlr.proseo.model.joborder;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
-import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Attr;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.xml.sax.SAXException;
 
 import de.dlr.proseo.model.enums.JobOrderVersion;
 
@@ -40,6 +32,11 @@ import de.dlr.proseo.model.enums.JobOrderVersion;
  * For details see Generic IPF Interface Specification issue 1 revision 8 -
  * 03/08/2009 MMFI-GSEG-EOPG-TN-07-0003
  *
+ * Job Orders are written and read with the Streaming API for XML (StAX), so no
+ * DOM tree of the whole Job Order needs to be held in memory. The output is
+ * byte-identical to the output of the DOM-based serialization of the Job
+ * Order elements (buildXML).
+ *
  * @author Ernst Melchinger
  */
 public class JobOrder {
@@ -48,8 +45,8 @@ public class JobOrder {
 	private static Logger logger = LoggerFactory.getLogger(JobOrder.class);
 
 	// Error Messages
-	private static final String MSG_ERROR_INSTANTIATING_DOCUMENT_BUILDER = "Error instantiating DocumentBuilder: {}";
 	private static final String MSG_JOF_NOT_PARSEABLE = "JobOrder file {} not parseable ({})";
+	private static final String MSG_JOF_NOT_READABLE = "JobOrder stream not parseable ({})";
 
 	/** The file name where job order is stored */
 	private String fileName;
@@ -185,13 +182,12 @@ public class JobOrder {
 		if (logger.isTraceEnabled())
 			logger.trace(">>> buildBase64String({}, {})", jobOrderVersion, prosEOAttributes);
 
-		try {
-			ByteArrayOutputStream baos = new ByteArrayOutputStream();
-			writeXMLToStream(baos, prosEOAttributes, jobOrderVersion);
-			String xmlString = baos.toString();
-			baos.close();
-			byte[] bytes = java.util.Base64.getEncoder().encode(xmlString.getBytes());
-			return new String(bytes);
+		// Encode the XML output on the fly instead of converting it to a string first
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (OutputStream base64Stream = Base64.getEncoder().wrap(baos)) {
+			if (!writeXMLToStream(base64Stream, prosEOAttributes, jobOrderVersion)) {
+				return null;
+			}
 		} catch (Exception e) {
 			// TODO Auto-generated catch block
 			if (logger.isDebugEnabled()) {
@@ -199,6 +195,7 @@ public class JobOrder {
 				}
 			return null;
 		}
+		return baos.toString(StandardCharsets.US_ASCII);
 	}
 
 	/**
@@ -229,42 +226,25 @@ public class JobOrder {
 		if (logger.isTraceEnabled())
 			logger.trace(">>> writeXMLToStream(OutputStream, {}, {})", prosEOAttributes, jobOrderVersion);
 
-		DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-		DocumentBuilder docBuilder;
 		try {
-			docBuilder = docFactory.newDocumentBuilder();
-			Document doc = docBuilder.newDocument();
-			Element rootElement = doc.createElement("Ipf_Job_Order");
-			doc.appendChild(rootElement);
-			conf.buildXML(doc, rootElement, jobOrderVersion, prosEOAttributes);
-			Element listEle = doc.createElement("List_of_Ipf_Procs");
-			Attr attr = doc.createAttribute("count");
-			attr.setValue(Integer.toString(listOfProcs.size()));
-			listEle.setAttributeNode(attr);
-			rootElement.appendChild(listEle);
-
-			for (Proc item : listOfProcs) {
-				item.buildXML(doc, listEle, prosEOAttributes);
-			}
-
-			TransformerFactory transformerFactory = TransformerFactory.newInstance();
-			Transformer transformer = transformerFactory.newTransformer();
-			DOMSource source = new DOMSource(doc);
-			StreamResult result = new StreamResult(aStream);
-
-			// Output to console for testing
-			// StreamResult result = new StreamResult(System.out);
-
-			transformer.transform(source, result);
-
-		} catch (ParserConfigurationException e) {
-			// TODO Auto-generated catch block
-			if (logger.isDebugEnabled()) {
-					logger.debug("An exception occurred. Cause: ", e);
+			XMLStreamWriter writer = XmlStreamSupport.createWriter(aStream);
+			writer.writeStartElement("Ipf_Job_Order");
+			conf.writeXML(writer, jobOrderVersion, prosEOAttributes);
+			if (listOfProcs.isEmpty()) {
+				writer.writeEmptyElement("List_of_Ipf_Procs");
+				writer.writeAttribute("count", "0");
+			} else {
+				writer.writeStartElement("List_of_Ipf_Procs");
+				writer.writeAttribute("count", Integer.toString(listOfProcs.size()));
+				for (Proc item : listOfProcs) {
+					item.writeXML(writer, prosEOAttributes);
 				}
-			return false;
-		} catch (TransformerException e) {
-			// TODO Auto-generated catch block
+				writer.writeEndElement();
+			}
+			writer.writeEndElement();
+			writer.flush();
+			writer.close();
+		} catch (XMLStreamException e) {
 			if (logger.isDebugEnabled()) {
 					logger.debug("An exception occurred. Cause: ", e);
 				}
@@ -284,50 +264,76 @@ public class JobOrder {
 		if (logger.isTraceEnabled())
 			logger.trace(">>> read({})", jobOrderString.substring(0, 30) + "...");
 
-		InputStream aStream = new ByteArrayInputStream(jobOrderString.getBytes());
-
-		DocumentBuilder docBuilder = null;
 		try {
-			docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-		} catch (ParserConfigurationException e) {
-			logger.error(MSG_ERROR_INSTANTIATING_DOCUMENT_BUILDER, e.getMessage());
+			// Read from the string directly, so the characters are not subject to any encoding
+			readXML(XmlStreamSupport.createReader(new StringReader(jobOrderString)));
+		} catch (XMLStreamException e) {
+			logger.error(MSG_JOF_NOT_PARSEABLE, jobOrderString, e.getMessage());
 			return null;
 		}
-		Document jobOrderDoc = null;
+		return this;
+	}
+
+	/**
+	 * Read a Job Order from an XML-formatted input stream
+	 *
+	 * @param aStream the stream to read the XML-formatted Job Order File from
+	 * @return the modified Job Order object or null, if the stream cannot be parsed
+	 *         into a Job Order object
+	 */
+	public JobOrder read(InputStream aStream) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> read(InputStream)");
+
 		try {
-			jobOrderDoc = docBuilder.parse(aStream);
-		} catch (SAXException | IOException e) {
-			logger.error(MSG_JOF_NOT_PARSEABLE, jobOrderString, e.getMessage());
+			readXML(XmlStreamSupport.createReader(aStream));
+		} catch (XMLStreamException e) {
+			logger.error(MSG_JOF_NOT_READABLE, e.getMessage());
 			return null;
 		}
-		// now we have the document, fill tree structure
-		Node ele = jobOrderDoc.getDocumentElement();
-		while (ele != null) {
-			if (ele.getNodeName().equalsIgnoreCase("Ipf_Job_Order")) {
-				// we are there! try it
-				this.setConf(null);
+		return this;
+	}
+
+	/**
+	 * Fill this Job Order from a StAX reader
+	 *
+	 * @param reader the StAX reader for the XML-formatted Job Order File (will be closed on return)
+	 * @throws XMLStreamException if the Job Order File cannot be parsed
+	 */
+	private void readXML(XMLStreamReader reader) throws XMLStreamException {
+		try {
+			// Find the document element
+			while (reader.hasNext() && XMLStreamConstants.START_ELEMENT != reader.next()) {
+				// Skip prolog
+			}
+			if (reader.isStartElement() && reader.getLocalName().equalsIgnoreCase("Ipf_Job_Order")) {
 				// read conf and proc
-				Node child = ele.getFirstChild();
-				while (child != null) {
-					if (child.getNodeName().equalsIgnoreCase("Ipf_Conf")) {
+				this.setConf(null);
+				while (XmlStreamSupport.nextChildElement(reader)) {
+					if (reader.getLocalName().equalsIgnoreCase("Ipf_Conf")) {
 						conf = new Conf();
-						conf.read(child);
-					} else if (child.getNodeName().equalsIgnoreCase("List_of_Ipf_Procs")) {
-						Node procNode = child.getFirstChild();
-						while (procNode != null) {
-							if (procNode.getNodeName().equalsIgnoreCase("Ipf_Proc")) {
+						conf.read(reader);
+					} else if (reader.getLocalName().equalsIgnoreCase("List_of_Ipf_Procs")) {
+						while (XmlStreamSupport.nextChildElement(reader)) {
+							if (reader.getLocalName().equalsIgnoreCase("Ipf_Proc")) {
 								Proc proc = new Proc();
-								proc.read(procNode);
+								proc.read(reader);
 								this.getListOfProcs().add(proc);
+							} else {
+								XmlStreamSupport.skipElement(reader);
 							}
-							procNode = procNode.getNextSibling();
 						}
+					} else {
+						XmlStreamSupport.skipElement(reader);
 					}
-					child = child.getNextSibling();
 				}
 			}
-			ele = ele.getNextSibling();
+			// Make sure the document is well-formed up to its end
+			while (reader.hasNext()) {
+				reader.next();
+			}
+		} finally {
+			reader.close();
 		}
-		return this;
 	}
 }
@@ -8,6 +8,10 @@ package de.dlr.proseo.model.joborder;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -258,4 +262,121 @@ public class Proc {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Write the contents of this to a StAX writer (streaming equivalent of buildXML)
+	 *
+	 * @param writer           the StAX writer to use
+	 * @param prosEOAttributes if true, write attributes of prosEO specific data
+	 * @throws XMLStreamException if writing fails
+	 */
+	public void writeXML(XMLStreamWriter writer, Boolean prosEOAttributes) throws XMLStreamException {
+		writer.writeStartElement("Ipf_Proc");
+		XmlStreamSupport.writeTextElement(writer, "Task_Name", taskName);
+		XmlStreamSupport.writeTextElement(writer, "Task_Version", taskVersion);
+
+		if (!listOfBrkFiles.isEmpty()) {
+			writer.writeStartElement("BreakPoint");
+			writer.writeStartElement("List_of_Brk_Files");
+			writer.writeAttribute("count", Integer.toString(listOfBrkFiles.size()));
+			for (BreakpointFile item : listOfBrkFiles) {
+				item.writeXML(writer, prosEOAttributes);
+			}
+			writer.writeEndElement();
+			writer.writeEndElement();
+		}
+
+		writeList(writer, "List_of_Inputs", listOfInputs, prosEOAttributes);
+		writeList(writer, "List_of_Outputs", listOfOutputs, prosEOAttributes);
+
+		writer.writeEndElement();
+	}
+
+	/**
+	 * Write a list of inputs or outputs with a "count" attribute
+	 *
+	 * @param writer           the StAX writer to use
+	 * @param elementName      the name of the list element
+	 * @param items            the inputs or outputs to write
+	 * @param prosEOAttributes if true, write attributes of prosEO specific data
+	 * @throws XMLStreamException if writing fails
+	 */
+	private void writeList(XMLStreamWriter writer, String elementName, List<InputOutput> items, Boolean prosEOAttributes)
+			throws XMLStreamException {
+		if (items.isEmpty()) {
+			writer.writeEmptyElement(elementName);
+			writer.writeAttribute("count", "0");
+			return;
+		}
+		writer.writeStartElement(elementName);
+		writer.writeAttribute("count", Integer.toString(items.size()));
+		for (InputOutput item : items) {
+			item.writeXML(writer, prosEOAttributes);
+		}
+		writer.writeEndElement();
+	}
+
+	/**
+	 * Read info from a StAX reader (streaming equivalent of read(Node))
+	 *
+	 * @param reader the StAX reader positioned at the start of the element for this object, on return positioned at its end
+	 * @throws XMLStreamException if reading fails
+	 */
+	public void read(XMLStreamReader reader) throws XMLStreamException {
+		while (XmlStreamSupport.nextChildElement(reader)) {
+			switch (reader.getLocalName().toLowerCase()) {
+			case "task_name":
+				this.setTaskName(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "task_version":
+				this.setTaskVersion(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "breakpoint":
+				while (XmlStreamSupport.nextChildElement(reader)) {
+					if (reader.getLocalName().equalsIgnoreCase("List_of_Brk_Files")) {
+						while (XmlStreamSupport.nextChildElement(reader)) {
+							if (reader.getLocalName().equalsIgnoreCase("Brk_File")) {
+								BreakpointFile brkFile = new BreakpointFile();
+								brkFile.read(reader);
+								this.getListOfBrkFiles().add(brkFile);
+							} else {
+								XmlStreamSupport.skipElement(reader);
+							}
+						}
+					} else {
+						XmlStreamSupport.skipElement(reader);
+					}
+				}
+				break;
+			case "list_of_inputs":
+				readList(reader, InputOutput.IO_TYPE_INPUT, this.getListOfInputs());
+				break;
+			case "list_of_outputs":
+				readList(reader, InputOutput.IO_TYPE_OUTPUT, this.getListOfOutputs());
+				break;
+			default:
+				XmlStreamSupport.skipElement(reader);
+			}
+		}
+	}
+
+	/**
+	 * Read a list of inputs or outputs from a StAX reader
+	 *
+	 * @param reader the StAX reader positioned at the start of the list element, on return positioned at its end
+	 * @param ioType the type of the list items (input or output)
+	 * @param items  the list to add the inputs or outputs to
+	 * @throws XMLStreamException if reading fails
+	 */
+	private void readList(XMLStreamReader reader, String ioType, List<InputOutput> items) throws XMLStreamException {
+		while (XmlStreamSupport.nextChildElement(reader)) {
+			if (reader.getLocalName().equalsIgnoreCase(ioType)) {
+				InputOutput io = new InputOutput(ioType);
+				io.read(reader);
+				items.add(io);
+			} else {
+				XmlStreamSupport.skipElement(reader);
+			}
+		}
+	}
+}
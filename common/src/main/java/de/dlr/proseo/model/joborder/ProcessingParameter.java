@@ -5,6 +5,10 @@
  */
 package de.dlr.proseo.model.joborder;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -123,4 +127,41 @@ public class ProcessingParameter {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Write the contents of this to a StAX writer (streaming equivalent of buildXML)
+	 *
+	 * @param writer           the StAX writer to use
+	 * @param jobOrderVersion  the Job Order file specification version to apply
+	 * @param prosEOAttributes if true, write attributes of prosEO specific data
+	 * @throws XMLStreamException if writing fails
+	 */
+	public void writeXML(XMLStreamWriter writer, JobOrderVersion jobOrderVersion, Boolean prosEOAttributes)
+			throws XMLStreamException {
+		writer.writeStartElement(jobOrderVersion == JobOrderVersion.MMFI_1_8 ? "Processing_Parameter" : "Dyn_Processing_Parameter");
+		XmlStreamSupport.writeTextElement(writer, "Name", name);
+		XmlStreamSupport.writeTextElement(writer, "Value", value);
+		writer.writeEndElement();
+	}
+
+	/**
+	 * Read info from a StAX reader (streaming equivalent of read(Node))
+	 *
+	 * @param reader the StAX reader positioned at the start of the element for this object, on return positioned at its end
+	 * @throws XMLStreamException if reading fails
+	 */
+	public void read(XMLStreamReader reader) throws XMLStreamException {
+		while (XmlStreamSupport.nextChildElement(reader)) {
+			switch (reader.getLocalName().toLowerCase()) {
+			case "name":
+				this.setName(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "value":
+				this.setValue(XmlStreamSupport.readTextContent(reader));
+				break;
+			default:
+				XmlStreamSupport.skipElement(reader);
+			}
+		}
+	}
+}
@@ -5,6 +5,10 @@
  */
 package de.dlr.proseo.model.joborder;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -119,4 +123,39 @@ public class SensingTime {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Write the contents of this to a StAX writer (streaming equivalent of buildXML)
+	 *
+	 * @param writer           the StAX writer to use
+	 * @param prosEOAttributes if true, write attributes of prosEO specific data
+	 * @throws XMLStreamException if writing fails
+	 */
+	public void writeXML(XMLStreamWriter writer, Boolean prosEOAttributes) throws XMLStreamException {
+		writer.writeStartElement("Sensing_Time");
+		XmlStreamSupport.writeTextElement(writer, "Start", start);
+		XmlStreamSupport.writeTextElement(writer, "Stop", stop);
+		writer.writeEndElement();
+	}
+
+	/**
+	 * Read info from a StAX reader (streaming equivalent of read(Node))
+	 *
+	 * @param reader the StAX reader positioned at the start of the element for this object, on return positioned at its end
+	 * @throws XMLStreamException if reading fails
+	 */
+	public void read(XMLStreamReader reader) throws XMLStreamException {
+		while (XmlStreamSupport.nextChildElement(reader)) {
+			switch (reader.getLocalName().toLowerCase()) {
+			case "start":
+				this.setStart(XmlStreamSupport.readTextContent(reader));
+				break;
+			case "stop":
+				this.setStop(XmlStreamSupport.readTextContent(reader));
+				break;
+			default:
+				XmlStreamSupport.skipElement(reader);
+			}
+		}
+	}
+}
@@ -0,0 +1,271 @@
+/**
+ * XmlStreamSupport.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.joborder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Helper methods for writing and reading Job Order documents with the Streaming API for XML (StAX).
+ *
+ * The output produced with these methods is byte-identical to the output of the DOM-based serialization used before (JAXP
+ * default transformer without indentation): The XML declaration includes the "standalone" pseudo-attribute, elements without
+ * content are written as empty-element tags, and characters in character data, which the JAXP serializer writes as character
+ * references, are written as character references, too. The only deviation concerns control characters and supplementary
+ * characters in attribute values, which are not escaped by the StAX writer (they do not occur in the attribute values of Job
+ * Orders, which are file system types and product IDs).
+ *
+ * @author Dr. Thomas Bassler
+ */
+final class XmlStreamSupport {
+
+	/** The XML declaration as written by the JAXP default transformer */
+	private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+
+	/** Size of the output buffer in characters */
+	private static final int BUFFER_SIZE = 16384;
+
+	/** Line separator used for line feeds in character data (as done by the JAXP serializer) */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/** Factory for StAX writers (JDK implementation, thread-safe after configuration) */
+	private static final XMLOutputFactory outputFactory;
+
+	/** Factory for StAX readers (JDK implementation, thread-safe after configuration) */
+	private static final XMLInputFactory inputFactory;
+
+	static {
+		outputFactory = XMLOutputFactory.newDefaultFactory();
+
+		inputFactory = XMLInputFactory.newDefaultFactory();
+		inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+	}
+
+	/**
+	 * No instances of this class
+	 */
+	private XmlStreamSupport() {
+	}
+
+	/**
+	 * Write the XML declaration to the given output stream and create a StAX writer for the document element
+	 *
+	 * @param outputStream the stream to write to
+	 * @return a StAX writer (must be flushed after writing the document)
+	 * @throws XMLStreamException if the writer cannot be created or the XML declaration cannot be written
+	 */
+	static XMLStreamWriter createWriter(OutputStream outputStream) throws XMLStreamException {
+		try {
+			outputStream.write(XML_DECLARATION.getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+		// The JDK writer passes single bytes to output streams, therefore a buffered character stream is used
+		return outputFactory
+			.createXMLStreamWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE));
+	}
+
+	/**
+	 * Create a StAX reader for the given input stream
+	 *
+	 * @param inputStream the stream to read from
+	 * @return a coalescing StAX reader, which does not support DTDs
+	 * @throws XMLStreamException if the reader cannot be created
+	 */
+	static XMLStreamReader createReader(InputStream inputStream) throws XMLStreamException {
+		return inputFactory.createXMLStreamReader(inputStream);
+	}
+
+	/**
+	 * Create a StAX reader for the given character stream
+	 *
+	 * @param reader the character stream to read from
+	 * @return a coalescing StAX reader, which does not support DTDs
+	 * @throws XMLStreamException if the reader cannot be created
+	 */
+	static XMLStreamReader createReader(Reader reader) throws XMLStreamException {
+		return inputFactory.createXMLStreamReader(reader);
+	}
+
+	/**
+	 * Write an element with text content only, or an empty element, if the text is null or empty
+	 *
+	 * @param writer      the StAX writer to use
+	 * @param elementName the name of the element
+	 * @param text        the text content of the element (may be null)
+	 * @throws XMLStreamException if writing fails
+	 */
+	static void writeTextElement(XMLStreamWriter writer, String elementName, String text) throws XMLStreamException {
+		if (null == text || text.isEmpty()) {
+			writer.writeEmptyElement(elementName);
+		} else {
+			writer.writeStartElement(elementName);
+			writeText(writer, text);
+			writer.writeEndElement();
+		}
+	}
+
+	/**
+	 * Write character data, using character references where the JAXP serializer does so (control characters, C1 control
+	 * characters and supplementary characters); the characters '&amp;', '&lt;' and '&gt;' are escaped by the StAX writer
+	 *
+	 * @param writer the StAX writer to use
+	 * @param text   the character data to write (may be null)
+	 * @throws XMLStreamException if writing fails
+	 */
+	static void writeText(XMLStreamWriter writer, String text) throws XMLStreamException {
+		if (null == text) {
+			return;
+		}
+		int length = text.length();
+		int segmentStart = 0;
+		for (int i = 0; i < length; ++i) {
+			char c = text.charAt(i);
+			int codePoint = -1;
+			if (c == '\n') {
+				if (LINE_SEPARATOR.equals("\n")) {
+					continue;
+				}
+			} else if ((c < 0x20 && c != '\t') || (c >= 0x7F && c <= 0x9F)) {
+				codePoint = c;
+			} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+				codePoint = Character.toCodePoint(c, text.charAt(i + 1));
+			} else {
+				continue;
+			}
+			if (segmentStart < i) {
+				writer.writeCharacters(text.substring(segmentStart, i));
+			}
+			if (0 > codePoint) {
+				writer.writeCharacters(LINE_SEPARATOR);
+			} else {
+				writer.writeEntityRef("#" + codePoint);
+				if (Character.isSupplementaryCodePoint(codePoint)) {
+					++i;
+				}
+			}
+			segmentStart = i + 1;
+		}
+		if (segmentStart < length) {
+			writer.writeCharacters(0 == segmentStart ? text : text.substring(segmentStart));
+		}
+	}
+
+	/**
+	 * Write an attribute of the current element
+	 *
+	 * @param writer the StAX writer to use
+	 * @param name   the attribute name
+	 * @param value  the attribute value (null is written as empty value)
+	 * @throws XMLStreamException if writing fails
+	 */
+	static void writeAttribute(XMLStreamWriter writer, String name, String value) throws XMLStreamException {
+		writer.writeAttribute(name, null == value ? "" : value);
+	}
+
+	/**
+	 * Advance the reader to the next child element of the current element
+	 *
+	 * @param reader the StAX reader positioned inside an element
+	 * @return true, if the reader is positioned at the start of a child element, false, if the end of the current element was
+	 *         reached
+	 * @throws XMLStreamException if reading fails
+	 */
+	static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (XMLStreamConstants.START_ELEMENT == event) {
+				return true;
+			}
+			if (XMLStreamConstants.END_ELEMENT == event) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Read the text content of the current element and all its descendants (like DOM's Node.getTextContent()), leaving the
+	 * reader positioned at the end of the element
+	 *
+	 * @param reader the StAX reader positioned at the start of an element
+	 * @return the text content stripped of leading and trailing white space
+	 * @throws XMLStreamException if reading fails
+	 */
+	static String readTextContent(XMLStreamReader reader) throws XMLStreamException {
+		// Usually there is exactly one text event (the reader is coalescing), so a string builder is only needed for mixed content
+		String text = "";
+		StringBuilder textBuilder = null;
+		int depth = 1;
+		while (0 < depth && reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				++depth;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				--depth;
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				if (text.isEmpty()) {
+					text = reader.getText();
+				} else {
+					if (null == textBuilder) {
+						textBuilder = new StringBuilder(text);
+					}
+					textBuilder.append(reader.getText());
+				}
+				break;
+			default:
+				// Ignore comments and processing instructions
+			}
+		}
+		return (null == textBuilder ? text : textBuilder.toString()).strip();
+	}
+
+	/**
+	 * Skip the current element including all its descendants, leaving the reader positioned at the end of the element
+	 *
+	 * @param reader the StAX reader positioned at the start of an element
+	 * @throws XMLStreamException if reading fails
+	 */
+	static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		while (nextChildElement(reader)) {
+			skipElement(reader);
+		}
+	}
+
+	/**
+	 * Get the value of the attribute with the given name (case-insensitive) of the current element
+	 *
+	 * @param reader        the StAX reader positioned at the start of an element
+	 * @param attributeName the attribute name
+	 * @return the attribute value stripped of leading and trailing white space, or null, if the attribute does not exist
+	 */
+	static String getAttribute(XMLStreamReader reader, String attributeName) {
+		for (int i = 0; i < reader.getAttributeCount(); ++i) {
+			if (reader.getAttributeLocalName(i).equalsIgnoreCase(attributeName)) {
+				return reader.getAttributeValue(i).strip();
+			}
+		}
+		return null;
+	}
+}
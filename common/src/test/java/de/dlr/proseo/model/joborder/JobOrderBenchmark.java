@@ -0,0 +1,133 @@
+/**
+ * JobOrderBenchmark.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.joborder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.dlr.proseo.model.enums.JobOrderVersion;
+
+/**
+ * JMH benchmark comparing the DOM-based and the streaming (StAX) serialization and parsing of Job Orders with different
+ * numbers of input files. Not run as part of the unit tests; to run it, call the main method with the test class path of this
+ * module (add "-prof gc" to the JMH options to compare the allocation rates).
+ *
+ * @author Dr. Thomas Bassler
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JobOrderBenchmark {
+
+	/** The number of input files in the Job Order */
+	@Param({ "100", "5000" })
+	private int inputCount;
+
+	/** The Job Order to write */
+	private JobOrder jobOrder;
+
+	/** The XML representation of the Job Order */
+	private String jobOrderString;
+
+	/**
+	 * Create the Job Order and its XML representation
+	 */
+	@Setup
+	public void setUp() {
+		jobOrder = JobOrderTest.createJobOrder(inputCount);
+		ByteArrayOutputStream jofStream = new ByteArrayOutputStream();
+		jobOrder.writeXMLToStream(jofStream, true, JobOrderVersion.MMFI_1_8);
+		jobOrderString = jofStream.toString(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Write the Job Order using a DOM tree
+	 *
+	 * @return the Job Order as byte array
+	 * @throws Exception if the serialization fails
+	 */
+	@Benchmark
+	public byte[] writeWithDOM() throws Exception {
+		ByteArrayOutputStream jofStream = new ByteArrayOutputStream();
+		JobOrderDomReference.writeXMLToStream(jobOrder, jofStream, true, JobOrderVersion.MMFI_1_8);
+		return jofStream.toByteArray();
+	}
+
+	/**
+	 * Write the Job Order using the StAX writer
+	 *
+	 * @return the Job Order as byte array
+	 */
+	@Benchmark
+	public byte[] writeWithStAX() {
+		ByteArrayOutputStream jofStream = new ByteArrayOutputStream();
+		jobOrder.writeXMLToStream(jofStream, true, JobOrderVersion.MMFI_1_8);
+		return jofStream.toByteArray();
+	}
+
+	/**
+	 * Create the Base64-coded Job Order as sent to the Storage Manager
+	 *
+	 * @return the Base64-coded Job Order
+	 */
+	@Benchmark
+	public String buildBase64String() {
+		return jobOrder.buildBase64String(JobOrderVersion.MMFI_1_8, true);
+	}
+
+	/**
+	 * Parse the Job Order using a DOM tree
+	 *
+	 * @return the Job Order read
+	 * @throws Exception if the parsing fails
+	 */
+	@Benchmark
+	public JobOrder readWithDOM() throws Exception {
+		return JobOrderDomReference.read(jobOrderString);
+	}
+
+	/**
+	 * Parse the Job Order using the StAX reader
+	 *
+	 * @return the Job Order read
+	 */
+	@Benchmark
+	public JobOrder readWithStAX() {
+		return new JobOrder().read(jobOrderString);
+	}
+
+	/**
+	 * Run the benchmark
+	 *
+	 * @param args not used
+	 * @throws RunnerException if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder().include(JobOrderBenchmark.class.getSimpleName()).build();
+		new Runner(options).run();
+	}
+
+}
@@ -0,0 +1,110 @@
+/**
+ * JobOrderDomReference.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.joborder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import de.dlr.proseo.model.enums.JobOrderVersion;
+
+/**
+ * DOM-based serialization and parsing of Job Orders as used before the introduction of the streaming (StAX) variants in
+ * JobOrder; reference implementation for tests and benchmarks only
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class JobOrderDomReference {
+
+	/**
+	 * Write the content of a Job Order to an XML-formatted output stream by building a DOM tree first
+	 *
+	 * @param jobOrder         the Job Order to write
+	 * @param aStream          the stream to write to
+	 * @param prosEOAttributes if true, write attributes of prosEO specific data
+	 * @param jobOrderVersion  the Job Order file specification version to apply
+	 * @throws ParserConfigurationException if the document builder cannot be created
+	 * @throws TransformerException         if the DOM tree cannot be written to the stream
+	 */
+	public static void writeXMLToStream(JobOrder jobOrder, OutputStream aStream, Boolean prosEOAttributes,
+			JobOrderVersion jobOrderVersion) throws ParserConfigurationException, TransformerException {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		Element rootElement = doc.createElement("Ipf_Job_Order");
+		doc.appendChild(rootElement);
+		jobOrder.getConf().buildXML(doc, rootElement, jobOrderVersion, prosEOAttributes);
+		Element listEle = doc.createElement("List_of_Ipf_Procs");
+		Attr attr = doc.createAttribute("count");
+		attr.setValue(Integer.toString(jobOrder.getListOfProcs().size()));
+		listEle.setAttributeNode(attr);
+		rootElement.appendChild(listEle);
+
+		for (Proc item : jobOrder.getListOfProcs()) {
+			item.buildXML(doc, listEle, prosEOAttributes);
+		}
+
+		TransformerFactory.newInstance().newTransformer().transform(new DOMSource(doc), new StreamResult(aStream));
+	}
+
+	/**
+	 * Read a Job Order from an XML-formatted string by parsing it into a DOM tree first
+	 *
+	 * @param jobOrderString the XML-formatted Job Order File
+	 * @return a new Job Order object filled from the string
+	 * @throws ParserConfigurationException if the document builder cannot be created
+	 * @throws SAXException                 if the string cannot be parsed
+	 * @throws IOException                  if the string cannot be read
+	 */
+	public static JobOrder read(String jobOrderString) throws ParserConfigurationException, SAXException, IOException {
+		JobOrder jobOrder = new JobOrder();
+		Document jobOrderDoc = DocumentBuilderFactory.newInstance()
+			.newDocumentBuilder()
+			.parse(new InputSource(new StringReader(jobOrderString)));
+
+		Node ele = jobOrderDoc.getDocumentElement();
+		while (ele != null) {
+			if (ele.getNodeName().equalsIgnoreCase("Ipf_Job_Order")) {
+				jobOrder.setConf(null);
+				// read conf and proc
+				Node child = ele.getFirstChild();
+				while (child != null) {
+					if (child.getNodeName().equalsIgnoreCase("Ipf_Conf")) {
+						Conf conf = new Conf();
+						conf.read(child);
+						jobOrder.setConf(conf);
+					} else if (child.getNodeName().equalsIgnoreCase("List_of_Ipf_Procs")) {
+						Node procNode = child.getFirstChild();
+						while (procNode != null) {
+							if (procNode.getNodeName().equalsIgnoreCase("Ipf_Proc")) {
+								Proc proc = new Proc();
+								proc.read(procNode);
+								jobOrder.getListOfProcs().add(proc);
+							}
+							procNode = procNode.getNextSibling();
+						}
+					}
+					child = child.getNextSibling();
+				}
+			}
+			ele = ele.getNextSibling();
+		}
+		return jobOrder;
+	}
+
+}
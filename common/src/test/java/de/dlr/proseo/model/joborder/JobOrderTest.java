@@ -1,8 +1,11 @@
 package de.dlr.proseo.model.joborder;
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Base64;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -171,4 +174,79 @@ public class JobOrderTest {
 		
 	}
 
+	/**
+	 * Create a Job Order with the given number of input files, including some characters requiring escaping
+	 * 
+	 * @param inputCount the number of input files
+	 * @return a Job Order
+	 */
+	/* package */ static JobOrder createJobOrder(int inputCount) {
+		Conf co = new Conf("Hugo & Sons <Test>", "0.0", "INFO", "WARNING", "false", "false", "PDGS-NP", "");
+		co.setSensingTime(new SensingTime("20201001_101112123456", "20201001_111213234567"));
+		co.getDynamicProcessingParameters().add(new ProcessingParameter("quoted", "\"a\" > 'b'\tc\r\nd"));
+		co.getDynamicProcessingParameters().add(new ProcessingParameter("unicode", "äöü € \u0085 \uD83D\uDE00"));
+		co.getDynamicProcessingParameters().add(new ProcessingParameter("empty", ""));
+		JobOrder jo = new JobOrder(co);
+
+		Proc pr = new Proc("ProcTaskName1", "01.02.03");
+		InputOutput io = new InputOutput("L0_______", InputOutput.FN_TYPE_PHYSICAL, InputOutput.IO_TYPE_INPUT, "4711");
+		for (int i = 0; i < inputCount; ++i) {
+			io.getFileNames().add(new IpfFileName(String.format("/mnt/data/L0/S5P_OPER_L0__ODB_1__20201001T%06d_%06d.nc", i, i + 1),
+					i % 2 == 0 ? "POSIX" : "S3 \"bucket\" & <key>"));
+			io.getTimeIntervals().add(new TimeInterval("20201001_101112123456", "20201001_101213234567",
+					String.format("S5P_OPER_L0__ODB_1__20201001T%06d_%06d.nc", i, i + 1)));
+		}
+		pr.getListOfInputs().add(io);
+		pr.getListOfInputs().add(new InputOutput("AUX_EMPTY", InputOutput.FN_TYPE_PHYSICAL, InputOutput.IO_TYPE_INPUT, null));
+		io = new InputOutput("L1B______", InputOutput.FN_TYPE_DIRECTORY, InputOutput.IO_TYPE_OUTPUT, "567");
+		io.getFileNames().add(new IpfFileName("myOutDir"));
+		pr.getListOfOutputs().add(io);
+		jo.getListOfProcs().add(pr);
+		jo.getListOfProcs().add(new Proc("ProcTaskName2", null));
+		return jo;
+	}
+
+	/**
+	 * Test that the streaming serialization produces the same output as the DOM-based serialization, and that the streaming
+	 * parser yields the same Job Order as the DOM-based parser
+	 *
+	 * @throws Exception if the DOM-based serialization or parsing fails
+	 */
+	@Test
+	public void testStreamingEquivalence() throws Exception {
+		JobOrder jo = createJobOrder(50);
+
+		for (JobOrderVersion joVersion : Arrays.asList(JobOrderVersion.MMFI_1_8, JobOrderVersion.GMES_1_1)) {
+			for (Boolean prosEOAttributes : Arrays.asList(true, false)) {
+				ByteArrayOutputStream domStream = new ByteArrayOutputStream();
+				JobOrderDomReference.writeXMLToStream(jo, domStream, prosEOAttributes, joVersion);
+				ByteArrayOutputStream staxStream = new ByteArrayOutputStream();
+				assertTrue(jo.writeXMLToStream(staxStream, prosEOAttributes, joVersion));
+				assertEquals("Output differs for version " + joVersion + ", prosEO attributes " + prosEOAttributes,
+						domStream.toString(StandardCharsets.UTF_8), staxStream.toString(StandardCharsets.UTF_8));
+				assertArrayEquals(domStream.toByteArray(), staxStream.toByteArray());
+
+				// Read back with both parsers and compare the serializations of the results
+				JobOrder domCopy = JobOrderDomReference.read(domStream.toString(StandardCharsets.UTF_8));
+				JobOrder staxCopy = new JobOrder().read(new ByteArrayInputStream(staxStream.toByteArray()));
+				assertNotNull(staxCopy);
+				ByteArrayOutputStream domCopyStream = new ByteArrayOutputStream();
+				domCopy.writeXMLToStream(domCopyStream, prosEOAttributes, joVersion);
+				ByteArrayOutputStream staxCopyStream = new ByteArrayOutputStream();
+				staxCopy.writeXMLToStream(staxCopyStream, prosEOAttributes, joVersion);
+				assertEquals(domCopyStream.toString(StandardCharsets.UTF_8), staxCopyStream.toString(StandardCharsets.UTF_8));
+				assertEquals(50, staxCopy.getListOfProcs().get(0).getListOfInputs().get(0).getFileNames().size());
+			}
+		}
+
+		// Base64 encoding on the fly
+		String b64String = jo.buildBase64String(JobOrderVersion.MMFI_1_8, true);
+		ByteArrayOutputStream domStream = new ByteArrayOutputStream();
+		JobOrderDomReference.writeXMLToStream(jo, domStream, true, JobOrderVersion.MMFI_1_8);
+		assertEquals(Base64.getEncoder().encodeToString(domStream.toByteArray()), b64String);
+
+		// Unparseable input
+		assertNull(new JobOrder().read("<?xml version=\"1.0\"?><Ipf_Job_Order><Ipf_Conf></Ipf_Job_Order>"));
+	}
+
 }
@@ -21,6 +21,7 @@ import de.dlr.proseo.facmgr.rest.model.RestProcessingFacility;
 import de.dlr.proseo.logging.http.HttpPrefix;
 import de.dlr.proseo.logging.http.ProseoHttp;
 import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.model.util.VersionedResponseCache;
 
 /**
  * Spring MVC controller for the prosEO Facility Manager; implements the
@@ -39,6 +40,12 @@ public class FacmgrControllerImpl implements FacilityController {
 	@Autowired
 	private FacmgrManager procFacilityManager;
 
+	/** Maximum number of cached facility responses */
+	private static final int RESPONSE_CACHE_SIZE = 50;
+
+	/** Cache for facility responses (validated against the facility versions) */
+	private final VersionedResponseCache responseCache = new VersionedResponseCache(RESPONSE_CACHE_SIZE);
+
 	/**
 	 * Create a facility from the given Json object
 	 *
@@ -54,7 +61,9 @@ public class FacmgrControllerImpl implements FacilityController {
 			logger.trace(">>> createFacility({})", (null == restFacility ? "MISSING" : restFacility.getName()));
 
 		try {
-			return new ResponseEntity<>(procFacilityManager.createFacility(restFacility), HttpStatus.CREATED);
+			RestProcessingFacility createdFacility = procFacilityManager.createFacility(restFacility);
+			responseCache.invalidate();
+			return new ResponseEntity<>(createdFacility, HttpStatus.CREATED);
 		} catch (IllegalArgumentException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.BAD_REQUEST);
 		}
@@ -74,7 +83,8 @@ public class FacmgrControllerImpl implements FacilityController {
 			logger.trace(">>> getFacilities( {})", name);
 
 		try {
-			return new ResponseEntity<>(procFacilityManager.getFacility(name), HttpStatus.OK);
+			return responseCache.getResponse("facilities|" + name, procFacilityManager.getVersionTag(),
+					VersionedResponseCache.getIfNoneMatch(), () -> procFacilityManager.getFacility(name));
 		} catch (NoResultException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
 		}
@@ -94,7 +104,8 @@ public class FacmgrControllerImpl implements FacilityController {
 			logger.trace(">>> getFacilityById({})", id);
 
 		try {
-			return new ResponseEntity<>(procFacilityManager.getFacilityById(id), HttpStatus.OK);
+			return responseCache.getResponse("facility|" + id, procFacilityManager.getVersionTag(),
+					VersionedResponseCache.getIfNoneMatch(), () -> procFacilityManager.getFacilityById(id));
 		} catch (IllegalArgumentException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.BAD_REQUEST);
 		} catch (NoResultException e) {
@@ -118,6 +129,7 @@ public class FacmgrControllerImpl implements FacilityController {
 
 		try {
 			procFacilityManager.deleteFacilityById(id);
+			responseCache.invalidate();
 			return new ResponseEntity<>(new HttpHeaders(), HttpStatus.NO_CONTENT);
 		} catch (EntityNotFoundException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
@@ -149,6 +161,7 @@ public class FacmgrControllerImpl implements FacilityController {
 
 		try {
 			RestProcessingFacility changedFacility = procFacilityManager.modifyFacility(id, restFacility);
+			responseCache.invalidate();
 			HttpStatus httpStatus = (restFacility.getVersion() == changedFacility.getVersion() ? HttpStatus.NOT_MODIFIED
 					: HttpStatus.OK);
 			return new ResponseEntity<>(changedFacility, httpStatus);
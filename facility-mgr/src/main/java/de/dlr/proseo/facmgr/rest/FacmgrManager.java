@@ -28,6 +28,7 @@ import de.dlr.proseo.logging.messages.GeneralMessage;
 import de.dlr.proseo.model.ProcessingFacility;
 import de.dlr.proseo.model.enums.FacilityState;
 import de.dlr.proseo.model.service.RepositoryService;
+import de.dlr.proseo.model.util.VersionedResponseCache;
 
 /**
  * Service methods required to create, modify and delete processing facility in the prosEO database, and to query the database about
@@ -46,6 +47,16 @@ public class FacmgrManager {
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(FacmgrManager.class);
 
+	/**
+	 * Get the state of the processing facility table for validating cached responses
+	 * 
+	 * @return a version tag, which changes with any modification of processing facilities
+	 */
+	@Transactional(isolation = Isolation.REPEATABLE_READ, readOnly = true)
+	public String getVersionTag() {
+		return VersionedResponseCache.queryVersionTag(em, ProcessingFacility.class);
+	}
+
 	/**
 	 * Create a processing facility with the specified attributes in the database.
 	 * 
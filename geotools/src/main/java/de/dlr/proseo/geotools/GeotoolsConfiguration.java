@@ -22,6 +22,11 @@ public class GeotoolsConfiguration {
 	 */
 	private List<Shapefile> shapefiles;
 
+	/**
+	 * Minimum interval between checks for modified shape files in milliseconds (0 disables the check)
+	 */
+	private Long fileCheckInterval = 60000L;
+
 	/**
 	 * @return the shape files
 	 */
@@ -38,6 +43,22 @@ public class GeotoolsConfiguration {
 		this.shapefiles = shapefiles;
 	}
 
+	/**
+	 * @return the minimum interval between checks for modified shape files in milliseconds
+	 */
+	public Long getFileCheckInterval() {
+		return fileCheckInterval;
+	}
+
+	/**
+	 * Set the minimum interval between checks for modified shape files
+	 *
+	 * @param fileCheckInterval the interval in milliseconds (0 disables the check)
+	 */
+	public void setFileCheckInterval(Long fileCheckInterval) {
+		this.fileCheckInterval = fileCheckInterval;
+	}
+
 	/** Representation shape file with all attributes needed in this context */
 	public static class Shapefile {
 		/** The file type */
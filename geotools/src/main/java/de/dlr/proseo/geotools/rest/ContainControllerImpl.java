@@ -6,6 +6,7 @@
 package de.dlr.proseo.geotools.rest;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -174,4 +175,44 @@ public class ContainControllerImpl implements ContainController {
 		// If no polygon was given or the given polygon contains no points
 		return new ResponseEntity<>(http.errorHeaders(logger.log(GeotoolsMessage.REST_POLYGON_MISSING)), HttpStatus.BAD_REQUEST);
 	}
+
+	/**
+	 * Checks for each of the given areas whether it is contained in at least one of the
+	 * provided regions. If none are given, all available region types will be
+	 * considered. Areas consisting of a single point are checked for containment
+	 * of the point.
+	 *
+	 * @param type        String array used to determine which regions (specified
+	 *                    in application.yml) to check. If the array parameter is
+	 *                    null or empty, all available region types will be
+	 *                    considered
+	 * @param restPolygon list of RestPolygons describing the areas to be compared
+	 *                    to a number of specified regions
+	 * @return HttpStatus 200 and a list with the check result for each area (in
+	 *         the order of the request) OR HttpStatus 400 and an error message if
+	 *         the input was invalid OR HttpStatus 500 and an error message if the
+	 *         input was valid but the implementation is pending or a problem
+	 *         occurred while trying to process a shape file
+	 */
+	@Override
+	public ResponseEntity<List<Boolean>> containsbatch(String[] type, List<RestPolygon> restPolygon) {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> containsbatch({}, RestPolygon[{}])", type, (null == restPolygon ? "null" : restPolygon.size()));
+
+		if (null == restPolygon) {
+			return new ResponseEntity<>(http.errorHeaders(logger.log(GeotoolsMessage.REST_POLYGON_MISSING)), HttpStatus.BAD_REQUEST);
+		}
+
+		try {
+			return new ResponseEntity<>(geotools.arePolysInside(restPolygon, type), HttpStatus.OK);
+		} catch (UnsupportedOperationException e) {
+			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.BAD_REQUEST);
+		} catch (IOException e) {
+			return new ResponseEntity<>(http.errorHeaders(e.getClass().getName() + " / " + e.getMessage()),
+					HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
 }
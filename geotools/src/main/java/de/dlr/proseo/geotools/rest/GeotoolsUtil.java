@@ -12,17 +12,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.geotools.data.simple.SimpleFeatureCollection;
-import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.geometry.jts.JTSFactoryFinder;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
-import org.locationtech.jts.io.ParseException;
-import org.locationtech.jts.io.WKTReader;
-import org.geotools.api.feature.simple.SimpleFeature;
-import org.geotools.api.filter.Filter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import de.dlr.proseo.geotools.GeotoolsConfiguration;
@@ -43,88 +41,168 @@ public class GeotoolsUtil {
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(GeotoolsUtil.class);
 
+	/** Geometry factory for the geometries to check */
+	private static GeometryFactory geometryFactory = JTSFactoryFinder.getGeometryFactory();
+
 	/** Geotools configuration */
 	@Autowired
 	GeotoolsConfiguration geotoolsConfig;
 
 	/**
 	 * A map holding the defined region types/names as keys and the ShpFile(s) for
-	 * each region as values
+	 * each region as values (replaced as a whole when the shape files are reloaded)
 	 */
-	private Map<String, List<ShpFile>> shapeMap = null;
+	private volatile Map<String, List<ShpFile>> shapeMap = null;
 
 	/** Tracks whether the shape files are initialized */
-	private Boolean initialized = false;
+	private volatile Boolean initialized = false;
+
+	/** Time of the last check for modified shape files (milliseconds since the epoch) */
+	private volatile long lastFileCheck = 0;
 
 	/**
-	 * Adds a shape file to the shapeMap for the given region type
+	 * Adds a shape file to the given shape map for the given region type
 	 *
+	 * @param map  the shape map to add the file to
 	 * @param shp  the shape file to add
 	 * @param type the type of the shape file (region name)
 	 */
-	private void addShapeFile(ShpFile shp, String type) {
+	private void addShapeFile(Map<String, List<ShpFile>> map, ShpFile shp, String type) {
 		if (shp != null) {
-			List<ShpFile> shps = shapeMap.get(type);
+			List<ShpFile> shps = map.get(type);
 			if (shps == null) {
-				shapeMap.put(type, new ArrayList<ShpFile>());
+				map.put(type, new ArrayList<ShpFile>());
 			}
-			shapeMap.get(type).add(shp);
+			map.get(type).add(shp);
+		}
+	}
+
+	/**
+	 * Read and initialize the shape files, including their spatial indexes, at
+	 * application startup, so the first requests need not wait for it
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void initOnStartup() {
+		try {
+			init();
+		} catch (UnsupportedOperationException | IllegalArgumentException | IOException e) {
+			// Retried on the first request, which will report the error to the caller
+			logger.log(GeotoolsMessage.SHAPE_FILE_INIT_FAILED, e.getMessage());
 		}
 	}
 
 	/**
-	 * Read and initialize the shape files at first call
+	 * Read and initialize the shape files at first call, and reload them if any of
+	 * the files was modified (checked at most once per configured file check
+	 * interval)
 	 *
 	 * @throws IOExeption if a shape file could not be opened or created
 	 */
 	private void init() throws IOException {
 
-		logger.trace(">>> init()");
+		if (initialized && !isFileCheckDue()) {
+			return;
+		}
 
-		if (!initialized) {
+		synchronized (this) {
 
-			logger.trace("... initializing shape files");
+			if (!initialized) {
 
-			if (shapeMap == null) {
-				shapeMap = new HashMap<>();
-			}
+				logger.trace("... initializing shape files");
 
-			if (geotoolsConfig.getShapefiles() != null) {
-
-				// If shape files are configured, open and initialize them
-
-				for (Shapefile sf : geotoolsConfig.getShapefiles()) {
-					ShpFile shpFile = new ShpFile();
-
-					try {
-						shpFile = shpFile.openFileAndCreate(sf.getPath(), sf.getType());
-					} catch (UnsupportedOperationException e) {
-						// if a valid, but not yet handled file type was given
-						// to be handled at a higher level
-						throw e;
-					} catch (IllegalArgumentException e) {
-						// if an invalid file type was given
-						// to be handled at a higher level
-						throw e;
-					} catch (IOException e) {
-						// if the shape file could not be opened or created successfully
-						// to be handled at a higher level
-						throw e;
-					}
+				shapeMap = loadShapeFiles();
+				lastFileCheck = System.currentTimeMillis();
+				initialized = true;
 
-					try {
-						logger.trace("... shape file {} has bounds:\n{}", shpFile.getFilename(), shpFile.getSource().getBounds());
-					} catch (IOException e) {
-						logger.log(GeotoolsMessage.BOUNDS_IO_SHAPE_FILE, shpFile.getFilename(), e);
-					}
+			} else if (isFileCheckDue()) {
+
+				lastFileCheck = System.currentTimeMillis();
 
-					addShapeFile(shpFile, sf.getShapeType());
-					logger.log(GeotoolsMessage.SHAPE_FILE_INITIALIZED, sf.getPath(), sf.getShapeType());
+				// Reload all shape files, if any of them was modified
+				Map<String, List<ShpFile>> oldShapeMap = shapeMap;
+				for (List<ShpFile> files : oldShapeMap.values()) {
+					for (ShpFile file : files) {
+						if (file.isModified()) {
+							logger.log(GeotoolsMessage.SHAPE_FILE_CHANGED, file.getFilename());
+							try {
+								shapeMap = loadShapeFiles();
+							} catch (UnsupportedOperationException | IllegalArgumentException | IOException e) {
+								// Continue with the previous shape files and retry at the next check
+								logger.log(GeotoolsMessage.SHAPE_FILE_INIT_FAILED, e.getMessage());
+								return;
+							}
+							oldShapeMap.values().forEach(oldFiles -> oldFiles.forEach(ShpFile::dispose));
+							return;
+						}
+					}
 				}
 			}
+		}
+	}
+
+	/**
+	 * Checks whether a check for modified shape files is due
+	 *
+	 * @return true, if the configured file check interval has elapsed since the
+	 *         last check, false otherwise or if file checks are disabled
+	 */
+	private boolean isFileCheckDue() {
+		Long fileCheckInterval = geotoolsConfig.getFileCheckInterval();
+		return null != fileCheckInterval && 0 < fileCheckInterval
+				&& System.currentTimeMillis() - lastFileCheck >= fileCheckInterval;
+	}
 
-			initialized = true;
+	/**
+	 * Open the configured shape files and create their spatial indexes
+	 *
+	 * @return a map holding the region types as keys and the shape files for each
+	 *         region as values
+	 * @throws UnsupportedOperationException if a valid, but not yet handled file
+	 *                                       type was given
+	 * @throws IllegalArgumentException      if an invalid file type was given
+	 * @throws IOException                   if a shape file could not be opened or
+	 *                                       created successfully
+	 */
+	private Map<String, List<ShpFile>> loadShapeFiles()
+			throws UnsupportedOperationException, IllegalArgumentException, IOException {
+
+		Map<String, List<ShpFile>> newShapeMap = new HashMap<>();
+
+		if (geotoolsConfig.getShapefiles() != null) {
+
+			// If shape files are configured, open and initialize them
+
+			for (Shapefile sf : geotoolsConfig.getShapefiles()) {
+				ShpFile shpFile = new ShpFile();
+
+				try {
+					shpFile = shpFile.openFileAndCreate(sf.getPath(), sf.getType());
+				} catch (UnsupportedOperationException e) {
+					// if a valid, but not yet handled file type was given
+					// to be handled at a higher level
+					throw e;
+				} catch (IllegalArgumentException e) {
+					// if an invalid file type was given
+					// to be handled at a higher level
+					throw e;
+				} catch (IOException e) {
+					// if the shape file could not be opened or created successfully
+					// to be handled at a higher level
+					throw e;
+				}
+
+				try {
+					logger.trace("... shape file {} has bounds:\n{}", shpFile.getFilename(), shpFile.getSource().getBounds());
+				} catch (IOException e) {
+					logger.log(GeotoolsMessage.BOUNDS_IO_SHAPE_FILE, shpFile.getFilename(), e);
+				}
+
+				addShapeFile(newShapeMap, shpFile, sf.getShapeType());
+				logger.log(GeotoolsMessage.SHAPE_FILE_INITIALIZED, sf.getPath(), sf.getShapeType());
+			}
 		}
+
+		return newShapeMap;
 	}
 
 	/**
@@ -258,42 +336,20 @@ public class GeotoolsUtil {
 
 	/**
 	 * Checks whether the geographical point defined by latitude and longitude is
-	 * contained in the region described by the provided shpFile
+	 * contained in the region described by the provided shpFile, using the
+	 * spatial index of the shape file
 	 *
 	 * @param latitude  a Double describing the latitude of the coordinate
 	 * @param longitude a Double describing the longitude of the coordinate
 	 * @param shpFile   the shape file against which to compare the coordinate
 	 * @return true if the geographical point defined by latitude and longitude is
 	 *         contained in the region described by the provided shpFile
-	 * @throws UnsupportedOperationException if a valid, but not yet handled file
-	 *                                       type was given
-	 * @throws IllegalArgumentException      if an invalid file type was given or
-	 *                                       either input is missing
-	 * @throws IOException                   if the shape file could not be opened
-	 *                                       created successfully
-	 *
+	 * @throws IllegalArgumentException if either input is missing
 	 */
-	public Boolean isPointInside(Double latitude, Double longitude, ShpFile shpFile)
-			throws UnsupportedOperationException, IllegalArgumentException, IOException {
+	public Boolean isPointInside(Double latitude, Double longitude, ShpFile shpFile) throws IllegalArgumentException {
 
-		logger.trace(">>> isPointInside({}, {}, {})", latitude, longitude, (null == shpFile ? "null" : shpFile.getFilename()));
-
-		// Ensure shape map is initialized
-		try {
-			init();
-		} catch (UnsupportedOperationException e) {
-			// if a valid, but not yet handled file type was given
-			// to be handled at a higher level
-			throw e;
-		} catch (IllegalArgumentException e) {
-			// if an invalid file type was given
-			// to be handled at a higher level
-			throw e;
-		} catch (IOException e) {
-			// if the shape file could not be opened or created successfully
-			// to be handled at a higher level
-			throw e;
-		}
+		if (logger.isTraceEnabled())
+			logger.trace(">>> isPointInside({}, {}, {})", latitude, longitude, (null == shpFile ? "null" : shpFile.getFilename()));
 
 		// Check arguments
 		if (null == latitude)
@@ -304,28 +360,10 @@ public class GeotoolsUtil {
 			throw new IllegalArgumentException(logger.log(GeotoolsMessage.ARGUMENT_MISSING, "shape file"));
 
 		// Create a Point object using the provided longitude and latitude coordinates
-		// and a filter to check if the point is contained within the region described
-		// by the shape file
+		// and check whether any of the geometries of the shape file contains it
 		Point point = shpFile.getGeometry().createPoint(new Coordinate(longitude, latitude));
-		Filter containFilter = shpFile.getFilter()
-			.contains(shpFile.getFilter().property("the_geom"), shpFile.getFilter().literal(point));
-
-		try {
-			// Get the geographical features from the shape file that satisfy the filter. If
-			// there are any features (points, lines, polygons, etc.) that satisfy it, the
-			// given point is inside the region described by the shape file.
-			SimpleFeatureCollection features = shpFile.getSource().getFeatures(containFilter);
 
-			if (features.size() > 0) {
-				return true;
-			}
-		} catch (IOException e) {
-			// if the shape file could not be opened successfully
-			// to be handled at a higher level
-			throw e;
-		}
-
-		return false;
+		return shpFile.getIndex().contains(point);
 	}
 
 	/**
@@ -420,135 +458,60 @@ public class GeotoolsUtil {
 	 * @param shpFile a ShpFile forming a region to check if the polygon is inside
 	 * @return true if poly is inside the region, false otherwise
 	 *
-	 * @throws UnsupportedOperationException if a valid, but not yet handled file
-	 *                                       type was given
-	 * @throws IllegalArgumentException      if no file or an invalid file type were
-	 *                                       given
-	 * @throws IOException                   if the shape file could not be opened
-	 *                                       created successfully
-	 *
+	 * @throws IllegalArgumentException if no file was given or the coordinates do
+	 *                                  not form a polygon
 	 */
-	private Boolean isPolyInside(List<Coordinate> coords, ShpFile shpFile)
-			throws UnsupportedOperationException, IllegalArgumentException, IOException {
+	/* package */ Boolean isPolyInside(List<Coordinate> coords, ShpFile shpFile) throws IllegalArgumentException {
 
-		logger.trace(">>> isPolyInside({}, {})", coords, (null == shpFile ? "null" : shpFile.getFilename()));
+		if (logger.isTraceEnabled())
+			logger.trace(">>> isPolyInside({}, {})", coords, (null == shpFile ? "null" : shpFile.getFilename()));
 
 		if (null == shpFile) {
 			throw new IllegalArgumentException(logger.log(GeotoolsMessage.ARGUMENT_MISSING, "shpFile"));
 		}
 
-		logger.trace("... shape file {} has bounds:\n{}", shpFile.getFilename(), shpFile.getSource().getBounds());
+		Polygon poly = shpFile.getGeometry().createPolygon(coords.toArray(new Coordinate[coords.size()]));
 
-		// Ensure shape map is initialized
-		try {
-			init();
-		} catch (UnsupportedOperationException e) {
-			// if a valid, but not yet handled file type was given
-			// to be handled at a higher level
-			throw e;
-		} catch (IllegalArgumentException e) {
-			// if an invalid file type was given
-			// to be handled at a higher level
-			throw e;
-		} catch (IOException e) {
-			// if the shape file could not be opened or created successfully
-			// to be handled at a higher level
-			throw e;
+		if (containsPolygon(poly, shpFile)) {
+			return true;
 		}
 
-		// TODO leave this out, it is certain to be executed by the calling method
-		Polygon poly = shpFile.getGeometry().createPolygon(coords.toArray(new Coordinate[coords.size()]));
-
-		logger.trace("... created polygon {}", poly);
+		logger.log(GeotoolsMessage.POLYGON_NOT_INSIDE_AREAS, poly, shpFile.getFilename());
+		return false;
+	}
 
-		// Create a filter to check if the polygon is contained within the region
-		// described by the shape file
-		Filter containFilter = shpFile.getFilter()
-			.contains(shpFile.getFilter().property("the_geom"), shpFile.getFilter().literal(poly));
+	/**
+	 * Checks whether the polygon is contained in the region described by the shape
+	 * file, using the spatial index of the shape file
+	 *
+	 * @param poly    the polygon to check
+	 * @param shpFile the shape file forming the region
+	 * @return true if poly is inside the region, false otherwise
+	 */
+	private boolean containsPolygon(Polygon poly, ShpFile shpFile) {
 
-		try {
-			// Get the features from the shape file that satisfy the provided filter
-			SimpleFeatureCollection features = shpFile.getSource().getFeatures(containFilter);
+		ShapeIndex index = shpFile.getIndex();
 
-			logger.trace("... found contain features {}", features.toArray());
+		if (index.contains(poly)) {
+			return true;
+		}
 
-			if (features.size() > 0) {
-				// If features were found, return true
+		// The polygon is also inside, if the union of its differences to the
+		// overlapping geometries equals the polygon
+		List<Geometry> overlapping = index.getOverlapping(poly);
+		if (!overlapping.isEmpty()) {
+			Geometry differenceUnion = null;
+			for (Geometry geo : overlapping) {
+				Geometry difference = poly.difference(geo);
+				differenceUnion = (null == differenceUnion ? difference : difference.union(differenceUnion));
+			}
+			if (differenceUnion.equalsTopo(poly)) {
+				if (logger.isTraceEnabled())
+					logger.trace("... union of overlap {} equals poly {}", differenceUnion, poly);
 				return true;
-			} else {
-				/*
-				 * Even though the polygon might not be fully contained within the region
-				 * described by the shape file, the union of the modified geometries (obtained
-				 * from overlapping features) can still result in a geometry that matches the
-				 * original polygon. This happens when the overlapping features cover parts of
-				 * the polygon that are outside the region described by the shape file,
-				 * resulting in a modified geometry that, when combined, restores the original
-				 * shape of the polygon.
-				 */
-
-				// If no features were found, create a new filter for checking overlaps
-				containFilter = shpFile.getFilter()
-					.overlaps(shpFile.getFilter().property("the_geom"), shpFile.getFilter().literal(poly));
-
-				// Get the features from the shape file that satisfy the overlap filter
-				features = shpFile.getSource().getFeatures(containFilter);
-
-				logger.trace("... found overlap features {}", features.toArray());
-
-				if (features.size() > 0) {
-					final WKTReader wktReader = new WKTReader(shpFile.getGeometry());
-
-					SimpleFeature sf = null;
-
-					Geometry geo = null;
-					Geometry geo1 = null;
-					Geometry geo2 = null;
-
-					try (SimpleFeatureIterator it = features.features()) {
-						while (it.hasNext()) {
-
-							sf = it.next();
-
-							try {
-								// Read the geometry from the feature's attribute as a Well-Known Text (WKT)
-								// representation
-								geo = wktReader.read(sf.getAttribute("the_geom").toString());
-
-								// Calculate the difference between the 'poly' and the read geometry
-								geo1 = poly.difference(geo);
-
-								// TODO There is no scenario where geo2 does not evaluate to null. Please check!
-								if (geo2 == null) {
-									geo2 = geo1;
-								} else {
-									// Union the difference geometries
-									geo2 = geo1.union(geo2);
-								}
-
-							} catch (ParseException e) {
-								// If there's an error parsing the geometry (not expected), print the stack
-								// trace
-								if (logger.isDebugEnabled()) {
-					logger.debug("An exception occurred. Cause: ", e);
-				}
-							}
-						}
-					}
-
-					if (geo2.equalsTopo(poly)) {
-
-						logger.trace("... union of overlap {} equals poly {}", geo2, poly);
-
-						// Check if the union of the overlap geometries equals the 'poly'
-						return true;
-					}
-				}
 			}
-		} catch (IOException e) {
-			throw e;
 		}
 
-		logger.log(GeotoolsMessage.POLYGON_NOT_INSIDE_AREAS, poly, shpFile.getFilename());
 		return false;
 	}
 
@@ -634,65 +597,183 @@ public class GeotoolsUtil {
 	 * @param coords  a list of Coordinates forming a polygon
 	 * @param shpFile a ShpFile forming a region to check if the polygon is inside
 	 * @return true if the polygon overlaps the region, false otherwise
+	 * @throws IllegalArgumentException if the coordinates do not form a polygon
+	 */
+	/* package */ Boolean isPolyOverlap(List<Coordinate> coords, ShpFile shpFile) throws IllegalArgumentException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> isPolyOverlap({}, {})", coords, (null == shpFile ? "null" : shpFile.getFilename()));
+
+		// Create a polygon from the provided coordinates
+		Polygon poly = shpFile.getGeometry().createPolygon(coords.toArray(new Coordinate[coords.size()]));
+
+		return overlapsPolygon(poly, shpFile);
+	}
+
+	/**
+	 * Checks whether the polygon overlaps or is contained in the region described
+	 * by the shape file, using the spatial index of the shape file
+	 *
+	 * @param poly    the polygon to check
+	 * @param shpFile the shape file forming the region
+	 * @return true if the polygon overlaps the region, false otherwise
+	 */
+	private boolean overlapsPolygon(Polygon poly, ShpFile shpFile) {
+		ShapeIndex index = shpFile.getIndex();
+		return index.overlaps(poly) || index.contains(poly);
+	}
+
+	/**
+	 * Checks for each of the given polygons whether it is contained in one or more
+	 * of the region types. Polygons consisting of a single point are checked as
+	 * points. All available region types will be checked if none were specified.
+	 *
+	 * @param polys the polygons to check
+	 * @param types the region types to check against (all known region types, if
+	 *              null or empty)
+	 * @return a list with the check result for each polygon (in the same order)
 	 * @throws UnsupportedOperationException if a valid, but not yet handled file
 	 *                                       type was given
-	 * @throws IllegalArgumentException      if an invalid file type was given
+	 * @throws IllegalArgumentException      if an invalid region type was given or
+	 *                                       any of the polygons is invalid
 	 * @throws IOException                   if the shape file could not be opened
 	 *                                       created successfully
 	 */
-	private Boolean isPolyOverlap(List<Coordinate> coords, ShpFile shpFile)
+	public List<Boolean> arePolysInside(List<RestPolygon> polys, String[] types)
 			throws UnsupportedOperationException, IllegalArgumentException, IOException {
-		logger.trace(">>> isPolyOverlap({}, {})", coords.toString(), shpFile);
+		if (logger.isTraceEnabled())
+			logger.trace(">>> arePolysInside(RestPolygon[{}], {})", (null == polys ? "null" : polys.size()), types);
 
-		// Ensure shape map is initialized
-		try {
-			init();
-		} catch (UnsupportedOperationException e) {
-			// if a valid, but not yet handled file type was given
-			// to be handled at a higher level
-			throw e;
-		} catch (IllegalArgumentException e) {
-			// if an invalid file type was given
-			// to be handled at a higher level
-			throw e;
-		} catch (IOException e) {
-			// if the shape file could not be opened or created successfully
-			// to be handled at a higher level
-			throw e;
-		}
+		return checkPolys(polys, types, false);
+	}
 
-		// Create a polygon from the provided coordinates
-		Polygon poly = shpFile.getGeometry().createPolygon(coords.toArray(new Coordinate[coords.size()]));
+	/**
+	 * Checks for each of the given polygons whether it overlaps one or more of the
+	 * region types. Polygons consisting of a single point are checked for
+	 * containment. All available region types will be checked if none were
+	 * specified.
+	 *
+	 * @param polys the polygons to check
+	 * @param types the region types to check against (all known region types, if
+	 *              null or empty)
+	 * @return a list with the check result for each polygon (in the same order)
+	 * @throws UnsupportedOperationException if a valid, but not yet handled file
+	 *                                       type was given
+	 * @throws IllegalArgumentException      if an invalid region type was given or
+	 *                                       any of the polygons is invalid
+	 * @throws IOException                   if the shape file could not be opened
+	 *                                       created successfully
+	 */
+	public List<Boolean> arePolysOverlapping(List<RestPolygon> polys, String[] types)
+			throws UnsupportedOperationException, IllegalArgumentException, IOException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> arePolysOverlapping(RestPolygon[{}], {})", (null == polys ? "null" : polys.size()), types);
 
-		// Create a filter checking for overlaps with the region defined by the shape
-		// file
-		Filter overlapFilter = shpFile.getFilter()
-			.overlaps(shpFile.getFilter().property("the_geom"), shpFile.getFilter().literal(poly));
+		return checkPolys(polys, types, true);
+	}
 
-		try {
-			// Check if at least one feature overlaps the polygon
-			SimpleFeatureCollection features = shpFile.getSource().getFeatures(overlapFilter);
+	/**
+	 * Checks a batch of polygons against the shape files of the given region types.
+	 * The region types are resolved once for the whole batch, and only a summary is
+	 * logged.
+	 *
+	 * @param polys   the polygons to check
+	 * @param types   the region types to check against (all known region types, if
+	 *                null or empty)
+	 * @param overlap true, if the polygons are to be checked for overlap, false, if
+	 *                they are to be checked for containment
+	 * @return a list with the check result for each polygon (in the same order)
+	 * @throws UnsupportedOperationException if a valid, but not yet handled file
+	 *                                       type was given
+	 * @throws IllegalArgumentException      if an invalid region type was given or
+	 *                                       any of the polygons is invalid
+	 * @throws IOException                   if the shape file could not be opened
+	 *                                       created successfully
+	 */
+	private List<Boolean> checkPolys(List<RestPolygon> polys, String[] types, boolean overlap)
+			throws UnsupportedOperationException, IllegalArgumentException, IOException {
 
-			if (features.size() > 0) {
-				return true;
+		// Ensure shape map is initialized (exceptions to be handled at a higher level)
+		init();
+
+		if (null == polys) {
+			throw new IllegalArgumentException(logger.log(GeotoolsMessage.REST_POLYGON_MISSING));
+		}
+
+		// Resolve the region types to the shape files to check against
+		Map<String, List<ShpFile>> currentShapeMap = shapeMap;
+		if (types == null || types.length < 1) {
+			types = currentShapeMap.keySet().toArray(new String[currentShapeMap.keySet().size()]);
+		}
+		List<ShpFile> shpFiles = new ArrayList<>();
+		for (String type : types) {
+			if (currentShapeMap.get(type) == null || currentShapeMap.get(type).isEmpty()) {
+				throw new IllegalArgumentException(
+						logger.log(GeotoolsMessage.NO_SHAPE_FILES_FOUND, type, currentShapeMap.keySet().toString()));
 			}
+			shpFiles.addAll(currentShapeMap.get(type));
+		}
 
-			// If not, check whether the polygon is fully contained
-			// TODO Remove. It should be logically impossible that there are no overlaps but
-			// the entire polygon is contained.
-			Filter containFilter = shpFile.getFilter()
-				.contains(shpFile.getFilter().property("the_geom"), shpFile.getFilter().literal(poly));
+		List<Boolean> results = new ArrayList<>(polys.size());
+		int matchCount = 0;
 
-			features = shpFile.getSource().getFeatures(containFilter);
+		for (RestPolygon poly : polys) {
+			if (null == poly || null == poly.getPoints() || poly.getPoints().isEmpty()) {
+				throw new IllegalArgumentException(logger.log(GeotoolsMessage.REST_POLYGON_MISSING));
+			}
 
-			if (features.size() > 0) {
-				return true;
+			boolean result = false;
+
+			if (1 == poly.getPoints().size()) {
+				Point point = geometryFactory.createPoint(toCoordinate(poly.getPoints().get(0)));
+				for (ShpFile sf : shpFiles) {
+					if (sf.getIndex().contains(point)) {
+						result = true;
+						break;
+					}
+				}
+			} else {
+				List<Coordinate> coords = new ArrayList<>();
+				for (RestPoint p : poly.getPoints()) {
+					coords.add(toCoordinate(p));
+				}
+				// Close the polygon, if it is open (as done by closePolygon())
+				if (!coords.get(0).equals2D(coords.get(coords.size() - 1))) {
+					coords.add(new Coordinate(coords.get(0)));
+				}
+				Polygon polygon = geometryFactory.createPolygon(coords.toArray(new Coordinate[coords.size()]));
+				for (ShpFile sf : shpFiles) {
+					if (overlap ? overlapsPolygon(polygon, sf) : containsPolygon(polygon, sf)) {
+						result = true;
+						break;
+					}
+				}
+			}
+
+			results.add(result);
+			if (result) {
+				++matchCount;
 			}
-		} catch (IOException e) {
-			throw e;
 		}
 
-		return false;
+		logger.log(GeotoolsMessage.BATCH_CHECKED, matchCount, polys.size(), Arrays.asList(types));
+
+		return results;
+	}
+
+	/**
+	 * Convert a RestPoint to a coordinate
+	 *
+	 * @param point the point to convert
+	 * @return a coordinate with the longitude as x and the latitude as y value
+	 * @throws IllegalArgumentException if the latitude or longitude is missing
+	 */
+	private Coordinate toCoordinate(RestPoint point) throws IllegalArgumentException {
+		if (null == point || null == point.getLat())
+			throw new IllegalArgumentException(logger.log(GeotoolsMessage.ARGUMENT_MISSING, "latitude"));
+		if (null == point.getLon())
+			throw new IllegalArgumentException(logger.log(GeotoolsMessage.ARGUMENT_MISSING, "longitude"));
+
+		return new Coordinate(point.getLon(), point.getLat());
 	}
 
 	/**
@@ -0,0 +1,123 @@
+/**
+ * ShapeIndex.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.geotools.rest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+
+/**
+ * In-memory spatial index over the geometries of a shape file. The geometries are held as prepared geometries in an STR tree,
+ * so a containment or overlap check only evaluates the geometries whose envelopes intersect the envelope of the tested
+ * geometry, and the evaluation itself can use the cached segment indexes of the prepared geometries.
+ *
+ * The index is immutable after construction and can be used concurrently (the lazily built internal structures of the
+ * prepared geometries are created under synchronization by JTS).
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class ShapeIndex {
+
+	/** The STR tree holding the prepared geometries */
+	private final STRtree index = new STRtree();
+
+	/** The number of indexed geometries */
+	private final int size;
+
+	/**
+	 * Creates a spatial index for the given geometries (null and empty geometries are ignored)
+	 *
+	 * @param geometries the geometries to index, e. g. the default geometries of all features of a shape file
+	 */
+	public ShapeIndex(Collection<Geometry> geometries) {
+		int count = 0;
+		for (Geometry geometry : geometries) {
+			if (null == geometry || geometry.isEmpty()) {
+				continue;
+			}
+			index.insert(geometry.getEnvelopeInternal(), PreparedGeometryFactory.prepare(geometry));
+			++count;
+		}
+		size = count;
+
+		// Build the tree now, so queries do not modify it
+		index.build();
+	}
+
+	/**
+	 * Gets the number of indexed geometries
+	 *
+	 * @return the number of geometries
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks whether any of the indexed geometries contains the given geometry (same semantics as a GeoTools "contains" filter
+	 * on the feature geometries)
+	 *
+	 * @param geometry the geometry to test (a point or a polygon)
+	 * @return true, if at least one indexed geometry contains the given geometry, false otherwise
+	 */
+	public boolean contains(Geometry geometry) {
+		for (PreparedGeometry candidate : getCandidates(geometry)) {
+			if (candidate.contains(geometry)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether any of the indexed geometries overlaps the given geometry (same semantics as a GeoTools "overlaps" filter
+	 * on the feature geometries)
+	 *
+	 * @param geometry the geometry to test
+	 * @return true, if at least one indexed geometry overlaps the given geometry, false otherwise
+	 */
+	public boolean overlaps(Geometry geometry) {
+		for (PreparedGeometry candidate : getCandidates(geometry)) {
+			if (candidate.overlaps(geometry)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets all indexed geometries overlapping the given geometry
+	 *
+	 * @param geometry the geometry to test
+	 * @return a (possibly empty) list of the overlapping geometries
+	 */
+	public List<Geometry> getOverlapping(Geometry geometry) {
+		List<Geometry> overlapping = new ArrayList<>();
+		for (PreparedGeometry candidate : getCandidates(geometry)) {
+			if (candidate.overlaps(geometry)) {
+				overlapping.add(candidate.getGeometry());
+			}
+		}
+		return overlapping;
+	}
+
+	/**
+	 * Gets the indexed geometries whose envelopes intersect the envelope of the given geometry
+	 *
+	 * @param geometry the geometry to test
+	 * @return the candidate geometries
+	 */
+	@SuppressWarnings("unchecked")
+	private List<PreparedGeometry> getCandidates(Geometry geometry) {
+		return index.query(geometry.getEnvelopeInternal());
+	}
+
+}
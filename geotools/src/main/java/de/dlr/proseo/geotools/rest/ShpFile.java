@@ -8,15 +8,19 @@ package de.dlr.proseo.geotools.rest;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.geotools.data.shapefile.ShapefileDataStore;
 import org.geotools.data.shapefile.ShapefileDataStoreFactory;
+import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.api.data.SimpleFeatureSource;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.geometry.jts.JTSFactoryFinder;
 import org.geotools.util.factory.GeoTools;
+import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.geotools.api.filter.FilterFactory;
 
@@ -78,6 +82,16 @@ public class ShpFile {
 	 */
 	private GeometryFactory geometry;
 
+	/**
+	 * The in-memory spatial index over the feature geometries
+	 */
+	private ShapeIndex index;
+
+	/**
+	 * The modification time of the file at the time it was opened
+	 */
+	private long lastModified;
+
 	/**
 	 * @return the filename
 	 */
@@ -113,6 +127,13 @@ public class ShpFile {
 		return geometry;
 	}
 
+	/**
+	 * @return the spatial index over the feature geometries
+	 */
+	public ShapeIndex getIndex() {
+		return index;
+	}
+
 	/**
 	 * @param filename the filename to set
 	 */
@@ -173,6 +194,7 @@ public class ShpFile {
 
 		// Create a File object using the provided filename
 		File file = new File(filename);
+		this.lastModified = file.lastModified();
 
 		// Perform different actions based on the file type
 		switch (type) {
@@ -201,6 +223,9 @@ public class ShpFile {
 				// Get the geometry factory from JTSFactoryFinder
 				this.geometry = JTSFactoryFinder.getGeometryFactory();
 
+				// Read all feature geometries once and create the spatial index used for all checks
+				this.index = createIndex();
+
 				// Return the initialized ShpFile instance
 				return this;
 			} catch (IOException e) {
@@ -221,4 +246,47 @@ public class ShpFile {
 		}
 	}
 
+	/**
+	 * Checks whether the file has been modified since it was opened
+	 *
+	 * @return true, if the modification time of the file differs from the one at the time it was opened
+	 */
+	public boolean isModified() {
+		return new File(filename).lastModified() != lastModified;
+	}
+
+	/**
+	 * Release the resources held by the data store of this shape file
+	 */
+	public void dispose() {
+		if (null != source && null != source.getDataStore()) {
+			source.getDataStore().dispose();
+		}
+	}
+
+	/**
+	 * Create the spatial index over the default geometries of all features of the shape file
+	 *
+	 * @return the spatial index
+	 * @throws IOException if the features cannot be read
+	 */
+	private ShapeIndex createIndex() throws IOException {
+		long start = System.currentTimeMillis();
+
+		List<Geometry> geometries = new ArrayList<>();
+		try (SimpleFeatureIterator it = source.getFeatures().features()) {
+			while (it.hasNext()) {
+				Object featureGeometry = it.next().getDefaultGeometry();
+				if (featureGeometry instanceof Geometry) {
+					geometries.add((Geometry) featureGeometry);
+				}
+			}
+		}
+		ShapeIndex shapeIndex = new ShapeIndex(geometries);
+
+		logger.log(GeotoolsMessage.SHAPE_INDEX_CREATED, filename, shapeIndex.size(), System.currentTimeMillis() - start);
+
+		return shapeIndex;
+	}
+
 }
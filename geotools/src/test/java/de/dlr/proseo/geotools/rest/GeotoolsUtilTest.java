@@ -0,0 +1,211 @@
+/**
+ * GeotoolsUtilTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.geotools.rest;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+
+import de.dlr.proseo.geotools.GeotoolsConfiguration;
+import de.dlr.proseo.geotools.GeotoolsConfiguration.Shapefile;
+import de.dlr.proseo.geotools.rest.ShpFile.GeoFileType;
+import de.dlr.proseo.geotools.rest.model.RestPoint;
+import de.dlr.proseo.geotools.rest.model.RestPolygon;
+
+/**
+ * Test class for GeotoolsUtil: Checks that the checks based on the spatial index yield the same results as the checks based
+ * on GeoTools filters, using the shape files provided for the Docker image
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class GeotoolsUtilTest {
+
+	/** Directory containing the test shape files */
+	/* package */ static final String SHAPE_FILE_DIR = "docker/";
+
+	/** The coarse coastline shape file */
+	/* package */ static final String CONTINENTS_FILE = SHAPE_FILE_DIR + "GSHHS_c_L1.shp";
+
+	/** The number of random geometries to check */
+	private static final int TEST_COUNT = 500;
+
+	/**
+	 * Open a shape file, skipping the test if the file does not exist
+	 *
+	 * @param filename the shape file name
+	 * @return the opened shape file
+	 * @throws Exception if the shape file cannot be opened
+	 */
+	/* package */ static ShpFile openShapeFile(String filename) throws Exception {
+		assumeTrue("Shape file " + filename + " not found", new File(filename).exists());
+		return new ShpFile().openFileAndCreate(filename, GeoFileType.SHP);
+	}
+
+	/**
+	 * Create a geotools utility instance without Spring context
+	 *
+	 * @return the geotools utility instance configured with the continents shape file
+	 */
+	/* package */ static GeotoolsUtil createGeotoolsUtil() {
+		Shapefile shapefile = new Shapefile();
+		shapefile.setType(GeoFileType.SHP);
+		shapefile.setPath(CONTINENTS_FILE);
+		shapefile.setShapeType("continents");
+
+		GeotoolsConfiguration config = new GeotoolsConfiguration();
+		config.setShapefiles(List.of(shapefile));
+		config.setFileCheckInterval(0L);
+
+		GeotoolsUtil geotools = new GeotoolsUtil();
+		geotools.geotoolsConfig = config;
+		return geotools;
+	}
+
+	/**
+	 * Create a rectangle polygon as list of coordinates
+	 *
+	 * @param random the random number generator to use
+	 * @return the closed list of corner coordinates
+	 */
+	/* package */ static List<Coordinate> createRectangle(Random random) {
+		double lon = -180.0 + random.nextDouble() * 350.0;
+		double lat = -80.0 + random.nextDouble() * 150.0;
+		double width = 0.5 + random.nextDouble() * 10.0;
+		double height = 0.5 + random.nextDouble() * 10.0;
+
+		List<Coordinate> coords = new ArrayList<>();
+		coords.add(new Coordinate(lon, lat));
+		coords.add(new Coordinate(lon + width, lat));
+		coords.add(new Coordinate(lon + width, lat + height));
+		coords.add(new Coordinate(lon, lat + height));
+		coords.add(new Coordinate(lon, lat));
+		return coords;
+	}
+
+	/**
+	 * Test that point checks with the spatial index and with GeoTools filters yield the same results
+	 *
+	 * @throws Exception if the shape file cannot be opened
+	 */
+	@Test
+	public void testPointEquivalence() throws Exception {
+		ShpFile shpFile = openShapeFile(CONTINENTS_FILE);
+		GeotoolsUtil geotools = createGeotoolsUtil();
+		Random random = new Random(4711);
+
+		int insideCount = 0;
+		for (int i = 0; i < TEST_COUNT; ++i) {
+			Double latitude = -90.0 + random.nextDouble() * 180.0;
+			Double longitude = -180.0 + random.nextDouble() * 360.0;
+
+			Boolean expected = ShapeFilterReference.isPointInside(latitude, longitude, shpFile);
+			assertEquals("Point " + latitude + "/" + longitude, expected, geotools.isPointInside(latitude, longitude, shpFile));
+			if (expected) {
+				++insideCount;
+			}
+		}
+		assertTrue("No points inside", 0 < insideCount);
+		assertTrue("All points inside", TEST_COUNT > insideCount);
+
+		shpFile.dispose();
+	}
+
+	/**
+	 * Test that polygon containment and overlap checks with the spatial index and with GeoTools filters yield the same results
+	 *
+	 * @throws Exception if the shape file cannot be opened
+	 */
+	@Test
+	public void testPolygonEquivalence() throws Exception {
+		ShpFile shpFile = openShapeFile(CONTINENTS_FILE);
+		GeotoolsUtil geotools = createGeotoolsUtil();
+		Random random = new Random(4712);
+
+		int overlapCount = 0;
+		for (int i = 0; i < TEST_COUNT; ++i) {
+			List<Coordinate> coords = createRectangle(random);
+
+			assertEquals("Polygon " + coords, ShapeFilterReference.isPolyInside(coords, shpFile),
+					geotools.isPolyInside(coords, shpFile));
+
+			Boolean expected = ShapeFilterReference.isPolyOverlap(coords, shpFile);
+			assertEquals("Polygon " + coords, expected, geotools.isPolyOverlap(coords, shpFile));
+			if (expected) {
+				++overlapCount;
+			}
+		}
+		assertTrue("No overlapping polygons", 0 < overlapCount);
+
+		shpFile.dispose();
+	}
+
+	/**
+	 * Test that batch checks yield the same results as single checks
+	 *
+	 * @throws Exception if the shape file cannot be opened
+	 */
+	@Test
+	public void testBatch() throws Exception {
+		openShapeFile(CONTINENTS_FILE).dispose();
+		GeotoolsUtil geotools = createGeotoolsUtil();
+		Random random = new Random(4713);
+
+		List<RestPolygon> polys = new ArrayList<>();
+		for (int i = 0; i < 50; ++i) {
+			RestPolygon poly = new RestPolygon();
+			// Every fifth entry is a single point, the polygons are left open
+			List<Coordinate> coords = createRectangle(random);
+			int pointCount = (0 == i % 5 ? 1 : coords.size() - 1);
+			for (int j = 0; j < pointCount; ++j) {
+				RestPoint p = new RestPoint();
+				p.setLat(coords.get(j).y);
+				p.setLon(coords.get(j).x);
+				poly.getPoints().add(p);
+			}
+			polys.add(poly);
+		}
+
+		List<Boolean> inside = geotools.arePolysInside(polys, null);
+		List<Boolean> overlapping = geotools.arePolysOverlapping(polys, new String[] { "continents" });
+		assertEquals(polys.size(), inside.size());
+		assertEquals(polys.size(), overlapping.size());
+
+		for (int i = 0; i < polys.size(); ++i) {
+			RestPolygon poly = polys.get(i);
+			if (1 == poly.getPoints().size()) {
+				Boolean expected = geotools.isPointInside(poly.getPoints().get(0).getLat(), poly.getPoints().get(0).getLon(),
+						(String[]) null);
+				assertEquals(expected, inside.get(i));
+				assertEquals(expected, overlapping.get(i));
+			} else {
+				assertEquals(geotools.isPolyInside(poly, null), inside.get(i));
+				assertEquals(geotools.isPolyOverlap(poly, null), overlapping.get(i));
+			}
+		}
+
+		// Invalid region type and invalid polygon
+		try {
+			geotools.arePolysInside(polys, new String[] { "invalid" });
+			fail("IllegalArgumentException expected for invalid region type");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+		try {
+			geotools.arePolysOverlapping(List.of(new RestPolygon()), null);
+			fail("IllegalArgumentException expected for empty polygon");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+	}
+
+}
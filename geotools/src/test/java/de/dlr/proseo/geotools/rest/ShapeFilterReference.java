@@ -0,0 +1,111 @@
+/**
+ * ShapeFilterReference.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.geotools.rest;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.filter.Filter;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+/**
+ * Containment and overlap checks applying GeoTools filters to the feature source of a shape file, as used by GeotoolsUtil
+ * before the introduction of the spatial index; reference implementation for tests and benchmarks only
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class ShapeFilterReference {
+
+	/**
+	 * Checks whether the geographical point defined by latitude and longitude is contained in the region described by the
+	 * provided shape file
+	 *
+	 * @param latitude  the latitude of the coordinate
+	 * @param longitude the longitude of the coordinate
+	 * @param shpFile   the shape file against which to compare the coordinate
+	 * @return true if the point is contained in the region described by the shape file
+	 * @throws IOException if the features of the shape file cannot be read
+	 */
+	public static Boolean isPointInside(Double latitude, Double longitude, ShpFile shpFile) throws IOException {
+		Point point = shpFile.getGeometry().createPoint(new Coordinate(longitude, latitude));
+		Filter containFilter = shpFile.getFilter()
+			.contains(shpFile.getFilter().property("the_geom"), shpFile.getFilter().literal(point));
+
+		return shpFile.getSource().getFeatures(containFilter).size() > 0;
+	}
+
+	/**
+	 * Checks whether the geographical area defined by the coordinates is contained in the region described by the shape
+	 * file; the polygon is also considered contained, if the union of its differences to the overlapping features equals the
+	 * polygon
+	 *
+	 * @param coords  a list of coordinates forming a polygon
+	 * @param shpFile the shape file forming the region
+	 * @return true if the polygon is inside the region, false otherwise
+	 * @throws IOException    if the features of the shape file cannot be read
+	 * @throws ParseException if the geometry of a feature cannot be parsed
+	 */
+	public static Boolean isPolyInside(List<Coordinate> coords, ShpFile shpFile) throws IOException, ParseException {
+		Polygon poly = shpFile.getGeometry().createPolygon(coords.toArray(new Coordinate[coords.size()]));
+
+		Filter containFilter = shpFile.getFilter()
+			.contains(shpFile.getFilter().property("the_geom"), shpFile.getFilter().literal(poly));
+		if (shpFile.getSource().getFeatures(containFilter).size() > 0) {
+			return true;
+		}
+
+		Filter overlapFilter = shpFile.getFilter()
+			.overlaps(shpFile.getFilter().property("the_geom"), shpFile.getFilter().literal(poly));
+		SimpleFeatureCollection features = shpFile.getSource().getFeatures(overlapFilter);
+		if (features.size() == 0) {
+			return false;
+		}
+
+		WKTReader wktReader = new WKTReader(shpFile.getGeometry());
+		Geometry differenceUnion = null;
+		try (SimpleFeatureIterator it = features.features()) {
+			while (it.hasNext()) {
+				SimpleFeature sf = it.next();
+				Geometry difference = poly.difference(wktReader.read(sf.getAttribute("the_geom").toString()));
+				differenceUnion = (null == differenceUnion ? difference : difference.union(differenceUnion));
+			}
+		}
+
+		return differenceUnion.equalsTopo(poly);
+	}
+
+	/**
+	 * Checks whether the geographical area defined by the coordinates overlaps or is contained in the region described by
+	 * the shape file
+	 *
+	 * @param coords  a list of coordinates forming a polygon
+	 * @param shpFile the shape file forming the region
+	 * @return true if the polygon overlaps the region, false otherwise
+	 * @throws IOException if the features of the shape file cannot be read
+	 */
+	public static Boolean isPolyOverlap(List<Coordinate> coords, ShpFile shpFile) throws IOException {
+		Polygon poly = shpFile.getGeometry().createPolygon(coords.toArray(new Coordinate[coords.size()]));
+
+		Filter overlapFilter = shpFile.getFilter()
+			.overlaps(shpFile.getFilter().property("the_geom"), shpFile.getFilter().literal(poly));
+		if (shpFile.getSource().getFeatures(overlapFilter).size() > 0) {
+			return true;
+		}
+
+		Filter containFilter = shpFile.getFilter()
+			.contains(shpFile.getFilter().property("the_geom"), shpFile.getFilter().literal(poly));
+		return shpFile.getSource().getFeatures(containFilter).size() > 0;
+	}
+
+}
@@ -0,0 +1,177 @@
+/**
+ * ShapeIndexBenchmark.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.geotools.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark comparing the point containment, polygon containment and polygon overlap checks based on GeoTools filters
+ * applied to the feature source of a shape file (as done per request before) with the checks based on the in-memory spatial
+ * index. Not run as part of the unit tests; to run it, call the main method with the test class path of this module from the
+ * module directory (the shape files for the Docker image are used).
+ *
+ * @author Dr. Thomas Bassler
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShapeIndexBenchmark {
+
+	/** The number of different test geometries */
+	private static final int GEOMETRY_COUNT = 256;
+
+	/** The shape file to check against */
+	private ShpFile shpFile;
+
+	/** The geotools utility instance */
+	private GeotoolsUtil geotools;
+
+	/** Test points (latitude/longitude pairs) */
+	private double[][] points;
+
+	/** Test polygons */
+	private List<List<Coordinate>> polygons;
+
+	/** Index of the next test geometry */
+	private int next = 0;
+
+	/**
+	 * Open the shape file and create the test geometries
+	 *
+	 * @throws Exception if the shape file cannot be opened
+	 */
+	@Setup
+	public void setUp() throws Exception {
+		shpFile = new ShpFile().openFileAndCreate(GeotoolsUtilTest.CONTINENTS_FILE, ShpFile.GeoFileType.SHP);
+		geotools = GeotoolsUtilTest.createGeotoolsUtil();
+
+		Random random = new Random(4711);
+		points = new double[GEOMETRY_COUNT][];
+		polygons = new ArrayList<>();
+		for (int i = 0; i < GEOMETRY_COUNT; ++i) {
+			points[i] = new double[] { -90.0 + random.nextDouble() * 180.0, -180.0 + random.nextDouble() * 360.0 };
+			polygons.add(GeotoolsUtilTest.createRectangle(random));
+		}
+	}
+
+	/**
+	 * Release the shape file
+	 */
+	@TearDown
+	public void tearDown() {
+		shpFile.dispose();
+	}
+
+	/**
+	 * Get the index of the next test geometry
+	 *
+	 * @return the index
+	 */
+	private int nextIndex() {
+		next = (next + 1) % GEOMETRY_COUNT;
+		return next;
+	}
+
+	/**
+	 * Point containment with GeoTools filter
+	 *
+	 * @return the check result
+	 * @throws Exception if the shape file cannot be read
+	 */
+	@Benchmark
+	public Boolean pointInsideWithFilter() throws Exception {
+		double[] point = points[nextIndex()];
+		return ShapeFilterReference.isPointInside(point[0], point[1], shpFile);
+	}
+
+	/**
+	 * Point containment with spatial index
+	 *
+	 * @return the check result
+	 */
+	@Benchmark
+	public Boolean pointInsideWithIndex() {
+		double[] point = points[nextIndex()];
+		return geotools.isPointInside(point[0], point[1], shpFile);
+	}
+
+	/**
+	 * Polygon containment with GeoTools filters
+	 *
+	 * @return the check result
+	 * @throws Exception if the shape file cannot be read
+	 */
+	@Benchmark
+	public Boolean polyInsideWithFilter() throws Exception {
+		return ShapeFilterReference.isPolyInside(polygons.get(nextIndex()), shpFile);
+	}
+
+	/**
+	 * Polygon containment with spatial index
+	 *
+	 * @return the check result
+	 */
+	@Benchmark
+	public Boolean polyInsideWithIndex() {
+		return geotools.isPolyInside(polygons.get(nextIndex()), shpFile);
+	}
+
+	/**
+	 * Polygon overlap with GeoTools filters
+	 *
+	 * @return the check result
+	 * @throws Exception if the shape file cannot be read
+	 */
+	@Benchmark
+	public Boolean polyOverlapWithFilter() throws Exception {
+		return ShapeFilterReference.isPolyOverlap(polygons.get(nextIndex()), shpFile);
+	}
+
+	/**
+	 * Polygon overlap with spatial index
+	 *
+	 * @return the check result
+	 */
+	@Benchmark
+	public Boolean polyOverlapWithIndex() {
+		return geotools.isPolyOverlap(polygons.get(nextIndex()), shpFile);
+	}
+
+	/**
+	 * Run the benchmark
+	 *
+	 * @param args not used
+	 * @throws RunnerException if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder().include(ShapeIndexBenchmark.class.getSimpleName()).build();
+		new Runner(options).run();
+	}
+
+}
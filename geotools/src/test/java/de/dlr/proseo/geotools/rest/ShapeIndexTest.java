@@ -0,0 +1,94 @@
+/**
+ * ShapeIndexTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.geotools.rest;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.WKTReader;
+
+/**
+ * Test class for ShapeIndex: Containment and overlap checks against indexed geometries
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class ShapeIndexTest {
+
+	/** Geometry factory for test geometries */
+	private static final GeometryFactory geometryFactory = new GeometryFactory();
+
+	/**
+	 * Create a shape index for two disjoint squares and a multipolygon
+	 *
+	 * @return the shape index
+	 * @throws Exception if the test geometries cannot be parsed
+	 */
+	private ShapeIndex createIndex() throws Exception {
+		WKTReader wktReader = new WKTReader(geometryFactory);
+		List<Geometry> geometries = Arrays.asList(wktReader.read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))"),
+				wktReader.read("POLYGON ((20 0, 30 0, 30 10, 20 10, 20 0))"),
+				wktReader.read("MULTIPOLYGON (((40 0, 50 0, 50 10, 40 10, 40 0)), ((60 0, 70 0, 70 10, 60 10, 60 0)))"),
+				geometryFactory.createPolygon(), null);
+		return new ShapeIndex(geometries);
+	}
+
+	/**
+	 * Test the containment of points and polygons
+	 *
+	 * @throws Exception if the test geometries cannot be parsed
+	 */
+	@Test
+	public void testContains() throws Exception {
+		ShapeIndex index = createIndex();
+		WKTReader wktReader = new WKTReader(geometryFactory);
+
+		// Empty and null geometries are not indexed
+		assertEquals(3, index.size());
+
+		assertTrue(index.contains(geometryFactory.createPoint(new Coordinate(5, 5))));
+		assertTrue(index.contains(geometryFactory.createPoint(new Coordinate(65, 5))));
+		assertFalse(index.contains(geometryFactory.createPoint(new Coordinate(15, 5))));
+
+		// Points on the boundary are not contained
+		assertFalse(index.contains(geometryFactory.createPoint(new Coordinate(0, 5))));
+
+		assertTrue(index.contains(wktReader.read("POLYGON ((21 1, 29 1, 29 9, 21 9, 21 1))")));
+		assertFalse(index.contains(wktReader.read("POLYGON ((5 1, 25 1, 25 9, 5 9, 5 1))")));
+		assertFalse(index.contains(wktReader.read("POLYGON ((45 1, 65 1, 65 9, 45 9, 45 1))")));
+	}
+
+	/**
+	 * Test the overlap of polygons
+	 *
+	 * @throws Exception if the test geometries cannot be parsed
+	 */
+	@Test
+	public void testOverlaps() throws Exception {
+		ShapeIndex index = createIndex();
+		WKTReader wktReader = new WKTReader(geometryFactory);
+
+		// Overlapping two squares
+		Geometry poly = wktReader.read("POLYGON ((5 1, 25 1, 25 9, 5 9, 5 1))");
+		assertTrue(index.overlaps(poly));
+		assertEquals(2, index.getOverlapping(poly).size());
+
+		// Contained polygons do not overlap
+		poly = wktReader.read("POLYGON ((21 1, 29 1, 29 9, 21 9, 21 1))");
+		assertFalse(index.overlaps(poly));
+		assertTrue(index.getOverlapping(poly).isEmpty());
+
+		// Disjoint polygon
+		poly = wktReader.read("POLYGON ((11 1, 19 1, 19 9, 11 9, 11 1))");
+		assertFalse(index.overlaps(poly));
+	}
+
+}
@@ -86,6 +86,19 @@ public class IngestorApplication implements CommandLineRunner {
 	@Override
 	public void run(String... args) throws Exception {
 		this.startDispatcher();
+		this.startFootprintBackfill();
+	}
+
+	/**
+	 * Starts a thread to derive the footprints of products ingested before footprints were introduced
+	 */
+	public void startFootprintBackfill() {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> startFootprintBackfill()");
+
+		Thread backfillThread = new Thread(() -> productIngestor.backfillFootprints(), "FootprintBackfill");
+		backfillThread.setDaemon(true);
+		backfillThread.start();
 	}
 
 	/**
@@ -67,6 +67,18 @@ public class IngestorConfiguration {
 	@Value("${proseo.ingestor.cleanupCycleTime}")
 	private Integer cleanupCycleTime;
 
+	/** Number of product files to evict per cleanup chunk */
+	@Value("${proseo.ingestor.cleanupChunkSize:1000}")
+	private Integer cleanupChunkSize;
+
+	/** Number of concurrent Storage Manager requests during cleanup */
+	@Value("${proseo.ingestor.cleanupThreads:4}")
+	private Integer cleanupThreads;
+
+	/** Default page size for keyset-paginated product listings and chunk size for product exports */
+	@Value("${proseo.ingestor.pageSize:1000}")
+	private Integer pageSize;
+
 	/** Notify Production Planner upon product ingestion */
 	@Value("${proseo.ingestor.notifyPlanner:true}")
 	private Boolean notifyPlanner;
@@ -204,6 +216,33 @@ public class IngestorConfiguration {
 		return cleanupCycleTime;
 	}
 
+	/**
+	 * Gets the number of product files to evict per cleanup chunk
+	 *
+	 * @return the cleanup chunk size
+	 */
+	public Integer getCleanupChunkSize() {
+		return cleanupChunkSize;
+	}
+
+	/**
+	 * Gets the number of concurrent Storage Manager requests during cleanup
+	 *
+	 * @return the number of cleanup threads
+	 */
+	public Integer getCleanupThreads() {
+		return cleanupThreads;
+	}
+
+	/**
+	 * Gets the default page size for keyset-paginated product listings (also used as chunk size for product exports)
+	 *
+	 * @return the page size
+	 */
+	public Integer getPageSize() {
+		return pageSize;
+	}
+
 	/**
 	 * Indicates whether the Production Planner should be notified about new product
 	 * ingestions
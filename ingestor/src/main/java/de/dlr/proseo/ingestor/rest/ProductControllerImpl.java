@@ -16,11 +16,14 @@ import javax.validation.constraints.Pattern;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import de.dlr.proseo.ingestor.rest.model.RestProduct;
+import de.dlr.proseo.ingestor.rest.model.RestProductPage;
 import de.dlr.proseo.logging.http.HttpPrefix;
 import de.dlr.proseo.logging.http.ProseoHttp;
 import de.dlr.proseo.logging.logger.ProseoLogger;
@@ -156,6 +159,92 @@ public class ProductControllerImpl implements ProductController {
 		}
 	}
 
+	/**
+	 * One page of the products filtered by mission, product class and time ranges, ordered by their persistent id (keyset
+	 * pagination); the next page is requested with the continuation token of the previous page, the total number of
+	 * matching products is only computed on request
+	 *
+	 * @param mission           the mission code
+	 * @param productClass      an array of product types
+	 * @param mode              processing mode as defined for the mission
+	 * @param fileClass         one of the file classes defined for the mission
+	 * @param quality           indicator for the suitability of this product for general use
+	 * @param startTimeFrom     earliest sensing start time
+	 * @param startTimeTo       latest sensing start time
+	 * @param genTimeFrom       product generation time, earliest
+	 * @param genTimeTo         product generation time, latest
+	 * @param onlyWithFile      only products with a product file
+	 * @param jobStepId         job step that produced the products (if any)
+	 * @param continuationToken the continuation token returned with the previous page
+	 * @param pageSize          the maximum number of products on the page
+	 * @param withCount         if true, the total number of matching products is returned
+	 * @param httpHeaders       HTTP Authentication header
+	 * @return HTTP status "OK" and a page of products (possibly empty) or HTTP status "BAD_REQUEST" and an error message, if
+	 *         the continuation token is invalid, or HTTP status "FORBIDDEN" and an error message, if a cross-mission data
+	 *         access was attempted
+	 */
+	@Override
+	public ResponseEntity<RestProductPage> getProductPage(String mission, String[] productClass, String mode, String fileClass,
+			String quality, String startTimeFrom, String startTimeTo, String genTimeFrom, String genTimeTo, Boolean onlyWithFile,
+			Long jobStepId, String continuationToken, Integer pageSize, Boolean withCount, HttpHeaders httpHeaders) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> getProductPage({}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {})", mission, productClass, mode,
+					fileClass, quality, startTimeFrom, startTimeTo, genTimeFrom, genTimeTo, jobStepId, continuationToken, pageSize,
+					withCount);
+
+		try {
+			return new ResponseEntity<>(productManager.getProductPage(mission, productClass, mode, fileClass, quality,
+					startTimeFrom, startTimeTo, genTimeFrom, genTimeTo, onlyWithFile, jobStepId, continuationToken, pageSize,
+					withCount), HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.BAD_REQUEST);
+		} catch (SecurityException e) {
+			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.FORBIDDEN);
+		}
+	}
+
+	/**
+	 * Stream all products filtered by mission, product class and time ranges as newline-delimited JSON (one product per
+	 * line, ordered by their persistent id) for bulk consumers
+	 *
+	 * @param mission       the mission code
+	 * @param productClass  an array of product types
+	 * @param mode          processing mode as defined for the mission
+	 * @param fileClass     one of the file classes defined for the mission
+	 * @param quality       indicator for the suitability of this product for general use
+	 * @param startTimeFrom earliest sensing start time
+	 * @param startTimeTo   latest sensing start time
+	 * @param genTimeFrom   product generation time, earliest
+	 * @param genTimeTo     product generation time, latest
+	 * @param onlyWithFile  only products with a product file
+	 * @param jobStepId     job step that produced the products (if any)
+	 * @param httpHeaders   HTTP Authentication header
+	 * @return HTTP status "OK" and the product stream or HTTP status "FORBIDDEN" and an error message, if a cross-mission
+	 *         data access was attempted
+	 */
+	@Override
+	public ResponseEntity<?> exportProducts(String mission, String[] productClass, String mode, String fileClass, String quality,
+			String startTimeFrom, String startTimeTo, String genTimeFrom, String genTimeTo, Boolean onlyWithFile, Long jobStepId,
+			HttpHeaders httpHeaders) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> exportProducts({}, {}, {}, {}, {}, {}, {}, {}, {}, {})", mission, productClass, mode, fileClass,
+					quality, startTimeFrom, startTimeTo, genTimeFrom, genTimeTo, jobStepId);
+
+		// Check the authorization before the response is committed
+		String exportMission;
+		try {
+			exportMission = productManager.checkMission(mission);
+		} catch (SecurityException e) {
+			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.FORBIDDEN);
+		}
+
+		HttpHeaders responseHeaders = new HttpHeaders();
+		responseHeaders.setContentType(MediaType.APPLICATION_NDJSON);
+		StreamingResponseBody body = out -> productManager.exportProducts(exportMission, productClass, mode, fileClass, quality,
+				startTimeFrom, startTimeTo, genTimeFrom, genTimeTo, onlyWithFile, jobStepId, out);
+		return new ResponseEntity<>(body, responseHeaders, HttpStatus.OK);
+	}
+
 	/**
 	 * Create a product from the given Json object (does NOT create associated
 	 * product files!)
@@ -11,9 +11,16 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
@@ -44,12 +51,14 @@ import de.dlr.proseo.ingestor.rest.model.ProductFileUtil;
 import de.dlr.proseo.ingestor.rest.model.ProductUtil;
 import de.dlr.proseo.ingestor.rest.model.RestProduct;
 import de.dlr.proseo.ingestor.rest.model.RestProductFile;
+import de.dlr.proseo.interfaces.rest.model.RestFileDeletion;
 import de.dlr.proseo.interfaces.rest.model.RestProductFS;
 import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.logging.messages.GeneralMessage;
 import de.dlr.proseo.logging.messages.IngestorMessage;
 import de.dlr.proseo.model.DataDrivenOrderTrigger;
 import de.dlr.proseo.model.DownloadHistory;
+import de.dlr.proseo.model.Footprint;
 import de.dlr.proseo.model.ProcessingFacility;
 import de.dlr.proseo.model.Product;
 import de.dlr.proseo.model.ProductClass;
@@ -74,8 +83,42 @@ public class ProductIngestor {
 	private static final String URL_PLANNER_NOTIFY = "/product/%d";
 	private static final String URL_STORAGE_MANAGER_REGISTER = "/products";
 	private static final String URL_STORAGE_MANAGER_DELETE = "/products?pathInfo=%s";
+	private static final String URL_STORAGE_MANAGER_DELETE_BATCH = "/products/delete";
 	private static final String URL_GENERATOR_NOTIFY = "/generator/forProduct/%d";
 
+	/** Maximum number of files to delete from the storage with a single Storage Manager request */
+	private static final int STORAGE_DELETE_BATCH_SIZE = 1000;
+
+	/** Query for the next chunk of product files to evict (keyset pagination by product file ID) */
+	private static final String JPQL_SELECT_EVICTABLE_PRODUCT_FILES = "select pf.id from ProductFile pf "
+			+ "where pf.product.evictionTime < :evictionTime and pf.id > :lastId order by pf.id";
+
+	/** Query for the product files of products satisfying a product query for the same processing facility */
+	private static final String JPQL_SELECT_REQUIRED_PRODUCT_FILES = "select distinct pf.id from ProductFile pf "
+			+ "join pf.product p join p.satisfiedProductQueries pq "
+			+ "where pf.id in :ids and pq.jobStep.job.processingFacility = pf.processingFacility";
+
+	/** Query for the product files to evict including their processing facilities and auxiliary files */
+	private static final String JPQL_SELECT_PRODUCT_FILES_FOR_EVICTION = "select pf from ProductFile pf "
+			+ "join fetch pf.processingFacility left join fetch pf.auxFileNames where pf.id in :ids";
+
+	/* Set-based removal of product file metadata */
+	private static final String SQL_UNLINK_DOWNLOAD_HISTORY = "UPDATE product_download_history SET product_file_id = NULL "
+			+ "WHERE product_file_id IN (:ids)";
+	private static final String SQL_DELETE_AUX_FILE_NAMES = "DELETE FROM product_file_aux_file_names WHERE product_file_id IN (:ids)";
+	private static final String SQL_DELETE_PRODUCT_FILES = "DELETE FROM product_file WHERE id IN (:ids)";
+
+	/** Number of products, for which the footprint is derived in a single transaction */
+	private static final int FOOTPRINT_BACKFILL_BATCH_SIZE = 1000;
+
+	/* Footprint backfill for products ingested before footprints were introduced */
+	private static final String SQL_SELECT_FOOTPRINT_BACKFILL = "SELECT product_id FROM " + Footprint.BACKFILL_TABLE
+			+ " ORDER BY product_id LIMIT " + FOOTPRINT_BACKFILL_BATCH_SIZE;
+	private static final String SQL_DELETE_FOOTPRINT_BACKFILL = "DELETE FROM " + Footprint.BACKFILL_TABLE
+			+ " WHERE product_id IN (:ids)";
+	private static final String JPQL_SELECT_PRODUCTS_WITH_PARAMETERS = "select distinct p from Product p "
+			+ "left join fetch p.parameters where p.id in :ids";
+
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(ProductIngestor.class);
 
@@ -103,6 +146,45 @@ public class ProductIngestor {
 	@PersistenceContext
 	private EntityManager em;
 	
+	/**
+	 * A product file selected for eviction with the data required for the deletion from the storage
+	 */
+	private static class EvictionCandidate {
+
+		/** The database ID of the product file */
+		private final long productFileId;
+
+		/** The database ID of the product */
+		private final long productId;
+
+		/** The processing facility holding the product file */
+		private final ProcessingFacility facility;
+
+		/** The storage paths of all files of the product file */
+		private final List<String> paths = new ArrayList<>();
+
+		/**
+		 * Creates an eviction candidate from a product file
+		 *
+		 * @param productFile the product file to evict
+		 */
+		private EvictionCandidate(ProductFile productFile) {
+			productFileId = productFile.getId();
+			productId = productFile.getProduct().getId();
+			facility = productFile.getProcessingFacility();
+
+			// File separator is always '/' in Storage Manager
+			List<String> fileNames = new ArrayList<>(productFile.getAuxFileNames());
+			fileNames.add(productFile.getProductFileName());
+			if (null != productFile.getZipFileName()) {
+				fileNames.add(productFile.getZipFileName());
+			}
+			for (String fileName : fileNames) {
+				paths.add(productFile.getFilePath() + "/" + fileName);
+			}
+		}
+	}
+
 	private class IngestResult {
 		public RestProduct restProduct = null;
 		public RestProductFile restProductFile = null;
@@ -810,69 +892,277 @@ public class ProductIngestor {
 	}
 
 	/**
-	 * Delete all product (files) with eviction time older than t.
+	 * Delete all product files of products with eviction time older than t. The product files are selected in chunks ordered
+	 * by their database ID (keyset pagination), the files of each chunk are deleted from the storage with concurrent batch
+	 * requests per processing facility, and the metadata of all product files successfully deleted from the storage is
+	 * removed with set-based statements in one transaction per chunk. Product files of products currently satisfying a product query for the same processing facility
+	 * are skipped, product files with failed storage deletions are kept for the next cleanup cycle.
 	 *
 	 * @param t The Instant for eviction time
 	 */
-	@Transactional(isolation = Isolation.REPEATABLE_READ)
 	public void deleteProductFilesOlderThan(Instant t) {
 		if (logger.isTraceEnabled())
 			logger.trace(">>> deleteProductFilesOlderThan({})", t);
-		TransactionTemplate transactionTemplate = new TransactionTemplate(txManager);
-		transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
-		transactionTemplate.setReadOnly(true);
-		List<Long> productFileIds = new ArrayList<Long>(); 
-		transactionTemplate.execute((status) -> {
-			List<Product> products = RepositoryService.getProductRepository().findByEvictionTimeLessThan(t);
-			for (Product product : products) {
-				for (ProductFile aProductFile : product.getProductFile()) {
-					productFileIds.add(aProductFile.getId());
+
+		long startTime = System.currentTimeMillis();
+		int chunkSize = Math.max(1, null == ingestorConfig.getCleanupChunkSize() ? 1 : ingestorConfig.getCleanupChunkSize());
+		int threadCount = Math.max(1, null == ingestorConfig.getCleanupThreads() ? 1 : ingestorConfig.getCleanupThreads());
+
+		TransactionTemplate readTemplate = new TransactionTemplate(txManager);
+		readTemplate.setReadOnly(true);
+		TransactionTemplate writeTemplate = new TransactionTemplate(txManager);
+
+		long productFilesDeleted = 0, productFilesSkipped = 0, productFilesFailed = 0;
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			long lastId = 0L;
+			while (true) {
+				// Select the next chunk of product files to evict
+				final long chunkStartId = lastId;
+				List<Long> chunkIds = readTemplate.execute((status) -> em.createQuery(JPQL_SELECT_EVICTABLE_PRODUCT_FILES, Long.class)
+					.setParameter("evictionTime", t)
+					.setParameter("lastId", chunkStartId)
+					.setMaxResults(chunkSize)
+					.getResultList());
+				if (chunkIds.isEmpty()) {
+					break;
 				}
-			}
-			return null;
-		});
+				lastId = chunkIds.get(chunkIds.size() - 1);
+				long chunkStartTime = System.currentTimeMillis();
 
-		long productFilesDeleted = 0;
-		transactionTemplate.setReadOnly(false);
-		for (Long productFileId : productFileIds) {
-			for (int i = 0; i < ProseoUtil.DB_MAX_RETRY; i++) {
-				try {
-					productFilesDeleted += transactionTemplate.execute((status) -> {
-						Optional<ProductFile> opt = RepositoryService.getProductFileRepository().findById(productFileId);
-						if (opt.isPresent()) {
-							ProductFile productFile = opt.get();
-							try {
-								deleteProductFile(productFile.getProduct(), productFile.getProcessingFacility(), true);
-
-								// ignore known exceptions cause already logged
-							} catch (EntityNotFoundException e) {
-								return 0;
-							} catch (ProcessingException e) {
-								return 0;
-							} catch (IllegalArgumentException e) {
-								return 0;
-							} catch (RuntimeException e) {
-								return 0;
-							}			
-							return 1;
+				List<EvictionCandidate> candidates = readTemplate.execute((status) -> findEvictionCandidates(chunkIds));
+				long chunkSkipped = chunkIds.size() - candidates.size();
+
+				// Delete the files from the storage in batches per processing facility
+				Map<Long, List<EvictionCandidate>> candidatesByFacility = new LinkedHashMap<>();
+				for (EvictionCandidate candidate : candidates) {
+					candidatesByFacility.computeIfAbsent(candidate.facility.getId(), id -> new ArrayList<>()).add(candidate);
+				}
+				Map<Long, List<Future<Set<String>>>> storageResults = new HashMap<>();
+				for (List<EvictionCandidate> facilityCandidates : candidatesByFacility.values()) {
+					ProcessingFacility facility = facilityCandidates.get(0).facility;
+					RestTemplate restTemplate = rtb
+						.basicAuthentication(facility.getStorageManagerUser(), facility.getStorageManagerPassword())
+						.build();
+					List<String> paths = new ArrayList<>();
+					for (EvictionCandidate candidate : facilityCandidates) {
+						paths.addAll(candidate.paths);
+					}
+					List<Future<Set<String>>> facilityResults = new ArrayList<>();
+					for (int i = 0; i < paths.size(); i += STORAGE_DELETE_BATCH_SIZE) {
+						List<String> batch = paths.subList(i, Math.min(i + STORAGE_DELETE_BATCH_SIZE, paths.size()));
+						facilityResults.add(executor.submit(() -> deleteFromStorage(restTemplate, facility, batch)));
+					}
+					storageResults.put(facility.getId(), facilityResults);
+				}
+				List<Long> deletedIds = new ArrayList<>();
+				long storageFilesDeleted = 0;
+				for (Long facilityId : candidatesByFacility.keySet()) {
+					Set<String> deletedPaths = new HashSet<>();
+					for (Future<Set<String>> storageResult : storageResults.get(facilityId)) {
+						try {
+							deletedPaths.addAll(storageResult.get());
+						} catch (ExecutionException e) {
+							ProcessingFacility facility = candidatesByFacility.get(facilityId).get(0).facility;
+							logger.log(IngestorMessage.STORAGE_FILE_DELETION_FAILED, "(batch)", facility.getName(),
+									e.getCause().getMessage());
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							return;
 						}
-						return 0;			
-					});		
-				} catch (CannotAcquireLockException e) {
-					if (logger.isDebugEnabled())
-						logger.debug("... database concurrency issue detected: ", e);
+					}
+					storageFilesDeleted += deletedPaths.size();
+					for (EvictionCandidate candidate : candidatesByFacility.get(facilityId)) {
+						if (deletedPaths.containsAll(candidate.paths)) {
+							deletedIds.add(candidate.productFileId);
+						}
+					}
+				}
 
-					if ((i + 1) < ProseoUtil.DB_MAX_RETRY) {
-						ProseoUtil.dbWait();
-					} else {
-						if (logger.isDebugEnabled())
-							logger.debug("... failing after {} attempts!", ProseoUtil.DB_MAX_RETRY);
-						throw e;
+				// Remove the metadata of all product files deleted from the storage
+				long chunkDeleted = 0;
+				if (!deletedIds.isEmpty()) {
+					for (int i = 0; i < ProseoUtil.DB_MAX_RETRY; i++) {
+						try {
+							chunkDeleted = writeTemplate.execute((status) -> removeProductFiles(deletedIds));
+							break;
+						} catch (CannotAcquireLockException e) {
+							if (logger.isDebugEnabled())
+								logger.debug("... database concurrency issue detected: ", e);
+
+							if ((i + 1) < ProseoUtil.DB_MAX_RETRY) {
+								ProseoUtil.dbWait();
+							} else {
+								if (logger.isDebugEnabled())
+									logger.debug("... failing after {} attempts!", ProseoUtil.DB_MAX_RETRY);
+								throw e;
+							}
+						}
 					}
 				}
+				long chunkFailed = candidates.size() - deletedIds.size();
+
+				productFilesDeleted += chunkDeleted;
+				productFilesSkipped += chunkSkipped;
+				productFilesFailed += chunkFailed;
+
+				long chunkDuration = Math.max(1, System.currentTimeMillis() - chunkStartTime);
+				logger.log(IngestorMessage.PRODUCT_FILES_EVICTED_CHUNK, chunkDeleted, chunkSkipped, chunkFailed,
+						storageFilesDeleted, storageFilesDeleted * 1000 / chunkDuration);
 			}
+		} finally {
+			executor.shutdown();
 		}
+
 		logger.log(IngestorMessage.NUMBER_PRODUCT_FILES_DELETED, productFilesDeleted);
+		logger.log(IngestorMessage.PRODUCT_EVICTION_COMPLETED, productFilesDeleted, productFilesSkipped, productFilesFailed,
+				System.currentTimeMillis() - startTime);
+	}
+
+	/**
+	 * Derive the footprints of all products listed in the footprint backfill table from their "coordinates" parameter, and
+	 * remove the products from the backfill table (in chunks, each in its own transaction, so the backfill can be resumed
+	 * after an interruption)
+	 *
+	 * @return the number of products processed
+	 */
+	public long backfillFootprints() {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> backfillFootprints()");
+
+		long startTime = System.currentTimeMillis();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(txManager);
+
+		Number tableCount = transactionTemplate
+			.execute((status) -> (Number) em.createNativeQuery(Footprint.SQL_BACKFILL_TABLE_EXISTS).getSingleResult());
+		if (0 == tableCount.intValue()) {
+			if (logger.isTraceEnabled())
+				logger.trace("<<< backfillFootprints() - no backfill table");
+			return 0;
+		}
+
+		long productCount = 0;
+		try {
+			while (true) {
+				Integer chunkSize = transactionTemplate.execute((status) -> {
+					List<Long> productIds = new ArrayList<>();
+					for (Object productId : em.createNativeQuery(SQL_SELECT_FOOTPRINT_BACKFILL).getResultList()) {
+						productIds.add(((Number) productId).longValue());
+					}
+					if (productIds.isEmpty()) {
+						return 0;
+					}
+					for (Product product : em.createQuery(JPQL_SELECT_PRODUCTS_WITH_PARAMETERS, Product.class)
+						.setParameter("ids", productIds)
+						.getResultList()) {
+						product.updateFootprint();
+					}
+					em.createNativeQuery(SQL_DELETE_FOOTPRINT_BACKFILL).setParameter("ids", productIds).executeUpdate();
+					return productIds.size();
+				});
+				if (0 == chunkSize) {
+					break;
+				}
+				productCount += chunkSize;
+			}
+		} catch (RuntimeException e) {
+			logger.log(IngestorMessage.FOOTPRINT_BACKFILL_FAILED, productCount, e.getMessage());
+			return productCount;
+		}
+
+		if (0 < productCount) {
+			logger.log(IngestorMessage.FOOTPRINT_BACKFILL_COMPLETED, productCount, System.currentTimeMillis() - startTime);
+		}
+		return productCount;
+	}
+
+	/**
+	 * Load the storage data for the given product files, omitting product files of products currently satisfying a product
+	 * query for the same processing facility (to be called within a transaction)
+	 *
+	 * @param productFileIds the database IDs of the product files
+	 * @return the product files to delete
+	 */
+	private List<EvictionCandidate> findEvictionCandidates(List<Long> productFileIds) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> findEvictionCandidates([{} product files])", productFileIds.size());
+
+		Set<Long> requiredIds = new HashSet<>(em.createQuery(JPQL_SELECT_REQUIRED_PRODUCT_FILES, Long.class)
+			.setParameter("ids", productFileIds)
+			.getResultList());
+
+		List<EvictionCandidate> candidates = new ArrayList<>();
+		for (ProductFile productFile : em.createQuery(JPQL_SELECT_PRODUCT_FILES_FOR_EVICTION, ProductFile.class)
+			.setParameter("ids", productFileIds)
+			.getResultList()) {
+			if (requiredIds.contains(productFile.getId())) {
+				logger.log(IngestorMessage.PRODUCT_QUERY_EXISTS, productFile.getProduct().getId(),
+						productFile.getProcessingFacility().getName());
+				continue;
+			}
+			candidates.add(new EvictionCandidate(productFile));
+		}
+		return candidates;
+	}
+
+	/**
+	 * Delete a batch of files from the storage of a processing facility with a single Storage Manager request; files not
+	 * found in the storage are considered deleted
+	 *
+	 * @param restTemplate the REST template for the Storage Manager of the processing facility
+	 * @param facility     the processing facility
+	 * @param paths        the storage paths of the files to delete
+	 * @return the storage paths of the files deleted (empty, if the request failed)
+	 */
+	private Set<String> deleteFromStorage(RestTemplate restTemplate, ProcessingFacility facility, List<String> paths) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> deleteFromStorage(restTemplate, {}, [{} paths])", facility.getName(), paths.size());
+
+		Set<String> deletedPaths = new HashSet<>();
+		String storageManagerUrl = facility.getStorageManagerUrl() + URL_STORAGE_MANAGER_DELETE_BATCH;
+		try {
+			ResponseEntity<RestFileDeletion[]> response = restTemplate.postForEntity(storageManagerUrl, paths,
+					RestFileDeletion[].class);
+			if (null == response.getBody()) {
+				logger.log(IngestorMessage.STORAGE_FILE_DELETION_FAILED, paths.get(0), facility.getName(), response.getStatusCode());
+				return deletedPaths;
+			}
+			for (RestFileDeletion fileDeletion : response.getBody()) {
+				if (Boolean.TRUE.equals(fileDeletion.getDeleted())) {
+					deletedPaths.add(fileDeletion.getFilePath());
+				} else {
+					logger.log(IngestorMessage.STORAGE_FILE_DELETION_FAILED, fileDeletion.getFilePath(), facility.getName(),
+							fileDeletion.getMessage());
+				}
+			}
+		} catch (RestClientException e) {
+			logger.log(IngestorMessage.STORAGE_FILE_DELETION_FAILED, paths.get(0) + " (and " + (paths.size() - 1) + " more)",
+					facility.getName(), e.getMessage());
+		}
+		return deletedPaths;
+	}
+
+	/**
+	 * Remove the metadata of the given product files from the database in a set-based manner (to be called within a
+	 * transaction); links to the product files from the product download history are removed, the download history itself
+	 * persists
+	 *
+	 * @param productFileIds the database IDs of the product files
+	 * @return the number of product files removed
+	 */
+	private long removeProductFiles(List<Long> productFileIds) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> removeProductFiles([{} product files])", productFileIds.size());
+
+		em.flush();
+		em.createNativeQuery(SQL_UNLINK_DOWNLOAD_HISTORY).setParameter("ids", productFileIds).executeUpdate();
+		em.createNativeQuery(SQL_DELETE_AUX_FILE_NAMES).setParameter("ids", productFileIds).executeUpdate();
+		int removed = em.createNativeQuery(SQL_DELETE_PRODUCT_FILES).setParameter("ids", productFileIds).executeUpdate();
+
+		// Discard any stale product file entities and collections
+		em.clear();
+
+		return removed;
 	}
 
 	/**
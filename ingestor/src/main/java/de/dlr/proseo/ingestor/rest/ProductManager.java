@@ -5,13 +5,17 @@
  */
 package de.dlr.proseo.ingestor.rest;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URISyntaxException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.ConcurrentModificationException;
 import java.util.Date;
 import java.util.HashSet;
@@ -36,6 +40,7 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JOSEObjectType;
 import com.nimbusds.jose.JWSAlgorithm;
@@ -52,6 +57,7 @@ import de.dlr.proseo.ingestor.rest.model.RestDownloadHistory;
 import de.dlr.proseo.ingestor.rest.model.RestParameter;
 import de.dlr.proseo.ingestor.rest.model.RestProduct;
 import de.dlr.proseo.ingestor.rest.model.RestProductFile;
+import de.dlr.proseo.ingestor.rest.model.RestProductPage;
 import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.logging.messages.GeneralMessage;
 import de.dlr.proseo.logging.messages.IngestorMessage;
@@ -81,6 +87,7 @@ public class ProductManager {
 
 	/* Other string constants */
 	private static final String FACILITY_QUERY_SQL = "SELECT count(*) FROM product_processing_facilities ppf WHERE ppf.product_id = :product_id";
+	private static final String CONTINUATION_TOKEN_PREFIX = "id:";
 
 	/** Ingestor configuration */
 	@Autowired
@@ -94,6 +101,10 @@ public class ProductManager {
 	@Autowired
 	private SecurityService securityService;
 
+	/** JSON object mapper for product exports */
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(ProductManager.class);
 
@@ -357,6 +368,214 @@ public class ProductManager {
 		return "0";
 	}
 
+	/**
+	 * Get one page of the products filtered by mission, product class, production mode, file class, quality and time ranges,
+	 * ordered by database ID (keyset pagination: the next page starts after the last product of the previous page, so
+	 * retrieving a page does not scan the rows of all previous pages)
+	 *
+	 * @param mission           the mission code (will be set to logged in mission, if not given; otherwise must match logged
+	 *                          in mission)
+	 * @param productClass      an array of product types
+	 * @param mode              the processing mode
+	 * @param fileClass         the file class
+	 * @param quality           the quality
+	 * @param startTimeFrom     earliest sensing start time
+	 * @param startTimeTo       latest sensing start time
+	 * @param genTimeFrom       earliest generation time
+	 * @param genTimeTo         latest generation time
+	 * @param onlyWithFile      if true, only returns products having at least one product file on any of the processing
+	 *                          facilities
+	 * @param jobStepId         get input products of job step
+	 * @param continuationToken the continuation token of the previous page (null for the first page)
+	 * @param pageSize          the maximum number of products on the page (default and upper limit from the configuration)
+	 * @param withCount         if true, the total number of matching products is computed
+	 * @return a page of products with a continuation token, if more products are available
+	 * @throws IllegalArgumentException if the continuation token is invalid
+	 * @throws SecurityException        if a cross-mission data access was attempted
+	 */
+	@Transactional(isolation = Isolation.REPEATABLE_READ, readOnly = true)
+	public RestProductPage getProductPage(String mission, String[] productClass, String mode, String fileClass, String quality,
+			String startTimeFrom, String startTimeTo, String genTimeFrom, String genTimeTo, Boolean onlyWithFile, Long jobStepId,
+			String continuationToken, Integer pageSize, Boolean withCount) throws IllegalArgumentException, SecurityException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> getProductPage({}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {})", mission,
+					(null == productClass ? "null" : Arrays.asList(productClass).toString()), mode, fileClass, quality,
+					startTimeFrom, startTimeTo, genTimeFrom, genTimeTo, jobStepId, continuationToken, pageSize, withCount);
+
+		mission = checkMission(mission);
+
+		long afterId = decodeContinuationToken(continuationToken);
+		int maxResults = ingestorConfig.getMaxResults();
+		int effectivePageSize = Math.min(maxResults,
+				Math.max(1, null == pageSize ? ingestorConfig.getPageSize() : pageSize.intValue()));
+
+		// Retrieve one more product than requested to find out whether there is a next page
+		Query query = createProductsQuery(mission, productClass, mode, fileClass, quality, startTimeFrom, startTimeTo, genTimeFrom,
+				genTimeTo, null, null, onlyWithFile, jobStepId, null, false, afterId);
+		query.setMaxResults(effectivePageSize + 1);
+
+		List<RestProduct> products = new ArrayList<>();
+		long lastId = afterId;
+		boolean hasMore = false;
+		for (Object resultObject : query.getResultList()) {
+			if (resultObject instanceof Product) {
+				if (products.size() == effectivePageSize) {
+					hasMore = true;
+					break;
+				}
+				Product product = (Product) resultObject;
+				products.add(ProductUtil.toRestProduct(product));
+				lastId = product.getId();
+			}
+		}
+
+		RestProductPage page = new RestProductPage();
+		page.setProducts(products);
+		if (hasMore) {
+			page.setContinuationToken(encodeContinuationToken(lastId));
+		}
+		if (null != withCount && withCount) {
+			Query countQuery = createProductsQuery(mission, productClass, mode, fileClass, quality, startTimeFrom, startTimeTo,
+					genTimeFrom, genTimeTo, null, null, onlyWithFile, jobStepId, null, true);
+			page.setTotalCount(((Number) countQuery.getSingleResult()).longValue());
+		}
+
+		logger.log(IngestorMessage.PRODUCT_PAGE_RETRIEVED, products.size(), mission,
+				(null == productClass ? "null" : Arrays.asList(productClass).toString()), hasMore);
+
+		return page;
+	}
+
+	/**
+	 * Write all products filtered by mission, product class, production mode, file class, quality and time ranges to the
+	 * given output stream as newline-delimited JSON, ordered by database ID; the products are read in chunks of the
+	 * configured page size (keyset pagination), and the persistence context is cleared after each chunk, so the memory
+	 * consumption does not depend on the number of products exported
+	 *
+	 * @param mission       the mission code (will be set to logged in mission, if not given; otherwise must match logged in
+	 *                      mission)
+	 * @param productClass  an array of product types
+	 * @param mode          the processing mode
+	 * @param fileClass     the file class
+	 * @param quality       the quality
+	 * @param startTimeFrom earliest sensing start time
+	 * @param startTimeTo   latest sensing start time
+	 * @param genTimeFrom   earliest generation time
+	 * @param genTimeTo     latest generation time
+	 * @param onlyWithFile  if true, only exports products having at least one product file on any of the processing
+	 *                      facilities
+	 * @param jobStepId     export input products of job step
+	 * @param out           the output stream to write to
+	 * @return the number of products exported
+	 * @throws IOException       if writing to the output stream fails
+	 * @throws SecurityException if a cross-mission data access was attempted
+	 */
+	@Transactional(isolation = Isolation.REPEATABLE_READ, readOnly = true)
+	public long exportProducts(String mission, String[] productClass, String mode, String fileClass, String quality,
+			String startTimeFrom, String startTimeTo, String genTimeFrom, String genTimeTo, Boolean onlyWithFile, Long jobStepId,
+			OutputStream out) throws IOException, SecurityException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> exportProducts({}, {}, {}, {}, {}, {}, {}, {}, {}, {}, OutputStream)", mission,
+					(null == productClass ? "null" : Arrays.asList(productClass).toString()), mode, fileClass, quality,
+					startTimeFrom, startTimeTo, genTimeFrom, genTimeTo, jobStepId);
+
+		long startTime = System.currentTimeMillis();
+		mission = checkMission(mission);
+
+		int chunkSize = Math.max(1, ingestorConfig.getPageSize());
+		long exported = 0;
+		long lastId = 0L;
+		while (true) {
+			Query query = createProductsQuery(mission, productClass, mode, fileClass, quality, startTimeFrom, startTimeTo,
+					genTimeFrom, genTimeTo, null, null, onlyWithFile, jobStepId, null, false, lastId);
+			query.setMaxResults(chunkSize);
+			List<?> resultList = query.getResultList();
+			if (resultList.isEmpty()) {
+				break;
+			}
+			for (Object resultObject : resultList) {
+				if (resultObject instanceof Product) {
+					Product product = (Product) resultObject;
+					out.write(objectMapper.writeValueAsBytes(ProductUtil.toRestProduct(product)));
+					out.write('\n');
+					lastId = product.getId();
+					++exported;
+				}
+			}
+			out.flush();
+
+			// Release the products of this chunk
+			em.clear();
+
+			if (resultList.size() < chunkSize) {
+				break;
+			}
+		}
+
+		logger.log(IngestorMessage.PRODUCTS_EXPORTED, exported, mission,
+				(null == productClass ? "null" : Arrays.asList(productClass).toString()), System.currentTimeMillis() - startTime);
+
+		return exported;
+	}
+
+	/**
+	 * Determine the mission for a product search and ensure the user is authorized for it
+	 *
+	 * @param mission the requested mission code (may be null)
+	 * @return the requested mission code or the mission of the logged in user, if no mission was requested
+	 * @throws SecurityException if a cross-mission data access was attempted
+	 */
+	/* package */ String checkMission(String mission) throws SecurityException {
+		if (null == mission) {
+			return securityService.getMission();
+		}
+		// Ensure user is authorized for the requested mission
+		if (!securityService.isAuthorizedForMission(mission)) {
+			throw new SecurityException(
+					logger.log(GeneralMessage.ILLEGAL_CROSS_MISSION_ACCESS, mission, securityService.getMission()));
+		}
+		return mission;
+	}
+
+	/**
+	 * Create an (opaque) continuation token from the database ID of the last product on a page
+	 *
+	 * @param lastId the database ID of the last product on the page
+	 * @return the continuation token
+	 */
+	private static String encodeContinuationToken(long lastId) {
+		return Base64.getUrlEncoder()
+			.withoutPadding()
+			.encodeToString((CONTINUATION_TOKEN_PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * Extract the database ID of the last product of the previous page from a continuation token
+	 *
+	 * @param continuationToken the continuation token (may be null)
+	 * @return the database ID of the last product of the previous page, or 0, if no continuation token was given
+	 * @throws IllegalArgumentException if the continuation token is invalid
+	 */
+	private static long decodeContinuationToken(String continuationToken) throws IllegalArgumentException {
+		if (null == continuationToken || continuationToken.isBlank()) {
+			return 0L;
+		}
+		String token;
+		try {
+			token = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.US_ASCII);
+		} catch (IllegalArgumentException e) {
+			token = "";
+		}
+		if (token.startsWith(CONTINUATION_TOKEN_PREFIX)) {
+			try {
+				return Long.parseLong(token.substring(CONTINUATION_TOKEN_PREFIX.length()));
+			} catch (NumberFormatException e) {
+				// Handled below
+			}
+		}
+		throw new IllegalArgumentException(logger.log(IngestorMessage.INVALID_CONTINUATION_TOKEN, continuationToken));
+	}
+
 	/**
 	 * Create a product from the given Json object (does NOT create associated
 	 * product files!)
@@ -875,6 +1094,10 @@ public class ProductManager {
 			productChanged = true;
 			modelProduct.getParameters().remove(modelParamKey);
 		}
+		// Derive footprint from (possibly changed) coordinates
+		if (modelProduct.updateFootprint()) {
+			productChanged = true;
+		}
 
 		// Save product only if anything was actually changed
 		if (productChanged) {
@@ -970,9 +1193,35 @@ public class ProductManager {
 	private Query createProductsQuery(String mission, String[] productClass, String mode, String fileClass, String quality,
 			String startTimeFrom, String startTimeTo, String genTimeFrom, String genTimeTo, Integer recordFrom, Integer recordTo,
 			Boolean onlyWithFile, Long jobStepId, String[] orderBy, Boolean count) {
+		return createProductsQuery(mission, productClass, mode, fileClass, quality, startTimeFrom, startTimeTo, genTimeFrom,
+				genTimeTo, recordFrom, recordTo, onlyWithFile, jobStepId, orderBy, count, null);
+	}
+
+	/**
+	 * Create a JPQL query to retrieve the requested set of products, optionally restricted to products with a database ID
+	 * greater than the given one and ordered by database ID (keyset pagination)
+	 *
+	 * @param mission       the mission code (will be set to logged in mission, if
+	 *                      not given; otherwise must match logged in mission)
+	 * @param productClass  an array of product types
+	 * @param startTimeFrom earliest sensing start time
+	 * @param startTimeTo   latest sensing start time
+	 * @param recordFrom    first record of filtered and ordered result to return
+	 * @param recordTo      last record of filtered and ordered result to return
+	 * @param onlyWithFile	if true, only returns products having at least one product file on any of the processing facilities
+	 * @param jobStepId     get input products of job step
+	 * @param orderBy       an array of strings containing a column name and an
+	 *                      optional sort direction (ASC/DESC), separated by white
+	 *                      space (ignored for keyset pagination)
+	 * @param afterId       if not null, only products with a greater database ID are selected, ordered by database ID
+	 * @return JPQL Query
+	 */
+	private Query createProductsQuery(String mission, String[] productClass, String mode, String fileClass, String quality,
+			String startTimeFrom, String startTimeTo, String genTimeFrom, String genTimeTo, Integer recordFrom, Integer recordTo,
+			Boolean onlyWithFile, Long jobStepId, String[] orderBy, Boolean count, Long afterId) {
 		if (logger.isTraceEnabled())
-			logger.trace(">>> createProductsQuery({}, {}, {}, {}, {}, {}, {}, {}, {})", mission, productClass, startTimeFrom,
-					startTimeTo, recordFrom, recordTo, jobStepId, orderBy, count);
+			logger.trace(">>> createProductsQuery({}, {}, {}, {}, {}, {}, {}, {}, {}, {})", mission, productClass, startTimeFrom,
+					startTimeTo, recordFrom, recordTo, jobStepId, orderBy, count, afterId);
 
 		// Find using search parameters
 		String jpqlQuery = null;
@@ -1045,8 +1294,15 @@ public class ProductManager {
 			jpqlQuery += ")";
 		}
 
+		// keyset restriction
+		if (null != afterId) {
+			jpqlQuery += " and p.id > :afterId";
+		}
+
 		// order by
-		if (null != orderBy && 0 < orderBy.length) {
+		if (null != afterId && !count) {
+			jpqlQuery += " order by p.id";
+		} else if (null != orderBy && 0 < orderBy.length) {
 			jpqlQuery += " order by ";
 			for (int i = 0; i < orderBy.length; ++i) {
 				if (0 < i)
@@ -1093,6 +1349,9 @@ public class ProductManager {
 		if (jobStepId != null) {
 			query.setParameter("jobStepId", jobStepId);
 		}
+		if (afterId != null) {
+			query.setParameter("afterId", afterId);
+		}
 
 		// length of record list
 		if (recordFrom != null && recordFrom >= 0) {
@@ -261,6 +261,7 @@ public class ProductUtil {
 			}
 			modelProduct.getParameters().put(restParameter.getKey(), modelParameter);
 		}
+		modelProduct.updateFootprint();
 
 		return modelProduct;
 	}
@@ -0,0 +1,368 @@
+/**
+ * ProductIngestorTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.ingestor.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+
+import de.dlr.proseo.ingestor.IngestorApplication;
+import de.dlr.proseo.ingestor.IngestorConfiguration;
+import de.dlr.proseo.ingestor.IngestorTestConfiguration;
+import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.model.DownloadHistory;
+import de.dlr.proseo.model.Footprint;
+import de.dlr.proseo.model.Job;
+import de.dlr.proseo.model.JobStep;
+import de.dlr.proseo.model.Mission;
+import de.dlr.proseo.model.Parameter;
+import de.dlr.proseo.model.ProcessingFacility;
+import de.dlr.proseo.model.ProcessingOrder;
+import de.dlr.proseo.model.Product;
+import de.dlr.proseo.model.ProductClass;
+import de.dlr.proseo.model.ProductFile;
+import de.dlr.proseo.model.ProductQuery;
+import de.dlr.proseo.model.enums.ParameterType;
+import de.dlr.proseo.model.enums.StorageType;
+import de.dlr.proseo.model.service.RepositoryService;
+
+/**
+ * Test class for the product eviction and the footprint backfill of ProductIngestor
+ *
+ * @author Dr. Thomas Bassler
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = IngestorApplication.class)
+@Transactional
+public class ProductIngestorTest {
+
+	/* Various static test data */
+	private static final String TEST_CODE = "UTM";
+	private static final String TEST_PRODUCT_TYPE = "L2__FRESCO_";
+	private static final String TEST_NAME = "Test Facility";
+	private static final String TEST_FILE_PATH = "UTM/eviction";
+	private static final String TEST_FAILING_PATH = "UTM/failing";
+	private static final String TEST_MISSING_PATH = "UTM/missing";
+	private static final String URL_STORAGE_MGR_DELETE = "/storage-mgr/products/delete";
+	private static final String EVICTED_DELETIONS = "["
+			+ "{\"filePath\":\"UTM/eviction/evicted_aux1.xml\",\"deleted\":true},"
+			+ "{\"filePath\":\"UTM/eviction/evicted_aux2.xml\",\"deleted\":true},"
+			+ "{\"filePath\":\"UTM/eviction/evicted.nc\",\"deleted\":true},"
+			+ "{\"filePath\":\"UTM/eviction/evicted.zip\",\"deleted\":true},"
+			+ "{\"filePath\":\"UTM/missing/missing.nc\",\"deleted\":true}]";
+	private static final String FAILING_DELETIONS = "["
+			+ "{\"filePath\":\"UTM/failing/failing.nc\",\"deleted\":false,\"message\":\"Permission denied\"}]";
+
+	/** The product ingestor under test */
+	@Autowired
+	private ProductIngestor productIngestor;
+
+	/** Ingestor configuration */
+	@Autowired
+	private IngestorConfiguration ingestorConfig;
+
+	/** Test configuration */
+	@Autowired
+	private IngestorTestConfiguration config;
+
+	/** JPA entity manager */
+	@PersistenceContext
+	private EntityManager em;
+
+	/** Mocking the storage manager */
+	private static int WIREMOCK_PORT = 8080;
+	@ClassRule
+	public static WireMockRule wireMockRule = new WireMockRule(WIREMOCK_PORT);
+
+	/** The test processing facility */
+	private ProcessingFacility facility;
+
+	/** The test product class */
+	private ProductClass prodClass;
+
+	/** The original cleanup chunk size */
+	private Integer originalChunkSize;
+
+	/** A logger for this class */
+	private static ProseoLogger logger = new ProseoLogger(ProductIngestorTest.class);
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		wireMockRule.start();
+
+		wireMockRule.stubFor(WireMock.post(WireMock.urlPathEqualTo(URL_STORAGE_MGR_DELETE))
+			.atPriority(5)
+			.willReturn(WireMock.aResponse().withStatus(500)));
+		wireMockRule.stubFor(WireMock.post(WireMock.urlPathEqualTo(URL_STORAGE_MGR_DELETE))
+			.withRequestBody(WireMock.containing(TEST_FILE_PATH + "/evicted.nc"))
+			.atPriority(1)
+			.willReturn(WireMock.aResponse()
+				.withStatus(200)
+				.withHeader("Content-Type", "application/json")
+				.withBody(EVICTED_DELETIONS)));
+		wireMockRule.stubFor(WireMock.post(WireMock.urlPathEqualTo(URL_STORAGE_MGR_DELETE))
+			.withRequestBody(WireMock.containing(TEST_FAILING_PATH))
+			.atPriority(1)
+			.willReturn(WireMock.aResponse()
+				.withStatus(200)
+				.withHeader("Content-Type", "application/json")
+				.withBody(FAILING_DELETIONS)));
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		wireMockRule.resetRequests();
+
+		Mission mission = new Mission();
+		mission.setCode(TEST_CODE);
+		mission = RepositoryService.getMissionRepository().save(mission);
+
+		prodClass = new ProductClass();
+		prodClass.setMission(mission);
+		prodClass.setProductType(TEST_PRODUCT_TYPE);
+		prodClass = RepositoryService.getProductClassRepository().save(prodClass);
+
+		facility = new ProcessingFacility();
+		facility.setName(TEST_NAME);
+		facility.setProcessingEngineUrl("not used");
+		facility.setStorageManagerUrl(config.getStorageManagerUrl());
+		facility.setStorageManagerUser("testuser");
+		facility.setStorageManagerPassword("testpwd");
+		facility.setDefaultStorageType(StorageType.POSIX);
+		facility = RepositoryService.getFacilityRepository().save(facility);
+
+		// Use small chunks to cover the keyset pagination
+		originalChunkSize = ingestorConfig.getCleanupChunkSize();
+		ReflectionTestUtils.setField(ingestorConfig, "cleanupChunkSize", 2);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		ReflectionTestUtils.setField(ingestorConfig, "cleanupChunkSize", originalChunkSize);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		wireMockRule.stop();
+	}
+
+	/**
+	 * Create a product with a product file at the test processing facility
+	 *
+	 * @param evictionTime the eviction time of the product
+	 * @param filePath     the storage path of the product file
+	 * @param fileName     the name of the product file
+	 * @return the product file
+	 */
+	private ProductFile createProductFile(Instant evictionTime, String filePath, String fileName) {
+		Product product = new Product();
+		product.setProductClass(prodClass);
+		product.setUuid(UUID.randomUUID());
+		product.setSensingStartTime(Instant.now());
+		product.setSensingStopTime(Instant.now());
+		product.setGenerationTime(Instant.now());
+		product.setEvictionTime(evictionTime);
+		product = RepositoryService.getProductRepository().save(product);
+
+		ProductFile productFile = new ProductFile();
+		productFile.setProduct(product);
+		productFile.setProcessingFacility(facility);
+		productFile.setStorageType(StorageType.POSIX);
+		productFile.setFilePath(filePath);
+		productFile.setProductFileName(fileName);
+		productFile = RepositoryService.getProductFileRepository().save(productFile);
+		product.getProductFile().add(productFile);
+
+		return productFile;
+	}
+
+	/**
+	 * Let the given product satisfy a product query of a job step on the test processing facility
+	 *
+	 * @param product the product to link
+	 */
+	private void createSatisfiedQuery(Product product) {
+		ProcessingOrder order = new ProcessingOrder();
+		order.setMission(prodClass.getMission());
+		order.setIdentifier("Eviction test order");
+		order.setUuid(UUID.randomUUID());
+		em.persist(order);
+
+		Job job = new Job();
+		job.setProcessingOrder(order);
+		job.setProcessingFacility(facility);
+		em.persist(job);
+
+		JobStep jobStep = new JobStep();
+		jobStep.setJob(job);
+		em.persist(jobStep);
+
+		ProductQuery productQuery = new ProductQuery();
+		productQuery.setJobStep(jobStep);
+		productQuery.setRequestedProductClass(prodClass);
+		productQuery.getSatisfyingProducts().add(product);
+		em.persist(productQuery);
+		product.getSatisfiedProductQueries().add(productQuery);
+	}
+
+	/**
+	 * Test method for {@link de.dlr.proseo.ingestor.rest.ProductIngestor#deleteProductFilesOlderThan(java.time.Instant)}.
+	 *
+	 * Test: Evict expired product files in chunks, keeping files which are not expired, required by a job step or could not
+	 * be deleted from the storage
+	 *
+	 * Precondition: Processing facility exists, product class exists, mock storage manager exists
+	 */
+	@Test
+	public final void testDeleteProductFilesOlderThan() {
+		logger.trace(">>> testDeleteProductFilesOlderThan()");
+
+		Instant now = Instant.now();
+		Instant expired = now.minus(1, ChronoUnit.DAYS);
+
+		// Expired product file with auxiliary and ZIP files and a download history
+		ProductFile evicted = createProductFile(expired, TEST_FILE_PATH, "evicted.nc");
+		evicted.getAuxFileNames().add("evicted_aux1.xml");
+		evicted.getAuxFileNames().add("evicted_aux2.xml");
+		evicted.setZipFileName("evicted.zip");
+		evicted = RepositoryService.getProductFileRepository().save(evicted);
+		Product evictedProduct = evicted.getProduct();
+		DownloadHistory downloadHistory = new DownloadHistory();
+		downloadHistory.setProductFile(evicted);
+		downloadHistory.setUsername("UTM-testuser");
+		downloadHistory.setProductFileName("evicted.zip");
+		downloadHistory.setProductFileSize(4711L);
+		downloadHistory.setDateTime(expired);
+		evictedProduct.getDownloadHistory().add(downloadHistory);
+		RepositoryService.getProductRepository().save(evictedProduct);
+
+		// Expired product file already deleted from the storage
+		ProductFile missing = createProductFile(expired, TEST_MISSING_PATH, "missing.nc");
+
+		// Expired product file, which cannot be deleted from the storage
+		ProductFile failing = createProductFile(expired, TEST_FAILING_PATH, "failing.nc");
+
+		// Expired product file required by a job step
+		ProductFile required = createProductFile(expired, TEST_FILE_PATH, "required.nc");
+		createSatisfiedQuery(required.getProduct());
+
+		// Product file not yet expired
+		ProductFile current = createProductFile(now.plus(1, ChronoUnit.DAYS), TEST_FILE_PATH, "current.nc");
+
+		em.flush();
+
+		productIngestor.deleteProductFilesOlderThan(now);
+
+		// Check the database state
+		assertFalse("Evicted product file still exists",
+				RepositoryService.getProductFileRepository().findById(evicted.getId()).isPresent());
+		assertFalse("Product file missing in storage still exists",
+				RepositoryService.getProductFileRepository().findById(missing.getId()).isPresent());
+		assertTrue("Product file with failed deletion removed",
+				RepositoryService.getProductFileRepository().findById(failing.getId()).isPresent());
+		assertTrue("Required product file removed",
+				RepositoryService.getProductFileRepository().findById(required.getId()).isPresent());
+		assertTrue("Current product file removed",
+				RepositoryService.getProductFileRepository().findById(current.getId()).isPresent());
+		assertEquals("Unexpected number of auxiliary file names", 0L,
+				((Number) em.createNativeQuery("SELECT count(*) FROM product_file_aux_file_names").getSingleResult()).longValue());
+
+		Product reloadedProduct = RepositoryService.getProductRepository().findById(evictedProduct.getId()).get();
+		assertTrue("Evicted product still has product files", reloadedProduct.getProductFile().isEmpty());
+		assertEquals("Download history not retained", 1, reloadedProduct.getDownloadHistory().size());
+		assertNull("Download history still linked to product file",
+				reloadedProduct.getDownloadHistory().iterator().next().getProductFile());
+
+		// Check the storage manager calls: one batch request per chunk with storage files to delete
+		wireMockRule.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo(URL_STORAGE_MGR_DELETE))
+			.withRequestBody(WireMock.containing(TEST_FILE_PATH + "/evicted.zip"))
+			.withRequestBody(WireMock.containing(TEST_MISSING_PATH + "/missing.nc")));
+		wireMockRule.verify(2, WireMock.postRequestedFor(WireMock.urlPathEqualTo(URL_STORAGE_MGR_DELETE)));
+		wireMockRule.verify(0, WireMock.postRequestedFor(WireMock.urlPathEqualTo(URL_STORAGE_MGR_DELETE))
+			.withRequestBody(WireMock.containing("required.nc")));
+	}
+
+	/**
+	 * Test method for {@link de.dlr.proseo.ingestor.rest.ProductIngestor#backfillFootprints()}.
+	 *
+	 * Test: Derive the footprints of products listed in the backfill table from their "coordinates" parameter
+	 *
+	 * Precondition: Product class exists, backfill table exists
+	 */
+	@Test
+	public final void testBackfillFootprints() {
+		logger.trace(">>> testBackfillFootprints()");
+
+		Product withCoordinates = createProductFile(Instant.now(), TEST_FILE_PATH, "coordinates.nc").getProduct();
+		withCoordinates.getParameters().put(Footprint.COORDINATES_PARAMETER,
+				new Parameter().init(ParameterType.STRING, "50.0 10.0 50.0 12.0 52.0 12.0 52.0 10.0 50.0 10.0"));
+		withCoordinates = RepositoryService.getProductRepository().save(withCoordinates);
+		Product withoutCoordinates = createProductFile(Instant.now(), TEST_FILE_PATH, "plain.nc").getProduct();
+		em.flush();
+
+		// Simulate the state after the database schema update
+		em.createNativeQuery("UPDATE product SET footprint_wkb = NULL, footprint_min_latitude = NULL WHERE id = :id")
+			.setParameter("id", withCoordinates.getId())
+			.executeUpdate();
+		for (Product product : new Product[] { withCoordinates, withoutCoordinates }) {
+			em.createNativeQuery("INSERT INTO " + Footprint.BACKFILL_TABLE + " (product_id) VALUES (:id)")
+				.setParameter("id", product.getId())
+				.executeUpdate();
+		}
+		em.clear();
+
+		assertEquals("Unexpected number of products processed", 2L, productIngestor.backfillFootprints());
+		em.flush();
+		em.clear();
+
+		Footprint footprint = RepositoryService.getProductRepository().findById(withCoordinates.getId()).get().getFootprint();
+		assertNotNull("Footprint not derived", footprint);
+		assertEquals(50.0, footprint.getMinLatitude(), 0.0);
+		assertEquals(12.0, footprint.getMaxLongitude(), 0.0);
+		assertNull("Unexpected footprint",
+				RepositoryService.getProductRepository().findById(withoutCoordinates.getId()).get().getFootprint());
+		assertEquals("Backfill table not emptied", 0L,
+				((Number) em.createNativeQuery("SELECT count(*) FROM " + Footprint.BACKFILL_TABLE).getSingleResult()).longValue());
+	}
+
+}
@@ -0,0 +1,203 @@
+/**
+ * ProductListingBenchmark.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.ingestor.rest;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.NoResultException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.dlr.proseo.ingestor.IngestorApplication;
+import de.dlr.proseo.ingestor.rest.model.RestProduct;
+import de.dlr.proseo.ingestor.rest.model.RestProductPage;
+import de.dlr.proseo.model.Mission;
+import de.dlr.proseo.model.Product;
+import de.dlr.proseo.model.ProductClass;
+import de.dlr.proseo.model.enums.ProductVisibility;
+import de.dlr.proseo.model.service.RepositoryService;
+
+/**
+ * JMH benchmark for listing all products of a large product class on a synthetic catalogue: walking the offset-paginated
+ * product list (with a count query per page, as done by the CLI and GUI before) compared to walking the keyset-paginated
+ * product pages and to the streaming NDJSON export. Not run as part of the unit tests; to run it, call the main method with
+ * the test class path of this module (the in-memory database from the test configuration is used).
+ *
+ * @author Dr. Thomas Bassler
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductListingBenchmark {
+
+	/* Test data */
+	private static final String TEST_CODE = "UTM";
+	private static final String TEST_USER = "UTM-benchmark";
+	private static final String TEST_PRODUCT_TYPE = "L2__FRESCO_";
+	private static final int PAGE_SIZE = 1000;
+
+	/** The number of products in the catalogue */
+	@Param({ "10000", "50000" })
+	public int catalogueSize;
+
+	/** The Spring application context */
+	private ConfigurableApplicationContext context;
+
+	/** The product manager under test */
+	private ProductManager productManager;
+
+	/**
+	 * Start the application and create the synthetic product catalogue
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(IngestorApplication.class).web(WebApplicationType.NONE).run();
+		productManager = context.getBean(ProductManager.class);
+
+		// The benchmark methods run in different threads than the setup
+		SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+		SecurityContextHolder.getContext()
+			.setAuthentication(new UsernamePasswordAuthenticationToken(TEST_USER, "password", new ArrayList<>()));
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		ProductClass prodClass = transactionTemplate.execute((status) -> {
+			Mission mission = new Mission();
+			mission.setCode(TEST_CODE);
+			mission = RepositoryService.getMissionRepository().save(mission);
+
+			ProductClass newClass = new ProductClass();
+			newClass.setMission(mission);
+			newClass.setProductType(TEST_PRODUCT_TYPE);
+			newClass.setVisibility(ProductVisibility.PUBLIC);
+			return RepositoryService.getProductClassRepository().save(newClass);
+		});
+
+		Instant start = Instant.parse("2026-01-01T00:00:00Z");
+		for (int i = 0; i < catalogueSize; i += PAGE_SIZE) {
+			final int first = i;
+			transactionTemplate.executeWithoutResult((status) -> {
+				List<Product> products = new ArrayList<>();
+				for (int j = first; j < Math.min(first + PAGE_SIZE, catalogueSize); ++j) {
+					Product product = new Product();
+					product.setProductClass(prodClass);
+					product.setUuid(UUID.randomUUID());
+					product.setSensingStartTime(start.plus(j, ChronoUnit.MINUTES));
+					product.setSensingStopTime(start.plus(j + 1, ChronoUnit.MINUTES));
+					product.setGenerationTime(start.plus(j + 2, ChronoUnit.MINUTES));
+					products.add(product);
+				}
+				RepositoryService.getProductRepository().saveAll(products);
+			});
+		}
+	}
+
+	/**
+	 * Shut down the application
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SecurityContextHolder.clearContext();
+		context.close();
+	}
+
+	/**
+	 * List all products with offset pagination
+	 *
+	 * @return the number of products listed
+	 */
+	@Benchmark
+	public long offsetPagination() {
+		long count = 0;
+		for (int recordFrom = 0;; recordFrom += PAGE_SIZE) {
+			List<RestProduct> products;
+			try {
+				products = productManager.getProducts(TEST_CODE, null, null, null, null, null, null, null, null, recordFrom,
+						recordFrom + PAGE_SIZE, false, null, new String[] { "id" });
+			} catch (NoResultException e) {
+				break;
+			}
+			count += products.size();
+			if (products.size() < PAGE_SIZE) {
+				break;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * List all products with keyset pagination
+	 *
+	 * @return the number of products listed
+	 */
+	@Benchmark
+	public long keysetPagination() {
+		long count = 0;
+		String continuationToken = null;
+		do {
+			RestProductPage page = productManager.getProductPage(TEST_CODE, null, null, null, null, null, null, null, null, false,
+					null, continuationToken, PAGE_SIZE, false);
+			count += page.getProducts().size();
+			continuationToken = page.getContinuationToken();
+		} while (null != continuationToken);
+		return count;
+	}
+
+	/**
+	 * Export all products as newline-delimited JSON
+	 *
+	 * @return the number of products exported
+	 * @throws Exception if the export fails
+	 */
+	@Benchmark
+	public long streamingExport() throws Exception {
+		return productManager.exportProducts(TEST_CODE, null, null, null, null, null, null, null, null, false, null,
+				OutputStream.nullOutputStream());
+	}
+
+	/**
+	 * Run the benchmark
+	 *
+	 * @param args not used
+	 * @throws RunnerException if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder().include(ProductListingBenchmark.class.getSimpleName()).build();
+		new Runner(options).run();
+	}
+
+}
@@ -39,3 +39,6 @@ alter table users_group_memberships add constraint if not exists FKhbcokg6kjsft2
 
 
 
+
+-- Footprint backfill table (created by the database schema update of 2026-10-19)
+create table if not exists product_footprint_backfill (product_id bigint not null primary key);
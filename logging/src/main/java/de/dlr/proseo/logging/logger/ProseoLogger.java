@@ -6,8 +6,12 @@
 package de.dlr.proseo.logging.logger;
 
 import java.text.MessageFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
 
 import ch.qos.logback.classic.Logger;
 import de.dlr.proseo.logging.messages.ProseoMessage;
@@ -15,10 +19,26 @@ import de.dlr.proseo.logging.messages.ProseoMessage;
 /**
  * A centralized logging mechanism for ProsEO.
  *
+ * Message patterns are parsed only once per message type. Log calls, for which the return value is not needed, should use
+ * {@link #emit(ProseoMessage, Object...)}, which does not format the message at all, if the message level is disabled.
+ *
+ * If the system property "proseo.logging.structured" is set to "true", messages are logged as unformatted pattern with the
+ * message code and parameters as key-value pairs ("code", "arg0", "arg1", ...), which can be output as separate fields by
+ * structured encoders (e. g. Logback's JsonEncoder).
+ *
  * @author Katharina Bassler
  */
 public final class ProseoLogger {
 
+	/** System property to enable structured logging of message codes and parameters */
+	public static final String STRUCTURED_LOGGING_PROPERTY = "proseo.logging.structured";
+
+	/** Flag indicating whether messages are logged with structured key-value pairs */
+	private static volatile boolean structured = Boolean.getBoolean(STRUCTURED_LOGGING_PROPERTY);
+
+	/** Parsed message formats per message type (MessageFormat is not thread-safe, so usage must be synchronized) */
+	private static final Map<ProseoMessage, MessageFormat> messageFormats = new ConcurrentHashMap<>();
+
 	private final Logger logger;
 
 	/**
@@ -30,6 +50,24 @@ public final class ProseoLogger {
 		this.logger = (Logger) LoggerFactory.getLogger(clazz);
 	}
 
+	/**
+	 * Checks whether messages are logged with structured key-value pairs
+	 *
+	 * @return true, if structured logging is enabled, false otherwise
+	 */
+	public static boolean isStructured() {
+		return structured;
+	}
+
+	/**
+	 * Enables or disables logging of messages with structured key-value pairs
+	 *
+	 * @param structured true, if structured logging shall be enabled, false otherwise
+	 */
+	public static void setStructured(boolean structured) {
+		ProseoLogger.structured = structured;
+	}
+
 	/**
 	 * Logging with automatic formatting including level, code, and message.
 	 *
@@ -44,29 +82,100 @@ public final class ProseoLogger {
 
 		String logged = format(type, msgParameters);
 
-		switch (type.getLevel()) {
+		if (isEnabled(type)) {
+			if (structured) {
+				logStructured(type, msgParameters);
+			} else {
+				write(type.getLevel(), logged);
+			}
+		}
+		return logged;
+	}
+
+	/**
+	 * Logging with automatic formatting including level, code, and message, if the message's level is enabled. In contrast to
+	 * {@link #log(ProseoMessage, Object...)} the message is neither formatted nor returned, if the level is disabled, so this
+	 * method is to be preferred on frequently executed code paths.
+	 *
+	 * @param type          The enum specifying the type of the message.
+	 * @param msgParameters The message's parameters.
+	 */
+	public void emit(ProseoMessage type, Object... msgParameters) {
+		if (type == null) {
+			throw new IllegalArgumentException("Please specify the type of the message.");
+		}
+
+		if (!isEnabled(type)) {
+			return;
+		}
+
+		if (structured) {
+			logStructured(type, msgParameters);
+		} else {
+			write(type.getLevel(), format(type, msgParameters));
+		}
+	}
+
+	/**
+	 * Checks whether the level of the given message type is enabled for this logger.
+	 *
+	 * @param type The enum specifying the type of the message.
+	 * @return true, if messages of this type will be logged, false otherwise
+	 */
+	public boolean isEnabled(ProseoMessage type) {
+		return logger.isEnabledForLevel(type.getLevel());
+	}
+
+	/**
+	 * Log a formatted message at the given level.
+	 *
+	 * @param level  The message level.
+	 * @param logged The formatted message.
+	 */
+	private void write(Level level, String logged) {
+		switch (level) {
 		case INFO:
-			if (logger.isInfoEnabled())
-				logger.info(logged);
+			logger.info(logged);
 			break;
 		case WARN:
-			if (logger.isWarnEnabled())
-				logger.warn(logged);
+			logger.warn(logged);
 			break;
 		case ERROR:
-			if (logger.isErrorEnabled())
-				logger.error(logged);
+			logger.error(logged);
 			break;
 		case DEBUG:
-			if (logger.isDebugEnabled())
-				logger.debug(logged);
+			logger.debug(logged);
 			break;
 		case TRACE:
-			if (logger.isTraceEnabled())
-				logger.trace(logged);
+			logger.trace(logged);
 			break;
 		}
-		return logged;
+	}
+
+	/**
+	 * Log the unformatted message pattern with the message code and parameters as key-value pairs.
+	 *
+	 * @param type          The enum specifying the type of the message.
+	 * @param msgParameters The message's parameters.
+	 */
+	private void logStructured(ProseoMessage type, Object... msgParameters) {
+		LoggingEventBuilder eventBuilder = logger.atLevel(type.getLevel()).addKeyValue("code", type.getCode());
+		if (null != msgParameters) {
+			for (int i = 0; i < msgParameters.length; ++i) {
+				eventBuilder = eventBuilder.addKeyValue("arg" + i, msgParameters[i]);
+			}
+		}
+		eventBuilder.log("(" + levelPrefix(type.getLevel()) + type.getCode() + ") " + type.getMessage());
+	}
+
+	/**
+	 * Gets the prefix character for the given message level.
+	 *
+	 * @param level The message level.
+	 * @return The first letter of the level name.
+	 */
+	private static char levelPrefix(Level level) {
+		return level.name().charAt(0);
 	}
 
 	/**
@@ -84,25 +193,11 @@ public final class ProseoLogger {
 		String formatted = "";
 
 		try {
-
-			switch (type.getLevel()) {
-			case INFO:
-				formatted = MessageFormat.format("(I" + type.getCode() + ") " + type.getMessage(), msgParameters);
-				break;
-			case WARN:
-				formatted = MessageFormat.format("(W" + type.getCode() + ") " + type.getMessage(), msgParameters);
-				break;
-			case ERROR:
-				formatted = MessageFormat.format("(E" + type.getCode() + ") " + type.getMessage(), msgParameters);
-				break;
-			case DEBUG:
-				formatted = MessageFormat.format("(D" + type.getCode() + ") " + type.getMessage(), msgParameters);
-				break;
-			case TRACE:
-				formatted = MessageFormat.format("(T" + type.getCode() + ") " + type.getMessage(), msgParameters);
-				break;
+			MessageFormat messageFormat = messageFormats.computeIfAbsent(type,
+					t -> new MessageFormat("(" + levelPrefix(t.getLevel()) + t.getCode() + ") " + t.getMessage()));
+			synchronized (messageFormat) {
+				formatted = messageFormat.format(msgParameters);
 			}
-
 		} catch (Exception e) {
 			Logger errorLogger = (Logger) LoggerFactory.getLogger(ProseoLogger.class);
 			errorLogger.error("A message format error occured with message type " + type);
@@ -27,6 +27,10 @@ public enum GeotoolsMessage implements ProseoMessage {
 	BOUNDS_IO_SHAPE_FILE		(1510, Level.ERROR, false, "An error occured calculating the bounds of shape file {0}: {1}" ,""),
 	ARGUMENT_MISSING			(1511, Level.ERROR, false, "The {0} argument is missing", ""),
 	INVALID_FILE_TYPE			(1512, Level.ERROR, false, "{0} is not a valid shape file type. Valid types are: SHP, KML, GEOJSON", ""),
+	SHAPE_INDEX_CREATED			(1513, Level.INFO, true, "Spatial index for shape file {0} created with {1} geometries in {2} ms", ""),
+	SHAPE_FILE_CHANGED			(1514, Level.INFO, true, "Shape file {0} changed, reloading shape files", ""),
+	SHAPE_FILE_INIT_FAILED		(1515, Level.ERROR, false, "Initialization of shape files failed (cause: {0})", ""),
+	BATCH_CHECKED				(1516, Level.INFO, true, "{0} of {1} geometries match areas {2}", ""),
 
 	;
 
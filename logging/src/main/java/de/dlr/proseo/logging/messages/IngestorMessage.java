@@ -83,6 +83,14 @@ public enum IngestorMessage implements ProseoMessage {
 	PRODUCT_LIST_MISSING				(2070, Level.ERROR, false, "No product list given for ingestion", ""),
 	ORDERGEN_NOTIFICATION_FAILED		(2071, Level.WARN, true, "Notification of Order Generator failed (cause: {0})", ""),
 	ERROR_NOTIFYING_ORDERGEN			(2072, Level.ERROR, false, "Error notifying prosEO Order Generator of new product {0} of type {1} (Production Planner cause: {2})", ""),
+	PRODUCT_FILES_EVICTED_CHUNK			(2073, Level.INFO, true, "Eviction chunk processed: {0} product files deleted, {1} skipped (required by job steps), {2} failed, {3} storage files deleted ({4} files/s)", ""),
+	PRODUCT_EVICTION_COMPLETED			(2074, Level.INFO, true, "Product eviction completed: {0} product files deleted, {1} skipped, {2} failed in {3} ms", ""),
+	STORAGE_FILE_DELETION_FAILED		(2075, Level.WARN, true, "Deletion of file {0} from processing facility {1} failed (cause: {2})", ""),
+	INVALID_CONTINUATION_TOKEN			(2076, Level.ERROR, false, "Invalid continuation token {0}", ""),
+	PRODUCT_PAGE_RETRIEVED				(2077, Level.INFO, true, "Product page of size {0} retrieved for mission {1}, product classes {2} (more results: {3})", ""),
+	PRODUCTS_EXPORTED					(2078, Level.INFO, true, "{0} products exported for mission {1}, product classes {2} in {3} ms", ""),
+	FOOTPRINT_BACKFILL_COMPLETED		(2079, Level.INFO, true, "Footprint backfill completed: {0} products updated in {1} ms", ""),
+	FOOTPRINT_BACKFILL_FAILED			(2080, Level.ERROR, false, "Footprint backfill failed after {0} products (cause: {1})", ""),
 	
 	;
 
@@ -26,6 +26,7 @@ public enum ModelMessage implements ProseoMessage {
 	PROPERTY_COLUMNS_FOUND				(2510, Level.WARN, true, "Found {0} columns for property {1}", ""),
 	ATTRIBUTE_COLUMN_MAP_NOT_GENERATED	(2511, Level.ERROR, false, "Cannot generate attribute/column map (cause: {0})", ""),
 	INCOMPLETE_PRODUCT_QUERY			(2512, Level.ERROR, false, "Incomplete product query {0}", ""),
+	INVALID_FOOTPRINT					(2513, Level.WARN, true, "Cannot derive footprint for product {0} from coordinates ''{1}'' (cause: {2})", ""),
 	
 	;
 
@@ -51,6 +51,13 @@ public enum OrderGenMessage implements ProseoMessage {
 	WARN_UNEXPECTED_STATUS					(4739, Level.ERROR, false, "Unexpected HTTP status {0} received", ""),
 	HTTP_REQUEST_FAILED						(4740, Level.ERROR, false, "HTTP request failed (cause: {0})", ""),
 	TRIGGER_NOT_ENABLED    					(4741, Level.ERROR, false, "Trigger referenced by name {0} is disabled (not useable)", ""),
+	PRODUCT_IDS_MISSING						(4742, Level.ERROR, false, "No input product IDs given", ""),
+	BATCH_ORDERS_GENERATED					(4743, Level.INFO, true, "{0} processing orders generated for {1} products from {2} triggers", ""),
+	ORDER_GENERATION_FAILED					(4744, Level.ERROR, false, "Processing order generation from trigger {0} for product with database ID {1} failed (cause: {2})", ""),
+	TRIGGERS_SYNCHRONIZED					(4745, Level.INFO, true, "Quartz jobs synchronized with triggers: {0} scheduled, {1} unchanged, {2} removed", ""),
+	SCHEDULE_TRIGGER_FAILED					(4746, Level.ERROR, false, "Scheduling of trigger {0}, type {1} for mission {2} failed (cause: {3})", ""),
+	QUARTZ_SCHEMA_CREATED					(4747, Level.INFO, true, "Quartz job store tables created from script {0}", ""),
+	INVALID_CONFIGURATION_VALUE				(4748, Level.ERROR, false, "Invalid value ''{0}'' for configuration parameter {1}", ""),
 	
 	;
 	
@@ -109,6 +109,10 @@ public enum OrderMgrMessage implements ProseoMessage {
 	ORDERTEMPLATE_NOT_MODIFIED			(3593, Level.INFO, true, "Order template with id {0} not modified (no changes)", ""),
 	ORDERTEMPLATE_LIST_EMPTY			(3594, Level.ERROR, false, "No order template found for search criteria", ""),
 	INVALID_PRODUCT_CLASS_IN_INPUT		(3595, Level.ERROR, false, "Input product class stop list must not contain requested product class {0}", ""),
+	ORDERS_EVICTED_BULK					(3596, Level.INFO, true, "{0} orders with {1} jobs and {2} job steps evicted in {3} ms", ""),
+	ORDER_CLEANUP_COMPLETED				(3597, Level.INFO, true, "{0} of {1} evictable orders deleted in {2} ms ({3} orders/s)", ""),
+	INVALID_CLEANUP_MODE				(3598, Level.WARN, true, "Invalid order cleanup mode {0}, using {1}", ""),
+	JOF_STILL_REFERENCED				(3599, Level.INFO, true, "Job Order File {0} not deleted from processing facility {1}, because it is still referenced by {2} other job steps", ""),
 	
 	;
 
@@ -170,6 +170,8 @@ public enum PlannerMessage implements ProseoMessage {
 	SERIALIZATION_FAILED				(4152, Level.ERROR, false, "Cannot convert object to Json (cause: {0})", ""),
 	AUTH_MISSING_OR_INVALID				(4153, Level.ERROR, false, "Basic authentication missing or invalid: {0}", ""),	
 	MSG_EXCEPTION 						(4154, Level.ERROR, false, "Request failed (cause {0}: {1})", ""),
+	PRODUCT_QUERY_INDEX_REBUILT			(4156, Level.INFO, true, "Product query index rebuilt with {0} unsatisfied product queries ({1} bounded in time)", ""),
+	JOF_STILL_REFERENCED				(4157, Level.INFO, true, "Job Order File ''{0}'' not deleted, because it is still referenced by {1} other job steps", ""),
 	;
 	
 	private final int code;
@@ -52,6 +52,8 @@ public enum PripMessage implements ProseoMessage {
 	MSG_EXCEPTION_PIS				(7736, Level.ERROR, false, "Server Error occurred in ProductionInterfaceSecurity (cause {0}: {1})", ""),
 	MSG_EXCEPTION_PQC				(7737, Level.ERROR, false, "Server Error occurred in ProductQueryController (cause {0}: {1})", ""),
 	MSG_INVALID_COORDINATES			(7738, Level.ERROR, false, "Cannot convert coordinate string '{0}' to OData footprint", ""),
+	MSG_INVALID_INTERSECTS_AREA		(7739, Level.ERROR, false, "Invalid area ''{0}'' in Intersects function (cause: {1})", ""),
+	MSG_FOOTPRINT_BACKFILL_PENDING	(7740, Level.ERROR, false, "Intersects function not yet available, footprints of existing products are still being derived", ""),
 	
 	;
 
@@ -70,6 +70,17 @@ public enum StorageMgrMessage implements ProseoMessage {
 	PRODUCT_FILE_DOWNLOADED_FROM_EXTERNAL_TO_CACHE 	(5581, Level.INFO,  true,  "Product file downloaded from external storage to cache: {0}", ""),  
 	/** Uploaded = registered */
 	PRODUCT_FILE_UPLOADED_FROM_CACHE_TO_STORAGE     (5582, Level.INFO,  true,  "Product file {0} uploaded from cache to storage for product {1}", ""),  
+	PRODUCT_FILE_COPIED_WITHIN_STORAGE 				(5583, Level.INFO,  true,  "Product file {0} copied within storage to {1}", ""),
+	PRODUCT_FILE_UPLOADED_DIRECTLY_TO_STORAGE 		(5584, Level.INFO,  true,  "Product file {0} uploaded directly to storage as {1}", ""),
+	PRODUCT_FILES_UPLOADED_TO_STORAGE 				(5585, Level.INFO,  true,  "{0} product files uploaded to storage for product {1} in {2} ms", ""),
+	TRANSFER_NOT_SUPPORTED 							(5586, Level.ERROR, false, "Transfer of file {0} into storage of type {1} not supported", ""),
+	PATH_LIST_EMPTY 								(5587, Level.ERROR, false, "No file paths given for upload", ""),
+	JOB_ORDER_FILE_REUSED 							(5588, Level.INFO,  true,  "Job order file {0} with identical content already stored, upload skipped", ""),
+	JOB_ORDER_FILE_GOT_FROM_CACHE 					(5589, Level.INFO,  true,  "Job order file got from cache: {0}", ""),
+	PRODUCT_FILES_DELETED 							(5590, Level.INFO,  true,  "{0} of {1} product files deleted from storage in {2} ms ({3} cache files evicted)", ""),
+	PRODUCT_FILE_DELETION_FAILED 					(5591, Level.WARN,  true,  "Deletion of product file {0} failed (cause: {1})", ""),
+	TOO_MANY_FILES_TO_DELETE 						(5592, Level.ERROR, false, "Too many files for batch deletion: {0} (maximum: {1})", ""),
+	COPY_SOURCE_STORAGE_TYPE_MISMATCH 				(5593, Level.ERROR, false, "Cannot copy file {0} into storage of type {1}, source file is not in storage of this type", ""),
 	
 	;
 
@@ -0,0 +1,120 @@
+/**
+ * ProseoLoggerBenchmark.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.logging.logger;
+
+import java.text.MessageFormat;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * JMH benchmark for the cost of ProseoLogger calls with disabled and enabled message levels (the logger has no appenders, so
+ * only the cost of formatting and event creation is measured). Not run as part of the unit tests; to run it, call the main
+ * method with the test class path of this module.
+ *
+ * @author Dr. Thomas Bassler
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProseoLoggerBenchmark {
+
+	/** The logger under test */
+	private ProseoLogger logger;
+
+	/** Message parameters */
+	private String fileName = "S2B_MSIL1C_20240315T101559_N0510_R065_T32UPU_20240315T122207.zip";
+	private long fileSize = 734_003_200L;
+
+	/**
+	 * Configure the logger to accept WARN and ERROR messages only, without any output
+	 */
+	@Setup
+	public void setUp() {
+		Logger logbackLogger = (Logger) LoggerFactory.getLogger(ProseoLoggerBenchmark.class);
+		logbackLogger.setLevel(Level.WARN);
+		logbackLogger.setAdditive(false);
+		logger = new ProseoLogger(ProseoLoggerBenchmark.class);
+	}
+
+	/**
+	 * Formatting as done before caching the message formats (for reference)
+	 *
+	 * @return the formatted message
+	 */
+	@Benchmark
+	public String uncachedFormat() {
+		return MessageFormat.format("(I3) Insert: {0}, {1}", fileName, fileSize);
+	}
+
+	/**
+	 * Log a message with disabled level, returning the formatted message
+	 *
+	 * @return the formatted message
+	 */
+	@Benchmark
+	public String disabledLog() {
+		return logger.log(TestMessage.INFO_TEST, fileName, fileSize);
+	}
+
+	/**
+	 * Log a message with disabled level using the fast path
+	 */
+	@Benchmark
+	public void disabledEmit() {
+		logger.emit(TestMessage.INFO_TEST, fileName, fileSize);
+	}
+
+	/**
+	 * Log a message with enabled level, returning the formatted message
+	 *
+	 * @return the formatted message
+	 */
+	@Benchmark
+	public String enabledLog() {
+		return logger.log(TestMessage.WARN_TEST, fileName);
+	}
+
+	/**
+	 * Log a message with enabled level using the fast path
+	 */
+	@Benchmark
+	public void enabledEmit() {
+		logger.emit(TestMessage.WARN_TEST, fileName);
+	}
+
+	/**
+	 * Run the benchmark
+	 *
+	 * @param args not used
+	 * @throws RunnerException if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder().include(ProseoLoggerBenchmark.class.getSimpleName()).build();
+		new Runner(options).run();
+	}
+
+}
@@ -7,10 +7,18 @@ package de.dlr.proseo.logging.logger;
 
 import static org.junit.Assert.*;
 
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.KeyValuePair;
 import org.slf4j.event.Level;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
 import de.dlr.proseo.logging.messages.ProseoMessage;
 
 /**
@@ -44,6 +52,48 @@ public class ProseoLoggerTest {
 		});
 	}
 
+	/**
+	 * Test method for
+	 * {@link de.dlr.proseo.logging.logger.ProseoLogger#emit(de.dlr.proseo.logging.messages.ProseoMessage, java.lang.Object[])}
+	 * and {@link de.dlr.proseo.logging.logger.ProseoLogger#isEnabled(de.dlr.proseo.logging.messages.ProseoMessage)}.
+	 */
+	@Test
+	public final void testEmit() {
+		Logger logbackLogger = (Logger) LoggerFactory.getLogger(ProseoLoggerTest.class);
+		ListAppender<ILoggingEvent> appender = new ListAppender<>();
+		appender.start();
+		logbackLogger.addAppender(appender);
+		ch.qos.logback.classic.Level oldLevel = logbackLogger.getLevel();
+		try {
+			logbackLogger.setLevel(ch.qos.logback.classic.Level.WARN);
+			assertTrue(logger.isEnabled(TestMessage.ERROR_TEST));
+			assertFalse(logger.isEnabled(TestMessage.INFO_TEST));
+
+			logger.emit(TestMessage.INFO_TEST, "test", 1);
+			assertTrue("Message with disabled level logged", appender.list.isEmpty());
+
+			logger.emit(TestMessage.WARN_TEST, "test");
+			assertEquals(1, appender.list.size());
+			assertEquals("(W2) Insert: test", appender.list.get(0).getFormattedMessage());
+
+			// Structured logging
+			ProseoLogger.setStructured(true);
+			assertEquals("(E1) Insert: test", logger.log(TestMessage.ERROR_TEST, "test"));
+			ILoggingEvent event = appender.list.get(1);
+			assertEquals("(E1) Insert: {0}", event.getFormattedMessage());
+			assertEquals(List.of(new KeyValuePair("code", 1), new KeyValuePair("arg0", "test")).toString(),
+					event.getKeyValuePairs().toString());
+		} finally {
+			ProseoLogger.setStructured(false);
+			logbackLogger.setLevel(oldLevel);
+			logbackLogger.detachAppender(appender);
+		}
+
+		Assert.assertThrows("Please specify the type of the message.", IllegalArgumentException.class, () -> {
+			logger.emit(null);
+		});
+	}
+
 	/**
 	 * Test method for
 	 * {@link de.dlr.proseo.logging.logger.ProseoLogger#format(de.dlr.proseo.logging.messages.ProseoMessage, java.lang.Object[])}.
@@ -66,6 +116,11 @@ public class ProseoLoggerTest {
 		String expected3 = "A message format error occured with message type " + TestMessage.ILLEGAL_FORMAT;
 		String result3 = ProseoLogger.format(TestMessage.ILLEGAL_FORMAT);
 		assertEquals(expected3, result3);
+
+		// Repeated formatting with the cached message format
+		assertEquals(expected2, ProseoLogger.format(TestMessage.INFO_TEST, "test", 1));
+		assertEquals("(I3) Insert: other, 2", ProseoLogger.format(TestMessage.INFO_TEST, "other", 2));
+		assertEquals(expected3, ProseoLogger.format(TestMessage.ILLEGAL_FORMAT));
 		
 		Assert.assertThrows("Please specify the type of the message.", IllegalArgumentException.class, () -> {
 			ProseoLogger.format(null);
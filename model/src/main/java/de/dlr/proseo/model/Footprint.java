@@ -0,0 +1,206 @@
+/**
+ * Footprint.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import de.dlr.proseo.model.util.GeoPolygon;
+
+/**
+ * The geographical footprint of a product, derived from the "coordinates" product parameter. The footprint is stored
+ * as bounding box (in separate, indexable columns to allow for a coarse spatial pre-selection in SQL without requiring
+ * spatial database extensions) and as polygon in OGC Well-Known Binary format (for the exact intersection test).
+ *
+ * If the footprint crosses the antimeridian, the bounding box spans the full longitude range.
+ *
+ * @author Dr. Thomas Bassler
+ */
+@Embeddable
+public class Footprint {
+
+	/** The product parameter holding the footprint coordinates (GML position list, latitude first) */
+	public static final String COORDINATES_PARAMETER = "coordinates";
+
+	/**
+	 * Table of the products, whose footprint has not yet been derived from their "coordinates" parameter (created and
+	 * filled by the database schema update of 2026-10-19, emptied by the Ingestor on startup)
+	 */
+	public static final String BACKFILL_TABLE = "product_footprint_backfill";
+
+	/** Query for the existence of the footprint backfill table (which does not exist in schemas generated by Hibernate) */
+	public static final String SQL_BACKFILL_TABLE_EXISTS = "SELECT COUNT(*) FROM information_schema.tables "
+			+ "WHERE LOWER(table_name) = '" + BACKFILL_TABLE + "'";
+
+	/** Minimum latitude of the bounding box */
+	@Column(name = "footprint_min_latitude")
+	private Double minLatitude;
+
+	/** Maximum latitude of the bounding box */
+	@Column(name = "footprint_max_latitude")
+	private Double maxLatitude;
+
+	/** Minimum longitude of the bounding box */
+	@Column(name = "footprint_min_longitude")
+	private Double minLongitude;
+
+	/** Maximum longitude of the bounding box */
+	@Column(name = "footprint_max_longitude")
+	private Double maxLongitude;
+
+	/** The footprint polygon in WKB format */
+	@Column(name = "footprint_wkb", columnDefinition = "BYTEA")
+	private byte[] wkb;
+
+	/**
+	 * Create a footprint from a GML position list
+	 *
+	 * @param coordinates the GML position list
+	 * @return a footprint with bounding box and polygon
+	 * @throws IllegalArgumentException if the coordinates do not describe a valid polygon
+	 */
+	public static Footprint fromCoordinates(String coordinates) throws IllegalArgumentException {
+		GeoPolygon polygon = GeoPolygon.fromPosList(coordinates);
+
+		Footprint footprint = new Footprint();
+		footprint.minLatitude = polygon.getMinLatitude();
+		footprint.maxLatitude = polygon.getMaxLatitude();
+		footprint.minLongitude = polygon.getMinLongitude();
+		footprint.maxLongitude = polygon.getMaxLongitude();
+		footprint.wkb = polygon.toWkb();
+
+		return footprint;
+	}
+
+	/**
+	 * Gets the footprint polygon
+	 *
+	 * @return the polygon decoded from the WKB representation, or null, if no polygon is set
+	 * @throws IllegalArgumentException if the stored WKB representation is invalid
+	 */
+	public GeoPolygon getPolygon() throws IllegalArgumentException {
+		return null == wkb ? null : GeoPolygon.fromWkb(wkb);
+	}
+
+	/**
+	 * Gets the minimum latitude of the bounding box
+	 *
+	 * @return the minimum latitude
+	 */
+	public Double getMinLatitude() {
+		return minLatitude;
+	}
+
+	/**
+	 * Sets the minimum latitude of the bounding box
+	 *
+	 * @param minLatitude the minimum latitude to set
+	 */
+	public void setMinLatitude(Double minLatitude) {
+		this.minLatitude = minLatitude;
+	}
+
+	/**
+	 * Gets the maximum latitude of the bounding box
+	 *
+	 * @return the maximum latitude
+	 */
+	public Double getMaxLatitude() {
+		return maxLatitude;
+	}
+
+	/**
+	 * Sets the maximum latitude of the bounding box
+	 *
+	 * @param maxLatitude the maximum latitude to set
+	 */
+	public void setMaxLatitude(Double maxLatitude) {
+		this.maxLatitude = maxLatitude;
+	}
+
+	/**
+	 * Gets the minimum longitude of the bounding box
+	 *
+	 * @return the minimum longitude
+	 */
+	public Double getMinLongitude() {
+		return minLongitude;
+	}
+
+	/**
+	 * Sets the minimum longitude of the bounding box
+	 *
+	 * @param minLongitude the minimum longitude to set
+	 */
+	public void setMinLongitude(Double minLongitude) {
+		this.minLongitude = minLongitude;
+	}
+
+	/**
+	 * Gets the maximum longitude of the bounding box
+	 *
+	 * @return the maximum longitude
+	 */
+	public Double getMaxLongitude() {
+		return maxLongitude;
+	}
+
+	/**
+	 * Sets the maximum longitude of the bounding box
+	 *
+	 * @param maxLongitude the maximum longitude to set
+	 */
+	public void setMaxLongitude(Double maxLongitude) {
+		this.maxLongitude = maxLongitude;
+	}
+
+	/**
+	 * Gets the footprint polygon in WKB format
+	 *
+	 * @return the WKB byte array
+	 */
+	public byte[] getWkb() {
+		return wkb;
+	}
+
+	/**
+	 * Sets the footprint polygon in WKB format
+	 *
+	 * @param wkb the WKB byte array to set
+	 */
+	public void setWkb(byte[] wkb) {
+		this.wkb = wkb;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(minLatitude, maxLatitude, minLongitude, maxLongitude) * 31 + Arrays.hashCode(wkb);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof Footprint))
+			return false;
+		Footprint other = (Footprint) obj;
+		return Objects.equals(minLatitude, other.getMinLatitude())
+				&& Objects.equals(maxLatitude, other.getMaxLatitude())
+				&& Objects.equals(minLongitude, other.getMinLongitude())
+				&& Objects.equals(maxLongitude, other.getMaxLongitude())
+				&& Arrays.equals(wkb, other.getWkb());
+	}
+
+	@Override
+	public String toString() {
+		return "Footprint [minLatitude=" + minLatitude + ", maxLatitude=" + maxLatitude + ", minLongitude=" + minLongitude
+				+ ", maxLongitude=" + maxLongitude + "]";
+	}
+
+}
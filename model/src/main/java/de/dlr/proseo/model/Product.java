@@ -38,6 +38,7 @@ import org.springframework.expression.ParseException;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.logging.messages.ModelMessage;
 import de.dlr.proseo.model.enums.ProductQuality;
 import de.dlr.proseo.model.enums.ProductionType;
 
@@ -188,6 +189,12 @@ public class Product extends PersistentObject {
 	@ElementCollection
 	private Map<String, Parameter> parameters = new HashMap<>();
 	
+	/**
+	 * The geographical footprint of the product (derived from the "coordinates" parameter, if available, see
+	 * {@link #updateFootprint()})
+	 */
+	private Footprint footprint;
+	
 	/** The logger for this class */
 	private static final ProseoLogger logger = new ProseoLogger(Product.class);
 	
@@ -578,6 +585,50 @@ public class Product extends PersistentObject {
 		this.parameters = parameters;
 	}
 	
+	/**
+	 * Gets the product footprint
+	 * 
+	 * @return the footprint (may be null)
+	 */
+	public Footprint getFootprint() {
+		return footprint;
+	}
+	
+	/**
+	 * Sets the product footprint
+	 * 
+	 * @param footprint the footprint to set
+	 */
+	public void setFootprint(Footprint footprint) {
+		this.footprint = footprint;
+	}
+	
+	/**
+	 * Derive the product footprint from the "coordinates" parameter (GML position list); if the parameter is missing or
+	 * invalid, the footprint is removed
+	 * 
+	 * @return true, if the footprint was changed, false otherwise
+	 */
+	public boolean updateFootprint() {
+		if (logger.isTraceEnabled()) logger.trace(">>> updateFootprint()");
+		
+		Footprint newFootprint = null;
+		Parameter coordinates = parameters.get(Footprint.COORDINATES_PARAMETER);
+		if (null != coordinates && null != coordinates.getParameterValue()) {
+			try {
+				newFootprint = Footprint.fromCoordinates(coordinates.getParameterValue());
+			} catch (IllegalArgumentException e) {
+				logger.log(ModelMessage.INVALID_FOOTPRINT, uuid, coordinates.getParameterValue(), e.getMessage());
+			}
+		}
+		
+		if (Objects.equals(footprint, newFootprint)) {
+			return false;
+		}
+		footprint = newFootprint;
+		return true;
+	}
+	
 	/**
 	 * Get a named String parameter
 	 * 
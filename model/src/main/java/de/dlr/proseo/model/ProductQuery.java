@@ -65,7 +65,8 @@ public class ProductQuery extends PersistentObject {
 	private String jpqlQueryCondition;
 	
 	/**
-	 * The product query as a native SQL query condition (if set, jpqlQueryCondition must not be set)
+	 * The product query as a native SQL query condition (if set, jpqlQueryCondition must not be set), with named bind
+	 * parameters for the selection times and the processing facility
 	 * Note: The annotated SQL datatype "TEXT" is not a standard SQL datatype (defined for MySQL and PostgreSQL)
 	 */
 	@Lob
@@ -105,7 +106,11 @@ public class ProductQuery extends PersistentObject {
 	private int hashCache = 0;
 
 	/**
-	 * Create a product query from a simple selection rule for a given job step
+	 * Create a product query from a simple selection rule for a given job step. The SQL query condition is the
+	 * parameterised SQL query template of the selection rule, so it is the same statement for all job steps using the rule
+	 * with the same filter conditions. The values of its bind parameters for the job step are given by
+	 * {@link SimpleSelectionRule#getSqlQueryParameters(java.time.Instant, java.time.Instant)} for the start and stop time of the job and by the
+	 * ID of the processing facility of the job.
 	 * 
 	 * @param selectionRule the selection rule to create the product query from
 	 * @param jobStep the job step to generate the product query for
@@ -127,9 +132,8 @@ public class ProductQuery extends PersistentObject {
 		}
 		productQuery.jpqlQueryCondition = selectionRule.asJpqlQuery(
 				jobStep.getJob().getStartTime(), jobStep.getJob().getStopTime(), productQuery.filterConditions);
-		productQuery.sqlQueryCondition = selectionRule.asSqlQuery(
-				jobStep.getJob().getStartTime(), jobStep.getJob().getStopTime(), productQuery.filterConditions,
-				productColumnMapping, facilityQuerySql, facilityQuerySqlSubselect);
+		productQuery.sqlQueryCondition = selectionRule.asSqlQueryTemplate(
+				productQuery.filterConditions, productColumnMapping, facilityQuerySql, facilityQuerySqlSubselect);
 		productQuery.calcHash();
 		return productQuery;
 	}
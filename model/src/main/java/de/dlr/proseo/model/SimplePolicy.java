@@ -12,6 +12,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +31,7 @@ import jakarta.persistence.OrderColumn;
 import de.dlr.proseo.model.util.SelectionRule;
 import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.model.util.SelectionItem;
+import de.dlr.proseo.model.util.SelectionItemIndex;
 
 /**
  * A product retrieval policy consisting of a retrieval mode and a time interval with delta times as defined in Annex B of 
@@ -80,6 +82,11 @@ public class SimplePolicy extends PersistentObject {
 
 	/** The date format for SQL queries */
     private static final DateTimeFormatter DATEFORMAT_SQL = DateTimeFormatter.ofPattern("yyyy'-'MM'-'dd' 'HH:mm:ss.SSSSSS").withZone(ZoneId.of("UTC"));
+    
+    /* Names of bind parameters in SQL query condition templates (without prefix) */
+    private static final String SQL_PARAM_START = "start";
+    private static final String SQL_PARAM_STOP = "stop";
+    private static final String SQL_PARAM_CENTRE = "centre";
 	
 	/** The static class logger */
 	private static final ProseoLogger logger = new ProseoLogger(SelectionRule.class);
@@ -636,7 +643,7 @@ public class SimplePolicy extends PersistentObject {
 
 			Duration overlap = Duration.between(overlapStart, overlapEnd);
 			
-			if (1 == overlap.compareTo(maxOverlap)) {
+			if (0 < overlap.compareTo(maxOverlap)) {
 				maxOverlap = overlap;
 				largestOverlapItem = item;
 			} else if (0 == overlap.compareTo(maxOverlap)) {
@@ -763,7 +770,295 @@ public class SimplePolicy extends PersistentObject {
 			throw new UnsupportedOperationException(String.format(MSG_POLICY_TYPE_NOT_IMPLEMENTED, policyType.toString()));
 		}
 	}
-	
+
+	/**
+	 * Select all items from the given index that fulfil this policy for the given time interval. The index is used
+	 * to restrict the selection to the candidate items for the policy, to which the same selection method as for
+	 * {@link #selectItems(Collection, Instant, Instant)} is applied, so the result is identical to a selection from the
+	 * full collection of items.
+	 *
+	 * @param index the index of the items to be searched
+	 * @param startTime the start time of the time interval to check against
+	 * @param stopTime the end time of the time interval to check against
+	 * @return a (possibly empty) list of all items fulfilling the policy
+	 */
+	public Set<SelectionItem> selectItems(SelectionItemIndex index, Instant startTime, Instant stopTime) {
+		Instant selectionStartTime = startTime.minusMillis(getDeltaTimeT0().toMilliseconds());
+		Instant selectionStopTime = stopTime.plusMillis(getDeltaTimeT1().toMilliseconds());
+
+		Collection<SelectionItem> candidates;
+		switch(policyType) {
+		case ValIntersectWithoutDuplicates:
+		case ValIntersect:
+		case LatestValIntersect:
+		case LargestOverlap:
+		case LargestOverlap85:
+			// Special case of "point-in-time" products
+			candidates = index.findIntersecting(selectionStartTime, selectionStopTime,
+					(startTime.equals(stopTime) ? startTime : null));
+			break;
+		case LatestStartValidity:
+		case LatestValidity:		candidates = index.findLatestStartTime(); break;
+		case LatestStopValidity:	candidates = index.findLatestStopTime(); break;
+		case LatestValCover:		candidates = index.findCovering(selectionStartTime, selectionStopTime); break;
+		case LatestValidityClosest:	candidates = index.findClosestStartTime(getSelectionCentre(startTime, stopTime)); break;
+		case ClosestStartValidity:	candidates = index.findClosestStartTime(selectionStartTime); break;
+		case ClosestStopValidity:	candidates = index.findClosestStopTime(selectionStopTime); break;
+		case LastCreated:			candidates = index.findLatestGenerationTime(); break;
+		default:
+			throw new UnsupportedOperationException(String.format(MSG_POLICY_TYPE_NOT_IMPLEMENTED, policyType.toString()));
+		}
+
+		if (logger.isTraceEnabled())
+			logger.trace("... {} of {} items are candidates for policy {}", candidates.size(), index.size(), policyType);
+
+		return selectItems(candidates, startTime, stopTime);
+	}
+
+	/**
+	 * Checks whether this policy selects at most one item from any collection of items, so that an incremental selection
+	 * created by {@link #newIncrementalSelection(Instant, Instant)} only needs to retain a single candidate item
+	 * 
+	 * @return true, if the policy yields at most one item, false otherwise (i. e. for ValIntersect and ValIntersectWithoutDuplicates)
+	 */
+	public boolean isSingleItemPolicy() {
+		return PolicyType.ValIntersect != policyType && PolicyType.ValIntersectWithoutDuplicates != policyType;
+	}
+
+	/**
+	 * Checks whether this policy only selects items, whose validity period intersects the time interval extended by the
+	 * delta times of this policy, so that items outside this selection interval cannot change the selection result (this
+	 * does not apply to the "latest validity", "closest" and LastCreated policies, which may select items at any time)
+	 * 
+	 * @return true, if only items intersecting the selection interval can be selected, false otherwise
+	 */
+	public boolean isValidityBounded() {
+		switch (policyType) {
+		case ValIntersect:
+		case ValIntersectWithoutDuplicates:
+		case LatestValIntersect:
+		case LatestValCover:
+		case LargestOverlap:
+		case LargestOverlap85:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Create an incremental selection for this policy and the given time interval, to which the items to select from can be
+	 * fed one by one (e. g. while reading them from a database cursor)
+	 * 
+	 * @param startTime the start time of the time interval to check against
+	 * @param stopTime the end time of the time interval to check against
+	 * @return an incremental selection for this policy
+	 * @throws UnsupportedOperationException if the policy type is not implemented
+	 */
+	public IncrementalSelection newIncrementalSelection(Instant startTime, Instant stopTime) throws UnsupportedOperationException {
+		return new IncrementalSelection(startTime, stopTime);
+	}
+
+	/**
+	 * Incremental evaluation of this policy for a given time interval: The items to select from are added one at a time,
+	 * and only the items, which may still be part of the selection, are retained. For the single-item policies this is
+	 * the current best candidate (with the same tie-breaking rules as in the select methods for item collections),
+	 * for ValIntersect and ValIntersectWithoutDuplicates these are all intersecting items. After all items have been added,
+	 * the result is identical to the result of {@link SimplePolicy#selectItems(Collection, Instant, Instant)} for the
+	 * collection of all items.
+	 */
+	public class IncrementalSelection {
+		/** The start time of the time interval to check against */
+		private final Instant startTime;
+		/** The end time of the time interval to check against */
+		private final Instant stopTime;
+		/** The start time of the selection interval (extended by delta time T0) */
+		private final Instant selectionStartTime;
+		/** The end time of the selection interval (extended by delta time T1) */
+		private final Instant selectionStopTime;
+		/** The time to measure the distance to for the "closest" policies */
+		private final Instant referenceTime;
+		/** The current candidate item for the single-item policies */
+		private SelectionItem candidate = null;
+		/** The distance of the current candidate item for the "closest" policies (in seconds) */
+		private long candidateDistance = Long.MAX_VALUE;
+		/** The overlap of the current candidate item with the selection interval for the "largest overlap" policies */
+		private Duration candidateOverlap = Duration.ZERO;
+		/** The selected items for the multi-item policies */
+		private Set<SelectionItem> selectedItems = new HashSet<>();
+
+		/**
+		 * Create an incremental selection for the given time interval
+		 * 
+		 * @param startTime the start time of the time interval to check against
+		 * @param stopTime the end time of the time interval to check against
+		 * @throws UnsupportedOperationException if the policy type is not implemented
+		 */
+		private IncrementalSelection(Instant startTime, Instant stopTime) throws UnsupportedOperationException {
+			this.startTime = startTime;
+			this.stopTime = stopTime;
+			selectionStartTime = startTime.minusMillis(getDeltaTimeT0().toMilliseconds());
+			selectionStopTime = stopTime.plusMillis(getDeltaTimeT1().toMilliseconds());
+			
+			switch(policyType) {
+			case LatestValidityClosest:	referenceTime = getSelectionCentre(startTime, stopTime); break;
+			case ClosestStartValidity:	referenceTime = selectionStartTime; break;
+			case ClosestStopValidity:	referenceTime = selectionStopTime; break;
+			case ValIntersectWithoutDuplicates:
+			case ValIntersect:
+			case LatestValIntersect:
+			case LatestStartValidity:
+			case LatestValidity:
+			case LatestStopValidity:
+			case LatestValCover:
+			case LargestOverlap:
+			case LargestOverlap85:
+			case LastCreated:			referenceTime = null; break;
+			default:
+				throw new UnsupportedOperationException(String.format(MSG_POLICY_TYPE_NOT_IMPLEMENTED, policyType.toString()));
+			}
+		}
+
+		/**
+		 * Check whether the given item intersects the selection interval (including the special case of "point-in-time" products)
+		 * 
+		 * @param item the item to check
+		 * @return true, if the item intersects the selection interval, false otherwise
+		 */
+		private boolean intersects(SelectionItem item) {
+			return item.startTime.isBefore(selectionStopTime) && item.stopTime.isAfter(selectionStartTime)
+					|| startTime.equals(stopTime) && (item.startTime.equals(startTime) || item.stopTime.equals(stopTime));
+		}
+
+		/**
+		 * Check whether the given item was generated later than the current candidate item
+		 * 
+		 * @param item the item to check
+		 * @return true, if there is no candidate item yet or the given item has a later generation time, false otherwise
+		 */
+		private boolean isNewer(SelectionItem item) {
+			return null == candidate || item.generationTime.isAfter(candidate.generationTime);
+		}
+
+		/**
+		 * Add an item to the selection
+		 * 
+		 * @param item the item to add
+		 */
+		public void add(SelectionItem item) {
+			switch(policyType) {
+			case ValIntersectWithoutDuplicates:
+			case ValIntersect:
+				if (intersects(item)) {
+					selectedItems.add(item);
+				}
+				break;
+			case LatestValIntersect:
+				if (intersects(item) && isNewer(item)) {
+					candidate = item;
+				}
+				break;
+			case LatestStartValidity:
+			case LatestValidity:
+				if (null == candidate || item.startTime.isAfter(candidate.startTime)
+						|| item.startTime.equals(candidate.startTime) && isNewer(item)) {
+					candidate = item;
+				}
+				break;
+			case LatestStopValidity:
+				if (null == candidate || item.stopTime.isAfter(candidate.stopTime)
+						|| item.stopTime.equals(candidate.stopTime) && isNewer(item)) {
+					candidate = item;
+				}
+				break;
+			case LatestValCover:
+				if (!item.startTime.isAfter(selectionStartTime) && !item.stopTime.isBefore(selectionStopTime) && isNewer(item)) {
+					candidate = item;
+				}
+				break;
+			case LatestValidityClosest:
+			case ClosestStartValidity:
+				addClosest(item, item.startTime);
+				break;
+			case ClosestStopValidity:
+				addClosest(item, item.stopTime);
+				break;
+			case LargestOverlap:
+			case LargestOverlap85:
+				if (intersects(item)) {
+					addOverlapping(item);
+				}
+				break;
+			case LastCreated:
+				if (isNewer(item)) {
+					candidate = item;
+				}
+				break;
+			default:
+				throw new UnsupportedOperationException(String.format(MSG_POLICY_TYPE_NOT_IMPLEMENTED, policyType.toString()));
+			}
+		}
+
+		/**
+		 * Add an item to the selection for the "closest" policies
+		 * 
+		 * @param item the item to add
+		 * @param itemTime the time of the item to compare with the reference time
+		 */
+		private void addClosest(SelectionItem item, Instant itemTime) {
+			long distance = Math.abs(Duration.between(itemTime, referenceTime).getSeconds());
+			if (distance < candidateDistance || distance == candidateDistance && isNewer(item)) {
+				candidate = item;
+				candidateDistance = distance;
+			}
+		}
+
+		/**
+		 * Add an item intersecting the selection interval to the selection for the "largest overlap" policies
+		 * 
+		 * @param item the item to add
+		 */
+		private void addOverlapping(SelectionItem item) {
+			Instant overlapStart = item.startTime.isAfter(selectionStartTime) ? item.startTime : selectionStartTime;
+			Instant overlapEnd = item.stopTime.isBefore(selectionStopTime) ? item.stopTime : selectionStopTime;
+			Duration overlap = Duration.between(overlapStart, overlapEnd);
+
+			int comparison = overlap.compareTo(candidateOverlap);
+			if (null == candidate || 0 < comparison) {
+				candidate = item;
+				candidateOverlap = overlap;
+			} else if (0 == comparison) {
+				long itemDistance = Math.abs(item.startTime.toEpochMilli() - selectionStartTime.toEpochMilli());
+				long candidateDistance = Math.abs(candidate.startTime.toEpochMilli() - selectionStartTime.toEpochMilli());
+				if (itemDistance < candidateDistance || itemDistance == candidateDistance && isNewer(item)) {
+					candidate = item;
+				}
+			}
+		}
+
+		/**
+		 * Get the items selected from all items added so far
+		 * 
+		 * @return a (possibly empty) set of all items fulfilling the policy
+		 */
+		public Set<SelectionItem> getSelectedItems() {
+			if (!isSingleItemPolicy()) {
+				return new HashSet<>(selectedItems);
+			}
+			Set<SelectionItem> result = new HashSet<>();
+			if (null == candidate) {
+				return result;
+			}
+			if (PolicyType.LargestOverlap85 == policyType && 0.85 > (Long.valueOf(candidateOverlap.toMillis()).doubleValue() / 
+					Long.valueOf(Duration.between(selectionStartTime, selectionStopTime).toMillis()).doubleValue())) {
+				// Candidate item does not cover at least 85 % of the selection interval
+				return result;
+			}
+			result.add(candidate);
+			return result;
+		}
+	}
+
 	/**
 	 * Format this policy as a query condition in JPQL (Java Persistence Query Language). It is assumed that the Product
 	 * class is denoted as "select ... from Product p ..." in the JPQL query, to which the resulting condition is to be
@@ -999,6 +1294,212 @@ public class SimplePolicy extends PersistentObject {
 	 */
 	public String asSqlQueryCondition(ProductClass sourceProductClass, final Instant startTime, final Instant stopTime, 
 			Map<String, Parameter> filterConditions, Map<String, String> productColumnMapping, String facilityQuerySqlSubselect) {
+		return asSqlQueryCondition(sourceProductClass, startTime, stopTime, null, filterConditions, productColumnMapping,
+				facilityQuerySqlSubselect);
+	}
+	
+	/**
+	 * Format this policy as a query condition template in native SQL, in which the selection times are represented by
+	 * named bind parameters instead of literal values. The template only depends on the policy, the source product class
+	 * and the filter conditions, so it can be reused (and the database execution plan can be cached) for all job steps
+	 * using the same selection rule. The parameter values for a given time interval are provided by
+	 * {@link #getSqlQueryParameters(String, Instant, Instant)}.
+	 * 
+	 * @param sourceProductClass the source product class to use for the query
+	 * @param parameterPrefix a prefix for the bind parameter names (to distinguish the parameters of multiple policies)
+	 * @param filterConditions filter conditions to apply
+	 * @param productColumnMapping a mapping from attribute names of the Product class to the corresponding SQL column names
+	 * @param facilityQuerySqlSubselect an SQL selection string to add to sub-SELECTs in selection policy SQL query conditions
+	 * @return an SQL query condition with named bind parameters
+	 */
+	public String asSqlQueryConditionTemplate(ProductClass sourceProductClass, String parameterPrefix,
+			Map<String, Parameter> filterConditions, Map<String, String> productColumnMapping, String facilityQuerySqlSubselect) {
+		return asSqlQueryCondition(sourceProductClass, null, null, parameterPrefix, filterConditions, productColumnMapping,
+				facilityQuerySqlSubselect);
+	}
+	
+	/**
+	 * Get the values of the bind parameters used in the SQL query condition template of this policy for the given time
+	 * interval
+	 * 
+	 * @param parameterPrefix the prefix for the bind parameter names (as given to asSqlQueryConditionTemplate())
+	 * @param startTime the start time to use in the condition
+	 * @param stopTime the stop time to use in the condition
+	 * @return a map from bind parameter names to SQL timestamp strings (empty, if the policy does not use any bind parameters)
+	 */
+	public Map<String, String> getSqlQueryParameters(String parameterPrefix, final Instant startTime, final Instant stopTime) {
+		Map<String, String> sqlQueryParameters = new HashMap<>();
+		
+		switch (policyType) {
+		case LatestValidityClosest:
+			sqlQueryParameters.put(parameterPrefix + SQL_PARAM_CENTRE, 
+					DATEFORMAT_SQL.format(getSelectionCentre(startTime, stopTime)));
+			break;
+		case ClosestStartValidity:
+			sqlQueryParameters.put(parameterPrefix + SQL_PARAM_START, 
+					DATEFORMAT_SQL.format(startTime.minusMillis(getDeltaTimeT0().toMilliseconds())));
+			break;
+		case ClosestStopValidity:
+			sqlQueryParameters.put(parameterPrefix + SQL_PARAM_STOP, 
+					DATEFORMAT_SQL.format(stopTime.plusMillis(getDeltaTimeT1().toMilliseconds())));
+			break;
+		case LatestValCover:
+		case ValIntersect:
+		case ValIntersectWithoutDuplicates:
+		case LargestOverlap:
+		case LargestOverlap85:
+		case LatestValIntersect:
+			sqlQueryParameters.put(parameterPrefix + SQL_PARAM_START, 
+					DATEFORMAT_SQL.format(startTime.minusMillis(getDeltaTimeT0().toMilliseconds())));
+			sqlQueryParameters.put(parameterPrefix + SQL_PARAM_STOP, 
+					DATEFORMAT_SQL.format(stopTime.plusMillis(getDeltaTimeT1().toMilliseconds())));
+			break;
+		default:
+			// No time-dependent conditions
+			break;
+		}
+		
+		return sqlQueryParameters;
+	}
+	
+	/**
+	 * Checks whether the selection of this policy can be pushed down to the database completely by ordering and limiting the
+	 * query result (see {@link #asOrderedSqlQueryTemplates(String, String, String)}). This applies to all "latest" policies
+	 * and to LastCreated, but not to the "closest" policies (the distance to the reference time is compared in full seconds
+	 * with ties broken by generation time, which cannot be expressed as a sort order), the "largest overlap" policies (the
+	 * overlap calculation is not portable between databases) and the multi-item policies.
+	 * 
+	 * @return true, if the policy can be evaluated by ordered and limited SQL queries, false otherwise
+	 */
+	public boolean isSqlOrderable() {
+		switch (policyType) {
+		case LatestValIntersect:
+		case LatestValidity:
+		case LatestStartValidity:
+		case LatestStopValidity:
+		case LatestValCover:
+		case LastCreated:
+			return true;
+		default:
+			return false;
+		}
+	}
+	
+	/**
+	 * Format this policy as native SQL sub-queries, which push the selection of the policy down to the database by ordering
+	 * the products according to the policy criteria and limiting the result to the first product. Products with a NULL value
+	 * in the primary sort column are excluded (as by the MAX() sub-selects of
+	 * {@link #asSqlQueryConditionTemplate(ProductClass, String, Map, Map, String)}), and NULL generation times are sorted
+	 * last independent of the database's default NULL ordering. Each sub-query is set in parentheses, so the sub-queries
+	 * can be combined with "UNION".
+	 * <p>
+	 * The selection times are represented by the same named bind parameters as in the SQL query condition template, their
+	 * values are provided by {@link #getSqlQueryParameters(String, Instant, Instant)}.
+	 * 
+	 * @param parameterPrefix the prefix for the bind parameter names
+	 * @param queryPrefix the beginning of the query up to the (open) "WHERE" clause, e. g. "SELECT p.id FROM product p WHERE (...", 
+	 * 		  to which the query condition of the policy is appended starting with " AND "
+	 * @param querySuffix the rest of the "WHERE" clause to append after the query condition of the policy
+	 * @return a list of SQL sub-queries with named bind parameters
+	 * @throws UnsupportedOperationException if the policy cannot be evaluated by ordered SQL queries
+	 */
+	public List<String> asOrderedSqlQueryTemplates(String parameterPrefix, String queryPrefix, String querySuffix)
+			throws UnsupportedOperationException {
+		List<String> orderedQueries = new ArrayList<>();
+		String selectionStartString = asSqlTime(null, parameterPrefix, SQL_PARAM_START);
+		String selectionStopString = asSqlTime(null, parameterPrefix, SQL_PARAM_STOP);
+		
+		switch (policyType) {
+		case LatestValidity:
+		case LatestStartValidity:
+			orderedQueries.add(asOrderedSqlQuery(queryPrefix, " AND p.sensing_start_time IS NOT NULL", querySuffix,
+					"p.sensing_start_time DESC, p.generation_time DESC NULLS LAST"));
+			break;
+		case LatestStopValidity:
+			orderedQueries.add(asOrderedSqlQuery(queryPrefix, " AND p.sensing_stop_time IS NOT NULL", querySuffix,
+					"p.sensing_stop_time DESC, p.generation_time DESC NULLS LAST"));
+			break;
+		case LatestValCover:
+			orderedQueries.add(asOrderedSqlQuery(queryPrefix,
+					" AND p.sensing_start_time <= " + selectionStartString + " AND p.sensing_stop_time >= " + selectionStopString
+					+ " AND p.generation_time IS NOT NULL",
+					querySuffix, "p.generation_time DESC"));
+			break;
+		case LatestValIntersect:
+			orderedQueries.add(asOrderedSqlQuery(queryPrefix,
+					" AND p.sensing_start_time < " + selectionStopString + " AND p.sensing_stop_time > " + selectionStartString
+					+ " AND p.generation_time IS NOT NULL",
+					querySuffix, "p.generation_time DESC"));
+			break;
+		case LastCreated:
+			orderedQueries.add(asOrderedSqlQuery(queryPrefix, " AND p.generation_time IS NOT NULL", querySuffix,
+					"p.generation_time DESC"));
+			break;
+		default:
+			throw new UnsupportedOperationException(String.format(MSG_POLICY_TYPE_NOT_IMPLEMENTED, policyType.toString()));
+		}
+		
+		return orderedQueries;
+	}
+	
+	/**
+	 * Assemble an ordered SQL sub-query limited to the first product
+	 * 
+	 * @param queryPrefix the beginning of the query up to the (open) "WHERE" clause
+	 * @param queryCondition the query condition of the policy (starting with " AND ", if not empty)
+	 * @param querySuffix the rest of the "WHERE" clause
+	 * @param orderBy the sort criteria
+	 * @return the SQL sub-query in parentheses
+	 */
+	private static String asOrderedSqlQuery(String queryPrefix, String queryCondition, String querySuffix, String orderBy) {
+		return "(" + queryPrefix + queryCondition + querySuffix + " ORDER BY " + orderBy + " LIMIT 1)";
+	}
+	
+	/**
+	 * Calculate the centre of the selection interval for the given time interval
+	 * 
+	 * @param startTime the start time of the time interval
+	 * @param stopTime the stop time of the time interval
+	 * @return the centre of the time interval extended by the policy's delta times
+	 */
+	private Instant getSelectionCentre(final Instant startTime, final Instant stopTime) {
+		Instant selectionStartTime = startTime.minusMillis(getDeltaTimeT0().toMilliseconds());
+		Instant selectionStopTime = stopTime.plusMillis(getDeltaTimeT1().toMilliseconds());
+		Duration selectionDuration = Duration.between(selectionStartTime, selectionStopTime);
+		return selectionStartTime.plusSeconds(selectionDuration.getSeconds() / 2);
+	}
+	
+	/**
+	 * Format a selection time for use in a native SQL query, either as a literal value or as a named bind parameter
+	 * 
+	 * @param time the selection time (only used for literal values)
+	 * @param parameterPrefix the bind parameter name prefix (null for literal values)
+	 * @param parameterName the bind parameter name
+	 * @return an SQL expression for the selection time
+	 */
+	private static String asSqlTime(Instant time, String parameterPrefix, String parameterName) {
+		if (null == parameterPrefix) {
+			return "'" + DATEFORMAT_SQL.format(time) + "'";
+		} else {
+			return "CAST(:" + parameterPrefix + parameterName + " AS TIMESTAMP)";
+		}
+	}
+	
+	/**
+	 * Format this policy as a query condition in native SQL using either literal selection times or named bind parameters
+	 * 
+	 * @param sourceProductClass the source product class to use for the query
+	 * @param startTime the start time to use in the condition (ignored, if a parameter prefix is given)
+	 * @param stopTime the stop time to use in the condition (ignored, if a parameter prefix is given)
+	 * @param parameterPrefix the prefix for the bind parameter names (null for literal selection times)
+	 * @param filterConditions filter conditions to apply
+	 * @param productColumnMapping a mapping from attribute names of the Product class to the corresponding SQL column names
+	 * @param facilityQuerySqlSubselect an SQL selection string to add to sub-SELECTs in selection policy SQL query conditions
+	 * @return an SQL query condition
+	 */
+	private String asSqlQueryCondition(ProductClass sourceProductClass, final Instant startTime, final Instant stopTime,
+			String parameterPrefix, Map<String, Parameter> filterConditions, Map<String, String> productColumnMapping,
+			String facilityQuerySqlSubselect) {
 		StringBuilder simplePolicyQuery = new StringBuilder();
 		
 		if (null == facilityQuerySqlSubselect) {
@@ -1064,89 +1565,94 @@ public class SimplePolicy extends PersistentObject {
 			break;
 		case LatestValidityClosest:
 			// This will result in two products, one on either side of the interval centre
-			Instant selectionStartTime = startTime.minusMillis(getDeltaTimeT0().toMilliseconds());
-			Instant selectionStopTime = stopTime.plusMillis(getDeltaTimeT1().toMilliseconds());
-			Duration selectionDuration = Duration.between(selectionStartTime, selectionStopTime);
-			Instant selectionCentre = selectionStartTime.plusSeconds(selectionDuration.getSeconds() / 2);
-			String selectionCentreString = DATEFORMAT_SQL.format(selectionCentre);
-			simplePolicyQuery.append("(p.sensing_start_time <= '").append(selectionCentreString)
-				.append("' AND p.sensing_start_time >= ")
+			String selectionCentreString = asSqlTime(
+					(null == parameterPrefix ? getSelectionCentre(startTime, stopTime) : null), parameterPrefix, SQL_PARAM_CENTRE);
+			simplePolicyQuery.append("(p.sensing_start_time <= ").append(selectionCentreString)
+				.append(" AND p.sensing_start_time >= ")
 				    .append("(SELECT MAX(p2.sensing_start_time) FROM product p2 ")
 					.append(subSelectQuery)
 				    .append("WHERE p2.product_class_id = ").append(sourceProductClass.getId())
-				    .append(" AND p2.sensing_start_time <= '").append(selectionCentreString).append("'")
+				    .append(" AND p2.sensing_start_time <= ").append(selectionCentreString)
 					.append(filterQuery)
 					.append(facilityQuerySqlSubselect)
 				    .append(") ")
-				.append("OR p.sensing_start_time > '").append(selectionCentreString)
-				.append("' AND p.sensing_start_time <= ")
+				.append("OR p.sensing_start_time > ").append(selectionCentreString)
+				.append(" AND p.sensing_start_time <= ")
 					.append("(SELECT MIN(p2.sensing_start_time) FROM product p2 ")
 					.append(subSelectQuery)
 					.append("WHERE p2.product_class_id = ").append(sourceProductClass.getId())
-					.append(" AND p2.sensing_start_time > '").append(selectionCentreString).append("'")
+					.append(" AND p2.sensing_start_time > ").append(selectionCentreString)
 					.append(filterQuery)
 					.append(facilityQuerySqlSubselect)
 					.append("))");
 			break;
 		case ClosestStartValidity:
 			// This will result in two products, one on either side of the interval start
-			selectionStartTime = startTime.minusMillis(getDeltaTimeT0().toMilliseconds());
-			String selectionStartString = DATEFORMAT_SQL.format(selectionStartTime);
-			simplePolicyQuery.append("(p.sensing_start_time <= '").append(selectionStartString)
-				.append("' AND p.sensing_start_time >= ")
+			String selectionStartString = asSqlTime(
+					(null == parameterPrefix ? startTime.minusMillis(getDeltaTimeT0().toMilliseconds()) : null),
+					parameterPrefix, SQL_PARAM_START);
+			simplePolicyQuery.append("(p.sensing_start_time <= ").append(selectionStartString)
+				.append(" AND p.sensing_start_time >= ")
 					.append("(SELECT MAX(p2.sensing_start_time) FROM product p2 ")
 					.append(subSelectQuery)
 					.append("WHERE p2.product_class_id = ").append(sourceProductClass.getId())
-					.append(" AND p2.sensing_start_time <= '").append(selectionStartString).append("'")
+					.append(" AND p2.sensing_start_time <= ").append(selectionStartString)
 					.append(filterQuery)
 					.append(facilityQuerySqlSubselect)
 					.append(") ")
-				.append("OR p.sensing_start_time > '").append(selectionStartString)
-				.append("' AND p.sensing_start_time <= ")
+				.append("OR p.sensing_start_time > ").append(selectionStartString)
+				.append(" AND p.sensing_start_time <= ")
 					.append("(SELECT MIN(p2.sensing_start_time) FROM product p2 ")
 					.append(subSelectQuery)
 					.append("WHERE p2.product_class_id = ").append(sourceProductClass.getId())
-					.append(" AND p2.sensing_start_time > '").append(selectionStartString).append("'")
+					.append(" AND p2.sensing_start_time > ").append(selectionStartString)
 					.append(filterQuery)
 					.append(facilityQuerySqlSubselect)
 					.append("))");
 			break;
 		case ClosestStopValidity:
 			// This will result in two products, one on either side of the interval end
-			selectionStopTime = stopTime.plusMillis(getDeltaTimeT1().toMilliseconds());
-			String selectionStopString = DATEFORMAT_SQL.format(selectionStopTime);
-			simplePolicyQuery.append("(p.sensing_stop_time <= '").append(selectionStopString)
-				.append("' AND p.sensing_stop_time >= ")
+			String selectionStopString = asSqlTime(
+					(null == parameterPrefix ? stopTime.plusMillis(getDeltaTimeT1().toMilliseconds()) : null),
+					parameterPrefix, SQL_PARAM_STOP);
+			simplePolicyQuery.append("(p.sensing_stop_time <= ").append(selectionStopString)
+				.append(" AND p.sensing_stop_time >= ")
 					.append("(SELECT MAX(p2.sensing_stop_time) FROM product p2 ")
 					.append(subSelectQuery)
 					.append("WHERE p2.product_class_id = ").append(sourceProductClass.getId())
-					.append(" AND p2.sensing_stop_time <= '").append(selectionStopString).append("'")
+					.append(" AND p2.sensing_stop_time <= ").append(selectionStopString)
 					.append(filterQuery)
 					.append(facilityQuerySqlSubselect)
 					.append(") ")
-				.append("OR p.sensing_stop_time > '").append(selectionStopString)
-				.append("' AND p.sensing_stop_time <= ")
+				.append("OR p.sensing_stop_time > ").append(selectionStopString)
+				.append(" AND p.sensing_stop_time <= ")
 					.append("(SELECT MIN(p2.sensing_stop_time) FROM product p2 ")
 					.append(subSelectQuery)
 					.append("WHERE p2.product_class_id = ").append(sourceProductClass.getId())
-					.append(" AND p2.sensing_stop_time > '").append(selectionStopString).append("'")
+					.append(" AND p2.sensing_stop_time > ").append(selectionStopString)
 					.append(filterQuery)
 					.append(facilityQuerySqlSubselect)
 					.append("))");
 			break;
 		case LatestValCover:
-			simplePolicyQuery.append("p.sensing_start_time <= '")
-				.append(DATEFORMAT_SQL.format(startTime.minusMillis(getDeltaTimeT0().toMilliseconds())))
-				.append("' AND p.sensing_stop_time >= '")
-				.append(DATEFORMAT_SQL.format(stopTime.plusMillis(getDeltaTimeT1().toMilliseconds())))
-				.append("' AND p.generation_time >= ")
+			selectionStartString = asSqlTime(
+					(null == parameterPrefix ? startTime.minusMillis(getDeltaTimeT0().toMilliseconds()) : null),
+					parameterPrefix, SQL_PARAM_START);
+			selectionStopString = asSqlTime(
+					(null == parameterPrefix ? stopTime.plusMillis(getDeltaTimeT1().toMilliseconds()) : null),
+					parameterPrefix, SQL_PARAM_STOP);
+			simplePolicyQuery.append("p.sensing_start_time <= ")
+				.append(selectionStartString)
+				.append(" AND p.sensing_stop_time >= ")
+				.append(selectionStopString)
+				.append(" AND p.generation_time >= ")
 					.append("(SELECT MAX(p2.generation_time) FROM product p2 ")
 					.append(subSelectQuery)
 					.append("WHERE p2.product_class_id = ").append(sourceProductClass.getId())
-					.append(" AND p2.sensing_start_time <= '")
-					.append(DATEFORMAT_SQL.format(startTime.minusMillis(getDeltaTimeT0().toMilliseconds())))
-					.append("' AND p2.sensing_stop_time >= '")
-					.append(DATEFORMAT_SQL.format(stopTime.plusMillis(getDeltaTimeT1().toMilliseconds()))).append("'")
+					.append(" AND p2.sensing_start_time <= ")
+					.append(selectionStartString)
+					.append(" AND p2.sensing_stop_time >= ")
+					.append(selectionStopString)
 					.append(filterQuery)
 					.append(facilityQuerySqlSubselect)
 					.append(")");
@@ -1156,25 +1662,36 @@ public class SimplePolicy extends PersistentObject {
 		// With limitations, see method comment:
 		case LargestOverlap:
 		case LargestOverlap85:
-			simplePolicyQuery.append("p.sensing_start_time < '")
-				.append(DATEFORMAT_SQL.format(stopTime.plusMillis(getDeltaTimeT1().toMilliseconds())))
-				.append("' AND p.sensing_stop_time > '")
-				.append(DATEFORMAT_SQL.format(startTime.minusMillis(getDeltaTimeT0().toMilliseconds())))
-				.append("'");
+			selectionStartString = asSqlTime(
+					(null == parameterPrefix ? startTime.minusMillis(getDeltaTimeT0().toMilliseconds()) : null),
+					parameterPrefix, SQL_PARAM_START);
+			selectionStopString = asSqlTime(
+					(null == parameterPrefix ? stopTime.plusMillis(getDeltaTimeT1().toMilliseconds()) : null),
+					parameterPrefix, SQL_PARAM_STOP);
+			simplePolicyQuery.append("p.sensing_start_time < ")
+				.append(selectionStopString)
+				.append(" AND p.sensing_stop_time > ")
+				.append(selectionStartString);
 			break;
 		case LatestValIntersect:
-			simplePolicyQuery.append("p.sensing_start_time < '")
-				.append(DATEFORMAT_SQL.format(stopTime.plusMillis(getDeltaTimeT1().toMilliseconds())))
-				.append("' AND p.sensing_stop_time > '")
-				.append(DATEFORMAT_SQL.format(startTime.minusMillis(getDeltaTimeT0().toMilliseconds())))
-				.append("' AND p.generation_time >= ")
+			selectionStartString = asSqlTime(
+					(null == parameterPrefix ? startTime.minusMillis(getDeltaTimeT0().toMilliseconds()) : null),
+					parameterPrefix, SQL_PARAM_START);
+			selectionStopString = asSqlTime(
+					(null == parameterPrefix ? stopTime.plusMillis(getDeltaTimeT1().toMilliseconds()) : null),
+					parameterPrefix, SQL_PARAM_STOP);
+			simplePolicyQuery.append("p.sensing_start_time < ")
+				.append(selectionStopString)
+				.append(" AND p.sensing_stop_time > ")
+				.append(selectionStartString)
+				.append(" AND p.generation_time >= ")
 					.append("(SELECT MAX(p2.generation_time) FROM product p2 ")
 					.append(subSelectQuery)
 					.append("WHERE p2.product_class_id = ").append(sourceProductClass.getId())
-					.append(" AND p2.sensing_start_time < '")
-					.append(DATEFORMAT_SQL.format(stopTime.plusMillis(getDeltaTimeT1().toMilliseconds())))
-					.append("' AND p2.sensing_stop_time > '")
-					.append(DATEFORMAT_SQL.format(startTime.minusMillis(getDeltaTimeT0().toMilliseconds()))).append("'")
+					.append(" AND p2.sensing_start_time < ")
+					.append(selectionStopString)
+					.append(" AND p2.sensing_stop_time > ")
+					.append(selectionStartString)
 					.append(filterQuery)
 					.append(facilityQuerySqlSubselect)
 					.append(")");
@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -25,6 +26,7 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import de.dlr.proseo.model.util.SelectionItem;
+import de.dlr.proseo.model.util.SelectionItemIndex;
 
 /**
  * A rule defining the required input ProductTypes for a certain output ProductType using an ordered list of SelectionPolicys.
@@ -439,6 +441,116 @@ public class SimpleSelectionRule extends PersistentObject {
 		return null;
 	}
 	
+	/**
+	 * Select all items from the given item index that fulfil this rule for the given time interval.
+	 * For all items the item type must match the targetProductClass of the rule. The result is the same as for the
+	 * collection of indexed items, but each policy only evaluates the candidate items found in the index. Creating the index
+	 * sorts the items, so it only pays off, if the index is created once and used for several selections on the same items.
+	 * 
+	 * @param index the index of the items to be searched
+	 * @param startTime the start time of the time interval to check against
+	 * @param stopTime the end time of the time interval to check against
+	 * @return a list of all item objects fulfilling the selection rule, or null, if no such qualifying item
+	 * 		   exists and the selection rule is marked as 'OPTIONAL'
+	 * @throws NoSuchElementException if no item fulfils the selection rule, and the selection rule is marked as 'MANDATORY'
+	 * @throws IllegalArgumentException if any of the items is not of the correct type
+	 */
+	public List<Object> selectItems(final SelectionItemIndex index, final Instant startTime, final Instant stopTime)
+			throws NoSuchElementException, IllegalArgumentException {
+		Set<SelectionItem> selectedItems = new HashSet<>();
+		
+		// Check that all items conform to the product type of this rule
+		for (String itemType: index.getItemTypes()) {
+			if (!itemType.equals(sourceProductClass.getProductType())) {
+				throw new IllegalArgumentException(MSG_INVALID_ITEM_TYPE + itemType);
+			}
+		}
+		
+		// Iterate over all policies and test them against the candidate items from the index
+		for (SimplePolicy policy: simplePolicies) {
+			selectedItems.addAll(policy.selectItems(index, startTime, stopTime));
+			if (!selectedItems.isEmpty() && hasSufficientCoverage(selectedItems, startTime, stopTime)) {
+				// Short-circuited OR: first match(es) apply
+				List<Object> itemObjectList = new ArrayList<>();
+				for (SelectionItem item: selectedItems) itemObjectList.add(item.itemObject);
+				return itemObjectList;
+			}
+		}
+		// No or not enough matching items found
+		if (isMandatory) {
+			throw new NoSuchElementException(
+					String.format(MSG_NO_ITEM_FOUND, this.toString(), startTime.toString(), stopTime.toString()));
+		}
+		return null;
+	}
+	
+	/**
+	 * Checks whether all policies of this rule select at most one item, so that the rule can be evaluated on a stream of
+	 * items without retaining more than one candidate item per policy
+	 * 
+	 * @return true, if all policies are single-item policies, false otherwise
+	 */
+	public boolean hasSingleItemPolicies() {
+		for (SimplePolicy policy: simplePolicies) {
+			if (!policy.isSingleItemPolicy()) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Select all items from the given sequence of items that fulfil this rule for the given time interval. The items are
+	 * evaluated incrementally by all policies in parallel, so only the current candidate items of the policies are retained
+	 * (for rules with single-item policies only, this is at most one item per policy). The result is identical to the result
+	 * of {@link #selectItems(Collection, Instant, Instant)} for the collection of all items.
+	 * For all items the item type must match the targetProductClass of the rule.
+	 * 
+	 * @param items an iterator over the items to be searched (e. g. backed by a database cursor)
+	 * @param startTime the start time of the time interval to check against
+	 * @param stopTime the end time of the time interval to check against
+	 * @return a list of all item objects fulfilling the selection rule, or null, if no such qualifying item
+	 * 		   exists and the selection rule is marked as 'OPTIONAL'
+	 * @throws NoSuchElementException if no item fulfils the selection rule, and the selection rule is marked as 'MANDATORY'
+	 * @throws IllegalArgumentException if any of the items is not of the correct type
+	 */
+	public List<Object> selectItems(final Iterator<SelectionItem> items, final Instant startTime, final Instant stopTime)
+			throws NoSuchElementException, IllegalArgumentException {
+		List<SimplePolicy.IncrementalSelection> selections = new ArrayList<>();
+		for (SimplePolicy policy: simplePolicies) {
+			selections.add(policy.newIncrementalSelection(startTime, stopTime));
+		}
+		
+		// Feed each item to all policies, checking that it conforms to the product type of this rule
+		while (items.hasNext()) {
+			SelectionItem item = items.next();
+			if (!item.itemType.equals(sourceProductClass.getProductType())) {
+				throw new IllegalArgumentException(MSG_INVALID_ITEM_TYPE + item.itemType);
+			}
+			for (SimplePolicy.IncrementalSelection selection: selections) {
+				selection.add(item);
+			}
+		}
+		
+		// Collect the policy results in the order of the policies
+		Set<SelectionItem> selectedItems = new HashSet<>();
+		for (SimplePolicy.IncrementalSelection selection: selections) {
+			selectedItems.addAll(selection.getSelectedItems());
+			if (!selectedItems.isEmpty() && hasSufficientCoverage(selectedItems, startTime, stopTime)) {
+				// Short-circuited OR: first match(es) apply
+				List<Object> itemObjectList = new ArrayList<>();
+				for (SelectionItem item: selectedItems) itemObjectList.add(item.itemObject);
+				return itemObjectList;
+			}
+		}
+		// No or not enough matching items found
+		if (isMandatory) {
+			throw new NoSuchElementException(
+					String.format(MSG_NO_ITEM_FOUND, this.toString(), startTime.toString(), stopTime.toString()));
+		}
+		return null;
+	}
+	
 	/**
 	 * Format this rule as a JPQL (Java Persistence Query Language) query. The condition in the "where" clause
 	 * is set in parentheses, so further conditions/filters can be appended to the resulting query.
@@ -540,6 +652,82 @@ public class SimpleSelectionRule extends PersistentObject {
 	 */
 	public String asSqlQuery(final Instant startTime, final Instant stopTime, Map<String, Parameter> additionalFilterConditions,
 			Map<String, String> productColumnMapping, String facilityQuerySql, String facilityQuerySqlSubselect) {
+		return asSqlQuery(startTime, stopTime, false, additionalFilterConditions, productColumnMapping, facilityQuerySql,
+				facilityQuerySqlSubselect);
+	}
+	
+	/**
+	 * Format this rule as a native SQL query template, in which the selection times are represented by named bind parameters
+	 * instead of literal values. The template does not depend on the time interval of a job step, so it can be reused
+	 * (and executed as a prepared statement) for all job steps using this rule with the same filter conditions.
+	 * The parameter values for a given time interval are provided by {@link #getSqlQueryParameters(Instant, Instant)}.
+	 * 
+	 * @param additionalFilterConditions filter conditions to apply in addition to the rule's own filters (optional)
+	 * @param productColumnMapping a mapping from attribute names of the Product class to the corresponding SQL column names
+	 * @param facilityQuerySql an SQL selection string to add to the selection rule SQL query
+	 * @param facilityQuerySqlSubselect an SQL selection string to add to sub-SELECTs in selection policy SQL query conditions
+	 * @return an SQL string with named bind parameters representing this rule
+	 */
+	public String asSqlQueryTemplate(Map<String, Parameter> additionalFilterConditions,
+			Map<String, String> productColumnMapping, String facilityQuerySql, String facilityQuerySqlSubselect) {
+		return asSqlQuery(null, null, true, additionalFilterConditions, productColumnMapping, facilityQuerySql,
+				facilityQuerySqlSubselect);
+	}
+	
+	/**
+	 * Get the values of the bind parameters used in the SQL query template of this rule for the given time interval
+	 * 
+	 * @param startTime the start time to use in the database query
+	 * @param stopTime the stop time to use in the database query
+	 * @return a map from bind parameter names to SQL timestamp strings
+	 */
+	public Map<String, String> getSqlQueryParameters(final Instant startTime, final Instant stopTime) {
+		Map<String, String> sqlQueryParameters = new HashMap<>();
+		
+		sortSimplePolicies();
+		for (int i = 0; i < simplePolicies.size(); ++i) {
+			sqlQueryParameters.putAll(simplePolicies.get(i).getSqlQueryParameters(sqlParameterPrefix(i), startTime, stopTime));
+		}
+		
+		return sqlQueryParameters;
+	}
+	
+	/**
+	 * Ensure canonical ordering of policies
+	 */
+	private void sortSimplePolicies() {
+		simplePolicies.sort(new Comparator<SimplePolicy>() {
+			@Override
+			public int compare(SimplePolicy o1, SimplePolicy o2) {
+				return o1.getPolicyType().compareTo(o2.getPolicyType());
+			}});
+	}
+	
+	/**
+	 * Get the prefix for the bind parameter names of the policy at the given position in the (canonically ordered) policy list
+	 * 
+	 * @param policyIndex the position of the policy
+	 * @return the bind parameter name prefix
+	 */
+	private static String sqlParameterPrefix(int policyIndex) {
+		return "p" + policyIndex + "_";
+	}
+	
+	/**
+	 * Format this rule as a native SQL query using either literal selection times or named bind parameters
+	 * 
+	 * @param startTime the start time to use in the database query (ignored for templates)
+	 * @param stopTime the stop time to use in the database query (ignored for templates)
+	 * @param asTemplate true, if named bind parameters shall be used for the selection times, false for literal values
+	 * @param additionalFilterConditions filter conditions to apply in addition to the rule's own filters (optional)
+	 * @param productColumnMapping a mapping from attribute names of the Product class to the corresponding SQL column names
+	 * @param facilityQuerySql an SQL selection string to add to the selection rule SQL query
+	 * @param facilityQuerySqlSubselect an SQL selection string to add to sub-SELECTs in selection policy SQL query conditions
+	 * @return an SQL string representing this rule
+	 */
+	private String asSqlQuery(final Instant startTime, final Instant stopTime, boolean asTemplate,
+			Map<String, Parameter> additionalFilterConditions, Map<String, String> productColumnMapping,
+			String facilityQuerySql, String facilityQuerySqlSubselect) {
 		
 		Map<String, Parameter> allFilterConditions = new HashMap<>(filterConditions);
 		if (null != additionalFilterConditions) {
@@ -549,33 +737,15 @@ public class SimpleSelectionRule extends PersistentObject {
 			facilityQuerySql = "";
 		}
 
-		// Generate query projection
+		// Generate query projection, joined with as many instances of the product_parameters table as there are filter conditions
 		StringBuilder simpleRuleQuery = new StringBuilder("SELECT * FROM product p ");
-		
-		// Join with as many instances of the product_parameters table as there are filter conditions
-		int i = 0;
-		for (String filterKey: allFilterConditions.keySet()) {
-			// Restrict to actual parameters
-			try {
-				Product.class.getDeclaredField(filterKey);
-				// Nothing to do – not a parameter, but a Product attribute
-			} catch (NoSuchFieldException e) {
-				simpleRuleQuery.append(String.format("JOIN product_parameters pp%d ON p.id = pp%d.product_id ", i, i));
-				++i;
-			} catch (SecurityException e) {
-				throw new RuntimeException(String.format(MSG_CANNOT_CREATE_QUERY, e.getMessage()), e);
-			}
-		}
+		simpleRuleQuery.append(asSqlJoinClause(allFilterConditions));
 		
 		// Select correct product class		
 		simpleRuleQuery.append("WHERE (p.product_class_id = ").append(sourceProductClass.getId()).append(" AND ");
 		
 		// Ensure canonical ordering of policies
-		simplePolicies.sort(new Comparator<SimplePolicy>() {
-			@Override
-			public int compare(SimplePolicy o1, SimplePolicy o2) {
-				return o1.getPolicyType().compareTo(o2.getPolicyType());
-			}});
+		sortSimplePolicies();
 		
 		// Generate query condition
 		
@@ -584,14 +754,17 @@ public class SimpleSelectionRule extends PersistentObject {
 			// Wrap multiple policies in parentheses
 			simpleRuleQuery.append("(");
 		}
-		boolean first = true;
-		for (SimplePolicy simplePolicy: simplePolicies) {
-			if (first)
-				first = false;
-			else
+		for (int p = 0; p < simplePolicies.size(); ++p) {
+			if (0 < p)
 				simpleRuleQuery.append(" OR ");
-			simpleRuleQuery.append(simplePolicy.asSqlQueryCondition(
-					sourceProductClass, startTime, stopTime, allFilterConditions, productColumnMapping, facilityQuerySqlSubselect));
+			SimplePolicy simplePolicy = simplePolicies.get(p);
+			if (asTemplate) {
+				simpleRuleQuery.append(simplePolicy.asSqlQueryConditionTemplate(
+						sourceProductClass, sqlParameterPrefix(p), allFilterConditions, productColumnMapping, facilityQuerySqlSubselect));
+			} else {
+				simpleRuleQuery.append(simplePolicy.asSqlQueryCondition(
+						sourceProductClass, startTime, stopTime, allFilterConditions, productColumnMapping, facilityQuerySqlSubselect));
+			}
 		}
 		if (1 < simplePolicies.size()) {
 			// Close parentheses for multiple policies
@@ -599,22 +772,128 @@ public class SimpleSelectionRule extends PersistentObject {
 		}
 		
 		// Format filter conditions
-		i = 0;
+		simpleRuleQuery.append(asSqlFilterClause(allFilterConditions, productColumnMapping));
+
+		return simpleRuleQuery.append(facilityQuerySql).append(')').toString();
+	}
+	
+	/**
+	 * Checks whether the selection of this rule can be pushed down to the database by ordering and limiting the query
+	 * result (see {@link #asOrderedSqlQueryTemplate(Map, Map, String)}). This requires all policies to be orderable.
+	 * Rules with any other policy (in particular the "closest" policies, see {@link SimplePolicy#isSqlOrderable()}) are
+	 * evaluated in the application on the result of the unordered query {@link #asSqlQueryTemplate(Map, Map, String, String)}.
+	 * 
+	 * @return true, if the rule can be evaluated by ordered and limited SQL queries, false otherwise
+	 */
+	public boolean hasSqlOrderablePolicies() {
+		for (SimplePolicy policy: simplePolicies) {
+			if (!policy.isSqlOrderable()) {
+				return false;
+			}
+		}
+		return !simplePolicies.isEmpty();
+	}
+	
+	/**
+	 * Format this rule as a native SQL query template, which pushes the selection of the policies down to the database
+	 * by ordering and limiting the result (at most one product per policy).
+	 * The resulting products are a subset of the products returned by {@link #asSqlQueryTemplate(Map, Map, String, String)},
+	 * for which {@link #selectItems(Collection, Instant, Instant)} yields the same selection as for the full product set.
+	 * The selection times are represented by the same named bind parameters as in the SQL query template, their values
+	 * are provided by {@link #getSqlQueryParameters(Instant, Instant)}.
+	 * 
+	 * @param additionalFilterConditions filter conditions to apply in addition to the rule's own filters (optional)
+	 * @param productColumnMapping a mapping from attribute names of the Product class to the corresponding SQL column names
+	 * @param facilityQuerySql an SQL selection string to add to the selection rule SQL query
+	 * @return an SQL string with named bind parameters representing this rule, or null, if the policies of this rule
+	 * 		   cannot be evaluated by ordered SQL queries
+	 */
+	public String asOrderedSqlQueryTemplate(Map<String, Parameter> additionalFilterConditions,
+			Map<String, String> productColumnMapping, String facilityQuerySql) {
+		if (!hasSqlOrderablePolicies()) {
+			return null;
+		}
+		
+		Map<String, Parameter> allFilterConditions = new HashMap<>(filterConditions);
+		if (null != additionalFilterConditions) {
+			allFilterConditions.putAll(additionalFilterConditions);
+		}
+		if (null == facilityQuerySql) {
+			facilityQuerySql = "";
+		}
+		
+		// Common parts of the ordered sub-queries for all policies
+		String queryPrefix = "SELECT p.id FROM product p " + asSqlJoinClause(allFilterConditions)
+			+ "WHERE (p.product_class_id = " + sourceProductClass.getId();
+		String querySuffix = asSqlFilterClause(allFilterConditions, productColumnMapping) + facilityQuerySql + ")";
+		
+		// Ensure canonical ordering of policies (for the bind parameter names)
+		sortSimplePolicies();
+		
+		StringBuilder simpleRuleQuery = new StringBuilder("SELECT * FROM product p WHERE p.id IN (");
+		boolean first = true;
+		for (int p = 0; p < simplePolicies.size(); ++p) {
+			for (String orderedQuery: simplePolicies.get(p).asOrderedSqlQueryTemplates(sqlParameterPrefix(p), queryPrefix, querySuffix)) {
+				if (first)
+					first = false;
+				else
+					simpleRuleQuery.append(" UNION ALL ");
+				simpleRuleQuery.append(orderedQuery);
+			}
+		}
+		
+		return simpleRuleQuery.append(')').toString();
+	}
+	
+	/**
+	 * Create the SQL join clause for the given filter conditions: Join with as many instances of the product_parameters
+	 * table as there are filter conditions on product parameters
+	 * 
+	 * @param allFilterConditions the filter conditions to apply
+	 * @return the join clause (empty, if all filter conditions refer to product attributes)
+	 */
+	private static String asSqlJoinClause(Map<String, Parameter> allFilterConditions) {
+		StringBuilder joinClause = new StringBuilder();
+		int i = 0;
+		for (String filterKey: allFilterConditions.keySet()) {
+			// Restrict to actual parameters
+			try {
+				Product.class.getDeclaredField(filterKey);
+				// Nothing to do – not a parameter, but a Product attribute
+			} catch (NoSuchFieldException e) {
+				joinClause.append(String.format("JOIN product_parameters pp%d ON p.id = pp%d.product_id ", i, i));
+				++i;
+			} catch (SecurityException e) {
+				throw new RuntimeException(String.format(MSG_CANNOT_CREATE_QUERY, e.getMessage()), e);
+			}
+		}
+		return joinClause.toString();
+	}
+	
+	/**
+	 * Create the SQL conditions for the given filter conditions
+	 * 
+	 * @param allFilterConditions the filter conditions to apply
+	 * @param productColumnMapping a mapping from attribute names of the Product class to the corresponding SQL column names
+	 * @return the filter conditions, each starting with " AND " (empty, if there are no filter conditions)
+	 */
+	private static String asSqlFilterClause(Map<String, Parameter> allFilterConditions, Map<String, String> productColumnMapping) {
+		StringBuilder filterClause = new StringBuilder();
+		int i = 0;
 		for (String filterKey: allFilterConditions.keySet()) {
 			// If the key points to a class attribute, query the attribute value, otherwise query a parameter with this key
 			String columnName = productColumnMapping.get(filterKey);
 			if (null == columnName) {
-				simpleRuleQuery.append(
+				filterClause.append(
 						String.format(" AND pp%d.parameters_key = '%s' AND pp%d.parameter_value = '%s'", 
 								i, filterKey, i, allFilterConditions.get(filterKey).getStringValue()));
 				++i;
 			} else {
-				simpleRuleQuery.append(
+				filterClause.append(
 						String.format(" AND p.%s = '%s'", columnName, allFilterConditions.get(filterKey).getStringValue()));
 			}
 		}
-
-		return simpleRuleQuery.append(facilityQuerySql).append(')').toString();
+		return filterClause.toString();
 	}
 	
 	/* (non-Javadoc)
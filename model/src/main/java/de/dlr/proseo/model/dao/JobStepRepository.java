@@ -77,4 +77,7 @@ public interface JobStepRepository extends JpaRepository<JobStep, Long> {
 
 	@Query("SELECT DISTINCT(js.jobStepState) FROM JobStep js WHERE js.job.processingOrder.id = ?1")
 	public List<String> findDistinctJobStepStatesByOrderId(long id);
+
+	@Query("SELECT COUNT(*) FROM JobStep js WHERE js.jobOrderFilename = ?1 AND js.job.processingFacility.id = ?2 AND js.id <> ?3")
+	public int countOtherJobStepsByJobOrderFilename(String jobOrderFilename, long facilityId, long jobStepId);
 }
@@ -29,4 +29,12 @@ public interface ProductQueryRepository extends JpaRepository<ProductQuery, Long
 	@Query("select pq from ProductQuery pq where pq.requestedProductClass.id = ?1 and pq.isSatisfied = false")
 	public List<ProductQuery> findUnsatisfiedByProductClass(long productClassId);
 
+	/**
+	 * Get all unsatisfied product queries together with their job steps and jobs
+	 * 
+	 * @return a (possibly empty) list of unsatisfied product queries
+	 */
+	@Query("select pq from ProductQuery pq join fetch pq.jobStep js join fetch js.job where pq.isSatisfied = false")
+	public List<ProductQuery> findAllUnsatisfied();
+
 }
@@ -8,21 +8,31 @@ package de.dlr.proseo.model.service;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import jakarta.persistence.metamodel.Metamodel;
 
+import org.hibernate.jpa.HibernateHints;
 import org.hibernate.metamodel.model.domain.internal.MappingMetamodelImpl;
 import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.property.access.spi.PropertyAccessException;
+import org.hibernate.query.NativeQuery;
 import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
 import org.springframework.stereotype.Service;
 
 import de.dlr.proseo.logging.logger.ProseoLogger;
@@ -30,7 +40,9 @@ import de.dlr.proseo.logging.messages.ModelMessage;
 import de.dlr.proseo.model.Job;
 import de.dlr.proseo.model.ProcessingFacility;
 import de.dlr.proseo.model.Product;
+import de.dlr.proseo.model.Parameter;
 import de.dlr.proseo.model.ProductQuery;
+import de.dlr.proseo.model.SimpleSelectionRule;
 import de.dlr.proseo.model.util.SelectionItem;
 
 /**
@@ -46,10 +58,44 @@ public class ProductQueryService {
 			" AND :facility_id IN (SELECT processing_facility_id FROM product_processing_facilities ppf WHERE ppf.product_id = p.id)";
 	public static final String FACILITY_QUERY_SQL_SUBSELECT = FACILITY_QUERY_SQL.replace("ppf", "ppf2").replace("p.id", "p2.id");
 
+	/** The projection of the SQL query templates generated from the selection rules */
+	private static final String SQL_PRODUCT_PROJECTION = "SELECT * FROM product p ";
+	
+	/* Column aliases for the selection item queries */
+	private static final String SQL_COLUMN_ID = "item_id";
+	private static final String SQL_COLUMN_START = "item_start";
+	private static final String SQL_COLUMN_STOP = "item_stop";
+	private static final String SQL_COLUMN_GENERATION = "item_generation";
+	
+	/** Number of rows to fetch per database round trip when reading selection items from a cursor */
+	private static final int FETCH_SIZE = 1000;
+
+	/** Maximum number of cached SQL query templates (the least recently used template is evicted, when this number is exceeded) */
+	private static final int MAX_QUERY_TEMPLATES = 1000;
+
 	/** Mapping from Product attributes to SQL column names */
 	// Used by the Production Planner for the creation of product queries
 	private Map<String, String> productColumnMapping = new HashMap<>();
 	
+	/**
+	 * Cache of parameterised SQL query templates, keyed by source product class, selection rule and filter conditions
+	 * (the processing facility is a bind parameter of the template), in access order for least recently used eviction
+	 */
+	private Map<String, String> queryTemplates = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_QUERY_TEMPLATES;
+		}
+	});
+	
+	/** Number of product query executions, for which a cached SQL query template was found */
+	private AtomicLong queryTemplateHits = new AtomicLong();
+	
+	/** Number of product query executions, for which an SQL query template had to be generated */
+	private AtomicLong queryTemplateMisses = new AtomicLong();
+	
 	/** JPA entity manager */
 	@PersistenceContext
 	private EntityManager em;
@@ -106,9 +152,81 @@ public class ProductQueryService {
 		return productColumnMapping;
 	}
 	
+	/**
+	 * Gets the number of product query executions, for which a cached SQL query template was found
+	 * 
+	 * @return the number of query template cache hits
+	 */
+	public long getQueryTemplateHits() {
+		return queryTemplateHits.get();
+	}
+	
+	/**
+	 * Gets the number of product query executions, for which an SQL query template had to be generated
+	 * 
+	 * @return the number of query template cache misses
+	 */
+	public long getQueryTemplateMisses() {
+		return queryTemplateMisses.get();
+	}
+	
+	/**
+	 * Get the parameterised SQL query template for the given product query from the template cache, generating it on first use.
+	 * The template only depends on the source product class, the selection rule and the filter conditions, but not on
+	 * the time interval of the job step, so the same SQL statement is executed for all job steps with the same selection
+	 * rule. This allows both Hibernate and the database driver to reuse their prepared statements and query plans.
+	 * If all policies of the selection rule can be evaluated by ordered and limited SQL queries, the template returns only
+	 * the products selected by the policies (at most two per policy), otherwise it returns all candidate products (like the SQL
+	 * query condition of the product query). The cache hit and miss counters only count the reuse of the generated
+	 * SQL text; whether the database reuses its query plans depends on the driver's prepared statement handling.
+	 * 
+	 * @param productQuery the product query to get the template for
+	 * @return the SQL query template with bind parameters for the selection times and the processing facility
+	 */
+	private String getQueryTemplate(ProductQuery productQuery) {
+		if (logger.isTraceEnabled()) logger.trace(">>> getQueryTemplate({})", productQuery.getId());
+		
+		SimpleSelectionRule selectionRule = productQuery.getGeneratingRule();
+		
+		// Use a canonical (sorted) representation of all filter conditions for the key
+		Map<String, Parameter> allFilterConditions = new TreeMap<>(selectionRule.getFilterConditions());
+		allFilterConditions.putAll(productQuery.getFilterConditions());
+		StringBuilder templateKey = new StringBuilder();
+		templateKey.append(selectionRule.getSourceProductClass().getId()).append('|').append(selectionRule.toString());
+		for (Map.Entry<String, Parameter> filterCondition: allFilterConditions.entrySet()) {
+			templateKey.append('|').append(filterCondition.getKey()).append('=').append(filterCondition.getValue().getStringValue());
+		}
+		
+		String queryTemplate = queryTemplates.get(templateKey.toString());
+		if (null == queryTemplate) {
+			queryTemplateMisses.incrementAndGet();
+			// Push the selection down to the database, if possible, otherwise select all candidate products
+			queryTemplate = selectionRule.asOrderedSqlQueryTemplate(productQuery.getFilterConditions(), productColumnMapping,
+					FACILITY_QUERY_SQL);
+			if (null == queryTemplate) {
+				// Not taken from the product query, which may still hold SQL with literal selection times, if it was
+				// created by an earlier version
+				queryTemplate = selectionRule.asSqlQueryTemplate(productQuery.getFilterConditions(), productColumnMapping,
+						FACILITY_QUERY_SQL, FACILITY_QUERY_SQL_SUBSELECT);
+			}
+			queryTemplates.put(templateKey.toString(), queryTemplate);
+		} else {
+			queryTemplateHits.incrementAndGet();
+		}
+		
+		if (logger.isDebugEnabled()) logger.debug("... query template cache hits: {}, misses: {}", 
+				queryTemplateHits.get(), queryTemplateMisses.get());
+		
+		return queryTemplate;
+	}
+	
 	/**
 	 * Check whether the product query is optional, and set it to satisfied, if so, unless "check only" is requested
 	 * 
+	 * Note that the product query itself is marked unsatisfied in both cases (no products were found), so callers
+	 * keeping track of unsatisfied product queries (e. g. in an index) must check the query state after execution
+	 * instead of relying on the return value of executeQuery().
+	 * 
 	 * @param productQuery the product query to check
 	 * @param checkOnly indicates whether to store check result and satisfying products for future reference
 	 * @return true, if the product query is optional and therefore satisfied, false otherwise
@@ -128,35 +246,85 @@ public class ProductQueryService {
 	}
 	
 	/**
-	 * Execute the query of the given product query and check additional conditions (e. g. selection time interval coverage).
-	 * If successful, the query and its satisfying products are updated (these updates must be persisted by the calling method).
-	 * 
-	 * @param productQuery the product query to execute
-	 * @param checkOnly indicates whether to store check result and satisfying products for future reference
-	 * @return true, if the query is satisfied (its list of satisfying products will then be set, unless checkOnly is true),
-	 * 		   false otherwise
-	 * @throws IllegalArgumentException if the product query is incomplete
+	 * Iterator over the rows of a selection item query, which creates a selection item from each row consisting of the
+	 * product ID, the sensing start time, the sensing stop time and the generation time
 	 */
-	public boolean executeQuery(ProductQuery productQuery, boolean checkOnly) throws IllegalArgumentException {
-		if (logger.isTraceEnabled()) logger.trace(">>> executeQuery({}, {})", (null == productQuery ? null : productQuery.getId()), checkOnly);
-
-		if (logger.isTraceEnabled()) logger.trace("Number of products in database: " + RepositoryService.getProductRepository().count());
+	private static class SelectionItemCursor implements Iterator<SelectionItem> {
+		/** The product type of the items */
+		private final String itemType;
+		/** The query result rows */
+		private final Iterator<?> rows;
+		/** The number of rows read so far */
+		private long rowCount = 0;
 		
-		// Check arguments
-		if (null == productQuery || null == productQuery.getGeneratingRule() || null == productQuery.getSqlQueryCondition()) {
-			throw new IllegalArgumentException(logger.log(ModelMessage.INCOMPLETE_PRODUCT_QUERY, null == productQuery ? "null" : productQuery.toString()));
+		/**
+		 * Create a selection item iterator
+		 * 
+		 * @param itemType the product type of the items
+		 * @param rows the query result rows
+		 */
+		public SelectionItemCursor(String itemType, Iterator<?> rows) {
+			this.itemType = itemType;
+			this.rows = rows;
 		}
-
-		// Determine the requested processing facility
-		Job job = productQuery.getJobStep().getJob();
-		ProcessingFacility facility = job.getProcessingFacility();
 		
-		// Execute the query (native SQL due to use of recursive SQL view product_processing_facilities)
-		String sqlQuery = productQuery.getSqlQueryCondition();
-		if (logger.isDebugEnabled()) logger.debug("Executing SQL query: " + sqlQuery);
+		@Override
+		public boolean hasNext() {
+			return rows.hasNext();
+		}
+		
+		@Override
+		public SelectionItem next() {
+			Object[] row = (Object[]) rows.next();
+			++rowCount;
+			return new SelectionItem(itemType, (Instant) row[1], (Instant) row[2], (Instant) row[3], row[0]);
+		}
+	}
+	
+	/**
+	 * Derive the query for the selection items (product ID and validity and generation times only) from the SQL query template
+	 * for the products. This is only possible, if all policies of the selection rule select a single product, so that only
+	 * the selected products need to be loaded after evaluating the rule.
+	 * 
+	 * @param sqlQuery the SQL query template for the products
+	 * @param selectionRule the selection rule, from which the SQL query template was generated
+	 * @return the SQL query template for the selection items, or null, if the selection rule cannot be evaluated incrementally
+	 */
+	private String getSelectionItemQuery(String sqlQuery, SimpleSelectionRule selectionRule) {
+		if (!selectionRule.hasSingleItemPolicies() || !sqlQuery.startsWith(SQL_PRODUCT_PROJECTION)) {
+			return null;
+		}
+		String startTimeColumn = productColumnMapping.get("sensingStartTime");
+		String stopTimeColumn = productColumnMapping.get("sensingStopTime");
+		String generationTimeColumn = productColumnMapping.get("generationTime");
+		if (null == startTimeColumn || null == stopTimeColumn || null == generationTimeColumn) {
+			return null;
+		}
+		return String.format("SELECT p.id AS %s, p.%s AS %s, p.%s AS %s, p.%s AS %s FROM product p ",
+				SQL_COLUMN_ID, startTimeColumn, SQL_COLUMN_START, stopTimeColumn, SQL_COLUMN_STOP, generationTimeColumn, SQL_COLUMN_GENERATION)
+				+ sqlQuery.substring(SQL_PRODUCT_PROJECTION.length());
+	}
+	
+	/**
+	 * Select the products satisfying the selection rule of the product query from the full list of products returned by the
+	 * SQL query
+	 * 
+	 * @param sqlQuery the SQL query template for the products
+	 * @param sqlQueryParameters the values of the bind parameters for the selection times
+	 * @param productQuery the product query to execute
+	 * @param facility the processing facility to select the products for
+	 * @return the selected products, or null, if no products were found or selected and the selection rule is optional
+	 * @throws NoSuchElementException if no products were selected and the selection rule is mandatory
+	 */
+	private List<Object> selectFromProducts(String sqlQuery, Map<String, String> sqlQueryParameters, ProductQuery productQuery,
+			ProcessingFacility facility) throws NoSuchElementException {
+		Job job = productQuery.getJobStep().getJob();
 		
 		Query query = em.createNativeQuery(sqlQuery, Product.class);
 		query.setParameter("facility_id", facility.getId());
+		for (Map.Entry<String, String> sqlQueryParameter: sqlQueryParameters.entrySet()) {
+			query.setParameter(sqlQueryParameter.getKey(), sqlQueryParameter.getValue());
+		}
 		
 		Instant queryStart = Instant.now();
 		List<?> queryResult = (List<?>) query.getResultList();
@@ -183,19 +351,119 @@ public class ProductQueryService {
 		
 		// Check if there is any result at all
 		if (products.isEmpty()) {
-			if (logger.isTraceEnabled()) logger.trace("<<< executeQuery()");
-			return testOptionalSatisfied(productQuery, checkOnly);
+			return null;
 		}
 		
 		// Check if all conditions of the selection rule are met (this may reduce the output in some cases, where the 
 		// SQL command deliberately returns a greater number of products than expected, and it may turn out that the
 		// expected coverage of the time interval is not met)
+		return productQuery.getGeneratingRule().selectItems(
+				SelectionItem.asSelectionItems(products), job.getStartTime(), job.getStopTime());
+	}
+	
+	/**
+	 * Select the products satisfying the selection rule of the product query by evaluating the rule incrementally on a
+	 * forward-only cursor over the selection items returned by the SQL query. Only the candidate items of the policies are
+	 * retained during the evaluation, and only the selected products are loaded as entities.
+	 * 
+	 * @param selectionItemQuery the SQL query template for the selection items
+	 * @param sqlQueryParameters the values of the bind parameters for the selection times
+	 * @param productQuery the product query to execute
+	 * @param facility the processing facility to select the products for
+	 * @return the selected products, or null, if no products were found or selected and the selection rule is optional
+	 * @throws NoSuchElementException if no products were selected and the selection rule is mandatory
+	 */
+	private List<Object> selectFromCursor(String selectionItemQuery, Map<String, String> sqlQueryParameters,
+			ProductQuery productQuery, ProcessingFacility facility) throws NoSuchElementException {
+		Job job = productQuery.getJobStep().getJob();
+		SimpleSelectionRule selectionRule = productQuery.getGeneratingRule();
+		
+		Query query = em.createNativeQuery(selectionItemQuery);
+		query.unwrap(NativeQuery.class)
+			.addScalar(SQL_COLUMN_ID, StandardBasicTypes.LONG)
+			.addScalar(SQL_COLUMN_START, StandardBasicTypes.INSTANT)
+			.addScalar(SQL_COLUMN_STOP, StandardBasicTypes.INSTANT)
+			.addScalar(SQL_COLUMN_GENERATION, StandardBasicTypes.INSTANT);
+		query.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE);
+		query.setParameter("facility_id", facility.getId());
+		for (Map.Entry<String, String> sqlQueryParameter: sqlQueryParameters.entrySet()) {
+			query.setParameter(sqlQueryParameter.getKey(), sqlQueryParameter.getValue());
+		}
+		
+		Instant queryStart = Instant.now();
+		List<Object> selectedIds = null;
+		try (Stream<?> rows = query.getResultStream()) {
+			SelectionItemCursor cursor = new SelectionItemCursor(selectionRule.getSourceProductClass().getProductType(), rows.iterator());
+			
+			// Check if there is any result at all
+			if (!cursor.hasNext()) {
+				if (logger.isTraceEnabled()) logger.trace("... selection item query returned no products");
+				return null;
+			}
+			
+			try {
+				selectedIds = selectionRule.selectItems(cursor, job.getStartTime(), job.getStopTime());
+			} finally {
+				if (logger.isTraceEnabled()) 
+					logger.trace("... selection item query returned {} products, evaluated in {} ms", cursor.rowCount,
+							Duration.between(queryStart, Instant.now()).toMillis());
+			}
+		}
+		if (null == selectedIds) {
+			return null;
+		}
+		
+		// Load the selected products
+		List<Object> selectedProducts = new ArrayList<>();
+		for (Object selectedId: selectedIds) {
+			Product product = em.find(Product.class, selectedId);
+			if (null != product) {
+				selectedProducts.add(product);
+			}
+		}
+		return selectedProducts;
+	}
+	
+	/**
+	 * Execute the query of the given product query and check additional conditions (e. g. selection time interval coverage).
+	 * If successful, the query and its satisfying products are updated (these updates must be persisted by the calling method).
+	 * 
+	 * @param productQuery the product query to execute
+	 * @param checkOnly indicates whether to store check result and satisfying products for future reference
+	 * @return true, if the query is satisfied (its list of satisfying products will then be set, unless checkOnly is true),
+	 * 		   false otherwise
+	 * @throws IllegalArgumentException if the product query is incomplete
+	 */
+	public boolean executeQuery(ProductQuery productQuery, boolean checkOnly) throws IllegalArgumentException {
+		if (logger.isTraceEnabled()) logger.trace(">>> executeQuery({}, {})", (null == productQuery ? null : productQuery.getId()), checkOnly);
+
+		if (logger.isTraceEnabled()) logger.trace("Number of products in database: " + RepositoryService.getProductRepository().count());
+		
+		// Check arguments
+		if (null == productQuery || null == productQuery.getGeneratingRule() || null == productQuery.getSqlQueryCondition()) {
+			throw new IllegalArgumentException(logger.log(ModelMessage.INCOMPLETE_PRODUCT_QUERY, null == productQuery ? "null" : productQuery.toString()));
+		}
+
+		// Determine the requested processing facility
+		Job job = productQuery.getJobStep().getJob();
+		ProcessingFacility facility = job.getProcessingFacility();
+		
+		// Execute the query (native SQL due to use of recursive SQL view product_processing_facilities) from the parameterised
+		// template for the selection rule, binding the selection times of the job and the processing facility
+		String sqlQuery = getQueryTemplate(productQuery);
+		Map<String, String> sqlQueryParameters = productQuery.getGeneratingRule().getSqlQueryParameters(job.getStartTime(), job.getStopTime());
+		if (logger.isDebugEnabled()) logger.debug("Executing SQL query: {} with parameters {}", sqlQuery, sqlQueryParameters);
+		
+		// Select the products, either by evaluating the selection rule incrementally on a cursor over the product
+		// validity times (if all policies select a single product) or by evaluating it on the full list of products
+		String selectionItemQuery = getSelectionItemQuery(sqlQuery, productQuery.getGeneratingRule());
 		List<Object> selectedItems = null;
 		try {
-			selectedItems = productQuery.getGeneratingRule().selectItems(
-					SelectionItem.asSelectionItems(products), job.getStartTime(), job.getStopTime());
+			selectedItems = (null == selectionItemQuery ? 
+					selectFromProducts(sqlQuery, sqlQueryParameters, productQuery, facility) :
+					selectFromCursor(selectionItemQuery, sqlQueryParameters, productQuery, facility));
 			if (null == selectedItems) {
-				// No items selected, but rule is optional
+				// No items found, or no items selected and rule is optional
 				if (logger.isTraceEnabled()) logger.trace("<<< executeQuery()");
 				return testOptionalSatisfied(productQuery, checkOnly);
 			}
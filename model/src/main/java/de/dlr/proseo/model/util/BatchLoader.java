@@ -0,0 +1,117 @@
+/**
+ * BatchLoader.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+
+import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.model.PersistentObject;
+import de.dlr.proseo.model.ProcessingOrder;
+import de.dlr.proseo.model.Product;
+import de.dlr.proseo.model.Workflow;
+
+/**
+ * Batch loading of the lazily fetched attributes of a page of query results, before the entities are converted into
+ * their external representation. Instead of initializing the attributes entity by entity (leading to several additional
+ * SELECT statements per entity), each group of attributes is loaded for the whole page in one query using fetch joins.
+ * Since the entities are already attached to the given entity manager, the fetch joins initialize their attributes in place.
+ *
+ * All methods must be called within a transaction.
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class BatchLoader {
+
+	/** Maximum number of entity IDs in one query (for larger pages the number of queries grows linearly) */
+	public static final int MAX_IDS_PER_QUERY = 1000;
+
+	/** Queries for the lazily fetched product attributes used in product conversions */
+	private static final String[] PRODUCT_QUERIES = {
+			"SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.productClass LEFT JOIN FETCH p.parameters WHERE p.id IN :ids",
+			"SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.productFile pf LEFT JOIN FETCH pf.processingFacility "
+					+ "WHERE p.id IN :ids",
+			"SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.orbit LEFT JOIN FETCH p.configuredProcessor cp "
+					+ "LEFT JOIN FETCH cp.processor WHERE p.id IN :ids" };
+
+	/** Queries for the lazily fetched processing order attributes used in order conversions */
+	private static final String[] ORDER_QUERIES = {
+			"SELECT DISTINCT o FROM ProcessingOrder o LEFT JOIN FETCH o.dynamicProcessingParameters WHERE o.id IN :ids" };
+
+	/** Queries for the lazily fetched workflow attributes used in workflow conversions */
+	private static final String[] WORKFLOW_QUERIES = {
+			"SELECT DISTINCT w FROM Workflow w LEFT JOIN FETCH w.workflowOptions WHERE w.id IN :ids",
+			"SELECT DISTINCT wo FROM WorkflowOption wo LEFT JOIN FETCH wo.valueRange WHERE wo.workflow.id IN :ids" };
+
+	/** A logger for this class */
+	private static ProseoLogger logger = new ProseoLogger(BatchLoader.class);
+
+	/**
+	 * Load the product classes, product parameters, product files, orbits and configured processors for the given products
+	 *
+	 * @param em       the entity manager the products are attached to
+	 * @param products the products to load the attributes for
+	 */
+	public static void loadProductAttributes(EntityManager em, Collection<Product> products) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> loadProductAttributes(em, [{} products])", products.size());
+
+		load(em, products, PRODUCT_QUERIES);
+	}
+
+	/**
+	 * Load the dynamic processing parameters for the given processing orders
+	 *
+	 * @param em     the entity manager the orders are attached to
+	 * @param orders the orders to load the attributes for
+	 */
+	public static void loadOrderAttributes(EntityManager em, Collection<ProcessingOrder> orders) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> loadOrderAttributes(em, [{} orders])", orders.size());
+
+		load(em, orders, ORDER_QUERIES);
+	}
+
+	/**
+	 * Load the workflow options including their value ranges for the given workflows
+	 *
+	 * @param em        the entity manager the workflows are attached to
+	 * @param workflows the workflows to load the attributes for
+	 */
+	public static void loadWorkflowAttributes(EntityManager em, Collection<Workflow> workflows) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> loadWorkflowAttributes(em, [{} workflows])", workflows.size());
+
+		load(em, workflows, WORKFLOW_QUERIES);
+	}
+
+	/**
+	 * Execute the given fetch join queries for the IDs of the given entities
+	 *
+	 * @param em       the entity manager the entities are attached to
+	 * @param entities the entities to load the attributes for
+	 * @param queries  the JPQL queries to execute, each with a parameter "ids"
+	 */
+	private static void load(EntityManager em, Collection<? extends PersistentObject> entities, String[] queries) {
+		List<Long> ids = new ArrayList<>();
+		for (PersistentObject entity : entities) {
+			if (null != entity && null != entity.getId() && 0 != entity.getId()) {
+				ids.add(entity.getId());
+			}
+		}
+
+		for (int start = 0; start < ids.size(); start += MAX_IDS_PER_QUERY) {
+			List<Long> chunk = ids.subList(start, Math.min(start + MAX_IDS_PER_QUERY, ids.size()));
+			for (String query : queries) {
+				em.createQuery(query).setParameter("ids", chunk).getResultList();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,486 @@
+/**
+ * GeoPolygon.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A simple geographical (multi-)polygon in longitude/latitude coordinates (WGS84, degrees), consisting of one or more parts,
+ * each of which is given by its outer boundary (holes are not supported). The polygon can be converted from and to the
+ * OGC Well-Known Binary (WKB) format, so it can be stored in a database without requiring spatial database extensions,
+ * and it can be read from the GML position list format used in product metadata and from the OGC Well-Known Text (WKT)
+ * format used in OData geography literals.
+ * <p>
+ * Intersection tests are performed in the plane of longitude and latitude. Parts crossing the antimeridian (detected by a
+ * longitude difference of more than 180° between consecutive points) are unwrapped to longitudes beyond 180°, and compared
+ * to the other polygon shifted by ±360° in longitude.
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class GeoPolygon {
+
+	/** WKB geometry type for polygons */
+	private static final int WKB_POLYGON = 3;
+	/** WKB geometry type for multi-polygons */
+	private static final int WKB_MULTIPOLYGON = 6;
+	/** WKB byte order marker for little endian (NDR) */
+	private static final byte WKB_NDR = 1;
+
+	/** Pattern for a WKT polygon or multi-polygon with optional SRID prefix */
+	private static final Pattern WKT_PATTERN = Pattern.compile(
+			"^\\s*(?:SRID=(\\d+)\\s*;)?\\s*(MULTIPOLYGON|POLYGON)\\s*(\\(.*\\))\\s*$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+	/** The only spatial reference system supported (WGS84) */
+	private static final String SRID_WGS84 = "4326";
+
+	/** The polygon parts; each part is a closed ring of [longitude, latitude] points, unwrapped at the antimeridian */
+	private final List<double[][]> parts;
+
+	/** Bounding box of the (unwrapped) parts: minimum longitude, minimum latitude, maximum longitude, maximum latitude */
+	private final double[] bounds;
+
+	/**
+	 * Create a polygon from the given parts
+	 *
+	 * @param parts the polygon parts, each given as a list of [longitude, latitude] points (the rings may be open or closed)
+	 * @throws IllegalArgumentException if no parts are given, or if any part is empty
+	 */
+	public GeoPolygon(List<double[][]> parts) throws IllegalArgumentException {
+		if (null == parts || parts.isEmpty()) {
+			throw new IllegalArgumentException("Polygon without parts");
+		}
+
+		List<double[][]> normalizedParts = new ArrayList<>();
+		for (double[][] part: parts) {
+			normalizedParts.add(normalize(part));
+		}
+		this.parts = Collections.unmodifiableList(normalizedParts);
+
+		bounds = new double[] { Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE };
+		for (double[][] part: this.parts) {
+			for (double[] point: part) {
+				bounds[0] = Math.min(bounds[0], point[0]);
+				bounds[1] = Math.min(bounds[1], point[1]);
+				bounds[2] = Math.max(bounds[2], point[0]);
+				bounds[3] = Math.max(bounds[3], point[1]);
+			}
+		}
+	}
+
+	/**
+	 * Create a polygon from a GML position list (blank-separated list of latitude/longitude pairs, older missions may
+	 * separate latitude and longitude by a comma)
+	 *
+	 * @param posList the position list
+	 * @return a polygon with a single part
+	 * @throws IllegalArgumentException if the position list cannot be parsed
+	 */
+	public static GeoPolygon fromPosList(String posList) throws IllegalArgumentException {
+		if (null == posList || posList.isBlank()) {
+			throw new IllegalArgumentException("Empty position list");
+		}
+
+		String[] values = posList.trim().replaceAll(",", " ").split("\\s+");
+		if (values.length < 2 || 0 != values.length % 2) {
+			throw new IllegalArgumentException("Odd number of coordinate values in position list " + posList);
+		}
+
+		double[][] points = new double[values.length / 2][];
+		try {
+			for (int i = 0; i < points.length; ++i) {
+				// GML has latitude first, while we use longitude as x-value and latitude as y-value
+				points[i] = new double[] { Double.parseDouble(values[2 * i + 1]), Double.parseDouble(values[2 * i]) };
+			}
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid coordinate value in position list " + posList, e);
+		}
+
+		return new GeoPolygon(Collections.singletonList(points));
+	}
+
+	/**
+	 * Create a polygon from a WKT polygon or multi-polygon with an optional SRID prefix (e. g.
+	 * "SRID=4326;POLYGON((10 50,12 50,12 52,10 52,10 50))"); only the outer boundaries of the polygons are supported
+	 *
+	 * @param wkt the WKT string
+	 * @return a polygon with one part per WKT polygon
+	 * @throws IllegalArgumentException if the WKT string cannot be parsed, uses a spatial reference system other than WGS84,
+	 *                                  or contains polygons with holes
+	 */
+	public static GeoPolygon fromWkt(String wkt) throws IllegalArgumentException {
+		Matcher matcher = WKT_PATTERN.matcher(null == wkt ? "" : wkt);
+		if (!matcher.matches()) {
+			throw new IllegalArgumentException("Only WKT polygons and multi-polygons are supported: " + wkt);
+		}
+		if (null != matcher.group(1) && !SRID_WGS84.equals(matcher.group(1))) {
+			throw new IllegalArgumentException("Unsupported spatial reference system " + matcher.group(1));
+		}
+		boolean isMultiPolygon = "MULTIPOLYGON".equals(matcher.group(2).toUpperCase(Locale.ROOT));
+
+		// Split nested parentheses into polygons and rings
+		String body = matcher.group(3).trim();
+		List<String> polygonTexts = isMultiPolygon ? splitList(body) : Collections.singletonList(body);
+
+		List<double[][]> parts = new ArrayList<>();
+		for (String polygonText: polygonTexts) {
+			List<String> rings = splitList(polygonText.trim());
+			if (1 != rings.size()) {
+				throw new IllegalArgumentException("Polygons with holes are not supported: " + wkt);
+			}
+			String ringText = rings.get(0).trim();
+			if (!ringText.startsWith("(") || !ringText.endsWith(")")) {
+				throw new IllegalArgumentException("Invalid WKT ring " + ringText);
+			}
+
+			String[] pointTexts = ringText.substring(1, ringText.length() - 1).split(",");
+			double[][] points = new double[pointTexts.length][];
+			try {
+				for (int i = 0; i < pointTexts.length; ++i) {
+					String[] values = pointTexts[i].trim().split("\\s+");
+					if (2 != values.length) {
+						throw new IllegalArgumentException("Invalid WKT point " + pointTexts[i]);
+					}
+					points[i] = new double[] { Double.parseDouble(values[0]), Double.parseDouble(values[1]) };
+				}
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid coordinate value in WKT ring " + ringText, e);
+			}
+			parts.add(points);
+		}
+
+		return new GeoPolygon(parts);
+	}
+
+	/**
+	 * Create a polygon from a WKB polygon or multi-polygon (in either byte order); only the outer boundaries of the polygons
+	 * are evaluated
+	 *
+	 * @param wkb the WKB byte array
+	 * @return a polygon with one part per WKB polygon
+	 * @throws IllegalArgumentException if the byte array does not contain a valid WKB polygon or multi-polygon
+	 */
+	public static GeoPolygon fromWkb(byte[] wkb) throws IllegalArgumentException {
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(wkb);
+			List<double[][]> parts = new ArrayList<>();
+
+			int geometryType = readWkbHeader(buffer);
+			if (WKB_POLYGON == geometryType) {
+				parts.add(readWkbPolygon(buffer));
+			} else if (WKB_MULTIPOLYGON == geometryType) {
+				int polygonCount = buffer.getInt();
+				for (int i = 0; i < polygonCount; ++i) {
+					if (WKB_POLYGON != readWkbHeader(buffer)) {
+						throw new IllegalArgumentException("Invalid WKB geometry type in multi-polygon");
+					}
+					parts.add(readWkbPolygon(buffer));
+				}
+			} else {
+				throw new IllegalArgumentException("Unsupported WKB geometry type " + geometryType);
+			}
+
+			return new GeoPolygon(parts);
+		} catch (RuntimeException e) {
+			if (e instanceof IllegalArgumentException) {
+				throw e;
+			}
+			throw new IllegalArgumentException("Invalid WKB geometry", e);
+		}
+	}
+
+	/**
+	 * Convert the polygon to WKB (little endian); a single-part polygon is encoded as WKB polygon, otherwise a WKB
+	 * multi-polygon is created. Longitudes are written as unwrapped, i. e. they may exceed 180° for parts crossing the
+	 * antimeridian.
+	 *
+	 * @return the WKB byte array
+	 */
+	public byte[] toWkb() {
+		int size = (1 == parts.size() ? 0 : 9);
+		for (double[][] part: parts) {
+			size += 13 + 16 * part.length;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+		if (1 < parts.size()) {
+			buffer.put(WKB_NDR).putInt(WKB_MULTIPOLYGON).putInt(parts.size());
+		}
+		for (double[][] part: parts) {
+			buffer.put(WKB_NDR).putInt(WKB_POLYGON).putInt(1).putInt(part.length);
+			for (double[] point: part) {
+				buffer.putDouble(point[0]).putDouble(point[1]);
+			}
+		}
+
+		return buffer.array();
+	}
+
+	/**
+	 * Gets the polygon parts
+	 *
+	 * @return an unmodifiable list of closed rings of [longitude, latitude] points
+	 */
+	public List<double[][]> getParts() {
+		return parts;
+	}
+
+	/**
+	 * Checks whether any part of this polygon crosses the antimeridian
+	 *
+	 * @return true, if the polygon has longitudes outside the range [-180°, 180°] after unwrapping, false otherwise
+	 */
+	public boolean crossesAntimeridian() {
+		return bounds[0] < -180.0 || bounds[2] > 180.0;
+	}
+
+	/**
+	 * Gets the minimum longitude of the bounding box (-180°, if the polygon crosses the antimeridian)
+	 *
+	 * @return the minimum longitude
+	 */
+	public double getMinLongitude() {
+		return crossesAntimeridian() ? -180.0 : bounds[0];
+	}
+
+	/**
+	 * Gets the maximum longitude of the bounding box (180°, if the polygon crosses the antimeridian)
+	 *
+	 * @return the maximum longitude
+	 */
+	public double getMaxLongitude() {
+		return crossesAntimeridian() ? 180.0 : bounds[2];
+	}
+
+	/**
+	 * Gets the minimum latitude of the bounding box
+	 *
+	 * @return the minimum latitude
+	 */
+	public double getMinLatitude() {
+		return bounds[1];
+	}
+
+	/**
+	 * Gets the maximum latitude of the bounding box
+	 *
+	 * @return the maximum latitude
+	 */
+	public double getMaxLatitude() {
+		return bounds[3];
+	}
+
+	/**
+	 * Checks whether this polygon and the given polygon intersect, i. e. whether they have at least one point in common
+	 * (including their boundaries)
+	 *
+	 * @param other the polygon to test against
+	 * @return true, if the polygons intersect, false otherwise
+	 */
+	public boolean intersects(GeoPolygon other) {
+		for (double shift: new double[] { 0.0, 360.0, -360.0 }) {
+			if (bounds[0] > other.bounds[2] + shift || bounds[2] < other.bounds[0] + shift
+					|| bounds[1] > other.bounds[3] || bounds[3] < other.bounds[1]) {
+				continue;
+			}
+			for (double[][] part: parts) {
+				for (double[][] otherPart: other.parts) {
+					if (partsIntersect(part, otherPart, shift)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Close the given ring and unwrap its longitudes at the antimeridian
+	 *
+	 * @param part the ring to normalize
+	 * @return a closed ring with continuous longitudes
+	 * @throws IllegalArgumentException if the ring is empty or contains invalid coordinates
+	 */
+	private static double[][] normalize(double[][] part) throws IllegalArgumentException {
+		if (null == part || 0 == part.length) {
+			throw new IllegalArgumentException("Empty polygon part");
+		}
+
+		boolean closed = part[0][0] == part[part.length - 1][0] && part[0][1] == part[part.length - 1][1];
+		double[][] ring = new double[closed ? part.length : part.length + 1][];
+
+		boolean crossesAntimeridian = false;
+		for (int i = 0; i < part.length; ++i) {
+			if (2 != part[i].length || !(Math.abs(part[i][0]) <= 360.0) || !(Math.abs(part[i][1]) <= 90.0)) {
+				throw new IllegalArgumentException("Invalid coordinates in polygon part");
+			}
+			if (0 < i && Math.abs(part[i][0] - part[i - 1][0]) > 180.0) {
+				crossesAntimeridian = true;
+			}
+		}
+		for (int i = 0; i < part.length; ++i) {
+			double longitude = part[i][0];
+			if (crossesAntimeridian && longitude < 0.0) {
+				longitude += 360.0;
+			}
+			ring[i] = new double[] { longitude, part[i][1] };
+		}
+		if (!closed) {
+			ring[part.length] = ring[0];
+		}
+
+		return ring;
+	}
+
+	/**
+	 * Test whether two polygon parts intersect, after shifting the second part by the given longitude offset
+	 *
+	 * @param part the first ring
+	 * @param otherPart the second ring
+	 * @param shift the longitude offset for the second ring
+	 * @return true, if the parts intersect, false otherwise
+	 */
+	private static boolean partsIntersect(double[][] part, double[][] otherPart, double shift) {
+		// Any crossing or touching boundaries?
+		for (int i = 0; i + 1 < part.length; ++i) {
+			for (int j = 0; j + 1 < otherPart.length; ++j) {
+				if (segmentsIntersect(part[i][0], part[i][1], part[i + 1][0], part[i + 1][1],
+						otherPart[j][0] + shift, otherPart[j][1], otherPart[j + 1][0] + shift, otherPart[j + 1][1])) {
+					return true;
+				}
+			}
+		}
+
+		// Otherwise one part may lie completely within the other
+		return contains(otherPart, shift, part[0][0], part[0][1]) || contains(part, 0.0, otherPart[0][0] + shift, otherPart[0][1]);
+	}
+
+	/**
+	 * Test whether the given point lies within the given ring (ray casting algorithm)
+	 *
+	 * @param ring the closed ring
+	 * @param shift the longitude offset for the ring
+	 * @param x the point longitude
+	 * @param y the point latitude
+	 * @return true, if the point is inside the ring, false otherwise (points on the boundary may yield either result)
+	 */
+	private static boolean contains(double[][] ring, double shift, double x, double y) {
+		boolean inside = false;
+		for (int i = 0, j = ring.length - 1; i < ring.length; j = i++) {
+			double xi = ring[i][0] + shift, yi = ring[i][1];
+			double xj = ring[j][0] + shift, yj = ring[j][1];
+			if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+				inside = !inside;
+			}
+		}
+		return inside;
+	}
+
+	/**
+	 * Test whether the segments (x1, y1)-(x2, y2) and (x3, y3)-(x4, y4) have at least one point in common
+	 *
+	 * @return true, if the segments intersect or touch, false otherwise
+	 */
+	private static boolean segmentsIntersect(double x1, double y1, double x2, double y2, double x3, double y3, double x4,
+			double y4) {
+		double d1 = orientation(x3, y3, x4, y4, x1, y1);
+		double d2 = orientation(x3, y3, x4, y4, x2, y2);
+		double d3 = orientation(x1, y1, x2, y2, x3, y3);
+		double d4 = orientation(x1, y1, x2, y2, x4, y4);
+
+		if (((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) && ((d3 > 0 && d4 < 0) || (d3 < 0 && d4 > 0))) {
+			return true;
+		}
+		return (0 == d1 && onSegment(x3, y3, x4, y4, x1, y1)) || (0 == d2 && onSegment(x3, y3, x4, y4, x2, y2))
+				|| (0 == d3 && onSegment(x1, y1, x2, y2, x3, y3)) || (0 == d4 && onSegment(x1, y1, x2, y2, x4, y4));
+	}
+
+	/** Cross product of (b - a) and (c - a) */
+	private static double orientation(double ax, double ay, double bx, double by, double cx, double cy) {
+		return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+	}
+
+	/** Check whether the point c, which is collinear with the segment a-b, lies within the segment's bounding box */
+	private static boolean onSegment(double ax, double ay, double bx, double by, double cx, double cy) {
+		return Math.min(ax, bx) <= cx && cx <= Math.max(ax, bx) && Math.min(ay, by) <= cy && cy <= Math.max(ay, by);
+	}
+
+	/**
+	 * Read the header of a WKB geometry and set the byte order of the buffer accordingly
+	 *
+	 * @param buffer the buffer to read from
+	 * @return the WKB geometry type
+	 */
+	private static int readWkbHeader(ByteBuffer buffer) {
+		buffer.order(WKB_NDR == buffer.get() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+		return buffer.getInt();
+	}
+
+	/**
+	 * Read the rings of a WKB polygon (after the header) and return the outer boundary
+	 *
+	 * @param buffer the buffer to read from
+	 * @return the outer boundary ring of the polygon
+	 */
+	private static double[][] readWkbPolygon(ByteBuffer buffer) {
+		int ringCount = buffer.getInt();
+		if (1 > ringCount) {
+			throw new IllegalArgumentException("WKB polygon without rings");
+		}
+		double[][] outerRing = null;
+		for (int r = 0; r < ringCount; ++r) {
+			int pointCount = buffer.getInt();
+			double[][] ring = new double[pointCount][];
+			for (int i = 0; i < pointCount; ++i) {
+				ring[i] = new double[] { buffer.getDouble(), buffer.getDouble() };
+			}
+			if (0 == r) {
+				outerRing = ring;
+			}
+		}
+		return outerRing;
+	}
+
+	/**
+	 * Split a parenthesized, comma-separated list of parenthesized elements, e. g. "((a),(b))" into "(a)" and "(b)"
+	 *
+	 * @param text the text to split
+	 * @return the list elements
+	 * @throws IllegalArgumentException if the parentheses are unbalanced
+	 */
+	private static List<String> splitList(String text) throws IllegalArgumentException {
+		if (!text.startsWith("(") || !text.endsWith(")")) {
+			throw new IllegalArgumentException("Invalid WKT list " + text);
+		}
+		List<String> elements = new ArrayList<>();
+		int depth = 0;
+		int start = 1;
+		for (int i = 1; i < text.length() - 1; ++i) {
+			char c = text.charAt(i);
+			if ('(' == c) {
+				++depth;
+			} else if (')' == c) {
+				--depth;
+				if (depth < 0) {
+					throw new IllegalArgumentException("Unbalanced parentheses in WKT list " + text);
+				}
+			} else if (',' == c && 0 == depth) {
+				elements.add(text.substring(start, i));
+				start = i + 1;
+			}
+		}
+		if (0 != depth) {
+			throw new IllegalArgumentException("Unbalanced parentheses in WKT list " + text);
+		}
+		elements.add(text.substring(start, text.length() - 1));
+		return elements;
+	}
+}
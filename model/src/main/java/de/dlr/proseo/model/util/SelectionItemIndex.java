@@ -0,0 +1,445 @@
+/**
+ * SelectionItemIndex.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An in-memory index for a collection of selection items, which allows to find the candidate items for a selection
+ * policy without scanning the whole collection. The items are sorted by validity start and by validity end time,
+ * and an interval tree (a segment tree over the items in validity start order, augmented with the latest validity end
+ * time of each subtree) supports queries for items intersecting or covering a given time interval.
+ * <p>
+ * All query methods return the candidate items in the order of the original collection, so selection methods
+ * applied to the candidates yield exactly the same results (including the resolution of ties) as when applied to the
+ * full collection. The index is immutable; the selection items must not be changed after the index has been created.
+ * If any of the items lacks a validity start, validity end or generation time, no index is built, and all query
+ * methods return the full collection.
+ * <p>
+ * Creating the index sorts the items, which costs more than a single scan of the collection by the selection methods.
+ * The index should therefore be created once for an item collection and used for several selections on it.
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class SelectionItemIndex {
+
+	/** The indexed items in their original order */
+	private final List<SelectionItem> items;
+
+	/** The item types of the indexed items */
+	private final Set<String> itemTypes = new HashSet<>();
+
+	/** Indicates whether the index structures are available */
+	private final boolean indexed;
+
+	/** Item positions sorted by validity start time */
+	private int[] byStartTime;
+
+	/** Item positions sorted by validity end time */
+	private int[] byStopTime;
+
+	/** Interval tree: latest validity end time in each subtree of the items in validity start time order */
+	private Instant[] maxStopTimes;
+
+	/** Positions of the items with the latest generation time */
+	private int[] latestGenerated;
+
+	/**
+	 * Create an index for the given items
+	 *
+	 * @param items the items to index
+	 */
+	public SelectionItemIndex(Collection<SelectionItem> items) {
+		this.items = Collections.unmodifiableList(new ArrayList<>(items));
+
+		boolean timesComplete = true;
+		for (SelectionItem item: this.items) {
+			itemTypes.add(item.itemType);
+			if (null == item.startTime || null == item.stopTime || null == item.generationTime) {
+				timesComplete = false;
+			}
+		}
+		indexed = timesComplete;
+
+		if (indexed) {
+			byStartTime = sortedPositions(Comparator.comparing(item -> item.startTime));
+			byStopTime = sortedPositions(Comparator.comparing(item -> item.stopTime));
+
+			if (!this.items.isEmpty()) {
+				maxStopTimes = new Instant[4 * this.items.size()];
+				buildTree(1, 0, this.items.size());
+			}
+
+			Instant latestGenerationTime = null;
+			List<Integer> latestPositions = new ArrayList<>();
+			for (int i = 0; i < this.items.size(); ++i) {
+				Instant generationTime = this.items.get(i).generationTime;
+				if (null == latestGenerationTime || generationTime.isAfter(latestGenerationTime)) {
+					latestGenerationTime = generationTime;
+					latestPositions.clear();
+				}
+				if (generationTime.equals(latestGenerationTime)) {
+					latestPositions.add(i);
+				}
+			}
+			latestGenerated = latestPositions.stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+
+	/**
+	 * Gets all indexed items in their original order
+	 *
+	 * @return an unmodifiable list of all items
+	 */
+	public List<SelectionItem> getItems() {
+		return items;
+	}
+
+	/**
+	 * Gets the item types occurring in the indexed items
+	 *
+	 * @return an unmodifiable set of item types
+	 */
+	public Set<String> getItemTypes() {
+		return Collections.unmodifiableSet(itemTypes);
+	}
+
+	/**
+	 * Gets the number of indexed items
+	 *
+	 * @return the number of items
+	 */
+	public int size() {
+		return items.size();
+	}
+
+	/**
+	 * Find all items whose validity period intersects the given selection interval, i. e. which start before the end
+	 * and end after the start of the interval. Optionally items starting or ending at a given point in time are added
+	 * (special case for "point-in-time" selection intervals).
+	 *
+	 * @param selectionStartTime the start of the selection interval
+	 * @param selectionStopTime the end of the selection interval
+	 * @param pointInTime a point in time, at which items may start or end to be selected in addition (may be null)
+	 * @return the candidate items in their original order
+	 */
+	public List<SelectionItem> findIntersecting(Instant selectionStartTime, Instant selectionStopTime, Instant pointInTime) {
+		if (!indexed) {
+			return items;
+		}
+
+		List<Integer> positions = new ArrayList<>();
+
+		// Items starting before the end of the interval form a prefix of the start time order
+		int end = firstStartTimeNotBefore(selectionStopTime);
+		collectLaterStopTimes(1, 0, items.size(), end, selectionStartTime, false, positions);
+
+		if (null != pointInTime) {
+			addRange(byStartTime, firstStartTimeNotBefore(pointInTime), firstStartTimeAfter(pointInTime), positions);
+			addRange(byStopTime, firstStopTimeNotBefore(pointInTime), firstStopTimeAfter(pointInTime), positions);
+		}
+
+		return toItems(positions);
+	}
+
+	/**
+	 * Find all items whose validity period fully covers the given selection interval
+	 *
+	 * @param selectionStartTime the start of the selection interval
+	 * @param selectionStopTime the end of the selection interval
+	 * @return the candidate items in their original order
+	 */
+	public List<SelectionItem> findCovering(Instant selectionStartTime, Instant selectionStopTime) {
+		if (!indexed) {
+			return items;
+		}
+
+		List<Integer> positions = new ArrayList<>();
+
+		// Items starting not after the start of the interval form a prefix of the start time order
+		int end = firstStartTimeAfter(selectionStartTime);
+		collectLaterStopTimes(1, 0, items.size(), end, selectionStopTime, true, positions);
+
+		return toItems(positions);
+	}
+
+	/**
+	 * Find all items with the latest validity start time
+	 *
+	 * @return the candidate items in their original order
+	 */
+	public List<SelectionItem> findLatestStartTime() {
+		if (!indexed || items.isEmpty()) {
+			return items;
+		}
+		Instant latestStartTime = items.get(byStartTime[byStartTime.length - 1]).startTime;
+		List<Integer> positions = new ArrayList<>();
+		addRange(byStartTime, firstStartTimeNotBefore(latestStartTime), byStartTime.length, positions);
+		return toItems(positions);
+	}
+
+	/**
+	 * Find all items with the latest validity end time
+	 *
+	 * @return the candidate items in their original order
+	 */
+	public List<SelectionItem> findLatestStopTime() {
+		if (!indexed || items.isEmpty()) {
+			return items;
+		}
+		Instant latestStopTime = items.get(byStopTime[byStopTime.length - 1]).stopTime;
+		List<Integer> positions = new ArrayList<>();
+		addRange(byStopTime, firstStopTimeNotBefore(latestStopTime), byStopTime.length, positions);
+		return toItems(positions);
+	}
+
+	/**
+	 * Find all items with the latest generation time
+	 *
+	 * @return the candidate items in their original order
+	 */
+	public List<SelectionItem> findLatestGenerationTime() {
+		if (!indexed) {
+			return items;
+		}
+		List<Integer> positions = new ArrayList<>();
+		for (int position: latestGenerated) {
+			positions.add(position);
+		}
+		return toItems(positions);
+	}
+
+	/**
+	 * Find all items whose validity start time has the minimum distance (in full seconds, as calculated by the selection
+	 * policies) to the given reference time
+	 *
+	 * @param referenceTime the reference time
+	 * @return the candidate items in their original order
+	 */
+	public List<SelectionItem> findClosestStartTime(Instant referenceTime) {
+		if (!indexed) {
+			return items;
+		}
+		return findClosest(byStartTime, firstStartTimeAfter(referenceTime), referenceTime, true);
+	}
+
+	/**
+	 * Find all items whose validity end time has the minimum distance (in full seconds, as calculated by the selection
+	 * policies) to the given reference time
+	 *
+	 * @param referenceTime the reference time
+	 * @return the candidate items in their original order
+	 */
+	public List<SelectionItem> findClosestStopTime(Instant referenceTime) {
+		if (!indexed) {
+			return items;
+		}
+		return findClosest(byStopTime, firstStopTimeAfter(referenceTime), referenceTime, false);
+	}
+
+	/**
+	 * Find the items with the minimum distance to the reference time; the distance is non-increasing towards the
+	 * reference time on either side, so all items with the minimum distance form a contiguous range around the split
+	 * position in the sorted order
+	 *
+	 * @param sortedPositions the item positions sorted by the relevant time
+	 * @param split the first position in sort order with a time after the reference time
+	 * @param referenceTime the reference time
+	 * @param useStartTime true, if the validity start time shall be used, false for the validity end time
+	 * @return the candidate items in their original order
+	 */
+	private List<SelectionItem> findClosest(int[] sortedPositions, int split, Instant referenceTime, boolean useStartTime) {
+		if (items.isEmpty()) {
+			return items;
+		}
+
+		long minDistance = Long.MAX_VALUE;
+		if (0 < split) {
+			minDistance = distance(sortedPositions[split - 1], referenceTime, useStartTime);
+		}
+		if (split < sortedPositions.length) {
+			minDistance = Math.min(minDistance, distance(sortedPositions[split], referenceTime, useStartTime));
+		}
+
+		int lo = split;
+		while (0 < lo && distance(sortedPositions[lo - 1], referenceTime, useStartTime) == minDistance) {
+			--lo;
+		}
+		int hi = split;
+		while (hi < sortedPositions.length && distance(sortedPositions[hi], referenceTime, useStartTime) == minDistance) {
+			++hi;
+		}
+
+		List<Integer> positions = new ArrayList<>();
+		addRange(sortedPositions, lo, hi, positions);
+		return toItems(positions);
+	}
+
+	/**
+	 * Calculate the distance of an item to the reference time in the same way as the selection policies do
+	 *
+	 * @param position the item position
+	 * @param referenceTime the reference time
+	 * @param useStartTime true, if the validity start time shall be used, false for the validity end time
+	 * @return the distance in seconds
+	 */
+	private long distance(int position, Instant referenceTime, boolean useStartTime) {
+		SelectionItem item = items.get(position);
+		return Math.abs(Duration.between(useStartTime ? item.startTime : item.stopTime, referenceTime).getSeconds());
+	}
+
+	/**
+	 * Create the item positions sorted by the given comparator (stable, i. e. equal items remain in original order)
+	 *
+	 * @param comparator the item comparator
+	 * @return the sorted item positions
+	 */
+	private int[] sortedPositions(Comparator<SelectionItem> comparator) {
+		Integer[] positions = new Integer[items.size()];
+		for (int i = 0; i < positions.length; ++i) {
+			positions[i] = i;
+		}
+		Arrays.sort(positions, (p1, p2) -> comparator.compare(items.get(p1), items.get(p2)));
+		return Arrays.stream(positions).mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Build the interval tree for the items in the given range of the validity start time order
+	 *
+	 * @param node the tree node
+	 * @param lo the first position in start time order (inclusive)
+	 * @param hi the last position in start time order (exclusive)
+	 */
+	private void buildTree(int node, int lo, int hi) {
+		if (hi - lo == 1) {
+			maxStopTimes[node] = items.get(byStartTime[lo]).stopTime;
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		buildTree(2 * node, lo, mid);
+		buildTree(2 * node + 1, mid, hi);
+		Instant left = maxStopTimes[2 * node];
+		Instant right = maxStopTimes[2 * node + 1];
+		maxStopTimes[node] = left.isAfter(right) ? left : right;
+	}
+
+	/**
+	 * Collect the positions of all items within the first entries of the start time order, whose validity end time is
+	 * after (or at, if inclusive) the given time; subtrees without such items are skipped
+	 *
+	 * @param node the tree node
+	 * @param lo the first position in start time order covered by the node (inclusive)
+	 * @param hi the last position in start time order covered by the node (exclusive)
+	 * @param end the end of the prefix of the start time order to search (exclusive)
+	 * @param time the time to compare the validity end times with
+	 * @param inclusive true, if items ending exactly at the given time shall be collected, too
+	 * @param positions the list to add the positions to
+	 */
+	private void collectLaterStopTimes(int node, int lo, int hi, int end, Instant time, boolean inclusive,
+			List<Integer> positions) {
+		if (lo >= end || lo >= hi) {
+			return;
+		}
+		Instant maxStopTime = maxStopTimes[node];
+		if (inclusive ? maxStopTime.isBefore(time) : !maxStopTime.isAfter(time)) {
+			return;
+		}
+		if (hi - lo == 1) {
+			positions.add(byStartTime[lo]);
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		collectLaterStopTimes(2 * node, lo, mid, end, time, inclusive, positions);
+		collectLaterStopTimes(2 * node + 1, mid, hi, end, time, inclusive, positions);
+	}
+
+	/**
+	 * Add the item positions in the given range of a sort order
+	 *
+	 * @param sortedPositions the sorted item positions
+	 * @param lo the start of the range (inclusive)
+	 * @param hi the end of the range (exclusive)
+	 * @param positions the list to add the positions to
+	 */
+	private static void addRange(int[] sortedPositions, int lo, int hi, List<Integer> positions) {
+		for (int i = lo; i < hi; ++i) {
+			positions.add(sortedPositions[i]);
+		}
+	}
+
+	/**
+	 * Convert item positions to the items in original order (removing duplicate positions)
+	 *
+	 * @param positions the item positions
+	 * @return the items in their original order
+	 */
+	private List<SelectionItem> toItems(List<Integer> positions) {
+		Collections.sort(positions);
+		List<SelectionItem> result = new ArrayList<>(positions.size());
+		int lastPosition = -1;
+		for (int position: positions) {
+			if (position != lastPosition) {
+				result.add(items.get(position));
+				lastPosition = position;
+			}
+		}
+		return result;
+	}
+
+	/** Find the first position in start time order with a start time not before the given time */
+	private int firstStartTimeNotBefore(Instant time) {
+		return binarySearch(byStartTime, time, true, false);
+	}
+
+	/** Find the first position in start time order with a start time after the given time */
+	private int firstStartTimeAfter(Instant time) {
+		return binarySearch(byStartTime, time, true, true);
+	}
+
+	/** Find the first position in stop time order with a stop time not before the given time */
+	private int firstStopTimeNotBefore(Instant time) {
+		return binarySearch(byStopTime, time, false, false);
+	}
+
+	/** Find the first position in stop time order with a stop time after the given time */
+	private int firstStopTimeAfter(Instant time) {
+		return binarySearch(byStopTime, time, false, true);
+	}
+
+	/**
+	 * Binary search for the first position in a sort order, whose time is after (or not before) the given time
+	 *
+	 * @param sortedPositions the sorted item positions
+	 * @param time the time to search for
+	 * @param useStartTime true, if the order is by validity start time, false for validity end time
+	 * @param strictlyAfter true, if the first time after the given time is searched, false for the first time not before it
+	 * @return the position found (the length of the sort order, if all times are before the given time)
+	 */
+	private int binarySearch(int[] sortedPositions, Instant time, boolean useStartTime, boolean strictlyAfter) {
+		int lo = 0;
+		int hi = sortedPositions.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			SelectionItem item = items.get(sortedPositions[mid]);
+			int comparison = (useStartTime ? item.startTime : item.stopTime).compareTo(time);
+			if (strictlyAfter ? comparison <= 0 : comparison < 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+}
@@ -724,6 +724,39 @@ public class SelectionRule {
 		return applicableRule.selectItems(items, startTime, stopTime);
 	}
 	
+	/**
+	 * Select all items in the given item index that fulfil the selection rule with respect to a given time interval.
+	 * All items in the index must be of the same item product type. If the rule does not contain policies
+	 * for the item type given in the index, an empty list returned. Use this method instead of
+	 * {@link #selectItems(String, Collection, Instant, Instant)}, if the same items are searched for several time intervals:
+	 * the index is created once by the caller, and each selection only evaluates the candidate items found in the index.
+	 * 
+	 * @param productType the type of the items to be searched
+	 * @param index the index of the items to be searched (may be empty, but not null)
+	 * @param startTime the start time of the time interval to check against
+	 * @param stopTime the end time of the time interval to check against
+	 * 
+	 * @return a (possibly empty) list of all item objects fulfilling the selection rule, or null, if no such qualifying item
+	 * 		   exists and the selection rule is marked as 'OPTIONAL'
+	 * @throws NoSuchElementException if no item fulfils the selection rule, and the selection rule is marked as 'MANDATORY'
+	 * @throws IllegalArgumentException if any of the parameters is null or if not all of the items
+	 * 		   are of the given item type
+	 */
+	public List<Object> selectItemsFromIndex(final String productType, final SelectionItemIndex index, final Instant startTime, final Instant stopTime)
+			throws NoSuchElementException, IllegalArgumentException {
+		if (null == index || null == startTime || null == stopTime) {
+			throw new IllegalArgumentException(MSG_MISSING_ARGUMENTS);
+		}
+		SimpleSelectionRule applicableRule = simpleRules.get(productType);
+		
+		// If no applicable rule is found, return an empty list
+		if (null == applicableRule) {
+			return new ArrayList<Object>();
+		}
+		
+		return applicableRule.selectItems(index, startTime, stopTime);
+	}
+	
 	/**
 	 * Select all products in the given collection of products that fulfil the selection rule with respect to a given time interval.
 	 * All products in the collection must be of the same product type. If the rule does not contain policies
@@ -0,0 +1,304 @@
+/**
+ * VersionedResponseCache.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import jakarta.persistence.EntityManager;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import de.dlr.proseo.logging.logger.ProseoLogger;
+
+/**
+ * In-process cache for responses of read requests on rarely changing reference data (missions, product classes, workflows
+ * etc.), supporting conditional requests with "If-None-Match" (the header content must be passed in by the calling
+ * controller, see {@link #getIfNoneMatch()}).
+ *
+ * Each response is tagged with the state of the underlying entity tables, which is determined by a cheap aggregate query over
+ * the row count, the highest database ID and the sum of the "version" columns of each entity class involved. As long as the
+ * state is unchanged, the cached response object is returned without loading and converting the object graph again, and
+ * requests with a matching entity tag are answered with HTTP status "304 NOT_MODIFIED". Since the state check also detects
+ * modifications made by other service instances, the in-process invalidation on writes (see {@link #invalidate()}) only
+ * serves to release outdated responses early.
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class VersionedResponseCache {
+
+	/** Hash algorithm for entity tags */
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/** Maximum number of cache entries */
+	private final int maxEntries;
+
+	/** The cached responses in access order */
+	private final Map<String, Entry> entries;
+
+	/** Number of cache hits */
+	private final AtomicLong hitCount = new AtomicLong();
+
+	/** Number of cache misses (including outdated entries) */
+	private final AtomicLong missCount = new AtomicLong();
+
+	/** A logger for this class */
+	private static ProseoLogger logger = new ProseoLogger(VersionedResponseCache.class);
+
+	/**
+	 * A cache entry
+	 */
+	private static class Entry {
+
+		/** The state of the entity tables at the time the response was created */
+		private final String versionTag;
+
+		/** The response body */
+		private final Object body;
+
+		private Entry(String versionTag, Object body) {
+			this.versionTag = versionTag;
+			this.body = body;
+		}
+	}
+
+	/**
+	 * Creates a response cache
+	 *
+	 * @param maxEntries the maximum number of cached responses (the cache is disabled, if zero or negative)
+	 */
+	public VersionedResponseCache(int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > VersionedResponseCache.this.maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Determine the state of the tables for the given entity classes
+	 *
+	 * @param em            the entity manager to use
+	 * @param entityClasses the entity classes (subclasses of PersistentObject) the response depends on
+	 * @return a string representation of the row count, the highest ID and the sum of versions for each entity class
+	 */
+	public static String queryVersionTag(EntityManager em, Class<?>... entityClasses) {
+		StringBuilder versionTag = new StringBuilder();
+		for (Class<?> entityClass : entityClasses) {
+			Object[] state = (Object[]) em
+				.createQuery("SELECT count(e), coalesce(max(e.id), 0), coalesce(sum(e.version), 0) FROM " + entityClass.getSimpleName()
+						+ " e")
+				.getSingleResult();
+			versionTag.append(entityClass.getSimpleName())
+				.append(':')
+				.append(state[0])
+				.append('/')
+				.append(state[1])
+				.append('/')
+				.append(state[2])
+				.append(';');
+		}
+		return versionTag.toString();
+	}
+
+	/**
+	 * Create a weak entity tag for the response to a request
+	 *
+	 * @param key        the cache key identifying the request
+	 * @param versionTag the state of the entity tables
+	 * @return the quoted weak entity tag
+	 */
+	public static String createETag(String key, String versionTag) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+			digest.update(key.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(versionTag.getBytes(StandardCharsets.UTF_8));
+			return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+		} catch (NoSuchAlgorithmException e) {
+			// Cannot happen, SHA-256 is available in every Java platform implementation
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Get the "If-None-Match" header of the HTTP request currently being processed
+	 *
+	 * @return the header content, or null, if no such header was given or no HTTP request is being processed
+	 */
+	public static String getIfNoneMatch() {
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (requestAttributes instanceof ServletRequestAttributes) {
+			return ((ServletRequestAttributes) requestAttributes).getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether the entity tag matches any of the entity tags given in an "If-None-Match" header (using weak comparison)
+	 *
+	 * @param ifNoneMatch the content of the "If-None-Match" header (may be null)
+	 * @param etag        the entity tag of the current response
+	 * @return true, if the client already has the current response, false otherwise
+	 */
+	public static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+		if (null == ifNoneMatch) {
+			return false;
+		}
+		String opaqueTag = etag.startsWith("W/") ? etag.substring(2) : etag;
+		for (String requestETag : ifNoneMatch.split(",")) {
+			requestETag = requestETag.trim();
+			if (requestETag.startsWith("W/")) {
+				requestETag = requestETag.substring(2);
+			}
+			if ("*".equals(requestETag) || opaqueTag.equals(requestETag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the response body for a read request, either from the cache, if the cached response is based on the current state of
+	 * the entity tables, or from the given loader.
+	 *
+	 * Note that the cache key must identify all request attributes the response depends on, including the mission of the
+	 * requesting user where the loader checks the user's authorization.
+	 *
+	 * @param <T>        the type of the response body
+	 * @param key        the cache key identifying the request
+	 * @param versionTag the current state of the entity tables (see {@link #queryVersionTag(EntityManager, Class...)})
+	 * @param loader     the function to create the response body (any exceptions thrown are passed on to the caller)
+	 * @return the response body
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getBody(String key, String versionTag, Supplier<T> loader) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> getBody({}, {}, loader)", key, versionTag);
+
+		T body = null;
+		if (0 < maxEntries) {
+			synchronized (entries) {
+				Entry entry = entries.get(key);
+				if (null != entry && entry.versionTag.equals(versionTag)) {
+					body = (T) entry.body;
+				}
+			}
+		}
+
+		if (null == body) {
+			missCount.incrementAndGet();
+			body = loader.get();
+			if (0 < maxEntries && null != body) {
+				synchronized (entries) {
+					entries.put(key, new Entry(versionTag, body));
+				}
+			}
+		} else {
+			hitCount.incrementAndGet();
+			if (logger.isTraceEnabled())
+				logger.trace("... cached response found for key {}", key);
+		}
+
+		return body;
+	}
+
+	/**
+	 * Create the response to a read request with an entity tag for the given cache key and state of the entity tables. If the
+	 * "If-None-Match" header of the HTTP request matches the entity tag, the response is returned with HTTP status
+	 * "304 NOT_MODIFIED" and without body.
+	 *
+	 * @param <T>         the type of the response body
+	 * @param key         the cache key identifying the request
+	 * @param versionTag  the current state of the entity tables
+	 * @param ifNoneMatch the content of the "If-None-Match" header of the HTTP request (may be null)
+	 * @param body        the response body
+	 * @return a response entity with HTTP status "OK" and the response body, or with HTTP status "NOT_MODIFIED"
+	 */
+	public static <T> ResponseEntity<T> toResponse(String key, String versionTag, String ifNoneMatch, T body) {
+		String etag = createETag(key, versionTag);
+		HttpHeaders responseHeaders = new HttpHeaders();
+		responseHeaders.setETag(etag);
+
+		if (matchesIfNoneMatch(ifNoneMatch, etag)) {
+			return new ResponseEntity<>(responseHeaders, HttpStatus.NOT_MODIFIED);
+		}
+		return new ResponseEntity<>(body, responseHeaders, HttpStatus.OK);
+	}
+
+	/**
+	 * Create the response to a read request, either from the cache, if the cached response is based on the current state of the
+	 * entity tables, or from the given loader. If the "If-None-Match" header of the HTTP request matches the entity tag of the
+	 * response, the response is returned with HTTP status "304 NOT_MODIFIED" and without body.
+	 *
+	 * Note that the cache key must identify all request attributes the response depends on, including the mission of the
+	 * requesting user where the loader checks the user's authorization.
+	 *
+	 * @param <T>         the type of the response body
+	 * @param key         the cache key identifying the request
+	 * @param versionTag  the current state of the entity tables (see {@link #queryVersionTag(EntityManager, Class...)})
+	 * @param ifNoneMatch the content of the "If-None-Match" header of the HTTP request (may be null)
+	 * @param loader      the function to create the response body (any exceptions thrown are passed on to the caller)
+	 * @return a response entity with HTTP status "OK" and the response body, or with HTTP status "NOT_MODIFIED"
+	 */
+	public <T> ResponseEntity<T> getResponse(String key, String versionTag, String ifNoneMatch, Supplier<T> loader) {
+		return toResponse(key, versionTag, ifNoneMatch, getBody(key, versionTag, loader));
+	}
+
+	/**
+	 * Removes all entries from the cache (to be called after any modification of the cached reference data)
+	 */
+	public void invalidate() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Gets the number of cache entries
+	 *
+	 * @return the number of cache entries
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Gets the number of cache hits
+	 *
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Gets the number of cache misses
+	 *
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+}
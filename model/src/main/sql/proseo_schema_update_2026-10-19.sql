@@ -0,0 +1,50 @@
+--
+-- prosEO Database Schema Update for prosEO 2.1.0
+--
+-- Date: 2026-10-19
+--
+
+--
+-- Product footprint for spatial queries (bounding box and polygon in WKB format);
+-- the footprint of existing products is derived from their "coordinates" parameter by the Ingestor on startup
+-- (the derivation requires parsing the GML position list, which is not possible in plain SQL), and until then
+-- the PRIP API rejects "Intersects" filters
+--
+ALTER TABLE public.product
+    ADD COLUMN footprint_min_latitude double precision,
+    ADD COLUMN footprint_max_latitude double precision,
+    ADD COLUMN footprint_min_longitude double precision,
+    ADD COLUMN footprint_max_longitude double precision,
+    ADD COLUMN footprint_wkb bytea;
+
+CREATE INDEX idx_product_footprint_bbox
+    ON public.product USING btree (footprint_min_longitude, footprint_max_longitude, footprint_min_latitude, footprint_max_latitude);
+
+CREATE TABLE public.product_footprint_backfill (
+    product_id bigint NOT NULL PRIMARY KEY
+);
+
+INSERT INTO public.product_footprint_backfill
+    SELECT DISTINCT product_id FROM public.product_parameters WHERE parameters_key = 'coordinates';
+
+--
+-- Search indexes for product file names (used by the PRIP API, if "proseo.nameSearch.indexed" is set):
+-- prefix searches ("startswith") use a pattern index on the name, suffix searches ("endswith") use a pattern index
+-- on the reversed name, and infix searches ("contains") use a trigram index, where the pg_trgm extension is available
+--
+CREATE INDEX idx_product_file_name_prefix
+    ON public.product_file USING btree (product_file_name varchar_pattern_ops);
+
+CREATE INDEX idx_product_file_name_suffix
+    ON public.product_file USING btree (reverse(product_file_name) text_pattern_ops);
+
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    CREATE INDEX idx_product_file_name_trigram
+        ON public.product_file USING gin (product_file_name gin_trgm_ops);
+EXCEPTION
+    WHEN OTHERS THEN
+        RAISE NOTICE 'Trigram index not created, infix name searches will not be index-supported: %', SQLERRM;
+END
+$$;
@@ -0,0 +1,195 @@
+/**
+ * SimplePolicyTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.dlr.proseo.model.SimplePolicy.DeltaTime;
+import de.dlr.proseo.model.SimplePolicy.PolicyType;
+import de.dlr.proseo.model.util.SelectionItem;
+
+/**
+ * Test class for SimplePolicy: Checks for randomly generated item collections and selection intervals, that the
+ * incremental selection of items yields the same results as the selection from the full item collection
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class SimplePolicyTest {
+
+	/** The product type used for all items */
+	private static final String ITEM_TYPE = "AUX_TEST";
+
+	/** Reference time for the generated items */
+	private static final Instant BASE_TIME = Instant.parse("2026-01-01T00:00:00Z");
+
+	/** Number of random test cases */
+	private static final int TEST_CASES = 1000;
+
+	/** The policy types implemented by SimplePolicy */
+	private static final List<PolicyType> POLICY_TYPES = Arrays.asList(PolicyType.ValIntersect,
+			PolicyType.ValIntersectWithoutDuplicates, PolicyType.LatestValIntersect, PolicyType.LatestValidity,
+			PolicyType.LatestStartValidity, PolicyType.LatestStopValidity, PolicyType.LatestValCover,
+			PolicyType.LatestValidityClosest, PolicyType.ClosestStartValidity, PolicyType.ClosestStopValidity,
+			PolicyType.LargestOverlap, PolicyType.LargestOverlap85, PolicyType.LastCreated);
+
+	/** A logger for this class */
+	private static Logger logger = LoggerFactory.getLogger(SimplePolicyTest.class);
+
+	/**
+	 * Create a random time on a coarse grid (to provoke equal times), optionally with a half-second offset (to check the
+	 * distance calculation in full seconds)
+	 *
+	 * @param random the random number generator
+	 * @return a random time
+	 */
+	private static Instant randomTime(Random random) {
+		return BASE_TIME.plusSeconds(60L * random.nextInt(120)).plusMillis(random.nextInt(4) == 0 ? 500 : 0);
+	}
+
+	/**
+	 * Create a random collection of selection items, including items with zero duration and items sharing the same
+	 * validity start, validity end or generation times
+	 *
+	 * @param random the random number generator
+	 * @return a list of selection items
+	 */
+	private static List<SelectionItem> randomItems(Random random) {
+		int count = random.nextInt(200);
+		List<SelectionItem> items = new ArrayList<>();
+		for (int i = 0; i < count; ++i) {
+			Instant startTime = randomTime(random);
+			Instant stopTime = (random.nextInt(10) == 0 ? startTime : startTime.plusSeconds(60L * random.nextInt(30)));
+			Instant generationTime = BASE_TIME.plusSeconds(3600L * random.nextInt(5));
+			items.add(new SelectionItem(ITEM_TYPE, startTime, stopTime, generationTime, Integer.valueOf(i)));
+		}
+		return items;
+	}
+
+	/**
+	 * Create a simple policy of the given type with random delta times
+	 *
+	 * @param random the random number generator
+	 * @param policyType the policy type
+	 * @return a simple policy
+	 */
+	private static SimplePolicy randomPolicy(Random random, PolicyType policyType) {
+		SimplePolicy policy = new SimplePolicy();
+		policy.setPolicyType(policyType);
+		policy.setDeltaTimes(Arrays.asList(
+				(random.nextBoolean() ? new DeltaTime(0, TimeUnit.SECONDS) : new DeltaTime(random.nextInt(1800), TimeUnit.SECONDS)),
+				(random.nextBoolean() ? new DeltaTime(0, TimeUnit.SECONDS) : new DeltaTime(random.nextInt(3), TimeUnit.MINUTES))));
+		return policy;
+	}
+
+	/**
+	 * Reduce a set of items selected by a "largest overlap" policy to their selection criteria, i. e. the overlap with
+	 * the selection interval, the validity start time and the generation time (items equal in all of these criteria are
+	 * selected in the iteration order of a hash set, i. e. the selection among them is arbitrary)
+	 *
+	 * @param items the items to reduce
+	 * @param policy the policy the items were selected by
+	 * @param startTime the start time of the time interval
+	 * @param stopTime the end time of the time interval
+	 * @return a set of strings representing the selection criteria of the items
+	 */
+	private static Set<String> asOverlapCriteria(Set<SelectionItem> items, SimplePolicy policy, Instant startTime, Instant stopTime) {
+		Instant selectionStartTime = startTime.minusMillis(policy.getDeltaTimeT0().toMilliseconds());
+		Instant selectionStopTime = stopTime.plusMillis(policy.getDeltaTimeT1().toMilliseconds());
+		Set<String> criteria = new HashSet<>();
+		for (SelectionItem item: items) {
+			Instant overlapStart = item.startTime.isAfter(selectionStartTime) ? item.startTime : selectionStartTime;
+			Instant overlapEnd = item.stopTime.isBefore(selectionStopTime) ? item.stopTime : selectionStopTime;
+			criteria.add(Duration.between(overlapStart, overlapEnd) + "/" + item.startTime + "/" + item.generationTime);
+		}
+		return criteria;
+	}
+
+	/**
+	 * Test that all policies yield the same results for incremental selection and selection from a collection
+	 */
+	@Test
+	public void testIncrementalSelection() {
+		Random random = new Random(4711);
+
+		int comparedSelections = 0;
+		int nonEmptySelections = 0;
+		for (int testCase = 0; testCase < TEST_CASES; ++testCase) {
+			List<SelectionItem> items = randomItems(random);
+
+			Instant startTime = randomTime(random);
+			Instant stopTime = (random.nextInt(5) == 0 ? startTime : startTime.plusSeconds(60L * random.nextInt(60)));
+
+			for (PolicyType policyType: POLICY_TYPES) {
+				SimplePolicy policy = randomPolicy(random, policyType);
+				assertEquals("Unexpected single item policy indicator for " + policyType,
+						PolicyType.ValIntersect != policyType && PolicyType.ValIntersectWithoutDuplicates != policyType,
+						policy.isSingleItemPolicy());
+
+				Set<SelectionItem> expected;
+				try {
+					expected = policy.selectItems(items, startTime, stopTime);
+				} catch (NullPointerException e) {
+					// Known limitation of the "largest overlap" selection for items without overlap, not relevant here
+					continue;
+				}
+
+				SimplePolicy.IncrementalSelection selection = policy.newIncrementalSelection(startTime, stopTime);
+				for (SelectionItem item: items) {
+					selection.add(item);
+				}
+				Set<SelectionItem> actual = selection.getSelectedItems();
+
+				String message = String.format("Different selection for test case %d, policy %s, interval (%s, %s)",
+						testCase, policy, startTime, stopTime);
+				if (PolicyType.LargestOverlap == policyType || PolicyType.LargestOverlap85 == policyType) {
+					assertEquals(message, asOverlapCriteria(expected, policy, startTime, stopTime),
+							asOverlapCriteria(actual, policy, startTime, stopTime));
+				} else {
+					assertEquals(message, expected, actual);
+				}
+				++comparedSelections;
+				if (!expected.isEmpty()) {
+					++nonEmptySelections;
+				}
+			}
+		}
+
+		logger.info("{} of {} compared policy selections non-empty", nonEmptySelections, comparedSelections);
+		assertTrue("Too few compared selections", comparedSelections > TEST_CASES * POLICY_TYPES.size() * 9 / 10);
+		assertTrue("Too few non-empty selections", nonEmptySelections > comparedSelections / 2);
+	}
+
+	/**
+	 * Test that unimplemented policy types are rejected for incremental selection
+	 */
+	@Test
+	public void testIncrementalSelectionNotImplemented() {
+		SimplePolicy policy = new SimplePolicy();
+		policy.setPolicyType(PolicyType.ValCover);
+		policy.setDeltaTimes(Arrays.asList(new DeltaTime(0, TimeUnit.SECONDS), new DeltaTime(0, TimeUnit.SECONDS)));
+		try {
+			policy.newIncrementalSelection(BASE_TIME, BASE_TIME.plusSeconds(60));
+			fail("Incremental selection created for unimplemented policy type");
+		} catch (UnsupportedOperationException e) {
+			// Expected
+		}
+	}
+
+}
@@ -61,6 +61,7 @@ public class SimpleSelectionRuleTest {
 			"FOR " + TEST_PRODUCT_TYPE + " SELECT LargestOverlap(1 H, 1 H)",
 			"FOR " + TEST_PRODUCT_TYPE + " SELECT LargestOverlap85(1 H, 1 H)"
 	};
+	private static final List<Integer> expectedSqlOrderable = Arrays.asList(1, 2, 6, 9, 10, 12);
 	private static final Instant TEST_START_TIME = Instant.parse("2016-11-02T00:00:00Z");
 	private static final Instant TEST_STOP_TIME = Instant.parse("2016-11-02T00:00:05Z");
 
@@ -436,4 +437,94 @@ public class SimpleSelectionRuleTest {
 		logger.info("OK: Test for asSqlQuery completed");
 	}
 
+	/**
+	 * Test method for {@link de.dlr.proseo.model.SimpleSelectionRule#asSqlQueryTemplate(Map, Map, String, String)} and
+	 * {@link de.dlr.proseo.model.SimpleSelectionRule#getSqlQueryParameters(Instant, Instant)}: The query template with
+	 * the parameter values inserted must be equivalent to the SQL query with literal time values.
+	 */
+	@Test
+	public final void testAsSqlQueryTemplate() {
+		for (int i = 0; i < selectionRuleStrings.length; ++i) {
+			try {
+				SelectionRule selectionRule = SelectionRule.parseSelectionRule(productClassCH4, selectionRuleStrings[i]);
+				List<SimpleSelectionRule> simpleRules = selectionRule.getSimpleRules();
+				for (SimpleSelectionRule simpleSelectionRule: simpleRules) {
+					
+					String sqlQueryTemplate = simpleSelectionRule.asSqlQueryTemplate(null, productColumnMapping, null, null);
+					assertFalse("Literal time value in SQL query template for selection rule string " + i,
+							sqlQueryTemplate.contains(EXPECTED_START_TIME) || sqlQueryTemplate.contains(EXPECTED_STOP_TIME));
+					
+					Map<String, String> sqlQueryParameters = simpleSelectionRule.getSqlQueryParameters(TEST_START_TIME, TEST_STOP_TIME);
+					String sqlQuery = sqlQueryTemplate;
+					for (Map.Entry<String, String> sqlQueryParameter: sqlQueryParameters.entrySet()) {
+						String parameterReference = "CAST(:" + sqlQueryParameter.getKey() + " AS TIMESTAMP)";
+						assertTrue("Unused SQL query parameter " + sqlQueryParameter.getKey() + " for selection rule string " + i,
+								sqlQuery.contains(parameterReference));
+						sqlQuery = sqlQuery.replace(parameterReference, "'" + sqlQueryParameter.getValue() + "'");
+					}
+					assertFalse("Unbound SQL query parameter for selection rule string " + i, sqlQuery.contains("CAST(:"));
+					
+					assertEquals("Unexpected SQL query from template for selection rule string " + i, expectedSqlQueries[i], sqlQuery);
+				}
+			} catch (IllegalArgumentException | ParseException e) {
+				e.printStackTrace();
+				fail("Unexpected exception in SelectionRule#parseSelectionRule(ProductClass, String)");
+			}
+		}
+		
+		logger.info("OK: Test for asSqlQueryTemplate completed");
+	}
+
+	/**
+	 * Test method for {@link de.dlr.proseo.model.SimpleSelectionRule#asOrderedSqlQueryTemplate(Map, Map, String)}: An
+	 * ordered SQL query template must be generated exactly for the selection rules with SQL-orderable policies, and it
+	 * must use all SQL query parameters.
+	 */
+	@Test
+	public final void testAsOrderedSqlQueryTemplate() {
+		for (int i = 0; i < selectionRuleStrings.length; ++i) {
+			try {
+				SelectionRule selectionRule = SelectionRule.parseSelectionRule(productClassCH4, selectionRuleStrings[i]);
+				List<SimpleSelectionRule> simpleRules = selectionRule.getSimpleRules();
+				for (SimpleSelectionRule simpleSelectionRule: simpleRules) {
+					
+					assertEquals("Unexpected SQL orderability for selection rule string " + i,
+							expectedSqlOrderable.contains(i), simpleSelectionRule.hasSqlOrderablePolicies());
+					
+					String sqlQueryTemplate = simpleSelectionRule.asOrderedSqlQueryTemplate(null, productColumnMapping, null);
+					if (!expectedSqlOrderable.contains(i)) {
+						assertNull("Unexpected ordered SQL query template for selection rule string " + i, sqlQueryTemplate);
+						continue;
+					}
+					assertNotNull("Missing ordered SQL query template for selection rule string " + i, sqlQueryTemplate);
+					assertTrue("Unlimited ordered SQL query template for selection rule string " + i,
+							sqlQueryTemplate.contains(" ORDER BY ") && sqlQueryTemplate.contains(" LIMIT 1)"));
+					
+					for (String sqlQueryParameter: simpleSelectionRule.getSqlQueryParameters(TEST_START_TIME, TEST_STOP_TIME).keySet()) {
+						if (sqlQueryTemplate.contains("CAST(:" + sqlQueryParameter + " AS TIMESTAMP)")) {
+							sqlQueryTemplate = sqlQueryTemplate.replace("CAST(:" + sqlQueryParameter + " AS TIMESTAMP)", "''");
+						}
+					}
+					assertFalse("Unbound SQL query parameter for selection rule string " + i, sqlQueryTemplate.contains("CAST(:"));
+				}
+			} catch (IllegalArgumentException | ParseException e) {
+				e.printStackTrace();
+				fail("Unexpected exception in SelectionRule#parseSelectionRule(ProductClass, String)");
+			}
+		}
+		
+		SelectionRule selectionRule = null;
+		try {
+			selectionRule = SelectionRule.parseSelectionRule(productClassCH4,
+					"FOR " + TEST_PRODUCT_TYPE + " SELECT ClosestStartValidity(1 H, 1 H) OR LatestValidity");
+		} catch (IllegalArgumentException | ParseException e) {
+			e.printStackTrace();
+			fail("Unexpected exception in SelectionRule#parseSelectionRule(ProductClass, String)");
+		}
+		assertNull("Unexpected ordered SQL query template for closest policy in policy combination",
+				selectionRule.getSimpleRules().get(0).asOrderedSqlQueryTemplate(null, productColumnMapping, null));
+		
+		logger.info("OK: Test for asOrderedSqlQueryTemplate completed");
+	}
+
 }
@@ -0,0 +1,238 @@
+/**
+ * ProductQueryBenchmark.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.dlr.proseo.model.Job;
+import de.dlr.proseo.model.JobStep;
+import de.dlr.proseo.model.Mission;
+import de.dlr.proseo.model.ProcessingFacility;
+import de.dlr.proseo.model.ProcessingOrder;
+import de.dlr.proseo.model.Product;
+import de.dlr.proseo.model.ProductClass;
+import de.dlr.proseo.model.ProductFile;
+import de.dlr.proseo.model.ProductQuery;
+import de.dlr.proseo.model.SimpleSelectionRule;
+import de.dlr.proseo.model.util.SelectionItem;
+import de.dlr.proseo.model.util.SelectionRule;
+
+/**
+ * JMH benchmark for the execution of a broad product query (a "largest overlap" policy, for which the database query
+ * returns all intersecting products, over a selection interval covering all products of an auxiliary product class)
+ * on a synthetic catalogue: loading all products and evaluating the selection rule on the full product list (as done by
+ * ProductQueryService before) compared to the incremental evaluation on a cursor over the product validity times.
+ * Not run as part of the unit tests; to run it, call the main method with the test class path of this module (the
+ * in-memory database from the test configuration is used). The main method adds the GC profiler, so the allocation
+ * per query execution is reported as "gc.alloc.rate.norm".
+ *
+ * @author Dr. Thomas Bassler
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductQueryBenchmark {
+
+	/* Test data */
+	private static final String TEST_CODE = "UTM";
+	private static final String TEST_TARGET_PRODUCT_TYPE = "L2__FRESCO_";
+	private static final String TEST_SOURCE_PRODUCT_TYPE = "AUX_BENCH";
+	private static final String TEST_FACILITY = "Benchmark Facility";
+	private static final String TEST_SELECTION_RULE = "FOR AUX_BENCH SELECT LargestOverlap(0, 0)";
+	private static final Instant TEST_START_TIME = Instant.parse("2026-01-01T00:00:00Z");
+	private static final int BATCH_SIZE = 1000;
+
+	/** The number of products in the catalogue */
+	@Param({ "10000", "50000" })
+	public int catalogueSize;
+
+	/** The Spring application context */
+	private ConfigurableApplicationContext context;
+
+	/** The product query service under test */
+	private ProductQueryService queryService;
+
+	/** Transaction template for the query executions */
+	private TransactionTemplate transactionTemplate;
+
+	/** Shared JPA entity manager */
+	private EntityManager em;
+
+	/** The product query to execute */
+	private ProductQuery productQuery;
+
+	/**
+	 * Start the application and create the synthetic product catalogue
+	 *
+	 * @throws Exception if the selection rule cannot be parsed
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = new SpringApplicationBuilder(RepositoryApplication.class)
+			.web(WebApplicationType.NONE)
+			.properties("spring.jpa.show-sql=false", "logging.level.de.dlr.proseo=WARN")
+			.run();
+		queryService = context.getBean(ProductQueryService.class);
+		transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		em = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+
+		context.getBean(JdbcTemplate.class)
+			.execute("RUNSCRIPT FROM 'classpath:create_view_product_processing_facilities_simplified.sql'");
+
+		ProductClass[] prodClasses = new ProductClass[2];
+		ProcessingFacility facility = transactionTemplate.execute((status) -> {
+			Mission mission = new Mission();
+			mission.setCode(TEST_CODE);
+			mission = RepositoryService.getMissionRepository().save(mission);
+
+			for (int i = 0; i < prodClasses.length; ++i) {
+				ProductClass prodClass = new ProductClass();
+				prodClass.setMission(mission);
+				prodClass.setProductType(0 == i ? TEST_TARGET_PRODUCT_TYPE : TEST_SOURCE_PRODUCT_TYPE);
+				prodClasses[i] = RepositoryService.getProductClassRepository().save(prodClass);
+				mission.getProductClasses().add(prodClasses[i]);
+			}
+
+			ProcessingFacility newFacility = new ProcessingFacility();
+			newFacility.setName(TEST_FACILITY);
+			return RepositoryService.getFacilityRepository().save(newFacility);
+		});
+
+		// One product per minute, generated in random order
+		for (int i = 0; i < catalogueSize; i += BATCH_SIZE) {
+			final int first = i;
+			transactionTemplate.executeWithoutResult((status) -> {
+				for (int j = first; j < Math.min(first + BATCH_SIZE, catalogueSize); ++j) {
+					Product product = new Product();
+					product.setProductClass(prodClasses[1]);
+					product.setUuid(UUID.randomUUID());
+					product.setSensingStartTime(TEST_START_TIME.plus(j, ChronoUnit.MINUTES));
+					product.setSensingStopTime(TEST_START_TIME.plus(j + 1, ChronoUnit.MINUTES));
+					product.setGenerationTime(TEST_START_TIME.plus((j * 7919L) % catalogueSize, ChronoUnit.SECONDS));
+					product = RepositoryService.getProductRepository().save(product);
+
+					ProductFile productFile = new ProductFile();
+					productFile.setProcessingFacility(facility);
+					productFile.setProduct(product);
+					product.getProductFile().add(RepositoryService.getProductFileRepository().save(productFile));
+				}
+			});
+		}
+
+		// The job covers the whole catalogue
+		SimpleSelectionRule selectionRule = SelectionRule.parseSelectionRule(prodClasses[0], TEST_SELECTION_RULE)
+			.getSimpleRules().iterator().next();
+		Job job = new Job();
+		job.setProcessingOrder(new ProcessingOrder());
+		job.setProcessingFacility(facility);
+		job.setStartTime(TEST_START_TIME);
+		job.setStopTime(TEST_START_TIME.plus(catalogueSize, ChronoUnit.MINUTES));
+		JobStep jobStep = new JobStep();
+		jobStep.setJob(job);
+		productQuery = ProductQuery.fromSimpleSelectionRule(selectionRule, jobStep, queryService.getProductColumnMapping(),
+				ProductQueryService.FACILITY_QUERY_SQL, ProductQueryService.FACILITY_QUERY_SQL_SUBSELECT);
+	}
+
+	/**
+	 * Shut down the application
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	/**
+	 * Execute the product query by loading all products and evaluating the selection rule on the full product list
+	 *
+	 * @return the selected products
+	 */
+	@Benchmark
+	public List<Object> productListSelection() {
+		return transactionTemplate.execute((status) -> {
+			SimpleSelectionRule selectionRule = productQuery.getGeneratingRule();
+			Job job = productQuery.getJobStep().getJob();
+
+			Query query = em.createNativeQuery(
+					selectionRule.asSqlQueryTemplate(productQuery.getFilterConditions(), queryService.getProductColumnMapping(),
+							ProductQueryService.FACILITY_QUERY_SQL, ProductQueryService.FACILITY_QUERY_SQL_SUBSELECT),
+					Product.class);
+			query.setParameter("facility_id", job.getProcessingFacility().getId());
+			for (Map.Entry<String, String> sqlQueryParameter: selectionRule
+				.getSqlQueryParameters(job.getStartTime(), job.getStopTime()).entrySet()) {
+				query.setParameter(sqlQueryParameter.getKey(), sqlQueryParameter.getValue());
+			}
+
+			List<Product> products = new ArrayList<>();
+			for (Object resultObject: query.getResultList()) {
+				products.add((Product) resultObject);
+			}
+			return selectionRule.selectItems(SelectionItem.asSelectionItems(products), job.getStartTime(), job.getStopTime());
+		});
+	}
+
+	/**
+	 * Execute the product query by evaluating the selection rule incrementally on a cursor
+	 *
+	 * @return true, if the product query is satisfied
+	 */
+	@Benchmark
+	public Boolean cursorSelection() {
+		return transactionTemplate.execute((status) -> queryService.executeQuery(productQuery, true));
+	}
+
+	/**
+	 * Run the benchmark with the GC profiler
+	 *
+	 * @param args not used
+	 * @throws RunnerException if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder().include(ProductQueryBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build();
+		new Runner(options).run();
+	}
+
+}
@@ -9,9 +9,21 @@ import static org.junit.Assert.*;
 
 import java.text.ParseException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -38,7 +50,9 @@ import de.dlr.proseo.model.Product;
 import de.dlr.proseo.model.ProductClass;
 import de.dlr.proseo.model.ProductFile;
 import de.dlr.proseo.model.ProductQuery;
+import de.dlr.proseo.model.SimplePolicy.PolicyType;
 import de.dlr.proseo.model.SimpleSelectionRule;
+import de.dlr.proseo.model.util.SelectionItem;
 import de.dlr.proseo.model.util.OrbitTimeFormatter;
 import de.dlr.proseo.model.util.SelectionRule;
 import de.dlr.proseo.model.enums.ParameterType;
@@ -64,11 +78,25 @@ public class ProductQueryServiceTest {
 	private static final String TEST_MODE = "OFFL";
 	private static final String TEST_SELECTION_RULE = "FOR L1B________/revision:1,mode:OFFL SELECT ValIntersect(0, 0)";
 	private static final String TEST_SELECTION_RULE_MINCOVER = "FOR L1B________ SELECT ValIntersect(0, 0) MINCOVER(65)";
+	private static final String TEST_SELECTION_RULE_LATEST = "FOR L1B________ SELECT LatestValIntersect(0, 0) OR LatestValidity";
 	private static final Instant TEST_START_TIME_EARLY = Instant.parse("2009-08-29T23:00:00Z");
 	private static final Instant TEST_STOP_TIME_EARLY = Instant.parse("2009-08-30T01:00:00Z");
 	private static final Instant TEST_START_TIME_LATE = Instant.parse("2009-08-30T01:00:00Z");
 	private static final Instant TEST_STOP_TIME_LATE = Instant.parse("2009-08-30T03:00:00Z");
 	private static final String TEST_FACILITY = "Test Facility";
+	private static final String TEST_EQUIVALENCE_TARGET_TYPE = "L2__EQUIV__";
+	private static final String TEST_EQUIVALENCE_SOURCE_TYPE = "AUX_EQUIV";
+	private static final int TEST_EQUIVALENCE_PRODUCTS = 300;
+	private static final int TEST_EQUIVALENCE_INTERVALS = 20;
+	private static final List<String> NO_DELTA_TIME_POLICIES = Arrays.asList("LatestValidity", "LatestStartValidity",
+			"LatestStopValidity", "LastCreated");
+	private static final String[] TEST_EQUIVALENCE_COMBINATIONS = {
+			"LatestValIntersect() OR LastCreated", "LatestValCover() OR LatestStopValidity",
+			"ValIntersect() OR LatestValidity", "ClosestStartValidity() OR LatestValidity" };
+	private static final String TEST_NULL_TIMES_TARGET_TYPE = "L2__NULLS__";
+	private static final String TEST_NULL_TIMES_SOURCE_TYPE = "AUX_NULLS";
+	private static final String TEST_CLOSEST_TARGET_TYPE = "L2__CLOSE__";
+	private static final String TEST_CLOSEST_SOURCE_TYPE = "AUX_CLOSE";
 
 	/* Test products */
 	private static String[][] testProductData = {
@@ -84,6 +112,10 @@ public class ProductQueryServiceTest {
 	@Autowired
 	private JdbcTemplate jdbcTemplate;
 	
+	/** JPA entity manager */
+	@PersistenceContext
+	private EntityManager em;
+	
 	/** A logger for this class */
 	private static Logger logger = LoggerFactory.getLogger(ProductQueryServiceTest.class);
 	
@@ -205,7 +237,7 @@ public class ProductQueryServiceTest {
 		logger.info("Using processing facility " + facility.getName());
 		
 		createProduct(testProductData[0], facility);
-		createProduct(testProductData[1], facility);
+		Product laterProduct = createProduct(testProductData[1], facility);
 		
 		logger.trace("Number of products in database: " + RepositoryService.getProductRepository().count());
 		
@@ -274,12 +306,351 @@ public class ProductQueryServiceTest {
 		logger.trace("Starting test for product query 2 and early interval based on " + simpleSelectionRule);
 		assertTrue("Product query 2 fails unexpectedly for early interval", queryService.executeQuery(query, true));
 
+		// The query template generated for the early interval must be reused for the late interval
+		long templateHits = queryService.getQueryTemplateHits();
+		long templateMisses = queryService.getQueryTemplateMisses();
+		String earlySqlQueryCondition = query.getSqlQueryCondition();
 		query = ProductQuery.fromSimpleSelectionRule(simpleSelectionRule, jobStepLate, queryService.getProductColumnMapping(),
 				ProductQueryService.FACILITY_QUERY_SQL, ProductQueryService.FACILITY_QUERY_SQL_SUBSELECT);
+		assertEquals("SQL query condition depends on job step", earlySqlQueryCondition, query.getSqlQueryCondition());
+		assertFalse("SQL query condition contains literal selection time",
+				query.getSqlQueryCondition().contains(jobStepLate.getJob().getStartTime().toString().substring(0, 10)));
 		logger.trace("Starting test for product query 2 and late interval based on " + simpleSelectionRule);
 		assertTrue("Product query 2 succeeds unexpectedly for late interval", !queryService.executeQuery(query, true));
+		assertEquals("Query template not reused", templateHits + 1, queryService.getQueryTemplateHits());
+		assertEquals("Query template generated again", templateMisses, queryService.getQueryTemplateMisses());
+		
+		// Test third product query with single-item policies (evaluated on a cursor) --> latest intersecting product selected
+		try {
+			selectionRule = SelectionRule.parseSelectionRule(targetProdClass, TEST_SELECTION_RULE_LATEST);
+		} catch (IllegalArgumentException | ParseException e) {
+			e.printStackTrace();
+			fail("Unexpected exception when parsing selection rule " + TEST_SELECTION_RULE_LATEST + " (cause: " + e.getMessage() + ")");
+		}
+		simpleSelectionRule = selectionRule.getSimpleRules().iterator().next();
+		assertTrue("Selection rule not evaluated incrementally", simpleSelectionRule.hasSingleItemPolicies());
+		query = ProductQuery.fromSimpleSelectionRule(simpleSelectionRule, jobStepEarly, queryService.getProductColumnMapping(),
+				ProductQueryService.FACILITY_QUERY_SQL, ProductQueryService.FACILITY_QUERY_SQL_SUBSELECT);
+		logger.trace("Starting test for product query 3 based on " + simpleSelectionRule);
+		assertTrue("Product query 3 fails unexpectedly", queryService.executeQuery(query, false));
+		assertTrue("Product query 3 not satisfied", query.isSatisfied());
+		assertEquals("Unexpected number of satisfying products", 1, query.getSatisfyingProducts().size());
+		assertEquals("Unexpected satisfying product", laterProduct, query.getSatisfyingProducts().iterator().next());
 		
 		logger.info("OK: Test for executeQuery completed");
 	}
+	
+	/**
+	 * Create a product class of the given type for the test mission (creating the mission, if necessary)
+	 * 
+	 * @param productType the product type of the product class
+	 * @return the persisted product class
+	 */
+	private ProductClass createProductClass(String productType) {
+		Mission mission = RepositoryService.getMissionRepository().findByCode(TEST_CODE);
+		if (null == mission) {
+			mission = new Mission();
+			mission.setCode(TEST_CODE);
+			mission = RepositoryService.getMissionRepository().save(mission);
+		}
+		ProductClass prodClass = new ProductClass();
+		prodClass.setMission(mission);
+		prodClass.setProductType(productType);
+		prodClass = RepositoryService.getProductClassRepository().save(prodClass);
+		mission.getProductClasses().add(prodClass);
+		return prodClass;
+	}
+	
+	/**
+	 * Get the test processing facility (creating it, if necessary)
+	 * 
+	 * @return the persisted processing facility
+	 */
+	private ProcessingFacility getTestFacility() {
+		ProcessingFacility facility = RepositoryService.getFacilityRepository().findByName(TEST_FACILITY);
+		if (null == facility) {
+			facility = new ProcessingFacility();
+			facility.setName(TEST_FACILITY);
+			facility = RepositoryService.getFacilityRepository().save(facility);
+		}
+		return facility;
+	}
+	
+	/**
+	 * Create a product query for the first simple selection rule of the given selection rule string and a job with the
+	 * given processing facility and times
+	 * 
+	 * @param targetProdClass the product class, for which the selection rule is defined
+	 * @param ruleString the selection rule string
+	 * @param facility the processing facility of the job
+	 * @param startTime the start time of the job
+	 * @param stopTime the stop time of the job
+	 * @return the product query (not persisted)
+	 * @throws ParseException if the selection rule string cannot be parsed
+	 */
+	private ProductQuery createProductQuery(ProductClass targetProdClass, String ruleString, ProcessingFacility facility,
+			Instant startTime, Instant stopTime) throws ParseException {
+		SimpleSelectionRule simpleSelectionRule = SelectionRule.parseSelectionRule(targetProdClass, ruleString)
+			.getSimpleRules().iterator().next();
+		
+		Job job = new Job();
+		job.setProcessingOrder(new ProcessingOrder());
+		job.setProcessingFacility(facility);
+		job.setStartTime(startTime);
+		job.setStopTime(stopTime);
+		JobStep jobStep = new JobStep();
+		jobStep.setJob(job);
+		return ProductQuery.fromSimpleSelectionRule(simpleSelectionRule, jobStep, queryService.getProductColumnMapping(),
+				ProductQueryService.FACILITY_QUERY_SQL, ProductQueryService.FACILITY_QUERY_SQL_SUBSELECT);
+	}
+	
+	/**
+	 * Execute the given product query with the product query service
+	 * 
+	 * @param productQuery the product query to execute
+	 * @return the IDs of the satisfying products (empty, if the query is not satisfied)
+	 */
+	private Set<Long> selectFromDatabase(ProductQuery productQuery) {
+		Set<Long> selectedIds = new HashSet<>();
+		if (queryService.executeQuery(productQuery, false)) {
+			for (Product product: productQuery.getSatisfyingProducts()) {
+				selectedIds.add(product.getId());
+			}
+		}
+		return selectedIds;
+	}
+	
+	/**
+	 * Create a product of the given product class with the given times and a product file at the given processing facility
+	 * 
+	 * @param productClass the product class of the product
+	 * @param facility the processing facility to create the product file in
+	 * @param startTime the sensing start time of the product
+	 * @param stopTime the sensing stop time of the product
+	 * @param generationTime the generation time of the product
+	 * @return the persisted product
+	 */
+	private Product createProduct(ProductClass productClass, ProcessingFacility facility, Instant startTime, Instant stopTime,
+			Instant generationTime) {
+		Product testProduct = new Product();
+		testProduct.setProductClass(productClass);
+		testProduct.setUuid(UUID.randomUUID());
+		testProduct.setSensingStartTime(startTime);
+		testProduct.setSensingStopTime(stopTime);
+		testProduct.setGenerationTime(generationTime);
+		testProduct = RepositoryService.getProductRepository().save(testProduct);
+		
+		ProductFile testProductFile = new ProductFile();
+		testProductFile.setProcessingFacility(facility);
+		testProductFile.setProduct(testProduct);
+		testProduct.getProductFile().add(RepositoryService.getProductFileRepository().save(testProductFile));
+		
+		return testProduct;
+	}
+	
+	/**
+	 * Select the products for the given product query by evaluating the selection rule on all candidate products returned
+	 * by the unordered SQL query template
+	 * 
+	 * @param productQuery the product query to evaluate
+	 * @return the IDs of the selected products (empty, if the selection rule fails)
+	 */
+	private Set<Long> selectFromCandidates(ProductQuery productQuery) {
+		SimpleSelectionRule selectionRule = productQuery.getGeneratingRule();
+		Job job = productQuery.getJobStep().getJob();
+		
+		Query query = em.createNativeQuery(selectionRule.asSqlQueryTemplate(productQuery.getFilterConditions(),
+				queryService.getProductColumnMapping(), ProductQueryService.FACILITY_QUERY_SQL,
+				ProductQueryService.FACILITY_QUERY_SQL_SUBSELECT), Product.class);
+		query.setParameter("facility_id", job.getProcessingFacility().getId());
+		for (Map.Entry<String, String> sqlQueryParameter: selectionRule.getSqlQueryParameters(job.getStartTime(), job.getStopTime()).entrySet()) {
+			query.setParameter(sqlQueryParameter.getKey(), sqlQueryParameter.getValue());
+		}
+		List<Product> products = new ArrayList<>();
+		for (Object resultObject: query.getResultList()) {
+			products.add((Product) resultObject);
+		}
+		
+		Set<Long> selectedIds = new HashSet<>();
+		try {
+			List<Object> selectedItems = selectionRule.selectItems(SelectionItem.asSelectionItems(products), job.getStartTime(), job.getStopTime());
+			if (null != selectedItems) {
+				for (Object selectedItem: selectedItems) {
+					selectedIds.add(((Product) selectedItem).getId());
+				}
+			}
+		} catch (NoSuchElementException e) {
+			// No products selected
+		}
+		return selectedIds;
+	}
+	
+	/**
+	 * Test that pushing the selection down to the database (ordered and limited SQL queries) yields the same products as
+	 * the evaluation of the selection rule on all candidate products for all policy types (the policy types, for which no
+	 * ordered SQL query can be generated, are evaluated on all candidate products in both cases)
+	 */
+	@Test
+	public final void testOrderedQueryEquivalence() {
+		
+		jdbcTemplate.execute("RUNSCRIPT FROM " + "'classpath:create_view_product_processing_facilities_simplified.sql'");
+		
+		// Create test data: product classes, processing facility and products with unique generation times
+		ProductClass targetProdClass = createProductClass(TEST_EQUIVALENCE_TARGET_TYPE);
+		ProductClass sourceProdClass = createProductClass(TEST_EQUIVALENCE_SOURCE_TYPE);
+		ProcessingFacility facility = getTestFacility();
+		
+		Random random = new Random(4711);
+		for (int i = 0; i < TEST_EQUIVALENCE_PRODUCTS; ++i) {
+			Instant startTime = TEST_START_TIME_EARLY.plusSeconds(600L * random.nextInt(100)).plusMillis(random.nextInt(4) == 0 ? 500 : 0);
+			Instant stopTime = (random.nextInt(10) == 0 ? startTime : startTime.plusSeconds(600L * random.nextInt(12)));
+			createProduct(sourceProdClass, facility, startTime, stopTime,
+					TEST_START_TIME_EARLY.plusSeconds((i * 7919L) % TEST_EQUIVALENCE_PRODUCTS));
+		}
+		
+		// Compare the selections for all policy types and some policy combinations with random selection intervals
+		List<String> policies = new ArrayList<>();
+		for (PolicyType policyType: PolicyType.values()) {
+			policies.add(policyType.toString());
+		}
+		policies.addAll(Arrays.asList(TEST_EQUIVALENCE_COMBINATIONS));
+		
+		int orderedQueries = 0;
+		int nonEmptySelections = 0;
+		for (String policy: policies) {
+			for (int testCase = 0; testCase < TEST_EQUIVALENCE_INTERVALS; ++testCase) {
+				Instant startTime = TEST_START_TIME_EARLY.plusSeconds(300L * random.nextInt(220));
+				Instant stopTime = (random.nextInt(5) == 0 ? startTime : startTime.plusSeconds(300L * random.nextInt(24)));
+				String deltaTimes = String.format("(%d S, %d M)", random.nextInt(1800), random.nextInt(20));
+				String ruleString = "FOR " + TEST_EQUIVALENCE_SOURCE_TYPE + " SELECT " + policy.replace("()", deltaTimes);
+				if (!policy.contains("(") && !NO_DELTA_TIME_POLICIES.contains(policy)) {
+					ruleString += deltaTimes;
+				}
+				
+				ProductQuery query;
+				try {
+					query = createProductQuery(targetProdClass, ruleString, facility, startTime, stopTime);
+				} catch (IllegalArgumentException | ParseException e) {
+					// Policy type not supported by the selection rule syntax
+					logger.info("... skipping selection rule {} (cause: {})", ruleString, e.getMessage());
+					break;
+				}
+				SimpleSelectionRule simpleSelectionRule = query.getGeneratingRule();
+				
+				Set<Long> expected;
+				try {
+					expected = selectFromCandidates(query);
+				} catch (UnsupportedOperationException e) {
+					// Policy type not implemented
+					logger.info("... skipping selection rule {} (cause: {})", ruleString, e.getMessage());
+					break;
+				} catch (NullPointerException e) {
+					// Known limitation of the "largest overlap" selection for items without overlap, not relevant here
+					continue;
+				}
+				
+				assertEquals(String.format("Different selection for rule %s, interval (%s, %s)", ruleString, startTime, stopTime),
+						expected, selectFromDatabase(query));
+				if (null != simpleSelectionRule.asOrderedSqlQueryTemplate(query.getFilterConditions(),
+						queryService.getProductColumnMapping(), ProductQueryService.FACILITY_QUERY_SQL)) {
+					++orderedQueries;
+				}
+				if (!expected.isEmpty()) {
+					++nonEmptySelections;
+				}
+			}
+		}
+		
+		logger.info("{} selections compared, {} with ordered SQL queries, {} non-empty", 
+				policies.size() * TEST_EQUIVALENCE_INTERVALS, orderedQueries, nonEmptySelections);
+		assertTrue("Too few ordered SQL queries", orderedQueries >= 8 * TEST_EQUIVALENCE_INTERVALS);
+		assertTrue("Too few non-empty selections", nonEmptySelections > orderedQueries / 2);
+		
+		logger.info("OK: Test for ordered query equivalence completed");
+	}
+	
+	/**
+	 * Test that products with NULL time values are not selected by ordered SQL queries, even if the database sorts NULL
+	 * values first in descending order (as PostgreSQL does; emulated by setting the default NULL ordering of H2)
+	 */
+	@Test
+	public final void testOrderedQueryNullTimes() throws ParseException {
+		
+		jdbcTemplate.execute("RUNSCRIPT FROM " + "'classpath:create_view_product_processing_facilities_simplified.sql'");
+		
+		ProductClass targetProdClass = createProductClass(TEST_NULL_TIMES_TARGET_TYPE);
+		ProductClass sourceProdClass = createProductClass(TEST_NULL_TIMES_SOURCE_TYPE);
+		ProcessingFacility facility = getTestFacility();
+		
+		Instant baseTime = TEST_START_TIME_EARLY;
+		createProduct(sourceProdClass, facility, baseTime, baseTime.plusSeconds(3600), baseTime.plusSeconds(7200));
+		Product expectedProduct = createProduct(sourceProdClass, facility, baseTime.plusSeconds(600), baseTime.plusSeconds(4200),
+				baseTime.plusSeconds(10800));
+		Product noGenerationTimeProduct = createProduct(sourceProdClass, facility, baseTime.plusSeconds(300), 
+				baseTime.plusSeconds(7200), null);
+		createProduct(sourceProdClass, facility, null, null, null);
+		
+		// Expected product for each policy: the NULL times must neither be selected nor prevent a selection
+		String[][] testCases = {
+			{ "LastCreated", String.valueOf(expectedProduct.getId()) },
+			{ "LatestValidity", String.valueOf(expectedProduct.getId()) },
+			{ "LatestStopValidity", String.valueOf(noGenerationTimeProduct.getId()) },
+			{ "LatestValIntersect(0, 0)", String.valueOf(expectedProduct.getId()) },
+			{ "LatestValCover(0, 0)", String.valueOf(expectedProduct.getId()) }
+		};
+		
+		jdbcTemplate.execute("SET DEFAULT_NULL_ORDERING HIGH");
+		try {
+			for (String[] testCase: testCases) {
+				ProductQuery query = createProductQuery(targetProdClass,
+						"FOR " + TEST_NULL_TIMES_SOURCE_TYPE + " SELECT " + testCase[0], facility,
+						baseTime.plusSeconds(1200), baseTime.plusSeconds(1800));
+				assertNotNull("No ordered SQL query for policy " + testCase[0], query.getGeneratingRule().asOrderedSqlQueryTemplate(
+						query.getFilterConditions(), queryService.getProductColumnMapping(), ProductQueryService.FACILITY_QUERY_SQL));
+				assertEquals("Unexpected selection for policy " + testCase[0],
+						new HashSet<>(Arrays.asList(Long.valueOf(testCase[1]))), selectFromDatabase(query));
+			}
+		} finally {
+			jdbcTemplate.execute("SET DEFAULT_NULL_ORDERING LOW");
+		}
+		
+		logger.info("OK: Test for ordered queries with NULL times completed");
+	}
+	
+	/**
+	 * Test that the "closest" policies select the same product as the selection from all candidate products, if several
+	 * products have the same distance from the reference time in full seconds, but different generation times
+	 */
+	@Test
+	public final void testClosestPolicyTies() throws ParseException {
+		
+		jdbcTemplate.execute("RUNSCRIPT FROM " + "'classpath:create_view_product_processing_facilities_simplified.sql'");
+		
+		ProductClass targetProdClass = createProductClass(TEST_CLOSEST_TARGET_TYPE);
+		ProductClass sourceProdClass = createProductClass(TEST_CLOSEST_SOURCE_TYPE);
+		ProcessingFacility facility = getTestFacility();
+		
+		// Products within one second around the reference time, the ones farther away being generated later
+		Instant referenceTime = TEST_START_TIME_LATE;
+		int[] offsetMillis = { -900, -400, -100, 200, 600, 1000 };
+		int[] generationOrder = { 5, 3, 1, 2, 4, 6 };
+		for (int i = 0; i < offsetMillis.length; ++i) {
+			Instant productTime = referenceTime.plusMillis(offsetMillis[i]);
+			createProduct(sourceProdClass, facility, productTime, productTime, TEST_START_TIME_EARLY.plusSeconds(generationOrder[i]));
+		}
+		
+		for (String policy: Arrays.asList("ClosestStartValidity(0, 0)", "ClosestStopValidity(0, 0)", "LatestValidityClosest(0, 0)")) {
+			ProductQuery query = createProductQuery(targetProdClass, "FOR " + TEST_CLOSEST_SOURCE_TYPE + " SELECT " + policy,
+					facility, referenceTime, referenceTime);
+			assertNull("Unexpected ordered SQL query for policy " + policy, query.getGeneratingRule().asOrderedSqlQueryTemplate(
+					query.getFilterConditions(), queryService.getProductColumnMapping(), ProductQueryService.FACILITY_QUERY_SQL));
+			
+			Set<Long> expected = selectFromCandidates(query);
+			assertEquals("Unexpected number of products selected for policy " + policy, 1, expected.size());
+			assertEquals("Different selection for policy " + policy, expected, selectFromDatabase(query));
+		}
+		
+		logger.info("OK: Test for ties of closest policies completed");
+	}
 
 }
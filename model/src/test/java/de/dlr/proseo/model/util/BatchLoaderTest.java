@@ -0,0 +1,190 @@
+/**
+ * BatchLoaderTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.util;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEntityManager;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.dlr.proseo.model.Mission;
+import de.dlr.proseo.model.Orbit;
+import de.dlr.proseo.model.ProcessingFacility;
+import de.dlr.proseo.model.Product;
+import de.dlr.proseo.model.ProductClass;
+import de.dlr.proseo.model.ProductFile;
+import de.dlr.proseo.model.Spacecraft;
+import de.dlr.proseo.model.service.RepositoryApplication;
+
+/**
+ * Test class for BatchLoader: Checks that the number of SQL statements for loading the attributes of a result page does
+ * not depend on the page size or the number of product classes on the page, and that no further statements are required
+ * to access the loaded attributes
+ *
+ * @author Dr. Thomas Bassler
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = RepositoryApplication.class, webEnvironment = WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+@Transactional
+@AutoConfigureTestEntityManager
+public class BatchLoaderTest {
+
+	private static final String TEST_CODE = "$BLT$";
+	private static final String TEST_PRODUCT_TYPE = "$L1B_BATCH$";
+	private static final Instant TEST_START_TIME = Instant.parse("2026-01-01T00:00:00Z");
+	private static final int TEST_PRODUCT_COUNT = 40;
+	private static final int TEST_PRODUCT_CLASS_COUNT = 4;
+
+	/** The JPA entity manager */
+	@PersistenceContext
+	private EntityManager em;
+
+	/** A logger for this class */
+	private static Logger logger = LoggerFactory.getLogger(BatchLoaderTest.class);
+
+	/**
+	 * Create test products of several product classes with parameters, product files and orbits
+	 *
+	 * @return the mission of the test products
+	 */
+	private Mission createTestProducts() {
+		Mission mission = new Mission();
+		mission.setCode(TEST_CODE);
+		em.persist(mission);
+
+		Spacecraft spacecraft = new Spacecraft();
+		spacecraft.setMission(mission);
+		spacecraft.setCode(TEST_CODE);
+		em.persist(spacecraft);
+
+		List<ProductClass> prodClasses = new ArrayList<>();
+		for (int i = 0; i < TEST_PRODUCT_CLASS_COUNT; ++i) {
+			ProductClass prodClass = new ProductClass();
+			prodClass.setMission(mission);
+			prodClass.setProductType(TEST_PRODUCT_TYPE + i);
+			em.persist(prodClass);
+			prodClasses.add(prodClass);
+		}
+
+		ProcessingFacility facility = new ProcessingFacility();
+		facility.setName(TEST_CODE);
+		em.persist(facility);
+
+		for (int i = 0; i < TEST_PRODUCT_COUNT; ++i) {
+			Orbit orbit = new Orbit();
+			orbit.setSpacecraft(spacecraft);
+			orbit.setOrbitNumber(i);
+			orbit.setStartTime(TEST_START_TIME.plusSeconds(6000L * i));
+			orbit.setStopTime(TEST_START_TIME.plusSeconds(6000L * (i + 1)));
+			em.persist(orbit);
+
+			Product product = new Product();
+			product.setUuid(UUID.randomUUID());
+			product.setProductClass(prodClasses.get(i * TEST_PRODUCT_CLASS_COUNT / TEST_PRODUCT_COUNT));
+			product.setOrbit(orbit);
+			product.setSensingStartTime(orbit.getStartTime());
+			product.setSensingStopTime(orbit.getStopTime());
+			product.setStringParameter("revision", "01");
+			product.setIntegerParameter("copernicusCollection", i);
+			em.persist(product);
+
+			ProductFile productFile = new ProductFile();
+			productFile.setProduct(product);
+			productFile.setProcessingFacility(facility);
+			productFile.setProductFileName("product_" + i + ".nc");
+			em.persist(productFile);
+			product.getProductFile().add(productFile);
+		}
+
+		em.flush();
+		em.clear();
+
+		return mission;
+	}
+
+	/**
+	 * Load a page of products and their attributes, and return the number of statements executed for the attributes
+	 *
+	 * @param statistics the Hibernate statistics to evaluate
+	 * @param missionId the mission of the products to load
+	 * @param pageSize the number of products to load
+	 * @return the number of statements required for loading the product attributes
+	 */
+	private long loadPage(Statistics statistics, long missionId, int pageSize) {
+		em.clear();
+
+		List<Product> products = em
+			.createQuery("SELECT p FROM Product p WHERE p.productClass.mission.id = :id ORDER BY p.id", Product.class)
+			.setParameter("id", missionId)
+			.setMaxResults(pageSize)
+			.getResultList();
+		assertEquals(pageSize, products.size());
+
+		statistics.clear();
+		BatchLoader.loadProductAttributes(em, products);
+		long loadStatements = statistics.getPrepareStatementCount();
+
+		// Access all loaded attributes, this must not issue any further statements
+		for (Product product : products) {
+			assertTrue("Product class not initialized", Hibernate.isInitialized(product.getProductClass()));
+			assertTrue(product.getProductClass().getProductType().startsWith(TEST_PRODUCT_TYPE));
+			assertEquals(2, product.getParameters().size());
+			assertEquals(1, product.getProductFile().size());
+			assertNotNull(product.getProductFile().iterator().next().getProcessingFacility().getName());
+			assertNotNull(product.getOrbit().getOrbitNumber());
+			assertNull(product.getConfiguredProcessor());
+		}
+		assertEquals("Unexpected statements when accessing product attributes", loadStatements,
+				statistics.getPrepareStatementCount());
+
+		logger.info("Loaded attributes for {} products with {} statements", pageSize, loadStatements);
+		return loadStatements;
+	}
+
+	/**
+	 * Test that the number of statements for a result page is constant
+	 */
+	@Test
+	public final void testConstantQueryCount() {
+		Mission mission = createTestProducts();
+
+		Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		boolean statisticsEnabled = statistics.isStatisticsEnabled();
+		statistics.setStatisticsEnabled(true);
+
+		try {
+			long smallPageStatements = loadPage(statistics, mission.getId(), 5);
+			long largePageStatements = loadPage(statistics, mission.getId(), TEST_PRODUCT_COUNT);
+
+			assertEquals("Statement count depends on page size", smallPageStatements, largePageStatements);
+			// Besides the fetch join queries only eagerly fetched entities shared by all products (e. g. the spacecraft) may be loaded
+			assertTrue("Too many statements for loading product attributes", largePageStatements < TEST_PRODUCT_COUNT / 4);
+		} finally {
+			statistics.setStatisticsEnabled(statisticsEnabled);
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+/**
+ * GeoPolygonTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.util;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Test;
+
+/**
+ * Test class for GeoPolygon: Conversion from and to the supported formats and intersection tests
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class GeoPolygonTest {
+
+	/** A footprint in GML position list format (latitude first) */
+	private static final String POS_LIST = "50.0 10.0 50.0 12.0 52.0 12.0 52.0 10.0 50.0 10.0";
+
+	/**
+	 * Test parsing of GML position lists and WKT strings
+	 */
+	@Test
+	public void testParsing() {
+		GeoPolygon polygon = GeoPolygon.fromPosList(POS_LIST);
+		assertEquals(1, polygon.getParts().size());
+		assertEquals(10.0, polygon.getMinLongitude(), 0.0);
+		assertEquals(12.0, polygon.getMaxLongitude(), 0.0);
+		assertEquals(50.0, polygon.getMinLatitude(), 0.0);
+		assertEquals(52.0, polygon.getMaxLatitude(), 0.0);
+
+		// Comma-separated position list, open ring
+		polygon = GeoPolygon.fromPosList("50.0,10.0 50.0,12.0 52.0,12.0");
+		assertEquals(4, polygon.getParts().get(0).length);
+
+		polygon = GeoPolygon.fromWkt("SRID=4326;MULTIPOLYGON(((10 50,12 50,12 52,10 50)),((20 50,22 50,22 52,20 50)))");
+		assertEquals(2, polygon.getParts().size());
+		assertEquals(22.0, polygon.getMaxLongitude(), 0.0);
+
+		for (String invalid : new String[] { "POINT(10 50)", "SRID=3857;POLYGON((10 50,12 50,12 52,10 50))",
+				"POLYGON((10 50,12 50,12 52,10 50),(11 51,11.5 51,11.5 51.5,11 51))", "POLYGON((10 50,12 50,12 95,10 50))" }) {
+			try {
+				GeoPolygon.fromWkt(invalid);
+				fail("Invalid WKT accepted: " + invalid);
+			} catch (IllegalArgumentException e) {
+				// Expected
+			}
+		}
+	}
+
+	/**
+	 * Test conversion to and from WKB in both byte orders
+	 */
+	@Test
+	public void testWkb() {
+		GeoPolygon polygon = GeoPolygon.fromWkt("MULTIPOLYGON(((10 50,12 50,12 52,10 50)),((20 50,22 50,22 52,20 50)))");
+		GeoPolygon copy = GeoPolygon.fromWkb(polygon.toWkb());
+		assertEquals(2, copy.getParts().size());
+		assertArrayEquals(polygon.toWkb(), copy.toWkb());
+
+		// Big endian polygon with a hole (ignored)
+		ByteBuffer buffer = ByteBuffer.allocate(9 + 2 * (4 + 4 * 16)).order(ByteOrder.BIG_ENDIAN);
+		buffer.put((byte) 0).putInt(3).putInt(2);
+		for (double size : new double[] { 2.0, 1.0 }) {
+			buffer.putInt(4);
+			buffer.putDouble(0.0).putDouble(0.0).putDouble(size).putDouble(0.0).putDouble(0.0).putDouble(size)
+				.putDouble(0.0).putDouble(0.0);
+		}
+		GeoPolygon bigEndian = GeoPolygon.fromWkb(buffer.array());
+		assertEquals(2.0, bigEndian.getMaxLongitude(), 0.0);
+
+		try {
+			GeoPolygon.fromWkb(new byte[] { 1, 3, 0 });
+			fail("Invalid WKB accepted");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * Test intersections, including containment, touching boundaries and the antimeridian
+	 */
+	@Test
+	public void testIntersects() {
+		GeoPolygon footprint = GeoPolygon.fromPosList(POS_LIST);
+
+		assertTrue(footprint.intersects(GeoPolygon.fromWkt("POLYGON((11 51,13 51,13 53,11 53,11 51))")));
+		assertTrue(footprint.intersects(GeoPolygon.fromWkt("POLYGON((10.5 50.5,11 50.5,11 51,10.5 50.5))")));
+		assertTrue(footprint.intersects(GeoPolygon.fromWkt("POLYGON((0 40,20 40,20 60,0 60,0 40))")));
+		assertTrue(footprint.intersects(GeoPolygon.fromWkt("POLYGON((12 50,14 50,14 52,12 50))")));
+		assertFalse(footprint.intersects(GeoPolygon.fromWkt("POLYGON((13 50,14 50,14 52,13 50))")));
+
+		// Bounding boxes overlap, but the polygons do not
+		GeoPolygon triangle = GeoPolygon.fromWkt("POLYGON((10 50,12 52,10 52,10 50))");
+		assertFalse(triangle.intersects(GeoPolygon.fromWkt("POLYGON((11.5 50,12 50,12 50.5,11.5 50))")));
+
+		// Footprint crossing the antimeridian
+		GeoPolygon antimeridian = GeoPolygon.fromPosList("-10 179 -10 -179 10 -179 10 179 -10 179");
+		assertTrue(antimeridian.crossesAntimeridian());
+		assertEquals(-180.0, antimeridian.getMinLongitude(), 0.0);
+		assertEquals(180.0, antimeridian.getMaxLongitude(), 0.0);
+		assertTrue(antimeridian.intersects(GeoPolygon.fromWkt("POLYGON((-179.5 -1,-170 -1,-170 1,-179.5 1,-179.5 -1))")));
+		assertTrue(antimeridian.intersects(GeoPolygon.fromWkt("POLYGON((170 -1,179.5 -1,179.5 1,170 1,170 -1))")));
+		assertFalse(antimeridian.intersects(GeoPolygon.fromWkt("POLYGON((-178 -1,-170 -1,-170 1,-178 1,-178 -1))")));
+		assertFalse(antimeridian.intersects(GeoPolygon.fromWkt("POLYGON((0 -1,1 -1,1 1,0 1,0 -1))")));
+	}
+}
@@ -0,0 +1,160 @@
+/**
+ * SelectionItemIndexBenchmark.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.util;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.dlr.proseo.model.Mission;
+import de.dlr.proseo.model.ProductClass;
+
+/**
+ * JMH benchmark for the selection of items from the same item collection for a sequence of consecutive selection
+ * intervals (as for the job steps of a processing order slicing the validity period of an auxiliary product class):
+ * scanning the full collection for each interval, creating an index for each interval, and creating the index once and
+ * using it for all intervals. Not run as part of the unit tests; to run it, call the main method with the test class path
+ * of this module.
+ *
+ * @author Dr. Thomas Bassler
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SelectionItemIndexBenchmark {
+
+	/* Test data */
+	private static final String TEST_TARGET_PRODUCT_TYPE = "L2__FRESCO_";
+	private static final String TEST_SOURCE_PRODUCT_TYPE = "AUX_BENCH";
+	private static final String TEST_SELECTION_RULE = "FOR AUX_BENCH SELECT LatestValIntersect(0, 0) OR ValIntersect(0, 0)";
+	private static final Instant TEST_START_TIME = Instant.parse("2026-01-01T00:00:00Z");
+	private static final long ITEM_DURATION = 3600L;
+	private static final long RANDOM_SEED = 4711L;
+
+	/** The number of items in the collection */
+	@Param({ "1000", "10000" })
+	public int itemCount;
+
+	/** The number of selection intervals evaluated on the same collection */
+	@Param({ "1", "100" })
+	public int intervalCount;
+
+	/** The selection rule to evaluate */
+	private SelectionRule selectionRule;
+
+	/** The items to select from */
+	private List<SelectionItem> items;
+
+	/** The start times of the selection intervals (the last entry is the end of the last interval) */
+	private Instant[] intervalTimes;
+
+	/**
+	 * Create the selection rule and a collection of items with random validity start times and durations
+	 *
+	 * @throws Exception if the selection rule cannot be parsed
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		Mission mission = new Mission();
+		mission.setCode("UTM");
+		ProductClass targetProductClass = new ProductClass();
+		targetProductClass.setProductType(TEST_TARGET_PRODUCT_TYPE);
+		targetProductClass.setMission(mission);
+		ProductClass sourceProductClass = new ProductClass();
+		sourceProductClass.setProductType(TEST_SOURCE_PRODUCT_TYPE);
+		sourceProductClass.setMission(mission);
+		mission.getProductClasses().add(targetProductClass);
+		mission.getProductClasses().add(sourceProductClass);
+		selectionRule = SelectionRule.parseSelectionRule(targetProductClass, TEST_SELECTION_RULE);
+
+		Random random = new Random(RANDOM_SEED);
+		items = new ArrayList<>();
+		for (int i = 0; i < itemCount; ++i) {
+			Instant startTime = TEST_START_TIME.plusSeconds(ITEM_DURATION * i + random.nextInt(600));
+			items.add(new SelectionItem(TEST_SOURCE_PRODUCT_TYPE, startTime,
+					startTime.plusSeconds(ITEM_DURATION + random.nextInt(1800)), startTime.plusSeconds(ITEM_DURATION * 2), i));
+		}
+
+		long intervalDuration = ITEM_DURATION * itemCount / intervalCount;
+		intervalTimes = new Instant[intervalCount + 1];
+		for (int i = 0; i <= intervalCount; ++i) {
+			intervalTimes[i] = TEST_START_TIME.plusSeconds(intervalDuration * i);
+		}
+	}
+
+	/**
+	 * Select the items for all intervals by scanning the full item collection
+	 *
+	 * @param blackhole sink for the selected items
+	 */
+	@Benchmark
+	public void scanCollection(Blackhole blackhole) {
+		for (int i = 0; i < intervalCount; ++i) {
+			blackhole.consume(selectionRule.selectItems(TEST_SOURCE_PRODUCT_TYPE, items, intervalTimes[i], intervalTimes[i + 1]));
+		}
+	}
+
+	/**
+	 * Select the items for all intervals by creating an index for each interval
+	 *
+	 * @param blackhole sink for the selected items
+	 */
+	@Benchmark
+	public void indexPerInterval(Blackhole blackhole) {
+		for (int i = 0; i < intervalCount; ++i) {
+			blackhole.consume(selectionRule.selectItemsFromIndex(TEST_SOURCE_PRODUCT_TYPE, new SelectionItemIndex(items),
+					intervalTimes[i], intervalTimes[i + 1]));
+		}
+	}
+
+	/**
+	 * Select the items for all intervals using an index created once for the item collection
+	 *
+	 * @param blackhole sink for the selected items
+	 */
+	@Benchmark
+	public void sharedIndex(Blackhole blackhole) {
+		SelectionItemIndex index = new SelectionItemIndex(items);
+		for (int i = 0; i < intervalCount; ++i) {
+			blackhole.consume(selectionRule.selectItemsFromIndex(TEST_SOURCE_PRODUCT_TYPE, index, intervalTimes[i], intervalTimes[i + 1]));
+		}
+	}
+
+	/**
+	 * Run the benchmark
+	 *
+	 * @param args not used
+	 * @throws RunnerException if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder().include(SelectionItemIndexBenchmark.class.getSimpleName()).build();
+		new Runner(options).run();
+	}
+
+}
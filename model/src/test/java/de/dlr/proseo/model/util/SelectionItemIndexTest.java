@@ -0,0 +1,194 @@
+/**
+ * SelectionItemIndexTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.util;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.dlr.proseo.model.SimplePolicy;
+import de.dlr.proseo.model.SimplePolicy.DeltaTime;
+import de.dlr.proseo.model.SimplePolicy.PolicyType;
+
+/**
+ * Test class for SelectionItemIndex: Checks for randomly generated item collections and selection intervals, that the
+ * selection of items via the index yields exactly the same results as the selection from the full item collection
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class SelectionItemIndexTest {
+
+	/** The product type used for all items */
+	private static final String ITEM_TYPE = "AUX_TEST";
+
+	/** Reference time for the generated items */
+	private static final Instant BASE_TIME = Instant.parse("2026-01-01T00:00:00Z");
+
+	/** Number of random test cases */
+	private static final int TEST_CASES = 1000;
+
+	/** The policy types implemented by SimplePolicy */
+	private static final List<PolicyType> POLICY_TYPES = Arrays.asList(PolicyType.ValIntersect,
+			PolicyType.ValIntersectWithoutDuplicates, PolicyType.LatestValIntersect, PolicyType.LatestValidity,
+			PolicyType.LatestStartValidity, PolicyType.LatestStopValidity, PolicyType.LatestValCover,
+			PolicyType.LatestValidityClosest, PolicyType.ClosestStartValidity, PolicyType.ClosestStopValidity,
+			PolicyType.LargestOverlap, PolicyType.LargestOverlap85, PolicyType.LastCreated);
+
+	/** A logger for this class */
+	private static Logger logger = LoggerFactory.getLogger(SelectionItemIndexTest.class);
+
+	/**
+	 * Create a random time on a coarse grid (to provoke equal times), optionally with a half-second offset (to check the
+	 * distance calculation in full seconds)
+	 *
+	 * @param random the random number generator
+	 * @return a random time
+	 */
+	private static Instant randomTime(Random random) {
+		return BASE_TIME.plusSeconds(60L * random.nextInt(120)).plusMillis(random.nextInt(4) == 0 ? 500 : 0);
+	}
+
+	/**
+	 * Create a random collection of selection items, including items with zero duration and items sharing the same
+	 * validity start, validity end or generation times
+	 *
+	 * @param random the random number generator
+	 * @return a list of selection items
+	 */
+	private static List<SelectionItem> randomItems(Random random) {
+		int count = random.nextInt(200);
+		List<SelectionItem> items = new ArrayList<>();
+		for (int i = 0; i < count; ++i) {
+			Instant startTime = randomTime(random);
+			Instant stopTime = (random.nextInt(10) == 0 ? startTime : startTime.plusSeconds(60L * random.nextInt(30)));
+			Instant generationTime = BASE_TIME.plusSeconds(3600L * random.nextInt(5));
+			items.add(new SelectionItem(ITEM_TYPE, startTime, stopTime, generationTime, Integer.valueOf(i)));
+		}
+		return items;
+	}
+
+	/**
+	 * Create a simple policy of the given type with random delta times
+	 *
+	 * @param random the random number generator
+	 * @param policyType the policy type
+	 * @return a simple policy
+	 */
+	private static SimplePolicy randomPolicy(Random random, PolicyType policyType) {
+		SimplePolicy policy = new SimplePolicy();
+		policy.setPolicyType(policyType);
+		policy.setDeltaTimes(Arrays.asList(
+				(random.nextBoolean() ? new DeltaTime(0, TimeUnit.SECONDS) : new DeltaTime(random.nextInt(1800), TimeUnit.SECONDS)),
+				(random.nextBoolean() ? new DeltaTime(0, TimeUnit.SECONDS) : new DeltaTime(random.nextInt(3), TimeUnit.MINUTES))));
+		return policy;
+	}
+
+	/**
+	 * Test that all policies yield the same results with and without index
+	 */
+	@Test
+	public void testPolicyEquivalence() {
+		Random random = new Random(4711);
+
+		int nonEmptySelections = 0;
+		for (int testCase = 0; testCase < TEST_CASES; ++testCase) {
+			List<SelectionItem> items = randomItems(random);
+			SelectionItemIndex index = new SelectionItemIndex(items);
+
+			Instant startTime = randomTime(random);
+			Instant stopTime = (random.nextInt(5) == 0 ? startTime : startTime.plusSeconds(60L * random.nextInt(60)));
+
+			for (PolicyType policyType: POLICY_TYPES) {
+				SimplePolicy policy = randomPolicy(random, policyType);
+
+				// Both selections must yield the same items or fail in the same way
+				Object expected;
+				try {
+					expected = policy.selectItems(items, startTime, stopTime);
+				} catch (RuntimeException e) {
+					expected = e.getClass();
+				}
+				Object actual;
+				try {
+					actual = policy.selectItems(index, startTime, stopTime);
+				} catch (RuntimeException e) {
+					actual = e.getClass();
+				}
+
+				assertEquals(String.format("Different selection for test case %d, policy %s, interval (%s, %s)",
+						testCase, policy, startTime, stopTime), expected, actual);
+				if (expected instanceof Set && !((Set<?>) expected).isEmpty()) {
+					++nonEmptySelections;
+				}
+			}
+		}
+
+		logger.info("{} of {} policy selections non-empty", nonEmptySelections, TEST_CASES * POLICY_TYPES.size());
+		assertTrue("Too few non-empty selections", nonEmptySelections > TEST_CASES * POLICY_TYPES.size() / 2);
+	}
+
+	/**
+	 * Test the candidate queries against brute-force filtering
+	 */
+	@Test
+	public void testCandidateQueries() {
+		Random random = new Random(815);
+
+		for (int testCase = 0; testCase < TEST_CASES; ++testCase) {
+			List<SelectionItem> items = randomItems(random);
+			SelectionItemIndex index = new SelectionItemIndex(items);
+
+			Instant startTime = randomTime(random);
+			Instant stopTime = startTime.plusSeconds(60L * random.nextInt(60));
+
+			List<SelectionItem> intersecting = new ArrayList<>();
+			List<SelectionItem> intersectingPoint = new ArrayList<>();
+			List<SelectionItem> covering = new ArrayList<>();
+			for (SelectionItem item: items) {
+				boolean intersects = item.startTime.isBefore(stopTime) && item.stopTime.isAfter(startTime);
+				if (intersects) {
+					intersecting.add(item);
+				}
+				if (intersects || item.startTime.equals(startTime) || item.stopTime.equals(startTime)) {
+					intersectingPoint.add(item);
+				}
+				if (!item.startTime.isAfter(startTime) && !item.stopTime.isBefore(stopTime)) {
+					covering.add(item);
+				}
+			}
+
+			assertEquals(intersecting, index.findIntersecting(startTime, stopTime, null));
+			assertEquals(intersectingPoint, index.findIntersecting(startTime, stopTime, startTime));
+			assertEquals(covering, index.findCovering(startTime, stopTime));
+		}
+	}
+
+	/**
+	 * Test that items with missing times are not indexed
+	 */
+	@Test
+	public void testIncompleteItems() {
+		List<SelectionItem> items = new ArrayList<>();
+		items.add(new SelectionItem(ITEM_TYPE, BASE_TIME, BASE_TIME.plusSeconds(60), BASE_TIME, Integer.valueOf(1)));
+		items.add(new SelectionItem(ITEM_TYPE, BASE_TIME, BASE_TIME.plusSeconds(60), null, Integer.valueOf(2)));
+
+		SelectionItemIndex index = new SelectionItemIndex(items);
+
+		assertEquals(items, index.findCovering(BASE_TIME.plusSeconds(3600), BASE_TIME.plusSeconds(7200)));
+		assertEquals(items, index.findLatestGenerationTime());
+		assertTrue(new SelectionItemIndex(new ArrayList<>()).findClosestStopTime(BASE_TIME).isEmpty());
+	}
+}
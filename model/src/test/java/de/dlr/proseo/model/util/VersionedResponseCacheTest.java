@@ -0,0 +1,108 @@
+/**
+ * VersionedResponseCacheTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.model.util;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Test class for VersionedResponseCache: Caching by version tag, invalidation and conditional requests
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class VersionedResponseCacheTest {
+
+	/**
+	 * Test that responses are reused only for an unchanged version tag and until invalidation
+	 */
+	@Test
+	public void testGetResponse() {
+		VersionedResponseCache cache = new VersionedResponseCache(10);
+		AtomicInteger loads = new AtomicInteger();
+
+		ResponseEntity<List<String>> response = cache.getResponse("missions|null", "Mission:2/2/3;", null,
+				() -> List.of("PTM" + loads.incrementAndGet()));
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(List.of("PTM1"), response.getBody());
+		String etag = response.getHeaders().getETag();
+		assertNotNull(etag);
+
+		// Unchanged state: cached response with the same entity tag
+		response = cache.getResponse("missions|null", "Mission:2/2/3;", null, () -> List.of("PTM" + loads.incrementAndGet()));
+		assertEquals(List.of("PTM1"), response.getBody());
+		assertEquals(etag, response.getHeaders().getETag());
+
+		// Changed state: new response with a new entity tag
+		response = cache.getResponse("missions|null", "Mission:2/2/4;", null, () -> List.of("PTM" + loads.incrementAndGet()));
+		assertEquals(List.of("PTM2"), response.getBody());
+		assertNotEquals(etag, response.getHeaders().getETag());
+
+		// Invalidation
+		cache.invalidate();
+		assertEquals(0, cache.size());
+		response = cache.getResponse("missions|null", "Mission:2/2/4;", null, () -> List.of("PTM" + loads.incrementAndGet()));
+		assertEquals(List.of("PTM3"), response.getBody());
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+	}
+
+	/**
+	 * Test that requests with a matching "If-None-Match" header are answered with "304 NOT_MODIFIED"
+	 */
+	@Test
+	public void testConditionalRequest() {
+		VersionedResponseCache cache = new VersionedResponseCache(10);
+		String etag = VersionedResponseCache.createETag("facilities|null", "ProcessingFacility:1/1/1;");
+
+		String ifNoneMatch = "\"other\", " + etag;
+
+		ResponseEntity<String> response = cache.getResponse("facilities|null", "ProcessingFacility:1/1/1;", ifNoneMatch,
+				() -> "Facility");
+		assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+		assertNull(response.getBody());
+		assertEquals(etag, response.getHeaders().getETag());
+
+		// Outdated entity tag in request
+		response = cache.getResponse("facilities|null", "ProcessingFacility:1/1/2;", ifNoneMatch, () -> "Facility");
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("Facility", response.getBody());
+
+		// Weak comparison
+		assertTrue(VersionedResponseCache.matchesIfNoneMatch(etag.substring(2), etag));
+		assertTrue(VersionedResponseCache.matchesIfNoneMatch("*", etag));
+		assertFalse(VersionedResponseCache.matchesIfNoneMatch(null, etag));
+	}
+
+	/**
+	 * Test reading the "If-None-Match" header from the HTTP request currently being processed
+	 */
+	@Test
+	public void testGetIfNoneMatch() {
+		assertNull(VersionedResponseCache.getIfNoneMatch());
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		try {
+			assertNull(VersionedResponseCache.getIfNoneMatch());
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"0123\"");
+			assertEquals("W/\"0123\"", VersionedResponseCache.getIfNoneMatch());
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+	}
+
+}
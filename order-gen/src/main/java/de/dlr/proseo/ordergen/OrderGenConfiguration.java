@@ -53,6 +53,34 @@ public class OrderGenConfiguration {
 	/** Facility to use */
 	@Value("${proseo.orderGenerator.facility}")
 	private String facility;
+
+	/** Maximum number of threads creating and releasing processing orders concurrently */
+	@Value("${proseo.orderGenerator.maxOrderThreads:4}")
+	private Integer maxOrderThreads;
+
+	/** Maximum age of cached data-driven trigger definitions in milliseconds (0 = no caching) */
+	@Value("${proseo.orderGenerator.triggerCacheMaxAge:300000}")
+	private Long triggerCacheMaxAge;
+
+	/** Quartz job store type ("memory" or "jdbc") */
+	@Value("${proseo.orderGenerator.quartz.jobStore:memory}")
+	private String quartzJobStore;
+
+	/** Handling of missed trigger fire times ("smart", "skip", "fireOnce" or "catchUp") */
+	@Value("${proseo.orderGenerator.quartz.misfirePolicy:smart}")
+	private String quartzMisfirePolicy;
+
+	/** Delay in milliseconds after which a trigger fire time is considered missed */
+	@Value("${proseo.orderGenerator.quartz.misfireThreshold:60000}")
+	private Long quartzMisfireThreshold;
+
+	/** Quartz JDBC driver delegate class for the database in use */
+	@Value("${proseo.orderGenerator.quartz.driverDelegate:org.quartz.impl.jdbcjobstore.PostgreSQLDelegate}")
+	private String quartzDriverDelegate;
+
+	/** Class path of the script to create the Quartz tables, if they do not exist (empty = do not create) */
+	@Value("${proseo.orderGenerator.quartz.schemaScript:org/quartz/impl/jdbcjobstore/tables_postgres.sql}")
+	private String quartzSchemaScript;
 	
 	/**
 	 * Gets the production planner URL
@@ -109,4 +137,88 @@ public class OrderGenConfiguration {
 		return facility;
 	}
 
+	/**
+	 * @return the maximum number of threads creating and releasing processing orders concurrently
+	 */
+	public Integer getMaxOrderThreads() {
+		return maxOrderThreads;
+	}
+
+	/**
+	 * @return the maximum age of cached data-driven trigger definitions in milliseconds
+	 */
+	public Long getTriggerCacheMaxAge() {
+		return triggerCacheMaxAge;
+	}
+
+	/**
+	 * @return the Quartz job store type ("memory" or "jdbc")
+	 */
+	public String getQuartzJobStore() {
+		return quartzJobStore;
+	}
+
+	/**
+	 * @param quartzJobStore the Quartz job store type to set
+	 */
+	public void setQuartzJobStore(String quartzJobStore) {
+		this.quartzJobStore = quartzJobStore;
+	}
+
+	/**
+	 * @return the handling of missed trigger fire times ("smart", "skip", "fireOnce" or "catchUp")
+	 */
+	public String getQuartzMisfirePolicy() {
+		return quartzMisfirePolicy;
+	}
+
+	/**
+	 * @param quartzMisfirePolicy the handling of missed trigger fire times to set
+	 */
+	public void setQuartzMisfirePolicy(String quartzMisfirePolicy) {
+		this.quartzMisfirePolicy = quartzMisfirePolicy;
+	}
+
+	/**
+	 * @return the delay in milliseconds after which a trigger fire time is considered missed
+	 */
+	public Long getQuartzMisfireThreshold() {
+		return quartzMisfireThreshold;
+	}
+
+	/**
+	 * @param quartzMisfireThreshold the misfire threshold in milliseconds to set
+	 */
+	public void setQuartzMisfireThreshold(Long quartzMisfireThreshold) {
+		this.quartzMisfireThreshold = quartzMisfireThreshold;
+	}
+
+	/**
+	 * @return the Quartz JDBC driver delegate class
+	 */
+	public String getQuartzDriverDelegate() {
+		return quartzDriverDelegate;
+	}
+
+	/**
+	 * @param quartzDriverDelegate the Quartz JDBC driver delegate class to set
+	 */
+	public void setQuartzDriverDelegate(String quartzDriverDelegate) {
+		this.quartzDriverDelegate = quartzDriverDelegate;
+	}
+
+	/**
+	 * @return the class path of the script to create the Quartz tables
+	 */
+	public String getQuartzSchemaScript() {
+		return quartzSchemaScript;
+	}
+
+	/**
+	 * @param quartzSchemaScript the class path of the script to create the Quartz tables to set
+	 */
+	public void setQuartzSchemaScript(String quartzSchemaScript) {
+		this.quartzSchemaScript = quartzSchemaScript;
+	}
+
 }
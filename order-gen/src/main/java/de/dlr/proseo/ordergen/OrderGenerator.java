@@ -5,6 +5,8 @@
  */
 package de.dlr.proseo.ordergen;
 
+import javax.sql.DataSource;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
@@ -47,6 +49,10 @@ public class OrderGenerator implements CommandLineRunner {
 	@Autowired
 	private OrderGenConfiguration config;
 
+	/** The data source (for the Quartz JDBC job store) */
+	@Autowired
+	private DataSource dataSource;
+
 	@Autowired
 	private TriggerUtil triggerUtil;
 
@@ -80,10 +86,10 @@ public class OrderGenerator implements CommandLineRunner {
 		// Initialize and start quartz scheduler and triggers
 		scheduler = new OrderGenScheduler();
 		scheduler.setTxManager(txManager);
+		scheduler.setConfig(config);
+		scheduler.setDataSource(dataSource);
 		scheduler.init(triggerUtil);
-		scheduler.buildCalendarTriggers();
-		scheduler.buildImeIntervalTriggers();
-		scheduler.buildOrbitTriggers();
+		scheduler.synchronizeTriggers();
 		scheduler.start();
 		
 	}
@@ -0,0 +1,54 @@
+/**
+ * DataSourceConnectionProvider.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.ordergen.quartz;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.quartz.utils.ConnectionProvider;
+
+/**
+ * Quartz connection provider handing out connections from the data source of the application, so the JDBC job store shares
+ * the connection pool (and the connection configuration) with the JPA persistence layer.
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class DataSourceConnectionProvider implements ConnectionProvider {
+
+	/** The data source of the application */
+	private final DataSource dataSource;
+
+	/**
+	 * Creates a connection provider for the given data source
+	 *
+	 * @param dataSource the data source of the application
+	 */
+	public DataSourceConnectionProvider(DataSource dataSource) {
+		this.dataSource = dataSource;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return dataSource.getConnection();
+	}
+
+	/**
+	 * Nothing to do, the data source is managed by the application
+	 */
+	@Override
+	public void initialize() throws SQLException {
+	}
+
+	/**
+	 * Nothing to do, the data source is managed by the application
+	 */
+	@Override
+	public void shutdown() throws SQLException {
+	}
+
+}
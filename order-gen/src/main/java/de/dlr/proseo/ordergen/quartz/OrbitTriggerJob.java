@@ -13,6 +13,7 @@ import org.quartz.SchedulerException;
 import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.logging.messages.OrderGenMessage;
 import de.dlr.proseo.model.OrbitOrderTrigger;
+import de.dlr.proseo.model.enums.TriggerType;
 import de.dlr.proseo.ordergen.OrderGenerator;
 
 /**
@@ -28,7 +29,8 @@ public class OrbitTriggerJob implements Job {
 	@Override
 	public void execute(JobExecutionContext context) throws JobExecutionException {
 
-		Object object = context.getJobDetail().getJobDataMap().get("orderTrigger");
+		// Always use the current trigger state from the database (the job only holds the trigger key)
+		Object object = OrderGenerator.scheduler.findTrigger(context.getJobDetail(), TriggerType.Orbit);
 		String orderTemplateName = null;
 		OrbitOrderTrigger trigger = null;
 		if (object instanceof OrbitOrderTrigger) {
@@ -39,6 +41,11 @@ public class OrbitTriggerJob implements Job {
 			logger.trace("--- trigger fired ({}, {})", context.getJobDetail().getKey(), orderTemplateName);
 		}
 
+		if (null == trigger) {
+			// Trigger deleted in the meantime
+			return;
+		}
+
 		OrderGenerator.orderCreator.createAndStartFromTrigger(trigger, context.getPreviousFireTime(), 
 				context.getFireTime(), context.getNextFireTime(), null);
 		try {
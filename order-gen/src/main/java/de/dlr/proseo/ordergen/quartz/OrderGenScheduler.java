@@ -9,21 +9,41 @@ import static org.quartz.CronScheduleBuilder.cronSchedule;
 import static org.quartz.JobBuilder.newJob;
 import static org.quartz.TriggerBuilder.newTrigger;
 import static org.quartz.SimpleScheduleBuilder.simpleSchedule;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.sql.DataSource;
 
-import org.quartz.CronTrigger;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.Job;
 import org.quartz.JobDetail;
+import org.quartz.JobKey;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
 import org.quartz.SchedulerFactory;
+import org.quartz.SimpleScheduleBuilder;
 import org.quartz.impl.StdSchedulerFactory;
-import org.quartz.SimpleTrigger;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.utils.DBConnectionManager;
+import org.quartz.Trigger;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import de.dlr.proseo.logging.logger.ProseoLogger;
@@ -37,11 +57,18 @@ import de.dlr.proseo.model.TimeIntervalOrderTrigger;
 import de.dlr.proseo.model.enums.TriggerType;
 import de.dlr.proseo.model.service.RepositoryService;
 import de.dlr.proseo.model.util.ProseoUtil;
+import de.dlr.proseo.ordergen.OrderGenConfiguration;
 import de.dlr.proseo.ordergen.util.TriggerUtil;
 
 /**
  * OrderGenScheduler to hold and manage triggers.
  *
+ * The Quartz jobs are kept in sync with the calendar, time interval and orbit triggers in the database: On startup and on
+ * reload, only jobs for new or changed triggers are (re-)scheduled and jobs for deleted triggers are removed, and trigger
+ * modifications through the REST API update the affected job only. With the "jdbc" job store, the jobs are persisted in the
+ * database (and shared in a cluster of order generators), so unchanged jobs keep their fire history across restarts and
+ * missed fire times are handled according to the configured misfire policy.
+ *
  * @author Ernst Melchinger
  *
  */
@@ -49,14 +76,54 @@ public class OrderGenScheduler {
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(OrderGenScheduler.class);
 
+	/** Job store type: In-memory job store */
+	public static final String JOB_STORE_MEMORY = "memory";
+	/** Job store type: Persistent job store in the database */
+	public static final String JOB_STORE_JDBC = "jdbc";
+
+	/**
+	 * Misfire policy: Quartz "smart" policy, i. e. fire once immediately for calendar triggers and wait for the next regular
+	 * fire time for time interval triggers (default, as with the purely in-memory scheduler)
+	 */
+	public static final String MISFIRE_SMART = "smart";
+	/** Misfire policy: Skip missed fire times and wait for the next regular fire time */
+	public static final String MISFIRE_SKIP = "skip";
+	/** Misfire policy: Fire once immediately for all missed fire times */
+	public static final String MISFIRE_FIRE_ONCE = "fireOnce";
+	/** Misfire policy: Fire for each missed fire time immediately */
+	public static final String MISFIRE_CATCH_UP = "catchUp";
+
+	/** Job data key for the mission code of the trigger */
+	/* package */ static final String JOB_DATA_MISSION = "missionCode";
+	/** Job data key for the schedule of the trigger (to detect changed triggers) */
+	/* package */ static final String JOB_DATA_SCHEDULE = "schedule";
+
+	/** The trigger types handled by the scheduler */
+	private static final TriggerType[] SCHEDULED_TYPES = { TriggerType.Calendar, TriggerType.TimeInterval, TriggerType.Orbit };
+
+	/** Name of the Quartz scheduler with JDBC job store */
+	private static final String JDBC_SCHEDULER_NAME = "ProseoOrderGenScheduler";
+	/** Name of the Quartz data source for the JDBC job store */
+	private static final String JDBC_DATA_SOURCE_NAME = "proseo";
+	/** Number of Quartz worker threads for the JDBC job store (as for the default in-memory scheduler) */
+	private static final String JDBC_THREAD_COUNT = "10";
+	/** Quartz table to check for existence of the job store tables */
+	private static final String QUARTZ_JOB_DETAILS_TABLE = "qrtz_job_details";
+
 	// The quartz scheduler
 	private Scheduler sched = null;
-	
+
 	// Reference to the util instance
 	private TriggerUtil triggerUtil;
-	
+
 	private PlatformTransactionManager txManager;
-	
+
+	/** The order generator configuration */
+	private OrderGenConfiguration config;
+
+	/** The data source for the JDBC job store */
+	private DataSource dataSource;
+
 	/**
 	 * @param txManager the txManager to set
 	 */
@@ -64,112 +131,254 @@ public class OrderGenScheduler {
 		this.txManager = txManager;
 	}
 
+	/**
+	 * @param config the order generator configuration to set
+	 */
+	public void setConfig(OrderGenConfiguration config) {
+		this.config = config;
+	}
+
+	/**
+	 * @param dataSource the data source for the JDBC job store to set
+	 */
+	public void setDataSource(DataSource dataSource) {
+		this.dataSource = dataSource;
+	}
+
 	/**
 	 * Initialize the scheduler
-	 * 
+	 *
 	 * @param util The TriggerUtil instance
-	 * @throws SchedulerException
+	 * @throws SchedulerException if the scheduler cannot be created or the configuration is invalid
 	 */
 	public void init(TriggerUtil util) throws SchedulerException {
 		if (logger.isTraceEnabled())
 			logger.trace(">>> initialize quartz scheduler()");
 		triggerUtil = util;
+
+		String misfirePolicy = config.getQuartzMisfirePolicy();
+		if (!MISFIRE_SMART.equals(misfirePolicy) && !MISFIRE_SKIP.equals(misfirePolicy) && !MISFIRE_FIRE_ONCE.equals(misfirePolicy)
+				&& !MISFIRE_CATCH_UP.equals(misfirePolicy)) {
+			throw new SchedulerException(logger.log(OrderGenMessage.INVALID_CONFIGURATION_VALUE, misfirePolicy,
+					"proseo.orderGenerator.quartz.misfirePolicy"));
+		}
+
 		// First we must get a reference to a scheduler
-		SchedulerFactory sf = new StdSchedulerFactory();
+		SchedulerFactory sf = null;
+		if (JOB_STORE_MEMORY.equals(config.getQuartzJobStore())) {
+			Properties properties = new Properties();
+			properties.setProperty(StdSchedulerFactory.PROP_THREAD_POOL_PREFIX + ".threadCount", JDBC_THREAD_COUNT);
+			properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_PREFIX + ".misfireThreshold",
+					String.valueOf(config.getQuartzMisfireThreshold()));
+			sf = new StdSchedulerFactory(properties);
+		} else if (JOB_STORE_JDBC.equals(config.getQuartzJobStore())) {
+			initJdbcJobStore();
+			sf = new StdSchedulerFactory(getJdbcProperties());
+		} else {
+			throw new SchedulerException(logger.log(OrderGenMessage.INVALID_CONFIGURATION_VALUE, config.getQuartzJobStore(),
+					"proseo.orderGenerator.quartz.jobStore"));
+		}
 		sched = sf.getScheduler();
 	}
 
 	/**
-	 * Load the Calendar triggers from database and add them to the scheduler
-	 * 
-	 * @throws SchedulerException
+	 * Create the Quartz tables, if they do not exist yet, and register the application data source with Quartz
+	 *
+	 * @throws SchedulerException if the Quartz tables cannot be checked or created
 	 */
-	@Transactional(isolation = Isolation.REPEATABLE_READ)
-	public void buildCalendarTriggers() throws SchedulerException {
+	private void initJdbcJobStore() throws SchedulerException {
 		if (logger.isTraceEnabled())
-			logger.trace(">>> buildCalendarTriggers()");
-		for (Mission mission : RepositoryService.getMissionRepository().findAll()) {
-			for (OrderTrigger orderTrigger : triggerUtil.findAllByMissionCodeAndTriggerNameAndType(mission.getCode(), null, TriggerType.Calendar.name())) {
-				if (orderTrigger instanceof CalendarOrderTrigger) {
-					CalendarOrderTrigger trigger = (CalendarOrderTrigger)orderTrigger;
-					JobDetail quartzJob = newJob(CalendarTriggerJob.class).withIdentity(trigger.getName(), trigger.getMission().getCode() + "/" + TriggerType.Calendar.name()).build();
-					CronTrigger quartzTrigger = newTrigger().withIdentity(trigger.getName(), trigger.getMission().getCode() + "/" + TriggerType.Calendar.name())
-							.withSchedule(cronSchedule(trigger.getCronExpression()))
-							.build();
-					
-					quartzJob.getJobDataMap().put("orderTrigger", trigger);
-					sched.scheduleJob(quartzJob, quartzTrigger);
+			logger.trace(">>> initJdbcJobStore()");
+
+		String schemaScript = config.getQuartzSchemaScript();
+		if (null != schemaScript && !schemaScript.isBlank()) {
+			try (Connection connection = dataSource.getConnection()) {
+				boolean tablesExist = false;
+				for (String tableName : new String[] { QUARTZ_JOB_DETAILS_TABLE, QUARTZ_JOB_DETAILS_TABLE.toUpperCase() }) {
+					try (ResultSet tables = connection.getMetaData().getTables(null, null, tableName, null)) {
+						tablesExist = tablesExist || tables.next();
+					}
+				}
+				if (!tablesExist) {
+					new ResourceDatabasePopulator(new ClassPathResource(schemaScript)).populate(connection);
+					logger.log(OrderGenMessage.QUARTZ_SCHEMA_CREATED, schemaScript);
 				}
+			} catch (SQLException | RuntimeException e) {
+				throw new SchedulerException(logger.log(OrderGenMessage.EXCEPTION, e.getMessage()), e);
 			}
 		}
+
+		DBConnectionManager.getInstance().addConnectionProvider(JDBC_DATA_SOURCE_NAME, new DataSourceConnectionProvider(dataSource));
+	}
+
+	/**
+	 * Get the Quartz properties for a clustered scheduler with JDBC job store
+	 *
+	 * @return the Quartz properties
+	 */
+	private Properties getJdbcProperties() {
+		Properties properties = new Properties();
+		properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, JDBC_SCHEDULER_NAME);
+		properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_ID, StdSchedulerFactory.AUTO_GENERATE_INSTANCE_ID);
+		properties.setProperty(StdSchedulerFactory.PROP_THREAD_POOL_PREFIX + ".threadCount", JDBC_THREAD_COUNT);
+		properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_CLASS, "org.quartz.impl.jdbcjobstore.JobStoreTX");
+		properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_PREFIX + ".driverDelegateClass", config.getQuartzDriverDelegate());
+		properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_PREFIX + ".dataSource", JDBC_DATA_SOURCE_NAME);
+		properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_PREFIX + ".useProperties", "true");
+		properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_PREFIX + ".isClustered", "true");
+		properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_PREFIX + ".misfireThreshold",
+				String.valueOf(config.getQuartzMisfireThreshold()));
+		return properties;
+	}
+
+	/**
+	 * Load the calendar, time interval and orbit triggers from the database and synchronize the Quartz jobs with them
+	 *
+	 * @throws SchedulerException if the Quartz jobs cannot be updated
+	 */
+	public void synchronizeTriggers() throws SchedulerException {
 		if (logger.isTraceEnabled())
-			logger.trace("<<< CalendarTriggers built");
+			logger.trace(">>> synchronizeTriggers()");
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(txManager);
+		transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+		transactionTemplate.setReadOnly(true);
+
+		List<OrderTrigger> triggers = transactionTemplate.execute((status) -> {
+			List<OrderTrigger> triggerList = new ArrayList<>();
+			for (Mission mission : RepositoryService.getMissionRepository().findAll()) {
+				for (TriggerType type : SCHEDULED_TYPES) {
+					triggerList.addAll(triggerUtil.findAllByMissionCodeAndTriggerNameAndType(mission.getCode(), null, type.name()));
+				}
+			}
+			return triggerList;
+		});
+
+		synchronizeTriggers(triggers);
 	}
 
 	/**
-	 * Load the TimeIntervall triggers from database and add them to the scheduler
-	 * 
-	 * @throws SchedulerException
+	 * Synchronize the Quartz jobs with the given triggers: Jobs for new triggers and for triggers with changed schedules are
+	 * (re-)scheduled, jobs without trigger are removed, and jobs for unchanged triggers are kept (including their next fire
+	 * time)
+	 *
+	 * @param triggers the calendar, time interval and orbit triggers to schedule
+	 * @throws SchedulerException if the Quartz jobs cannot be updated
 	 */
-	@Transactional(isolation = Isolation.REPEATABLE_READ)
-	public void buildImeIntervalTriggers() throws SchedulerException {
+	public void synchronizeTriggers(List<OrderTrigger> triggers) throws SchedulerException {
 		if (logger.isTraceEnabled())
-			logger.trace(">>> buildImeIntervalTriggers()");
-		for (Mission mission : RepositoryService.getMissionRepository().findAll()) {
-			for (OrderTrigger orderTrigger : triggerUtil.findAllByMissionCodeAndTriggerNameAndType(mission.getCode(), null, TriggerType.TimeInterval.name())) {
-				if (orderTrigger instanceof TimeIntervalOrderTrigger) {
-					TimeIntervalOrderTrigger trigger = (TimeIntervalOrderTrigger)orderTrigger;
-					Instant startTime = Instant.now();
-					if (trigger.getNextTriggerTime() != null) {
-						startTime = trigger.getNextTriggerTime();
-					}
-					JobDetail quartzJob = newJob(TimeIntervalTriggerJob.class).withIdentity(trigger.getName(), trigger.getMission().getCode() + "/" + TriggerType.TimeInterval.name()).build();
-					SimpleTrigger quartzTrigger = newTrigger().withIdentity(trigger.getName(), trigger.getMission().getCode() + "/" + TriggerType.TimeInterval.name())
-							.startAt(Date.from(startTime))
-					        .withSchedule(simpleSchedule().withIntervalInMilliseconds(trigger.getTriggerInterval().toMillis()).repeatForever())							
-							.build();
-					
-					quartzJob.getJobDataMap().put("orderTrigger", trigger);
-					sched.scheduleJob(quartzJob, quartzTrigger);
+			logger.trace(">>> synchronizeTriggers({})", triggers.size());
+
+		Set<JobKey> obsoleteJobKeys = new HashSet<>(sched.getJobKeys(GroupMatcher.anyJobGroup()));
+		Map<JobDetail, Set<? extends Trigger>> newJobs = new HashMap<>();
+		int unchanged = 0;
+
+		for (OrderTrigger orderTrigger : triggers) {
+			String schedule = getSchedule(orderTrigger);
+			if (null == schedule) {
+				// Trigger cannot be scheduled (e. g. orbit trigger without last orbit)
+				continue;
+			}
+			JobKey jobKey = getJobKey(orderTrigger);
+			if (obsoleteJobKeys.remove(jobKey)) {
+				JobDetail scheduledJob = sched.getJobDetail(jobKey);
+				if (null != scheduledJob && schedule.equals(scheduledJob.getJobDataMap().getString(JOB_DATA_SCHEDULE))) {
+					++unchanged;
+					continue;
 				}
 			}
+			newJobs.put(buildJob(orderTrigger, schedule), Set.of(buildQuartzTrigger(orderTrigger)));
 		}
-		if (logger.isTraceEnabled())
-			logger.trace("<<< ImeIntervalTriggers built");
+
+		// Schedule all new jobs at once (a single transaction for a JDBC job store)
+		if (!newJobs.isEmpty()) {
+			sched.scheduleJobs(newJobs, true);
+		}
+		if (!obsoleteJobKeys.isEmpty()) {
+			sched.deleteJobs(new ArrayList<>(obsoleteJobKeys));
+		}
+
+		logger.log(OrderGenMessage.TRIGGERS_SYNCHRONIZED, newJobs.size(), unchanged, obsoleteJobKeys.size());
 	}
 
 	/**
-	 * Load the Orbit triggers from database and add them to the scheduler
-	 * 
-	 * @throws SchedulerException
+	 * Schedule the Quartz job for a new or modified trigger (replacing any existing job for the trigger). If called within a
+	 * transaction, the job is scheduled after the transaction has been committed. Errors are logged, but not propagated.
+	 *
+	 * @param orderTrigger the trigger to schedule (triggers of types not handled by the scheduler are ignored)
 	 */
-	@Transactional(isolation = Isolation.REPEATABLE_READ)
-	public void buildOrbitTriggers() throws SchedulerException {
+	public void scheduleTrigger(OrderTrigger orderTrigger) {
 		if (logger.isTraceEnabled())
-			logger.trace(">>> buildOrbitTriggers()");
-		for (Mission mission : RepositoryService.getMissionRepository().findAll()) {
-			for (OrderTrigger orderTrigger : triggerUtil.findAllByMissionCodeAndTriggerNameAndType(mission.getCode(), null, TriggerType.Orbit.name())) {
-				if (orderTrigger instanceof OrbitOrderTrigger) {
-					OrbitOrderTrigger trigger = (OrbitOrderTrigger)orderTrigger;
-					Orbit orbit = trigger.getLastOrbit();
-					if (orbit != null) {
-					// calculate start time using orbit
-					Instant startTime = orbit.getStopTime().plus(trigger.getDeltaTime());
-					JobDetail quartzJob = newJob(OrbitTriggerJob.class).withIdentity(trigger.getName(), trigger.getMission().getCode() + "/" + TriggerType.Orbit.name()).build();
-					SimpleTrigger quartzTrigger = (SimpleTrigger)newTrigger().withIdentity(trigger.getName(), trigger.getMission().getCode() + "/" + TriggerType.Orbit.name())
-							.startAt(Date.from(startTime))						
-							.build();
-					
-					quartzJob.getJobDataMap().put("orderTrigger", trigger);
-					sched.scheduleJob(quartzJob, quartzTrigger);
-					} else {
-						// Error
-					}
+			logger.trace(">>> scheduleTrigger({})", (null == orderTrigger ? "null" : orderTrigger.getName()));
+
+		if (!isScheduled(orderTrigger)) {
+			return;
+		}
+
+		afterCommit(() -> {
+			try {
+				String schedule = getSchedule(orderTrigger);
+				if (null == schedule) {
+					sched.deleteJob(getJobKey(orderTrigger));
+				} else {
+					sched.scheduleJob(buildJob(orderTrigger, schedule), Set.of(buildQuartzTrigger(orderTrigger)), true);
 				}
+			} catch (SchedulerException | RuntimeException e) {
+				logger.log(OrderGenMessage.SCHEDULE_TRIGGER_FAILED, orderTrigger.getName(), getTriggerType(orderTrigger),
+						orderTrigger.getMission().getCode(), e.getMessage());
 			}
+		});
+	}
+
+	/**
+	 * Remove the Quartz job for a deleted trigger. If called within a transaction, the job is removed after the transaction has
+	 * been committed. Errors are logged, but not propagated.
+	 *
+	 * @param missionCode the mission code of the trigger
+	 * @param name the trigger name
+	 * @param type the trigger type (triggers of types not handled by the scheduler are ignored)
+	 */
+	public void unscheduleTrigger(String missionCode, String name, TriggerType type) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> unscheduleTrigger({}, {}, {})", missionCode, name, type);
+
+		if (TriggerType.Calendar != type && TriggerType.TimeInterval != type && TriggerType.Orbit != type) {
+			return;
 		}
+
+		afterCommit(() -> {
+			try {
+				sched.deleteJob(new JobKey(name, getJobGroup(missionCode, type)));
+			} catch (SchedulerException e) {
+				logger.log(OrderGenMessage.SCHEDULE_TRIGGER_FAILED, name, type, missionCode, e.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * Find the trigger for a Quartz job in the database
+	 *
+	 * @param jobDetail the job to find the trigger for
+	 * @param type the type of the trigger
+	 * @return the trigger or null, if it does not exist (any more)
+	 */
+	public OrderTrigger findTrigger(JobDetail jobDetail, TriggerType type) {
 		if (logger.isTraceEnabled())
-			logger.trace("<<< ImeIntervalTriggers built");
+			logger.trace(">>> findTrigger({}, {})", jobDetail.getKey(), type);
+
+		String missionCode = jobDetail.getJobDataMap().getString(JOB_DATA_MISSION);
+		String name = jobDetail.getKey().getName();
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(txManager);
+		transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+		transactionTemplate.setReadOnly(true);
+
+		OrderTrigger orderTrigger = transactionTemplate
+			.execute((status) -> triggerUtil.findByMissionCodeAndTriggerNameAndType(missionCode, name, type.name()));
+		if (null == orderTrigger) {
+			logger.log(OrderGenMessage.TRIGGER_NOT_EXIST, missionCode, name, type);
+		}
+		return orderTrigger;
 	}
 
 	/**
@@ -193,26 +402,18 @@ public class OrderGenScheduler {
 								if (orbit != null) {
 									// calculate start time using orbit
 									Integer orbitNr = RepositoryService.getOrbitRepository()
-											.findNextByMissionCodeAndSpacecraftCodeAndOrbitNumber(trigger.getMission().getCode(), 
+											.findNextByMissionCodeAndSpacecraftCodeAndOrbitNumber(trigger.getMission().getCode(),
 													trigger.getSpacecraft().getCode(), orbit.getOrbitNumber());
 									Orbit nextOrbit = RepositoryService.getOrbitRepository()
-											.findByMissionCodeAndSpacecraftCodeAndOrbitNumber(trigger.getMission().getCode(), 
+											.findByMissionCodeAndSpacecraftCodeAndOrbitNumber(trigger.getMission().getCode(),
 													trigger.getSpacecraft().getCode(), orbitNr);
 									if (nextOrbit != null) {
 										trigger.setLastOrbit(nextOrbit);
 										triggerUtil.save(trigger);
-										Instant startTime = nextOrbit.getStopTime().plus(trigger.getDeltaTime());
-										JobDetail quartzJob = newJob(OrbitTriggerJob.class).withIdentity(trigger.getName(), 
-												trigger.getMission().getCode() + "/" + TriggerType.Orbit.name()).build();
-										SimpleTrigger quartzTrigger = (SimpleTrigger)newTrigger().withIdentity(trigger.getName(), 
-												trigger.getMission().getCode() + "/" + TriggerType.Orbit.name())
-												.startAt(Date.from(startTime))						
-												.build();
-
-										quartzJob.getJobDataMap().put("orderTrigger", trigger);
+										String schedule = getSchedule(trigger);
 										try {
-											sched.deleteJob(quartzJob.getKey());
-											sched.scheduleJob(quartzJob, quartzTrigger);
+											// Replaces the job for the orbit just processed
+											sched.scheduleJob(buildJob(trigger, schedule), Set.of(buildQuartzTrigger(trigger)), true);
 										} catch (SchedulerException e) {
 											logger.log(OrderGenMessage.CREATE_ORBIT_TRIGGER_FAILED, e.getMessage());
 										}
@@ -246,7 +447,7 @@ public class OrderGenScheduler {
 
 	/**
 	 * Start the quartz scheduler
-	 * 
+	 *
 	 * @throws SchedulerException
 	 */
 	public void start() throws SchedulerException {
@@ -256,12 +457,12 @@ public class OrderGenScheduler {
 		sched.start();
 		if (logger.isTraceEnabled()) {
 			logger.trace("<<< quartz scheduler started");
-		}	
+		}
 	}
 
 	/**
 	 * Shutdown the quartz scheduler
-	 * 
+	 *
 	 * @throws SchedulerException
 	 */
 	public void shutdown() throws SchedulerException {
@@ -271,23 +472,193 @@ public class OrderGenScheduler {
 		sched.shutdown(true);
 		if (logger.isTraceEnabled()) {
 			logger.trace("<<< quartz scheduler shutdown");
-		}	
+		}
 	}
 
 	/**
-	 * Shutdown, initialize, build triggers and start the quartz scheduler
-	 * 
+	 * Reload the triggers from the database and update the Quartz jobs for new, changed and deleted triggers (the scheduler
+	 * keeps running)
+	 *
 	 * @throws SchedulerException
 	 */
 	public void reload() throws SchedulerException {
 		if (logger.isTraceEnabled()) {
-			logger.trace(">>> reload triggers and restart quartz scheduler");
+			logger.trace(">>> reload triggers");
+		}
+		synchronizeTriggers();
+	}
+
+	/**
+	 * Gets the Quartz scheduler
+	 *
+	 * @return the Quartz scheduler
+	 */
+	/* package */ Scheduler getScheduler() {
+		return sched;
+	}
+
+	/**
+	 * Build the Quartz job for a trigger
+	 *
+	 * @param orderTrigger the trigger
+	 * @param schedule the schedule of the trigger (see getSchedule())
+	 * @return the Quartz job
+	 */
+	private JobDetail buildJob(OrderTrigger orderTrigger, String schedule) {
+		Class<? extends Job> jobClass = null;
+		if (orderTrigger instanceof CalendarOrderTrigger) {
+			jobClass = CalendarTriggerJob.class;
+		} else if (orderTrigger instanceof TimeIntervalOrderTrigger) {
+			jobClass = TimeIntervalTriggerJob.class;
+		} else {
+			jobClass = OrbitTriggerJob.class;
+		}
+		return newJob(jobClass).withIdentity(getJobKey(orderTrigger))
+			.usingJobData(JOB_DATA_MISSION, orderTrigger.getMission().getCode())
+			.usingJobData(JOB_DATA_SCHEDULE, schedule)
+			.build();
+	}
+
+	/**
+	 * Build the Quartz trigger for a trigger, applying the configured misfire policy
+	 *
+	 * @param orderTrigger the trigger
+	 * @return the Quartz trigger
+	 */
+	private Trigger buildQuartzTrigger(OrderTrigger orderTrigger) {
+		String misfirePolicy = config.getQuartzMisfirePolicy();
+		JobKey jobKey = getJobKey(orderTrigger);
+
+		if (orderTrigger instanceof CalendarOrderTrigger) {
+			CalendarOrderTrigger trigger = (CalendarOrderTrigger) orderTrigger;
+			CronScheduleBuilder scheduleBuilder = cronSchedule(trigger.getCronExpression());
+			if (MISFIRE_CATCH_UP.equals(misfirePolicy)) {
+				scheduleBuilder = scheduleBuilder.withMisfireHandlingInstructionIgnoreMisfires();
+			} else if (MISFIRE_FIRE_ONCE.equals(misfirePolicy)) {
+				scheduleBuilder = scheduleBuilder.withMisfireHandlingInstructionFireAndProceed();
+			} else if (MISFIRE_SKIP.equals(misfirePolicy)) {
+				scheduleBuilder = scheduleBuilder.withMisfireHandlingInstructionDoNothing();
+			}
+			return newTrigger().withIdentity(jobKey.getName(), jobKey.getGroup()).withSchedule(scheduleBuilder).build();
+		} else if (orderTrigger instanceof TimeIntervalOrderTrigger) {
+			TimeIntervalOrderTrigger trigger = (TimeIntervalOrderTrigger) orderTrigger;
+			Instant startTime = Instant.now();
+			if (trigger.getNextTriggerTime() != null) {
+				startTime = trigger.getNextTriggerTime();
+			}
+			SimpleScheduleBuilder scheduleBuilder = simpleSchedule()
+				.withIntervalInMilliseconds(trigger.getTriggerInterval().toMillis())
+				.repeatForever();
+			if (MISFIRE_CATCH_UP.equals(misfirePolicy)) {
+				scheduleBuilder = scheduleBuilder.withMisfireHandlingInstructionIgnoreMisfires();
+			} else if (MISFIRE_FIRE_ONCE.equals(misfirePolicy)) {
+				scheduleBuilder = scheduleBuilder.withMisfireHandlingInstructionNowWithExistingCount();
+			} else if (MISFIRE_SKIP.equals(misfirePolicy)) {
+				scheduleBuilder = scheduleBuilder.withMisfireHandlingInstructionNextWithRemainingCount();
+			}
+			return newTrigger().withIdentity(jobKey.getName(), jobKey.getGroup())
+				.startAt(Date.from(startTime))
+				.withSchedule(scheduleBuilder)
+				.build();
+		} else {
+			// An orbit must always be processed (and the trigger for the next orbit be built), so fire missed orbits in any case
+			OrbitOrderTrigger trigger = (OrbitOrderTrigger) orderTrigger;
+			Instant startTime = trigger.getLastOrbit().getStopTime().plus(trigger.getDeltaTime());
+			return newTrigger().withIdentity(jobKey.getName(), jobKey.getGroup())
+				.startAt(Date.from(startTime))
+				.withSchedule(simpleSchedule().withMisfireHandlingInstructionFireNow())
+				.build();
+		}
+	}
+
+	/**
+	 * Get a string representation of the schedule of a trigger, which changes whenever the Quartz trigger must be rebuilt (the
+	 * next trigger time of a time interval trigger is not included, because it is updated by each execution)
+	 *
+	 * @param orderTrigger the trigger
+	 * @return the schedule or null, if the trigger cannot be scheduled
+	 */
+	private String getSchedule(OrderTrigger orderTrigger) {
+		String schedule = null;
+		if (orderTrigger instanceof CalendarOrderTrigger) {
+			schedule = "cron:" + ((CalendarOrderTrigger) orderTrigger).getCronExpression();
+		} else if (orderTrigger instanceof TimeIntervalOrderTrigger) {
+			schedule = "interval:" + ((TimeIntervalOrderTrigger) orderTrigger).getTriggerInterval().toMillis();
+		} else if (orderTrigger instanceof OrbitOrderTrigger) {
+			OrbitOrderTrigger trigger = (OrbitOrderTrigger) orderTrigger;
+			if (null == trigger.getLastOrbit()) {
+				return null;
+			}
+			schedule = "orbit:" + trigger.getLastOrbit().getOrbitNumber() + "+" + trigger.getDeltaTime().toMillis();
+		} else {
+			return null;
+		}
+		return schedule + "|" + config.getQuartzMisfirePolicy();
+	}
+
+	/**
+	 * Check whether the given trigger is of a type handled by the scheduler
+	 *
+	 * @param orderTrigger the trigger to check
+	 * @return true, if the trigger is a calendar, time interval or orbit trigger, false otherwise
+	 */
+	private boolean isScheduled(OrderTrigger orderTrigger) {
+		return orderTrigger instanceof CalendarOrderTrigger || orderTrigger instanceof TimeIntervalOrderTrigger
+				|| orderTrigger instanceof OrbitOrderTrigger;
+	}
+
+	/**
+	 * Get the type of a calendar, time interval or orbit trigger
+	 *
+	 * @param orderTrigger the trigger
+	 * @return the trigger type
+	 */
+	private TriggerType getTriggerType(OrderTrigger orderTrigger) {
+		if (orderTrigger instanceof CalendarOrderTrigger) {
+			return TriggerType.Calendar;
+		} else if (orderTrigger instanceof TimeIntervalOrderTrigger) {
+			return TriggerType.TimeInterval;
+		} else {
+			return TriggerType.Orbit;
+		}
+	}
+
+	/**
+	 * Get the Quartz job key for a trigger
+	 *
+	 * @param orderTrigger the trigger
+	 * @return the job key
+	 */
+	private JobKey getJobKey(OrderTrigger orderTrigger) {
+		return new JobKey(orderTrigger.getName(), getJobGroup(orderTrigger.getMission().getCode(), getTriggerType(orderTrigger)));
+	}
+
+	/**
+	 * Get the Quartz job group for the triggers of the given mission and type
+	 *
+	 * @param missionCode the mission code
+	 * @param type the trigger type
+	 * @return the job group
+	 */
+	private String getJobGroup(String missionCode, TriggerType type) {
+		return missionCode + "/" + type.name();
+	}
+
+	/**
+	 * Run the given action after the commit of the current transaction, or immediately, if no transaction is active
+	 *
+	 * @param action the action to run
+	 */
+	private void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
 		}
-		shutdown();
-		init(triggerUtil);
-		buildCalendarTriggers();
-		buildImeIntervalTriggers();
-		buildOrbitTriggers();
-		start();
 	}
 }
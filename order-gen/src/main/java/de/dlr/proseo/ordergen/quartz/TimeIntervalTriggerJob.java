@@ -10,6 +10,7 @@ import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.model.TimeIntervalOrderTrigger;
+import de.dlr.proseo.model.enums.TriggerType;
 import de.dlr.proseo.ordergen.OrderGenerator;
 
 /**
@@ -24,7 +25,8 @@ public class TimeIntervalTriggerJob implements Job {
 	
 	@Override
 	public void execute(JobExecutionContext context) throws JobExecutionException {
-		Object object = context.getJobDetail().getJobDataMap().get("orderTrigger");
+		// Always use the current trigger state from the database (the job only holds the trigger key)
+		Object object = OrderGenerator.scheduler.findTrigger(context.getJobDetail(), TriggerType.TimeInterval);
 		String orderTemplateName = null;
 		TimeIntervalOrderTrigger trigger = null;
 		if (object instanceof TimeIntervalOrderTrigger) {
@@ -35,6 +37,11 @@ public class TimeIntervalTriggerJob implements Job {
 			logger.trace("--- trigger fired ({}, {})", context.getJobDetail().getKey(), orderTemplateName);
 		}
 
+		if (null == trigger) {
+			// Trigger deleted in the meantime
+			return;
+		}
+
 		OrderGenerator.orderCreator.createAndStartFromTrigger(trigger, context.getPreviousFireTime(), 
 				context.getFireTime(), context.getNextFireTime(), null);
 	}
@@ -57,4 +57,30 @@ public class GeneratorControllerImpl implements GeneratorController {
 		}
 	}
 
+	/**
+	 * Fire the data-driven triggers for a batch of input products, generating the processing orders for all products
+	 * matching each trigger and creating/releasing them concurrently
+	 * 
+	 * @param productIds Database IDs of the input products to use for order generation
+	 * @return HTTP status "CREATED" and a response containing a Json list of the generated processing orders
+	 *         after persistence (with ID and version for all contained objects)
+	 *         or HTTP status "BAD_REQUEST" and an error message, if no product IDs were given,
+	 *         or HTTP status "FORBIDDEN" and an error message, if a cross-mission data access was attempted,
+	 *         or HTTP status "NOT_FOUND", if no product with any of the given database IDs exists
+	 */
+	@Override
+	public ResponseEntity<List<RestOrder>> generateForProducts(List<Long> productIds, HttpHeaders httpHeaders) {
+		if (logger.isTraceEnabled()) logger.trace(">>> generateForProducts({})", (null == productIds ? "null" : productIds.size()));
+
+		try {
+			return new ResponseEntity<>(orderManager.generateForProducts(productIds), HttpStatus.CREATED);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.BAD_REQUEST);
+		} catch (NoSuchElementException e) {
+			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
+		} catch (SecurityException e) {
+			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.FORBIDDEN);
+		}
+	}
+
 }
@@ -6,9 +6,18 @@
 package de.dlr.proseo.ordergen.rest;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -24,7 +33,11 @@ import de.dlr.proseo.model.ProductClass;
 import de.dlr.proseo.model.rest.model.RestOrder;
 import de.dlr.proseo.model.service.RepositoryService;
 import de.dlr.proseo.model.service.SecurityService;
+import de.dlr.proseo.model.util.StringUtils;
+import de.dlr.proseo.ordergen.OrderGenConfiguration;
 import de.dlr.proseo.ordergen.OrderGenerator;
+import de.dlr.proseo.ordergen.util.TriggerCache;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
@@ -44,9 +57,47 @@ public class OrderManager {
 	@PersistenceContext
 	private EntityManager em;
 
+	/** The order generator configuration */
+	@Autowired
+	private OrderGenConfiguration config;
+
+	/** Cache for the data-driven triggers per product type */
+	@Autowired
+	private TriggerCache triggerCache;
+
+	/** Thread pool for creating and releasing processing orders (created on first use) */
+	private ExecutorService orderPool = null;
+
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(OrderManager.class);
 
+	/**
+	 * A processing order built from a trigger for an input product, waiting to be created and released
+	 */
+	private static class PendingOrder {
+
+		/** The name of the trigger the order was built from */
+		private final String triggerName;
+
+		/** The database ID of the input product */
+		private final Long productId;
+
+		/** The order built */
+		private final RestOrder order;
+
+		/**
+		 * Creates a pending order
+		 *
+		 * @param triggerName the name of the trigger the order was built from
+		 * @param productId   the database ID of the input product
+		 * @param order       the order built
+		 */
+		private PendingOrder(String triggerName, Long productId, RestOrder order) {
+			this.triggerName = triggerName;
+			this.productId = productId;
+			this.order = order;
+		}
+	}
 
 	/**
 	 * Fire a data-driven trigger to generate a processing order from the given input product
@@ -70,8 +121,7 @@ public class OrderManager {
 		}
 
 		// Find the relevant triggers for the input product class
-		List<DataDrivenOrderTrigger> triggerList = RepositoryService.getDataDrivenOrderTriggerRepository()
-				.findByMissionCodeAndProductClass(missionCode, productClass);
+		List<DataDrivenOrderTrigger> triggerList = findTriggers(missionCode, productClass);
 		
 		// For each trigger: Generate a new processing order from its order template (if enabled)
 		List<RestOrder> orderList = new ArrayList<>();
@@ -96,4 +146,150 @@ public class OrderManager {
 		return orderList;
 	}
 
+	/**
+	 * Fire the data-driven triggers for a batch of input products: The products are grouped by their product class, the
+	 * triggers are looked up once per product class, and the processing orders for all products matching a trigger are built
+	 * within this transaction. The orders are then created in the Order Manager and released by the Production Planner
+	 * concurrently using a bounded thread pool (requests from concurrent batches are queued).
+	 *
+	 * @param productIds the database IDs of the input products
+	 * @return the list of generated processing orders (may be empty)
+	 * @throws IllegalArgumentException if no product IDs were given
+	 * @throws NoSuchElementException   if any of the products does not exist
+	 * @throws SecurityException        if the user is not authorized for the mission of any of the products
+	 */
+	public List<RestOrder> generateForProducts(List<Long> productIds)
+			throws IllegalArgumentException, NoSuchElementException, SecurityException {
+		if (logger.isTraceEnabled()) logger.trace(">>> generateForProducts({})", (null == productIds ? "null" : productIds.size()));
+
+		if (null == productIds || productIds.isEmpty()) {
+			throw new IllegalArgumentException(logger.log(OrderGenMessage.PRODUCT_IDS_MISSING));
+		}
+
+		// Find the input products and group them by product class (checking all products before generating any orders)
+		Set<Long> distinctProductIds = new LinkedHashSet<>(productIds);
+		Map<ProductClass, List<Long>> productsByClass = new LinkedHashMap<>();
+		Set<String> authorizedMissions = new HashSet<>();
+		
+		for (Long productId : distinctProductIds) {
+			Optional<Product> inputProduct = (null == productId ? Optional.empty()
+					: RepositoryService.getProductRepository().findById(productId));
+			if (inputProduct.isEmpty()) {
+				throw new NoSuchElementException(logger.log(OrderGenMessage.PRODUCT_NOT_FOUND, productId));
+			}
+
+			ProductClass productClass = inputProduct.get().getProductClass();
+			String missionCode = productClass.getMission().getCode();
+
+			// Ensure user is authorized for the mission of the product
+			if (!authorizedMissions.contains(missionCode)) {
+				if (!securityService.isAuthorizedForMission(missionCode)) {
+					throw new SecurityException(logger.log(GeneralMessage.ILLEGAL_CROSS_MISSION_ACCESS, missionCode,
+							securityService.getMission()));
+				}
+				authorizedMissions.add(missionCode);
+			}
+
+			productsByClass.computeIfAbsent(productClass, pc -> new ArrayList<>()).add(productId);
+		}
+
+		// Group the products by the enabled triggers for their product classes
+		Map<DataDrivenOrderTrigger, List<Long>> productsByTrigger = new LinkedHashMap<>();
+		
+		for (Map.Entry<ProductClass, List<Long>> entry : productsByClass.entrySet()) {
+			for (DataDrivenOrderTrigger trigger : findTriggers(entry.getKey().getMission().getCode(), entry.getKey())) {
+				if (trigger.isEnabled() && trigger.getOrderTemplate().isEnabled()) {
+					productsByTrigger.computeIfAbsent(trigger, t -> new ArrayList<>()).addAll(entry.getValue());
+				}
+			}
+		}
+
+		// Build the processing orders per trigger, skipping orders with the same identifier within the batch
+		List<PendingOrder> pendingOrders = new ArrayList<>();
+		Set<String> orderIdentifiers = new HashSet<>();
+		
+		for (Map.Entry<DataDrivenOrderTrigger, List<Long>> entry : productsByTrigger.entrySet()) {
+			DataDrivenOrderTrigger trigger = entry.getKey();
+			for (Long productId : entry.getValue()) {
+				RestOrder order = OrderGenerator.orderCreator.buildOrderFromTrigger(trigger, null, null, null, productId);
+				if (null != order && !StringUtils.isNullOrEmpty(order.getIdentifier())
+						&& orderIdentifiers.add(order.getIdentifier())) {
+					pendingOrders.add(new PendingOrder(trigger.getName(), productId, order));
+				}
+			}
+		}
+
+		// Create and release the processing orders concurrently
+		List<Future<RestOrder>> futures = new ArrayList<>();
+		for (PendingOrder pendingOrder : pendingOrders) {
+			futures.add(getOrderPool().submit(() -> OrderGenerator.orderCreator.startOrder(pendingOrder.order)));
+		}
+
+		// Wait for all orders, even if some of them fail, so no request is still running on return
+		List<RestOrder> orderList = new ArrayList<>();
+		for (int i = 0; i < futures.size(); ++i) {
+			PendingOrder pendingOrder = pendingOrders.get(i);
+			try {
+				RestOrder order = futures.get(i).get();
+				if (null != order) {
+					orderList.add(order);
+					logger.log(OrderGenMessage.ORDER_GENERATED, order.getIdentifier(), pendingOrder.triggerName);
+				}
+			} catch (ExecutionException e) {
+				logger.log(OrderGenMessage.ORDER_GENERATION_FAILED, pendingOrder.triggerName, pendingOrder.productId,
+						e.getCause().getMessage());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				logger.log(OrderGenMessage.ORDER_GENERATION_FAILED, pendingOrder.triggerName, pendingOrder.productId,
+						e.getMessage());
+			}
+		}
+
+		logger.log(OrderGenMessage.BATCH_ORDERS_GENERATED, orderList.size(), distinctProductIds.size(), productsByTrigger.size());
+		
+		return orderList;
+	}
+
+	/**
+	 * Find the data-driven triggers for the given input product class, using the trigger cache
+	 *
+	 * @param missionCode  the mission code
+	 * @param productClass the input product class
+	 * @return the (enabled and disabled) triggers for the product class
+	 */
+	private List<DataDrivenOrderTrigger> findTriggers(String missionCode, ProductClass productClass) {
+		if (logger.isTraceEnabled()) logger.trace(">>> findTriggers({}, {})", missionCode, productClass.getProductType());
+
+		List<DataDrivenOrderTrigger> triggerList = new ArrayList<>();
+		for (Long triggerId : triggerCache.getDataDrivenTriggerIds(missionCode, productClass.getProductType())) {
+			// Triggers deleted by another order generator instance are ignored
+			RepositoryService.getDataDrivenOrderTriggerRepository().findById(triggerId).ifPresent(triggerList::add);
+		}
+		return triggerList;
+	}
+
+	/**
+	 * Gets the thread pool for creating and releasing processing orders, creating it on first use
+	 *
+	 * @return the order thread pool
+	 */
+	private synchronized ExecutorService getOrderPool() {
+		if (null == orderPool) {
+			orderPool = Executors.newFixedThreadPool(config.getMaxOrderThreads());
+			if (logger.isDebugEnabled())
+				logger.debug("... order thread pool with {} threads created", config.getMaxOrderThreads());
+		}
+		return orderPool;
+	}
+
+	/**
+	 * Shuts down the order thread pool
+	 */
+	@PreDestroy
+	private synchronized void shutdown() {
+		if (null != orderPool) {
+			orderPool.shutdown();
+		}
+	}
+
 }
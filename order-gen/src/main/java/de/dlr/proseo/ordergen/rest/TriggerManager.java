@@ -28,6 +28,8 @@ import de.dlr.proseo.model.TimeIntervalOrderTrigger;
 import de.dlr.proseo.model.enums.TriggerType;
 import de.dlr.proseo.model.rest.model.RestTrigger;
 import de.dlr.proseo.model.service.SecurityService;
+import de.dlr.proseo.ordergen.OrderGenerator;
+import de.dlr.proseo.ordergen.util.TriggerCache;
 import de.dlr.proseo.ordergen.util.TriggerUtil;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -57,6 +59,10 @@ public class TriggerManager {
 	@Autowired
 	private TriggerUtil triggerUtil;
 
+	/** Cache for the data-driven triggers per product type */
+	@Autowired
+	private TriggerCache triggerCache;
+
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(TriggerManager.class);
 
@@ -98,6 +104,8 @@ public class TriggerManager {
 		}
 
 		modelTrigger = triggerUtil.save(modelTrigger);
+		triggerCache.invalidate(trigger.getMissionCode());
+		OrderGenerator.scheduler.scheduleTrigger(modelTrigger);
 		RestTrigger restTrigger = triggerUtil.toRestTrigger(modelTrigger);
 		logger.log(OrderGenMessage.TRIGGER_CREATED,
 				restTrigger.getName(), restTrigger.getType(), restTrigger.getMissionCode());
@@ -144,6 +152,8 @@ public class TriggerManager {
 		}
 
 		triggerUtil.delete(trigger, type);
+		triggerCache.invalidate(mission);
+		OrderGenerator.scheduler.unscheduleTrigger(mission, name, TriggerType.valueOf(type));
 		logger.log(OrderGenMessage.TRIGGER_DELETED, mission, name, type);
 
 	}
@@ -170,6 +180,7 @@ public class TriggerManager {
 		}
 
 		triggerUtil.reload();
+		triggerCache.invalidate(null);
 		logger.log(OrderGenMessage.TRIGGERS_RELOADED);
 
 	}
@@ -557,6 +568,8 @@ public class TriggerManager {
 		if (triggerChanged) {
 			modelTrigger.incrementVersion();
 			triggerUtil.save(modelTrigger);
+			triggerCache.invalidate(mission);
+			OrderGenerator.scheduler.scheduleTrigger(modelTrigger);
 			logger.log(OrderGenMessage.TRIGGER_MODIFIED, name, type, mission);
 		} else {
 			logger.log(OrderGenMessage.TRIGGER_NOT_MODIFIED, name, type, mission);
@@ -286,14 +286,15 @@ public class OrderCreator {
 	}
 
 	/**
-	 * Build a RestOrder out of trigger information. Use time parameters or porductId to calculate the sensing start and stop times.
+	 * Build a RestOrder out of trigger information, send it to the order manager and release it (see buildOrderFromTrigger()
+	 * and startOrder()).
 	 * 
 	 * @param orderTrigger The trigger
 	 * @param previousFireTime The previous fire time of a quartz job (Calendar or TimeInterval trigger)
 	 * @param fireTime The current fire time of a quartz job (Calendar or TimeInterval trigger)
 	 * @param nextFireTime The next fire time of a quartz job (Calendar or TimeInterval trigger)
 	 * @param productId The product id of a DataDriven trigger
-	 * @return
+	 * @return the created order, an empty order, if the trigger is disabled, or null, if no order could be built
 	 */
 	public RestOrder createAndStartFromTrigger(OrderTrigger orderTrigger, Date previousFireTime, Date fireTime, Date nextFireTime, Long productId) {
 		if (orderTrigger != null && orderTrigger instanceof OrderTrigger) {
@@ -304,6 +305,36 @@ public class OrderCreator {
 			return null;
 		}
 
+		RestOrder order = buildOrderFromTrigger(orderTrigger, previousFireTime, fireTime, nextFireTime, productId);
+		if (null == order || StringUtils.isNullOrEmpty(order.getIdentifier())) {
+			return order;
+		}
+		
+		// REST order is built, go on
+		return startOrder(order);
+	}
+
+	/**
+	 * Build a RestOrder out of trigger information. Use time parameters or porductId to calculate the sensing start and stop times.
+	 * The order is not yet sent to the order manager.
+	 * 
+	 * @param orderTrigger The trigger
+	 * @param previousFireTime The previous fire time of a quartz job (Calendar or TimeInterval trigger)
+	 * @param fireTime The current fire time of a quartz job (Calendar or TimeInterval trigger)
+	 * @param nextFireTime The next fire time of a quartz job (Calendar or TimeInterval trigger)
+	 * @param productId The product id of a DataDriven trigger
+	 * @return the order built, an empty order, if the trigger is disabled, or null, if no order could be built
+	 *         (e. g. because it already exists)
+	 */
+	public RestOrder buildOrderFromTrigger(OrderTrigger orderTrigger, Date previousFireTime, Date fireTime, Date nextFireTime, Long productId) {
+		if (orderTrigger != null && orderTrigger instanceof OrderTrigger) {
+			if (logger.isTraceEnabled())
+				logger.trace(">>> buildOrderFromTrigger({})", orderTrigger.getName());
+		} else {
+			logger.log(OrderGenMessage.ORDER_DATA_INVALID, ">>> buildOrderFromTrigger(NULL)");
+			return null;
+		}
+
 		if (!orderTrigger.getEnabled()) {
 			logger.log(OrderGenMessage.TRIGGER_NOT_ENABLED, orderTrigger.getName());
 			return new RestOrder();
@@ -615,8 +646,22 @@ public class OrderCreator {
 		if (StringUtils.isNullOrEmpty(order.getIdentifier())) {
 			return null;
 		}
-		// REST order is built, go on
-		RestOrder restOrder = (RestOrder) order;
+		return order;
+	}
+
+	/**
+	 * Send an order built by buildOrderFromTrigger() to the order manager, then approve, plan and release it in the
+	 * production planner. Errors are logged, but not propagated. The method does not access the database, so it may be
+	 * called concurrently for different orders.
+	 * 
+	 * @param order the order to create and start
+	 * @return the order as returned by the last successful service call
+	 */
+	public RestOrder startOrder(RestOrder order) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> startOrder({})", (null == order ? "null" : order.getIdentifier()));
+
+		RestOrder restOrder = order;
 		try {
 			restOrder = createOrder(restOrder);
 		} catch (Exception e) {
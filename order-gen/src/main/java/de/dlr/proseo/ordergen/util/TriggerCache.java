@@ -0,0 +1,154 @@
+/**
+ * TriggerCache.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.ordergen.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.model.DataDrivenOrderTrigger;
+import de.dlr.proseo.ordergen.OrderGenConfiguration;
+
+/**
+ * Cache for the data-driven triggers per mission and input product type. Only the database IDs of the triggers are cached,
+ * so the trigger objects are always read in the transaction of the caller and reflect the current trigger state (e. g. the
+ * "enabled" flag). The cache entries for a mission are invalidated whenever a trigger of the mission is created, modified or
+ * deleted (after the commit of the modifying transaction) or the triggers are reloaded; to catch changes made by other
+ * order generator instances, the entries expire after a configurable maximum age.
+ *
+ * @author Dr. Thomas Bassler
+ */
+@Component
+public class TriggerCache {
+
+	/** A logger for this class */
+	private static ProseoLogger logger = new ProseoLogger(TriggerCache.class);
+
+	/** Separator between mission code and product type in cache keys */
+	private static final String KEY_SEPARATOR = "|";
+
+	/** The order generator configuration */
+	@Autowired
+	private OrderGenConfiguration config;
+
+	/** Utility class for trigger access */
+	@Autowired
+	private TriggerUtil triggerUtil;
+
+	/** The cached trigger IDs per mission code and product type */
+	private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * A cache entry holding the trigger IDs and the time of their retrieval
+	 */
+	private static class CacheEntry {
+
+		/** The database IDs of the data-driven triggers */
+		private final List<Long> triggerIds;
+
+		/** The time of retrieval in milliseconds since the epoch */
+		private final long loadTime;
+
+		/**
+		 * Creates a cache entry
+		 *
+		 * @param triggerIds the database IDs of the data-driven triggers
+		 * @param loadTime   the time of retrieval in milliseconds since the epoch
+		 */
+		private CacheEntry(List<Long> triggerIds, long loadTime) {
+			this.triggerIds = triggerIds;
+			this.loadTime = loadTime;
+		}
+	}
+
+	/**
+	 * Get the database IDs of all data-driven triggers for order templates having the product class of the given product type
+	 * as input product class (to be called within a transaction)
+	 *
+	 * @param missionCode the code of the mission the product type is for
+	 * @param productType the product type of the input product class
+	 * @return a (possibly empty) list of trigger IDs
+	 * @throws IllegalArgumentException if the given product type does not belong to any product class of the mission
+	 */
+	public List<Long> getDataDrivenTriggerIds(String missionCode, String productType) throws IllegalArgumentException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> getDataDrivenTriggerIds({}, {})", missionCode, productType);
+
+		String key = missionCode + KEY_SEPARATOR + productType;
+		long maxAge = (null == config.getTriggerCacheMaxAge() ? 0L : config.getTriggerCacheMaxAge());
+		long now = System.currentTimeMillis();
+
+		CacheEntry entry = cache.get(key);
+		if (null != entry && now - entry.loadTime < maxAge) {
+			return entry.triggerIds;
+		}
+
+		List<Long> triggerIds = triggerUtil.findDataDrivenByProductType(missionCode, productType)
+			.stream()
+			.map(DataDrivenOrderTrigger::getId)
+			.toList();
+
+		if (0 < maxAge) {
+			cache.put(key, new CacheEntry(triggerIds, now));
+		}
+
+		if (logger.isTraceEnabled())
+			logger.trace("<<< getDataDrivenTriggerIds() - triggers {} loaded from database", triggerIds);
+
+		return triggerIds;
+	}
+
+	/**
+	 * Invalidate the cached triggers of the given mission. If called within a transaction, the entries are removed again after
+	 * the transaction has been committed, so concurrent lookups cannot re-cache the state before the modification.
+	 *
+	 * @param missionCode the mission code (all missions, if null)
+	 */
+	public void invalidate(String missionCode) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> invalidate({})", missionCode);
+
+		removeEntries(missionCode);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					removeEntries(missionCode);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Get the number of cached mission/product type combinations
+	 *
+	 * @return the number of cache entries
+	 */
+	public int size() {
+		return cache.size();
+	}
+
+	/**
+	 * Remove the cache entries of the given mission
+	 *
+	 * @param missionCode the mission code (all missions, if null)
+	 */
+	private void removeEntries(String missionCode) {
+		if (null == missionCode) {
+			cache.clear();
+		} else {
+			cache.keySet().removeIf(key -> key.startsWith(missionCode + KEY_SEPARATOR));
+		}
+	}
+
+}
@@ -0,0 +1,178 @@
+/**
+ * OrderGenSchedulerBenchmark.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.ordergen.quartz;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.quartz.Scheduler;
+
+import de.dlr.proseo.model.OrderTrigger;
+
+/**
+ * JMH benchmark for the scheduler startup with 10,000 triggers: Rebuilding all Quartz jobs (as done on each startup and
+ * reload before) compared to the synchronization of the existing jobs with the triggers, where only changed triggers
+ * (here one in a hundred) are rescheduled. Not run as part of the unit tests; to run it, call the main method with the test
+ * class path of this module.
+ *
+ * @author Dr. Thomas Bassler
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderGenSchedulerBenchmark {
+
+	/** The number of triggers */
+	private static final int TRIGGER_COUNT = 10000;
+
+	/** The job store type */
+	@Param({ OrderGenScheduler.JOB_STORE_MEMORY, OrderGenScheduler.JOB_STORE_JDBC })
+	public String jobStore;
+
+	/** The scheduler under test */
+	private OrderGenScheduler scheduler;
+
+	/** The triggers to schedule */
+	private List<OrderTrigger> triggers;
+
+	/**
+	 * Create the scheduler and the initial jobs
+	 *
+	 * @throws Exception if the scheduler cannot be created
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		scheduler = new OrderGenScheduler();
+		scheduler.setConfig(OrderGenSchedulerTest.createConfig(jobStore, OrderGenScheduler.MISFIRE_SMART));
+		scheduler.setDataSource(OrderGenSchedulerTest.createDataSource("schedulerbenchmark"));
+		scheduler.init(null);
+
+		triggers = new ArrayList<>();
+		for (int i = 0; i < TRIGGER_COUNT; ++i) {
+			switch (i % 3) {
+			case 0:
+				triggers.add(OrderGenSchedulerTest.createCalendarTrigger("cal" + i, "0 " + (i % 60) + " * * * ?"));
+				break;
+			case 1:
+				triggers.add(OrderGenSchedulerTest.createTimeIntervalTrigger("ti" + i, Duration.ofMinutes(1 + i % 120)));
+				break;
+			default:
+				triggers.add(OrderGenSchedulerTest.createOrbitTrigger("orb" + i, i));
+			}
+		}
+	}
+
+	/**
+	 * Restore the initial jobs and change every hundredth trigger
+	 *
+	 * @throws Exception if the jobs cannot be scheduled
+	 */
+	@Setup(Level.Iteration)
+	public void setUpIteration() throws Exception {
+		scheduler.getScheduler().clear();
+		scheduler.synchronizeTriggers(triggers);
+		for (int i = 0; i < TRIGGER_COUNT; i += 100) {
+			triggers.set(i, OrderGenSchedulerTest.createCalendarTrigger("cal" + i, "0 " + (i % 60) + " 6 * * ?"));
+		}
+	}
+
+	/**
+	 * Revert the trigger changes
+	 */
+	@TearDown(Level.Iteration)
+	public void tearDownIteration() {
+		for (int i = 0; i < TRIGGER_COUNT; i += 100) {
+			triggers.set(i, OrderGenSchedulerTest.createCalendarTrigger("cal" + i, "0 " + (i % 60) + " * * * ?"));
+		}
+	}
+
+	/**
+	 * Remove all jobs and shut down the scheduler
+	 *
+	 * @throws Exception if the scheduler cannot be shut down
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		scheduler.getScheduler().clear();
+		scheduler.shutdown();
+	}
+
+	/**
+	 * Remove all jobs and schedule all triggers anew, one by one
+	 *
+	 * @return the number of jobs
+	 * @throws Exception if the jobs cannot be scheduled
+	 */
+	@Benchmark
+	public int fullRebuild() throws Exception {
+		Scheduler sched = scheduler.getScheduler();
+		sched.clear();
+		for (OrderTrigger trigger : triggers) {
+			scheduler.scheduleTrigger(trigger);
+		}
+		return sched.getJobGroupNames().size();
+	}
+
+	/**
+	 * Remove all jobs and schedule all triggers anew in a single batch
+	 *
+	 * @return the number of jobs
+	 * @throws Exception if the jobs cannot be scheduled
+	 */
+	@Benchmark
+	public int batchRebuild() throws Exception {
+		Scheduler sched = scheduler.getScheduler();
+		sched.clear();
+		scheduler.synchronizeTriggers(triggers);
+		return sched.getJobGroupNames().size();
+	}
+
+	/**
+	 * Synchronize the existing jobs with the triggers
+	 *
+	 * @return the number of jobs
+	 * @throws Exception if the jobs cannot be scheduled
+	 */
+	@Benchmark
+	public int incrementalSync() throws Exception {
+		scheduler.synchronizeTriggers(triggers);
+		return scheduler.getScheduler().getJobGroupNames().size();
+	}
+
+	/**
+	 * Run the benchmark
+	 *
+	 * @param args not used
+	 * @throws RunnerException if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder().include(OrderGenSchedulerBenchmark.class.getSimpleName()).build();
+		new Runner(options).run();
+	}
+
+}
@@ -0,0 +1,301 @@
+/**
+ * OrderGenSchedulerTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.ordergen.quartz;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.quartz.CronTrigger;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SimpleTrigger;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.impl.matchers.GroupMatcher;
+
+import de.dlr.proseo.model.CalendarOrderTrigger;
+import de.dlr.proseo.model.Mission;
+import de.dlr.proseo.model.Orbit;
+import de.dlr.proseo.model.OrbitOrderTrigger;
+import de.dlr.proseo.model.OrderTrigger;
+import de.dlr.proseo.model.TimeIntervalOrderTrigger;
+import de.dlr.proseo.model.enums.TriggerType;
+import de.dlr.proseo.ordergen.OrderGenConfiguration;
+
+/**
+ * Unit test for OrderGenScheduler: Synchronization of the Quartz jobs with the triggers and incremental trigger updates, using
+ * the JDBC job store on an in-memory H2 database (the jobs are not executed, since the scheduler is not started)
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class OrderGenSchedulerTest {
+
+	private static final String TEST_CODE = "UTM";
+
+	/** The scheduler under test */
+	private OrderGenScheduler scheduler;
+
+	/**
+	 * Create an in-memory H2 database (kept open until the end of the JVM)
+	 *
+	 * @param name the database name
+	 * @return a data source for the database
+	 */
+	/* package */ static DataSource createDataSource(String name) {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+		dataSource.setUser("sa");
+		return dataSource;
+	}
+
+	/**
+	 * Create an order generator configuration for the given job store
+	 *
+	 * @param jobStore      the job store type
+	 * @param misfirePolicy the misfire policy
+	 * @return the configuration
+	 */
+	/* package */ static OrderGenConfiguration createConfig(String jobStore, String misfirePolicy) {
+		OrderGenConfiguration config = new OrderGenConfiguration();
+		config.setQuartzJobStore(jobStore);
+		config.setQuartzMisfirePolicy(misfirePolicy);
+		config.setQuartzMisfireThreshold(60000L);
+		config.setQuartzDriverDelegate("org.quartz.impl.jdbcjobstore.StdJDBCDelegate");
+		config.setQuartzSchemaScript("org/quartz/impl/jdbcjobstore/tables_h2.sql");
+		return config;
+	}
+
+	/**
+	 * Create a mission (not persisted)
+	 *
+	 * @return the mission
+	 */
+	private static Mission createMission() {
+		Mission mission = new Mission();
+		mission.setCode(TEST_CODE);
+		return mission;
+	}
+
+	/**
+	 * Create a calendar trigger (not persisted)
+	 *
+	 * @param name           the trigger name
+	 * @param cronExpression the cron expression
+	 * @return the trigger
+	 */
+	/* package */ static CalendarOrderTrigger createCalendarTrigger(String name, String cronExpression) {
+		CalendarOrderTrigger trigger = new CalendarOrderTrigger();
+		trigger.setMission(createMission());
+		trigger.setName(name);
+		trigger.setCronExpression(cronExpression);
+		return trigger;
+	}
+
+	/**
+	 * Create a time interval trigger (not persisted)
+	 *
+	 * @param name     the trigger name
+	 * @param interval the trigger interval
+	 * @return the trigger
+	 */
+	/* package */ static TimeIntervalOrderTrigger createTimeIntervalTrigger(String name, Duration interval) {
+		TimeIntervalOrderTrigger trigger = new TimeIntervalOrderTrigger();
+		trigger.setMission(createMission());
+		trigger.setName(name);
+		trigger.setTriggerInterval(interval);
+		trigger.setNextTriggerTime(Instant.now().plus(interval));
+		return trigger;
+	}
+
+	/**
+	 * Create an orbit trigger (not persisted)
+	 *
+	 * @param name        the trigger name
+	 * @param orbitNumber the number of the last orbit
+	 * @return the trigger
+	 */
+	/* package */ static OrbitOrderTrigger createOrbitTrigger(String name, int orbitNumber) {
+		Orbit orbit = new Orbit();
+		orbit.setOrbitNumber(orbitNumber);
+		orbit.setStartTime(Instant.now().plus(Duration.ofMinutes(10)));
+		orbit.setStopTime(Instant.now().plus(Duration.ofMinutes(110)));
+
+		OrbitOrderTrigger trigger = new OrbitOrderTrigger();
+		trigger.setMission(createMission());
+		trigger.setName(name);
+		trigger.setLastOrbit(orbit);
+		return trigger;
+	}
+
+	/**
+	 * Create and initialize the scheduler under test
+	 *
+	 * @throws java.lang.Exception if an error occurs
+	 */
+	@Before
+	public void setUp() throws Exception {
+		scheduler = new OrderGenScheduler();
+		scheduler.setConfig(createConfig(OrderGenScheduler.JOB_STORE_JDBC, OrderGenScheduler.MISFIRE_SMART));
+		scheduler.setDataSource(createDataSource("schedulertest"));
+		scheduler.init(null);
+	}
+
+	/**
+	 * Remove all jobs and shut down the scheduler
+	 *
+	 * @throws java.lang.Exception if an error occurs
+	 */
+	@After
+	public void tearDown() throws Exception {
+		scheduler.getScheduler().clear();
+		scheduler.shutdown();
+	}
+
+	/**
+	 * Test the synchronization of the Quartz jobs with the triggers
+	 *
+	 * @throws java.lang.Exception if an error occurs
+	 */
+	@Test
+	public void testSynchronizeTriggers() throws Exception {
+		Scheduler sched = scheduler.getScheduler();
+
+		List<OrderTrigger> triggers = new ArrayList<>();
+		triggers.add(createCalendarTrigger("cal1", "0 0 12 * * ?"));
+		triggers.add(createCalendarTrigger("cal2", "0 0 18 * * ?"));
+		triggers.add(createTimeIntervalTrigger("ti1", Duration.ofHours(1)));
+		triggers.add(createOrbitTrigger("orb1", 4711));
+		OrbitOrderTrigger orbitWithoutLastOrbit = createOrbitTrigger("orb2", 4712);
+		orbitWithoutLastOrbit.setLastOrbit(null);
+		triggers.add(orbitWithoutLastOrbit);
+
+		// Initial synchronization schedules all jobs (except for the orbit trigger without orbit)
+		scheduler.synchronizeTriggers(triggers);
+		assertEquals(4, sched.getJobKeys(GroupMatcher.anyJobGroup()).size());
+		JobKey calKey = new JobKey("cal1", TEST_CODE + "/" + TriggerType.Calendar.name());
+		JobDetail calJob = sched.getJobDetail(calKey);
+		assertNotNull(calJob);
+		assertEquals(CalendarTriggerJob.class, calJob.getJobClass());
+		assertEquals(TEST_CODE, calJob.getJobDataMap().getString(OrderGenScheduler.JOB_DATA_MISSION));
+		assertNotNull(sched.getJobDetail(new JobKey("orb1", TEST_CODE + "/" + TriggerType.Orbit.name())));
+
+		// Unchanged triggers keep their Quartz triggers
+		Trigger calTrigger = sched.getTrigger(new TriggerKey("cal1", calKey.getGroup()));
+		Trigger tiTrigger = sched.getTrigger(new TriggerKey("ti1", TEST_CODE + "/" + TriggerType.TimeInterval.name()));
+		scheduler.synchronizeTriggers(triggers);
+		assertEquals(4, sched.getJobKeys(GroupMatcher.anyJobGroup()).size());
+		assertEquals(calTrigger.getNextFireTime(), sched.getTrigger(calTrigger.getKey()).getNextFireTime());
+		assertEquals(tiTrigger.getStartTime(), sched.getTrigger(tiTrigger.getKey()).getStartTime());
+
+		// A changed trigger is rescheduled, a removed trigger is unscheduled
+		triggers.set(0, createCalendarTrigger("cal1", "0 30 6 * * ?"));
+		triggers.remove(1);
+		scheduler.synchronizeTriggers(triggers);
+		assertEquals(3, sched.getJobKeys(GroupMatcher.anyJobGroup()).size());
+		assertEquals("0 30 6 * * ?", ((CronTrigger) sched.getTrigger(calTrigger.getKey())).getCronExpression());
+		assertNull(sched.getJobDetail(new JobKey("cal2", calKey.getGroup())));
+
+		// Synchronization with no triggers removes all jobs
+		scheduler.synchronizeTriggers(new ArrayList<>());
+		assertTrue(sched.getJobKeys(GroupMatcher.anyJobGroup()).isEmpty());
+	}
+
+	/**
+	 * Test the incremental scheduling and unscheduling of single triggers
+	 *
+	 * @throws java.lang.Exception if an error occurs
+	 */
+	@Test
+	public void testScheduleTrigger() throws Exception {
+		Scheduler sched = scheduler.getScheduler();
+		TriggerKey tiKey = new TriggerKey("ti1", TEST_CODE + "/" + TriggerType.TimeInterval.name());
+
+		scheduler.scheduleTrigger(createTimeIntervalTrigger("ti1", Duration.ofHours(1)));
+		assertEquals(3600000L, ((SimpleTrigger) sched.getTrigger(tiKey)).getRepeatInterval());
+		assertEquals(Trigger.MISFIRE_INSTRUCTION_SMART_POLICY, sched.getTrigger(tiKey).getMisfireInstruction());
+
+		// Modification replaces the existing job
+		scheduler.scheduleTrigger(createTimeIntervalTrigger("ti1", Duration.ofMinutes(30)));
+		assertEquals(1, sched.getJobKeys(GroupMatcher.anyJobGroup()).size());
+		assertEquals(1800000L, ((SimpleTrigger) sched.getTrigger(tiKey)).getRepeatInterval());
+
+		// Unscheduled trigger types are ignored
+		scheduler.unscheduleTrigger(TEST_CODE, "ti1", TriggerType.DataDriven);
+		assertEquals(1, sched.getJobKeys(GroupMatcher.anyJobGroup()).size());
+
+		scheduler.unscheduleTrigger(TEST_CODE, "ti1", TriggerType.TimeInterval);
+		assertTrue(sched.getJobKeys(GroupMatcher.anyJobGroup()).isEmpty());
+	}
+
+	/**
+	 * Test the misfire instructions for the configured misfire policies
+	 *
+	 * @throws java.lang.Exception if an error occurs
+	 */
+	@Test
+	public void testMisfirePolicy() throws Exception {
+		Scheduler sched = scheduler.getScheduler();
+		TriggerKey calKey = new TriggerKey("cal1", TEST_CODE + "/" + TriggerType.Calendar.name());
+		TriggerKey orbKey = new TriggerKey("orb1", TEST_CODE + "/" + TriggerType.Orbit.name());
+		List<OrderTrigger> triggers = List.of(createCalendarTrigger("cal1", "0 0 12 * * ?"), createOrbitTrigger("orb1", 4711));
+
+		// The default "smart" policy keeps the Quartz default (fire once now for calendar triggers)
+		scheduler.synchronizeTriggers(triggers);
+		assertEquals(Trigger.MISFIRE_INSTRUCTION_SMART_POLICY, sched.getTrigger(calKey).getMisfireInstruction());
+		assertEquals(SimpleTrigger.MISFIRE_INSTRUCTION_FIRE_NOW, sched.getTrigger(orbKey).getMisfireInstruction());
+
+		// A changed misfire policy leads to rescheduling of all jobs
+		scheduler.setConfig(createConfig(OrderGenScheduler.JOB_STORE_JDBC, OrderGenScheduler.MISFIRE_SKIP));
+		scheduler.synchronizeTriggers(triggers);
+		assertEquals(CronTrigger.MISFIRE_INSTRUCTION_DO_NOTHING, sched.getTrigger(calKey).getMisfireInstruction());
+		assertEquals(SimpleTrigger.MISFIRE_INSTRUCTION_FIRE_NOW, sched.getTrigger(orbKey).getMisfireInstruction());
+
+		scheduler.setConfig(createConfig(OrderGenScheduler.JOB_STORE_JDBC, OrderGenScheduler.MISFIRE_CATCH_UP));
+		scheduler.synchronizeTriggers(triggers);
+		assertEquals(Trigger.MISFIRE_INSTRUCTION_IGNORE_MISFIRE_POLICY, sched.getTrigger(calKey).getMisfireInstruction());
+		assertEquals(SimpleTrigger.MISFIRE_INSTRUCTION_FIRE_NOW, sched.getTrigger(orbKey).getMisfireInstruction());
+
+		scheduler.setConfig(createConfig(OrderGenScheduler.JOB_STORE_JDBC, OrderGenScheduler.MISFIRE_FIRE_ONCE));
+		scheduler.synchronizeTriggers(triggers);
+		assertEquals(CronTrigger.MISFIRE_INSTRUCTION_FIRE_ONCE_NOW, sched.getTrigger(calKey).getMisfireInstruction());
+	}
+
+	/**
+	 * Test the rejection of invalid configuration values
+	 *
+	 * @throws java.lang.Exception if an error occurs
+	 */
+	@Test
+	public void testInvalidConfiguration() throws Exception {
+		OrderGenScheduler invalidScheduler = new OrderGenScheduler();
+		invalidScheduler.setConfig(createConfig("invalid", OrderGenScheduler.MISFIRE_SKIP));
+		try {
+			invalidScheduler.init(null);
+			fail("SchedulerException expected for invalid job store");
+		} catch (org.quartz.SchedulerException e) {
+			// Expected
+		}
+		invalidScheduler.setConfig(createConfig(OrderGenScheduler.JOB_STORE_MEMORY, "invalid"));
+		try {
+			invalidScheduler.init(null);
+			fail("SchedulerException expected for invalid misfire policy");
+		} catch (org.quartz.SchedulerException e) {
+			// Expected
+		}
+	}
+
+}
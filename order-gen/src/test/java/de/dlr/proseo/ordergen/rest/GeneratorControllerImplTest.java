@@ -7,7 +7,9 @@ package de.dlr.proseo.ordergen.rest;
 
 import static org.junit.Assert.assertEquals;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,6 +38,7 @@ import de.dlr.proseo.model.ProductClass;
 import de.dlr.proseo.model.OrderTemplate;
 import de.dlr.proseo.model.service.RepositoryService;
 import de.dlr.proseo.ordergen.OrderGenerator;
+import de.dlr.proseo.ordergen.util.TriggerCache;
 import de.dlr.proseo.model.rest.model.RestOrder;
 
 /**
@@ -61,6 +64,9 @@ public class GeneratorControllerImplTest {
 	@Autowired
 	private GeneratorControllerImpl generatorController;
 
+	@Autowired
+	private TriggerCache triggerCache;
+
 	/** A logger for this class */
 	private static Logger logger = LoggerFactory.getLogger(GeneratorControllerImplTest.class);
 	
@@ -83,6 +89,8 @@ public class GeneratorControllerImplTest {
 	 */
 	@Before
 	public void setUp() throws Exception {
+		// Test data are rolled back after each test, so cached trigger IDs would be stale
+		triggerCache.invalidate(null);
 	}
 
 	/**
@@ -93,10 +101,11 @@ public class GeneratorControllerImplTest {
 	}
 
 	/**
-	 * Test the additional repository methods
+	 * Create a mission with a product class and a data-driven trigger for this product class
+	 * 
+	 * @return the product class
 	 */
-	@Test
-	public final void test() {
+	private ProductClass createTestData() {
 		Mission mission1 = new Mission();
 		mission1.setCode(TEST_CODE_1);
 		mission1.getProcessingModes().add(TEST_PROCESSING_MODE_1);
@@ -121,14 +130,34 @@ public class GeneratorControllerImplTest {
 		trigger1.setOrderTemplate(orderTemplate1);
 		trigger1.setInputProductClass(productClass1);
 		trigger1 = RepositoryService.getDataDrivenOrderTriggerRepository().save(trigger1);
+		
+		return productClass1;
+	}
+	
+	/**
+	 * Create a product with a sensing duration of one hour
+	 * 
+	 * @param productClass the product class of the product
+	 * @param sensingStartTime the sensing start time
+	 * @return the product
+	 */
+	private Product createProduct(ProductClass productClass, Instant sensingStartTime) {
+		Product product = new Product();
+		product.setProductClass(productClass);
+		product.setUuid(UUID.randomUUID());
+		product.setSensingStartTime(sensingStartTime);
+		product.setSensingStopTime(sensingStartTime.plus(Duration.ofHours(1)));
+		product.setGenerationTime(sensingStartTime.plus(Duration.ofHours(2)));
+		return RepositoryService.getProductRepository().save(product);
+	}
 
-		Product product1 = new Product();
-		product1.setProductClass(productClass1);
-		product1.setUuid(UUID.randomUUID());
-		product1.setSensingStartTime(Instant.parse("2025-12-31T00:00:00.00Z"));
-		product1.setSensingStopTime(Instant.parse("2025-12-31T01:00:00.00Z"));
-		product1.setGenerationTime(Instant.parse("2025-12-31T02:00:00.00Z"));
-		product1 = RepositoryService.getProductRepository().save(product1);
+	/**
+	 * Test the generation of processing orders for a single product
+	 */
+	@Test
+	public final void test() {
+		ProductClass productClass1 = createTestData();
+		Product product1 = createProduct(productClass1, Instant.parse("2025-12-31T00:00:00.00Z"));
 
 		HttpHeaders testHeader = new HttpHeaders();
 		testHeader.add(HttpHeaders.AUTHORIZATION, HEADER_AUTH_BASIC);
@@ -138,4 +167,33 @@ public class GeneratorControllerImplTest {
 		assertEquals("Unexpected HTTP status code: ", HttpStatus.CREATED, responseEntity.getStatusCode());
 		assertEquals("Unexpected number of response products: ", 1, responseEntity.getBody().size());
 	}	
+
+	/**
+	 * Test the generation of processing orders for a batch of products
+	 */
+	@Test
+	public final void testBatch() {
+		ProductClass productClass1 = createTestData();
+		List<Long> productIds = new ArrayList<>();
+		for (int i = 0; i < 3; ++i) {
+			productIds.add(createProduct(productClass1, Instant.parse("2025-12-31T00:00:00.00Z").plus(Duration.ofHours(i))).getId());
+		}
+		// Duplicate product IDs are ignored
+		productIds.add(productIds.get(0));
+
+		HttpHeaders testHeader = new HttpHeaders();
+		testHeader.add(HttpHeaders.AUTHORIZATION, HEADER_AUTH_BASIC);
+
+		ResponseEntity<List<RestOrder>> responseEntity = generatorController.generateForProducts(productIds, testHeader);
+		
+		assertEquals("Unexpected HTTP status code: ", HttpStatus.CREATED, responseEntity.getStatusCode());
+		assertEquals("Unexpected number of response orders: ", 3, responseEntity.getBody().size());
+		assertEquals("Unexpected number of cached product types: ", 1, triggerCache.size());
+
+		// Missing and unknown products
+		assertEquals("Unexpected HTTP status code: ", HttpStatus.BAD_REQUEST,
+				generatorController.generateForProducts(new ArrayList<>(), testHeader).getStatusCode());
+		assertEquals("Unexpected HTTP status code: ", HttpStatus.NOT_FOUND,
+				generatorController.generateForProducts(List.of(productIds.get(0), Long.MAX_VALUE), testHeader).getStatusCode());
+	}
 }
@@ -24,6 +24,14 @@ public class OrdermgrConfiguration {
 	@Value("${proseo.orderManager.cleanupCycleTime}")
 	private Integer cleanupCycleTime;
 
+	/** Cleanup mode: "entity" (delete order by order via JPA) or "bulk" (delete orders in chunks with set-based SQL) */
+	@Value("${proseo.orderManager.cleanupMode:entity}")
+	private String cleanupMode;
+
+	/** Number of orders to delete per transaction in bulk cleanup mode */
+	@Value("${proseo.orderManager.cleanupChunkSize:100}")
+	private Integer cleanupChunkSize;
+
 	/** The maximum number of results to be retrieved by REST requests */
 	@Value("${spring.maxResults}")
 	public Integer maxResults;
@@ -46,6 +54,42 @@ public class OrdermgrConfiguration {
 		this.cleanupCycleTime = cleanupCycleTime;
 	}
 
+	/**
+	 * Return the clean-up mode
+	 *
+	 * @return the cleanupMode ("entity" or "bulk")
+	 */
+	public String getCleanupMode() {
+		return cleanupMode;
+	}
+
+	/**
+	 * Set the clean-up mode
+	 *
+	 * @param cleanupMode the cleanupMode to set ("entity" or "bulk")
+	 */
+	public void setCleanupMode(String cleanupMode) {
+		this.cleanupMode = cleanupMode;
+	}
+
+	/**
+	 * Return the number of orders to delete per transaction in bulk clean-up mode
+	 *
+	 * @return the cleanupChunkSize
+	 */
+	public Integer getCleanupChunkSize() {
+		return cleanupChunkSize;
+	}
+
+	/**
+	 * Set the number of orders to delete per transaction in bulk clean-up mode
+	 *
+	 * @param cleanupChunkSize the cleanupChunkSize to set
+	 */
+	public void setCleanupChunkSize(Integer cleanupChunkSize) {
+		this.cleanupChunkSize = cleanupChunkSize;
+	}
+
 	/**
 	 * Return the maximum number of results to be retrieved by REST requests
 	 *
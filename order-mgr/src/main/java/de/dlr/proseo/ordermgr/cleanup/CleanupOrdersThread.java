@@ -23,6 +23,15 @@ public class CleanupOrdersThread extends Thread {
 	/** Logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(CleanupOrdersThread.class);
 
+	/** Cleanup mode: Delete orders one by one via JPA */
+	public static final String CLEANUP_MODE_ENTITY = "entity";
+
+	/** Cleanup mode: Delete orders in chunks with set-based SQL */
+	public static final String CLEANUP_MODE_BULK = "bulk";
+
+	/** Default number of orders per chunk in bulk mode */
+	private static final int DEFAULT_CHUNK_SIZE = 100;
+
 	/** The order manager instance */
 	private OrderManager orderMgr;
 
@@ -54,18 +63,47 @@ public class CleanupOrdersThread extends Thread {
 		}
 		wait = wait * 60 * 60 * 1000;
 
+		String cleanupMode = this.orderMgr.getOrderManagerConfig().getCleanupMode();
+		if (null == cleanupMode) {
+			cleanupMode = CLEANUP_MODE_ENTITY;
+		} else if (!CLEANUP_MODE_ENTITY.equals(cleanupMode) && !CLEANUP_MODE_BULK.equals(cleanupMode)) {
+			logger.log(OrderMgrMessage.INVALID_CLEANUP_MODE, cleanupMode, CLEANUP_MODE_ENTITY);
+			cleanupMode = CLEANUP_MODE_ENTITY;
+		}
+		Integer chunkSize = this.orderMgr.getOrderManagerConfig().getCleanupChunkSize();
+		if (null == chunkSize || chunkSize <= 0) {
+			chunkSize = DEFAULT_CHUNK_SIZE;
+		}
+
 		while (!this.isInterrupted()) {
 			try {
 				logger.log(OrderMgrMessage.ORDER_CLEANUP_CYCLE);
 
 				Instant evictionTime = Instant.now();
+				long startTime = System.currentTimeMillis();
 				List<Long> orderIdsToDelete = orderMgr.getProcOrderManager().findOrdersWithEvictionTimeLessThan(evictionTime);
 
-				for (Long orderId : orderIdsToDelete) {
-					// One transaction per delete operation
-					orderMgr.getProcOrderManager().deleteExpiredOrderById(orderId, evictionTime);
+				int ordersDeleted = 0;
+				if (CLEANUP_MODE_BULK.equals(cleanupMode)) {
+					for (int i = 0; i < orderIdsToDelete.size(); i += chunkSize) {
+						// One transaction per chunk of orders
+						ordersDeleted += orderMgr.getProcOrderManager()
+							.deleteExpiredOrdersByIds(orderIdsToDelete.subList(i, Math.min(i + chunkSize, orderIdsToDelete.size())),
+									evictionTime);
+					}
+				} else {
+					for (Long orderId : orderIdsToDelete) {
+						// One transaction per delete operation
+						if (orderMgr.getProcOrderManager().deleteExpiredOrderById(orderId, evictionTime)) {
+							++ordersDeleted;
+						}
+					}
 				}
 
+				long duration = System.currentTimeMillis() - startTime;
+				logger.log(OrderMgrMessage.ORDER_CLEANUP_COMPLETED, ordersDeleted, orderIdsToDelete.size(), duration,
+						ordersDeleted * 1000L / Math.max(duration, 1L));
+
 				logger.log(OrderMgrMessage.ORDER_CLEANUP_SLEEP, wait);
 				sleep(wait);
 			} catch (InterruptedException e) {
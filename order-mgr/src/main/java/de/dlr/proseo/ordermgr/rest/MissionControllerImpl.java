@@ -53,6 +53,7 @@ import de.dlr.proseo.model.rest.model.RestPayload;
 import de.dlr.proseo.model.rest.model.RestSpacecraft;
 import de.dlr.proseo.model.service.RepositoryService;
 import de.dlr.proseo.model.service.SecurityService;
+import de.dlr.proseo.model.util.VersionedResponseCache;
 import de.dlr.proseo.ordermgr.OrdermgrConfiguration;
 import de.dlr.proseo.ordermgr.rest.model.MissionUtil;
 
@@ -91,6 +92,12 @@ public class MissionControllerImpl implements MissionController {
 	/** HTTP utility class */
 	private static ProseoHttp http = new ProseoHttp(logger, HttpPrefix.ORDER_MGR);
 
+	/** Maximum number of cached mission responses */
+	private static final int RESPONSE_CACHE_SIZE = 100;
+
+	/** Cache for mission responses (validated against the mission and spacecraft versions) */
+	private final VersionedResponseCache responseCache = new VersionedResponseCache(RESPONSE_CACHE_SIZE);
+
 	/**
 	 * Retrieves a list of all missions or a mission with a specific code.
 	 *
@@ -107,9 +114,10 @@ public class MissionControllerImpl implements MissionController {
 		transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
 		transactionTemplate.setReadOnly(true);
 
-		List<RestMission> result = null;
+		ResponseEntity<List<RestMission>> response = null;
 		try {
-			result = transactionTemplate.execute((status) -> {
+			String versionTag = VersionedResponseCache.queryVersionTag(em, Mission.class, Spacecraft.class);
+			response = responseCache.getResponse("missions|" + missionCode, versionTag, VersionedResponseCache.getIfNoneMatch(), () -> transactionTemplate.execute((status) -> {
 				List<RestMission> resultList = new ArrayList<>();
 				if (missionCode != null) {
 					Mission mission = RepositoryService.getMissionRepository().findByCode(missionCode);
@@ -142,7 +150,7 @@ public class MissionControllerImpl implements MissionController {
 				}
 
 				return resultList;
-			});
+			}));
 		} catch (NoResultException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
 		} catch (TransactionException e) {
@@ -151,7 +159,7 @@ public class MissionControllerImpl implements MissionController {
 
 		logger.log(OrderMgrMessage.MISSIONS_RETRIEVED);
 
-		return new ResponseEntity<>(result, HttpStatus.OK);
+		return response;
 	}
 
 	/**
@@ -245,6 +253,7 @@ public class MissionControllerImpl implements MissionController {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 
+		responseCache.invalidate();
 		logger.log(OrderMgrMessage.MISSION_CREATED, restMission.getCode());
 
 		return new ResponseEntity<>(restMission, HttpStatus.CREATED);
@@ -266,9 +275,12 @@ public class MissionControllerImpl implements MissionController {
 		transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
 		transactionTemplate.setReadOnly(true);
 
+		String key = "mission|" + id;
+		String versionTag = null;
 		RestMission restMission = null;
 		try {
-			restMission = transactionTemplate.execute((status) -> {
+			versionTag = VersionedResponseCache.queryVersionTag(em, Mission.class, Spacecraft.class);
+			restMission = responseCache.getBody(key, versionTag, () -> transactionTemplate.execute((status) -> {
 				Optional<Mission> modelMission = RepositoryService.getMissionRepository().findById(id);
 
 				if (modelMission.isEmpty()) {
@@ -276,7 +288,7 @@ public class MissionControllerImpl implements MissionController {
 				}
 
 				return MissionUtil.toRestMission(modelMission.get());
-			});
+			}));
 		} catch (NoResultException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
 		} catch (TransactionException e) {
@@ -285,7 +297,7 @@ public class MissionControllerImpl implements MissionController {
 
 		logger.log(OrderMgrMessage.MISSION_RETRIEVED, restMission.getCode());
 
-		return new ResponseEntity<>(restMission, HttpStatus.OK);
+		return VersionedResponseCache.toResponse(key, versionTag, VersionedResponseCache.getIfNoneMatch(), restMission);
 	}
 
 	/**
@@ -455,6 +467,8 @@ public class MissionControllerImpl implements MissionController {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 
+		responseCache.invalidate();
+
 		HttpStatus httpStatus = HttpStatus.OK;
 		if (mission.getVersion() == restMission.getVersion()) {
 			httpStatus = HttpStatus.NOT_MODIFIED;
@@ -602,6 +616,7 @@ public class MissionControllerImpl implements MissionController {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_MODIFIED);
 		}
 
+		responseCache.invalidate();
 		logger.log(OrderMgrMessage.MISSION_DELETED, id);
 
 		HttpHeaders responseHeaders = new HttpHeaders();
@@ -820,5 +835,5 @@ public class MissionControllerImpl implements MissionController {
 
 		RepositoryService.getProductRepository().deleteById(product.getId());
 	}
-	
+
 }
\ No newline at end of file
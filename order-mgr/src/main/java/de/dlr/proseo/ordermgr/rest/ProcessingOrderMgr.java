@@ -95,6 +95,43 @@ public class ProcessingOrderMgr {
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(ProcessingOrderMgr.class);
 
+	/** Subquery for the job steps of the orders to evict */
+	private static final String SQL_EVICTED_JOB_STEPS = "SELECT js.id FROM job_step js JOIN job j ON js.job_id = j.id "
+			+ "WHERE j.processing_order_id IN (:orderIds)";
+
+	/** Subquery for the product queries of the orders to evict */
+	private static final String SQL_EVICTED_PRODUCT_QUERIES = "SELECT pq.id FROM product_query pq WHERE pq.job_step_id IN ("
+			+ SQL_EVICTED_JOB_STEPS + ")";
+
+	/**
+	 * Statements for the bulk eviction of orders in dependency order (same end state as the deletion via JPA, i. e. dependent
+	 * entities like input filters and class output parameters are not removed)
+	 */
+	private static final String[] SQL_EVICT_JOB_STEP_DEPENDENTS = {
+			"UPDATE product SET job_step_id = NULL WHERE job_step_id IN (" + SQL_EVICTED_JOB_STEPS + ")",
+			"DELETE FROM product_query_satisfying_products WHERE satisfied_product_queries_id IN (" + SQL_EVICTED_PRODUCT_QUERIES
+					+ ")",
+			"DELETE FROM product_query_filter_conditions WHERE product_query_id IN (" + SQL_EVICTED_PRODUCT_QUERIES + ")",
+			"DELETE FROM product_query WHERE job_step_id IN (" + SQL_EVICTED_JOB_STEPS + ")",
+			"DELETE FROM job_step_output_parameters WHERE job_step_id IN (" + SQL_EVICTED_JOB_STEPS + ")" };
+	private static final String SQL_EVICT_JOB_STEPS = "DELETE FROM job_step WHERE job_id IN "
+			+ "(SELECT j.id FROM job j WHERE j.processing_order_id IN (:orderIds))";
+	private static final String SQL_EVICT_JOBS = "DELETE FROM job WHERE processing_order_id IN (:orderIds)";
+	private static final String[] SQL_EVICT_ORDER_DEPENDENTS = {
+			"DELETE FROM processing_order_dynamic_processing_parameters WHERE processing_order_id IN (:orderIds)",
+			"DELETE FROM processing_order_output_parameters WHERE processing_order_id IN (:orderIds)",
+			"DELETE FROM processing_order_input_filters WHERE processing_order_id IN (:orderIds)",
+			"DELETE FROM processing_order_class_output_parameters WHERE processing_order_id IN (:orderIds)",
+			"DELETE FROM processing_order_requested_product_classes WHERE processing_order_id IN (:orderIds)",
+			"DELETE FROM processing_order_input_product_classes WHERE processing_order_id IN (:orderIds)",
+			"DELETE FROM processing_order_requested_configured_processors WHERE processing_order_id IN (:orderIds)",
+			"DELETE FROM processing_order_requested_orbits WHERE processing_order_id IN (:orderIds)",
+			"DELETE FROM processing_order_mon_order_progress WHERE processing_order_id IN (:orderIds)" };
+	private static final String SQL_MARK_ORDER_HISTORY_DELETED = "UPDATE processing_order_history SET deletion_time = :deletionTime "
+			+ "WHERE EXISTS (SELECT 1 FROM processing_order o JOIN mission m ON o.mission_id = m.id WHERE o.id IN (:orderIds) "
+			+ "AND m.code = processing_order_history.mission_code AND o.identifier = processing_order_history.identifier)";
+	private static final String SQL_EVICT_ORDERS = "DELETE FROM processing_order WHERE id IN (:orderIds)";
+
 	/**
 	 * Create an order from the given Json object
 	 *
@@ -373,7 +410,8 @@ public class ProcessingOrderMgr {
 	}
 
 	/**
-	 * Delete the Job Order file for the given job step from the Storage Manager
+	 * Delete the Job Order file for the given job step from the Storage Manager, unless it is still used by other job steps
+	 * (Job Order files are stored under the hash of their content, so they may be shared between job steps)
 	 *
 	 * @param js the job step to delete the JOF from
 	 * @return true on success, false otherwise
@@ -384,25 +422,40 @@ public class ProcessingOrderMgr {
 
 		if (js != null && js.getJobOrderFilename() != null) {
 			ProcessingFacility facility = js.getJob().getProcessingFacility();
-			String storageManagerUrl = facility.getStorageManagerUrl()
-					+ String.format("/products?pathInfo=%s", js.getJobOrderFilename());
-
-			RestTemplate restTemplate = rtb
-				.basicAuthentication(facility.getStorageManagerUser(), facility.getStorageManagerPassword())
-				.build();
-			try {
-				restTemplate.delete(storageManagerUrl);
-				logger.log(OrderMgrMessage.JOF_DELETED, js.getJobOrderFilename(), facility.getName());
-				return true;
-			} catch (RestClientException e) {
-				logger.log(OrderMgrMessage.JOF_DELETING_ERROR, js.getJobOrderFilename(), facility.getName(), e.getMessage());
+			int otherJobSteps = RepositoryService.getJobStepRepository()
+				.countOtherJobStepsByJobOrderFilename(js.getJobOrderFilename(), facility.getId(), js.getId());
+			if (0 < otherJobSteps) {
+				logger.log(OrderMgrMessage.JOF_STILL_REFERENCED, js.getJobOrderFilename(), facility.getName(), otherJobSteps);
 				return false;
 			}
+			return deleteJOF(facility, js.getJobOrderFilename());
 		} else {
 			return false;
 		}
 	}
 
+	/**
+	 * Delete a Job Order File from the Storage Manager of the given processing facility
+	 *
+	 * @param facility         the processing facility holding the JOF
+	 * @param jobOrderFilename the path of the JOF
+	 * @return true on success, false otherwise
+	 */
+	private Boolean deleteJOF(ProcessingFacility facility, String jobOrderFilename) {
+		String storageManagerUrl = facility.getStorageManagerUrl() + String.format("/products?pathInfo=%s", jobOrderFilename);
+
+		RestTemplate restTemplate = rtb.basicAuthentication(facility.getStorageManagerUser(), facility.getStorageManagerPassword())
+			.build();
+		try {
+			restTemplate.delete(storageManagerUrl);
+			logger.log(OrderMgrMessage.JOF_DELETED, jobOrderFilename, facility.getName());
+			return true;
+		} catch (RestClientException e) {
+			logger.log(OrderMgrMessage.JOF_DELETING_ERROR, jobOrderFilename, facility.getName(), e.getMessage());
+			return false;
+		}
+	}
+
 	/**
 	 * Prepare the order for deletion: remove dependencies to products and product queries.
 	 *
@@ -499,12 +552,13 @@ public class ProcessingOrderMgr {
 	 *
 	 * @param id           the ID of the order to delete
 	 * @param evictionTime the relevant cutoff time for the eviction of orders
+	 * @return true, if the order was deleted, false, if it was not evictable
 	 * @throws EntityNotFoundException if the order to delete does not exist in the database
 	 * @throws SecurityException       if a cross-mission data access was attempted
 	 * @throws RuntimeException        if the deletion was not performed as expected
 	 */
 	@Transactional(isolation = Isolation.REPEATABLE_READ)
-	public void deleteExpiredOrderById(Long id, Instant evictionTime)
+	public boolean deleteExpiredOrderById(Long id, Instant evictionTime)
 			throws EntityNotFoundException, SecurityException, RuntimeException {
 		if (logger.isTraceEnabled())
 			logger.trace(">>> deleteExpiredOrderById({}, {})", id, evictionTime);
@@ -519,11 +573,83 @@ public class ProcessingOrderMgr {
 		ProcessingOrder order = modelOrder.get();
 		if (order.getEvictionTime().isBefore(evictionTime)) {
 			deleteOrder(order);
+			return true;
 		} else {
 			logger.log(OrderMgrMessage.ORDER_NOT_EVICTABLE, order.getId(), order.getEvictionTime(), evictionTime);
+			return false;
 		}
 	}
 
+	/**
+	 * Delete a set of expired orders with set-based SQL statements instead of removing the orders, jobs, job steps and product
+	 * queries entity by entity (without cross-mission access check). The database end state is the same as for
+	 * deleteExpiredOrderById(); orders with an eviction time not before the cutoff time are skipped. The number of orders
+	 * should be limited by the caller, since all rows concerned are locked until the end of the transaction.
+	 *
+	 * @param ids          the IDs of the orders to delete
+	 * @param evictionTime the relevant cutoff time for the eviction of orders
+	 * @return the number of orders deleted
+	 */
+	@Transactional(isolation = Isolation.REPEATABLE_READ)
+	public int deleteExpiredOrdersByIds(List<Long> ids, Instant evictionTime) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> deleteExpiredOrdersByIds({}, {})", (null == ids ? "null" : ids.size()), evictionTime);
+
+		if (null == ids || ids.isEmpty()) {
+			return 0;
+		}
+		long startTime = System.currentTimeMillis();
+
+		// Ensure order eviction time is actually before relevant cutoff time
+		List<Long> orderIds = em
+			.createQuery("select o.id from ProcessingOrder o where o.id in :ids and o.orderState = :orderState "
+					+ "and o.evictionTime < :evictionTime", Long.class)
+			.setParameter("ids", ids)
+			.setParameter("orderState", OrderState.CLOSED)
+			.setParameter("evictionTime", evictionTime)
+			.getResultList();
+		if (orderIds.isEmpty()) {
+			return 0;
+		}
+
+		// Delete the Job Order Files (once per file, since job order files may be shared between job steps), unless they are
+		// still used by job steps of orders not evicted
+		List<Object[]> jobOrderFiles = em
+			.createQuery("select distinct js.jobOrderFilename, j.processingFacility from JobStep js join js.job j "
+					+ "where j.processingOrder.id in :orderIds and js.jobOrderFilename is not null "
+					+ "and not exists (select js2 from JobStep js2 join js2.job j2 where js2.jobOrderFilename = js.jobOrderFilename "
+					+ "and j2.processingFacility = j.processingFacility and j2.processingOrder.id not in :orderIds)", Object[].class)
+			.setParameter("orderIds", orderIds)
+			.getResultList();
+		for (Object[] jobOrderFile : jobOrderFiles) {
+			deleteJOF((ProcessingFacility) jobOrderFile[1], (String) jobOrderFile[0]);
+		}
+
+		// Delete dependent rows bottom-up, starting with the job steps
+		em.flush();
+		for (String sqlStatement : SQL_EVICT_JOB_STEP_DEPENDENTS) {
+			em.createNativeQuery(sqlStatement).setParameter("orderIds", orderIds).executeUpdate();
+		}
+		int jobStepCount = em.createNativeQuery(SQL_EVICT_JOB_STEPS).setParameter("orderIds", orderIds).executeUpdate();
+		int jobCount = em.createNativeQuery(SQL_EVICT_JOBS).setParameter("orderIds", orderIds).executeUpdate();
+		for (String sqlStatement : SQL_EVICT_ORDER_DEPENDENTS) {
+			em.createNativeQuery(sqlStatement).setParameter("orderIds", orderIds).executeUpdate();
+		}
+		em.createNativeQuery(SQL_MARK_ORDER_HISTORY_DELETED)
+			.setParameter("deletionTime", Instant.now())
+			.setParameter("orderIds", orderIds)
+			.executeUpdate();
+		int orderCount = em.createNativeQuery(SQL_EVICT_ORDERS).setParameter("orderIds", orderIds).executeUpdate();
+
+		// Entities loaded before may refer to deleted rows
+		em.clear();
+
+		logger.log(OrderMgrMessage.ORDERS_EVICTED_BULK, orderCount, jobCount, jobStepCount,
+				System.currentTimeMillis() - startTime);
+
+		return orderCount;
+	}
+
 	/**
 	 * Find all orders of state CLOSED and eviction time less than t and delete them
 	 *
@@ -7,12 +7,18 @@ package de.dlr.proseo.ordermgr.rest;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 
+import jakarta.persistence.EntityManagerFactory;
 import javax.transaction.Transactional;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -20,13 +26,17 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEntityManager;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.model.Mission;
@@ -72,6 +82,10 @@ public class MissionControllerTest {
 	@Autowired
 	private PlatformTransactionManager txManager;
 
+	/** JPA entity manager factory */
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
 	/**
 	 *
 	 * Create test missions and test spacecrafts in the database.
@@ -160,6 +174,59 @@ public class MissionControllerTest {
 		assertTrue("An unexpected mission was found.", "UTM" == entity.getBody().get(0).getCode());
 	}
 
+	/**
+	 * Load test for the mission response cache: Repeated retrievals of unchanged missions must only query the mission version
+	 * state, and conditional requests with the current entity tag must be answered with HTTP status "NOT_MODIFIED"
+	 */
+	@Test
+	public final void testGetMissionsCached() {
+		logger.trace(">>> testGetMissionsCached()");
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		try {
+			// First retrieval loads the missions and their spacecrafts
+			statistics.clear();
+			ResponseEntity<List<RestMission>> entity = mci.getMissions(null);
+			assertEquals("Wrong HTTP status: ", HttpStatus.OK, entity.getStatusCode());
+			long uncachedStatements = statistics.getPrepareStatementCount();
+			String etag = entity.getHeaders().getETag();
+			assertNotNull("Missing ETag", etag);
+
+			// Repeated retrievals only determine the version state
+			final int iterations = 100;
+			statistics.clear();
+			for (int i = 0; i < iterations; ++i) {
+				entity = mci.getMissions(null);
+				assertEquals("Wrong HTTP status: ", HttpStatus.OK, entity.getStatusCode());
+				assertEquals("Unexpected ETag change", etag, entity.getHeaders().getETag());
+			}
+			long cachedStatements = statistics.getPrepareStatementCount();
+			logger.debug("Statements per mission retrieval: uncached {}, cached {}", uncachedStatements,
+					(double) cachedStatements / iterations);
+			assertTrue("Cached retrieval does not reduce database queries", cachedStatements < uncachedStatements * iterations);
+
+			// Conditional request with current entity tag
+			MockHttpServletRequest request = new MockHttpServletRequest();
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+			RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+			entity = mci.getMissions(null);
+			assertEquals("Wrong HTTP status: ", HttpStatus.NOT_MODIFIED, entity.getStatusCode());
+
+			// Modification (with version increment as done by the services) invalidates the entity tag
+			Mission modelMission = RepositoryService.getMissionRepository().findByCode(testMissionData[0][2]);
+			modelMission.setName("Modified Testing");
+			modelMission.incrementVersion();
+			RepositoryService.getMissionRepository().save(modelMission);
+			entity = mci.getMissions(null);
+			assertEquals("Wrong HTTP status: ", HttpStatus.OK, entity.getStatusCode());
+			assertNotEquals("ETag unchanged after modification", etag, entity.getHeaders().getETag());
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+			statistics.setStatisticsEnabled(false);
+		}
+	}
+
 	/**
 	 * Test method for
 	 * {@link de.dlr.proseo.ordermgr.rest.MissionControllerImpl#createMission(de.dlr.proseo.model.rest.model.RestMission)}.
@@ -6,16 +6,24 @@
 package de.dlr.proseo.ordermgr.rest;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -28,20 +36,28 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEntityManager;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.web.client.RestTemplate;
 
 import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.model.ConfiguredProcessor;
+import de.dlr.proseo.model.Job;
+import de.dlr.proseo.model.JobStep;
 import de.dlr.proseo.model.Mission;
 import de.dlr.proseo.model.Orbit;
 import de.dlr.proseo.model.Parameter;
+import de.dlr.proseo.model.ProcessingFacility;
 import de.dlr.proseo.model.ProcessingOrder;
+import de.dlr.proseo.model.ProcessingOrderHistory;
 import de.dlr.proseo.model.Processor;
 import de.dlr.proseo.model.ProcessorClass;
+import de.dlr.proseo.model.Product;
 import de.dlr.proseo.model.ProductClass;
+import de.dlr.proseo.model.ProductQuery;
 import de.dlr.proseo.model.Spacecraft;
 import de.dlr.proseo.model.Workflow;
 import de.dlr.proseo.model.enums.OrderSlicingType;
@@ -78,6 +94,17 @@ public class ProcessingOrderMgrTest {
 	@MockitoBean
 	RestTemplateBuilder rtb;
 
+	/** The test entity manager */
+	@Autowired
+	TestEntityManager tem;
+
+	/** Tables (and conditions) affected by the eviction of orders */
+	private static final String[] testEvictionTables = { "processing_order", "processing_order_output_parameters",
+			"processing_order_requested_product_classes", "job", "job_step", "job_step_output_parameters", "product_query",
+			"product_query_filter_conditions", "product_query_satisfying_products", "product",
+			"product WHERE job_step_id IS NOT NULL", "processing_order_history",
+			"processing_order_history WHERE deletion_time IS NOT NULL" };
+
 	// Test data
 	private static String[][] testMissionData = {
 			// id, version, code, name, processing_mode, file_class, product_file_template
@@ -535,6 +562,206 @@ public class ProcessingOrderMgrTest {
 		assertTrue(RepositoryService.getOrderRepository().findById(Long.valueOf(testOrderData[0][0])).isEmpty());
 	}
 
+	/**
+	 * Create a closed order with jobs, job steps, product queries and output products in the database
+	 *
+	 * @param identifier   the order identifier
+	 * @param productClass the product class for requested and input products
+	 * @param inputProduct the product satisfying the product queries
+	 * @param evictionTime the eviction time of the order
+	 * @param jobCount     the number of jobs (with two job steps each)
+	 * @return the database ID of the order
+	 */
+	private Long createEvictableOrder(String identifier, ProductClass productClass, Product inputProduct, Instant evictionTime,
+			int jobCount) {
+		Instant startTime = Instant.from(OrbitTimeFormatter.parse(testOrderData[0][9]));
+
+		ProcessingOrder order = new ProcessingOrder();
+		order.setMission(productClass.getMission());
+		order.setIdentifier(identifier);
+		order.setUuid(UUID.randomUUID());
+		order.setOrderState(OrderState.CLOSED);
+		order.setProcessingMode(testMissionData[0][4]);
+		order.setOutputFileClass(testOutputFileClass);
+		order.setStartTime(startTime);
+		order.setStopTime(startTime.plus(Duration.ofHours(jobCount)));
+		order.setEvictionTime(evictionTime);
+		Parameter outputParam = new Parameter();
+		outputParam.init(ParameterType.STRING, "99");
+		order.getOutputParameters().put(testOutputParam[0][0], outputParam);
+		order.getRequestedProductClasses().add(productClass);
+		order = RepositoryService.getOrderRepository().save(order);
+
+		for (int i = 0; i < jobCount; ++i) {
+			Job job = new Job();
+			job.setProcessingOrder(order);
+			job.setStartTime(startTime.plus(Duration.ofHours(i)));
+			job.setStopTime(startTime.plus(Duration.ofHours(i + 1)));
+			job = RepositoryService.getJobRepository().save(job);
+			order.getJobs().add(job);
+
+			for (int j = 0; j < 2; ++j) {
+				JobStep jobStep = new JobStep();
+				jobStep.setJob(job);
+				jobStep.getOutputParameters().put(testOutputParam[0][0], outputParam);
+				jobStep = RepositoryService.getJobStepRepository().save(jobStep);
+				job.getJobSteps().add(jobStep);
+
+				ProductQuery productQuery = new ProductQuery();
+				productQuery.setJobStep(jobStep);
+				productQuery.setRequestedProductClass(productClass);
+				productQuery.getFilterConditions().put(testOutputParam[0][0], outputParam);
+				productQuery.getSatisfyingProducts().add(inputProduct);
+				productQuery = RepositoryService.getProductQueryRepository().save(productQuery);
+				jobStep.getInputProductQueries().add(productQuery);
+
+				Product outputProduct = new Product();
+				outputProduct.setProductClass(productClass);
+				outputProduct.setUuid(UUID.randomUUID());
+				outputProduct.setSensingStartTime(job.getStartTime().plus(Duration.ofMinutes(j)));
+				outputProduct.setJobStep(jobStep);
+				jobStep.setOutputProduct(RepositoryService.getProductRepository().save(outputProduct));
+			}
+		}
+
+		ProcessingOrderHistory history = new ProcessingOrderHistory();
+		history.setMissionCode(productClass.getMission().getCode());
+		history.setIdentifier(identifier);
+		history.setOrderState(OrderState.CLOSED);
+		RepositoryService.getProcessingOrderHistoryRepository().save(history);
+
+		return order.getId();
+	}
+
+	/**
+	 * Count the rows of the tables affected by the eviction of orders (after writing all changes to the database)
+	 *
+	 * @return the row count per table
+	 */
+	private Map<String, Long> countEvictionTableRows() {
+		tem.flush();
+		tem.clear();
+
+		Map<String, Long> rowCounts = new HashMap<>();
+		for (String table : testEvictionTables) {
+			rowCounts.put(table,
+					((Number) tem.getEntityManager().createNativeQuery("SELECT COUNT(*) FROM " + table).getSingleResult())
+						.longValue());
+		}
+		return rowCounts;
+	}
+
+	/**
+	 * Test method for {@link de.dlr.proseo.ordermgr.rest.ProcessingOrderMgr#deleteExpiredOrdersByIds(java.util.List, java.time.Instant)}:
+	 * The bulk eviction must leave the same database state as the eviction order by order.
+	 */
+	@Test
+	@WithMockUser(username = "UTM-testuser", roles = {})
+	public final void testDeleteExpiredOrdersByIds() {
+		logger.debug(">>> testDeleteExpiredOrdersByIds()");
+
+		Instant evictionTime = Instant.now();
+		ProductClass productClass = RepositoryService.getProductClassRepository()
+			.findByMissionCodeAndProductType(testMissionData[0][2], testInputProdClass);
+		Product inputProduct = new Product();
+		inputProduct.setProductClass(productClass);
+		inputProduct.setUuid(UUID.randomUUID());
+		inputProduct = RepositoryService.getProductRepository().save(inputProduct);
+
+		Long entityOrderId = createEvictableOrder("EVICT-ENTITY", productClass, inputProduct,
+				evictionTime.minus(Duration.ofDays(1)), 3);
+		Long bulkOrderId = createEvictableOrder("EVICT-BULK", productClass, inputProduct, evictionTime.minus(Duration.ofDays(1)),
+				3);
+		Long futureOrderId = createEvictableOrder("EVICT-FUTURE", productClass, inputProduct,
+				evictionTime.plus(Duration.ofDays(1)), 0);
+
+		Map<String, Long> rowCountsBefore = countEvictionTableRows();
+		assertTrue(pom.deleteExpiredOrderById(entityOrderId, evictionTime));
+		Map<String, Long> rowCountsEntity = countEvictionTableRows();
+		assertEquals(1, pom.deleteExpiredOrdersByIds(List.of(bulkOrderId, futureOrderId), evictionTime));
+		Map<String, Long> rowCountsBulk = countEvictionTableRows();
+
+		// Both orders have the same structure, so the same number of rows must have been removed (or updated)
+		for (String table : testEvictionTables) {
+			assertEquals(table, rowCountsBefore.get(table) - rowCountsEntity.get(table),
+					rowCountsEntity.get(table) - rowCountsBulk.get(table));
+		}
+		assertEquals(Long.valueOf(12), rowCountsBefore.get("job_step"));
+		assertEquals(Long.valueOf(0), rowCountsBulk.get("job_step"));
+		assertEquals(Long.valueOf(13), rowCountsBulk.get("product"));
+		assertEquals(Long.valueOf(2), rowCountsBulk.get("processing_order_history WHERE deletion_time IS NOT NULL"));
+		assertTrue(RepositoryService.getOrderRepository().findById(bulkOrderId).isEmpty());
+		assertNotNull(RepositoryService.getOrderRepository().findById(futureOrderId).orElse(null));
+
+		// Nothing to do for already deleted orders
+		assertEquals(0, pom.deleteExpiredOrdersByIds(List.of(bulkOrderId), evictionTime));
+
+		RepositoryService.getProductRepository().deleteAll();
+	}
+
+	/**
+	 * Assign the given Job Order Files to the job steps of an order in turn, and the processing facility to its jobs
+	 *
+	 * @param orderId          the ID of the order
+	 * @param facility         the processing facility for the jobs
+	 * @param jobOrderFilenames the Job Order File names to assign
+	 */
+	private static void setJobOrderFiles(Long orderId, ProcessingFacility facility, String... jobOrderFilenames) {
+		int i = 0;
+		for (Job job : RepositoryService.getOrderRepository().findById(orderId).get().getJobs()) {
+			job.setProcessingFacility(facility);
+			for (JobStep jobStep : job.getJobSteps()) {
+				jobStep.setJobOrderFilename(jobOrderFilenames[i++ % jobOrderFilenames.length]);
+			}
+		}
+	}
+
+	/**
+	 * Test that Job Order Files shared with job steps of other orders are not deleted, neither by the eviction order by order
+	 * nor by the bulk eviction
+	 */
+	@Test
+	@WithMockUser(username = "UTM-testuser", roles = {})
+	public final void testSharedJobOrderFilesKept() {
+		logger.debug(">>> testSharedJobOrderFilesKept()");
+
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		when(rtb.basicAuthentication(any(), any())).thenReturn(rtb);
+		when(rtb.build()).thenReturn(restTemplate);
+
+		ProcessingFacility facility = new ProcessingFacility();
+		facility.setName("JOF-FACILITY");
+		facility.setStorageManagerUrl("http://localhost/storage-mgr");
+		facility = RepositoryService.getFacilityRepository().save(facility);
+
+		Instant evictionTime = Instant.now();
+		ProductClass productClass = RepositoryService.getProductClassRepository()
+			.findByMissionCodeAndProductType(testMissionData[0][2], testInputProdClass);
+		Product inputProduct = new Product();
+		inputProduct.setProductClass(productClass);
+		inputProduct.setUuid(UUID.randomUUID());
+		inputProduct = RepositoryService.getProductRepository().save(inputProduct);
+
+		Long entityOrderId = createEvictableOrder("EVICT-JOF-ENTITY", productClass, inputProduct,
+				evictionTime.minus(Duration.ofDays(1)), 1);
+		Long bulkOrderId = createEvictableOrder("EVICT-JOF-BULK", productClass, inputProduct,
+				evictionTime.minus(Duration.ofDays(1)), 1);
+		Long keptOrderId = createEvictableOrder("EVICT-JOF-KEPT", productClass, inputProduct,
+				evictionTime.plus(Duration.ofDays(1)), 1);
+		setJobOrderFiles(entityOrderId, facility, "JOF/shared.xml", "JOF/entity.xml");
+		setJobOrderFiles(bulkOrderId, facility, "JOF/shared.xml", "JOF/bulk.xml");
+		setJobOrderFiles(keptOrderId, facility, "JOF/shared.xml");
+
+		assertTrue(pom.deleteExpiredOrderById(entityOrderId, evictionTime));
+		assertEquals(1, pom.deleteExpiredOrdersByIds(List.of(bulkOrderId, keptOrderId), evictionTime));
+
+		verify(restTemplate).delete("http://localhost/storage-mgr/products?pathInfo=JOF/entity.xml");
+		verify(restTemplate).delete("http://localhost/storage-mgr/products?pathInfo=JOF/bulk.xml");
+		verify(restTemplate, never()).delete("http://localhost/storage-mgr/products?pathInfo=JOF/shared.xml");
+
+		RepositoryService.getProductRepository().deleteAll();
+	}
+
 	/**
 	 * Test method for {@link de.dlr.proseo.ordermgr.rest.ProcessingOrderMgr#getOrderById(java.lang.Long)}.
 	 */
@@ -462,6 +462,18 @@ public class ProductionPlanner implements CommandLineRunner {
 			e.printStackTrace();
 		}
 
+		// Build the index of unsatisfied product queries before any product arrival is handled
+		try {
+			transactionTemplate.setReadOnly(true);
+			transactionTemplate.execute((status) -> {
+				UtilService.getProductQueryIndex().rebuild();
+				return null;
+			});
+			transactionTemplate.setReadOnly(false);
+		} catch (TransactionException e) {
+			e.printStackTrace();
+		}
+
 		// Continue order suspension first
 		checkForRestartSuspend();
 
@@ -187,7 +187,7 @@ public class JobDispatcher {
 
 			}
 		} catch (Exception e) {
-			logger.log(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
+			logger.emit(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
 
 			if (logger.isDebugEnabled()) logger.debug("... exception stack trace: ", e);
 
@@ -426,7 +426,7 @@ public class JobDispatcher {
 		// Get the storage manager URL from the provided kubeConfig
 		String storageManagerUrl = kubeConfig.getStorageManagerUrl();
 		if (storageManagerUrl == null || jobOrder == null) {
-			logger.log(PlannerMessage.INSUFFICIENT_ORDER_DATA);
+			logger.emit(PlannerMessage.INSUFFICIENT_ORDER_DATA);
 			return null;
 		}
 
@@ -460,10 +460,10 @@ public class JobDispatcher {
 			restJoborder.setJobOrderStringBase64(b64String);
 
 			// Send the POST request to the storage manager and get the response
-			logger.log(PlannerMessage.HTTP_REQUEST, storageManagerUrl + restUrl);
+			logger.emit(PlannerMessage.HTTP_REQUEST, storageManagerUrl + restUrl);
 			ResponseEntity<RestJoborder> response = restTemplate.postForEntity(storageManagerUrl + restUrl, restJoborder,
 					RestJoborder.class);
-			logger.log(PlannerMessage.HTTP_RESPONSE, response.getStatusCode());
+			logger.emit(PlannerMessage.HTTP_RESPONSE, response.getStatusCode());
 
 			// Check if the response is successful and contains the uploaded flag
 			if (response != null && response.getBody() != null && response.getBody().getUploaded()) {
@@ -475,7 +475,7 @@ public class JobDispatcher {
 				return null;
 			}
 		} catch (Exception e) {
-			logger.log(PlannerMessage.SENDING_JOB_EXCEPTION, e.getMessage());
+			logger.emit(PlannerMessage.SENDING_JOB_EXCEPTION, e.getMessage());
 			
 			if (logger.isDebugEnabled()) logger.debug("... exception stack trace: ", e);
 
@@ -75,7 +75,7 @@ public class KubeDispatcher extends Thread {
 
 		if (runOnce) {
 			// Execute the run-once scenario
-			logger.log(PlannerMessage.KUBEDISPATCHER_RUN_ONCE);
+			logger.emit(PlannerMessage.KUBEDISPATCHER_RUN_ONCE);
 
 			if (kubeConfig != null) {
 				try {
@@ -85,10 +85,10 @@ public class KubeDispatcher extends Thread {
 					if (logger.isDebugEnabled())
 						logger.debug("... exception in checkForJobStepsToRun(" + kubeConfig.getId() + ", " + 0 + ", " + onlyRun + ", true): ", e);
 
-					logger.log(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
+					logger.emit(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
 				}
 			} else {
-				logger.log(PlannerMessage.KUBEDISPATCHER_CONFIG_NOT_SET);
+				logger.emit(PlannerMessage.KUBEDISPATCHER_CONFIG_NOT_SET);
 			}
 
 		} else {
@@ -96,20 +96,20 @@ public class KubeDispatcher extends Thread {
 
 			if (productionPlanner != null) {
 				if (wait <= 0) {
-					logger.log(PlannerMessage.KUBEDISPATCHER_RUN_ONCE);
+					logger.emit(PlannerMessage.KUBEDISPATCHER_RUN_ONCE);
 
 					try {
 						// Check for job steps to run using the JobStepUtil
 						UtilService.getJobStepUtil().checkForJobStepsToRun(kubeConfig, 0, onlyRun, true);
 					} catch (Exception e) {
-						logger.log(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
+						logger.emit(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
 						
 						if (logger.isDebugEnabled()) logger.debug("... exception stack trace: ", e);
 					}
 				} else {
 					while (!this.isInterrupted()) {
 						// Look for job steps to run
-						logger.log(PlannerMessage.KUBEDISPATCHER_CYCLE);
+						logger.emit(PlannerMessage.KUBEDISPATCHER_CYCLE);
 
 						// Only check for job steps if there are no released threads in the production planner
 						if (productionPlanner.getReleaseThreads().size() == 0) {
@@ -120,23 +120,23 @@ public class KubeDispatcher extends Thread {
 								if (logger.isDebugEnabled())
 									logger.debug("... exception in checkForJobStepsToRun(" + kubeConfig.getId() + ", " + 0 + ", " + onlyRun + ", true): ", e);
 
-								logger.log(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
+								logger.emit(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
 							}
 						}
 
 						try {
 							// Sleep for the specified wait time
-							logger.log(PlannerMessage.KUBEDISPATCHER_SLEEP, wait);
+							logger.emit(PlannerMessage.KUBEDISPATCHER_SLEEP, wait);
 							sleep(wait);
 						} catch (InterruptedException e) {
 							// Log the interruption message
-							logger.log(PlannerMessage.KUBEDISPATCHER_INTERRUPT);
+							logger.emit(PlannerMessage.KUBEDISPATCHER_INTERRUPT);
 							this.interrupt();
 						}
 					}
 				}
 			} else {
-				logger.log(PlannerMessage.KUBEDISPATCHER_PLANNER_NOT_SET);
+				logger.emit(PlannerMessage.KUBEDISPATCHER_PLANNER_NOT_SET);
 			}
 		}
 	}
@@ -304,7 +304,7 @@ public class OrderDispatcher {
 		} catch (InterruptedException e) {
 			throw e;
 		} catch (Exception e) {
-			logger.log(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
+			logger.emit(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
 
 			if (logger.isDebugEnabled()) {
 				logger.debug("An exception occurred. Cause: ", e);
@@ -374,7 +374,7 @@ public class OrderDispatcher {
 		} catch (InterruptedException e) {
 			throw e;
 		} catch (Exception e) {
-			logger.log(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
+			logger.emit(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
 			
 			if (logger.isDebugEnabled()) logger.debug("... exception stack trace: ", e);
 
@@ -453,7 +453,7 @@ public class OrderDispatcher {
 		} catch (InterruptedException e) {
 			throw e;
 		} catch (Exception e) {
-			logger.log(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
+			logger.emit(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
 			
 			if (logger.isDebugEnabled()) logger.debug("... exception stack trace: ", e);
 
@@ -532,7 +532,7 @@ public class OrderDispatcher {
 		} catch (InterruptedException e) {
 			throw e;
 		} catch (Exception e) {
-			logger.log(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
+			logger.emit(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
 			
 			if (logger.isDebugEnabled()) logger.debug("... exception stack trace: ", e);
 
@@ -616,7 +616,7 @@ public class OrderDispatcher {
 		} catch (InterruptedException e) {
 			throw e;
 		} catch (Exception e) {
-			logger.log(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
+			logger.emit(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
 			
 			if (logger.isDebugEnabled()) logger.debug("... exception stack trace: ", e);
 
@@ -658,7 +658,7 @@ public class OrderDispatcher {
 			// Create a job for the provided time frame
 			answer = createJobForOrbitOrTime(order, null, order.getStartTime(), order.getStopTime(), facility);
 		} catch (Exception e) {
-			logger.log(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
+			logger.emit(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getClass() + " - " + e.getMessage());
 			
 			if (logger.isDebugEnabled()) logger.debug("... exception stack trace: ", e);
 
@@ -736,7 +736,7 @@ public class OrderDispatcher {
 			}
 
 			if (exist) {
-				logger.log(PlannerMessage.JOB_ALREADY_EXIST, order.getIdentifier());
+				logger.emit(PlannerMessage.JOB_ALREADY_EXIST, order.getIdentifier());
 			} else {
 				// Save the job and add it to the order's jobs list
 				job = RepositoryService.getJobRepository().save(job);
@@ -1075,6 +1075,7 @@ public class OrderDispatcher {
 						ProductQueryService.FACILITY_QUERY_SQL_SUBSELECT);
 				pq = RepositoryService.getProductQueryRepository().save(pq);
 				jobStep.getInputProductQueries().add(pq);
+				UtilService.getProductQueryIndex().add(pq);
 
 				if (logger.isDebugEnabled()) {
 					logger.debug("Product query generated for rule '{}'", selectionRule);
@@ -1083,7 +1084,7 @@ public class OrderDispatcher {
 		}
 
 		if (jobStep.getInputProductQueries().isEmpty()) {
-			logger.log(PlannerMessage.NO_INPUT_QUERIES, jobStep.getId());
+			logger.emit(PlannerMessage.NO_INPUT_QUERIES, jobStep.getId());
 		}
 	}
 
@@ -1186,7 +1187,7 @@ public class OrderDispatcher {
 				try {
 					findOrCreateProductQuery(jobStep, product.getProductClass());
 				} catch (Exception e) {
-					logger.log(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getMessage());
+					logger.emit(GeneralMessage.EXCEPTION_ENCOUNTERED, e.getMessage());
 					
 					if (logger.isDebugEnabled()) logger.debug("... exception stack trace: ", e);
 
@@ -1389,6 +1389,10 @@ public class KubeJob {
 					// If the query is successfully executed, update its state and save
 					RepositoryService.getProductQueryRepository().save(productQuery);
 				}
+				if (!productQuery.isSatisfied()) {
+					// The query may have been satisfied before (optional queries without products are left unsatisfied)
+					UtilService.getProductQueryIndex().add(productQuery);
+				}
 			}
 			return null;
 		});
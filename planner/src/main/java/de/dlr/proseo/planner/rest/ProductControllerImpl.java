@@ -65,19 +65,20 @@ public class ProductControllerImpl implements ProductController {
 		transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
 
 		try {
-			final long productClassID = transactionTemplate.execute((status) -> {
+			final Product product = transactionTemplate.execute((status) -> {
 				Optional<Product> productOpt = RepositoryService.getProductRepository().findById(Long.valueOf(productid));
 				if (productOpt.isPresent()) {
-					return productOpt.get().getProductClass().getId();
+					return productOpt.get();
 				} else {
-					return 0L;
+					return null;
 				}
 			});
 			
-			// If product class ID and facility ID are valid, search for job steps and start them
-			if (productClassID != 0 && facilityId != 0) {
+			// If product and facility ID are valid, search for job steps affected by the product and start them
+			if (null != product && facilityId != 0) {
 				transactionTemplate.execute((status) -> {
-					UtilService.getJobStepUtil().searchForJobStepsToRun(facilityId, productClassID, false);
+					UtilService.getJobStepUtil().searchForJobStepsToRun(facilityId, product.getProductClass().getId(),
+							product.getSensingStartTime(), product.getSensingStopTime());
 					return null;
 				});
 				
@@ -199,15 +199,8 @@ public class JobStepUtil {
 					List<ProductQuery> productQueries = RepositoryService.getProductQueryRepository()
 						.findUnsatisfiedByProductClass(pcId);
 					for (ProductQuery pq : productQueries) {
-						if (pq.getJobStep().getJob().getProcessingOrder().getExecutionTime() != null 
-								? pq.getJobStep().getJob().getProcessingOrder().getExecutionTime().isBefore(now) : true) {
-							if (pq.getJobStep().getJobStepState().equals(JobStepState.WAITING_INPUT)
-									&& pq.getJobStep().getJob().getJobState() != JobState.ON_HOLD) {
-								jobSteps.add(pq.getJobStep().getId());
-							} else if (!onlyWaiting && pq.getJobStep().getJobStepState().equals(JobStepState.PLANNED)
-									&& pq.getJobStep().getJob().getJobState() != JobState.ON_HOLD) {
-								jobSteps.add(pq.getJobStep().getId());
-							}
+						if (isJobStepToCheck(pq, now, onlyWaiting)) {
+							jobSteps.add(pq.getJobStep().getId());
 						}
 					}
 
@@ -227,17 +220,9 @@ public class JobStepUtil {
 						.findUnsatisfiedByProductClass(pcId);
 
 					for (ProductQuery productQuery : productQueries) {
-						if (productQuery.getJobStep().getJob().getProcessingFacility().getId() == pfId) {
-							if (productQuery.getJobStep().getJob().getProcessingOrder().getExecutionTime() != null 
-									? productQuery.getJobStep().getJob().getProcessingOrder().getExecutionTime().isBefore(now) : true) {
-								if (productQuery.getJobStep().getJobStepState().equals(JobStepState.WAITING_INPUT)
-										&& productQuery.getJobStep().getJob().getJobState() != JobState.ON_HOLD) {
-									jobSteps.add(productQuery.getJobStep().getId());
-								} else if (!onlyWaiting && productQuery.getJobStep().getJobStepState().equals(JobStepState.PLANNED)
-										&& productQuery.getJobStep().getJob().getJobState() != JobState.ON_HOLD) {
-									jobSteps.add(productQuery.getJobStep().getId());
-								}
-							}
+						if (productQuery.getJobStep().getJob().getProcessingFacility().getId() == pfId
+								&& isJobStepToCheck(productQuery, now, onlyWaiting)) {
+							jobSteps.add(productQuery.getJobStep().getId());
 						}
 					}
 
@@ -251,8 +236,93 @@ public class JobStepUtil {
 			return jobSteps;
 		});
 
+		checkQueriesOfJobSteps(allJobSteps, transactionTemplate);
+	}
+
+	/**
+	 * Searches for job steps with unsatisfied product queries associated with a given processing facility and product class,
+	 * which may be satisfied by a new product with the given sensing start and stop times. Only the product queries, whose
+	 * validity window intersects the product's sensing times, are taken from the product query index; if the index is not
+	 * available, all unsatisfied product queries of the product class are checked. If any queries are now satisfied,
+	 * changes the state of the corresponding job steps to READY.
+	 *
+	 * @param pfId      The ID of the processing facility
+	 * @param pcId      The ID of the product class
+	 * @param startTime The sensing start time of the new product
+	 * @param stopTime  The sensing stop time of the new product
+	 */
+	public void searchForJobStepsToRun(long pfId, long pcId, Instant startTime, Instant stopTime) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> searchForJobStepsToRun({}, {}, {}, {})", pfId, pcId, startTime, stopTime);
+
+		ProductQueryIndex productQueryIndex = UtilService.getProductQueryIndex();
+		if (!productQueryIndex.isInitialized() || null == startTime || null == stopTime) {
+			searchForJobStepsToRun(pfId, pcId, false);
+			return;
+		}
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(productionPlanner.getTxManager());
+		transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+		transactionTemplate.setReadOnly(true);
+
+		Instant now = Instant.now();
+		Set<Long> candidates = productQueryIndex.findCandidates(pcId, pfId, startTime, stopTime);
+		List<Long> allJobSteps = transactionTemplate.execute((status) -> {
+			List<Long> jobSteps = new ArrayList<>();
+
+			for (Long productQueryId : candidates) {
+				Optional<ProductQuery> opt = RepositoryService.getProductQueryRepository().findById(productQueryId);
+				if (opt.isEmpty() || opt.get().isSatisfied()) {
+					// Stale index entry
+					productQueryIndex.remove(productQueryId);
+				} else if (isJobStepToCheck(opt.get(), now, false)) {
+					jobSteps.add(opt.get().getJobStep().getId());
+				}
+			}
+
+			jobSteps.sort(null);
+			return jobSteps;
+		});
+
+		if (logger.isDebugEnabled())
+			logger.debug("... {} candidate product queries found for product class {} on facility {}, checking {} job steps",
+					candidates.size(), pcId, pfId, allJobSteps.size());
+
+		checkQueriesOfJobSteps(allJobSteps, transactionTemplate);
+	}
+
+	/**
+	 * Checks whether the job step of the given product query is to be checked for satisfied queries, i. e. whether it is
+	 * waiting for input (or planned, if not only waiting job steps are requested), its job is not on hold and the execution
+	 * time of its processing order has been reached
+	 *
+	 * @param productQuery The product query to check
+	 * @param now          The current time
+	 * @param onlyWaiting  Flag indicating whether to include only job steps in the WAITING_INPUT state
+	 * @return true, if the job step is to be checked, false otherwise
+	 */
+	private boolean isJobStepToCheck(ProductQuery productQuery, Instant now, boolean onlyWaiting) {
+		JobStep jobStep = productQuery.getJobStep();
+		Instant executionTime = jobStep.getJob().getProcessingOrder().getExecutionTime();
+		if (null != executionTime && !executionTime.isBefore(now)) {
+			return false;
+		}
+		if (jobStep.getJob().getJobState() == JobState.ON_HOLD) {
+			return false;
+		}
+		return jobStep.getJobStepState().equals(JobStepState.WAITING_INPUT)
+				|| (!onlyWaiting && jobStep.getJobStepState().equals(JobStepState.PLANNED));
+	}
+
+	/**
+	 * Checks the input product queries of the given job steps, each in its own transaction
+	 *
+	 * @param jobStepIds          The IDs of the job steps to check
+	 * @param transactionTemplate The transaction template to use
+	 */
+	private void checkQueriesOfJobSteps(List<Long> jobStepIds, TransactionTemplate transactionTemplate) {
 		// Process each job step
-		for (Long jobStepId : allJobSteps) {
+		for (Long jobStepId : jobStepIds) {
 			for (int i = 0; i < ProseoUtil.DB_MAX_RETRY; i++) {
 				try {
 					transactionTemplate.setReadOnly(false);
@@ -1105,6 +1175,12 @@ public class JobStepUtil {
 								}
 							}
 						}
+						if (!productQuery.isSatisfied()) {
+							// Keep the query in the index of unsatisfied queries; this includes optional queries without
+							// satisfying products (left unsatisfied by the product query service) and on-demand queries
+							// waiting for a download
+							UtilService.getProductQueryIndex().add(productQuery);
+						}
 					}
 				}
 
@@ -1846,6 +1922,7 @@ public class JobStepUtil {
 							pq.setIsSatisfied(false);
 							RepositoryService.getProductQueryRepository().save(pq);
 							em.merge(pq);
+							UtilService.getProductQueryIndex().add(pq);
 						}
 					}
 					if (p.getProductFile().isEmpty()) {
@@ -1932,7 +2009,9 @@ public class JobStepUtil {
 	}
 
 	/**
-	 * Deletes the Job Order file associated with the given job step from the Storage Manager.
+	 * Deletes the Job Order file associated with the given job step from the Storage Manager. Job Order files are stored
+	 * under the hash of their content, so the same file may be used by several job steps on the same processing facility;
+	 * in this case the file is kept until the last of these job steps releases it.
 	 *
 	 * @param js The job step for which the Job Order file is to be deleted
 	 * @return True if the deletion is successful, false otherwise
@@ -1943,6 +2022,12 @@ public class JobStepUtil {
 
 		if (js != null && js.getJobOrderFilename() != null) {
 			ProcessingFacility facility = js.getJob().getProcessingFacility();
+			int otherJobSteps = RepositoryService.getJobStepRepository()
+				.countOtherJobStepsByJobOrderFilename(js.getJobOrderFilename(), facility.getId(), js.getId());
+			if (0 < otherJobSteps) {
+				logger.log(PlannerMessage.JOF_STILL_REFERENCED, js.getJobOrderFilename(), otherJobSteps);
+				return false;
+			}
 			String storageManagerUrl = facility.getStorageManagerUrl()
 					+ String.format("/products?pathInfo=%s", js.getJobOrderFilename());
 
@@ -0,0 +1,239 @@
+/**
+ * ProductQueryIndex.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.planner.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Component;
+
+import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.logging.messages.PlannerMessage;
+import de.dlr.proseo.model.Job;
+import de.dlr.proseo.model.ProductQuery;
+import de.dlr.proseo.model.SimplePolicy;
+import de.dlr.proseo.model.service.RepositoryService;
+
+/**
+ * In-memory index of the unsatisfied product queries per requested product class and processing facility, keyed by the
+ * validity window, in which a product must lie to possibly satisfy the query. On arrival of a new product only the product
+ * queries with a validity window intersecting the product's sensing start and stop times need to be re-executed. Product
+ * queries with selection rules not bounded in time (e. g. "LatestValidity") are always returned as candidates.
+ *
+ * The index is rebuilt from the database at planner startup and kept up to date by the planner whenever a product query
+ * is created or becomes unsatisfied again. Entries for satisfied or deleted product queries are not removed eagerly,
+ * because their state may still be rolled back; callers must check the returned candidates against the database and
+ * remove stale entries.
+ *
+ * @author Dr. Thomas Bassler
+ */
+@Component
+public class ProductQueryIndex {
+
+	/** Logger of this class */
+	private static ProseoLogger logger = new ProseoLogger(ProductQueryIndex.class);
+
+	/**
+	 * Index entry for a single product query
+	 */
+	private static class IndexEntry {
+		/** The database ID of the requested product class */
+		private long productClassId;
+		/** The database ID of the processing facility of the product query's job */
+		private long facilityId;
+		/** The start of the validity window (null for product queries not bounded in time) */
+		private Instant windowStart;
+		/** The end of the validity window (null for product queries not bounded in time) */
+		private Instant windowStop;
+	}
+
+	/**
+	 * Index of the product queries for one product class and one processing facility
+	 */
+	private static class FacilityIndex {
+		/** The IDs of the product queries bounded in time, grouped by the start of their validity window */
+		private NavigableMap<Instant, Set<Long>> boundedQueries = new TreeMap<>();
+		/** The IDs of the product queries not bounded in time */
+		private Set<Long> unboundedQueries = new HashSet<>();
+		/** The length of the longest validity window ever added (limits the search range) */
+		private Duration maxWindowLength = Duration.ZERO;
+	}
+
+	/** The index entries by product query ID */
+	private Map<Long, IndexEntry> entries = new HashMap<>();
+
+	/** The facility indexes by product class ID and processing facility ID */
+	private Map<Long, Map<Long, FacilityIndex>> facilityIndexes = new HashMap<>();
+
+	/** Indicates whether the index has been built from the database */
+	private boolean initialized = false;
+
+	/**
+	 * Checks whether the index has been built from the database, i. e. whether it can be used to find the product queries
+	 * affected by a new product
+	 *
+	 * @return true, if the index has been built, false otherwise
+	 */
+	public synchronized boolean isInitialized() {
+		return initialized;
+	}
+
+	/**
+	 * Rebuild the index from all unsatisfied product queries in the database (must be called within a transaction)
+	 */
+	public synchronized void rebuild() {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> rebuild()");
+
+		entries.clear();
+		facilityIndexes.clear();
+
+		List<ProductQuery> productQueries = RepositoryService.getProductQueryRepository().findAllUnsatisfied();
+		int boundedCount = 0;
+		for (ProductQuery productQuery : productQueries) {
+			add(productQuery);
+			IndexEntry entry = entries.get(productQuery.getId());
+			if (null != entry && null != entry.windowStart) {
+				++boundedCount;
+			}
+		}
+		initialized = true;
+
+		logger.log(PlannerMessage.PRODUCT_QUERY_INDEX_REBUILT, entries.size(), boundedCount);
+	}
+
+	/**
+	 * Add a product query to the index, replacing any previous entry for the same product query (must be called within a
+	 * transaction, if the product query's job or selection rule have not been loaded yet)
+	 *
+	 * @param productQuery the product query to add
+	 */
+	public synchronized void add(ProductQuery productQuery) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> add({})", (null == productQuery ? "null" : productQuery.getId()));
+
+		if (null == productQuery || null == productQuery.getId() || null == productQuery.getJobStep()
+				|| null == productQuery.getJobStep().getJob()
+				|| null == productQuery.getJobStep().getJob().getProcessingFacility()) {
+			return;
+		}
+		remove(productQuery.getId());
+
+		Job job = productQuery.getJobStep().getJob();
+		IndexEntry entry = new IndexEntry();
+		entry.productClassId = productQuery.getRequestedProductClass().getId();
+		entry.facilityId = job.getProcessingFacility().getId();
+
+		// The validity window is the union of the selection intervals of all policies, if all policies are bounded in time
+		boolean bounded = null != job.getStartTime() && null != job.getStopTime();
+		long maxDeltaT0 = 0;
+		long maxDeltaT1 = 0;
+		for (SimplePolicy simplePolicy : productQuery.getGeneratingRule().getSimplePolicies()) {
+			if (!simplePolicy.isValidityBounded()) {
+				bounded = false;
+				break;
+			}
+			maxDeltaT0 = Math.max(maxDeltaT0, simplePolicy.getDeltaTimeT0().toMilliseconds());
+			maxDeltaT1 = Math.max(maxDeltaT1, simplePolicy.getDeltaTimeT1().toMilliseconds());
+		}
+
+		FacilityIndex facilityIndex = facilityIndexes.computeIfAbsent(entry.productClassId, (id) -> new HashMap<>())
+			.computeIfAbsent(entry.facilityId, (id) -> new FacilityIndex());
+		if (bounded) {
+			entry.windowStart = job.getStartTime().minusMillis(maxDeltaT0);
+			entry.windowStop = job.getStopTime().plusMillis(maxDeltaT1);
+			facilityIndex.boundedQueries.computeIfAbsent(entry.windowStart, (start) -> new HashSet<>()).add(productQuery.getId());
+			Duration windowLength = Duration.between(entry.windowStart, entry.windowStop);
+			if (0 < windowLength.compareTo(facilityIndex.maxWindowLength)) {
+				facilityIndex.maxWindowLength = windowLength;
+			}
+		} else {
+			facilityIndex.unboundedQueries.add(productQuery.getId());
+		}
+		entries.put(productQuery.getId(), entry);
+	}
+
+	/**
+	 * Remove a product query from the index
+	 *
+	 * @param productQueryId the database ID of the product query to remove
+	 */
+	public synchronized void remove(long productQueryId) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> remove({})", productQueryId);
+
+		IndexEntry entry = entries.remove(productQueryId);
+		if (null == entry) {
+			return;
+		}
+		Map<Long, FacilityIndex> classIndexes = facilityIndexes.get(entry.productClassId);
+		FacilityIndex facilityIndex = classIndexes.get(entry.facilityId);
+		if (null == entry.windowStart) {
+			facilityIndex.unboundedQueries.remove(productQueryId);
+		} else {
+			Set<Long> productQueryIds = facilityIndex.boundedQueries.get(entry.windowStart);
+			productQueryIds.remove(productQueryId);
+			if (productQueryIds.isEmpty()) {
+				facilityIndex.boundedQueries.remove(entry.windowStart);
+			}
+		}
+		if (facilityIndex.unboundedQueries.isEmpty() && facilityIndex.boundedQueries.isEmpty()) {
+			classIndexes.remove(entry.facilityId);
+			if (classIndexes.isEmpty()) {
+				facilityIndexes.remove(entry.productClassId);
+			}
+		}
+	}
+
+	/**
+	 * Find the product queries for the given product class and processing facility, which may be satisfied by a product
+	 * with the given sensing start and stop times
+	 *
+	 * @param productClassId the database ID of the product class
+	 * @param facilityId     the database ID of the processing facility
+	 * @param startTime      the sensing start time of the product
+	 * @param stopTime       the sensing stop time of the product
+	 * @return the (possibly empty) set of the database IDs of the candidate product queries
+	 */
+	public synchronized Set<Long> findCandidates(long productClassId, long facilityId, Instant startTime, Instant stopTime) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> findCandidates({}, {}, {}, {})", productClassId, facilityId, startTime, stopTime);
+
+		Set<Long> candidates = new HashSet<>();
+		Map<Long, FacilityIndex> classIndexes = facilityIndexes.get(productClassId);
+		FacilityIndex facilityIndex = (null == classIndexes ? null : classIndexes.get(facilityId));
+		if (null == facilityIndex) {
+			return candidates;
+		}
+
+		candidates.addAll(facilityIndex.unboundedQueries);
+
+		// Only windows starting at most the maximum window length before the product start can reach the product
+		Instant searchStopTime = (stopTime.isBefore(startTime) ? startTime : stopTime);
+		for (Set<Long> productQueryIds : facilityIndex.boundedQueries
+			.subMap(startTime.minus(facilityIndex.maxWindowLength), true, searchStopTime, true)
+			.values()) {
+			for (Long productQueryId : productQueryIds) {
+				if (!entries.get(productQueryId).windowStop.isBefore(startTime)) {
+					candidates.add(productQueryId);
+				}
+			}
+		}
+
+		if (logger.isTraceEnabled())
+			logger.trace("<<< findCandidates() -> {} candidates of {} indexed product queries", candidates.size(), entries.size());
+
+		return candidates;
+	}
+
+}
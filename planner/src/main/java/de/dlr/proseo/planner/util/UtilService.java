@@ -31,6 +31,10 @@ public class UtilService {
 	@Autowired
 	private OrderUtil orderUtil;
 
+	/** Index of the unsatisfied product queries */
+	@Autowired
+	private ProductQueryIndex productQueryIndex;
+
 	/** Constructor to create the instance */
 	public UtilService() {
 		super();
@@ -64,4 +68,13 @@ public class UtilService {
 		return theUtilService.jobStepUtil;
 	}
 
+	/**
+	 * Gets the index of the unsatisfied product queries.
+	 * 
+	 * @return the index of the unsatisfied product queries
+	 */
+	public static ProductQueryIndex getProductQueryIndex() {
+		return theUtilService.productQueryIndex;
+	}
+
 }
@@ -0,0 +1,206 @@
+/**
+ * ProductQueryIndexTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.planner.util;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import de.dlr.proseo.model.Job;
+import de.dlr.proseo.model.JobStep;
+import de.dlr.proseo.model.ProcessingFacility;
+import de.dlr.proseo.model.ProductClass;
+import de.dlr.proseo.model.ProductQuery;
+import de.dlr.proseo.model.SimplePolicy;
+import de.dlr.proseo.model.SimplePolicy.DeltaTime;
+import de.dlr.proseo.model.SimplePolicy.PolicyType;
+import de.dlr.proseo.model.SimpleSelectionRule;
+
+/**
+ * Test class for ProductQueryIndex: Checks for randomly generated product queries and products, that the index returns
+ * exactly the product queries of the product's class and facility, which are either not bounded in time or have a
+ * validity window intersecting the product's sensing times
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class ProductQueryIndexTest {
+
+	/** Reference time for the generated product queries and products */
+	private static final Instant BASE_TIME = Instant.parse("2026-01-01T00:00:00Z");
+
+	/** Number of random product queries */
+	private static final int TEST_QUERIES = 500;
+
+	/** Number of random products */
+	private static final int TEST_PRODUCTS = 500;
+
+	/** The policy types used for the product queries */
+	private static final List<PolicyType> POLICY_TYPES = Arrays.asList(PolicyType.ValIntersect, PolicyType.LatestValCover,
+			PolicyType.LargestOverlap, PolicyType.LatestValidity, PolicyType.ClosestStartValidity);
+
+	/** Product classes and processing facilities to choose from */
+	private static final int TEST_CLASSES = 2;
+	private static final int TEST_FACILITIES = 2;
+
+	/**
+	 * Create a random time on a coarse grid (to provoke equal times)
+	 *
+	 * @param random the random number generator
+	 * @return a random time
+	 */
+	private static Instant randomTime(Random random) {
+		return BASE_TIME.plusSeconds(60L * random.nextInt(1000));
+	}
+
+	/**
+	 * Create a product query with a random selection rule of one or two policies, a random job interval and random product
+	 * class and processing facility
+	 *
+	 * @param random the random number generator
+	 * @param id the database ID of the product query
+	 * @param productClasses the product classes to choose from
+	 * @param facilities the processing facilities to choose from
+	 * @return a product query
+	 */
+	private static ProductQuery randomQuery(Random random, long id, List<ProductClass> productClasses,
+			List<ProcessingFacility> facilities) {
+		SimpleSelectionRule selectionRule = new SimpleSelectionRule();
+		List<SimplePolicy> simplePolicies = new ArrayList<>();
+		for (int i = 0; i < 1 + random.nextInt(2); ++i) {
+			SimplePolicy simplePolicy = new SimplePolicy();
+			simplePolicy.setPolicyType(POLICY_TYPES.get(random.nextInt(POLICY_TYPES.size())));
+			simplePolicy.setDeltaTimes(Arrays.asList(new DeltaTime(random.nextInt(120), TimeUnit.MINUTES),
+					new DeltaTime(random.nextInt(3), TimeUnit.HOURS)));
+			simplePolicies.add(simplePolicy);
+		}
+		selectionRule.setSimplePolicies(simplePolicies);
+
+		Job job = new Job();
+		job.setProcessingFacility(facilities.get(random.nextInt(facilities.size())));
+		job.setStartTime(randomTime(random));
+		job.setStopTime(job.getStartTime().plusSeconds(60L * random.nextInt(300)));
+		JobStep jobStep = new JobStep();
+		jobStep.setJob(job);
+
+		ProductQuery productQuery = new ProductQuery();
+		productQuery.setId(id);
+		productQuery.setJobStep(jobStep);
+		productQuery.setGeneratingRule(selectionRule);
+		productQuery.setRequestedProductClass(productClasses.get(random.nextInt(productClasses.size())));
+		return productQuery;
+	}
+
+	/**
+	 * Determine the product queries, which may be satisfied by the given product, by checking all product queries
+	 *
+	 * @param productQueries the product queries to check
+	 * @param productClass the product class of the product
+	 * @param facility the processing facility of the product
+	 * @param startTime the sensing start time of the product
+	 * @param stopTime the sensing stop time of the product
+	 * @return the IDs of the matching product queries
+	 */
+	private static Set<Long> findCandidates(List<ProductQuery> productQueries, ProductClass productClass,
+			ProcessingFacility facility, Instant startTime, Instant stopTime) {
+		Set<Long> candidates = new HashSet<>();
+		for (ProductQuery productQuery : productQueries) {
+			Job job = productQuery.getJobStep().getJob();
+			if (!productQuery.getRequestedProductClass().getId().equals(productClass.getId())
+					|| !job.getProcessingFacility().getId().equals(facility.getId())) {
+				continue;
+			}
+			boolean bounded = true;
+			long maxDeltaT0 = 0;
+			long maxDeltaT1 = 0;
+			for (SimplePolicy simplePolicy : productQuery.getGeneratingRule().getSimplePolicies()) {
+				bounded = bounded && simplePolicy.isValidityBounded();
+				maxDeltaT0 = Math.max(maxDeltaT0, simplePolicy.getDeltaTimeT0().toMilliseconds());
+				maxDeltaT1 = Math.max(maxDeltaT1, simplePolicy.getDeltaTimeT1().toMilliseconds());
+			}
+			if (!bounded || !startTime.isAfter(job.getStopTime().plusMillis(maxDeltaT1))
+					&& !stopTime.isBefore(job.getStartTime().minusMillis(maxDeltaT0))) {
+				candidates.add(productQuery.getId());
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Test that the index returns the same candidates as checking all product queries, also after removing product queries
+	 */
+	@Test
+	public void testFindCandidates() {
+		Random random = new Random(4711);
+
+		List<ProductClass> productClasses = new ArrayList<>();
+		for (long i = 1; i <= TEST_CLASSES; ++i) {
+			ProductClass productClass = new ProductClass();
+			productClass.setId(i);
+			productClasses.add(productClass);
+		}
+		List<ProcessingFacility> facilities = new ArrayList<>();
+		for (long i = 1; i <= TEST_FACILITIES; ++i) {
+			ProcessingFacility facility = new ProcessingFacility();
+			facility.setId(i);
+			facility.setName("Facility " + i);
+			facilities.add(facility);
+		}
+
+		ProductQueryIndex index = new ProductQueryIndex();
+		List<ProductQuery> productQueries = new ArrayList<>();
+		for (long id = 1; id <= TEST_QUERIES; ++id) {
+			ProductQuery productQuery = randomQuery(random, id, productClasses, facilities);
+			productQueries.add(productQuery);
+			index.add(productQuery);
+		}
+
+		for (int pass = 0; pass < 2; ++pass) {
+			int nonEmptyResults = 0;
+			for (int i = 0; i < TEST_PRODUCTS; ++i) {
+				ProductClass productClass = productClasses.get(random.nextInt(productClasses.size()));
+				ProcessingFacility facility = facilities.get(random.nextInt(facilities.size()));
+				Instant startTime = randomTime(random);
+				Instant stopTime = (random.nextInt(10) == 0 ? startTime : startTime.plusSeconds(60L * random.nextInt(60)));
+
+				Set<Long> expected = findCandidates(productQueries, productClass, facility, startTime, stopTime);
+				assertEquals(String.format("Different candidates in pass %d for product %d (%s, %s)", pass, i, startTime, stopTime),
+						expected, index.findCandidates(productClass.getId(), facility.getId(), startTime, stopTime));
+				if (!expected.isEmpty()) {
+					++nonEmptyResults;
+				}
+			}
+			assertTrue("Too few non-empty results", nonEmptyResults > TEST_PRODUCTS / 2);
+
+			// Remove (or re-add) some product queries for the next pass
+			List<ProductQuery> remainingQueries = new ArrayList<>();
+			for (ProductQuery productQuery : productQueries) {
+				if (random.nextBoolean()) {
+					index.remove(productQuery.getId());
+				} else {
+					if (random.nextBoolean()) {
+						index.add(productQuery);
+					}
+					remainingQueries.add(productQuery);
+				}
+			}
+			productQueries = remainingQueries;
+		}
+
+		// Unknown product class or facility
+		assertTrue("Unexpected candidates for unknown product class",
+				index.findCandidates(TEST_CLASSES + 1, 1, BASE_TIME, BASE_TIME.plusSeconds(3600)).isEmpty());
+	}
+
+}
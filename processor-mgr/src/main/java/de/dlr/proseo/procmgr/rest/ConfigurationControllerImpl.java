@@ -5,6 +5,7 @@
  */
 package de.dlr.proseo.procmgr.rest;
 
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.List;
 
@@ -22,6 +23,8 @@ import org.springframework.web.client.HttpClientErrorException;
 import de.dlr.proseo.logging.http.HttpPrefix;
 import de.dlr.proseo.logging.http.ProseoHttp;
 import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.model.service.SecurityService;
+import de.dlr.proseo.model.util.VersionedResponseCache;
 import de.dlr.proseo.procmgr.rest.model.RestConfiguration;
 
 /**
@@ -36,6 +39,16 @@ public class ConfigurationControllerImpl implements ConfigurationController {
 	@Autowired
 	private ConfigurationManager configurationManager;
 
+	/** Utility class for user authorizations */
+	@Autowired
+	private SecurityService securityService;
+
+	/** Maximum number of cached configuration responses */
+	private static final int RESPONSE_CACHE_SIZE = 100;
+
+	/** Cache for configuration responses (validated against the configuration versions) */
+	private final VersionedResponseCache responseCache = new VersionedResponseCache(RESPONSE_CACHE_SIZE);
+
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(ConfigurationControllerImpl.class);
 	private static ProseoHttp http = new ProseoHttp(logger, HttpPrefix.PROCESSOR_MGR);
@@ -61,9 +74,12 @@ public class ConfigurationControllerImpl implements ConfigurationController {
 			logger.trace(">>> getConfigurations({}, {}, {})", mission, processorName, configurationVersion);
 
 		try {
-			return new ResponseEntity<>(
-					configurationManager.getConfigurations(mission, id, processorName, configurationVersion, productQuality, processingMode, recordFrom, recordTo, orderBy),
-					HttpStatus.OK);
+			return responseCache.getResponse("configurations|" + securityService.getMission() + "|" + mission + "|" + id + "|"
+					+ Arrays.toString(processorName) + "|" + configurationVersion + "|" + Arrays.toString(productQuality) + "|"
+					+ Arrays.toString(processingMode) + "|" + recordFrom + "|" + recordTo + "|" + Arrays.toString(orderBy),
+					configurationManager.getVersionTag(), VersionedResponseCache.getIfNoneMatch(),
+					() -> configurationManager.getConfigurations(mission, id, processorName, configurationVersion, productQuality,
+							processingMode, recordFrom, recordTo, orderBy));
 		} catch (NoResultException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
 		} catch (SecurityException e) {
@@ -87,7 +103,9 @@ public class ConfigurationControllerImpl implements ConfigurationController {
 			logger.trace(">>> createConfiguration({})", (null == configuration ? "MISSING" : configuration.getProcessorName()));
 
 		try {
-			return new ResponseEntity<>(configurationManager.createConfiguration(configuration), HttpStatus.CREATED);
+			RestConfiguration restConfiguration = configurationManager.createConfiguration(configuration);
+			responseCache.invalidate();
+			return new ResponseEntity<>(restConfiguration, HttpStatus.CREATED);
 		} catch (IllegalArgumentException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.BAD_REQUEST);
 		} catch (SecurityException e) {
@@ -110,7 +128,8 @@ public class ConfigurationControllerImpl implements ConfigurationController {
 			logger.trace(">>> getConfigurationById({})", id);
 
 		try {
-			return new ResponseEntity<>(configurationManager.getConfigurationById(id), HttpStatus.OK);
+			return responseCache.getResponse("configuration|" + securityService.getMission() + "|" + id,
+					configurationManager.getVersionTag(), VersionedResponseCache.getIfNoneMatch(), () -> configurationManager.getConfigurationById(id));
 		} catch (NoResultException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
 		} catch (IllegalArgumentException e) {
@@ -142,6 +161,7 @@ public class ConfigurationControllerImpl implements ConfigurationController {
 
 		try {
 			RestConfiguration changedConfiguration = configurationManager.modifyConfiguration(id, configuration);
+			responseCache.invalidate();
 			HttpStatus httpStatus = (configuration.getVersion() == changedConfiguration.getVersion() ? HttpStatus.NOT_MODIFIED
 					: HttpStatus.OK);
 			return new ResponseEntity<>(changedConfiguration, httpStatus);
@@ -172,6 +192,7 @@ public class ConfigurationControllerImpl implements ConfigurationController {
 
 		try {
 			configurationManager.deleteConfigurationById(id);
+			responseCache.invalidate();
 			return new ResponseEntity<>(new HttpHeaders(), HttpStatus.NO_CONTENT);
 		} catch (EntityNotFoundException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
@@ -36,10 +36,14 @@ import de.dlr.proseo.logging.messages.ProcessorMgrMessage;
 import de.dlr.proseo.model.Configuration;
 import de.dlr.proseo.model.ConfigurationFile;
 import de.dlr.proseo.model.ConfigurationInputFile;
+import de.dlr.proseo.model.ConfiguredProcessor;
+import de.dlr.proseo.model.Mission;
 import de.dlr.proseo.model.Parameter;
+import de.dlr.proseo.model.ProcessorClass;
 import de.dlr.proseo.model.enums.ProductQuality;
 import de.dlr.proseo.model.service.RepositoryService;
 import de.dlr.proseo.model.service.SecurityService;
+import de.dlr.proseo.model.util.VersionedResponseCache;
 import de.dlr.proseo.procmgr.ProcessorManagerConfiguration;
 import de.dlr.proseo.procmgr.rest.model.ConfigurationUtil;
 import de.dlr.proseo.procmgr.rest.model.RestConfiguration;
@@ -72,6 +76,19 @@ public class ConfigurationManager {
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(ConfigurationManager.class);
 
+	/**
+	 * Get the state of the configuration tables for validating cached responses
+	 *
+	 * @return a version tag, which changes with any modification of configurations or their input files, and with any
+	 *         modification of the missions, processor classes and configured processors referenced in the configuration
+	 *         representation
+	 */
+	@Transactional(isolation = Isolation.REPEATABLE_READ, readOnly = true)
+	public String getVersionTag() {
+		return VersionedResponseCache.queryVersionTag(em, Configuration.class, ConfigurationInputFile.class, Mission.class,
+				ProcessorClass.class, ConfiguredProcessor.class);
+	}
+
 	/**
 	 * Get configurations by mission, processor name and configuration version
 	 *
@@ -5,6 +5,7 @@
  */
 package de.dlr.proseo.procmgr.rest;
 
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.List;
 
@@ -24,6 +25,8 @@ import org.springframework.web.client.HttpClientErrorException;
 import de.dlr.proseo.logging.http.HttpPrefix;
 import de.dlr.proseo.logging.http.ProseoHttp;
 import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.model.service.SecurityService;
+import de.dlr.proseo.model.util.VersionedResponseCache;
 import de.dlr.proseo.procmgr.rest.model.RestWorkflow;
 
 /**
@@ -42,6 +45,16 @@ public class WorkflowControllerImpl implements WorkflowController {
 	@Autowired
 	private WorkflowMgr workflowManager;
 
+	/** Utility class for user authorizations */
+	@Autowired
+	private SecurityService securityService;
+
+	/** Maximum number of cached workflow responses */
+	private static final int RESPONSE_CACHE_SIZE = 100;
+
+	/** Cache for workflow responses (validated against the workflow versions) */
+	private final VersionedResponseCache responseCache = new VersionedResponseCache(RESPONSE_CACHE_SIZE);
+
 	/** JPA entity manager */
 	@PersistenceContext
 	private EntityManager em;
@@ -98,8 +111,11 @@ public class WorkflowControllerImpl implements WorkflowController {
 					configuredProcessor);
 
 		try {
-			return new ResponseEntity<>(workflowManager.getWorkflows(missionCode, workflowName, workflowVersion, inputProductClass,
-					configuredProcessor, enabled, recordFrom, recordTo, orderBy), HttpStatus.OK);
+			return responseCache.getResponse("workflows|" + securityService.getMission() + "|" + missionCode + "|" + workflowName
+					+ "|" + workflowVersion + "|" + inputProductClass + "|" + configuredProcessor + "|" + enabled + "|" + recordFrom
+					+ "|" + recordTo + "|" + Arrays.toString(orderBy), workflowManager.getVersionTag(), VersionedResponseCache.getIfNoneMatch(),
+					() -> workflowManager.getWorkflows(missionCode, workflowName, workflowVersion, inputProductClass,
+							configuredProcessor, enabled, recordFrom, recordTo, orderBy));
 		} catch (NoResultException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
 		} catch (SecurityException e) {
@@ -123,7 +139,9 @@ public class WorkflowControllerImpl implements WorkflowController {
 			logger.trace(">>> createWorkflow({})", (null == workflow ? "MISSING" : workflow.getName()));
 
 		try {
-			return new ResponseEntity<>(workflowManager.createWorkflow(workflow), HttpStatus.CREATED);
+			RestWorkflow restWorkflow = workflowManager.createWorkflow(workflow);
+			responseCache.invalidate();
+			return new ResponseEntity<>(restWorkflow, HttpStatus.CREATED);
 		} catch (IllegalArgumentException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.BAD_REQUEST);
 		} catch (SecurityException e) {
@@ -144,7 +162,8 @@ public class WorkflowControllerImpl implements WorkflowController {
 			logger.trace(">>> getWorkflowById({})", id);
 
 		try {
-			return new ResponseEntity<>(workflowManager.getWorkflowById(id), HttpStatus.OK);
+			return responseCache.getResponse("workflow|" + securityService.getMission() + "|" + id, workflowManager.getVersionTag(),
+					VersionedResponseCache.getIfNoneMatch(), () -> workflowManager.getWorkflowById(id));
 		} catch (IllegalArgumentException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.BAD_REQUEST);
 		} catch (NoResultException e) {
@@ -169,6 +188,7 @@ public class WorkflowControllerImpl implements WorkflowController {
 
 		try {
 			workflowManager.deleteWorkflowById(id);
+			responseCache.invalidate();
 			return new ResponseEntity<>(new HttpHeaders(), HttpStatus.NO_CONTENT);
 		} catch (EntityNotFoundException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
@@ -196,6 +216,7 @@ public class WorkflowControllerImpl implements WorkflowController {
 
 		try {
 			RestWorkflow changedWorkflow = workflowManager.modifyWorkflow(id, workflow);
+			responseCache.invalidate();
 			HttpStatus httpStatus = (workflow.getVersion() == changedWorkflow.getVersion() ? HttpStatus.NOT_MODIFIED
 					: HttpStatus.OK);
 			return new ResponseEntity<>(changedWorkflow, httpStatus);
@@ -35,7 +35,10 @@ import de.dlr.proseo.logging.messages.ProcessorMgrMessage;
 import de.dlr.proseo.model.ClassOutputParameter;
 import de.dlr.proseo.model.ConfiguredProcessor;
 import de.dlr.proseo.model.InputFilter;
+import de.dlr.proseo.model.Mission;
 import de.dlr.proseo.model.Parameter;
+import de.dlr.proseo.model.Processor;
+import de.dlr.proseo.model.ProcessorClass;
 import de.dlr.proseo.model.ProductClass;
 import de.dlr.proseo.model.Workflow;
 import de.dlr.proseo.model.WorkflowOption;
@@ -45,6 +48,7 @@ import de.dlr.proseo.model.enums.ParameterType;
 import de.dlr.proseo.model.service.RepositoryService;
 import de.dlr.proseo.model.service.SecurityService;
 import de.dlr.proseo.model.util.OrbitTimeFormatter;
+import de.dlr.proseo.model.util.VersionedResponseCache;
 import de.dlr.proseo.procmgr.ProcessorManagerConfiguration;
 import de.dlr.proseo.procmgr.rest.model.RestClassOutputParameter;
 import de.dlr.proseo.procmgr.rest.model.RestInputFilter;
@@ -144,6 +148,19 @@ public class WorkflowMgr {
 		return query;
 	}
 
+	/**
+	 * Get the state of the workflow tables for validating cached responses
+	 *
+	 * @return a version tag, which changes with any modification of workflows or their options, output parameters or input
+	 *         filters, and with any modification of the missions, product classes, configured processors, processors and
+	 *         processor classes referenced in the workflow representation
+	 */
+	@Transactional(isolation = Isolation.REPEATABLE_READ, readOnly = true)
+	public String getVersionTag() {
+		return VersionedResponseCache.queryVersionTag(em, Workflow.class, WorkflowOption.class, ClassOutputParameter.class,
+				InputFilter.class, Mission.class, ProductClass.class, ConfiguredProcessor.class, Processor.class, ProcessorClass.class);
+	}
+
 	/**
 	 * Count the workflows matching the specified workflowName, workflowVersion, inputProductClass, or configured processor.
 	 *
@@ -5,6 +5,7 @@
  */
 package de.dlr.proseo.prodclmgr.rest;
 
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.List;
 
@@ -23,6 +24,8 @@ import org.springframework.web.client.HttpClientErrorException;
 import de.dlr.proseo.logging.http.HttpPrefix;
 import de.dlr.proseo.logging.http.ProseoHttp;
 import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.model.service.SecurityService;
+import de.dlr.proseo.model.util.VersionedResponseCache;
 import de.dlr.proseo.prodclmgr.rest.model.RestProductClass;
 import de.dlr.proseo.prodclmgr.rest.model.SelectionRuleString;
 
@@ -39,10 +42,20 @@ public class ProductClassControllerImpl implements ProductclassController {
 	@Autowired
 	private ProductClassManager productClassManager;
 
+	/** Utility class for user authorizations */
+	@Autowired
+	private SecurityService securityService;
+
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(ProductClassControllerImpl.class);
 	private static ProseoHttp http = new ProseoHttp(logger, HttpPrefix.PRODUCTCLASS_MGR);
 
+	/** Maximum number of cached product class responses */
+	private static final int RESPONSE_CACHE_SIZE = 200;
+
+	/** Cache for product class responses (validated against the product class and selection rule versions) */
+	private final VersionedResponseCache responseCache = new VersionedResponseCache(RESPONSE_CACHE_SIZE);
+
 	/**
 	 * Get product classes, optionally filtered by mission and/or product type
 	 *
@@ -58,7 +71,10 @@ public class ProductClassControllerImpl implements ProductclassController {
 			logger.trace(">>> getRestProductClass({}, {}, {})", mission, productType);
 
 		try {
-			return new ResponseEntity<>(productClassManager.getProductClassNames(mission, productType), HttpStatus.OK);
+			return responseCache.getResponse(
+					"names|" + securityService.getMission() + "|" + mission + "|" + productType,
+					productClassManager.getVersionTag(), VersionedResponseCache.getIfNoneMatch(),
+					() -> productClassManager.getProductClassNames(mission, productType));
 		} catch (NoResultException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
 		} catch (SecurityException e) {
@@ -119,8 +135,11 @@ public class ProductClassControllerImpl implements ProductclassController {
 			logger.trace(">>> getRestProductClass({}, {}, {})", mission, productType);
 
 		try {
-			return new ResponseEntity<>(productClassManager.getRestProductClass(mission, productType, processorClass, level,
-					visibility, orderBy, recordFrom, recordTo), HttpStatus.OK);
+			return responseCache.getResponse("classes|" + securityService.getMission() + "|" + mission + "|"
+					+ Arrays.toString(productType) + "|" + Arrays.toString(processorClass) + "|" + level + "|" + visibility + "|"
+					+ recordFrom + "|" + recordTo + "|" + Arrays.toString(orderBy), productClassManager.getVersionTag(), VersionedResponseCache.getIfNoneMatch(),
+					() -> productClassManager.getRestProductClass(mission, productType, processorClass, level, visibility, orderBy,
+							recordFrom, recordTo));
 		} catch (NoResultException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
 		} catch (SecurityException e) {
@@ -144,7 +163,9 @@ public class ProductClassControllerImpl implements ProductclassController {
 			logger.trace(">>> createRestProductClass({})", (null == productClass ? "MISSING" : productClass.getProductType()));
 
 		try {
-			return new ResponseEntity<>(productClassManager.createRestProductClass(productClass), HttpStatus.CREATED);
+			RestProductClass restProductClass = productClassManager.createRestProductClass(productClass);
+			responseCache.invalidate();
+			return new ResponseEntity<>(restProductClass, HttpStatus.CREATED);
 		} catch (ServerErrorException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.resolve(e.getResponse().getStatus()));
 		} catch (IllegalArgumentException e) {
@@ -168,7 +189,8 @@ public class ProductClassControllerImpl implements ProductclassController {
 			logger.trace(">>> getRestProductClassById({})", id);
 
 		try {
-			return new ResponseEntity<>(productClassManager.getRestProductClassById(id), HttpStatus.OK);
+			return responseCache.getResponse("class|" + securityService.getMission() + "|" + id, productClassManager.getVersionTag(),
+					VersionedResponseCache.getIfNoneMatch(), () -> productClassManager.getRestProductClassById(id));
 		} catch (NoResultException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
 		} catch (IllegalArgumentException e) {
@@ -197,6 +219,7 @@ public class ProductClassControllerImpl implements ProductclassController {
 
 		try {
 			RestProductClass changedProductClass = productClassManager.modifyRestProductClass(id, productClass);
+			responseCache.invalidate();
 			HttpStatus httpStatus = (productClass.getVersion() == changedProductClass.getVersion() ? HttpStatus.NOT_MODIFIED
 					: HttpStatus.OK);
 			return new ResponseEntity<>(changedProductClass, httpStatus);
@@ -227,6 +250,7 @@ public class ProductClassControllerImpl implements ProductclassController {
 
 		try {
 			productClassManager.deleteProductclassById(id);
+			responseCache.invalidate();
 			return new ResponseEntity<>(new HttpHeaders(), HttpStatus.NO_CONTENT);
 		} catch (EntityNotFoundException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
@@ -279,8 +303,9 @@ public class ProductClassControllerImpl implements ProductclassController {
 					(null == selectionRuleStrings ? "MISSING" : selectionRuleStrings.size()));
 
 		try {
-			return new ResponseEntity<>(productClassManager.createSelectionRuleString(id, selectionRuleStrings),
-					HttpStatus.CREATED);
+			RestProductClass restProductClass = productClassManager.createSelectionRuleString(id, selectionRuleStrings);
+			responseCache.invalidate();
+			return new ResponseEntity<>(restProductClass, HttpStatus.CREATED);
 		} catch (IllegalArgumentException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.BAD_REQUEST);
 		} catch (SecurityException e) {
@@ -334,6 +359,7 @@ public class ProductClassControllerImpl implements ProductclassController {
 		try {
 			SelectionRuleString changedSelectionRuleString = productClassManager.modifySelectionRuleString(ruleid, id,
 					selectionRuleString);
+			responseCache.invalidate();
 			HttpStatus httpStatus = (selectionRuleString.getVersion() == changedSelectionRuleString.getVersion()
 					? HttpStatus.NOT_MODIFIED
 					: HttpStatus.OK);
@@ -366,6 +392,7 @@ public class ProductClassControllerImpl implements ProductclassController {
 
 		try {
 			productClassManager.deleteSelectionrule(ruleid, id);
+			responseCache.invalidate();
 			return new ResponseEntity<>(new HttpHeaders(), HttpStatus.NO_CONTENT);
 		} catch (EntityNotFoundException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
@@ -394,7 +421,9 @@ public class ProductClassControllerImpl implements ProductclassController {
 			logger.trace(">>> addProcessorToRule({}, {}, {})", configuredProcessor, ruleid, id);
 
 		try {
-			return new ResponseEntity<>(productClassManager.addProcessorToRule(configuredProcessor, ruleid, id), HttpStatus.OK);
+			SelectionRuleString selectionRuleString = productClassManager.addProcessorToRule(configuredProcessor, ruleid, id);
+			responseCache.invalidate();
+			return new ResponseEntity<>(selectionRuleString, HttpStatus.OK);
 		} catch (EntityNotFoundException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
 		} catch (IllegalArgumentException e) {
@@ -423,8 +452,9 @@ public class ProductClassControllerImpl implements ProductclassController {
 			logger.trace(">>> removeProcessorFromRule({}, {}, {})", configuredProcessor, ruleid, id);
 
 		try {
-			return new ResponseEntity<>(productClassManager.removeProcessorFromRule(configuredProcessor, ruleid, id),
-					HttpStatus.OK);
+			SelectionRuleString selectionRuleString = productClassManager.removeProcessorFromRule(configuredProcessor, ruleid, id);
+			responseCache.invalidate();
+			return new ResponseEntity<>(selectionRuleString, HttpStatus.OK);
 		} catch (EntityNotFoundException e) {
 			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.NOT_FOUND);
 		} catch (IllegalArgumentException e) {
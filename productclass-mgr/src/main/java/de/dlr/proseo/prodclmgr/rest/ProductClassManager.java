@@ -48,6 +48,7 @@ import de.dlr.proseo.model.enums.ProductVisibility;
 import de.dlr.proseo.model.service.RepositoryService;
 import de.dlr.proseo.model.service.SecurityService;
 import de.dlr.proseo.model.util.SelectionRule;
+import de.dlr.proseo.model.util.VersionedResponseCache;
 import de.dlr.proseo.prodclmgr.ProductClassConfiguration;
 import de.dlr.proseo.prodclmgr.rest.model.ProductClassUtil;
 import de.dlr.proseo.prodclmgr.rest.model.RestParameter;
@@ -201,6 +202,19 @@ public class ProductClassManager {
 		modelProductClass.setProcessorClass(processorClass);
 	}
 
+	/**
+	 * Get the state of the product class and selection rule tables for validating cached responses
+	 *
+	 * @return a version tag, which changes with any modification of product classes or selection rules, and with any
+	 *         modification of the missions, processor classes and configured processors referenced in the product class
+	 *         representation
+	 */
+	@Transactional(isolation = Isolation.REPEATABLE_READ, readOnly = true)
+	public String getVersionTag() {
+		return VersionedResponseCache.queryVersionTag(em, ProductClass.class, SimpleSelectionRule.class, SimplePolicy.class,
+				Mission.class, ProcessorClass.class, ConfiguredProcessor.class);
+	}
+
 	/**
 	 * Get product classes, optionally filtered by mission and/or product type
 	 *
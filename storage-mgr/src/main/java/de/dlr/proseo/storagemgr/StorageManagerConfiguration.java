@@ -76,6 +76,10 @@ public class StorageManagerConfiguration {
 
 	@Value("${proseo.joborder.prefix}")
 	private String joborderPrefix;
+
+	/** Maximum size of the in-memory job order cache in MiB (0 disables the cache) */
+	@Value("${proseo.joborder.cacheSize:16}")
+	private Integer joborderCacheSize;
 	
 	/** Default type for backend storage */
 	@Value("${proseo.storageManager.defaultStorageType}")
@@ -105,6 +109,18 @@ public class StorageManagerConfiguration {
 	@Value("${proseo.storageManager.cache.maximumUsage}")
 	private Integer maximumCacheUsage;
 
+	/** Maximum number of parallel product file transfers in a batch upload */
+	@Value("${proseo.storageManager.transfer.maxThreads:6}")
+	private Integer maxTransferThreads;
+
+	/** Maximum number of parallel file deletions in a POSIX batch deletion */
+	@Value("${proseo.storageManager.delete.maxThreads:8}")
+	private Integer maxDeleteThreads;
+
+	/** Let the servlet container send POSIX files via sendfile ("zero-copy", if supported by the container) */
+	@Value("${proseo.storageManager.download.zeroCopy:true}")
+	private Boolean downloadZeroCopy;
+
 	/** Mounted default storage type to change it with storage set property */
 	String mountedDefaultStorageType = "";
 
@@ -236,6 +252,15 @@ public class StorageManagerConfiguration {
 		return joborderPrefix;
 	}
 
+	/**
+	 * Gets the maximum size of the in-memory job order cache
+	 * 
+	 * @return the maximum cache size in MiB
+	 */
+	public Integer getJoborderCacheSize() {
+		return joborderCacheSize;
+	}
+
 	/**
 	 * @return the joborderBucket
 	 */
@@ -296,6 +321,33 @@ public class StorageManagerConfiguration {
 		return maxDownloadThreads;
 	}
 	
+	/**
+	 * Gets the maximum number of parallel product file transfers in a batch upload
+	 * 
+	 * @return the maximum number of parallel product file transfers
+	 */
+	public Integer getMaxTransferThreads() {
+		return maxTransferThreads;
+	}
+	
+	/**
+	 * Gets the maximum number of parallel file deletions in a POSIX batch deletion
+	 * 
+	 * @return the maximum number of parallel file deletions
+	 */
+	public Integer getMaxDeleteThreads() {
+		return maxDeleteThreads;
+	}
+	
+	/**
+	 * Indicates whether downloads of POSIX files shall be served without copying the data through Java buffers
+	 * 
+	 * @return true, if zero-copy serving is enabled for POSIX files
+	 */
+	public Boolean getDownloadZeroCopy() {
+		return downloadZeroCopy;
+	}
+	
 	/**
 	 * @return the expected cache usage
 	 */
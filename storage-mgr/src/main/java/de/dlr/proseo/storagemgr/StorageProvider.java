@@ -495,6 +495,8 @@ public class StorageProvider {
 
 		posixConfiguration.setFileCheckWaitTime(cfg.getFileCheckWaitTime());
 
+		posixConfiguration.setMaxDeleteThreads(cfg.getMaxDeleteThreads());
+
 		return posixConfiguration;
 	}
 
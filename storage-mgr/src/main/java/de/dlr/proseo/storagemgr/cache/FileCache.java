@@ -4,10 +4,13 @@ import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import javax.annotation.PostConstruct;
 
@@ -105,7 +108,7 @@ public class FileCache {
 
 		// Ensure call is legal
 		if (!new File(pathKey).exists()) {
-			logger.log(StorageMgrMessage.CACHE_NO_FILE_FOR_PUTTING_TO_CACHE, pathKey);
+			logger.emit(StorageMgrMessage.CACHE_NO_FILE_FOR_PUTTING_TO_CACHE, pathKey);
 			return;
 		}
 
@@ -119,7 +122,7 @@ public class FileCache {
 		if (isTemporaryPrefixFile(pathKey)) {
 
 			deleteFile(pathKey);
-			logger.log(StorageMgrMessage.CACHE_TEMPORARY_FILE_DELETED, pathKey);
+			logger.emit(StorageMgrMessage.CACHE_TEMPORARY_FILE_DELETED, pathKey);
 		}
 
 		if (!mapCache.containsKey(pathKey)) {
@@ -215,7 +218,7 @@ public class FileCache {
 		if (status != CacheFileStatus.INCOMPLETE) {
 			if (!mapCache.containsKey(pathKey)) {
 				if (!new File(pathKey).exists()) {
-					logger.log(StorageMgrMessage.CACHE_NO_FILE_FOR_PUTTING_TO_CACHE, pathKey);
+					logger.emit(StorageMgrMessage.CACHE_NO_FILE_FOR_PUTTING_TO_CACHE, pathKey);
 				}
 				return;
 			}
@@ -297,12 +300,12 @@ public class FileCache {
 
 						++entryCount;
 					}
-					logger.log(StorageMgrMessage.CACHE_CLEANUP_REPORT, entryCount,
+					logger.emit(StorageMgrMessage.CACHE_CLEANUP_REPORT, entryCount,
 							(System.nanoTime() - startTime) / 1000000);
 
 					// We have a serious problem, if we still do not have enough cache space
 					if (getRealUsage() >= cfg.getMaximumCacheUsage()) {
-						logger.log(StorageMgrMessage.CACHE_NOT_ENOUGH_SPACE_AFTER_CLEANING, getRealUsage(),
+						logger.emit(StorageMgrMessage.CACHE_NOT_ENOUGH_SPACE_AFTER_CLEANING, getRealUsage(),
 								cfg.getMaximumCacheUsage());
 					}
 				}
@@ -385,6 +388,44 @@ public class FileCache {
 		mapCache.remove(pathKey);
 	}
 
+	/**
+	 * Removes the given cache elements with their cache files and auxiliary files in one pass; empty directories are
+	 * removed once after all files have been deleted. Paths not contained in the cache are ignored.
+	 * 
+	 * @param pathKeys the full paths of the cache files
+	 * @return the number of cache elements removed
+	 */
+	public int removeAll(Collection<String> pathKeys) {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> removeAll({} paths)", pathKeys.size());
+
+		int removed = 0;
+		Set<String> directories = new TreeSet<>(Comparator.reverseOrder());
+
+		for (String pathKey : pathKeys) {
+			if (!mapCache.containsKey(pathKey)) {
+				continue;
+			}
+
+			deleteFile(pathKey);
+			deleteFile(getAccessedPath(pathKey));
+			deleteFile(getStatusPath(pathKey));
+			deleteFile(getTemporaryPath(pathKey));
+
+			mapCache.remove(pathKey);
+			directories.add(new File(pathKey).getParent());
+			++removed;
+		}
+
+		// Subdirectories sort after their parents, so in reverse order they are visited first
+		for (String directory : directories) {
+			deleteEmptyDirectoriesToTop(directory);
+		}
+
+		return removed;
+	}
+
 	/**
 	 * Clears all cache elements only (files remain on disk)
 	 * 
@@ -550,7 +591,7 @@ public class FileCache {
 
 		// Ensure call is legal
 		if (!new File(pathKey).exists()) {
-			logger.log(StorageMgrMessage.CACHE_NO_FILE_FOR_PUTTING_TO_CACHE, pathKey);
+			logger.emit(StorageMgrMessage.CACHE_NO_FILE_FOR_PUTTING_TO_CACHE, pathKey);
 			return;
 		}
 		if (!pathKey.startsWith(cachePath)) {
@@ -908,7 +949,7 @@ public class FileCache {
 		if (file.exists()) {
 			if (!file.delete()) { // delete file
 				if (logger.isTraceEnabled())
-					logger.log(StorageMgrMessage.CACHE_FILE_NOT_DELETED, path);
+					logger.emit(StorageMgrMessage.CACHE_FILE_NOT_DELETED, path);
 			}
 		}
 	}
@@ -0,0 +1,196 @@
+/**
+ * JobOrderCache.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.storagemgr.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.storagemgr.StorageManagerConfiguration;
+
+/**
+ * In-memory cache for the Base64-encoded content of job order files, keyed by the path info returned to the clients.
+ *
+ * Job order files are written once and read by the processing engine wrapper shortly after, so the content can be served
+ * without accessing the backend storage (which for S3 means a network round trip). The cache is bounded by the total size of
+ * the cached content and evicts the least recently used entries first.
+ *
+ * @author Dr. Thomas Bassler
+ */
+@Component
+public class JobOrderCache {
+
+	/** Number of bytes per MiB */
+	private static final long MEGABYTE = 1024L * 1024L;
+
+	/** The storage manager configuration */
+	@Autowired
+	private StorageManagerConfiguration cfg;
+
+	/** Maximum total size of the cached content in characters (the cache is disabled, if zero or negative) */
+	private long maxSize;
+
+	/** Current total size of the cached content in characters */
+	private long currentSize = 0;
+
+	/** The cached job order contents in access order */
+	private final Map<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Number of cache hits */
+	private final AtomicLong hitCount = new AtomicLong();
+
+	/** Number of cache misses */
+	private final AtomicLong missCount = new AtomicLong();
+
+	/** A logger for this class */
+	private static ProseoLogger logger = new ProseoLogger(JobOrderCache.class);
+
+	/**
+	 * Creates a job order cache, which gets its size from the storage manager configuration
+	 */
+	public JobOrderCache() {
+	}
+
+	/**
+	 * Creates a job order cache with the given maximum size (for use outside a Spring context)
+	 *
+	 * @param maxSize the maximum total size of the cached content in characters
+	 */
+	public JobOrderCache(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Sets the maximum cache size from the configuration
+	 */
+	@PostConstruct
+	private void init() {
+		Integer cacheSize = cfg.getJoborderCacheSize();
+		maxSize = (null == cacheSize ? 0L : cacheSize * MEGABYTE);
+
+		if (logger.isTraceEnabled())
+			logger.trace("... job order cache initialized with maximum size {} characters", maxSize);
+	}
+
+	/**
+	 * Gets the cached content of a job order file
+	 *
+	 * @param pathInfo the path info of the job order file
+	 * @return the Base64-encoded content, or null, if the file is not cached
+	 */
+	public String get(String pathInfo) {
+		if (0 >= maxSize || null == pathInfo) {
+			return null;
+		}
+		String content;
+		synchronized (entries) {
+			content = entries.get(pathInfo);
+		}
+		if (null == content) {
+			missCount.incrementAndGet();
+		} else {
+			hitCount.incrementAndGet();
+		}
+		return content;
+	}
+
+	/**
+	 * Adds the content of a job order file to the cache, evicting the least recently used entries as necessary (content larger
+	 * than the maximum cache size is not cached)
+	 *
+	 * @param pathInfo the path info of the job order file
+	 * @param content  the Base64-encoded content
+	 */
+	public void put(String pathInfo, String content) {
+		if (0 >= maxSize || null == pathInfo || null == content || content.length() > maxSize) {
+			return;
+		}
+		synchronized (entries) {
+			String previousContent = entries.put(pathInfo, content);
+			if (null != previousContent) {
+				currentSize -= previousContent.length();
+			}
+			currentSize += content.length();
+
+			Iterator<Map.Entry<String, String>> iterator = entries.entrySet().iterator();
+			while (currentSize > maxSize && iterator.hasNext()) {
+				Map.Entry<String, String> eldest = iterator.next();
+				currentSize -= eldest.getValue().length();
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes the given job order file and all job order files below the given path from the cache
+	 *
+	 * @param pathInfo the path info of a file or directory
+	 */
+	public void remove(String pathInfo) {
+		if (null == pathInfo) {
+			return;
+		}
+		String directoryPrefix = pathInfo.endsWith("/") ? pathInfo : pathInfo + "/";
+		synchronized (entries) {
+			Iterator<Map.Entry<String, String>> iterator = entries.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<String, String> entry = iterator.next();
+				if (entry.getKey().equals(pathInfo) || entry.getKey().startsWith(directoryPrefix)) {
+					currentSize -= entry.getValue().length();
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of cache entries
+	 *
+	 * @return the number of cache entries
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Gets the total size of the cached content
+	 *
+	 * @return the total size in characters
+	 */
+	public long getCurrentSize() {
+		synchronized (entries) {
+			return currentSize;
+		}
+	}
+
+	/**
+	 * Gets the number of cache hits
+	 *
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Gets the number of cache misses
+	 *
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+}
@@ -83,14 +83,14 @@ public class DefaultRetryStrategy<T> {
 		}
 
 		if (exception == null) {
-			logger.log(StorageMgrMessage.EXCEPTION_IS_NULL);
+			logger.emit(StorageMgrMessage.EXCEPTION_IS_NULL);
 			throw new IOException("Exception is null");
 
 		} else {
 			// If the maximum attempts are reached without a success, throw recorded
 			// exception.
 
-			logger.log(StorageMgrMessage.ATTEMPTS_WERE_NOT_SUCCESSFUL, maxAttempts,
+			logger.emit(StorageMgrMessage.ATTEMPTS_WERE_NOT_SUCCESSFUL, maxAttempts,
 					atomicCommand.getInfo() + exception.getMessage());
 			exception.printStackTrace();
 			throw exception;
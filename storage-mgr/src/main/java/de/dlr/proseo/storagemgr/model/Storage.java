@@ -7,6 +7,7 @@ package de.dlr.proseo.storagemgr.model;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  *
@@ -311,6 +312,17 @@ public interface Storage {
 	 */
 	public String downloadFile(StorageFile sourceFile, StorageFile targetFileOrDir) throws IOException;
 
+	/**
+	 * Copies a file from another location of the same storage type into the storage, without passing it through the
+	 * file cache (server-side copy for S3 storages, file system copy for POSIX storages).
+	 *
+	 * @param sourceFile the source file, must be of the same storage type as this storage
+	 * @param targetFile the target file in the storage
+	 * @return the copied storage file
+	 * @throws IOException if the source file has a different storage type or an error occurs while copying the file
+	 */
+	public String copyFile(StorageFile sourceFile, StorageFile targetFile) throws IOException;
+
 	/**
 	 * Deletes a file or directory recursively from the storage.
 	 *
@@ -339,6 +351,17 @@ public interface Storage {
 	 */
 	public List<String> delete(String relativeFileOrDir) throws IOException;
 
+	/**
+	 * Deletes several files from the storage in one operation. Directories are not deleted, files not existing in the
+	 * storage are considered deleted.
+	 *
+	 * @param relativeFiles the relative paths of the files to delete
+	 * @return the relative paths of the files, which could not be deleted, with the respective error messages (empty, if
+	 *         all files were deleted)
+	 * @throws IOException if the deletion fails as a whole
+	 */
+	public Map<String, String> deleteFiles(List<String> relativeFiles) throws IOException;
+
 	/**
 	 * Adds a file system prefix to the path.
 	 *
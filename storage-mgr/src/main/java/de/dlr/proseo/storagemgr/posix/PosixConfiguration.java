@@ -30,6 +30,9 @@ public class PosixConfiguration {
 	/** wait time */
 	private long fileCheckWaitTime;
 
+	/** max parallel file deletions */
+	private int maxDeleteThreads = 1;
+
 	
 	public String getBucket() {
 		return bucket;
@@ -75,10 +78,19 @@ public class PosixConfiguration {
 		this.fileCheckWaitTime = fileCheckWaitTime;
 	}
 
+	public int getMaxDeleteThreads() {
+		return maxDeleteThreads;
+	}
+
+	public void setMaxDeleteThreads(int maxDeleteThreads) {
+		this.maxDeleteThreads = maxDeleteThreads;
+	}
+
 	@Override
 	public String toString() {
 		return "PosixConfiguration [bucket=" + bucket + ", basePath=" + basePath + ", sourcePath=" + sourcePath
-				+ ", maxRequestAttempts=" + maxRequestAttempts + ", fileCheckWaitTime=" + fileCheckWaitTime + "]";
+				+ ", maxRequestAttempts=" + maxRequestAttempts + ", fileCheckWaitTime=" + fileCheckWaitTime
+				+ ", maxDeleteThreads=" + maxDeleteThreads + "]";
 	}
 
 }
\ No newline at end of file
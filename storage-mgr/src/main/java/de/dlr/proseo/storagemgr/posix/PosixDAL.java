@@ -13,6 +13,11 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.storagemgr.model.AtomicCommand;
@@ -392,6 +397,55 @@ public class PosixDAL {
 		return new FileUtils(sourceFile).deleteFile();
 	}
 
+	/**
+	 * Deletes several files in storage in parallel (at most maxDeleteThreads at a time). Directories are not deleted,
+	 * files not existing in the storage are considered deleted.
+	 *
+	 * @param files the files to delete
+	 * @return the files, which could not be deleted, with the respective error messages
+	 * @throws IOException if the deletion is interrupted
+	 */
+	public Map<String, String> deleteFiles(List<String> files) throws IOException {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> deleteFiles({} files)", files.size());
+
+		Map<String, String> failedFiles = new ConcurrentHashMap<>();
+		if (files.isEmpty()) {
+			return failedFiles;
+		}
+
+		List<Callable<Void>> deletions = new ArrayList<>();
+		for (String file : files) {
+			deletions.add(() -> {
+				Path path = Paths.get(file);
+				try {
+					if (Files.isDirectory(path)) {
+						failedFiles.put(file, "Path is a directory");
+					} else {
+						Files.deleteIfExists(path);
+					}
+				} catch (IOException | RuntimeException e) {
+					failedFiles.put(file, e.getClass().getSimpleName() + ": " + e.getMessage());
+				}
+				return null;
+			});
+		}
+
+		ExecutorService executor = Executors
+			.newFixedThreadPool(Math.max(1, Math.min(cfg.getMaxDeleteThreads(), files.size())));
+		try {
+			executor.invokeAll(deletions);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Deletion of files interrupted", e);
+		} finally {
+			executor.shutdown();
+		}
+
+		return failedFiles;
+	}
+
 	/**
 	 * Deletes file or directory in storage
 	 *
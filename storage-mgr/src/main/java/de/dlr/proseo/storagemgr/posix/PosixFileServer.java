@@ -0,0 +1,125 @@
+/**
+ * PosixFileServer.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.storagemgr.posix;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import de.dlr.proseo.logging.logger.ProseoLogger;
+
+/**
+ * Serves a byte range of a file in a POSIX file system to an HTTP client. The preferred way is to hand the file over to
+ * the servlet container for transfer by the operating system ("sendfile"), so the file data never enters the Java heap.
+ * If the container does not support this, the data is copied to the response output stream using a large buffer.
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class PosixFileServer {
+
+	/** Request attribute set by Tomcat, if the connector supports sendfile */
+	public static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+	/** Request attribute for the name of the file to send */
+	public static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+	/** Request attribute for the first byte to send */
+	public static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+	/** Request attribute for the end of the byte range to send (exclusive) */
+	public static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+	/** Buffer size for stream copying */
+	private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+	/** Logger for this class */
+	private static ProseoLogger logger = new ProseoLogger(PosixFileServer.class);
+
+	/** The file to serve */
+	private Path file;
+
+	/** The first byte to serve */
+	private long from;
+
+	/** The number of bytes to serve */
+	private long length;
+
+	/**
+	 * Constructor
+	 *
+	 * @param fullPath the absolute path of the file to serve
+	 * @param from     the first byte to serve
+	 * @param to       the last byte to serve (inclusive)
+	 */
+	public PosixFileServer(String fullPath, long from, long to) {
+
+		this.file = Paths.get(fullPath);
+		this.from = from;
+		this.length = Math.max(0, to - from + 1);
+	}
+
+	/**
+	 * Gets the number of bytes to serve
+	 *
+	 * @return the length of the byte range
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * Requests the servlet container to send the byte range using the operating system's sendfile mechanism, if the
+	 * container supports it. The caller must not write any response body, if this method returns true.
+	 *
+	 * @param request the current HTTP request
+	 * @return true, if the transfer has been handed over to the servlet container, false otherwise
+	 */
+	public boolean sendfile(HttpServletRequest request) {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> sendfile({})", file);
+
+		if (null == request || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+			return false;
+		}
+
+		request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+		request.setAttribute(SENDFILE_START_ATTR, Long.valueOf(from));
+		request.setAttribute(SENDFILE_END_ATTR, Long.valueOf(from + length));
+
+		return true;
+	}
+
+	/**
+	 * Copies the byte range to the given output stream
+	 *
+	 * @param out the output stream to write to
+	 * @return the number of bytes copied
+	 * @throws IOException if an I/O error occurs during the copy
+	 */
+	public long copyTo(OutputStream out) throws IOException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> copyTo({})", file);
+
+		long copied = 0;
+		try (InputStream source = new FileInputStream(file.toFile())) {
+			source.skipNBytes(from);
+			byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+			while (copied < length) {
+				int count = source.read(buffer, 0, (int) Math.min(buffer.length, length - copied));
+				if (count < 0) {
+					break;
+				}
+				out.write(buffer, 0, count);
+				copied += count;
+			}
+		}
+		out.flush();
+
+		return copied;
+	}
+}
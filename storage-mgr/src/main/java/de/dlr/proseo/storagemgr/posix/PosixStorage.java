@@ -13,7 +13,9 @@ import java.io.InputStream;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.logging.messages.StorageMgrMessage;
@@ -542,6 +544,29 @@ public class PosixStorage implements Storage {
 		return posixDAL.downloadFile(sourceFile.getFullPath(), targetFileOrDir.getFullPath());
 	}
 
+	/**
+	 * Copies a file from another POSIX location into the storage.
+	 * 
+	 * @param sourceFile the POSIX source file
+	 * @param targetFile the target file in the storage
+	 * @return the copied storage file
+	 * @throws IOException if the source file is not a POSIX file or the file cannot be copied
+	 */
+	@Override
+	public String copyFile(StorageFile sourceFile, StorageFile targetFile) throws IOException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> copyFile({},{})", sourceFile.getFullPath(), targetFile.getFullPath());
+
+		if (!StorageType.POSIX.equals(sourceFile.getStorageType())) {
+			throw new IOException(
+					logger.log(StorageMgrMessage.COPY_SOURCE_STORAGE_TYPE_MISMATCH, sourceFile.getFullPath(), StorageType.POSIX));
+		}
+
+		String copiedAbsoluteFile = posixDAL.copyFile(sourceFile.getFullPath(), targetFile.getFullPath());
+
+		return getRelativePath(copiedAbsoluteFile);
+	}
+
 	/**
 	 * Deletes the file or directory recursively from the storage.
 	 * 
@@ -590,6 +615,30 @@ public class PosixStorage implements Storage {
 		return posixDAL.delete(storageFileOrDir.getFullPath());
 	}
 
+	/**
+	 * Deletes several files from the storage in parallel.
+	 * 
+	 * @param relativeFiles the relative paths of the files to delete
+	 * @return the relative paths of the files, which could not be deleted, with the respective error messages
+	 * @throws IOException if the deletion is interrupted
+	 */
+	@Override
+	public Map<String, String> deleteFiles(List<String> relativeFiles) throws IOException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> deleteFiles({} files)", relativeFiles.size());
+
+		Map<String, String> fullPathToRelativeFile = new HashMap<>();
+		for (String relativeFile : relativeFiles) {
+			fullPathToRelativeFile.put(getStorageFile(relativeFile).getFullPath(), relativeFile);
+		}
+
+		Map<String, String> failedFiles = new HashMap<>();
+		posixDAL.deleteFiles(new ArrayList<>(fullPathToRelativeFile.keySet()))
+			.forEach((fullPath, message) -> failedFiles.put(fullPathToRelativeFile.getOrDefault(fullPath, fullPath), message));
+
+		return failedFiles;
+	}
+
 	/**
 	 * Adds the file system prefix to the path.
 	 * 
@@ -632,7 +681,7 @@ public class PosixStorage implements Storage {
 		try {
 			return new FileInputStream(fullpath);
 		} catch (FileNotFoundException e) {
-			logger.log(StorageMgrMessage.FILE_NOT_FOUND, fullpath);
+			logger.emit(StorageMgrMessage.FILE_NOT_FOUND, fullpath);
 			throw e;
 		}
 	}
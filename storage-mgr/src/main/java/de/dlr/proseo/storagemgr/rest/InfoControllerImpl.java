@@ -58,7 +58,7 @@ public class InfoControllerImpl implements InfoController {
 
 		response.setJoborder(joborder);
 
-		logger.log(StorageMgrMessage.REST_INFO_GOT);
+		logger.emit(StorageMgrMessage.REST_INFO_GOT);
 
 		return new ResponseEntity<>(response, HttpStatus.OK);
 	}
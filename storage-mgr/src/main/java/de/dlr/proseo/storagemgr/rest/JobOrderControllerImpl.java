@@ -5,12 +5,13 @@
  */
 package de.dlr.proseo.storagemgr.rest;
 
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 import javax.validation.Valid;
 
-import org.joda.time.DateTime;
-import org.joda.time.DateTimeZone;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +21,7 @@ import de.dlr.proseo.logging.logger.ProseoLogger;
 import de.dlr.proseo.logging.messages.StorageMgrMessage;
 import de.dlr.proseo.storagemgr.StorageManagerConfiguration;
 import de.dlr.proseo.storagemgr.StorageProvider;
+import de.dlr.proseo.storagemgr.cache.JobOrderCache;
 import de.dlr.proseo.storagemgr.model.Storage;
 import de.dlr.proseo.storagemgr.model.StorageFile;
 import de.dlr.proseo.storagemgr.rest.model.RestJoborder;
@@ -38,15 +40,25 @@ public class JobOrderControllerImpl implements JoborderController {
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(JobOrderControllerImpl.class);
 
+	/** Hash algorithm for content-addressed job order file names */
+	private static final String HASH_ALGORITHM = "SHA-256";
+
 	@Autowired
 	private StorageManagerConfiguration cfg;
 
 	@Autowired
 	private StorageProvider storageProvider;
 
+	/** In-memory cache for job order file contents */
+	@Autowired
+	private JobOrderCache jobOrderCache;
+
 	/**
-	 * Create a job order file with generic name out of base64 string contained in
-	 * RestJoborder. Store it into FS defined by fsType.
+	 * Create a job order file out of base64 string contained in RestJoborder. The
+	 * file name is derived from a hash of the content, so identical job orders
+	 * (e. g. for retried job steps) are stored only once: If a file with the same
+	 * content already exists, the upload is skipped and the existing file is
+	 * returned.
 	 * 
 	 * @param joborder Job order information
 	 * @return ResponseEntity as RestJoborder
@@ -67,11 +79,18 @@ public class JobOrderControllerImpl implements JoborderController {
 			return new ResponseEntity<>(createBadResponse(msg, jobOrder64), HttpStatus.FORBIDDEN);
 		}
 
-		String relativePath = getJobOrderRelativePath(cfg.getJoborderPrefix());
-
 		try {
-			StorageFile targetFile = storageProvider.createStorageFile(relativePath, jobOrder64);
-			logger.log(StorageMgrMessage.JOB_ORDER_FILE_UPLOADED, targetFile);
+			String relativePath = getJobOrderRelativePath(cfg.getJoborderPrefix(), jobOrder64);
+
+			StorageFile targetFile = storageProvider.getStorageFileFromDefaultStorage(relativePath);
+			if (storageProvider.getStorage().fileExists(targetFile)) {
+				logger.emit(StorageMgrMessage.JOB_ORDER_FILE_REUSED, targetFile.getFullPath());
+			} else {
+				targetFile = storageProvider.createStorageFile(relativePath, jobOrder64);
+				logger.emit(StorageMgrMessage.JOB_ORDER_FILE_UPLOADED, targetFile);
+			}
+			jobOrderCache.put(targetFile.getFullPath(), jobOrder64);
+
 			return new ResponseEntity<>(createOkResponse(targetFile, jobOrder64), HttpStatus.CREATED);
 
 		} catch (Exception e) {
@@ -104,6 +123,12 @@ public class JobOrderControllerImpl implements JoborderController {
 			return new ResponseEntity<>(logger.log(StorageMgrMessage.INVALID_PATH, pathInfo), HttpStatus.NOT_FOUND);
 		}
 
+		String cachedContent = jobOrderCache.get(pathInfo);
+		if (null != cachedContent) {
+			logger.emit(StorageMgrMessage.JOB_ORDER_FILE_GOT_FROM_CACHE, pathInfo);
+			return new ResponseEntity<>(cachedContent, HttpStatus.OK);
+		}
+
 		try {
 			Storage storage = storageProvider.getStorage(pathInfo);
 
@@ -111,8 +136,9 @@ public class JobOrderControllerImpl implements JoborderController {
 			StorageFile storageFile = storageProvider.getStorageFile(storage, relativePath);
 
 			String response = storage.getFileContent(storageFile);
+			jobOrderCache.put(pathInfo, response);
 
-			logger.log(StorageMgrMessage.JOB_ORDER_FILE_GOT, pathInfo);
+			logger.emit(StorageMgrMessage.JOB_ORDER_FILE_GOT, pathInfo);
 
 			return new ResponseEntity<>(response, HttpStatus.OK);
 
@@ -137,19 +163,28 @@ public class JobOrderControllerImpl implements JoborderController {
 	}
 
 	/**
-	 * Gets job order relative path "prefix/YYYY/MM/DD/WEEKDAY/HH/RandomUUID.xml
+	 * Gets the content-addressed job order relative path
+	 * "prefix/HH/HASH.xml", where HASH is the hexadecimal SHA-256 hash of the
+	 * Base64-encoded job order and HH are its first two characters (to limit the
+	 * number of files per directory)
 	 * 
 	 * @param joborderPrefix job order prefix
+	 * @param jobOrder64     the Base64-encoded job order
 	 * @return job order relative path
 	 */
-	private String getJobOrderRelativePath(String joborderPrefix) {
+	/* package */ static String getJobOrderRelativePath(String joborderPrefix, String jobOrder64) {
 
 		String separator = "/";
-		DateTime timestamp = DateTime.now(DateTimeZone.UTC);
+		String hash;
+		try {
+			hash = HexFormat.of()
+				.formatHex(MessageDigest.getInstance(HASH_ALGORITHM).digest(jobOrder64.getBytes(StandardCharsets.US_ASCII)));
+		} catch (NoSuchAlgorithmException e) {
+			// Cannot happen, SHA-256 is available in every Java platform implementation
+			throw new IllegalStateException(e);
+		}
 
-		return joborderPrefix + separator + timestamp.getYear() + separator + timestamp.getMonthOfYear() + separator
-				+ timestamp.getDayOfMonth() + separator + timestamp.getHourOfDay() + separator
-				+ UUID.randomUUID().toString() + ".xml";
+		return joborderPrefix + separator + hash.substring(0, 2) + separator + hash + ".xml";
 	}
 
 	/**
@@ -12,6 +12,7 @@ import java.io.UnsupportedEncodingException;
 import java.net.InetAddress;
 import java.net.URLDecoder;
 import java.net.UnknownHostException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.ParseException;
 import java.time.ZoneId;
@@ -19,7 +20,11 @@ import java.time.ZonedDateTime;
 import java.time.temporal.ChronoField;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import javax.validation.Valid;
 
@@ -31,6 +36,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSVerifier;
@@ -45,9 +54,12 @@ import de.dlr.proseo.logging.messages.StorageMgrMessage;
 import de.dlr.proseo.storagemgr.StorageManagerConfiguration;
 import de.dlr.proseo.storagemgr.StorageProvider;
 import de.dlr.proseo.storagemgr.cache.FileCache;
+import de.dlr.proseo.storagemgr.cache.JobOrderCache;
 import de.dlr.proseo.storagemgr.model.Storage;
 import de.dlr.proseo.storagemgr.model.StorageFile;
 import de.dlr.proseo.storagemgr.model.StorageType;
+import de.dlr.proseo.storagemgr.posix.PosixFileServer;
+import de.dlr.proseo.storagemgr.rest.model.RestFileDeletion;
 import de.dlr.proseo.storagemgr.rest.model.RestProductFS;
 import de.dlr.proseo.storagemgr.utils.PathConverter;
 
@@ -64,6 +76,9 @@ import de.dlr.proseo.storagemgr.utils.PathConverter;
 @Component
 public class ProductControllerImpl implements ProductController {
 
+	/** Maximum number of files in a batch deletion request */
+	private static final int MAX_BATCH_DELETE_PATHS = 10000;
+
 	/** A logger for this class */
 	private static ProseoLogger logger = new ProseoLogger(ProductControllerImpl.class);
 	private static ProseoHttp http = new ProseoHttp(logger, HttpPrefix.STORAGE_MGR);
@@ -75,6 +90,10 @@ public class ProductControllerImpl implements ProductController {
 	@Autowired
 	private StorageProvider storageProvider;
 
+	/** In-memory cache for job order file contents (job orders are deleted through this controller) */
+	@Autowired
+	private JobOrderCache jobOrderCache;
+
 	/**
 	 * Copy a file from "ingest" file system to storage manager controlled prosEO
 	 * cache. Source and target are defined in the restProductFS structure.
@@ -125,7 +144,7 @@ public class ProductControllerImpl implements ProductController {
 			RestProductFS response = setRestProductFS(restProductFS, targetFolder.getBasePath(), true,
 					targetFolder.getFullPath() + "/", allUploaded, false, "registration executed on node " + hostName);
 
-			logger.log(StorageMgrMessage.PRODUCTS_UPLOADED_TO_STORAGE, Integer.toString(allUploaded.size()),
+			logger.emit(StorageMgrMessage.PRODUCTS_UPLOADED_TO_STORAGE, Integer.toString(allUploaded.size()),
 					allUploaded.toString());
 
 			return new ResponseEntity<>(response, HttpStatus.CREATED);
@@ -174,7 +193,7 @@ public class ProductControllerImpl implements ProductController {
 				response = storageProvider.getDefaultStorage(StorageType.valueOf(storageType)).addFSPrefix(response);
 			}
 
-			logger.log(StorageMgrMessage.PRODUCT_FILES_LISTED, response.toString());
+			logger.emit(StorageMgrMessage.PRODUCT_FILES_LISTED, response.toString());
 
 			return new ResponseEntity<>(response, HttpStatus.OK);
 
@@ -278,6 +297,10 @@ public class ProductControllerImpl implements ProductController {
 			}
 			// token check end
 
+			if (StorageType.POSIX.equals(sourceFile.getStorageType()) && Boolean.TRUE.equals(cfg.getDownloadZeroCopy())) {
+				return getPosixFileResponse(pathInfo, sourceFile, fromByte, toByte);
+			}
+
 			InputStream stream = storage.getInputStream(sourceFile);
 			if (stream == null) {
 
@@ -291,9 +314,9 @@ public class ProductControllerImpl implements ProductController {
 			InputStreamResource fsr = new InputStreamResource(stream);
 
 			if (null == fromByte || null == toByte) {
-				logger.log(StorageMgrMessage.PRODUCT_FILE_DOWNLOADED_FROM_STORAGE, pathInfo);
+				logger.emit(StorageMgrMessage.PRODUCT_FILE_DOWNLOADED_FROM_STORAGE, pathInfo);
 			} else {
-				logger.log(StorageMgrMessage.PRODUCT_FILE_PARTIALLY_DOWNLOADED, pathInfo, Long.toString(fromByte),
+				logger.emit(StorageMgrMessage.PRODUCT_FILE_PARTIALLY_DOWNLOADED, pathInfo, Long.toString(fromByte),
 						Long.toString(toByte), Long.toString(toByte - fromByte));
 			}
 			return new ResponseEntity<>(fsr, headers, status);
@@ -342,9 +365,92 @@ public class ProductControllerImpl implements ProductController {
 
 			String relativePath = storageProvider.getRelativePath(pathInfo);
 			List<String> deletedFilesOrDir = storageProvider.getStorage().delete(relativePath);
+			jobOrderCache.remove(pathInfo);
 			RestProductFS response = createRestProductFilesDeleted(deletedFilesOrDir, storageType);
 
-			logger.log(StorageMgrMessage.PRODUCT_FILE_DELETED, pathInfo);
+			logger.emit(StorageMgrMessage.PRODUCT_FILE_DELETED, pathInfo);
+
+			return new ResponseEntity<>(response, HttpStatus.OK);
+
+		} catch (Exception e) {
+
+			String msg = logger.log(StorageMgrMessage.INTERNAL_ERROR, e.getMessage());
+			return new ResponseEntity<>(http.errorHeaders(msg), HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Delete several files from the default storage in one request (multi-object deletions for S3 storages, parallel
+	 * deletions for POSIX storages) and evict them from the file cache. Files not existing in the storage are considered
+	 * deleted, directories are not deleted.
+	 *
+	 * @param pathInfos the paths to the files to delete
+	 * @return a response entity containing HTTP status OK and the deletion result for each requested path (in request
+	 *         order), or HTTP status BAD_REQUEST and an error message, if too many paths are given, or HTTP status
+	 *         INTERNAL_SERVER_ERROR and an error message
+	 */
+	@Override
+	public ResponseEntity<List<RestFileDeletion>> deleteProductFiles(List<String> pathInfos) {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> deleteProductFiles({} paths)", null == pathInfos ? 0 : pathInfos.size());
+
+		if (null == pathInfos || pathInfos.isEmpty()) {
+			return new ResponseEntity<>(new ArrayList<>(), HttpStatus.OK);
+		}
+
+		if (MAX_BATCH_DELETE_PATHS < pathInfos.size()) {
+			String msg = logger.log(StorageMgrMessage.TOO_MANY_FILES_TO_DELETE, pathInfos.size(), MAX_BATCH_DELETE_PATHS);
+			return new ResponseEntity<>(http.errorHeaders(msg), HttpStatus.BAD_REQUEST);
+		}
+
+		long startTime = System.currentTimeMillis();
+
+		try {
+			Storage storage = storageProvider.getStorage();
+
+			// Convert the requested paths to relative paths in the default storage
+			Map<String, String> failedPaths = new HashMap<>();
+			Map<String, String> relativePaths = new LinkedHashMap<>();
+			for (String pathInfo : pathInfos) {
+				String relativePath = (null == pathInfo || pathInfo.isBlank() ? "" : storage.getRelativePath(pathInfo));
+				if (relativePath.isBlank()) {
+					failedPaths.put(pathInfo, logger.log(StorageMgrMessage.INVALID_PATH, pathInfo));
+				} else {
+					relativePaths.put(pathInfo, relativePath);
+				}
+			}
+
+			Map<String, String> failedRelativePaths = storage
+				.deleteFiles(new ArrayList<>(new LinkedHashSet<>(relativePaths.values())));
+
+			// Evict the deleted files from the caches
+			List<String> cacheKeys = new ArrayList<>();
+			for (Map.Entry<String, String> relativePath : relativePaths.entrySet()) {
+				String message = failedRelativePaths.get(relativePath.getValue());
+				if (null == message) {
+					cacheKeys.add(storageProvider.getCacheFile(relativePath.getValue()).getFullPath());
+					jobOrderCache.remove(relativePath.getKey());
+				} else {
+					failedPaths.put(relativePath.getKey(), message);
+					logger.emit(StorageMgrMessage.PRODUCT_FILE_DELETION_FAILED, relativePath.getKey(), message);
+				}
+			}
+			int evictedCount = FileCache.getInstance().removeAll(cacheKeys);
+
+			// Report the deletion result for each requested path
+			List<RestFileDeletion> response = new ArrayList<>();
+			int deletedCount = 0;
+			for (String pathInfo : pathInfos) {
+				String message = failedPaths.get(pathInfo);
+				response.add(new RestFileDeletion(pathInfo, null == message, message));
+				if (null == message) {
+					++deletedCount;
+				}
+			}
+
+			logger.emit(StorageMgrMessage.PRODUCT_FILES_DELETED, deletedCount, pathInfos.size(),
+					System.currentTimeMillis() - startTime, evictedCount);
 
 			return new ResponseEntity<>(response, HttpStatus.OK);
 
@@ -375,6 +481,79 @@ public class ProductControllerImpl implements ProductController {
 		return status;
 	}
 
+	/**
+	 * Creates the download response for a file in a POSIX file system: If the servlet container supports it, the file is
+	 * handed over to the container for transfer by the operating system ("sendfile"), so the file data is not copied
+	 * through Java buffers, otherwise the requested byte range is copied directly from the file to the response
+	 *
+	 * @param pathInfo   the requested path (for logging)
+	 * @param sourceFile the POSIX file to download
+	 * @param fromByte   from byte
+	 * @param toByte     to byte
+	 * @return a response entity with HTTP status OK or PARTIAL_CONTENT and the file headers, and the file data as streaming
+	 *         body (or no body, if the file is sent by the servlet container), or HTTP status NOT_FOUND and an error message
+	 * @throws IOException if the file size cannot be determined
+	 */
+	private ResponseEntity<?> getPosixFileResponse(String pathInfo, StorageFile sourceFile, Long fromByte, Long toByte)
+			throws IOException {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> getPosixFileResponse({}, {}, {}, {})", pathInfo, sourceFile.getFullPath(), fromByte, toByte);
+
+		if (!Files.isRegularFile(Paths.get(sourceFile.getFullPath()))) {
+			String msg = logger.log(StorageMgrMessage.FILE_NOT_FOUND, pathInfo);
+			return new ResponseEntity<>(http.errorHeaders(msg), HttpStatus.NOT_FOUND);
+		}
+
+		long fileSize = Files.size(Paths.get(sourceFile.getFullPath()));
+		HttpHeaders headers = getFileHeaders(sourceFile, fileSize, fromByte, toByte);
+		HttpStatus status = getOkOrPartialStatus(fromByte, toByte);
+
+		PosixFileServer fileServer = new PosixFileServer(sourceFile.getFullPath(), getFirstByte(fromByte),
+				getLastByte(fileSize, toByte));
+
+		if (null == fromByte || null == toByte) {
+			logger.emit(StorageMgrMessage.PRODUCT_FILE_DOWNLOADED_FROM_STORAGE, pathInfo);
+		} else {
+			logger.emit(StorageMgrMessage.PRODUCT_FILE_PARTIALLY_DOWNLOADED, pathInfo, Long.toString(fromByte),
+					Long.toString(toByte), Long.toString(toByte - fromByte));
+		}
+
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (requestAttributes instanceof ServletRequestAttributes
+				&& fileServer.sendfile(((ServletRequestAttributes) requestAttributes).getRequest())) {
+			if (logger.isTraceEnabled())
+				logger.trace("... file handed over to servlet container for sendfile transfer");
+
+			// The response body is written by the servlet container, when the response with status and headers is committed
+			return new ResponseEntity<>(headers, status);
+		}
+
+		StreamingResponseBody body = out -> fileServer.copyTo(out);
+		return new ResponseEntity<>(body, headers, status);
+	}
+
+	/**
+	 * Gets the first byte of the requested byte range
+	 *
+	 * @param fromByte from byte (may be null)
+	 * @return the first byte to download
+	 */
+	private long getFirstByte(Long fromByte) {
+		return (null == fromByte ? 0 : fromByte);
+	}
+
+	/**
+	 * Gets the last byte of the requested byte range
+	 *
+	 * @param fileSize the size of the file to download
+	 * @param toByte   to byte (may be null)
+	 * @return the last byte to download
+	 */
+	private long getLastByte(long fileSize, Long toByte) {
+		return (null == toByte ? fileSize - 1 : Math.min(toByte, fileSize - 1));
+	}
+
 	/**
 	 * Gets file page
 	 *
@@ -393,25 +572,36 @@ public class ProductControllerImpl implements ProductController {
 
 		Storage storage = storageProvider.getStorage(sourceFile.getFullPath());
 
-		Long len = storage.getFileSize(sourceFile);
+		long len = storage.getFileSize(sourceFile);
+
+		if (fromByte != null) {
+			stream.skip(fromByte);
+		}
+
+		return getFileHeaders(sourceFile, len, fromByte, toByte);
+	}
+
+	/**
+	 * Gets the HTTP headers for downloading a file or a byte range of a file
+	 *
+	 * @param sourceFile source file
+	 * @param fileSize   the size of the source file
+	 * @param fromByte   from byte
+	 * @param toByte     to byte
+	 * @return http header
+	 */
+	private HttpHeaders getFileHeaders(StorageFile sourceFile, long fileSize, Long fromByte, Long toByte) {
 
 		HttpHeaders headers = new HttpHeaders();
 		headers.setContentDispositionFormData("attachment", sourceFile.getFileName());
-		long from = 0;
-		long to = len - 1;
+		long len = fileSize;
 
 		if (fromByte != null || toByte != null) {
 
 			List<HttpRange> ranges = new ArrayList<HttpRange>();
 
-			if (fromByte != null) {
-				from = fromByte;
-				stream.skip(from);
-			}
-
-			if (toByte != null) {
-				to = Math.min(toByte, len - 1);
-			}
+			long from = getFirstByte(fromByte);
+			long to = getLastByte(fileSize, toByte);
 
 			len = to - from + 1;
 			HttpRange range = HttpRange.createByteRange(from, to);
@@ -1,13 +1,11 @@
 package de.dlr.proseo.storagemgr.rest;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.PosixFilePermissions;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.temporal.ChronoField;
+import java.util.List;
 import java.util.concurrent.Semaphore;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +28,8 @@ import de.dlr.proseo.storagemgr.model.Storage;
 import de.dlr.proseo.storagemgr.model.StorageFile;
 import de.dlr.proseo.storagemgr.model.StorageType;
 import de.dlr.proseo.storagemgr.rest.model.RestFileInfo;
+import de.dlr.proseo.storagemgr.transfer.ProductfileTransfer;
+import de.dlr.proseo.storagemgr.transfer.ProductfileTransferPlanner;
 import de.dlr.proseo.storagemgr.utils.StorageFileLocker;
 
 /**
@@ -63,6 +63,9 @@ public class ProductfileControllerImpl implements ProductfileController {
 	@Autowired
 	private StorageProvider storageProvider;
 
+	@Autowired
+	private ProductfileTransferPlanner transferPlanner;
+
 	/**
 	 * Copy source file named pathInfo to file cache used by processors. The local
 	 * file name is: posixWorkerMountPoint + relative source file path
@@ -123,19 +126,17 @@ public class ProductfileControllerImpl implements ProductfileController {
 	 * @param pathInfo  Source file name
 	 * @param productId Product id
 	 * @param fileSize  File Size
+	 * @param useCache  Stage the file in the file cache before uploading it to the storage (default true)
 	 * @return RestFileInfo Rest File Info
 	 * @throws Exception Internal Server Error
 	 */
 	@Override
-	public ResponseEntity<RestFileInfo> updateProductfiles(String pathInfo, Long productId, Long fileSize) {
+	public ResponseEntity<RestFileInfo> updateProductfiles(String pathInfo, Long productId, Long fileSize, Boolean useCache) {
 
 		if (logger.isTraceEnabled())
-			logger.trace(">>> updateProductfiles({}, {}, {})", pathInfo, productId, fileSize);
+			logger.trace(">>> updateProductfiles({}, {}, {}, {})", pathInfo, productId, fileSize, useCache);
 
-		// copies absolute external file -> cache file -> storage file
-		// 1. copy external -> cache (synchronized)
-		// 2. add to cache cache.put(cache file)
-		// 3. copy cache -> storage
+		// copies absolute external file -> (cache file ->) storage file
 		// pathInfo is absolute external path
 
 		if (pathInfo == null) {
@@ -144,17 +145,19 @@ public class ProductfileControllerImpl implements ProductfileController {
 
 		String externalPath = pathInfo;
 
-		String targetPath = getProductFolderWithFilename(externalPath, productId);
-
 		try {
 
-			RestFileInfo restFileInfo = copyExternalFileToCache(externalPath, targetPath, productId); // synchronized
+			ProductfileTransfer transfer = transferPlanner.plan(externalPath, productId, !Boolean.FALSE.equals(useCache));
 
-			restFileInfo = copyCacheFileToStorage(targetPath);
+			RestFileInfo restFileInfo = transferProductfile(transfer);
 
-			logger.log(StorageMgrMessage.PRODUCT_FILE_UPLOADED_TO_STORAGE, externalPath, productId);
+			logger.emit(StorageMgrMessage.PRODUCT_FILE_UPLOADED_TO_STORAGE, externalPath, productId);
 			return new ResponseEntity<>(restFileInfo, HttpStatus.CREATED);
 
+		} catch (IllegalArgumentException e) {
+
+			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.BAD_REQUEST);
+
 		} catch (Exception e) {
 
 			String msg = logger.log(StorageMgrMessage.INTERNAL_ERROR, e.getMessage());
@@ -162,6 +165,136 @@ public class ProductfileControllerImpl implements ProductfileController {
 		}
 	}
 
+	/**
+	 * Copy several files of a product to storage manager in parallel. All files
+	 * are stored in the same target directory: default mount point + productId
+	 * 
+	 * @param productId Product id
+	 * @param useCache  Stage the files in the file cache before uploading them to
+	 *                  the storage (default true)
+	 * @param pathInfos Source file names
+	 * @return a list of Rest File Info objects in the order of the source file
+	 *         names
+	 */
+	@Override
+	public ResponseEntity<List<RestFileInfo>> updateProductfilesBatch(Long productId, Boolean useCache, List<String> pathInfos) {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> updateProductfilesBatch({}, {}, {})", productId, useCache,
+					(null == pathInfos ? "null" : pathInfos.size()));
+
+		if (null == pathInfos || pathInfos.isEmpty()) {
+			String msg = logger.log(StorageMgrMessage.PATH_LIST_EMPTY);
+			return new ResponseEntity<>(http.errorHeaders(msg), HttpStatus.BAD_REQUEST);
+		}
+
+		long startTime = System.currentTimeMillis();
+
+		try {
+
+			List<ProductfileTransfer> transfers = transferPlanner.plan(pathInfos, productId, !Boolean.FALSE.equals(useCache));
+
+			List<RestFileInfo> restFileInfos = transferPlanner.executeAll(transfers, this::transferProductfile);
+
+			logger.emit(StorageMgrMessage.PRODUCT_FILES_UPLOADED_TO_STORAGE, restFileInfos.size(), productId,
+					System.currentTimeMillis() - startTime);
+			return new ResponseEntity<>(restFileInfos, HttpStatus.CREATED);
+
+		} catch (IllegalArgumentException e) {
+
+			return new ResponseEntity<>(http.errorHeaders(e.getMessage()), HttpStatus.BAD_REQUEST);
+
+		} catch (Exception e) {
+
+			String msg = logger.log(StorageMgrMessage.INTERNAL_ERROR, e.getMessage());
+			return new ResponseEntity<>(http.errorHeaders(msg), HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Executes a planned product file transfer into the backend storage
+	 * 
+	 * @param transfer the planned transfer
+	 * @return Rest File Info for the file in the backend storage
+	 * @throws FileLockedAfterMaxCyclesException
+	 * @throws IOException
+	 * @throws Exception
+	 */
+	private RestFileInfo transferProductfile(ProductfileTransfer transfer)
+			throws FileLockedAfterMaxCyclesException, IOException, Exception {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> transferProductfile({})", transfer);
+
+		switch (transfer.getTransferMode()) {
+		case SERVER_SIDE_COPY:
+			return copyExternalFileWithinStorage(transfer.getSourcePath(), transfer.getTargetPath());
+		case DIRECT_UPLOAD:
+			return uploadExternalFileToStorage(transfer.getSourcePath(), transfer.getTargetPath());
+		case CACHED_UPLOAD:
+		default:
+			copyExternalFileToCache(transfer.getSourcePath(), transfer.getTargetPath()); // synchronized
+			return copyCacheFileToStorage(transfer.getTargetPath());
+		}
+	}
+
+	/**
+	 * Copies a file, which is located in a storage of the same type as the backend
+	 * storage, into the backend storage without passing it through the cache (for
+	 * S3 the data is not transferred through the storage manager at all)
+	 * 
+	 * @param srcExternalPath external absolute path of the source file
+	 * @param targetPath      relative path to the target location of the file
+	 * @return Rest File Info
+	 * @throws IOException if the file cannot be copied
+	 */
+	private RestFileInfo copyExternalFileWithinStorage(String srcExternalPath, String targetPath) throws IOException {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> copyExternalFileWithinStorage({}, {})", srcExternalPath, targetPath);
+
+		Storage sourceStorage = storageProvider.getStorage(srcExternalPath);
+		StorageFile sourceFile = storageProvider.getStorageFile(sourceStorage,
+				sourceStorage.getRelativePath(srcExternalPath));
+
+		Storage storage = storageProvider.getStorage();
+		StorageFile storageFile = storageProvider.getStorageFile(storage, targetPath);
+
+		storage.copyFile(sourceFile, storageFile);
+
+		logger.emit(StorageMgrMessage.PRODUCT_FILE_COPIED_WITHIN_STORAGE, srcExternalPath, storageFile.getFullPath());
+
+		return convertToRestFileInfo(storageFile, storage.getFileSize(storageFile));
+	}
+
+	/**
+	 * Uploads a file from its external POSIX location directly to the backend
+	 * storage without staging it in the cache
+	 * 
+	 * @param srcExternalPath external absolute POSIX path of the source file
+	 * @param targetPath      relative path to the target location of the file
+	 * @return Rest File Info
+	 * @throws IOException if the file cannot be uploaded
+	 */
+	private RestFileInfo uploadExternalFileToStorage(String srcExternalPath, String targetPath) throws IOException {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> uploadExternalFileToStorage({}, {})", srcExternalPath, targetPath);
+
+		Path sourcePath = Paths.get(srcExternalPath);
+		StorageFile sourceFile = storageProvider.getPosixFile(sourcePath.getParent().toString(),
+				sourcePath.getFileName().toString());
+
+		Storage storage = storageProvider.getStorage();
+		StorageFile storageFile = storageProvider.getStorageFile(storage, targetPath);
+
+		uploadFileToStorage(storage, sourceFile, storageFile);
+
+		logger.emit(StorageMgrMessage.PRODUCT_FILE_UPLOADED_DIRECTLY_TO_STORAGE, srcExternalPath, storageFile.getFullPath());
+
+		return convertToRestFileInfo(storageFile, Files.size(sourcePath));
+	}
+
 	/**
 	 * Checks if the file is in the cache. If yes (in the cache), returns the file
 	 * from the cache, no copy needed. If no, copies the file from the storage to
@@ -263,7 +396,7 @@ public class ProductfileControllerImpl implements ProductfileController {
 						.downloadFile(srcStorageFile, destCacheFile);
 				}
 
-				logger.log(StorageMgrMessage.PRODUCT_FILE_DOWNLOADED_FROM_STORAGE, destCacheFile.getFullPath());
+				logger.emit(StorageMgrMessage.PRODUCT_FILE_DOWNLOADED_FROM_STORAGE, destCacheFile.getFullPath());
 
 				Files.setPosixFilePermissions(Paths.get(destCacheFile.getFullPath()),
 						PosixFilePermissions.fromString(READ_ONLY_FOR_ALL_USERS));
@@ -311,18 +444,16 @@ public class ProductfileControllerImpl implements ProductfileController {
 	 * @param srcExternalPath external absolute path of the file, which will be copied to the
 	 *                     cache
 	 * @param targetPath relative path to the target location of the file
-	 * @param productId    product id is used as a directory to store copied file in
-	 *                     cache
 	 * @return Rest File Info
 	 * @throws FileLockedAfterMaxCyclesException
 	 * @throws IOException
 	 * @throws Exception
 	 */
-	private RestFileInfo copyExternalFileToCache(String srcExternalPath, String targetPath, Long productId)
+	private RestFileInfo copyExternalFileToCache(String srcExternalPath, String targetPath)
 			throws FileLockedAfterMaxCyclesException, IOException, Exception {
 
 		if (logger.isTraceEnabled())
-			logger.trace(">>> copyFileExternalToCache({}, {}, {}, {})", srcExternalPath, productId);
+			logger.trace(">>> copyFileExternalToCache({}, {})", srcExternalPath, targetPath);
 
 		StorageFile destCacheFile = storageProvider.getCacheFile(targetPath);
 
@@ -330,7 +461,7 @@ public class ProductfileControllerImpl implements ProductfileController {
 
 		if (!cache.containsKey(destCacheFile.getFullPath())) {
 
-			synchroCopyExternalFileToCache(srcExternalPath, productId, destCacheFile); // synchronized
+			synchroCopyExternalFileToCache(srcExternalPath, destCacheFile); // synchronized
 
 		} else {
 
@@ -351,18 +482,16 @@ public class ProductfileControllerImpl implements ProductfileController {
 	 * 
 	 * @param externalPath  external path of the file, which will be copied to the
 	 *                      cache
-	 * @param productId     product id is used as a directory to store copied file
-	 *                      in cache
 	 * @param destCacheFile Information about destination cache file
 	 * @throws FileLockedAfterMaxCyclesException
 	 * @throws IOException
 	 * @throws Exception
 	 */
-	private void synchroCopyExternalFileToCache(String srcExternalPath, Long productId, StorageFile destCacheFile)
+	private void synchroCopyExternalFileToCache(String srcExternalPath, StorageFile destCacheFile)
 			throws FileLockedAfterMaxCyclesException, IOException, Exception {
 
 		if (logger.isTraceEnabled())
-			logger.trace(">>> synchroCopyFileExternalToCache({}, {}, {})", srcExternalPath, productId, 
+			logger.trace(">>> synchroCopyFileExternalToCache({}, {})", srcExternalPath, 
 					(null == destCacheFile ? "null" : destCacheFile.getFullPath()));
 
 		// synchronized x-to-cache-copy method, status "not exists" is used
@@ -387,7 +516,7 @@ public class ProductfileControllerImpl implements ProductfileController {
 
 				storageProvider.copyAbsoluteFilesToCache(srcExternalPath, destCacheFile);
 
-				logger.log(StorageMgrMessage.PRODUCT_FILE_DOWNLOADED_FROM_EXTERNAL_TO_CACHE,
+				logger.emit(StorageMgrMessage.PRODUCT_FILE_DOWNLOADED_FROM_EXTERNAL_TO_CACHE,
 						destCacheFile.getFullPath());
 
 				Files.setPosixFilePermissions(Paths.get(destCacheFile.getFullPath()),
@@ -437,12 +566,39 @@ public class ProductfileControllerImpl implements ProductfileController {
 		StorageFile cacheFile = storageProvider.getCacheFile(relativeCachePath);
 		StorageFile storageFile = storageProvider.getStorageFile(storage, relativeCachePath);
 		
+		uploadFileToStorage(storage, cacheFile, storageFile);
+
+		logger.emit(StorageMgrMessage.PRODUCT_FILE_UPLOADED_FROM_CACHE_TO_STORAGE, storageFile.getFullPath());
+
+		RestFileInfo restFileInfo = convertToRestFileInfo(storageFile,
+				storageProvider.getCacheFileSize(cacheFile.getRelativePath()));
+
+		return restFileInfo;
+	}
+
+	/**
+	 * Uploads a POSIX file to the backend storage, restricting the number of
+	 * parallel uploads
+	 * 
+	 * @param storage     the backend storage
+	 * @param sourceFile  the POSIX file to upload
+	 * @param storageFile the target file in the backend storage
+	 * @throws IOException if the file cannot be uploaded or the upload was
+	 *                     interrupted
+	 */
+	private void uploadFileToStorage(Storage storage, StorageFile sourceFile, StorageFile storageFile) throws IOException {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> uploadFileToStorage({}, {})", sourceFile.getFullPath(), storageFile.getFullPath());
+
 		try {
-			// Restrict number of parallel downloads
-			if (null == uploadSemaphore) {
-				uploadSemaphore = new Semaphore(cfg.getMaxDownloadThreads(), true);
-				if (logger.isDebugEnabled())
-					logger.debug("... file upload semaphore {} created", uploadSemaphore);
+			// Restrict number of parallel uploads
+			synchronized (ProductfileControllerImpl.class) {
+				if (null == uploadSemaphore) {
+					uploadSemaphore = new Semaphore(cfg.getMaxDownloadThreads(), true);
+					if (logger.isDebugEnabled())
+						logger.debug("... file upload semaphore {} created", uploadSemaphore);
+				}
 			}
 			
 			uploadSemaphore.acquire();
@@ -450,11 +606,14 @@ public class ProductfileControllerImpl implements ProductfileController {
 				logger.debug("... file upload semaphore {} acquired, {} permits remaining",
 						uploadSemaphore, uploadSemaphore.availablePermits());
 
-			// Upload file
-			storage.uploadFile(cacheFile, storageFile);
-		
 		} catch (InterruptedException e) {
 			throw new IOException(logger.log(ApiMonitorMessage.ABORTING_TASK, e.toString()));
+		}
+
+		try {
+			// Upload file
+			storage.uploadFile(sourceFile, storageFile);
+		
 		} finally {
 			// Release parallel thread
 			uploadSemaphore.release();
@@ -463,13 +622,6 @@ public class ProductfileControllerImpl implements ProductfileController {
 						uploadSemaphore, uploadSemaphore.availablePermits());
 			
 		}
-
-		logger.log(StorageMgrMessage.PRODUCT_FILE_UPLOADED_FROM_CACHE_TO_STORAGE, storageFile.getFullPath());
-
-		RestFileInfo restFileInfo = convertToRestFileInfo(storageFile,
-				storageProvider.getCacheFileSize(cacheFile.getRelativePath()));
-
-		return restFileInfo;
 	}
 
 	/**
@@ -493,28 +645,4 @@ public class ProductfileControllerImpl implements ProductfileController {
 
 		return restFileInfo;
 	}
-
-	/**
-	 * Gets a product folder with the file name from the given external path using
-	 * product id and current timestamp (to avoid huge directories and make the backend storage navigable)
-	 * 
-	 * @param externalPath absolute external path
-	 * @param productId    product id
-	 * @return product folder with the file name
-	 */
-	private String getProductFolderWithFilename(String externalPath, Long productId) {
-
-		if (logger.isTraceEnabled())
-			logger.trace(">>> getProductFolderWithFilename({}, {})", externalPath, productId);
-
-		String fileName = new File(externalPath).getName();
-		ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault());
-		return Paths.get(
-				String.valueOf(now.get(ChronoField.YEAR)),
-				String.valueOf(now.get(ChronoField.MONTH_OF_YEAR)),
-				String.valueOf(now.get(ChronoField.DAY_OF_MONTH)),
-				String.valueOf(now.get(ChronoField.HOUR_OF_DAY)),
-				String.valueOf(productId),
-				fileName).toString();
-	}
 }
@@ -0,0 +1,148 @@
+/**
+ * S3AtomicFileBatchDeleter.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.storagemgr.s3;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.dlr.proseo.storagemgr.model.AtomicCommand;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+/**
+ * S3 Atomic File Batch Deleter: Deletes up to 1000 named files with a single S3 DeleteObjects request in quiet mode, so
+ * only the files which could not be deleted are reported back. The request is idempotent and can therefore be retried as
+ * a whole.
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class S3AtomicFileBatchDeleter implements AtomicCommand<Map<String, String>> {
+
+	/** Maximum number of keys in a single S3 DeleteObjects request */
+	public static final int MAX_KEYS = 1000;
+
+	/** Info */
+	private static final String INFO = "S3 ATOMIC File Batch Deleter";
+
+	/** Completed Info */
+	private static final String COMPLETED = "file batch DELETED";
+
+	/** Failed Info */
+	private static final String FAILED = "file batch deletion FAILED";
+
+	/** Logger for this class */
+	private static Logger logger = LoggerFactory.getLogger(S3AtomicFileBatchDeleter.class);
+
+	/** S3 Client */
+	private S3Client s3Client;
+
+	/** Bucket */
+	private String bucket;
+
+	/** The keys of the files to delete */
+	private List<String> keys;
+
+	/**
+	 * Constructor
+	 *
+	 * @param s3Client s3 client
+	 * @param bucket   bucket
+	 * @param keys     the keys of the files to delete (at most MAX_KEYS)
+	 */
+	public S3AtomicFileBatchDeleter(S3Client s3Client, String bucket, List<String> keys) {
+
+		this.s3Client = s3Client;
+		this.bucket = bucket;
+		this.keys = keys;
+	}
+
+	/**
+	 * Deletes the files
+	 *
+	 * @return the keys of the files, which could not be deleted, with the respective error messages
+	 */
+	@Override
+	public Map<String, String> execute() throws IOException {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> execute() - delete file batch({}, {} keys)", bucket, keys.size());
+
+		if (keys.size() > MAX_KEYS) {
+			throw new IOException(getFailedInfo() + "too many keys: " + keys.size());
+		}
+
+		Map<String, String> failedKeys = new HashMap<>();
+		if (keys.isEmpty())
+			return failedKeys;
+
+		try {
+			List<ObjectIdentifier> objectIdentifiers = keys.stream()
+				.map(key -> ObjectIdentifier.builder().key(key).build())
+				.toList();
+
+			DeleteObjectsRequest deleteObjectsRequest = DeleteObjectsRequest.builder()
+				.bucket(bucket)
+				.delete(Delete.builder().objects(objectIdentifiers).quiet(true).build())
+				.build();
+
+			DeleteObjectsResponse deleteResponse = s3Client.deleteObjects(deleteObjectsRequest);
+
+			for (S3Error error : deleteResponse.errors()) {
+				failedKeys.put(error.key(), error.code() + ": " + error.message());
+			}
+
+			if (logger.isTraceEnabled())
+				logger.trace("... " + getCompletedInfo() + " - amount: " + (keys.size() - failedKeys.size()) + ", errors: "
+						+ failedKeys.size());
+
+			return failedKeys;
+
+		} catch (Exception e) {
+			if (logger.isTraceEnabled())
+				logger.trace(getFailedInfo() + e.getMessage());
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Gets information about atomic command (mostly for logs)
+	 *
+	 * @return information about atomic command
+	 */
+	@Override
+	public String getInfo() {
+		return INFO + " ";
+	}
+
+	/**
+	 * Gets information about completed atomic command (mostly for logs)
+	 *
+	 * @return information about completed atomic command
+	 */
+	@Override
+	public String getCompletedInfo() {
+		return INFO + ": " + COMPLETED + " ";
+	}
+
+	/**
+	 * Gets information about failed atomic command (mostly for logs)
+	 *
+	 * @return information about failed atomic command
+	 */
+	@Override
+	public String getFailedInfo() {
+		return INFO + ": " + FAILED + " ";
+	}
+}
@@ -0,0 +1,139 @@
+/**
+ * S3AtomicFileCopier.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.storagemgr.s3;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.dlr.proseo.storagemgr.model.AtomicCommand;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.model.Copy;
+import software.amazon.awssdk.transfer.s3.model.CopyRequest;
+
+/**
+ * S3 Atomic File Copier: Copies an object between two S3 locations reachable via the same endpoint without transferring
+ * the object data through the Storage Manager ("server-side copy"). The transfer manager uses a single CopyObject request for
+ * small objects and a multipart upload with UploadPartCopy requests for large objects.
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class S3AtomicFileCopier implements AtomicCommand<String> {
+
+	/** Info */
+	private static final String INFO = "S3 ATOMIC File Copier";
+
+	/** Completed Info */
+	private static final String COMPLETED = "file COPIED";
+
+	/** Failed Info */
+	private static final String FAILED = "file copy FAILED";
+
+	/** Logger for this class */
+	private static Logger logger = LoggerFactory.getLogger(S3AtomicFileCopier.class);
+
+	/** Asynchronous S3 client for v2 */
+	private S3AsyncClient s3AsyncClientV2;
+
+	/** Source bucket */
+	private String sourceBucket;
+
+	/** Source key */
+	private String sourceKey;
+
+	/** Target bucket */
+	private String targetBucket;
+
+	/** Target key */
+	private String targetKey;
+
+	/**
+	 * Constructor
+	 *
+	 * @param s3AsyncClientV2 s3 client V2 (asynchronous)
+	 * @param sourceBucket    source bucket
+	 * @param sourceKey       source key
+	 * @param targetBucket    target bucket
+	 * @param targetKey       target key
+	 */
+	public S3AtomicFileCopier(S3AsyncClient s3AsyncClientV2, String sourceBucket, String sourceKey, String targetBucket,
+			String targetKey) {
+
+		this.s3AsyncClientV2 = s3AsyncClientV2;
+		this.sourceBucket = sourceBucket;
+		this.sourceKey = sourceKey;
+		this.targetBucket = targetBucket;
+		this.targetKey = targetKey;
+	}
+
+	/**
+	 * Executes the server-side copy of the object
+	 *
+	 * @return copied file name (target key)
+	 */
+	@Override
+	public String execute() throws IOException {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> execute() - copyFile({}/{},{}/{})", sourceBucket, sourceKey, targetBucket, targetKey);
+
+		try (S3TransferManager transferManager = S3TransferManager.builder().s3Client(s3AsyncClientV2).build()) {
+
+			CopyRequest copyRequest = CopyRequest.builder()
+				.copyObjectRequest(b -> b.sourceBucket(sourceBucket)
+					.sourceKey(sourceKey)
+					.destinationBucket(targetBucket)
+					.destinationKey(targetKey))
+				.build();
+
+			Copy copy = transferManager.copy(copyRequest);
+
+			copy.completionFuture().join();
+
+			if (logger.isTraceEnabled())
+				logger.trace("... " + getCompletedInfo() + " - " + targetKey);
+
+			return targetKey;
+
+		} catch (Exception e) {
+			if (logger.isTraceEnabled())
+				logger.trace(getFailedInfo() + e.getMessage());
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Gets information about atomic command (mostly for logs)
+	 *
+	 * @return information about atomic command
+	 */
+	@Override
+	public String getInfo() {
+		return INFO + " ";
+	}
+
+	/**
+	 * Gets information about completed atomic command (mostly for logs)
+	 *
+	 * @return information about completed atomic command
+	 */
+	@Override
+	public String getCompletedInfo() {
+		return INFO + ": " + COMPLETED + " ";
+	}
+
+	/**
+	 * Gets information about failed atomic command (mostly for logs)
+	 *
+	 * @return information about failed atomic command
+	 */
+	@Override
+	public String getFailedInfo() {
+		return INFO + ": " + FAILED + " ";
+	}
+}
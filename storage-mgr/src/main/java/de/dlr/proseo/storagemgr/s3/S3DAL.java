@@ -14,7 +14,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSCredentials;
@@ -741,6 +743,80 @@ public class S3DAL {
 		}
 	}
 
+	/**
+	 * Deletes named files from the default bucket using multi-object delete requests.
+	 *
+	 * @param files the paths of the files to delete
+	 * @return the paths of the files, which could not be deleted, with the respective error messages
+	 * @throws IOException if a delete request fails as a whole
+	 */
+	public Map<String, String> deleteFileBatch(List<String> files) throws IOException {
+		return deleteFileBatch(defaultBucket, files);
+	}
+
+	/**
+	 * Deletes named files from the given bucket using multi-object delete requests of at most 1000 files each. Files not
+	 * existing in the bucket are considered deleted.
+	 *
+	 * @param bucket the bucket to delete the files from
+	 * @param files  the paths of the files to delete
+	 * @return the paths of the files, which could not be deleted, with the respective error messages
+	 * @throws IOException if a delete request fails as a whole
+	 */
+	public Map<String, String> deleteFileBatch(String bucket, List<String> files) throws IOException {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> deleteFileBatch({},{})", bucket, "size:" + files.size());
+
+		Map<String, String> failedFiles = new HashMap<>();
+
+		for (int i = 0; i < files.size(); i += S3AtomicFileBatchDeleter.MAX_KEYS) {
+			List<String> batch = files.subList(i, Math.min(files.size(), i + S3AtomicFileBatchDeleter.MAX_KEYS));
+
+			AtomicCommand<Map<String, String>> batchDeleter = new S3AtomicFileBatchDeleter(s3ClientV2, bucket, batch);
+
+			failedFiles.putAll(
+					new DefaultRetryStrategy<>(batchDeleter, cfg.getMaxRequestAttempts(), cfg.getFileCheckWaitTime()).execute());
+		}
+
+		return failedFiles;
+	}
+
+	/**
+	 * Copies a file from the named source bucket to the default bucket without transferring the file data through this
+	 * service (server-side copy).
+	 *
+	 * @param sourceBucket the bucket to copy from
+	 * @param sourceFile   the source file in the source bucket
+	 * @param targetFile   the target file in the default bucket
+	 * @return the copied file path in the default bucket
+	 * @throws IOException if an I/O exception occurs if the file cannot be copied
+	 */
+	public String copyFile(String sourceBucket, String sourceFile, String targetFile) throws IOException {
+		return copyFile(sourceBucket, sourceFile, defaultBucket, targetFile);
+	}
+
+	/**
+	 * Copies a file between two buckets without transferring the file data through this service (server-side copy).
+	 *
+	 * @param sourceBucket the bucket to copy from
+	 * @param sourceFile   the source file in the source bucket
+	 * @param targetBucket the bucket to copy to
+	 * @param targetFile   the target file in the target bucket
+	 * @return the copied file path in the target bucket
+	 * @throws IOException if an I/O exception occurs if the file cannot be copied
+	 */
+	public String copyFile(String sourceBucket, String sourceFile, String targetBucket, String targetFile) throws IOException {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> copyFile({},{},{},{})", sourceBucket, sourceFile, targetBucket, targetFile);
+
+		AtomicCommand<String> fileCopier = new S3AtomicFileCopier(s3AsyncClientV2, sourceBucket, sourceFile, targetBucket,
+				targetFile);
+
+		return new DefaultRetryStrategy<>(fileCopier, cfg.getMaxRequestAttempts(), cfg.getFileCheckWaitTime()).execute();
+	}
+
 	/**
 	 * Sets the default bucket to use for operations.
 	 *
@@ -10,9 +10,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.logging.messages.StorageMgrMessage;
 import de.dlr.proseo.storagemgr.model.Storage;
 import de.dlr.proseo.storagemgr.model.StorageFile;
 import de.dlr.proseo.storagemgr.model.StorageType;
@@ -527,6 +530,27 @@ public class S3Storage implements Storage {
 		return s3DAL.downloadFile(sourceFile.getRelativePath(), targetFileOrDir.getFullPath());
 	}
 
+	/**
+	 * Copies a file from another S3 bucket (reachable via the same endpoint) into the storage using a server-side copy.
+	 *
+	 * @param sourceFile the S3 source file
+	 * @param targetFile the target file in the storage
+	 * @return the copied storage file
+	 * @throws IOException if the source file is not an S3 file or the file cannot be copied
+	 */
+	@Override
+	public String copyFile(StorageFile sourceFile, StorageFile targetFile) throws IOException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> copyFile({},{})", sourceFile.getFullPath(), targetFile.getFullPath());
+
+		if (!StorageType.S3.equals(sourceFile.getStorageType())) {
+			throw new IOException(
+					logger.log(StorageMgrMessage.COPY_SOURCE_STORAGE_TYPE_MISMATCH, sourceFile.getFullPath(), StorageType.S3));
+		}
+
+		return s3DAL.copyFile(sourceFile.getBucket(), sourceFile.getRelativePath(), targetFile.getRelativePath());
+	}
+
 	/**
 	 * Deletes the file or directory recursively from the storage.
 	 *
@@ -568,6 +592,30 @@ public class S3Storage implements Storage {
 		return s3DAL.delete(storageFileOrDir.getRelativePath());
 	}
 
+	/**
+	 * Deletes several files from the storage with multi-object delete requests (S3 DeleteObjects).
+	 *
+	 * @param relativeFiles the relative paths of the files to delete
+	 * @return the relative paths of the files, which could not be deleted, with the respective error messages
+	 * @throws IOException if a delete request fails as a whole
+	 */
+	@Override
+	public Map<String, String> deleteFiles(List<String> relativeFiles) throws IOException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> deleteFiles({} files)", relativeFiles.size());
+
+		Map<String, String> keyToRelativeFile = new HashMap<>();
+		for (String relativeFile : relativeFiles) {
+			keyToRelativeFile.put(getStorageFile(relativeFile).getRelativePath(), relativeFile);
+		}
+
+		Map<String, String> failedFiles = new HashMap<>();
+		s3DAL.deleteFileBatch(new ArrayList<>(keyToRelativeFile.keySet()))
+			.forEach((key, message) -> failedFiles.put(keyToRelativeFile.getOrDefault(key, key), message));
+
+		return failedFiles;
+	}
+
 	/**
 	 * Adds the file system prefix to the path.
 	 *
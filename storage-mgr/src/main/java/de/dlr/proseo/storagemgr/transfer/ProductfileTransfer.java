@@ -0,0 +1,69 @@
+/**
+ * ProductfileTransfer.java
+ * 
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.storagemgr.transfer;
+
+/**
+ * A planned transfer of a single product file from an external location into the backend storage
+ * 
+ * @author Dr. Thomas Bassler
+ */
+public class ProductfileTransfer {
+
+	/** The absolute path of the source file (POSIX path or S3 URI) */
+	private final String sourcePath;
+
+	/** The target path relative to the backend storage (and the file cache) */
+	private final String targetPath;
+
+	/** The way the file will be transferred */
+	private final TransferMode transferMode;
+
+	/**
+	 * Creates a planned product file transfer
+	 * 
+	 * @param sourcePath   the absolute path of the source file
+	 * @param targetPath   the target path relative to the backend storage
+	 * @param transferMode the way the file will be transferred
+	 */
+	public ProductfileTransfer(String sourcePath, String targetPath, TransferMode transferMode) {
+		this.sourcePath = sourcePath;
+		this.targetPath = targetPath;
+		this.transferMode = transferMode;
+	}
+
+	/**
+	 * Gets the absolute path of the source file
+	 * 
+	 * @return the source path
+	 */
+	public String getSourcePath() {
+		return sourcePath;
+	}
+
+	/**
+	 * Gets the target path relative to the backend storage
+	 * 
+	 * @return the target path
+	 */
+	public String getTargetPath() {
+		return targetPath;
+	}
+
+	/**
+	 * Gets the way the file will be transferred
+	 * 
+	 * @return the transfer mode
+	 */
+	public TransferMode getTransferMode() {
+		return transferMode;
+	}
+
+	@Override
+	public String toString() {
+		return "ProductfileTransfer [sourcePath=" + sourcePath + ", targetPath=" + targetPath + ", transferMode="
+				+ transferMode + "]";
+	}
+}
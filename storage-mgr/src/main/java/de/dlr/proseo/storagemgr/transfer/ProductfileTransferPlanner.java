@@ -0,0 +1,246 @@
+/**
+ * ProductfileTransferPlanner.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.storagemgr.transfer;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import de.dlr.proseo.logging.logger.ProseoLogger;
+import de.dlr.proseo.logging.messages.StorageMgrMessage;
+import de.dlr.proseo.storagemgr.StorageManagerConfiguration;
+import de.dlr.proseo.storagemgr.StorageProvider;
+import de.dlr.proseo.storagemgr.model.StorageType;
+import de.dlr.proseo.storagemgr.utils.PathConverter;
+
+/**
+ * Plans the transfer of product files from external locations into the backend storage and executes the planned
+ * transfers in parallel. A file already located in a storage of the backend storage type is copied within the storage
+ * system (for S3 by a server-side copy, so the data never passes through the Storage Manager), other files are uploaded
+ * either via the file cache or, if the caller opts out of caching, directly from their external location.
+ *
+ * @author Dr. Thomas Bassler
+ */
+@Component
+public class ProductfileTransferPlanner {
+
+	/** A logger for this class */
+	private static ProseoLogger logger = new ProseoLogger(ProductfileTransferPlanner.class);
+
+	/** Thread pool for parallel file transfers (created on first use) */
+	private ExecutorService transferPool = null;
+
+	/** The Storage Manager configuration */
+	@Autowired
+	private StorageManagerConfiguration cfg;
+
+	/** The storage provider */
+	@Autowired
+	private StorageProvider storageProvider;
+
+	/**
+	 * A single product file transfer to execute
+	 *
+	 * @param <T> the type of the transfer result
+	 */
+	@FunctionalInterface
+	public interface TransferTask<T> {
+
+		/**
+		 * Executes the given product file transfer
+		 *
+		 * @param transfer the transfer to execute
+		 * @return the result of the transfer
+		 * @throws Exception if the transfer fails
+		 */
+		public T execute(ProductfileTransfer transfer) throws Exception;
+	}
+
+	/**
+	 * Plans the transfer of a single file into the backend storage
+	 *
+	 * @param sourcePath the absolute path of the source file (POSIX path or S3 URI)
+	 * @param targetPath the target path relative to the backend storage
+	 * @param useCache   true, if POSIX files shall be staged in the file cache before uploading them to the backend storage
+	 * @return the planned transfer
+	 * @throws IllegalArgumentException if the source file cannot be transferred into the backend storage
+	 */
+	public ProductfileTransfer plan(String sourcePath, String targetPath, boolean useCache) throws IllegalArgumentException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> plan({}, {}, {})", sourcePath, targetPath, useCache);
+
+		StorageType sourceType = new PathConverter(sourcePath).getStorageType();
+		StorageType storageType = storageProvider.getStorage().getStorageType();
+
+		TransferMode transferMode;
+		if (StorageType.S3.equals(sourceType)) {
+			// S3 sources can only be copied within an S3 backend storage
+			if (!StorageType.S3.equals(storageType)) {
+				throw new IllegalArgumentException(
+						logger.log(StorageMgrMessage.TRANSFER_NOT_SUPPORTED, sourcePath, storageType));
+			}
+			transferMode = TransferMode.SERVER_SIDE_COPY;
+		} else if (useCache) {
+			transferMode = TransferMode.CACHED_UPLOAD;
+		} else if (StorageType.POSIX.equals(storageType)) {
+			transferMode = TransferMode.SERVER_SIDE_COPY;
+		} else {
+			transferMode = TransferMode.DIRECT_UPLOAD;
+		}
+
+		ProductfileTransfer transfer = new ProductfileTransfer(sourcePath, targetPath, transferMode);
+
+		if (logger.isDebugEnabled())
+			logger.debug("... planned transfer: {}", transfer);
+
+		return transfer;
+	}
+
+	/**
+	 * Plans the transfer of a single product file into the product folder in the backend storage
+	 *
+	 * @param sourcePath the absolute path of the source file (POSIX path or S3 URI)
+	 * @param productId  the product id
+	 * @param useCache   true, if POSIX files shall be staged in the file cache before uploading them to the backend storage
+	 * @return the planned transfer
+	 * @throws IllegalArgumentException if the source file cannot be transferred into the backend storage
+	 */
+	public ProductfileTransfer plan(String sourcePath, Long productId, boolean useCache) throws IllegalArgumentException {
+		return plan(sourcePath, getProductFolderWithFilename(sourcePath, productId, ZonedDateTime.now(ZoneId.systemDefault())),
+				useCache);
+	}
+
+	/**
+	 * Plans the transfer of all files of a product into the backend storage; all files are placed in the same product
+	 * folder
+	 *
+	 * @param sourcePaths the absolute paths of the source files (POSIX paths or S3 URIs)
+	 * @param productId   the product id
+	 * @param useCache    true, if POSIX files shall be staged in the file cache before uploading them to the backend
+	 *                    storage
+	 * @return the planned transfers in the order of the source paths
+	 * @throws IllegalArgumentException if any of the source files cannot be transferred into the backend storage
+	 */
+	public List<ProductfileTransfer> plan(List<String> sourcePaths, Long productId, boolean useCache)
+			throws IllegalArgumentException {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> plan({}, {}, {})", (null == sourcePaths ? "null" : sourcePaths.size()), productId, useCache);
+
+		// Use a common time stamp to make sure all files end up in the same folder
+		ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault());
+
+		List<ProductfileTransfer> transfers = new ArrayList<>();
+		for (String sourcePath : sourcePaths) {
+			transfers.add(plan(sourcePath, getProductFolderWithFilename(sourcePath, productId, now), useCache));
+		}
+
+		return transfers;
+	}
+
+	/**
+	 * Executes the given transfers in parallel, limited by the configured maximum number of transfer threads
+	 *
+	 * @param <T>       the type of the transfer results
+	 * @param transfers the transfers to execute
+	 * @param task      the action executing a single transfer
+	 * @return the transfer results in the order of the transfers
+	 * @throws Exception the first exception thrown by any of the transfers (after all transfers have terminated)
+	 */
+	public <T> List<T> executeAll(List<ProductfileTransfer> transfers, TransferTask<T> task) throws Exception {
+		if (logger.isTraceEnabled())
+			logger.trace(">>> executeAll({}, task)", (null == transfers ? "null" : transfers.size()));
+
+		List<Future<T>> futures = new ArrayList<>();
+		for (ProductfileTransfer transfer : transfers) {
+			futures.add(getTransferPool().submit(() -> task.execute(transfer)));
+		}
+
+		// Wait for all transfers, even if some of them fail, so no transfer is still running on return
+		List<T> results = new ArrayList<>();
+		Exception firstException = null;
+		for (Future<T> future : futures) {
+			try {
+				results.add(future.get());
+			} catch (ExecutionException e) {
+				if (null == firstException) {
+					firstException = (e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				if (null == firstException) {
+					firstException = e;
+				}
+			}
+		}
+
+		if (null != firstException) {
+			throw firstException;
+		}
+
+		return results;
+	}
+
+	/**
+	 * Gets a product folder with the file name from the given external path using product id and the given timestamp (to
+	 * avoid huge directories and make the backend storage navigable)
+	 *
+	 * @param externalPath absolute external path
+	 * @param productId    product id
+	 * @param now          the timestamp to derive the folder from
+	 * @return product folder with the file name
+	 */
+	public String getProductFolderWithFilename(String externalPath, Long productId, ZonedDateTime now) {
+
+		if (logger.isTraceEnabled())
+			logger.trace(">>> getProductFolderWithFilename({}, {}, {})", externalPath, productId, now);
+
+		String fileName = new File(externalPath).getName();
+		return Paths.get(
+				String.valueOf(now.get(ChronoField.YEAR)),
+				String.valueOf(now.get(ChronoField.MONTH_OF_YEAR)),
+				String.valueOf(now.get(ChronoField.DAY_OF_MONTH)),
+				String.valueOf(now.get(ChronoField.HOUR_OF_DAY)),
+				String.valueOf(productId),
+				fileName).toString();
+	}
+
+	/**
+	 * Gets the thread pool for parallel transfers, creating it on first use
+	 *
+	 * @return the transfer thread pool
+	 */
+	private synchronized ExecutorService getTransferPool() {
+		if (null == transferPool) {
+			transferPool = Executors.newFixedThreadPool(cfg.getMaxTransferThreads());
+			if (logger.isDebugEnabled())
+				logger.debug("... transfer thread pool with {} threads created", cfg.getMaxTransferThreads());
+		}
+		return transferPool;
+	}
+
+	/**
+	 * Shuts down the transfer thread pool
+	 */
+	@PreDestroy
+	private synchronized void shutdown() {
+		if (null != transferPool) {
+			transferPool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,20 @@
+/**
+ * TransferMode.java
+ * 
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.storagemgr.transfer;
+
+/**
+ * The ways a product file can be transferred from its external source location into the backend storage
+ * 
+ * @author Dr. Thomas Bassler
+ */
+public enum TransferMode {
+	/** Copy within the backend storage system (S3 CopyObject/UploadPartCopy or POSIX file copy), no cache involved */
+	SERVER_SIDE_COPY,
+	/** Upload directly from the external POSIX location to the backend storage, skipping the file cache */
+	DIRECT_UPLOAD,
+	/** Copy to the file cache first, then upload from the cache to the backend storage */
+	CACHED_UPLOAD
+}
@@ -0,0 +1,12 @@
+/**
+ * package-info.java
+ * 
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+/**
+ * Planning and parallel execution of product file transfers into the backend storage of the prosEO Storage Manager
+ * component
+ * 
+ * @author Dr. Thomas Bassler
+ */
+package de.dlr.proseo.storagemgr.transfer;
@@ -307,7 +307,7 @@ public class FileUtils {
 				logger.debug("An exception occurred. Cause: ", e);
 			}
 			if (logger.isTraceEnabled())
-				logger.log(StorageMgrMessage.FILE_NOT_DELETED, sourceFile, e.getMessage());
+				logger.emit(StorageMgrMessage.FILE_NOT_DELETED, sourceFile, e.getMessage());
 			throw e;
 		}
 	}
@@ -5,6 +5,7 @@ import static org.junit.Assert.*;
 import java.io.File;
 import java.nio.file.Paths;
 import java.time.Instant;
+import java.util.Arrays;
 
 import javax.annotation.PostConstruct;
 
@@ -191,6 +192,47 @@ public class FileCacheTest {
 		TestUtils.deleteTestDirectories();
 	}
 
+	/**
+	 * 
+	 */
+	@Test
+	public void testRemoveAll() {
+
+		TestUtils.printMethodName(this, testName);
+		TestUtils.createEmptyTestDirectories();
+		fileCache.setPath(testCachePath);
+
+		String path1 = Paths.get(testCachePath + "/batch/d1/test1.txt").toString();
+		String path2 = Paths.get(testCachePath + "/batch/d1/d2/test2.txt").toString();
+		String path3 = Paths.get(testCachePath + "/batch/test3.txt").toString();
+		String pathNotExists = Paths.get(testCachePath + "/xxx/xxx/zzz.txt").toString();
+
+		TestUtils.createFile(path1, "");
+		TestUtils.createFile(path2, "");
+		TestUtils.createFile(path3, "");
+
+		fileCache.putFilesToCache(testCachePath);
+
+		assertTrue("Cache does not contain 3 elements after dir init: " + fileCache.size(), fileCache.size() == 3);
+
+		int removed = fileCache.removeAll(Arrays.asList(path1, path2, pathNotExists));
+
+		MapCacheTest.printCache("Cache after deleting 2 elements: " + path1 + ", " + path2, fileCache.getMapCache());
+		TestUtils.printDirectoryTree(testCachePath);
+
+		assertTrue("Expected 2 removed elements. Exists: " + removed, removed == 2);
+		assertTrue("Expected 1 element in the cache. Exists: " + fileCache.size(), fileCache.size() == 1);
+		assertTrue("Cache file not deleted: " + path1, !new File(path1).exists());
+		assertTrue("Cache file not deleted: " + path2, !new File(path2).exists());
+		assertTrue("Accessed file not deleted: " + path1, !new File(fileCache.getAccessedPath(path1)).exists());
+		assertTrue("Empty directory not deleted: " + testCachePath + "/batch/d1",
+				!new File(testCachePath + "/batch/d1").exists());
+		assertTrue("Cache file deleted: " + path3, new File(path3).exists());
+
+		fileCache.clear();
+		TestUtils.deleteTestDirectories();
+	}
+
 	/**
 	 * 
 	 */
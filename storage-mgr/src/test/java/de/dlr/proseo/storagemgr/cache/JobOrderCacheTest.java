@@ -0,0 +1,73 @@
+/**
+ * JobOrderCacheTest.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.storagemgr.cache;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test class for JobOrderCache: Size-bounded LRU eviction and removal of files and directories
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class JobOrderCacheTest {
+
+	/**
+	 * Test that the least recently used entries are evicted when the maximum size is exceeded
+	 */
+	@Test
+	public void testEviction() {
+		JobOrderCache cache = new JobOrderCache(10);
+
+		cache.put("/joborders/aa/a.xml", "AAAA");
+		cache.put("/joborders/bb/b.xml", "BBBB");
+		assertEquals(8, cache.getCurrentSize());
+
+		// Access "a", so "b" is the least recently used entry
+		assertEquals("AAAA", cache.get("/joborders/aa/a.xml"));
+		cache.put("/joborders/cc/c.xml", "CCCC");
+		assertEquals(2, cache.size());
+		assertEquals(8, cache.getCurrentSize());
+		assertNull(cache.get("/joborders/bb/b.xml"));
+		assertEquals("CCCC", cache.get("/joborders/cc/c.xml"));
+
+		// Content larger than the cache is not cached
+		cache.put("/joborders/dd/d.xml", "DDDDDDDDDDDD");
+		assertNull(cache.get("/joborders/dd/d.xml"));
+		assertEquals(2, cache.size());
+
+		assertEquals(2, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+
+		// Disabled cache
+		JobOrderCache disabledCache = new JobOrderCache(0);
+		disabledCache.put("/joborders/aa/a.xml", "AAAA");
+		assertNull(disabledCache.get("/joborders/aa/a.xml"));
+	}
+
+	/**
+	 * Test the removal of single files and of all files below a directory
+	 */
+	@Test
+	public void testRemove() {
+		JobOrderCache cache = new JobOrderCache(100);
+
+		cache.put("/joborders/aa/a1.xml", "A1");
+		cache.put("/joborders/aa/a2.xml", "A2");
+		cache.put("/joborders/aab/b.xml", "B");
+
+		cache.remove("/joborders/aa/a1.xml");
+		assertNull(cache.get("/joborders/aa/a1.xml"));
+		assertEquals(2, cache.size());
+
+		cache.remove("/joborders/aa");
+		assertNull(cache.get("/joborders/aa/a2.xml"));
+		assertEquals("B", cache.get("/joborders/aab/b.xml"));
+		assertEquals(1, cache.getCurrentSize());
+	}
+
+}
@@ -6,8 +6,6 @@ import static org.junit.Assert.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import org.codehaus.jackson.map.ObjectMapper;
-import org.joda.time.DateTime;
-import org.joda.time.DateTimeZone;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestName;
@@ -27,6 +25,7 @@ import de.dlr.proseo.storagemgr.StorageManagerConfiguration;
 import de.dlr.proseo.storagemgr.StorageProvider;
 import de.dlr.proseo.storagemgr.BaseStorageTestUtils;
 import de.dlr.proseo.storagemgr.TestUtils;
+import de.dlr.proseo.storagemgr.cache.JobOrderCache;
 import de.dlr.proseo.storagemgr.model.StorageType;
 import de.dlr.proseo.storagemgr.rest.model.RestJoborder;
 
@@ -49,6 +48,9 @@ public class JobOrderControllerImplTest_download {
 	
 	@Autowired
 	private StorageManagerConfiguration cfg;
+
+	@Autowired
+	private JobOrderCache jobOrderCache;
 	
  	@Autowired
 	private StorageProvider storageProvider;
@@ -104,8 +106,8 @@ public class JobOrderControllerImplTest_download {
 
 		RestJoborder joborder = new RestJoborder(base64, uploaded, fsType, pathInfo, message);
 		
-		// delete today job orders
-		storageProvider.getStorage().delete(getJobOrderPrefixForToday());
+		// delete job orders with the same content
+		storageProvider.getStorage().delete(getJobOrderDirectory(base64));
 
 		// upload rest job
 		MockHttpServletRequestBuilder uploadRequest = MockMvcRequestBuilders.post(REQUEST_STRING)
@@ -125,9 +127,9 @@ public class JobOrderControllerImplTest_download {
 		// show storage files
 		BaseStorageTestUtils.printStorageFiles("After http-upload-call", storageProvider.getStorage());
 
-		// Only 1 job order expected today, because we deleted all today-orders earlier
-		int jobOrderCount = storageProvider.getStorage().getRelativeFiles(getJobOrderPrefixForToday()).size();
-		assertTrue("Only 1 job order expected. Exists=" + jobOrderCount, jobOrderCount == 1); // job order is a random name
+		// Only 1 job order expected, because we deleted job orders with the same content earlier
+		int jobOrderCount = storageProvider.getStorage().getRelativeFiles(getJobOrderDirectory(base64)).size();
+		assertTrue("Only 1 job order expected. Exists=" + jobOrderCount, jobOrderCount == 1);
 																							
 		// download created rest job
 		MockHttpServletRequestBuilder downloadRequest = MockMvcRequestBuilders.get(REQUEST_STRING)
@@ -142,20 +144,24 @@ public class JobOrderControllerImplTest_download {
 		String realJob = mvcResult.getResponse().getContentAsString();
 		System.out.println("Downloaded job order content: " + realJob);
 		System.out.println("Expected job order content:   " + expectedJob);
-		assertTrue("Downloaded job order content is not as expected", realJob.equals(expectedJob)); // job order is a random name
+		assertTrue("Downloaded job order content is not as expected", realJob.equals(expectedJob));
+
+		// download again from storage, bypassing the job order cache
+		jobOrderCache.remove(pathInfo);
+		mvcResult = mockMvc.perform(downloadRequest).andExpect(status().isOk()).andReturn();
+		realJob = mvcResult.getResponse().getContentAsString();
+		assertTrue("Job order content downloaded from storage is not as expected", realJob.equals(expectedJob));
 
-		// delete today job orders
-		storageProvider.getStorage().delete(getJobOrderPrefixForToday());
+		// delete job orders with the same content
+		storageProvider.getStorage().delete(getJobOrderDirectory(base64));
+		jobOrderCache.remove(pathInfo);
 	}
 	
-	// creates prefix for today only. ignores hour and file name (because it is
-	// random-generated)
-	private String getJobOrderPrefixForToday() {
+	// creates the directory of the content-addressed job order file
+	private String getJobOrderDirectory(String base64) {
 
-		String separator = "/";
-		DateTime timestamp = DateTime.now(DateTimeZone.UTC);
+		String relativePath = JobOrderControllerImpl.getJobOrderRelativePath(cfg.getJoborderPrefix(), base64);
 
-		return cfg.getJoborderPrefix() + separator + timestamp.getYear() + separator + timestamp.getMonthOfYear()
-				+ separator + timestamp.getDayOfMonth() + separator;
+		return relativePath.substring(0, relativePath.lastIndexOf('/') + 1);
 	}
 }
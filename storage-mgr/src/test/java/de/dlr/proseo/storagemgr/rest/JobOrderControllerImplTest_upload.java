@@ -1,11 +1,10 @@
 package de.dlr.proseo.storagemgr.rest;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import org.codehaus.jackson.map.ObjectMapper;
-import org.joda.time.DateTime;
-import org.joda.time.DateTimeZone;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -28,6 +27,7 @@ import de.dlr.proseo.storagemgr.StorageManagerConfiguration;
 import de.dlr.proseo.storagemgr.StorageProvider;
 import de.dlr.proseo.storagemgr.BaseStorageTestUtils;
 import de.dlr.proseo.storagemgr.TestUtils;
+import de.dlr.proseo.storagemgr.cache.JobOrderCache;
 import de.dlr.proseo.storagemgr.model.StorageType;
 import de.dlr.proseo.storagemgr.rest.model.RestJoborder;
 
@@ -54,6 +54,9 @@ public class JobOrderControllerImplTest_upload {
 	@Autowired
 	private StorageManagerConfiguration cfg;
 
+	@Autowired
+	private JobOrderCache jobOrderCache;
+
 	@Rule
 	public TestName testName = new TestName();
 
@@ -94,7 +97,8 @@ public class JobOrderControllerImplTest_upload {
 	/**
 	 * Upload prosEO Job Order String to storage // String -> StorageFile
 	 * 
-	 * output name of file is a random-generated name
+	 * output name of file is derived from the hash of the content, a second upload
+	 * of the same content reuses the file
 	 * 
 	 * folder -> STORAGE/joborders/..
 	 * 
@@ -116,8 +120,8 @@ public class JobOrderControllerImplTest_upload {
 		// delete all job orders
 		// storageProvider.getStorage().delete(cfg.getJoborderPrefix());
 
-		// delete today job orders
-		storageProvider.getStorage().delete(getJobOrderPrefixForToday());
+		// delete job orders with the same content
+		storageProvider.getStorage().delete(getJobOrderDirectory(base64));
 
 		RestJoborder joborder = new RestJoborder(base64, uploaded, fsType, pathInfo, message);
 
@@ -138,25 +142,29 @@ public class JobOrderControllerImplTest_upload {
 		// show storage files
 		BaseStorageTestUtils.printStorageFiles("After http-call", storageProvider.getStorage());
 
-		// Only 1 job order expected today, because we deleted all today-orders earlier
-		int jobOrderCount = storageProvider.getStorage().getRelativeFiles(getJobOrderPrefixForToday()).size();
-		assertTrue("Only 1 job order expected. Exists=" + jobOrderCount, jobOrderCount == 1); // job order is a random
-																								// name
-		// delete today job orders
-		storageProvider.getStorage().delete(getJobOrderPrefixForToday());
+		// upload the same job order again (e. g. for a retried job step)
+		mvcResult = mockMvc.perform(request).andExpect(status().is(201)).andReturn();
+		RestJoborder secondResult = new ObjectMapper().readValue(mvcResult.getResponse().getContentAsString(),
+				RestJoborder.class);
+		assertEquals("Same job order path expected", result.getPathInfo(), secondResult.getPathInfo());
+
+		// Only 1 job order expected, because we deleted job orders with the same content earlier
+		int jobOrderCount = storageProvider.getStorage().getRelativeFiles(getJobOrderDirectory(base64)).size();
+		assertTrue("Only 1 job order expected. Exists=" + jobOrderCount, jobOrderCount == 1);
+
+		// delete job orders with the same content
+		storageProvider.getStorage().delete(getJobOrderDirectory(base64));
+		jobOrderCache.remove(result.getPathInfo());
 
 		// show storage files
 		BaseStorageTestUtils.printStorageFiles("After job order cleaning", storageProvider.getStorage());
 	}
 
-	// creates prefix for today only. ignores hour and file name (because it is
-	// random-generated)
-	private String getJobOrderPrefixForToday() {
+	// creates the directory of the content-addressed job order file
+	private String getJobOrderDirectory(String base64) {
 
-		String separator = "/";
-		DateTime timestamp = DateTime.now(DateTimeZone.UTC);
+		String relativePath = JobOrderControllerImpl.getJobOrderRelativePath(cfg.getJoborderPrefix(), base64);
 
-		return cfg.getJoborderPrefix() + separator + timestamp.getYear() + separator + timestamp.getMonthOfYear()
-				+ separator + timestamp.getDayOfMonth() + separator;
+		return relativePath.substring(0, relativePath.lastIndexOf('/') + 1);
 	}
 }
@@ -0,0 +1,170 @@
+/**
+ * ProductControllerImplTest_batchDelete.java
+ *
+ * (C) 2026 Dr. Bassler & Co. Managementberatung GmbH
+ */
+package de.dlr.proseo.storagemgr.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.dlr.proseo.storagemgr.BaseStorageTestUtils;
+import de.dlr.proseo.storagemgr.StorageManager;
+import de.dlr.proseo.storagemgr.StorageProvider;
+import de.dlr.proseo.storagemgr.TestUtils;
+import de.dlr.proseo.storagemgr.model.StorageType;
+import de.dlr.proseo.storagemgr.rest.model.RestFileDeletion;
+import de.dlr.proseo.storagemgr.utils.PathConverter;
+
+/**
+ * Mock Mvc test for the batch deletion of the Product Controller
+ *
+ * @author Dr. Thomas Bassler
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = StorageManager.class, webEnvironment = WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class ProductControllerImplTest_batchDelete {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BaseStorageTestUtils storageTestUtils;
+
+	@Rule
+	public TestName testName = new TestName();
+
+	@Autowired
+	private StorageProvider storageProvider;
+
+	private static final String REQUEST_STRING = "/proseo/storage-mgr/x/products/delete";
+
+	/**
+	 * Delete several files by path info from prosEO storage
+	 *
+	 * POST /products/delete ["/..", "/.."]
+	 *
+	 * @return RestFileDeletion[]
+	 */
+	@Test
+	public void testBatchDelete_posix() throws Exception {
+
+		StorageType storageType = StorageType.POSIX;
+		storageProvider.setDefaultStorage(storageType);
+
+		batchDelete(storageProvider);
+
+		StorageType realStorageType = storageProvider.getStorage().getStorageType();
+		assertTrue("Expected: SM POSIX, " + " Exists: " + realStorageType, storageType == realStorageType);
+	}
+
+	/**
+	 * Delete several files by path info from prosEO storage
+	 *
+	 * POST /products/delete ["/..", "/.."]
+	 *
+	 * @return RestFileDeletion[]
+	 */
+	@Test
+	public void testBatchDelete_S3() throws Exception {
+
+		StorageType storageType = StorageType.S3;
+		storageProvider.setDefaultStorage(storageType);
+
+		batchDelete(storageProvider);
+
+		StorageType realStorageType = storageProvider.getStorage().getStorageType();
+		assertTrue("Expected: SM S3, " + " Exists: " + realStorageType, storageType == realStorageType);
+	}
+
+	private void batchDelete(StorageProvider storageProvider) throws Exception {
+
+		TestUtils.printMethodName(this, testName);
+
+		// create unique source paths, the last file will not be deleted
+		String prefix = "product_batchdelete";
+		List<String> relativePaths = new ArrayList<>();
+		relativePaths.add(new PathConverter(prefix, "deletefile1.txt").getPath());
+		relativePaths.add(new PathConverter(prefix, "deletefile2.txt").getPath());
+		relativePaths.add(new PathConverter(prefix, "deletefiledir/file3.txt").getPath());
+		relativePaths.add(new PathConverter(prefix, "keepfile.txt").getPath());
+
+		// delete possible existing files with prefix before test
+		storageProvider.getStorage().delete(prefix);
+
+		// create and upload source files
+		for (String relativePath : relativePaths) {
+
+			storageTestUtils.createSourceFile(relativePath);
+			storageProvider.getStorage().uploadSourceFile(relativePath);
+		}
+
+		// show storage files with prefix before http-delete-call
+		BaseStorageTestUtils.printStorageFilesWithPrefix("Before http-call", storageProvider.getStorage(), prefix);
+
+		// check count of uploaded prefix storage files
+		int realStorageFileCount = storageProvider.getStorage().getRelativeFiles(prefix).size();
+		int expectedStorageFileCount = relativePaths.size();
+		assertTrue("After upload - Expected:" + expectedStorageFileCount + " Exists: " + realStorageFileCount,
+				realStorageFileCount == expectedStorageFileCount);
+
+		// absolute paths to delete, including a file not existing in the storage
+		List<String> pathInfos = new ArrayList<>();
+		for (String relativePath : relativePaths.subList(0, 3)) {
+			pathInfos.add(storageProvider.getStorage().getAbsolutePath(relativePath));
+		}
+		pathInfos.add(storageProvider.getStorage().getAbsolutePath(new PathConverter(prefix, "notexisting.txt").getPath()));
+
+		// HTTP batch delete call
+		ObjectMapper mapper = new ObjectMapper();
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(REQUEST_STRING)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(mapper.writeValueAsString(pathInfos));
+		MvcResult mvcResult = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+
+		// show results of http-delete
+		TestUtils.printMvcResult(REQUEST_STRING, mvcResult);
+
+		// check the deletion results (in request order)
+		RestFileDeletion[] results = mapper.readValue(mvcResult.getResponse().getContentAsString(), RestFileDeletion[].class);
+		assertEquals("Unexpected number of deletion results", pathInfos.size(), results.length);
+		for (int i = 0; i < pathInfos.size(); ++i) {
+			assertEquals("Unexpected path in deletion result", pathInfos.get(i), results[i].getFilePath());
+			assertTrue("File not deleted: " + pathInfos.get(i), results[i].getDeleted());
+		}
+
+		// show storage files with prefix after http-delete-call
+		BaseStorageTestUtils.printStorageFilesWithPrefix("After http-call", storageProvider.getStorage(), prefix);
+
+		// check files after delete (expected: only the file to keep)
+		List<String> remainingFiles = storageProvider.getStorage().getRelativeFiles(prefix);
+		assertEquals("After delete - Unexpected remaining files: " + remainingFiles, 1, remainingFiles.size());
+		assertFalse("After delete - Deleted file still exists", remainingFiles.get(0).endsWith("deletefile1.txt"));
+
+		// clean up
+		storageProvider.getStorage().delete(prefix);
+	}
+}
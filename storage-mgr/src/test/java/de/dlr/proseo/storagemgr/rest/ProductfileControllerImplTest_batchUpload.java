@@ -0,0 +1,172 @@
+package de.dlr.proseo.storagemgr.rest;
+
+import static org.junit.Assert.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import de.dlr.proseo.storagemgr.BaseStorageTestUtils;
+import de.dlr.proseo.storagemgr.StorageManager;
+import de.dlr.proseo.storagemgr.StorageProvider;
+import de.dlr.proseo.storagemgr.TestUtils;
+import de.dlr.proseo.storagemgr.model.Storage;
+import de.dlr.proseo.storagemgr.model.StorageType;
+import de.dlr.proseo.storagemgr.rest.model.RestFileInfo;
+import de.dlr.proseo.storagemgr.utils.FileUtils;
+
+/**
+ * Mock Mvc test for the batch upload and the cache-less upload of product files
+ *
+ * @author Dr. Thomas Bassler
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = StorageManager.class, webEnvironment = WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class ProductfileControllerImplTest_batchUpload {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BaseStorageTestUtils storageTestUtils;
+
+	@Autowired
+	private StorageProvider storageProvider;
+
+	@Rule
+	public TestName testName = new TestName();
+
+	private static final String REQUEST_STRING = "/proseo/storage-mgr/x/productfiles";
+	private static final String BATCH_REQUEST_STRING = REQUEST_STRING + "/batch";
+
+	/**
+	 * BATCH UPLOAD (updateProductfilesBatch)
+	 * 
+	 * absolute files -> storage (all in the same product folder), transferred in
+	 * parallel without staging them in the cache
+	 */
+	@Test
+	public void testBatchUpload_Posix() throws Exception {
+
+		TestUtils.printMethodName(this, testName);
+		TestUtils.createEmptyStorageDirectories();
+		storageProvider.setDefaultStorage(StorageType.POSIX);
+		Storage storage = storageProvider.getStorage();
+
+		String productId = "4712";
+		List<String> sourcePaths = new ArrayList<>();
+		for (int i = 0; i < 10; ++i) {
+			sourcePaths.add(storageTestUtils.createSourceFile("batch-upload-test/file" + i + ".txt"));
+		}
+
+		// rest-upload files from source to storage
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.put(BATCH_REQUEST_STRING)
+				.param("productId", productId).param("useCache", "false")
+				.contentType(MediaType.APPLICATION_JSON).content(new ObjectMapper().writeValueAsString(sourcePaths));
+		MvcResult mvcResult = mockMvc.perform(request).andExpect(status().isCreated()).andReturn();
+
+		TestUtils.printMvcResult(BATCH_REQUEST_STRING, mvcResult);
+
+		// check that all files are in the same product folder in the order of the source files
+		String json = mvcResult.getResponse().getContentAsString();
+		RestFileInfo[] results = new ObjectMapper().readValue(json, RestFileInfo[].class);
+		assertEquals(sourcePaths.size(), results.length);
+
+		String targetFolder = Paths.get(results[0].getFilePath()).getParent().toString();
+		assertTrue("Unexpected target folder: " + targetFolder, targetFolder.endsWith(productId));
+		for (int i = 0; i < results.length; ++i) {
+			String filePath = results[i].getFilePath();
+			assertEquals(targetFolder, Paths.get(filePath).getParent().toString());
+			assertEquals(Paths.get(sourcePaths.get(i)).getFileName().toString(), Paths.get(filePath).getFileName().toString());
+			assertTrue("File not uploaded: " + filePath, new File(filePath).isFile());
+		}
+
+		BaseStorageTestUtils.printStorageFiles("After http-call", storage);
+
+		// delete files with empty folders
+		for (int i = 0; i < results.length; ++i) {
+			new FileUtils(sourcePaths.get(i)).deleteFile(); // source
+			storage.delete(storage.getRelativePath(results[i].getFilePath())); // storage
+		}
+	}
+
+	/**
+	 * UPLOAD (updateProductfiles) without staging the file in the cache
+	 */
+	@Test
+	public void testUploadWithoutCache_Posix() throws Exception {
+
+		TestUtils.printMethodName(this, testName);
+		TestUtils.createEmptyStorageDirectories();
+		storageProvider.setDefaultStorage(StorageType.POSIX);
+		Storage storage = storageProvider.getStorage();
+
+		String productId = "4713";
+		String relativeSourcePath = "batch-upload-test/nocache.txt";
+		String absoluteSourcePath = storageTestUtils.createSourceFile(relativeSourcePath);
+		String fileSize = Long.toString(storageProvider.getSourceFileSize(relativeSourcePath));
+
+		// rest-upload file from source to storage
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.put(REQUEST_STRING)
+				.param("pathInfo", absoluteSourcePath).param("productId", productId).param("fileSize", fileSize)
+				.param("useCache", "false");
+		MvcResult mvcResult = mockMvc.perform(request).andExpect(status().isCreated()).andReturn();
+
+		TestUtils.printMvcResult(REQUEST_STRING, mvcResult);
+
+		String json = mvcResult.getResponse().getContentAsString();
+		RestFileInfo result = new ObjectMapper().readValue(json, RestFileInfo.class);
+		assertTrue("File not uploaded: " + result.getFilePath(), new File(result.getFilePath()).isFile());
+		String relativePath = storage.getRelativePath(result.getFilePath());
+
+		// delete files with empty folders
+		new FileUtils(absoluteSourcePath).deleteFile(); // source
+		storage.delete(relativePath); // storage
+	}
+
+	/**
+	 * BATCH UPLOAD with an S3 source file for a POSIX backend storage and with an
+	 * empty path list, both of which must be rejected
+	 */
+	@Test
+	public void testBatchUpload_BadRequest() throws Exception {
+
+		TestUtils.printMethodName(this, testName);
+		storageProvider.setDefaultStorage(StorageType.POSIX);
+
+		List<String> sourcePaths = new ArrayList<>();
+		sourcePaths.add("/some/external/path/file.txt");
+		sourcePaths.add("s3://some-bucket/file.txt");
+
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.put(BATCH_REQUEST_STRING)
+				.param("productId", "4714")
+				.contentType(MediaType.APPLICATION_JSON).content(new ObjectMapper().writeValueAsString(sourcePaths));
+		MvcResult mvcResult = mockMvc.perform(request).andExpect(status().isBadRequest()).andReturn();
+
+		TestUtils.printMvcResult(BATCH_REQUEST_STRING, mvcResult);
+
+		request = MockMvcRequestBuilders.put(BATCH_REQUEST_STRING)
+				.param("productId", "4714")
+				.contentType(MediaType.APPLICATION_JSON).content("[]");
+		mockMvc.perform(request).andExpect(status().isBadRequest());
+	}
+}
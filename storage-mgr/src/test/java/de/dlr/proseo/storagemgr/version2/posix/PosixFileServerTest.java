@@ -0,0 +1,100 @@
+package de.dlr.proseo.storagemgr.version2.posix;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import de.dlr.proseo.storagemgr.TestUtils;
+import de.dlr.proseo.storagemgr.posix.PosixFileServer;
+
+/**
+ * Test for serving POSIX files in the different transfer modes
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class PosixFileServerTest {
+
+	private static final int FILE_SIZE = 1024 * 1024 + 17;
+
+	private static Path testFile;
+	private static byte[] content;
+
+	@Rule
+	public TestName testName = new TestName();
+
+	@BeforeClass
+	public static void createTestFile() throws Exception {
+		content = new byte[FILE_SIZE];
+		new Random(4711).nextBytes(content);
+		testFile = Paths.get(TestUtils.getTestFolder(), "posix-file-server", "file.bin");
+		Files.createDirectories(testFile.getParent());
+		Files.write(testFile, content);
+	}
+
+	@AfterClass
+	public static void deleteTestFile() throws Exception {
+		Files.deleteIfExists(testFile);
+	}
+
+	@Test
+	public void testWholeFile() throws Exception {
+
+		TestUtils.printMethodName(this, testName);
+
+		assertServedBytes(0, FILE_SIZE - 1);
+	}
+
+	@Test
+	public void testRanges() throws Exception {
+
+		TestUtils.printMethodName(this, testName);
+
+		assertServedBytes(0, 0);
+		assertServedBytes(2, 7);
+		assertServedBytes(100000, FILE_SIZE - 1);
+		assertServedBytes(FILE_SIZE - 1, FILE_SIZE - 1);
+	}
+
+	@Test
+	public void testSendfile() throws Exception {
+
+		TestUtils.printMethodName(this, testName);
+
+		PosixFileServer fileServer = new PosixFileServer(testFile.toString(), 2, 7);
+
+		// Container without sendfile support
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		assertFalse(fileServer.sendfile(request));
+		assertNull(request.getAttribute(PosixFileServer.SENDFILE_FILENAME_ATTR));
+
+		// Container with sendfile support
+		request.setAttribute(PosixFileServer.SENDFILE_SUPPORT_ATTR, Boolean.TRUE);
+		assertTrue(fileServer.sendfile(request));
+		assertEquals(testFile.toAbsolutePath().toString(), request.getAttribute(PosixFileServer.SENDFILE_FILENAME_ATTR));
+		assertEquals(2L, request.getAttribute(PosixFileServer.SENDFILE_START_ATTR));
+		assertEquals(8L, request.getAttribute(PosixFileServer.SENDFILE_END_ATTR));
+	}
+
+	private void assertServedBytes(int from, int to) throws Exception {
+
+		byte[] expected = Arrays.copyOfRange(content, from, to + 1);
+		PosixFileServer fileServer = new PosixFileServer(testFile.toString(), from, to);
+		assertEquals(expected.length, fileServer.getLength());
+
+		ByteArrayOutputStream copied = new ByteArrayOutputStream();
+		assertEquals(expected.length, fileServer.copyTo(copied));
+		assertArrayEquals("copyTo: bytes " + from + "-" + to, expected, copied.toByteArray());
+	}
+}
@@ -0,0 +1,133 @@
+package de.dlr.proseo.storagemgr.version2.posix;
+
+import static org.junit.Assert.*;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+import de.dlr.proseo.storagemgr.TestUtils;
+import de.dlr.proseo.storagemgr.posix.PosixFileServer;
+
+/**
+ * Throughput comparison of stream copying (fallback of PosixFileServer) and FileChannel.transferTo (the sendfile transfer
+ * performed by the servlet container) for serving large POSIX files over a loopback socket (not run by default; run explicitly with "-Dtest=PosixFileServerTest_benchmark", the file size in MiB
+ * can be set with "-Dbenchmark.fileSizeMiB=...")
+ *
+ * @author Dr. Thomas Bassler
+ */
+public class PosixFileServerTest_benchmark {
+
+	private static final int ROUNDS = 5;
+
+	@Rule
+	public TestName testName = new TestName();
+
+	@FunctionalInterface
+	private interface Transfer {
+		long run(PosixFileServer fileServer, SocketChannel socket) throws Exception;
+	}
+
+	@Test
+	public void testThroughput() throws Exception {
+
+		TestUtils.printMethodName(this, testName);
+
+		long fileSize = Long.getLong("benchmark.fileSizeMiB", 512L) * 1024 * 1024;
+		Path largeFile = Paths.get(TestUtils.getTestFolder(), "posix-file-server", "large.bin");
+		TestUtils.createLargeFile(largeFile.toString(), fileSize);
+
+		try {
+			// Whole file and a range covering the second half of the file
+			for (long from : new long[] { 0, fileSize / 2 }) {
+				PosixFileServer fileServer = new PosixFileServer(largeFile.toString(), from, fileSize - 1);
+
+				double streamRate = measure(fileServer, (server, socket) -> {
+					OutputStream out = Channels.newOutputStream(socket);
+					return server.copyTo(out);
+				});
+				double channelRate = measure(fileServer,
+						(server, socket) -> transferTo(largeFile, from, server.getLength(), socket));
+
+				System.out.println(String.format("Bytes %d-%d: copyTo %.1f MiB/s, transferTo %.1f MiB/s", from, fileSize - 1,
+						streamRate, channelRate));
+			}
+		} finally {
+			Files.deleteIfExists(largeFile);
+		}
+	}
+
+	private static long transferTo(Path file, long from, long length, SocketChannel socket) throws Exception {
+
+		long transferred = 0;
+		try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+			while (transferred < length) {
+				long count = source.transferTo(from + transferred, length - transferred, socket);
+				if (count <= 0) {
+					break;
+				}
+				transferred += count;
+			}
+		}
+		return transferred;
+	}
+
+	private double measure(PosixFileServer fileServer, Transfer transfer) throws Exception {
+
+		// Warm-up round
+		send(fileServer, transfer);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ROUNDS; ++i) {
+			send(fileServer, transfer);
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		return (double) fileServer.getLength() * ROUNDS / (1024 * 1024) / seconds;
+	}
+
+	private void send(PosixFileServer fileServer, Transfer transfer) throws Exception {
+
+		ExecutorService receiver = Executors.newSingleThreadExecutor();
+		try (ServerSocketChannel server = ServerSocketChannel.open()) {
+			server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+			// Receive and discard all data sent
+			Future<Long> received = receiver.submit(() -> {
+				long count = 0;
+				try (SocketChannel socket = server.accept()) {
+					ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+					int n;
+					while ((n = socket.read(buffer)) >= 0) {
+						count += n;
+						buffer.clear();
+					}
+				}
+				return count;
+			});
+
+			try (SocketChannel socket = SocketChannel.open(server.getLocalAddress())) {
+				assertEquals(fileServer.getLength(), transfer.run(fileServer, socket));
+			}
+			assertEquals(fileServer.getLength(), received.get().longValue());
+		} finally {
+			receiver.shutdown();
+		}
+	}
+}